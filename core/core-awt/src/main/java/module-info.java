@@ -18,8 +18,8 @@ module org.icepdf.core {
     requires java.desktop;
     requires java.net.http;
     requires java.naming;
-    // compile-time only: used by the ParsingBenchmark test harness for JFR
-    // profiling; not a runtime dependency of the library.
+    // optional: JFR events of the render metrics (JfrMetricsListener) and the
+    // ParsingBenchmark test harness; not a runtime dependency of the library.
     requires static jdk.jfr;
 
     requires org.bouncycastle.pkix;
@@ -68,6 +68,8 @@ module org.icepdf.core {
     exports org.icepdf.core.util;
     exports org.icepdf.core.util.edit.content;
     exports org.icepdf.core.util.loggers;
+    exports org.icepdf.core.util.memory;
+    exports org.icepdf.core.util.metrics;
     exports org.icepdf.core.util.updater;
     exports org.icepdf.core.pobjects.fonts.builders;
 
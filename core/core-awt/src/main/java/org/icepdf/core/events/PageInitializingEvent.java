@@ -24,10 +24,49 @@ package org.icepdf.core.events;
 public class PageInitializingEvent extends java.util.EventObject {
 
     private final boolean interrupted;
+    private final int parsedCommandCount;
+    private final int commandCount;
 
     public PageInitializingEvent(Object source, boolean interrupted) {
+        this(source, interrupted, -1, -1);
+    }
+
+    /**
+     * Creates an initialization event with the page's display list sizes.
+     *
+     * @param source             page.
+     * @param interrupted        processing state.
+     * @param parsedCommandCount number of draw commands the content parser produced, -1 if unknown.
+     * @param commandCount       number of draw commands after any optimisation, -1 if unknown.
+     * @since 7.5
+     */
+    public PageInitializingEvent(Object source, boolean interrupted, int parsedCommandCount, int commandCount) {
         super(source);
         this.interrupted = interrupted;
+        this.parsedCommandCount = parsedCommandCount;
+        this.commandCount = commandCount;
+    }
+
+    /**
+     * Gets the number of draw commands the content parser produced for the page, before the display list
+     * optimisation pass.
+     *
+     * @return parsed command count or -1 if not known, for example at the start of initialization.
+     * @since 7.5
+     */
+    public int getParsedCommandCount() {
+        return parsedCommandCount;
+    }
+
+    /**
+     * Gets the number of draw commands the page paints, after the display list optimisation pass if it's
+     * enabled.
+     *
+     * @return command count or -1 if not known, for example at the start of initialization.
+     * @since 7.5
+     */
+    public int getCommandCount() {
+        return commandCount;
     }
 
     /**
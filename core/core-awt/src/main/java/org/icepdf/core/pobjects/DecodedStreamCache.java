@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects;
+
+import org.icepdf.core.util.memory.DocumentMemory;
+import org.icepdf.core.util.memory.MemoryConsumer;
+import org.icepdf.core.util.memory.RebuildCost;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Accounts for the decompressed bytes a document's {@link Stream}s keep after decoding, see
+ * {@link Stream#getDecodedStreamBytes(int)}.  Streams are held weakly, in the order they were decoded, and
+ * eviction disposes of the oldest decoded bytes first with {@link Stream#disposeDecompressed()}, the stream
+ * inflates them again when they're next needed.  Edited streams hold the only copy of their content and are
+ * never registered.
+ *
+ * @since 7.5
+ */
+public class DecodedStreamCache implements MemoryConsumer {
+
+    private final DocumentMemory memory;
+
+    // guarded by itself, in decode order.
+    private final LinkedHashSet<Entry> entries = new LinkedHashSet<>();
+    private final ReferenceQueue<Stream> collected = new ReferenceQueue<>();
+    // guarded by entries
+    private long bytes;
+
+    public DecodedStreamCache(DocumentMemory memory) {
+        this.memory = memory;
+    }
+
+    @Override
+    public String getName() {
+        return "Decoded streams";
+    }
+
+    @Override
+    public RebuildCost getRebuildCost() {
+        return RebuildCost.DECOMPRESS;
+    }
+
+    @Override
+    public long getSizeInBytes() {
+        synchronized (entries) {
+            expunge();
+            return bytes;
+        }
+    }
+
+    @Override
+    public long evict(long bytes) {
+        List<Entry> evicted = new ArrayList<>();
+        long freed = 0;
+        synchronized (entries) {
+            expunge();
+            Iterator<Entry> iterator = entries.iterator();
+            while (freed < bytes && iterator.hasNext()) {
+                Entry entry = iterator.next();
+                iterator.remove();
+                this.bytes -= entry.size;
+                freed += entry.size;
+                evicted.add(entry);
+            }
+        }
+        // disposed of outside the lock, a stream that's decoded meanwhile registers again.
+        for (Entry entry : evicted) {
+            Stream stream = entry.get();
+            if (stream != null) {
+                stream.disposeDecompressed(entry);
+            }
+        }
+        return freed;
+    }
+
+    /**
+     * Creates the registration of a stream's decoded bytes.  The stream publishes it as its own before it's
+     * {@link #add(Entry) added}, so an eviction the addition sets off finds and disposes of the bytes it counted.
+     */
+    Entry createEntry(Stream stream, long size) {
+        return new Entry(stream, size, collected);
+    }
+
+    void add(Entry entry) {
+        long size = entry.size;
+        synchronized (entries) {
+            expunge();
+            entries.add(entry);
+            bytes += size;
+        }
+        memory.allocated(size);
+    }
+
+    void remove(Entry entry) {
+        synchronized (entries) {
+            if (entries.remove(entry)) {
+                bytes -= entry.size;
+            }
+        }
+    }
+
+    private void expunge() {
+        Object collectedEntry;
+        while ((collectedEntry = collected.poll()) != null) {
+            if (entries.remove(collectedEntry)) {
+                bytes -= ((Entry) collectedEntry).size;
+            }
+        }
+    }
+
+    static final class Entry extends WeakReference<Stream> {
+        private final long size;
+
+        Entry(Stream stream, long size, ReferenceQueue<Stream> queue) {
+            super(stream, queue);
+            this.size = size;
+        }
+    }
+}
@@ -90,6 +90,9 @@ public class Document {
     // optional watermark callback
     private WatermarkCallback watermarkCallback;
 
+    // optional cache of rendered page images used by getPageImage.
+    private PageRenderCache pageRenderCache = PageRenderCache.getDefault();
+
     // core catalog, root of the document hierarchy.
     private Catalog catalog;
 
@@ -529,10 +532,33 @@ public class Document {
         gg.dispose();
     }
 
+    /**
+     * Sets the cache {@link #getPageImage(int, int, int, float, float)} reads rendered pages from.  Defaults to
+     * {@link PageRenderCache#getDefault()}, which is only available when enabled by a system property.
+     *
+     * @param pageRenderCache render cache, null to always paint the page.
+     */
+    public void setPageRenderCache(PageRenderCache pageRenderCache) {
+        if (this.pageRenderCache != null && this.pageRenderCache != pageRenderCache) {
+            this.pageRenderCache.invalidateDocument(library);
+        }
+        this.pageRenderCache = pageRenderCache;
+    }
+
+    public PageRenderCache getPageRenderCache() {
+        return pageRenderCache;
+    }
+
     /**
      * Dispose of Document, freeing up all used resources.
      */
     public void dispose() {
+        if (pageRenderCache != null) {
+            pageRenderCache.invalidateDocument(library);
+        }
+        if (library != null) {
+            library.getDocumentMemory().dispose();
+        }
         // clean up file it will clean up any file channels and file descriptors too
         if (randomAccessFile != null) {
             try {
@@ -654,13 +680,21 @@ public class Document {
      *                       Arbitrary rotations are not currently supported for this method,
      *                       so only the following values are valid: 0.0f, 90.0f, 180.0f, 270.0f.
      * @param userZoom       Zoom factor to be applied to the rendered page.
-     * @return an Image object of the current page.
+     * @return an Image object of the current page.  When a page render cache is set the image is taken from the
+     * cache, unless the page has search highlights: cached images are painted without them as the cache doesn't
+     * track highlight changes, so a highlighted page is painted directly.
      * @throws InterruptedException thread interrupted.
+     * @see #setPageRenderCache(PageRenderCache)
      */
     public Image getPageImage(int pageNumber,
                               final int renderHintType, final int pageBoundary,
                               float userRotation, float userZoom) throws InterruptedException {
         Page page = catalog.getPageTree().getPage(pageNumber);
+        PageRenderCache renderCache = pageRenderCache;
+        if (renderCache != null && !page.hasSearchHighlight()) {
+            return renderCache.getPageImage(page, renderHintType, pageBoundary, userRotation, userZoom,
+                    true, false);
+        }
         page.init();
         PDimension sz = page.getSize(pageBoundary, userRotation, userZoom);
 
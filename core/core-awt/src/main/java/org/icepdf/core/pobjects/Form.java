@@ -17,6 +17,8 @@ package org.icepdf.core.pobjects;
 
 import org.icepdf.core.pobjects.annotations.utils.ContentWriterUtils;
 import org.icepdf.core.pobjects.graphics.ExtGState;
+import org.icepdf.core.pobjects.graphics.FormDisplayList;
+import org.icepdf.core.pobjects.graphics.FormDisplayListCache;
 import org.icepdf.core.pobjects.graphics.GraphicsState;
 import org.icepdf.core.pobjects.graphics.Shapes;
 import org.icepdf.core.pobjects.graphics.images.ImageStream;
@@ -59,6 +61,8 @@ public class Form extends Stream {
     private AffineTransform matrix = new AffineTransform();
     private Rectangle2D bbox;
     private Shapes shapes;
+    // shared parsed representation of shapes, null if the form wasn't parsed from its content stream.
+    private FormDisplayList displayList;
     // Graphics state object to be used by content parser
     private GraphicsState graphicsState;
     private ExtGState extGState;
@@ -97,6 +101,7 @@ public class Form extends Stream {
     public void setAppearance(Shapes shapes, AffineTransform matrix, Rectangle2D bbox) {
         inited = false;
         this.shapes = shapes;
+        this.displayList = null;
         this.matrix = matrix;
         this.bbox = bbox;
         entries.put(Form.BBOX_KEY, PRectangle.getPRectangleVector(bbox));
@@ -185,19 +190,44 @@ public class Form extends Stream {
         bbox = library.getRectangle(entries, BBOX_KEY);
         // try and find the form's resources dictionary.
         Resources leafResources = library.getResources(entries, RESOURCES_KEY);
+        boolean inheritedResources = leafResources == null;
         // apply parent resource, if the current resources is null
         if (leafResources == null) {
             leafResources = parentResource;
         }
+        byte[] in = getDecodedStreamBytes();
+        // a template drawn on many pages is parsed once, see FormDisplayListCache.  Redaction rewrites the
+        // content so never shares, and neither does a form with pending edits or one drawn under a soft mask.
+        FormDisplayListCache displayListCache = library.getFormDisplayListCache();
+        FormDisplayListCache.Key cacheKey = null;
+        Reference reference = getPObjectReference();
+        if (in != null && contentStreamRedactorCallback == null && reference != null &&
+                FormDisplayListCache.isEnabled() && FormDisplayListCache.isShareable(graphicsState) &&
+                (library.getStateManager() == null || !library.getStateManager().contains(reference))) {
+            cacheKey = FormDisplayListCache.createKey(reference, in,
+                    inheritedResources ? leafResources : null, graphicsState);
+            FormDisplayList sharedDisplayList = displayListCache.get(cacheKey);
+            if (sharedDisplayList != null) {
+                logger.log(Level.FINER, () -> "Reusing parsed form " + reference);
+                displayList = sharedDisplayList;
+                shapes = sharedDisplayList.getShapes();
+                inited = true;
+                return;
+            }
+        }
         // Build a new content parser for the content streams and apply the
         // content stream of the calling content stream.
         ContentParser cp = new ContentParser(library, leafResources, contentStreamRedactorCallback);
         cp.setGraphicsState(graphicsState);
-        byte[] in = getDecodedStreamBytes();
+        displayList = null;
         if (in != null) {
             try {
                 logger.log(Level.FINER, () -> "Parsing form " + getPObjectReference());
                 shapes = cp.parse(Stream.fromByteArray(in, this), null).getShapes();
+                displayList = new FormDisplayList(shapes, matrix, bbox, isolated, knockOut);
+                if (cacheKey != null) {
+                    displayListCache.put(cacheKey, displayList);
+                }
                 inited = true;
             } catch (InterruptedException e) {
                 // the initialization was interrupted so, we need to make sure we bubble up the exception
@@ -319,6 +349,16 @@ public class Form extends Stream {
         return shapes;
     }
 
+    /**
+     * Gets the shared display list the shapes belong to.  Display lists are shared by every page that draws
+     * the form, see {@link FormDisplayListCache}.
+     *
+     * @return form display list, null if the form wasn't parsed from its content stream.
+     */
+    public FormDisplayList getDisplayList() {
+        return displayList;
+    }
+
     /**
      * Gets the bounding box for the xObject.
      *
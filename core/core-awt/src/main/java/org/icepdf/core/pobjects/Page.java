@@ -17,6 +17,7 @@ package org.icepdf.core.pobjects;
 
 import org.icepdf.core.events.*;
 import org.icepdf.core.io.SeekableInput;
+import org.icepdf.core.pobjects.acroform.InteractiveForm;
 import org.icepdf.core.pobjects.annotations.*;
 import org.icepdf.core.pobjects.graphics.*;
 import org.icepdf.core.pobjects.graphics.commands.FormDrawCmd;
@@ -25,6 +26,8 @@ import org.icepdf.core.pobjects.graphics.text.LineText;
 import org.icepdf.core.pobjects.graphics.text.PageText;
 import org.icepdf.core.pobjects.graphics.text.WordText;
 import org.icepdf.core.util.*;
+import org.icepdf.core.util.metrics.RenderMetrics;
+import org.icepdf.core.util.metrics.RenderPhase;
 import org.icepdf.core.util.parser.content.ContentParser;
 import org.icepdf.core.util.updater.callbacks.ContentStreamCallback;
 import org.icepdf.core.util.updater.modifiers.AnnotationRemovalModifier;
@@ -131,6 +134,12 @@ public class Page extends Dictionary {
     private static final boolean EAGER_IMAGE_DECODE =
             Defs.booleanProperty("org.icepdf.core.imageReference.eagerDecode", false);
 
+    // When enabled, a page's extracted text is packed into columnar arrays once it has been parsed, see
+    // PageText#pack.  Off by default: views over the packed text are rebuilt on demand, which only pays off when the
+    // text of many pages is kept resident, e.g. search highlighting across a large document.
+    private static final boolean PACKED_TEXT =
+            Defs.booleanProperty("org.icepdf.core.views.page.text.packed", false);
+
     public static final Name TYPE = new Name("Page");
     public static final Name ANNOTS_KEY = new Name("Annots");
     public static final Name CONTENTS_KEY = new Name("Contents");
@@ -182,6 +191,9 @@ public class Page extends Dictionary {
     private List<Stream> contents;
     // Container for all shapes stored on page
     private Shapes shapes = null;
+    // display list size as parsed and as painted, reported with the initialization ended event.
+    private int parsedCommandCount = -1;
+    private int commandCount = -1;
 
     // the collection of objects listening for page paint events
     private final List<PaintPageListener> paintPageListeners = new ArrayList<>(8);
@@ -375,6 +387,11 @@ public class Page extends Dictionary {
                     }
                 }
             }
+            // build the form fields owning this page's widgets, the rest of the form stays unbuilt.
+            InteractiveForm interactiveForm = library.getCatalog().getInteractiveForm();
+            if (interactiveForm != null) {
+                interactiveForm.initPageFields(annotations);
+            }
         }
     }
 
@@ -400,6 +417,20 @@ public class Page extends Dictionary {
      * @param contentStreamCallback callback use to rewrite content stream
      */
     public synchronized void init(ContentStreamCallback contentStreamCallback) throws InterruptedException {
+        if (inited && contentStreamCallback == null) {
+            return;
+        }
+        RenderMetrics.Scope scope = RenderMetrics.enterPage(this);
+        long start = RenderMetrics.start();
+        try {
+            initPage(contentStreamCallback);
+        } finally {
+            RenderMetrics.stop(RenderPhase.PAGE_INIT, library, start);
+            RenderMetrics.exitPage(scope);
+        }
+    }
+
+    private void initPage(ContentStreamCallback contentStreamCallback) throws InterruptedException {
         try {
             if (contentStreamCallback != null) {
                 inited = false;
@@ -459,13 +490,21 @@ public class Page extends Dictionary {
 
                     // pass in option group references into parse.
                     if (streams.length > 0) {
+                        long parseStart = RenderMetrics.start();
                         shapes = cp.parse(streams, this).getShapes();
+                        RenderMetrics.stop(RenderPhase.CONTENT_PARSE, library, parseStart);
                         // record the page-level transparency group (/Group on the
                         // page dict), normally discarded.  A page that is itself a
                         // transparency group can be rendered into a shared group
                         // buffer so its inner groups blend against each other before
                         // reaching the page backdrop (see Shapes#getPageGroup).
                         initPageGroup();
+                        // optional display list optimisation and packed encoding, see Shapes#optimize and
+                        // Shapes#pack.
+                        parsedCommandCount = shapes.getShapesCount();
+                        shapes.optimizeIfEnabled();
+                        commandCount = shapes.getShapesCount();
+                        shapes.packIfEnabled();
                     }
                     // content streams are only needed for parsing; the Shapes built above are what painting uses.
                     // Release each stream's decompressed cache (re-derivable from the still-compressed rawBytes) so
@@ -601,15 +640,72 @@ public class Page extends Dictionary {
      */
     public void paint(Graphics g, int renderHintType, final int boundary, float userRotation, float userZoom,
                       boolean paintAnnotations, boolean paintSearchHighlight) throws InterruptedException {
+        paint(g, renderHintType, boundary, userRotation, userZoom, paintAnnotations, paintSearchHighlight, null);
+    }
+
+    /**
+     * Paints the page as {@link #paint(Graphics, int, int, float, float, boolean, boolean)} does, optionally
+     * with a {@link GraphicsRenderingHints#KEY_CONTENT_DETAIL} value applied over the render hints.
+     *
+     * @param contentDetail content detail hint value, or null for full content.
+     */
+    void paint(Graphics g, int renderHintType, final int boundary, float userRotation, float userZoom,
+               boolean paintAnnotations, boolean paintSearchHighlight, Object contentDetail)
+            throws InterruptedException {
+        GraphicsRenderingHints grh = GraphicsRenderingHints.getDefault();
+        RenderingHints renderingHints = grh.getRenderingHints(renderHintType);
+        if (contentDetail != null) {
+            renderingHints.put(GraphicsRenderingHints.KEY_CONTENT_DETAIL, contentDetail);
+        }
+        paint(g, renderHintType, renderingHints, grh.getPageBackgroundColor(renderHintType), boundary,
+                userRotation, userZoom, paintAnnotations, paintSearchHighlight);
+    }
+
+    /**
+     * Paints the contents of this page to the graphics context using the hints, background and image fidelity
+     * settings of the given render profile.
+     *
+     * @param g                    graphics context to which the page content will be painted.
+     * @param profile              render quality tier, see {@link RenderProfile#getProfile(String)}.
+     * @param boundary             Constant specifying the page boundary to use when
+     *                             painting the page content.
+     * @param userRotation         Rotation factor, in degrees, to be applied to the rendered page
+     * @param userZoom             Zoom factor to be applied to the rendered page
+     * @param paintAnnotations     true enables the painting of page annotations.
+     * @param paintSearchHighlight true enables the painting of search highlight state of text object.
+     * @throws InterruptedException thread interrupted.
+     * @since 7.5
+     */
+    public void paint(Graphics g, RenderProfile profile, final int boundary, float userRotation, float userZoom,
+                      boolean paintAnnotations, boolean paintSearchHighlight) throws InterruptedException {
+        paint(g, profile.getRenderHintType(), profile.getRenderingHints(), profile.getBackgroundColor(), boundary,
+                userRotation, userZoom, paintAnnotations, paintSearchHighlight);
+    }
+
+    private void paint(Graphics g, int renderHintType, RenderingHints renderingHints, Color backgroundColor,
+                       final int boundary, float userRotation, float userZoom,
+                       boolean paintAnnotations, boolean paintSearchHighlight) throws InterruptedException {
         if (!inited) {
             // make sure we don't do a page init on the awt thread in the viewer
             // ri, let the
             return;
         }
+        RenderMetrics.Scope scope = RenderMetrics.enterPage(this);
+        long start = RenderMetrics.start();
+        try {
+            paintPage(g, renderHintType, renderingHints, backgroundColor, boundary, userRotation, userZoom,
+                    paintAnnotations, paintSearchHighlight);
+        } finally {
+            RenderMetrics.stop(RenderPhase.PAGE_PAINT, library, start);
+            RenderMetrics.exitPage(scope);
+        }
+    }
 
+    private void paintPage(Graphics g, int renderHintType, RenderingHints renderingHints, Color backgroundColor,
+                           final int boundary, float userRotation, float userZoom,
+                           boolean paintAnnotations, boolean paintSearchHighlight) throws InterruptedException {
         Graphics2D g2 = (Graphics2D) g;
-        GraphicsRenderingHints grh = GraphicsRenderingHints.getDefault();
-        g2.setRenderingHints(grh.getRenderingHints(renderHintType));
+        g2.setRenderingHints(renderingHints);
 
         AffineTransform at = getPageTransform(boundary, userRotation, userZoom);
         g2.transform(at);
@@ -622,7 +718,6 @@ public class Page extends Dictionary {
         float y = 0 - (pageBoundary.y - pageBoundary.height);
 
         // Draw the (typically white) background
-        Color backgroundColor = grh.getPageBackgroundColor(renderHintType);
         if (backgroundColor != null) {
             g2.setColor(backgroundColor);
             g2.fillRect((int) (0 - x), (int) (0 - y), (int) pageBoundary.width, (int) pageBoundary.height);
@@ -663,6 +758,22 @@ public class Page extends Dictionary {
 
     }
 
+    /**
+     * Creates a progressive render of this page, which paints a fast preview pass first and then refines it
+     * in further passes.  Each pass can be cancelled and the whole render can be bounded by a time budget,
+     * see {@link ProgressivePageRender#render(long, java.util.concurrent.TimeUnit)}.
+     *
+     * @param renderHintType Constant specified by the GraphicsRenderingHints class, SCREEN or PRINT.
+     * @param boundary       Constant specifying the page boundary to use when painting the page content.
+     * @param userRotation   Rotation factor, in degrees, to be applied to the rendered page
+     * @param userZoom       Zoom factor to be applied to the rendered page
+     * @return new progressive render, no pass has been painted yet.
+     */
+    public ProgressivePageRender createProgressiveRender(int renderHintType, int boundary, float userRotation,
+                                                         float userZoom) {
+        return new ProgressivePageRender(this, renderHintType, boundary, userRotation, userZoom);
+    }
+
     /**
      * Paints the contents of this page to the graphics context using
      * the specified rotation, zoom, rendering hints.
@@ -1483,6 +1594,45 @@ public class Page extends Dictionary {
         return annotations;
     }
 
+    /**
+     * Gets the subtypes of the annotations on this page.  Unlike {@link #getAnnotations()} the annotations are
+     * not initialized, only the /Subtype of each /Annots entry is read, so this is a cheap way to find out whether
+     * a page carries annotations of a given type.  Popups that aren't listed in /Annots are not included until the
+     * annotations have been initialized.
+     *
+     * @return subtypes of the page's annotations, empty if the page has no annotations.
+     * @since 7.5
+     */
+    public Set<Name> getAnnotationSubtypes() {
+        Set<Name> subtypes = new HashSet<>();
+        List<Annotation> initialized = annotations;
+        if (initialized != null) {
+            for (Annotation annotation : initialized) {
+                Name subtype = annotation.getSubType();
+                if (subtype != null) {
+                    subtypes.add(subtype);
+                }
+            }
+            return subtypes;
+        }
+        Object annots = library.getObject(entries, ANNOTS_KEY);
+        if (annots instanceof List) {
+            for (Object annot : (List) annots) {
+                Object annotObj = annot instanceof Reference ? library.getObject((Reference) annot) : annot;
+                Name subtype = null;
+                if (annotObj instanceof Annotation) {
+                    subtype = ((Annotation) annotObj).getSubType();
+                } else if (annotObj instanceof DictionaryEntries) {
+                    subtype = library.getName((DictionaryEntries) annotObj, SUBTYPE_KEY);
+                }
+                if (subtype != null) {
+                    subtypes.add(subtype);
+                }
+            }
+        }
+        return subtypes;
+    }
+
     public List<RedactionAnnotation> getRedactionAnnotations() {
         if (annotations == null) {
             try {
@@ -1719,12 +1869,53 @@ public class Page extends Dictionary {
             init();
         }
         if (shapes != null) {
-            return shapes.getPageText();
+            return packText(shapes.getPageText());
         } else {
             return null;
         }
     }
 
+    /**
+     * Checks if any of the page's text carries a search highlight, the state painted when paintSearchHighlight is
+     * set.  A page that isn't initialized has no text and so no highlights, it isn't initialized by the check.
+     *
+     * @return true if a word or glyph of the page is highlighted.
+     * @since 7.5
+     */
+    public boolean hasSearchHighlight() {
+        Shapes pageShapes = shapes;
+        if (!inited || pageShapes == null) {
+            return false;
+        }
+        PageText pageText = pageShapes.getPageText();
+        if (pageText == null || pageText.getPageLines() == null) {
+            return false;
+        }
+        for (LineText lineText : pageText.getPageLines()) {
+            if (lineText == null) {
+                continue;
+            }
+            for (WordText wordText : lineText.getWords()) {
+                if (wordText.isHighlighted()) {
+                    return true;
+                }
+                for (GlyphText glyph : wordText.getGlyphs()) {
+                    if (glyph.isHighlighted()) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static PageText packText(PageText pageText) {
+        if (PACKED_TEXT && pageText != null) {
+            pageText.pack();
+        }
+        return pageText;
+    }
+
     /**
      * Gets the Shapes object associated with this Page.  The return value can be
      * null depending on the PDF encoding.  The init() method should be called to
@@ -1750,7 +1941,7 @@ public class Page extends Dictionary {
         // we only do this once per page
         if (inited) {
             if (shapes != null && shapes.getPageText() != null) {
-                return shapes.getPageText();
+                return packText(shapes.getPageText());
             }
         }
 
@@ -1792,7 +1983,7 @@ public class Page extends Dictionary {
             }
         }
         if (textBlockShapes.getPageText() != null) {
-            return textBlockShapes.getPageText();
+            return packText(textBlockShapes.getPageText());
         } else {
             return null;
         }
@@ -1948,7 +2139,8 @@ public class Page extends Dictionary {
 
     private void notifyPageInitializationEnded(boolean interrupted) {
         pageInitialized = true;
-        PageInitializingEvent pageLoadingEvent = new PageInitializingEvent(this, interrupted);
+        PageInitializingEvent pageLoadingEvent = new PageInitializingEvent(this, interrupted,
+                parsedCommandCount, commandCount);
         PageLoadingListener client;
         for (int i = pageLoadingListeners.size() - 1; i >= 0; i--) {
             client = pageLoadingListeners.get(i);
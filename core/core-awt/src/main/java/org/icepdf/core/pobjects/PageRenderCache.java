@@ -0,0 +1,474 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects;
+
+import org.icepdf.core.pobjects.annotations.Annotation;
+import org.icepdf.core.pobjects.graphics.images.ImageUtility;
+import org.icepdf.core.util.Defs;
+import org.icepdf.core.util.Library;
+import org.icepdf.core.util.ThumbnailDiskCache;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cache of rendered page images for callers that paint the same pages at the same few sizes again and again, such
+ * as a server rendering previews.  Entries are keyed by document, page, boundary, rotation, zoom, render hint type and
+ * the annotation and search highlight flags, and are held either as raw images or as PNG bytes, trading memory for
+ * an encode and decode per entry.  The cache is bounded by a byte budget and evicts least recently used entries
+ * first.
+ * <br>
+ * An optional {@link DiskTier} keeps rendered pages across sessions, {@link ThumbnailDiskCache} is one
+ * implementation.  Disk entries are keyed by the document's content, see {@link ThumbnailDiskCache#documentKey},
+ * so only pages that haven't been edited in this session are read from or written to the disk tier.
+ * <br>
+ * A document's entries are invalidated when its {@link StateManager} records a change: a change to a page or to one
+ * of its annotations drops the page's entries, any other change drops the document's entries.  Search highlights
+ * aren't tracked by the state manager, a caller that paints them must {@link #invalidate(Page)} the page when they
+ * change.
+ * <br>
+ * The default cache is used by {@link Document#getPageImage} when enabled with
+ * {@code org.icepdf.core.renderCache.enabled}, its budget is {@code org.icepdf.core.renderCache.maxMB} (default 64)
+ * and its storage {@code org.icepdf.core.renderCache.storage}, raw or png (default raw).
+ *
+ * @since 7.5
+ */
+public class PageRenderCache {
+
+    private static final Logger logger = Logger.getLogger(PageRenderCache.class.getName());
+
+    public static final String ENABLED_PROPERTY = "org.icepdf.core.renderCache.enabled";
+    public static final String MAX_SIZE_PROPERTY = "org.icepdf.core.renderCache.maxMB";
+    public static final String STORAGE_PROPERTY = "org.icepdf.core.renderCache.storage";
+
+    /**
+     * How cached images are held in memory.
+     */
+    public enum Storage {
+        /**
+         * Images as painted, no decode cost on a hit.
+         */
+        RAW,
+        /**
+         * PNG encoded images, a fraction of the memory for an encode per miss and a decode per hit.
+         */
+        PNG
+    }
+
+    /**
+     * Persistent second tier, consulted on a memory miss and written to after a render.
+     */
+    public interface DiskTier {
+        /**
+         * Reads a cached page image.
+         *
+         * @param documentKey content key of the document.
+         * @param pageIndex   zero based page index.
+         * @param variant     render settings of the image.
+         * @return cached image or null if not cached.
+         */
+        BufferedImage get(String documentKey, int pageIndex, String variant);
+
+        /**
+         * Writes a page image.
+         *
+         * @param documentKey content key of the document.
+         * @param pageIndex   zero based page index.
+         * @param variant     render settings of the image.
+         * @param image       image to store.
+         */
+        void put(String documentKey, int pageIndex, String variant, BufferedImage image);
+    }
+
+    private static PageRenderCache defaultCache;
+
+    private final long maxBytes;
+    private final Storage storage;
+    private volatile DiskTier diskTier;
+
+    // guarded by this
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeInBytes;
+    // per document identity and edit tracking, weak so a document that is never disposed doesn't leak.
+    private final Map<Library, DocumentState> documents = new WeakHashMap<>();
+
+    private final AtomicLong nextDocumentId = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxBytes memory budget in bytes.
+     * @param storage  how images are held in memory.
+     */
+    public PageRenderCache(long maxBytes, Storage storage) {
+        this.maxBytes = maxBytes;
+        this.storage = storage;
+    }
+
+    /**
+     * Gets the shared cache if enabled by {@link #ENABLED_PROPERTY}.
+     *
+     * @return default cache, null if not enabled.
+     */
+    public static synchronized PageRenderCache getDefault() {
+        if (defaultCache == null && Defs.booleanProperty(ENABLED_PROPERTY, false)) {
+            long maxMb = Defs.intProperty(MAX_SIZE_PROPERTY, 64);
+            Storage storage = "png".equalsIgnoreCase(Defs.sysProperty(STORAGE_PROPERTY, "raw")) ?
+                    Storage.PNG : Storage.RAW;
+            defaultCache = new PageRenderCache(maxMb * 1024 * 1024, storage);
+        }
+        return defaultCache;
+    }
+
+    public void setDiskTier(DiskTier diskTier) {
+        this.diskTier = diskTier;
+    }
+
+    public DiskTier getDiskTier() {
+        return diskTier;
+    }
+
+    /**
+     * Gets the page image for the given render settings, painting and caching it on a miss.  The returned image is
+     * the caller's to keep, it is never handed out again.
+     *
+     * @param page                 page to render.
+     * @param renderHintType       GraphicsRenderingHints.SCREEN or PRINT.
+     * @param boundary             page boundary constant.
+     * @param userRotation         rotation factor, in degrees.
+     * @param userZoom             zoom factor.
+     * @param paintAnnotations     true to paint annotations.
+     * @param paintSearchHighlight true to paint search highlights.
+     * @return rendered page.
+     * @throws InterruptedException thread interrupted.
+     */
+    public BufferedImage getPageImage(Page page, int renderHintType, int boundary, float userRotation,
+                                      float userZoom, boolean paintAnnotations, boolean paintSearchHighlight)
+            throws InterruptedException {
+        Library library = page.getLibrary();
+        DocumentState document = getDocumentState(library);
+        Reference pageReference = page.getPObjectReference();
+        Key key = new Key(document.id, pageReference, boundary, renderHintType, userRotation, userZoom,
+                paintAnnotations, paintSearchHighlight);
+        BufferedImage image = get(key);
+        if (image != null) {
+            hits.incrementAndGet();
+            return image;
+        }
+        misses.incrementAndGet();
+
+        DiskTier disk = diskTier;
+        boolean diskUsable = disk != null && document.isUnedited(pageReference) &&
+                document.getDocumentKey(library) != null;
+        if (diskUsable) {
+            image = disk.get(document.getDocumentKey(library), page.getPageIndex(), key.variant());
+            if (image != null) {
+                put(key, image);
+                return storage == Storage.RAW ? copy(image) : image;
+            }
+        }
+
+        int revision = document.getRevision(pageReference);
+        page.init();
+        PDimension size = page.getSize(boundary, userRotation, userZoom);
+        image = ImageUtility.createCompatibleImage(Math.max(1, (int) size.getWidth()),
+                Math.max(1, (int) size.getHeight()));
+        Graphics2D g = image.createGraphics();
+        try {
+            page.paint(g, renderHintType, boundary, userRotation, userZoom, paintAnnotations, paintSearchHighlight);
+        } finally {
+            g.dispose();
+        }
+        // an edit recorded while painting may not be in the image.
+        if (document.getRevision(pageReference) == revision) {
+            put(key, image);
+            if (diskUsable && document.isUnedited(pageReference)) {
+                disk.put(document.getDocumentKey(library), page.getPageIndex(), key.variant(), image);
+            }
+        }
+        return storage == Storage.RAW ? copy(image) : image;
+    }
+
+    /**
+     * Drops the cached images of a page.
+     *
+     * @param page page whose images are dropped.
+     */
+    public void invalidate(Page page) {
+        DocumentState document;
+        synchronized (this) {
+            document = documents.get(page.getLibrary());
+        }
+        if (document != null) {
+            invalidate(document, page.getPObjectReference());
+        }
+    }
+
+    /**
+     * Drops the cached images of a document, generally called when the document is disposed.
+     *
+     * @param library library of the document.
+     */
+    public void invalidateDocument(Library library) {
+        DocumentState document;
+        synchronized (this) {
+            document = documents.remove(library);
+        }
+        if (document != null) {
+            // pages still painting see a new revision and don't cache their images.
+            document.edited(null);
+            removeEntries(document.id, null);
+            StateManager stateManager = library.getStateManager();
+            if (stateManager != null) {
+                stateManager.removeChangeListener(document);
+            }
+        }
+    }
+
+    /**
+     * Empties the memory tier.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        sizeInBytes = 0;
+    }
+
+    public synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private synchronized DocumentState getDocumentState(Library library) {
+        DocumentState document = documents.get(library);
+        if (document == null) {
+            document = new DocumentState(nextDocumentId.incrementAndGet());
+            documents.put(library, document);
+            StateManager stateManager = library.getStateManager();
+            if (stateManager != null) {
+                stateManager.addChangeListener(document);
+            }
+        }
+        return document;
+    }
+
+    private void invalidate(DocumentState document, Reference pageReference) {
+        document.edited(pageReference);
+        removeEntries(document.id, pageReference);
+    }
+
+    private synchronized void removeEntries(long documentId, Reference pageReference) {
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> entry = iterator.next();
+            Key key = entry.getKey();
+            if (key.documentId == documentId && (pageReference == null || pageReference.equals(key.pageReference))) {
+                sizeInBytes -= entry.getValue().size;
+                iterator.remove();
+            }
+        }
+    }
+
+    private BufferedImage get(Key key) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            return null;
+        }
+        if (entry.image != null) {
+            return copy(entry.image);
+        }
+        try {
+            return ImageIO.read(new ByteArrayInputStream(entry.png));
+        } catch (IOException e) {
+            logger.log(Level.FINE, "Failed to decode cached page image.", e);
+            return null;
+        }
+    }
+
+    private void put(Key key, BufferedImage image) {
+        Entry entry;
+        if (storage == Storage.PNG) {
+            try {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                if (!ImageIO.write(image, "png", out)) {
+                    return;
+                }
+                entry = new Entry(null, out.toByteArray(), out.size());
+            } catch (IOException e) {
+                logger.log(Level.FINE, "Failed to encode page image for the render cache.", e);
+                return;
+            }
+        } else {
+            DataBuffer buffer = image.getRaster().getDataBuffer();
+            long size = (long) buffer.getSize() * buffer.getNumBanks() *
+                    DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+            entry = new Entry(image, null, size);
+        }
+        if (entry.size > maxBytes) {
+            return;
+        }
+        synchronized (this) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                sizeInBytes -= previous.size;
+            }
+            sizeInBytes += entry.size;
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (sizeInBytes > maxBytes && eldest.hasNext()) {
+                sizeInBytes -= eldest.next().size;
+                eldest.remove();
+            }
+        }
+    }
+
+    private static BufferedImage copy(BufferedImage image) {
+        return new BufferedImage(image.getColorModel(), image.copyData(null), image.isAlphaPremultiplied(), null);
+    }
+
+    /**
+     * Per document state, tracks the pages edited in this session and turns state manager changes into
+     * invalidations.
+     */
+    private final class DocumentState implements StateManager.ChangeListener {
+
+        private final long id;
+        // pages edited in this session and their edit count, a null key stands for the whole document.
+        private final Map<Reference, Integer> editedPages = new HashMap<>();
+        private String documentKey;
+        private boolean documentKeyResolved;
+
+        private DocumentState(long id) {
+            this.id = id;
+        }
+
+        @Override
+        public void changeRecorded(StateManager.Change change) {
+            Object object = change.getPObject().getObject();
+            Reference pageReference = null;
+            if (object instanceof Page) {
+                pageReference = ((Page) object).getPObjectReference();
+            } else if (object instanceof Annotation) {
+                Page page = ((Annotation) object).getPage();
+                pageReference = page != null ? page.getPObjectReference() : null;
+            }
+            invalidate(this, pageReference);
+        }
+
+        synchronized void edited(Reference pageReference) {
+            editedPages.merge(pageReference, 1, Integer::sum);
+        }
+
+        synchronized boolean isUnedited(Reference pageReference) {
+            return !editedPages.containsKey(null) && !editedPages.containsKey(pageReference);
+        }
+
+        synchronized int getRevision(Reference pageReference) {
+            return editedPages.getOrDefault(null, 0) + editedPages.getOrDefault(pageReference, 0);
+        }
+
+        synchronized String getDocumentKey(Library library) {
+            if (!documentKeyResolved) {
+                documentKey = ThumbnailDiskCache.documentKey(library);
+                documentKeyResolved = true;
+            }
+            return documentKey;
+        }
+    }
+
+    private static final class Entry {
+        private final BufferedImage image;
+        private final byte[] png;
+        private final long size;
+
+        private Entry(BufferedImage image, byte[] png, long size) {
+            this.image = image;
+            this.png = png;
+            this.size = size;
+        }
+    }
+
+    private static final class Key {
+        private final long documentId;
+        private final Reference pageReference;
+        private final int boundary;
+        private final int renderHintType;
+        private final float userRotation;
+        private final float userZoom;
+        private final boolean paintAnnotations;
+        private final boolean paintSearchHighlight;
+
+        private Key(long documentId, Reference pageReference, int boundary, int renderHintType,
+                    float userRotation, float userZoom, boolean paintAnnotations, boolean paintSearchHighlight) {
+            this.documentId = documentId;
+            this.pageReference = pageReference;
+            this.boundary = boundary;
+            this.renderHintType = renderHintType;
+            this.userRotation = userRotation;
+            this.userZoom = userZoom;
+            this.paintAnnotations = paintAnnotations;
+            this.paintSearchHighlight = paintSearchHighlight;
+        }
+
+        String variant() {
+            return "b" + boundary + "_h" + renderHintType + "_r" + userRotation + "_z" + userZoom +
+                    (paintAnnotations ? "_a" : "") + (paintSearchHighlight ? "_s" : "");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return documentId == key.documentId && boundary == key.boundary &&
+                    renderHintType == key.renderHintType &&
+                    Float.compare(key.userRotation, userRotation) == 0 &&
+                    Float.compare(key.userZoom, userZoom) == 0 &&
+                    paintAnnotations == key.paintAnnotations &&
+                    paintSearchHighlight == key.paintSearchHighlight &&
+                    Objects.equals(pageReference, key.pageReference);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(documentId, pageReference, boundary, renderHintType, userRotation, userZoom,
+                    paintAnnotations, paintSearchHighlight);
+        }
+    }
+}
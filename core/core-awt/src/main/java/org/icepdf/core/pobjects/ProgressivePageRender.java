@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects;
+
+import org.icepdf.core.pobjects.graphics.images.ImageUtility;
+import org.icepdf.core.util.GraphicsRenderingHints;
+import org.icepdf.core.util.Library;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Renders a page into an image in passes of increasing fidelity.  The first pass is a
+ * {@link Pass#PREVIEW}: text and vector content are painted as normal but images are painted from the
+ * document's low resolution proxies (or a placeholder when the image has never been decoded) and shadings as
+ * flat colours, see {@link GraphicsRenderingHints#VALUE_CONTENT_PREVIEW}.  The {@link Pass#FULL} pass then
+ * paints the page as {@link Page#paint} does.  Each pass paints into its own image so a returned image is never
+ * touched again.
+ * <br>
+ * Passes can be stepped through with {@link #nextPass()}, or {@link #render(long, TimeUnit)} can be asked for
+ * the best image available within a time budget, for example:
+ * <pre>
+ *     ProgressivePageRender render = page.createProgressiveRender(GraphicsRenderingHints.SCREEN,
+ *             Page.BOUNDARY_CROPBOX, 0, 1.5f);
+ *     render.addPassListener((r, pass, image) -&gt; repaint(image));
+ *     BufferedImage image = render.render(100, TimeUnit.MILLISECONDS);
+ * </pre>
+ * {@link #cancel()} can be called from any thread, it stops a running pass at its next interrupt check and no
+ * further passes are painted.
+ *
+ * @see Page#createProgressiveRender(int, int, float, float)
+ * @since 7.5
+ */
+public class ProgressivePageRender {
+
+    private static final Logger logger =
+            Logger.getLogger(ProgressivePageRender.class.getName());
+
+    /**
+     * Render passes in the order they are painted.
+     */
+    public enum Pass {
+        /**
+         * Text and vector content with image proxies and simplified shadings.
+         */
+        PREVIEW,
+        /**
+         * Full fidelity page.
+         */
+        FULL
+    }
+
+    /**
+     * Notified on the painting thread each time a pass completes.
+     */
+    public interface PassListener {
+        void passCompleted(ProgressivePageRender render, Pass pass, BufferedImage image);
+    }
+
+    private final Page page;
+    private final int renderHintType;
+    private final int boundary;
+    private final float userRotation;
+    private final float userZoom;
+
+    private final List<PassListener> passListeners = new CopyOnWriteArrayList<>();
+
+    // serializes the passes, a refinement running in the background and a caller stepping through nextPass()
+    // must not paint the same pass twice.
+    private final Object passLock = new Object();
+    // guarded by this
+    private int nextPass;
+    private Thread paintingThread;
+
+    private volatile boolean cancelled;
+    private volatile BufferedImage image;
+    private volatile Pass completedPass;
+
+    ProgressivePageRender(Page page, int renderHintType, int boundary, float userRotation, float userZoom) {
+        this.page = page;
+        this.renderHintType = renderHintType;
+        this.boundary = boundary;
+        this.userRotation = userRotation;
+        this.userZoom = userZoom;
+    }
+
+    public void addPassListener(PassListener listener) {
+        passListeners.add(listener);
+    }
+
+    public void removePassListener(PassListener listener) {
+        passListeners.remove(listener);
+    }
+
+    /**
+     * Paints the next pass.
+     *
+     * @return image of the pass just painted, or null if all passes are done or the render was cancelled.
+     * @throws InterruptedException thread interrupted, other than by {@link #cancel()}.
+     */
+    public BufferedImage nextPass() throws InterruptedException {
+        synchronized (passLock) {
+            Pass pass;
+            synchronized (this) {
+                if (cancelled || nextPass >= Pass.values().length) {
+                    return null;
+                }
+                pass = Pass.values()[nextPass++];
+                paintingThread = Thread.currentThread();
+            }
+            try {
+                long start = System.nanoTime();
+                BufferedImage passImage = paintPass(pass);
+                if (cancelled) {
+                    return null;
+                }
+                image = passImage;
+                completedPass = pass;
+                if (logger.isLoggable(Level.FINER)) {
+                    logger.finer("Painted " + pass + " pass of page " + page.getPageIndex() + " in " +
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+                }
+                for (PassListener listener : passListeners) {
+                    listener.passCompleted(this, pass, passImage);
+                }
+                return passImage;
+            } catch (InterruptedException e) {
+                if (cancelled) {
+                    return null;
+                }
+                throw e;
+            } finally {
+                synchronized (this) {
+                    paintingThread = null;
+                    if (cancelled) {
+                        // clear an interrupt from cancel() that landed after the paint's last check.
+                        Thread.interrupted();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the best image that can be painted within the given time budget.  The preview pass is always painted,
+     * even if it alone overruns the budget, so there is an image to return.  The remaining passes wait on image
+     * decodes and are painted with {@link Library#executeBlocking(Runnable)}; if they don't complete within the
+     * budget the preview is returned and refinement carries on in the background, completed passes are reported
+     * to the {@link PassListener}s and {@link #getImage()}.  Call {@link #cancel()} to stop refinement instead.
+     *
+     * @param timeout time budget.
+     * @param unit    unit of the time budget.
+     * @return best image painted within the budget, or null if the render was cancelled before any pass completed.
+     * @throws InterruptedException thread interrupted.
+     */
+    public BufferedImage render(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (completedPass == null && hasNextPass()) {
+            nextPass();
+        }
+        if (!hasNextPass()) {
+            return image;
+        }
+        FutureTask<BufferedImage> refine = new FutureTask<>(() -> {
+            BufferedImage last = null;
+            while (hasNextPass()) {
+                BufferedImage passImage = nextPass();
+                if (passImage != null) {
+                    last = passImage;
+                }
+            }
+            return last;
+        });
+        Library.executeBlocking(refine);
+        long remaining = deadline - System.nanoTime();
+        if (remaining > 0) {
+            try {
+                refine.get(remaining, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // out of budget, return the best image so far.
+            } catch (ExecutionException e) {
+                logger.log(Level.WARNING, "Error refining page " + page.getPageIndex(), e.getCause());
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Stops the render, a pass in progress is interrupted and no further passes are painted.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        if (paintingThread != null) {
+            paintingThread.interrupt();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public synchronized boolean hasNextPass() {
+        return !cancelled && nextPass < Pass.values().length;
+    }
+
+    /**
+     * Gets the image of the last completed pass.
+     *
+     * @return last completed image, null if no pass has completed.
+     */
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    /**
+     * Gets the last completed pass.
+     *
+     * @return last completed pass, null if no pass has completed.
+     */
+    public Pass getCompletedPass() {
+        return completedPass;
+    }
+
+    private BufferedImage paintPass(Pass pass) throws InterruptedException {
+        page.init();
+        PDimension size = page.getSize(boundary, userRotation, userZoom);
+        int width = Math.max(1, (int) size.getWidth());
+        int height = Math.max(1, (int) size.getHeight());
+        BufferedImage passImage = ImageUtility.createCompatibleImage(width, height);
+        Graphics2D g = passImage.createGraphics();
+        try {
+            page.paint(g, renderHintType, boundary, userRotation, userZoom, true, false,
+                    pass == Pass.PREVIEW ? GraphicsRenderingHints.VALUE_CONTENT_PREVIEW : null);
+        } finally {
+            g.dispose();
+        }
+        return passImage;
+    }
+}
@@ -21,6 +21,9 @@ import org.icepdf.core.pobjects.graphics.images.ImageParams;
 import org.icepdf.core.pobjects.graphics.images.ImageStream;
 import org.icepdf.core.pobjects.graphics.images.references.ImageReferenceFactory;
 import org.icepdf.core.util.Library;
+import org.icepdf.core.util.metrics.CacheType;
+import org.icepdf.core.util.metrics.RenderMetrics;
+import org.icepdf.core.util.metrics.RenderPhase;
 
 import java.awt.*;
 import java.util.ArrayList;
@@ -173,6 +176,8 @@ public class Resources extends Dictionary {
             }
         }
         if (font != null) {
+            boolean loaded = font.inited;
+            long start = loaded ? 0 : RenderMetrics.start();
             try {
                 font.setParentResource(this);
                 font.init();
@@ -181,6 +186,8 @@ public class Resources extends Dictionary {
                 logger.log(Level.WARNING, e,
                         () -> "Error initializing font, falling back to font substitution. " + finalFont);
             }
+            RenderMetrics.cacheAccessed(CacheType.FONT, library, loaded);
+            RenderMetrics.stop(RenderPhase.FONT_LOAD, library, start);
         }
         return font;
     }
@@ -19,6 +19,8 @@ import org.icepdf.core.pobjects.annotations.RedactionAnnotation;
 import org.icepdf.core.pobjects.structure.CrossReferenceRoot;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
@@ -49,7 +51,19 @@ public class StateManager {
     private final AtomicInteger nextImageNumber;
 
     // snapshot of currently saved changes
-    private Map<Reference, StateManager.Change> savedChangesSnapshot = new HashMap<>();
+    private volatile Map<Reference, StateManager.Change> savedChangesSnapshot = new HashMap<>();
+
+    private final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Notified when a change or deletion made by a user action is recorded.  Synthetic changes, objects the core
+     * library creates to render a document as is, are not reported.
+     *
+     * @since 7.5
+     */
+    public interface ChangeListener {
+        void changeRecorded(Change change);
+    }
 
     /**
      * Creates a new instance of the state manager.
@@ -58,9 +72,10 @@ public class StateManager {
      */
     public StateManager(CrossReferenceRoot crossReferenceRoot) {
         this.crossReferenceRoot = crossReferenceRoot;
-        // cache of objects that have changed.
-        changes = new HashMap<>();
-        tempChanges = new HashMap<>();
+        // cache of objects that have changed, concurrent as pages can be edited from several threads, for example
+        // when redactions are burned in parallel.
+        changes = new ConcurrentHashMap<>();
+        tempChanges = new ConcurrentHashMap<>();
 
         // number of objects is always one more than the current size and
         // thus the next available number.
@@ -119,22 +134,46 @@ public class StateManager {
      *                was added but because the object wasn't present for rendering and was created by the core library.
      */
     public void addChange(PObject pObject, boolean isNew) {
-        changes.put(pObject.getReference(), new Change(pObject, isNew ? Type.CHANGE : Type.SYNTHETIC));
+        Change change = new Change(pObject, isNew ? Type.CHANGE : Type.SYNTHETIC);
+        changes.put(pObject.getReference(), change);
         int objectNumber = pObject.getReference().getObjectNumber();
         // check the reference numbers
-        synchronized (this) {
-            if (nextReferenceNumber.get() <= objectNumber) {
-                nextReferenceNumber.set(objectNumber + 1);
-            }
+        nextReferenceNumber.accumulateAndGet(objectNumber + 1, Math::max);
+        if (isNew) {
+            fireChangeRecorded(change);
         }
     }
 
     public void addDeletion(Reference reference) {
-        changes.put(reference, new Change(reference, Type.DELETE));
+        Change change = new Change(reference, Type.DELETE);
+        changes.put(reference, change);
+        fireChangeRecorded(change);
     }
 
     public void addDeletion(PObject pObject) {
-        changes.put(pObject.getReference(), new Change(pObject, Type.DELETE));
+        Change change = new Change(pObject, Type.DELETE);
+        changes.put(pObject.getReference(), change);
+        fireChangeRecorded(change);
+    }
+
+    /**
+     * Adds a listener notified of every change or deletion made by a user action.
+     *
+     * @param listener listener to add.
+     * @since 7.5
+     */
+    public void addChangeListener(ChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(ChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    private void fireChangeRecorded(Change change) {
+        for (ChangeListener listener : changeListeners) {
+            listener.changeRecorded(change);
+        }
     }
 
     /**
@@ -145,7 +184,7 @@ public class StateManager {
      * @return true if reference is already a key in the cache; otherwise, false.
      */
     public boolean contains(Reference reference) {
-        return changes.containsKey(reference) || tempChanges.containsKey(reference);
+        return reference != null && (changes.containsKey(reference) || tempChanges.containsKey(reference));
     }
 
     /**
@@ -155,6 +194,9 @@ public class StateManager {
      * @return Change of corresponding reference if present
      */
     public Change getChange(Reference reference) {
+        if (reference == null) {
+            return null;
+        }
         Change change = changes.get(reference);
         if (change != null) {
             return change;
@@ -169,7 +211,7 @@ public class StateManager {
      * @return PObject of corresponding reference if present
      */
     public PObject getTempChange(Reference reference) {
-        return tempChanges.get(reference);
+        return reference != null ? tempChanges.get(reference) : null;
     }
 
     /**
@@ -194,7 +236,9 @@ public class StateManager {
      * @param pObject pObject to removed from the cache.
      */
     public void removeChange(PObject pObject) {
-        changes.remove(pObject.getReference());
+        if (pObject.getReference() != null) {
+            changes.remove(pObject.getReference());
+        }
     }
 
     /**
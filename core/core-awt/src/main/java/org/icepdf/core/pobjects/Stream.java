@@ -22,8 +22,10 @@ import org.icepdf.core.pobjects.annotations.Annotation;
 import org.icepdf.core.pobjects.filters.*;
 import org.icepdf.core.pobjects.security.SecurityManager;
 import org.icepdf.core.util.Library;
+import org.icepdf.core.util.metrics.RenderMetrics;
 
 import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
@@ -60,7 +62,10 @@ public class Stream extends Dictionary {
 
     // original byte stream that has not been decoded
     protected byte[] rawBytes;
-    protected byte[] decompressedBytes;
+    // disposed of by the memory governor from any allocating thread, read it once into a local.
+    protected volatile byte[] decompressedBytes;
+    // registration of decompressedBytes with the document's DecodedStreamCache, null when not registered.
+    private volatile DecodedStreamCache.Entry decodedEntry;
 
     // View into the shared, read-only document buffer holding the still-compressed raw bytes. When non-null the
     // stream is in "view mode": rawBytes is not materialized until getRawBytes() is called, avoiding a second copy
@@ -123,6 +128,8 @@ public class Stream extends Dictionary {
     }
 
     public void setRawBytes(byte[] rawBytes) {
+        // the edited bytes are the only copy of the content, they must not be evicted.
+        releaseDecodedEntry();
         this.rawBytes = decompressedBytes = rawBytes;
         this.streamDataView = null;
         compressed = false;
@@ -146,6 +153,23 @@ public class Stream extends Dictionary {
     public void disposeDecompressed() {
         if (compressed) {
             decompressedBytes = null;
+            releaseDecodedEntry();
+        }
+    }
+
+    // eviction by the DecodedStreamCache, a no-op if the stream was decoded again since.
+    void disposeDecompressed(DecodedStreamCache.Entry entry) {
+        if (compressed && decodedEntry == entry) {
+            decompressedBytes = null;
+            decodedEntry = null;
+        }
+    }
+
+    private void releaseDecodedEntry() {
+        DecodedStreamCache.Entry entry = decodedEntry;
+        if (entry != null) {
+            decodedEntry = null;
+            library.getDecodedStreamCache().remove(entry);
         }
     }
 
@@ -180,27 +204,18 @@ public class Stream extends Dictionary {
      * @return Object[] { byte[] data, Integer sizeActualData }
      */
     public byte[] getDecodedStreamBytes(int presize) {
-        if (decompressedBytes != null) {
+        // the memory governor can dispose of decompressedBytes from any thread, only the local is used.
+        byte[] decoded = decompressedBytes;
+        if (decoded != null) {
             // cached decompressed stream and or we have an edited stream which isn't compressed yet, so just return
             // the raw bytes.
-            return decompressedBytes;
+            return decoded;
         }
         // decompress the stream
         if (compressed) {
             try {
-                // Decode straight from the document-buffer view when in view mode (no rawBytes copy); a private
-                // duplicate() gives this decode its own cursor over the shared, read-only bytes.
-                InputStream streamInput;
-                long rawStreamLength;
-                if (rawBytes == null && streamDataView != null) {
-                    ByteBuffer view = streamDataView.duplicate();
-                    rawStreamLength = view.remaining();
-                    streamInput = new ByteBufferBackedInputStream(view);
-                } else {
-                    streamInput = new ByteArrayInputStream(rawBytes);
-                    rawStreamLength = rawBytes.length;
-                }
-                InputStream input = getDecodedInputStream(streamInput, rawStreamLength);
+                long rawStreamLength = getRawBytesLength();
+                InputStream input = openDecodedInput();
                 if (input == null) return null;
                 // Size the output buffer to at least the raw (still-compressed) length: the decoded result is
                 // almost always larger, so this floor skips the early grow-and-copy reallocations that otherwise
@@ -217,8 +232,20 @@ public class Stream extends Dictionary {
                 out.flush();
                 out.close();
                 out.trim();
-                decompressedBytes = out.relinquishByteArray();
-                return decompressedBytes;
+                decoded = out.relinquishByteArray();
+                decompressedBytes = decoded;
+                if (library != null) {
+                    releaseDecodedEntry();
+                    // published before it's counted, the allocation can evict it straight away.
+                    DecodedStreamCache cache = library.getDecodedStreamCache();
+                    DecodedStreamCache.Entry entry = cache.createEntry(this, decoded.length);
+                    decodedEntry = entry;
+                    cache.add(entry);
+                }
+                if (RenderMetrics.isEnabled()) {
+                    RenderMetrics.bytesDecoded(library, getFilterChain(), decoded.length);
+                }
+                return decoded;
             } catch (IOException e) {
                 logger.log(Level.FINE, "Problem decoding stream bytes: ", e);
             }
@@ -226,6 +253,45 @@ public class Stream extends Dictionary {
         return null;
     }
 
+    /**
+     * Opens the decoded content of the stream without keeping it, for a consumer that reads a large stream
+     * incrementally rather than holding all of its decoded bytes, see
+     * {@link org.icepdf.core.util.parser.content.Lexer}.  Decompressed bytes that are already cached, or an edited
+     * stream's content, are read from memory.
+     *
+     * @return decoded input, to be closed by the caller, null if the stream can't be decoded.
+     */
+    public InputStream openDecodedStream() {
+        byte[] decoded = decompressedBytes;
+        if (decoded != null) {
+            return new ByteArrayInputStream(decoded);
+        }
+        if (!compressed) {
+            return null;
+        }
+        InputStream input = openDecodedInput();
+        if (input != null && RenderMetrics.isEnabled()) {
+            input = new MeteredInputStream(input);
+        }
+        return input;
+    }
+
+    // Decoded input over the raw bytes.  Decodes straight from the document-buffer view when in view mode (no
+    // rawBytes copy); a private duplicate() gives this decode its own cursor over the shared, read-only bytes.
+    private InputStream openDecodedInput() {
+        InputStream streamInput;
+        long rawStreamLength;
+        if (rawBytes == null && streamDataView != null) {
+            ByteBuffer view = streamDataView.duplicate();
+            rawStreamLength = view.remaining();
+            streamInput = new ByteBufferBackedInputStream(view);
+        } else {
+            streamInput = new ByteArrayInputStream(rawBytes);
+            rawStreamLength = rawBytes.length;
+        }
+        return getDecodedInputStream(streamInput, rawStreamLength);
+    }
+
     public ByteBuffer getDecodedStreamByteBuffer() {
         return getDecodedStreamByteBuffer(8192);
     }
@@ -353,6 +419,24 @@ public class Stream extends Dictionary {
         return filterNames;
     }
 
+    /**
+     * Gets the stream's filter names joined with a '+', as reported to {@link RenderMetrics}.
+     */
+    private String getFilterChain() {
+        List<String> filterNames = getFilterNames();
+        if (filterNames == null || filterNames.isEmpty()) {
+            return "none";
+        }
+        StringBuilder chain = new StringBuilder();
+        for (Object filterName : filterNames) {
+            if (chain.length() > 0) {
+                chain.append('+');
+            }
+            chain.append(filterName);
+        }
+        return chain.toString();
+    }
+
     protected List<String> getNormalisedFilterNames() {
         List<String> filterNames = getFilterNames();
         if (filterNames == null) return null;
@@ -454,4 +538,40 @@ public class Stream extends Dictionary {
         return sb.toString();
     }
 
+    // Reports the bytes read from a stream opened with openDecodedStream() to RenderMetrics when it's closed.
+    private final class MeteredInputStream extends FilterInputStream {
+        private long bytes;
+        private boolean closed;
+
+        MeteredInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                bytes++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                bytes += read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                RenderMetrics.bytesDecoded(library, getFilterChain(), bytes);
+            }
+            super.close();
+        }
+    }
 }
@@ -17,14 +17,21 @@ package org.icepdf.core.pobjects.acroform;
 
 import org.icepdf.core.pobjects.*;
 import org.icepdf.core.pobjects.annotations.AbstractWidgetAnnotation;
+import org.icepdf.core.pobjects.annotations.Annotation;
 import org.icepdf.core.pobjects.annotations.SignatureWidgetAnnotation;
+import org.icepdf.core.util.Defs;
 import org.icepdf.core.util.Library;
 import org.icepdf.core.util.Utils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.logging.Logger;
+import java.util.stream.IntStream;
 
 /**
  * An interactive form (PDF 1.2)—sometimes referred to as an AcroForm is a
@@ -45,6 +52,11 @@ import java.util.logging.Logger;
  * The contents and properties of a document’s interactive form shall be defined
  * by an interactive form dictionary that shall be referenced from the AcroForm
  * entry in the document catalogue (see 7.7.2, "Document Catalog").
+ * <br>
+ * Fields are built lazily, {@link #init()} only indexes the root field references.  A page's fields are built when
+ * its annotations are initialized, a single field when it's looked up by name and every field the first time
+ * {@link #getFields()} is called.  Set org.icepdf.core.acroform.lazyFields=false to build every field on init as
+ * before.
  *
  * @since 5.1
  */
@@ -114,8 +126,31 @@ public class InteractiveForm extends Dictionary {
     private static final Logger logger =
             Logger.getLogger(InteractiveForm.class.getName());
 
-    // field list, we keep reference as we don't want these garbage collected.
-    private ArrayList<Object> fields;
+    private static final boolean LAZY_FIELDS;
+    private static final boolean PARALLEL_FIELD_INIT;
+
+    static {
+        // build fields on demand rather than all of them when the document is opened.
+        LAZY_FIELDS = Defs.sysPropertyBoolean("org.icepdf.core.acroform.lazyFields", true);
+        // build the root fields on the common pool when every field is needed.
+        PARALLEL_FIELD_INIT = Defs.sysPropertyBoolean("org.icepdf.core.acroform.parallelFieldInit", false);
+    }
+
+    // guards against /Parent cycles and absurdly deep field trees.
+    private static final int MAX_FIELD_DEPTH = 64;
+
+    // marks a root field slot whose reference couldn't be resolved.
+    private static final Object UNRESOLVED = new Object();
+
+    // field list, we keep reference as we don't want these garbage collected.  Replaced rather than changed once
+    // published, readers take it without the lock.
+    private volatile ArrayList<Object> fields;
+
+    // root field references in /Fields order, replaced as a whole when a field is added or removed.
+    private volatile FieldIndex fieldIndex;
+
+    // fully qualified field name to field reference, built on the first lookup by name.
+    private Map<String, Reference> qualifiedFieldNames;
 
     // A flag specifying whether to construct appearance streams and appearance dictionaries for all
     // widget annotations in the document (see 12.7.3.3, "Variable Text"). Default value: false.
@@ -153,10 +188,8 @@ public class InteractiveForm extends Dictionary {
         needAppearances = library.getBoolean(entries, NEEDS_APPEARANCES_KEY);
 
         // sig flags.
-        Object tmp = library.getObject(entries, SIG_FLAGS_KEY);
-        if (tmp instanceof DictionaryEntries) {
-            sigFlags = library.getInt(entries, SIG_FLAGS_KEY);
-        }
+        sigFlags = library.getInt(entries, SIG_FLAGS_KEY);
+        Object tmp;
 
         // load the resources
         tmp = library.getObject(entries, DR_KEY);
@@ -187,40 +220,251 @@ public class InteractiveForm extends Dictionary {
             defaultVariableTextDAField = Utils.convertStringObject(library, (StringObject) tmp);
         }
 
-        // get the fields in the document, keeping hierarchy intact.
+        // index the fields in the document, they're built as they're needed.
         tmp = library.getObject(entries, FIELDS_KEY);
         if (tmp instanceof List) {
-            List tmpFields = (List) tmp;
-            fields = new ArrayList<>(tmpFields.size());
-            Object annotObj;
-            for (Object fieldRef : tmpFields) {
-                if (fieldRef instanceof Reference) {
-                    // add them all as we find them.
-                    annotObj = library.getObject((Reference) fieldRef);
-                    if (annotObj instanceof DictionaryEntries) {
-                        annotObj = FieldDictionaryFactory.buildField(library, (DictionaryEntries) annotObj);
-                    }
-                    if (annotObj != null) {
-                        fields.add(annotObj);
+            fieldIndex = new FieldIndex((List) tmp, Collections.emptyMap());
+            if (!LAZY_FIELDS) {
+                initAllFields(false);
+            }
+        }
+    }
+
+    /**
+     * Builds the root field at the given index if it hasn't been built yet.  Safe to call from several threads,
+     * the library hands back the same annotation instance for a reference so racing builds converge.
+     *
+     * @param fieldIndex root field index the index is in to.
+     * @param index      index in to the /Fields array.
+     * @return built field, null if the reference couldn't be resolved.
+     */
+    private Object initField(FieldIndex fieldIndex, int index) {
+        AtomicReferenceArray<Object> slots = fieldIndex.slots;
+        Object field = slots.get(index);
+        if (field == null) {
+            field = library.getObject(fieldIndex.references.get(index));
+            if (field instanceof DictionaryEntries) {
+                field = FieldDictionaryFactory.buildField(library, (DictionaryEntries) field);
+            }
+            if (!slots.compareAndSet(index, null, field != null ? field : UNRESOLVED)) {
+                field = slots.get(index);
+            }
+        }
+        return field != UNRESOLVED ? field : null;
+    }
+
+    // whether the root field at the given index has been built.
+    boolean isFieldBuilt(int index) {
+        FieldIndex fieldIndex = this.fieldIndex;
+        return fieldIndex != null && fieldIndex.slots.get(index) != null;
+    }
+
+    /**
+     * Builds every field in the form, fields that were already built on demand are reused.  Callers that need the
+     * whole form, data export or form reset for example, get it from {@link #getFields()} which calls this method.
+     *
+     * @param parallel build the root fields on the common fork join pool, worthwhile for forms with thousands of
+     *                 fields.
+     */
+    public void initAllFields(boolean parallel) {
+        FieldIndex fieldIndex;
+        synchronized (this) {
+            if (fields != null || this.fieldIndex == null) {
+                return;
+            }
+            fieldIndex = this.fieldIndex;
+        }
+        IntStream indexes = IntStream.range(0, fieldIndex.references.size());
+        if (parallel) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(index -> initField(fieldIndex, index));
+        synchronized (this) {
+            // a field added or removed meanwhile published the fields itself.
+            if (fields == null && this.fieldIndex == fieldIndex) {
+                fields = fieldIndex.builtFields();
+            }
+        }
+    }
+
+    /**
+     * Builds the fields that own the given page annotations, called as a page's annotations are initialized so
+     * only the fields that are on screen are built.  Widgets are walked up their /Parent chain to the root field.
+     *
+     * @param annotations page annotations, non widget annotations are ignored.
+     */
+    public void initPageFields(List<Annotation> annotations) {
+        FieldIndex fieldIndex = this.fieldIndex;
+        if (fieldIndex == null || annotations == null) {
+            return;
+        }
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof AbstractWidgetAnnotation) {
+                Integer index = findRootField(fieldIndex, annotation.getPObjectReference(),
+                        annotation.getEntries());
+                if (index != null) {
+                    initField(fieldIndex, index);
+                }
+            }
+        }
+    }
+
+    private Integer findRootField(FieldIndex fieldIndex, Reference reference, DictionaryEntries fieldEntries) {
+        for (int depth = 0; depth < MAX_FIELD_DEPTH; depth++) {
+            Integer index = reference != null ? fieldIndex.indexes.get(reference) : null;
+            if (index != null) {
+                return index;
+            }
+            Object parent = fieldEntries != null ? fieldEntries.get(FieldDictionary.PARENT_KEY) : null;
+            if (!(parent instanceof Reference)) {
+                return null;
+            }
+            reference = (Reference) parent;
+            fieldEntries = getFieldEntries(library.getObject(reference));
+        }
+        return null;
+    }
+
+    private static DictionaryEntries getFieldEntries(Object field) {
+        if (field instanceof Dictionary) {
+            return ((Dictionary) field).getEntries();
+        } else if (field instanceof DictionaryEntries) {
+            return (DictionaryEntries) field;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the field with the given fully qualified name, the partial names of the field and its ancestors joined
+     * by periods.  Only the field and its root field are built, the name index is built from the field
+     * dictionaries on the first call.
+     *
+     * @param qualifiedName fully qualified field name, for example "address.city".
+     * @return field dictionary or widget annotation, null if there is no field with the given name.
+     */
+    public Object getField(String qualifiedName) {
+        if (qualifiedName == null || fieldIndex == null) {
+            return null;
+        }
+        FieldIndex fieldIndex;
+        Reference reference;
+        synchronized (this) {
+            fieldIndex = this.fieldIndex;
+            if (qualifiedFieldNames == null) {
+                qualifiedFieldNames = buildQualifiedFieldNames(fieldIndex);
+            }
+            reference = qualifiedFieldNames.get(qualifiedName);
+        }
+        if (reference == null) {
+            return null;
+        }
+        Integer index = fieldIndex.indexes.get(reference);
+        if (index != null) {
+            return initField(fieldIndex, index);
+        }
+        // build the root so the field is part of the hierarchy, then find it among the root's descendants.
+        Object object = library.getObject(reference);
+        DictionaryEntries fieldEntries = getFieldEntries(object);
+        index = findRootField(fieldIndex, reference, fieldEntries);
+        Object field = index != null ?
+                findField(initField(fieldIndex, index), reference, fieldEntries, 0) : null;
+        if (field == null && object instanceof DictionaryEntries) {
+            // not reachable through the kids of its root, build it on its own.
+            field = FieldDictionaryFactory.buildField(library, (DictionaryEntries) object);
+            ((FieldDictionary) field).setPObjectReference(reference);
+        } else if (field == null && object instanceof AbstractWidgetAnnotation) {
+            field = object;
+        }
+        return field;
+    }
+
+    private static Object findField(Object field, Reference reference, DictionaryEntries fieldEntries, int depth) {
+        // kids built from dictionaries don't carry their reference, but share the library's entries.
+        if (field instanceof Dictionary && (reference.equals(((Dictionary) field).getPObjectReference()) ||
+                (fieldEntries != null && ((Dictionary) field).getEntries() == fieldEntries))) {
+            return field;
+        }
+        if (field instanceof FieldDictionary && depth < MAX_FIELD_DEPTH) {
+            ArrayList<Object> kids = ((FieldDictionary) field).getKids();
+            if (kids != null) {
+                for (Object kid : kids) {
+                    Object found = findField(kid, reference, fieldEntries, depth + 1);
+                    if (found != null) {
+                        return found;
                     }
                 }
             }
         }
+        return null;
+    }
+
+    private Map<String, Reference> buildQualifiedFieldNames(FieldIndex fieldIndex) {
+        Map<String, Reference> names = new HashMap<>();
+        for (Reference reference : fieldIndex.references) {
+            addQualifiedFieldNames(names, reference, null, 0);
+        }
+        return names;
+    }
+
+    private void addQualifiedFieldNames(Map<String, Reference> names, Reference reference, String parentName,
+                                        int depth) {
+        DictionaryEntries fieldEntries = getFieldEntries(library.getObject(reference));
+        if (fieldEntries == null || depth >= MAX_FIELD_DEPTH) {
+            return;
+        }
+        String name = parentName;
+        Object partialName = library.getObject(fieldEntries, FieldDictionary.T_KEY);
+        if (partialName instanceof StringObject) {
+            partialName = Utils.convertStringObject(library, (StringObject) partialName);
+        }
+        if (partialName instanceof String) {
+            name = parentName != null ? parentName + "." + partialName : (String) partialName;
+            names.putIfAbsent(name, reference);
+        }
+        Object kids = library.getObject(fieldEntries, FieldDictionary.KIDS_KEY);
+        if (kids instanceof List) {
+            for (Object kid : (List) kids) {
+                if (kid instanceof Reference) {
+                    addQualifiedFieldNames(names, (Reference) kid, name, depth + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of root fields in the form without building them.
+     *
+     * @return number of root fields, zero if the form has no fields.
+     */
+    public int getFieldCount() {
+        ArrayList<Object> fields = this.fields;
+        if (fields != null) {
+            return fields.size();
+        }
+        FieldIndex fieldIndex = this.fieldIndex;
+        return fieldIndex != null ? fieldIndex.references.size() : 0;
     }
 
+    @SuppressWarnings("unchecked")
     public void addField(Object field) {
         if (!(field instanceof AbstractWidgetAnnotation)) {
             throw new IllegalStateException("Field must be an AbstractWidgetAnnotation");
         }
-        if (fields == null) {
-            fields = new ArrayList<>();
-            fields.add(field);
-            entries.put(FIELDS_KEY,
-                    new ArrayList<>(Arrays.asList(((AbstractWidgetAnnotation) field).getPObjectReference())));
-        } else {
-            fields.add(field);
-            List<Reference> fieldReferences = (List<Reference>) library.getObject(entries, FIELDS_KEY);
-            fieldReferences.add(((AbstractWidgetAnnotation) field).getPObjectReference());
+        initAllFields(PARALLEL_FIELD_INIT);
+        Reference reference = ((AbstractWidgetAnnotation) field).getPObjectReference();
+        synchronized (this) {
+            ArrayList<Object> allFields = fields != null ? new ArrayList<>(fields) : new ArrayList<>();
+            allFields.add(field);
+            List<Reference> fieldReferences;
+            if (fields == null) {
+                fieldReferences = new ArrayList<>(Arrays.asList(reference));
+                entries.put(FIELDS_KEY, fieldReferences);
+            } else {
+                fieldReferences = (List<Reference>) library.getObject(entries, FIELDS_KEY);
+                fieldReferences.add(reference);
+            }
+            reindex(fieldReferences, reference, field);
+            fields = allFields;
         }
         // mark the catalog as changed, this object is always contained in the catalog as a dictionary, it
         // should never be an indirect reference.
@@ -229,21 +473,48 @@ public class InteractiveForm extends Dictionary {
         stateManager.addChange(new PObject(catalog, catalog.getPObjectReference()));
     }
 
+    @SuppressWarnings("unchecked")
     public void removeField(AbstractWidgetAnnotation field) {
-        if (fields != null) {
-            fields.remove(field);
-            List<Reference> fieldReferences = (List<Reference>) library.getObject(entries, FIELDS_KEY);
-            fieldReferences.remove((field).getPObjectReference());
+        initAllFields(PARALLEL_FIELD_INIT);
+        synchronized (this) {
+            if (fields != null) {
+                ArrayList<Object> allFields = new ArrayList<>(fields);
+                allFields.remove(field);
+                List<Reference> fieldReferences = (List<Reference>) library.getObject(entries, FIELDS_KEY);
+                fieldReferences.remove((field).getPObjectReference());
+                reindex(fieldReferences, null, null);
+                fields = allFields;
+            }
+        }
+    }
+
+    // indexes the edited /Fields array, built fields keep their slot under their new index.  Must hold the lock.
+    private void reindex(List<Reference> fieldReferences, Reference added, Object addedField) {
+        Map<Reference, Object> built = new HashMap<>();
+        FieldIndex fieldIndex = this.fieldIndex;
+        if (fieldIndex != null) {
+            for (int i = 0, max = fieldIndex.references.size(); i < max; i++) {
+                Object field = fieldIndex.slots.get(i);
+                if (field != null) {
+                    built.put(fieldIndex.references.get(i), field);
+                }
+            }
         }
+        if (added != null) {
+            built.put(added, addedField);
+        }
+        this.fieldIndex = new FieldIndex(fieldReferences, built);
+        qualifiedFieldNames = null;
     }
 
 
     /**
-     * Gets the fields associated with this form.
+     * Gets the fields associated with this form, building any that haven't been built yet.
      *
      * @return ArrayList of fields.
      */
     public ArrayList<Object> getFields() {
+        initAllFields(PARALLEL_FIELD_INIT);
         return fields;
     }
 
@@ -257,6 +528,7 @@ public class InteractiveForm extends Dictionary {
     public ArrayList<SignatureWidgetAnnotation> getSignatureFields() {
         // capture the document signatures.
         ArrayList<SignatureWidgetAnnotation> signatures = new ArrayList<>();
+        ArrayList<Object> fields = getFields();
         if (fields != null) {
             for (Object field : fields) {
                 if (field instanceof SignatureWidgetAnnotation) {
@@ -277,6 +549,7 @@ public class InteractiveForm extends Dictionary {
      */
     public boolean isSignaturesCoverDocumentLength() {
         SignatureWidgetAnnotation signatureWidgetAnnotation;
+        ArrayList<Object> fields = getFields();
         if (fields != null) {
             boolean isValidByteRange = false;
             for (Object field : fields) {
@@ -302,22 +575,35 @@ public class InteractiveForm extends Dictionary {
     }
 
     /**
-     * Checks to see if the fields list contains any signature anntoations.
+     * Checks to see if the fields list contains any signature annotations.  Fields that haven't been built aren't
+     * built, a root field is a signature annotation if the library resolves its reference to one.
      *
      * @return true if there are any signatures, otherwise false.
      */
     public boolean isSignatureFields() {
-        boolean foundSignature = false;
-        ArrayList<Object> fields = getFields();
+        ArrayList<Object> fields = this.fields;
         if (fields != null) {
             for (Object field : fields) {
                 if (field instanceof SignatureWidgetAnnotation) {
-                    foundSignature = true;
-                    break;
+                    return true;
+                }
+            }
+            return false;
+        }
+        FieldIndex fieldIndex = this.fieldIndex;
+        if (fieldIndex != null) {
+            for (int i = 0, max = fieldIndex.references.size(); i < max; i++) {
+                Object field = fieldIndex.slots.get(i);
+                if (field == null) {
+                    // a dictionary is built as a field dictionary, never as a signature annotation.
+                    field = library.getObject(fieldIndex.references.get(i));
+                }
+                if (field instanceof SignatureWidgetAnnotation) {
+                    return true;
                 }
             }
         }
-        return foundSignature;
+        return false;
     }
 
     /**
@@ -391,4 +677,40 @@ public class InteractiveForm extends Dictionary {
     public int getDefaultVariableTextQField() {
         return defaultVariableTextQField;
     }
+
+    // root field references in /Fields order, without duplicates, and the fields built for them.
+    private static final class FieldIndex {
+        private final List<Reference> references;
+        private final Map<Reference, Integer> indexes;
+        private final AtomicReferenceArray<Object> slots;
+
+        private FieldIndex(List<?> fieldRefs, Map<Reference, Object> built) {
+            references = new ArrayList<>(fieldRefs.size());
+            indexes = new HashMap<>(fieldRefs.size() * 2);
+            for (Object fieldRef : fieldRefs) {
+                if (fieldRef instanceof Reference && !indexes.containsKey(fieldRef)) {
+                    indexes.put((Reference) fieldRef, references.size());
+                    references.add((Reference) fieldRef);
+                }
+            }
+            slots = new AtomicReferenceArray<>(references.size());
+            for (int i = 0, max = references.size(); i < max; i++) {
+                Object field = built.get(references.get(i));
+                if (field != null) {
+                    slots.set(i, field);
+                }
+            }
+        }
+
+        private ArrayList<Object> builtFields() {
+            ArrayList<Object> fields = new ArrayList<>(references.size());
+            for (int i = 0, max = references.size(); i < max; i++) {
+                Object field = slots.get(i);
+                if (field != null && field != UNRESOLVED) {
+                    fields.add(field);
+                }
+            }
+            return fields;
+        }
+    }
 }
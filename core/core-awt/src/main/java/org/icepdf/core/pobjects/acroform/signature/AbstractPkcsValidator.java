@@ -102,6 +102,8 @@ public abstract class AbstractPkcsValidator implements SignatureValidator {
     private boolean isEmbeddedTimeStamp;
     // last time validate call was made.
     private Date lastVerified;
+    // digest of the signed byte ranges computed ahead of validation, see SignatureBatchValidator.
+    private byte[] documentDigest;
 
     protected boolean initialized;
 
@@ -551,24 +553,19 @@ public abstract class AbstractPkcsValidator implements SignatureValidator {
         ArrayList<Integer> byteRange = signatureFieldDictionary.getSignatureDictionary().getByteRange();
         Library library = signatureFieldDictionary.getLibrary();
 
-        synchronized (library.getMappedFileByteBufferLock()) {
-            ByteBuffer documentByteBuffer = library.getMappedFileByteBuffer();
-            documentByteBuffer.position(0);
-            int totalLength = documentByteBuffer.remaining();
-            long digestedLength = byteRange.get(2) + byteRange.get(3);
-            // this doesn't mean the signature has been tampered with just that there are subsequent modification
-            // or signatures added after this signature.
-            if (digestedLength < totalLength) {
-                isDocumentDataModified = true;
-            }
-            documentByteBuffer.position(byteRange.get(0));
-            byte[] firstSection = new byte[byteRange.get(1)];
-            documentByteBuffer.get(firstSection);
-            messageDigestAlgorithm.update(firstSection);
-            documentByteBuffer.position(byteRange.get(2));
-            byte[] secondSection = new byte[byteRange.get(3)];
-            documentByteBuffer.get(secondSection);
-            messageDigestAlgorithm.update(secondSection);
+        // read from a duplicate, the bytes are read-only so no lock is needed (see Library).
+        ByteBuffer documentByteBuffer = library.getMappedFileByteBuffer().duplicate();
+        int totalLength = documentByteBuffer.limit();
+        long digestedLength = byteRange.get(2) + byteRange.get(3);
+        // this doesn't mean the signature has been tampered with just that there are subsequent modification
+        // or signatures added after this signature.
+        if (digestedLength < totalLength) {
+            isDocumentDataModified = true;
+        }
+        byte[] documentDigestBytes = documentDigest;
+        documentDigest = null;
+        if (documentDigestBytes == null) {
+            documentDigestBytes = digestByteRange(documentByteBuffer, byteRange, messageDigestAlgorithm);
         }
         // set up the compare
         try {
@@ -576,7 +573,6 @@ public abstract class AbstractPkcsValidator implements SignatureValidator {
             // is present. When the field is absent, the result is just the message digest of the content as described
             // above. When the field is present, however, the result is the message digest of the complete DER encoding
             // of the SignedAttrs value contained in the signedAttrs field.
-            byte[] documentDigestBytes = messageDigestAlgorithm.digest();
             if (signedAttributesSequence != null) {
                 boolean encapsulatedDigestCheck = true;
                 boolean verifyEncContentInfoData = true;
@@ -666,6 +662,62 @@ public abstract class AbstractPkcsValidator implements SignatureValidator {
         }
     }
 
+    private static byte[] digestByteRange(ByteBuffer documentByteBuffer, List<Integer> byteRange,
+                                          MessageDigest messageDigest) {
+        digestRange(documentByteBuffer, byteRange.get(0), byteRange.get(1), messageDigest);
+        digestRange(documentByteBuffer, byteRange.get(2), byteRange.get(3), messageDigest);
+        return messageDigest.digest();
+    }
+
+    private static void digestRange(ByteBuffer documentByteBuffer, int offset, int length,
+                                    MessageDigest messageDigest) {
+        documentByteBuffer.limit(offset + length);
+        documentByteBuffer.position(offset);
+        messageDigest.update(documentByteBuffer);
+    }
+
+    /**
+     * Creates a message digest for the signature's digest algorithm, used to hash the signed byte ranges.
+     *
+     * @return new message digest instance.
+     * @throws NoSuchAlgorithmException digest algorithm is not supported.
+     */
+    MessageDigest createDocumentDigest() throws NoSuchAlgorithmException {
+        String provider = signatureFieldDictionary.getSignatureDictionary().getFilter().getName();
+        return AlgorithmIdentifier.getDigestInstance(digestAlgorithmIdentifier, provider);
+    }
+
+    /**
+     * Hands over the digest of the signed byte ranges so the next {@link #validate()} doesn't have to read them
+     * again.  The digest is used once.
+     *
+     * @param documentDigest digest of the byte ranges, computed with {@link #createDocumentDigest()}.
+     */
+    void setDocumentDigest(byte[] documentDigest) {
+        this.documentDigest = documentDigest;
+    }
+
+    /**
+     * Gets the digest handed over for the next {@link #validate()}.
+     *
+     * @return digest of the byte ranges, null if none was handed over or it was already used.
+     */
+    byte[] getDocumentDigest() {
+        return documentDigest;
+    }
+
+    /**
+     * Digests the signed byte ranges on their own, as {@link #validate()} does when no digest was handed over.
+     *
+     * @return digest of the byte ranges.
+     * @throws NoSuchAlgorithmException digest algorithm is not supported.
+     */
+    byte[] digestDocument() throws NoSuchAlgorithmException {
+        ByteBuffer documentByteBuffer = signatureFieldDictionary.getLibrary().getMappedFileByteBuffer().duplicate();
+        return digestByteRange(documentByteBuffer, signatureFieldDictionary.getSignatureDictionary().getByteRange(),
+                createDocumentDigest());
+    }
+
     public void validateTimestamp() throws SignatureIntegrityException {
         if (timeStampToken == null) {
             logger.log(Level.FINE, "Timestamp validation skipped: timeStampToken is null.");
@@ -699,19 +751,11 @@ public abstract class AbstractPkcsValidator implements SignatureValidator {
         ArrayList<Integer> byteRange = signatureFieldDictionary.getSignatureDictionary().getByteRange();
         Library library = signatureFieldDictionary.getLibrary();
 
-        synchronized (library.getMappedFileByteBufferLock()) {
-            ByteBuffer documentByteBuffer = library.getMappedFileByteBuffer();
-            documentByteBuffer.position(0);
-
-            int totalLength = documentByteBuffer.remaining();
-            long digestedLength = byteRange.get(2) + byteRange.get(3);
-            // this doesn't mean the signature has been tampered with just that there are subsequent modification
-            // or signatures added after this signature.
-            if (digestedLength == totalLength) {
-                return true;
-            }
-        }
-        return false;
+        int totalLength = library.getMappedFileByteBuffer().limit();
+        long digestedLength = byteRange.get(2) + byteRange.get(3);
+        // this doesn't mean the signature has been tampered with just that there are subsequent modification
+        // or signatures added after this signature.
+        return digestedLength == totalLength;
     }
 
     /**
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.acroform.signature;
+
+import org.icepdf.core.pobjects.acroform.signature.certificates.RevocationCache;
+import org.icepdf.core.pobjects.acroform.signature.exceptions.SignatureIntegrityException;
+import org.icepdf.core.util.Defs;
+import org.icepdf.core.util.Library;
+import org.icepdf.core.util.ParallelTasks;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Validates all the signatures of a document together.  Validating signatures one by one hashes the signed byte
+ * ranges of each signature separately, and as incremental signatures each cover most of the file a document with
+ * n signatures is read close to n times.  The batch instead reads the document once, front to back, and feeds each
+ * chunk to the digest of every signature whose byte ranges cover it.  The digests are then handed to the validators
+ * and the signatures are validated in parallel, each validation only reading its own signature data.
+ * <br>
+ * The document buffer is read through a duplicate so the batch doesn't hold the document's buffer lock, see
+ * {@link Library#getMappedFileByteBuffer()}.  Revocation data fetched during validation is shared between the
+ * signatures through the {@link RevocationCache}.
+ * <br>
+ * Validators other than {@link AbstractPkcsValidator}, without a parsed digest algorithm or with a malformed byte
+ * range, digest their own ranges as part of {@link SignatureValidator#validate()}, the rest of the batch still shares
+ * the single pass.
+ * <br>
+ * The following system properties configure the batch:
+ * <ul>
+ *     <li>{@code org.icepdf.core.signatures.batch.chunkSize} - bytes read per step of the single pass, default
+ *     65536.</li>
+ * </ul>
+ *
+ * @since 7.5
+ */
+public class SignatureBatchValidator {
+
+    private static final Logger logger =
+            Logger.getLogger(SignatureBatchValidator.class.getName());
+
+    private static final int CHUNK_SIZE;
+
+    static {
+        CHUNK_SIZE = Math.max(4096, Defs.sysPropertyInt("org.icepdf.core.signatures.batch.chunkSize", 65536));
+    }
+
+    private final Library library;
+    private final List<SignatureValidator> validators;
+    private Executor executor = Library::executeBlocking;
+
+    /**
+     * Creates a new batch.
+     *
+     * @param library    library of the document the signatures belong to.
+     * @param validators validators of the document's signatures, null entries are ignored.
+     */
+    public SignatureBatchValidator(Library library, Collection<? extends SignatureValidator> validators) {
+        this.library = library;
+        this.validators = new ArrayList<>(validators.size());
+        for (SignatureValidator validator : validators) {
+            if (validator != null) {
+                this.validators.add(validator);
+            }
+        }
+    }
+
+    /**
+     * Sets the executor the signatures are validated on, by default {@link Library#executeBlocking(Runnable)} as
+     * validation mostly waits on revocation data fetched over the network.  The calling thread always takes part in
+     * the validation, so a saturated executor or one that runs on the calling thread won't stall the batch.
+     *
+     * @param executor executor to validate on.
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public List<SignatureValidator> getValidators() {
+        return validators;
+    }
+
+    /**
+     * Digests the byte ranges of all signatures in a single pass and validates the signatures in parallel.
+     *
+     * @return validation error of each validator, in the order of {@link #getValidators()}, null for a validator
+     * that completed its validation.
+     * @throws InterruptedException thread was interrupted waiting for the validations.
+     */
+    public List<SignatureIntegrityException> validate() throws InterruptedException {
+        digest();
+        List<Callable<SignatureIntegrityException>> tasks = new ArrayList<>(validators.size());
+        for (SignatureValidator validator : validators) {
+            tasks.add(() -> {
+                try {
+                    validator.validate();
+                    return null;
+                } catch (SignatureIntegrityException | RuntimeException e) {
+                    logger.log(Level.FINE, "Error validating signature.", e);
+                    return e instanceof SignatureIntegrityException ?
+                            (SignatureIntegrityException) e : new SignatureIntegrityException(e);
+                }
+            });
+        }
+        List<SignatureIntegrityException> errors;
+        try {
+            errors = ParallelTasks.invokeAll(tasks, executor);
+        } catch (ExecutionException e) {
+            // the tasks return their validation errors.
+            ParallelTasks.throwCause(e, RuntimeException.class);
+            return null;
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        return errors;
+    }
+
+    /**
+     * Digests the byte ranges of all the PKCS signatures in one sequential pass over the document and hands each
+     * validator its digest.
+     */
+    void digest() {
+        ByteBuffer buffer = library.getMappedFileByteBuffer().duplicate();
+        int length = buffer.limit();
+        List<RangeDigest> rangeDigests = new ArrayList<>(validators.size());
+        int start = length;
+        int end = 0;
+        for (SignatureValidator validator : validators) {
+            if (!(validator instanceof AbstractPkcsValidator)) {
+                continue;
+            }
+            AbstractPkcsValidator pkcsValidator = (AbstractPkcsValidator) validator;
+            if (pkcsValidator.digestAlgorithmIdentifier == null) {
+                logger.fine("Signature has no digest algorithm, it digests its own byte range.");
+                continue;
+            }
+            try {
+                List<Integer> byteRange =
+                        pkcsValidator.signatureFieldDictionary.getSignatureDictionary().getByteRange();
+                if (byteRange == null || byteRange.size() != 4) {
+                    logger.fine("Signature byte range is malformed, it digests its own byte range.");
+                    continue;
+                }
+                int[] ranges = {byteRange.get(0), byteRange.get(1), byteRange.get(2), byteRange.get(3)};
+                if (ranges[0] < 0 || ranges[1] < 0 || ranges[3] < 0 || ranges[0] + ranges[1] > ranges[2] ||
+                        (long) ranges[2] + ranges[3] > length) {
+                    logger.fine("Signature byte range is out of bounds, it digests its own byte range.");
+                    continue;
+                }
+                rangeDigests.add(new RangeDigest(pkcsValidator, pkcsValidator.createDocumentDigest(), ranges));
+                start = Math.min(start, ranges[0]);
+                end = Math.max(end, ranges[2] + ranges[3]);
+            } catch (Exception e) {
+                logger.log(Level.FINE, "Signature byte range can't be digested in the batch.", e);
+            }
+        }
+        if (rangeDigests.isEmpty()) {
+            return;
+        }
+        byte[] chunk = new byte[Math.min(CHUNK_SIZE, Math.max(1, end - start))];
+        for (int position = start; position < end; position += chunk.length) {
+            int count = Math.min(chunk.length, end - position);
+            buffer.position(position);
+            buffer.get(chunk, 0, count);
+            for (RangeDigest rangeDigest : rangeDigests) {
+                rangeDigest.update(chunk, position, count);
+            }
+        }
+        for (RangeDigest rangeDigest : rangeDigests) {
+            rangeDigest.validator.setDocumentDigest(rangeDigest.messageDigest.digest());
+        }
+    }
+
+    private static class RangeDigest {
+        private final AbstractPkcsValidator validator;
+        private final MessageDigest messageDigest;
+        // offset, length pairs as in the signature's /ByteRange.
+        private final int[] ranges;
+
+        RangeDigest(AbstractPkcsValidator validator, MessageDigest messageDigest, int[] ranges) {
+            this.validator = validator;
+            this.messageDigest = messageDigest;
+            this.ranges = ranges;
+        }
+
+        /**
+         * Digests the part of the chunk the byte ranges cover.  Chunks arrive in file order and the ranges are
+         * ascending, so the digest sees the signed bytes in order.
+         */
+        void update(byte[] chunk, int chunkOffset, int count) {
+            int chunkEnd = chunkOffset + count;
+            for (int i = 0; i < ranges.length; i += 2) {
+                int from = Math.max(chunkOffset, ranges[i]);
+                int to = Math.min(chunkEnd, ranges[i] + ranges[i + 1]);
+                if (from < to) {
+                    messageDigest.update(chunk, from - chunkOffset, to - from);
+                }
+            }
+        }
+    }
+}
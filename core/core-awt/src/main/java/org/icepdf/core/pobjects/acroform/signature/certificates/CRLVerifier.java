@@ -52,7 +52,8 @@ public class CRLVerifier {
     /**
      * Extracts the CRL distribution points from the certificate (if available)
      * and checks the certificate revocation status against the CRLs coming from
-     * the distribution points. Supports HTTP, HTTPS, FTP and LDAP based URLs.
+     * the distribution points. Supports HTTP, HTTPS, FTP and LDAP based URLs.  CRLs are fetched through the
+     * {@link RevocationCache}.
      *
      * @param cert the certificate to be checked for revocation
      * @throws CertificateVerificationException if the certificate is revoked
@@ -62,7 +63,7 @@ public class CRLVerifier {
         try {
             List<String> crlDistPoints = getCrlDistributionPoints(cert);
             for (String crlDP : crlDistPoints) {
-                X509CRL crl = downloadCRL(crlDP);
+                X509CRL crl = RevocationCache.getDefault().getCrl(crlDP);
                 if (crl.isRevoked(cert)) {
                     throw new RevocationVerificationException(
                             "The certificate is revoked by CRL: " + crlDP);
@@ -82,7 +83,7 @@ public class CRLVerifier {
     /**
      * Downloads CRL from given URL. Supports https and ldap based URLs.
      */
-    private static X509CRL downloadCRL(String crlURL) throws IOException,
+    static X509CRL downloadCRL(String crlURL) throws IOException,
             CertificateException, CRLException,
             CertificateVerificationException, NamingException {
         if (crlURL.startsWith("http://") || crlURL.startsWith("https://")) {
@@ -17,6 +17,7 @@
 package org.icepdf.core.pobjects.acroform.signature.certificates;
 
 
+import org.bouncycastle.asn1.ASN1OctetString;
 import org.bouncycastle.asn1.DEROctetString;
 import org.bouncycastle.asn1.DLSequence;
 import org.bouncycastle.asn1.ocsp.OCSPObjectIdentifiers;
@@ -33,6 +34,7 @@ import org.bouncycastle.operator.ContentVerifierProvider;
 import org.bouncycastle.operator.DigestCalculator;
 import org.bouncycastle.operator.OperatorCreationException;
 import org.bouncycastle.operator.jcajce.JcaContentVerifierProviderBuilder;
+import org.bouncycastle.util.encoders.Hex;
 import org.icepdf.core.pobjects.acroform.signature.exceptions.RevokedCertificateException;
 
 import java.io.ByteArrayOutputStream;
@@ -68,7 +70,7 @@ public class OcspHelper {
     private final X509Certificate certificateToCheck;
     private final Set<X509Certificate> additionalCerts;
     private final String ocspUrl;
-    private DEROctetString encodedNonce;
+    private ASN1OctetString encodedNonce;
     private X509Certificate ocspResponderCertificate;
     private final JcaX509CertificateConverter certificateConverter = new JcaX509CertificateConverter();
 
@@ -112,9 +114,40 @@ public class OcspHelper {
      */
     public OCSPResp getResponseOcsp()
             throws IOException, OCSPException, RevokedCertificateException, URISyntaxException {
-        OCSPResp ocspResponse = performRequest(ocspUrl);
-        verifyOcspResponse(ocspResponse);
-        return ocspResponse;
+        RevocationCache revocationCache = RevocationCache.getDefault();
+        String certificateKey = getCertificateKey();
+        RevocationCache.OcspExchange exchange =
+                revocationCache.getOcsp(ocspUrl, certificateKey, generateOCSPRequest().getEncoded());
+        try {
+            // a cached response answers an earlier request, check it against that request's nonce.
+            Extension nonceExtension = new OCSPReq(exchange.getRequest())
+                    .getExtension(OCSPObjectIdentifiers.id_pkix_ocsp_nonce);
+            encodedNonce = nonceExtension != null ? nonceExtension.getExtnValue() : null;
+            OCSPResp ocspResponse = new OCSPResp(exchange.getResponse());
+            verifyOcspResponse(ocspResponse);
+            return ocspResponse;
+        } catch (IOException | OCSPException | RevokedCertificateException | RuntimeException e) {
+            // don't serve a response that failed verification again, a revoked status is re-fetched too so the
+            // outcome is never older than the time to live.
+            revocationCache.invalidateOcsp(ocspUrl, certificateKey);
+            throw e;
+        }
+    }
+
+    // identifies the certificate as the OCSP CertID does, by issuer name, SHA-1 hash of the issuer key and serial.
+    private String getCertificateKey() throws IOException {
+        byte[] issuerKeyHash;
+        try {
+            issuerKeyHash = getKeyHashFromCertHolder(new JcaX509CertificateHolder(issuerCertificate));
+        } catch (CertificateEncodingException e) {
+            throw new IOException(e);
+        }
+        if (issuerKeyHash.length == 0) {
+            issuerKeyHash = issuerCertificate.getPublicKey().getEncoded();
+        }
+        return issuerCertificate.getSubjectX500Principal().getName() + '#' +
+                Hex.toHexString(issuerKeyHash) + '#' +
+                certificateToCheck.getSerialNumber();
     }
 
     /**
@@ -382,12 +415,16 @@ public class OcspHelper {
      * Performs the OCSP-Request, with given data.
      *
      * @param urlString URL of OCSP service.
-     * @return the OCSPResp, that has been fetched from the ocspUrl
+     * @param request   DER encoded OCSP request.
+     * @return the encoded OCSPResp, that has been fetched from the ocspUrl
      */
-    private OCSPResp performRequest(String urlString)
-            throws IOException, OCSPException, URISyntaxException {
-        OCSPReq request = generateOCSPRequest();
-        URL url = new URI(urlString).toURL();
+    static byte[] postRequest(String urlString, byte[] request) throws IOException {
+        URL url;
+        try {
+            url = new URI(urlString).toURL();
+        } catch (URISyntaxException e) {
+            throw new IOException("OCSP: invalid url " + urlString, e);
+        }
         HttpURLConnection httpConnection = (HttpURLConnection) url.openConnection();
         try {
             httpConnection.setRequestProperty("Content-Type", "application/ocsp-request");
@@ -395,7 +432,7 @@ public class OcspHelper {
             httpConnection.setRequestMethod("POST");
             httpConnection.setDoOutput(true);
             try (OutputStream out = httpConnection.getOutputStream()) {
-                out.write(request.getEncoded());
+                out.write(request);
             }
 
             int responseCode = httpConnection.getResponseCode();
@@ -409,7 +446,7 @@ public class OcspHelper {
                     // redirection from http:// to https://
                     // change this code if you want to be more flexible (but think about security!)
                     logger.finer("redirection to " + location + " followed");
-                    return performRequest(location);
+                    return postRequest(location, request);
                 } else {
                     logger.finer("redirection to " + location + " ignored");
                 }
@@ -421,7 +458,7 @@ public class OcspHelper {
             }
             // Get response
             try (InputStream in = (InputStream) httpConnection.getContent()) {
-                return new OCSPResp(in);
+                return in.readAllBytes();
             }
         } finally {
             httpConnection.disconnect();
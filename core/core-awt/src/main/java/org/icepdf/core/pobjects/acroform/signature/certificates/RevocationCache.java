@@ -0,0 +1,332 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.acroform.signature.certificates;
+
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.cert.ocsp.SingleResp;
+import org.icepdf.core.pobjects.acroform.signature.exceptions.CertificateVerificationException;
+import org.icepdf.core.util.Defs;
+
+import javax.naming.NamingException;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509CRL;
+import java.util.Date;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Caches the CRLs and OCSP responses fetched by {@link CRLVerifier} and {@link OcspHelper} so a document with
+ * several signatures issued by the same CA, or a viewer re-validating a document, goes to the network once per
+ * distribution point or responder rather than once per certificate.
+ * <br>
+ * An entry lives for the configured time to live, but never past the CRL's or OCSP response's nextUpdate.  Loads
+ * are single flight, threads asking for an entry that is being fetched wait for the one fetch.  Failed fetches are
+ * not cached.
+ * <br>
+ * The network access goes through a {@link Fetcher}, which can be replaced, for example by a stand-in serving
+ * local files in tests or an offline deployment.
+ * <br>
+ * The following system properties configure the default cache:
+ * <ul>
+ *     <li>{@code org.icepdf.core.signatures.revocationCache.ttl} - time to live in seconds, default 1800; 0 turns
+ *     caching off.</li>
+ * </ul>
+ *
+ * @since 7.5
+ */
+public class RevocationCache {
+
+    private static final Logger logger =
+            Logger.getLogger(RevocationCache.class.getName());
+
+    private static final long DEFAULT_TTL;
+
+    static {
+        DEFAULT_TTL = Math.max(0, Defs.sysPropertyInt("org.icepdf.core.signatures.revocationCache.ttl", 1800))
+                * 1000L;
+    }
+
+    private static final RevocationCache defaultCache = new RevocationCache(DEFAULT_TTL, new NetworkFetcher());
+
+    /**
+     * Fetches revocation data, the default implementation uses HTTP(S) and LDAP.
+     */
+    public interface Fetcher {
+
+        /**
+         * Fetches the CRL published at the given distribution point.
+         *
+         * @param url distribution point URL.
+         * @return parsed CRL, never null.
+         * @throws IOException              the CRL could not be fetched.
+         * @throws GeneralSecurityException the CRL could not be parsed.
+         */
+        X509CRL fetchCrl(String url) throws IOException, GeneralSecurityException;
+
+        /**
+         * Posts an OCSP request to a responder.
+         *
+         * @param url     responder URL.
+         * @param request DER encoded OCSPRequest.
+         * @return DER encoded OCSPResponse, never null.
+         * @throws IOException the responder could not be reached or answered with an error.
+         */
+        byte[] fetchOcsp(String url, byte[] request) throws IOException;
+    }
+
+    /**
+     * An OCSP request and the response it was answered with.  The request is kept with the response so the
+     * nonce of a cached response can still be checked.
+     */
+    public static class OcspExchange {
+        private final byte[] request;
+        private final byte[] response;
+
+        public OcspExchange(byte[] request, byte[] response) {
+            this.request = request;
+            this.response = response;
+        }
+
+        public byte[] getRequest() {
+            return request;
+        }
+
+        public byte[] getResponse() {
+            return response;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttl;
+    private final LongSupplier clock;
+    private volatile Fetcher fetcher;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param ttl     time to live of an entry in milliseconds, 0 or less turns caching off.
+     * @param fetcher fetcher used to load entries.
+     */
+    public RevocationCache(long ttl, Fetcher fetcher) {
+        this(ttl, fetcher, System::currentTimeMillis);
+    }
+
+    RevocationCache(long ttl, Fetcher fetcher, LongSupplier clock) {
+        this.ttl = ttl;
+        this.fetcher = fetcher;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the cache used by the certificate verifiers.
+     *
+     * @return default cache instance.
+     */
+    public static RevocationCache getDefault() {
+        return defaultCache;
+    }
+
+    public Fetcher getFetcher() {
+        return fetcher;
+    }
+
+    /**
+     * Replaces the fetcher, the cache is cleared so no data of the old fetcher is served.
+     *
+     * @param fetcher new fetcher, not null.
+     */
+    public void setFetcher(Fetcher fetcher) {
+        if (fetcher == null) {
+            throw new IllegalArgumentException("Fetcher must not be null.");
+        }
+        this.fetcher = fetcher;
+        clear();
+    }
+
+    /**
+     * Gets the CRL published at the given distribution point.
+     *
+     * @param url distribution point URL.
+     * @return CRL, cached or freshly fetched.
+     * @throws IOException              the CRL could not be fetched.
+     * @throws GeneralSecurityException the CRL could not be parsed.
+     */
+    public X509CRL getCrl(String url) throws IOException, GeneralSecurityException {
+        Fetcher crlFetcher = fetcher;
+        return (X509CRL) get("crl:" + url, () -> crlFetcher.fetchCrl(url));
+    }
+
+    /**
+     * Gets the OCSP response for a certificate.  On a miss the given request is posted to the responder, on a hit
+     * the cached exchange is returned and its request may differ from the one given.
+     *
+     * @param url            responder URL.
+     * @param certificateKey identifies the certificate within the responder, for example issuer key hash and
+     *                       serial number.
+     * @param request        DER encoded OCSPRequest, used on a miss.
+     * @return request and response pair.
+     * @throws IOException the responder could not be reached.
+     */
+    public OcspExchange getOcsp(String url, String certificateKey, byte[] request) throws IOException {
+        Fetcher ocspFetcher = fetcher;
+        try {
+            return (OcspExchange) get("ocsp:" + url + '#' + certificateKey,
+                    () -> new OcspExchange(request, ocspFetcher.fetchOcsp(url, request)));
+        } catch (GeneralSecurityException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Removes an OCSP entry, for example when the cached response failed verification.
+     */
+    public void invalidateOcsp(String url, String certificateKey) {
+        entries.remove("ocsp:" + url + '#' + certificateKey);
+    }
+
+    /**
+     * Removes a CRL entry.
+     */
+    public void invalidateCrl(String url) {
+        entries.remove("crl:" + url);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Object get(String key, Callable<Object> loader) throws IOException, GeneralSecurityException {
+        if (ttl <= 0) {
+            return load(new FutureTask<>(loader));
+        }
+        while (true) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.isExpired(clock.getAsLong())) {
+                entries.remove(key, entry);
+                entry = null;
+            }
+            if (entry == null) {
+                Entry created = new Entry(new FutureTask<>(loader));
+                entry = entries.putIfAbsent(key, created);
+                if (entry == null) {
+                    try {
+                        Object value = load(created.future);
+                        created.expires = expiry(value);
+                        return value;
+                    } catch (IOException | GeneralSecurityException | RuntimeException e) {
+                        entries.remove(key, created);
+                        throw e;
+                    }
+                }
+                // another thread started the load first.
+            }
+            // a failed load is removed by the loading thread, so the next call fetches again.
+            return load(entry.future);
+        }
+    }
+
+    private static Object load(FutureTask<Object> future) throws IOException, GeneralSecurityException {
+        future.run();
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted fetching revocation data", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof GeneralSecurityException) {
+                throw (GeneralSecurityException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private long expiry(Object value) {
+        long expires = clock.getAsLong() + ttl;
+        Date nextUpdate = null;
+        if (value instanceof X509CRL) {
+            nextUpdate = ((X509CRL) value).getNextUpdate();
+        } else if (value instanceof OcspExchange) {
+            nextUpdate = getNextUpdate(((OcspExchange) value).getResponse());
+        }
+        return nextUpdate != null ? Math.min(expires, nextUpdate.getTime()) : expires;
+    }
+
+    private static Date getNextUpdate(byte[] response) {
+        try {
+            Object responseObject = new OCSPResp(response).getResponseObject();
+            if (responseObject instanceof BasicOCSPResp) {
+                SingleResp[] responses = ((BasicOCSPResp) responseObject).getResponses();
+                if (responses.length == 1) {
+                    return responses[0].getNextUpdate();
+                }
+            }
+        } catch (Exception e) {
+            // malformed responses fail verification, the time to live applies until they are invalidated.
+            logger.log(Level.FINEST, "Could not read OCSP nextUpdate", e);
+        }
+        return null;
+    }
+
+    private static class Entry {
+        private final FutureTask<Object> future;
+        // set once the load completes, until then the entry never expires.
+        private volatile long expires = Long.MAX_VALUE;
+
+        Entry(FutureTask<Object> future) {
+            this.future = future;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expires;
+        }
+    }
+
+    /**
+     * Fetches CRLs over HTTP(S) and LDAP and OCSP responses over HTTP(S).
+     */
+    public static class NetworkFetcher implements Fetcher {
+
+        @Override
+        public X509CRL fetchCrl(String url) throws IOException, GeneralSecurityException {
+            try {
+                return CRLVerifier.downloadCRL(url);
+            } catch (NamingException | CertificateVerificationException e) {
+                throw new IOException("Can not download CRL from: " + url, e);
+            }
+        }
+
+        @Override
+        public byte[] fetchOcsp(String url, byte[] request) throws IOException {
+            return OcspHelper.postRequest(url, request);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.annotations;
+
+import org.icepdf.core.pobjects.Name;
+import org.icepdf.core.pobjects.Page;
+import org.icepdf.core.pobjects.PageTree;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the pages that carry annotations of a given subtype, for example the pages with
+ * {@link Annotation#SUBTYPE_REDACT} annotations.  The index is built from the /Subtype of each page's /Annots
+ * entries, see {@link Page#getAnnotationSubtypes()}, so no annotation is initialized.  It is a snapshot, annotations
+ * added or removed after it was built are not reflected.
+ *
+ * @since 7.5
+ */
+public class AnnotationSubtypeIndex {
+
+    private final Map<Name, BitSet> pagesBySubtype;
+    private final int pageCount;
+
+    private AnnotationSubtypeIndex(Map<Name, BitSet> pagesBySubtype, int pageCount) {
+        this.pagesBySubtype = pagesBySubtype;
+        this.pageCount = pageCount;
+    }
+
+    /**
+     * Builds the index for all the pages of a page tree.
+     *
+     * @param pageTree document page tree.
+     * @return new index.
+     * @throws InterruptedException thread was interrupted.
+     */
+    public static AnnotationSubtypeIndex build(PageTree pageTree) throws InterruptedException {
+        int pageCount = pageTree.getNumberOfPages();
+        Map<Name, BitSet> pagesBySubtype = new HashMap<>();
+        for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException("Annotation subtype indexing interrupted");
+            }
+            Page page = pageTree.getPage(pageIndex);
+            if (page == null) {
+                continue;
+            }
+            Set<Name> subtypes = page.getAnnotationSubtypes();
+            for (Name subtype : subtypes) {
+                pagesBySubtype.computeIfAbsent(subtype, key -> new BitSet(pageCount)).set(pageIndex);
+            }
+        }
+        return new AnnotationSubtypeIndex(pagesBySubtype, pageCount);
+    }
+
+    /**
+     * Gets the pages carrying at least one annotation of the given subtype.
+     *
+     * @param subtype annotation subtype.
+     * @return copy of the set of page indexes, empty if no page carries the subtype.
+     */
+    public BitSet getPages(Name subtype) {
+        BitSet pages = pagesBySubtype.get(subtype);
+        return pages != null ? (BitSet) pages.clone() : new BitSet();
+    }
+
+    public boolean hasSubtype(int pageIndex, Name subtype) {
+        BitSet pages = pagesBySubtype.get(subtype);
+        return pages != null && pages.get(pageIndex);
+    }
+
+    /**
+     * Gets the subtypes found in the document.
+     */
+    public Set<Name> getSubtypes() {
+        return Collections.unmodifiableSet(pagesBySubtype.keySet());
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+}
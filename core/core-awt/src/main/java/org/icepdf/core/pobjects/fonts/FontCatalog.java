@@ -0,0 +1,346 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.fonts;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Scans font directories for the {@link FontManager} and remembers what it found.  Directories are walked in order,
+ * each one once by its real path so links can't loop, and the font files found are read in parallel.  A file only
+ * contributes its name, family and style at scan time, the font program itself is loaded when a substitution
+ * selects it.
+ * <br>
+ * When a catalog file is given the results are kept there between runs.  A directory whose modification time
+ * hasn't changed isn't listed again, its cached files and subdirectories are reused, and a cached file whose
+ * modification time hasn't changed isn't read again.  A warm start therefore costs a stat per directory and per
+ * font file instead of parsing every installed font.
+ * <br>
+ * The catalog is written for the allow list pattern it was scanned with, a different pattern discards it.
+ *
+ * @since 7.5
+ */
+final class FontCatalog {
+
+    private static final Logger logger =
+            Logger.getLogger(FontCatalog.class.getName());
+
+    /**
+     * Name of the catalog file in the catalog directory.
+     */
+    static final String CATALOG_FILE_NAME = "icepdf-font-catalog.bin";
+
+    // raise when the catalog layout or the set of fonts the scan can discover changes.
+    private static final int CATALOG_VERSION = 1;
+    private static final int CATALOG_MAGIC = 0x49504643;
+
+    // array indexes for font data, as FontManager stores it.
+    private static final int FONT_NAME = 0;
+    private static final int FONT_FAMILY = 1;
+    private static final int FONT_DECORATIONS = 2;
+
+    private final Path catalogFile;
+    private final String allowListPattern;
+
+    // directories from the catalog file, replaced by the directories visited by the last scan.
+    private Map<String, DirectoryRecord> directories = new HashMap<>();
+
+    // number of font files read by the last scan, the rest came from the catalog.
+    private int readCount;
+
+    /**
+     * Creates a new catalog.
+     *
+     * @param catalogFile      file the catalog is kept in, null to scan without keeping anything.
+     * @param allowListPattern font file allow list pattern the scan filters with.
+     */
+    FontCatalog(Path catalogFile, String allowListPattern) {
+        this.catalogFile = catalogFile;
+        this.allowListPattern = allowListPattern != null ? allowListPattern : "";
+    }
+
+    /**
+     * Scans the given directories, files in a directory come before the contents of its subdirectories as they
+     * always have since FontManager searches the font list from the end.  The catalog file is read before the scan
+     * and written after it when anything changed.
+     *
+     * @param fontDirectories directories, or single font files, to scan.
+     * @param allowed         true for the files that should be read.
+     * @param reader          reads the font entries, name, family, decorations and path, from a font file.
+     * @return font entries in scan order.
+     */
+    List<Object[]> scan(List<String> fontDirectories, Predicate<File> allowed,
+                        Function<String, List<Object[]>> reader) {
+        load();
+        // walked one root after another, so a directory reachable from several roots, or through a link, is always
+        // claimed by the same one and the scan order doesn't change from run to run.
+        Map<String, DirectoryRecord> visited = new LinkedHashMap<>();
+        List<FileRecord> files = new ArrayList<>();
+        for (String fontDirectory : fontDirectories) {
+            walk(new File(fontDirectory), allowed, visited, files);
+        }
+
+        // only the files that are new or have changed since the catalog was written are read.
+        List<FileRecord> unread = files.stream().filter(file -> file.faces == null).collect(Collectors.toList());
+        unread.parallelStream().forEach(file -> {
+            try {
+                List<Object[]> faces = reader.apply(file.path);
+                file.faces = faces != null ? faces : Collections.emptyList();
+            } catch (Exception e) {
+                logger.log(Level.FINE, "Error reading font " + file.path, e);
+                file.faces = Collections.emptyList();
+            }
+        });
+        readCount = unread.size();
+
+        boolean changed = !unread.isEmpty() || !visited.keySet().equals(directories.keySet()) ||
+                visited.values().stream().anyMatch(directory -> directory.changed);
+        directories = new HashMap<>(visited);
+        if (changed) {
+            save();
+        }
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine("Font scan read " + readCount + " of " + files.size() + " font files in " +
+                    directories.size() + " directories.");
+        }
+
+        List<Object[]> fonts = new ArrayList<>(files.size());
+        for (FileRecord file : files) {
+            for (Object[] face : file.faces) {
+                fonts.add(new Object[]{face[FONT_NAME], face[FONT_FAMILY], face[FONT_DECORATIONS], file.path});
+            }
+        }
+        return fonts;
+    }
+
+    /**
+     * Gets the number of font files the last scan had to read, the rest came from the catalog.
+     *
+     * @return number of font files read.
+     */
+    int getReadCount() {
+        return readCount;
+    }
+
+    private void walk(File directory, Predicate<File> allowed, Map<String, DirectoryRecord> visited,
+                      List<FileRecord> found) {
+        try {
+            if (!directory.canRead()) {
+                return;
+            }
+            if (directory.isFile()) {
+                found.add(fileRecord(directory, null));
+                return;
+            }
+            if (!directory.isDirectory()) {
+                return;
+            }
+            // each directory is walked once per scan, keyed on its real path so links back up the tree and
+            // overlapping paths are caught.
+            String path = directory.toPath().toRealPath().toString();
+            if (visited.putIfAbsent(path, DirectoryRecord.CLAIMED) != null) {
+                return;
+            }
+            if (logger.isLoggable(Level.FINER)) {
+                logger.finer("looking into directory " + path);
+            }
+            long lastModified = directory.lastModified();
+            DirectoryRecord cached = directories.get(path);
+            DirectoryRecord record;
+            if (cached != null && cached.lastModified == lastModified) {
+                // nothing was added, removed or renamed, only the files themselves need checking.
+                List<FileRecord> files = new ArrayList<>(cached.files.size());
+                for (FileRecord file : cached.files) {
+                    files.add(fileRecord(new File(file.path), file));
+                }
+                record = new DirectoryRecord(lastModified, cached.subdirectories, files);
+            } else {
+                File[] children = directory.listFiles();
+                List<FileRecord> files = new ArrayList<>();
+                List<String> subdirectories = new ArrayList<>();
+                if (children != null) {
+                    // listing order is up to the file system, sort it so the scan order is stable.
+                    Arrays.sort(children);
+                    Map<String, FileRecord> previous = new HashMap<>();
+                    if (cached != null) {
+                        for (FileRecord file : cached.files) {
+                            previous.put(file.path, file);
+                        }
+                    }
+                    for (File child : children) {
+                        if (allowed.test(child)) {
+                            files.add(fileRecord(child, previous.get(child.getAbsolutePath())));
+                        } else if (child.isDirectory()) {
+                            subdirectories.add(child.getAbsolutePath());
+                        }
+                    }
+                }
+                record = new DirectoryRecord(lastModified, subdirectories, files);
+                record.changed = true;
+            }
+            visited.put(path, record);
+
+            found.addAll(record.files);
+            for (String subdirectory : record.subdirectories) {
+                walk(new File(subdirectory), allowed, visited, found);
+            }
+        } catch (SecurityException e) {
+            logger.log(Level.WARNING, "SecurityException: failed to load fonts from directory: ", e);
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Failed to load fonts from directory: ", e);
+        }
+    }
+
+    private static FileRecord fileRecord(File file, FileRecord cached) {
+        long lastModified = file.lastModified();
+        FileRecord record = new FileRecord(file.getAbsolutePath(), lastModified);
+        if (cached != null && cached.lastModified == lastModified) {
+            record.faces = cached.faces;
+        }
+        return record;
+    }
+
+    private void load() {
+        directories = new HashMap<>();
+        if (catalogFile == null || !Files.isReadable(catalogFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(catalogFile)))) {
+            if (in.readInt() != CATALOG_MAGIC || in.readInt() != CATALOG_VERSION ||
+                    !allowListPattern.equals(in.readUTF())) {
+                logger.fine("Font catalog is out of date, rescanning font directories.");
+                return;
+            }
+            Map<String, DirectoryRecord> loaded = new HashMap<>();
+            for (int i = 0, directoryCount = in.readInt(); i < directoryCount; i++) {
+                String path = in.readUTF();
+                long lastModified = in.readLong();
+                int subdirectoryCount = in.readInt();
+                List<String> subdirectories = new ArrayList<>(subdirectoryCount);
+                for (int j = 0; j < subdirectoryCount; j++) {
+                    subdirectories.add(in.readUTF());
+                }
+                int fileCount = in.readInt();
+                List<FileRecord> files = new ArrayList<>(fileCount);
+                for (int j = 0; j < fileCount; j++) {
+                    FileRecord file = new FileRecord(in.readUTF(), in.readLong());
+                    int faceCount = in.readInt();
+                    List<Object[]> faces = new ArrayList<>(faceCount);
+                    for (int k = 0; k < faceCount; k++) {
+                        faces.add(new Object[]{in.readUTF(), in.readUTF(), in.readInt()});
+                    }
+                    file.faces = faces;
+                    files.add(file);
+                }
+                loaded.put(path, new DirectoryRecord(lastModified, subdirectories, files));
+            }
+            directories = loaded;
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.FINE, "Error reading font catalog " + catalogFile + ", rescanning font directories.", e);
+        }
+    }
+
+    private void save() {
+        if (catalogFile == null) {
+            return;
+        }
+        try {
+            Path directory = catalogFile.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            // written beside the catalog and moved in to place, a reader never sees half a catalog.
+            Path temp = Files.createTempFile(directory, CATALOG_FILE_NAME, ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeInt(CATALOG_MAGIC);
+                    out.writeInt(CATALOG_VERSION);
+                    out.writeUTF(allowListPattern);
+                    out.writeInt(directories.size());
+                    for (Map.Entry<String, DirectoryRecord> entry : directories.entrySet()) {
+                        DirectoryRecord record = entry.getValue();
+                        out.writeUTF(entry.getKey());
+                        out.writeLong(record.lastModified);
+                        out.writeInt(record.subdirectories.size());
+                        for (String subdirectory : record.subdirectories) {
+                            out.writeUTF(subdirectory);
+                        }
+                        out.writeInt(record.files.size());
+                        for (FileRecord file : record.files) {
+                            out.writeUTF(file.path);
+                            out.writeLong(file.lastModified);
+                            out.writeInt(file.faces.size());
+                            for (Object[] face : file.faces) {
+                                out.writeUTF((String) face[FONT_NAME]);
+                                out.writeUTF((String) face[FONT_FAMILY]);
+                                out.writeInt((Integer) face[FONT_DECORATIONS]);
+                            }
+                        }
+                    }
+                }
+                try {
+                    Files.move(temp, catalogFile, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    Files.move(temp, catalogFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.FINE, "Error writing font catalog " + catalogFile, e);
+        }
+    }
+
+    private static final class DirectoryRecord {
+        // placeholder for a directory being walked, never matches a real modification time.
+        private static final DirectoryRecord CLAIMED =
+                new DirectoryRecord(-1, Collections.emptyList(), Collections.emptyList());
+
+        private final long lastModified;
+        private final List<String> subdirectories;
+        private final List<FileRecord> files;
+        // listed by this scan rather than taken from the catalog.
+        private boolean changed;
+
+        private DirectoryRecord(long lastModified, List<String> subdirectories, List<FileRecord> files) {
+            this.lastModified = lastModified;
+            this.subdirectories = subdirectories;
+            this.files = files;
+        }
+    }
+
+    private static final class FileRecord {
+        private final String path;
+        private final long lastModified;
+        // name, family and decorations of each face, null until read.
+        private volatile List<Object[]> faces;
+
+        private FileRecord(String path, long lastModified) {
+            this.path = path;
+            this.lastModified = lastModified;
+        }
+    }
+}
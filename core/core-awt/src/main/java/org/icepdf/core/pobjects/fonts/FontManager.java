@@ -18,6 +18,9 @@ package org.icepdf.core.pobjects.fonts;
 import org.icepdf.core.util.Defs;
 import org.icepdf.core.util.FontUtil;
 import org.icepdf.core.util.SystemProperties;
+import org.icepdf.core.util.memory.MemoryConsumer;
+import org.icepdf.core.util.memory.MemoryGovernor;
+import org.icepdf.core.util.memory.RebuildCost;
 
 import java.awt.*;
 import org.apache.fontbox.ttf.TrueTypeCollection;
@@ -25,6 +28,8 @@ import org.icepdf.core.pobjects.fonts.zfont.fontFiles.ZFontTrueType;
 import org.apache.fontbox.ttf.TrueTypeFont;
 import java.io.ByteArrayInputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
@@ -47,6 +52,9 @@ import java.util.regex.Pattern;
  * speed up this process the method getFontProperties exports font data via a
  * Properties object.  The font Properties object can then be saved to disk or
  * be read back into the FontManager via the setFontProperties method.  </p>
+ * <p>Headless applications can set org.icepdf.core.font.catalog.dir instead, the system font scan then keeps
+ * a catalog of what it found in that directory and on later runs only reads the font files and directories that
+ * have changed.  Either way font directories are scanned in parallel.</p>
  *
  * @since 2.0
  */
@@ -88,6 +96,33 @@ public class FontManager {
     // stores fonts loaded from jar, these won't be cached
     private static volatile List<Object[]> fontJarList;
 
+    // lookup indexes over snapshots of fontList and fontJarList plus the memo of resolved substitutions, built on
+    // the first lookup and dropped by every method that changes either list.
+    private static volatile FontLookup fontLookup;
+
+    // directory the font catalog is kept in between runs, the system font scan reads and updates it.  Without it
+    // every scan reads every font file.
+    private static final String FONT_CATALOG_DIRECTORY = Defs.sysProperty("org.icepdf.core.font.catalog.dir");
+
+    // number of resolved (name, flags) substitutions remembered, 0 disables the memo.
+    private static final int SUBSTITUTION_CACHE_SIZE =
+            Defs.sysPropertyInt("org.icepdf.core.font.substitutionCacheSize", 256);
+
+    // bytes charged to a remembered substitution whose source can't be measured, a jar resource for instance.
+    private static final long SUBSTITUTION_SIZE_ESTIMATE = 256 * 1024;
+
+    // the list a substitution was resolved against, part of the memo key.
+    private static final int DEFAULT_LOOKUP = 0;
+    private static final int JAPANESE_LOOKUP = 1;
+    private static final int KOREAN_LOOKUP = 2;
+    private static final int CHINESE_TRADITIONAL_LOOKUP = 3;
+    private static final int CHINESE_SIMPLIFIED_LOOKUP = 4;
+
+    static {
+        // the substitution memo is shared by all documents so it's accounted for JVM wide.
+        MemoryGovernor.getInstance().register(new SubstitutionCacheConsumer());
+    }
+
     // flags for detecting font decorations
     private static final int PLAIN = 0xF0000001;
     private static final int BOLD = 0xF0000010;
@@ -445,6 +480,37 @@ public class FontManager {
         return fontJarList == null ? null : new ArrayList<>(fontJarList);
     }
 
+    /**
+     * Returns the lookup indexes for the current font lists, building them if a writer has changed either list
+     * since the last lookup.  Lookups that raced with a writer finish against the indexes they started with.
+     *
+     * @return current font lookup, never null.
+     */
+    private FontLookup fontLookup() {
+        FontLookup lookup = fontLookup;
+        if (lookup == null) {
+            lookup = buildFontLookup();
+        }
+        return lookup;
+    }
+
+    private synchronized FontLookup buildFontLookup() {
+        // built under the writers' monitor so an index is never taken from a half read list.
+        if (fontLookup == null) {
+            List<Object[]> jarList = snapshotFontJarList();
+            fontLookup = new FontLookup(new FontIndex(snapshotFontList()),
+                    jarList != null ? new FontIndex(jarList) : null);
+        }
+        return fontLookup;
+    }
+
+    /**
+     * Drops the lookup indexes and the substitution memo, called by every method that changes the font lists.
+     */
+    private static void invalidateFontLookup() {
+        fontLookup = null;
+    }
+
     /**
      * <p>Gets a Properties object containing font information for the operating
      * system which the FontManager is running on.  This Properties object
@@ -525,6 +591,8 @@ public class FontManager {
         } catch (Exception e) {
             logger.log(Level.FINE, "Error setting font properties ", e);
             throw new IllegalArgumentException(errorString);
+        } finally {
+            invalidateFontLookup();
         }
     }
 
@@ -536,6 +604,7 @@ public class FontManager {
         if (fontList != null) {
             fontList.clear();
         }
+        invalidateFontLookup();
     }
 
     /**
@@ -600,7 +669,11 @@ public class FontManager {
         if (logger.isLoggable(Level.FINER)) {
             logger.finer("Starting recursive scan of specified font directories for system fonts.");
         }
-        loadSystemFont(fontDirectories);
+        try {
+            loadSystemFont(fontDirectories);
+        } finally {
+            invalidateFontLookup();
+        }
     }
 
     /**
@@ -617,44 +690,29 @@ public class FontManager {
     }
 
     private void loadSystemFont(List<String> fontDirectories) {
-        try {
-            for (String fontDirectory : fontDirectories) {
-                File directory = new File(fontDirectory);
-                if (directory.canRead() && directory.isDirectory()) {
-                    logger.finer("looking into directory " + directory.getAbsolutePath());
-                    // load files
-                    File[] files = directory.listFiles();
-                    if (files != null) {
-                        List<String> dirPaths = new ArrayList<>();
-                        for (File file : files) {
-                            if (isFontFileAllowed(file)) {
-                                // load the font.
-                                evaluateFontForInsertion(file.getAbsolutePath());
-                            } else if (file.isDirectory()) {
-                                dirPaths.add(file.getAbsolutePath());
-                            }
-                        }
-                        // If we have some directories, then we want ot recursively descend.
-                        loadSystemFont(dirPaths);
-                    }
-                } else if (directory.canRead() && directory.isFile()) {
-                    // load the font.
-                    evaluateFontForInsertion(directory.getAbsolutePath());
-                }
+        // directories are walked and font files read in parallel, the catalog skips the ones it already knows.
+        Path catalogFile = FONT_CATALOG_DIRECTORY != null && !FONT_CATALOG_DIRECTORY.isEmpty() ?
+                Paths.get(FONT_CATALOG_DIRECTORY, FontCatalog.CATALOG_FILE_NAME) : null;
+        FontCatalog fontCatalog = new FontCatalog(catalogFile, fontAllowListPattern.pattern());
+        List<Object[]> fonts = fontCatalog.scan(fontDirectories, this::isFontFileAllowed, this::readFontFile);
+        for (Object[] fontProperty : fonts) {
+            if (!checkExclusionLists(fontProperty)) {
+                fontList.add(fontProperty);
             }
-        } catch (SecurityException e) {
-            logger.log(Level.WARNING, "SecurityException: failed to load fonts from directory: ", e);
-        } catch (Exception e) {
-            logger.log(Level.WARNING, "Failed to load fonts from directory: ", e);
         }
     }
 
-    private void evaluateFontForInsertion(String fontPath) {
+    /**
+     * Reads the font list entries for a font file, called from the scan threads so nothing shared is touched.
+     *
+     * @param fontPath font file to read.
+     * @return name, family, decorations and path of each face in the file, empty if the file can't be read.
+     */
+    private List<Object[]> readFontFile(String fontPath) {
         // a collection holds several faces and has to contribute one entry each, or only the first
         // would ever be found by name.
         if (isFontCollection(fontPath)) {
-            evaluateFontCollectionForInsertion(fontPath);
-            return;
+            return readFontCollection(fontPath);
         }
         // try loading the font
         FontFile font = buildFont(fontPath);
@@ -663,32 +721,31 @@ public class FontManager {
             logger.finer("Found font file" + fontPath);
             // normalize name
             String fontName = font.getName().toLowerCase();
-            // Add new font data to the font list
-            Object[] fontProperty = new Object[]{font.getName().toLowerCase(), // original PS name
-                    FontUtil.normalizeString(font.getFamily()), // family name
-                    guessFontStyle(fontName), // weight and decorations, mainly bold,italic
-                    fontPath};
-            if (!checkExclusionLists(fontProperty)) {
-                fontList.add(fontProperty);  // path to font on OS
-            }
             if (logger.isLoggable(Level.FINER)) {
                 logger.finer("Adding system font: " + font.getName() + " " + fontPath);
             }
+            // Add new font data to the font list
+            return Collections.singletonList(new Object[]{font.getName().toLowerCase(), // original PS name
+                    FontUtil.normalizeString(font.getFamily()), // family name
+                    guessFontStyle(fontName), // weight and decorations, mainly bold,italic
+                    fontPath});  // path to font on OS
         }
+        return Collections.emptyList();
     }
 
     /**
-     * Registers every face of a TrueType/OpenType collection, one font-list entry each, all pointing
+     * Reads every face of a TrueType/OpenType collection, one font-list entry each, all pointing
      * at the same file.  {@link #buildFont(String, String)} later re-selects the face by the
      * PostScript name recorded here.
      * <p>
      * Only the names are needed at scan time, so the faces are read and dropped; nothing keeps the
      * collection's buffer alive.
      */
-    private void evaluateFontCollectionForInsertion(String fontPath) {
+    private List<Object[]> readFontCollection(String fontPath) {
         File file = new File(fontPath);
+        List<Object[]> faces = new ArrayList<>();
         if (!file.canRead()) {
-            return;
+            return faces;
         }
         try {
             TrueTypeCollection collection = new TrueTypeCollection(
@@ -702,14 +759,11 @@ public class FontManager {
                     return;
                 }
                 String fontName = name.toLowerCase();
-                Object[] fontProperty = new Object[]{fontName,      // original PS name
+                faces.add(new Object[]{fontName,      // original PS name
                         FontUtil.normalizeString(face.getNaming() != null
                                 ? face.getNaming().getFontFamily() : name),  // family name
                         guessFontStyle(fontName),                   // weight and decorations
-                        fontPath};
-                if (!checkExclusionLists(fontProperty)) {
-                    fontList.add(fontProperty);
-                }
+                        fontPath});
                 if (logger.isLoggable(Level.FINER)) {
                     logger.finer("Adding system font from collection: " + name + " " + fontPath);
                 }
@@ -718,6 +772,7 @@ public class FontManager {
         } catch (Throwable e) {
             logger.log(Level.FINE, "Error reading font collection " + fontPath, e);
         }
+        return faces;
     }
 
     /**
@@ -809,24 +864,36 @@ public class FontManager {
     }
 
     public FontFile getJapaneseInstance(String name, int fontFlags) {
-        return getAsianInstance(snapshotFontList(), name, JAPANESE_FONT_NAMES, fontFlags);
+        return getAsianInstance(fontLookup(), JAPANESE_LOOKUP, name, JAPANESE_FONT_NAMES, fontFlags);
     }
 
     public FontFile getKoreanInstance(String name, int fontFlags) {
-        return getAsianInstance(snapshotFontList(), name, KOREAN_FONT_NAMES, fontFlags);
+        return getAsianInstance(fontLookup(), KOREAN_LOOKUP, name, KOREAN_FONT_NAMES, fontFlags);
     }
 
     public FontFile getChineseTraditionalInstance(String name, int fontFlags) {
-        return getAsianInstance(snapshotFontList(), name, CHINESE_TRADITIONAL_FONT_NAMES, fontFlags);
+        return getAsianInstance(fontLookup(), CHINESE_TRADITIONAL_LOOKUP, name, CHINESE_TRADITIONAL_FONT_NAMES,
+                fontFlags);
     }
 
     public FontFile getChineseSimplifiedInstance(String name, int fontFlags) {
-        return getAsianInstance(snapshotFontList(), name, CHINESE_SIMPLIFIED_FONT_NAMES, fontFlags);
+        return getAsianInstance(fontLookup(), CHINESE_SIMPLIFIED_LOOKUP, name, CHINESE_SIMPLIFIED_FONT_NAMES,
+                fontFlags);
     }
 
-    private FontFile getAsianInstance(List<Object[]> fontList, String name, String[] list, int flags) {
+    private FontFile getAsianInstance(FontLookup lookup, int kind, String name, String[] list, int flags) {
+        // the kind names the collection, so it keys the memo along with the name.
+        name = withoutSubsetTag(name);
+        String key = lookup.key(kind, name, flags);
+        FontFile font = lookup.get(key);
+        if (font == null) {
+            font = findAsianInstance(lookup.fonts, name, list, flags);
+            lookup.put(key, font);
+        }
+        return font;
+    }
 
-        // fontList is a snapshot supplied by the caller (never null, may be empty).
+    private FontFile findAsianInstance(FontIndex fontList, String name, String[] list, int flags) {
         FontFile font;
         if (list != null) {
             // search for know list of fonts
@@ -899,6 +966,7 @@ public class FontManager {
                 }
             }
         }
+        invalidateFontLookup();
     }
 
     /**
@@ -911,12 +979,45 @@ public class FontManager {
      * by the name and flags attribute.
      */
     public FontFile getInstance(String name, int flags) {
+        // the same few base names turn up in nearly every document, remember what they resolved to.
+        FontLookup lookup = fontLookup();
+        name = withoutSubsetTag(name);
+        String key = lookup.key(DEFAULT_LOOKUP, name, flags);
+        FontFile font = lookup.get(key);
+        if (font == null) {
+            font = findInstance(lookup, name, flags);
+            lookup.put(key, font);
+        }
+        return font;
+    }
+
+    /**
+     * Strips the six letter subset tag, "ABCDEF+Arial", from an embedded font's base name.  Every subset of the
+     * same font gets its own tag so without this each one is a separate memo entry for the same substitute.  Only
+     * a well-formed tag is removed, a '+' anywhere else is part of the name.
+     * <p>
+     * VisibilityForTesting
+     */
+    static String withoutSubsetTag(String name) {
+        if (name == null || name.length() < 8 || name.charAt(6) != '+') {
+            return name;
+        }
+        for (int i = 0; i < 6; i++) {
+            char c = name.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return name;
+            }
+        }
+        return name.substring(7);
+    }
 
-        // Iterate stable snapshots rather than the live static lists: the lookups below
-        // (and the slow buildFont disk reads they trigger) then run lock-free while a
-        // concurrent readSystemFonts/setFontProperties can safely rebuild the shared lists.
-        final List<Object[]> fontList = snapshotFontList();
-        final List<Object[]> fontJarList = snapshotFontJarList();
+    private FontFile findInstance(FontLookup lookup, String name, int flags) {
+
+        // Search the lookup's indexes rather than the live static lists: they are immutable
+        // snapshots, so the lookups below (and the slow buildFont disk reads they trigger) run
+        // lock-free while a concurrent readSystemFonts/setFontProperties rebuilds the shared lists.
+        final FontIndex fontList = lookup.fonts;
+        final FontIndex fontJarList = lookup.jarFonts;
 
         FontFile font;
 
@@ -961,7 +1062,7 @@ public class FontManager {
         }
 
         // try and find an equivalent java font
-        font = getCoreJavaFont(name, flags);
+        font = getCoreJavaFont(fontList, name, flags);
         if (font != null) {
             if (logger.isLoggable(Level.FINE)) {
                 logger.fine("Font Substitution: Found java font: " + font.getName() + " for named font " + name);
@@ -973,36 +1074,11 @@ public class FontManager {
         // this should never happen, but just in case.
         if (fontList.size() > 0) {
             Object[] fontData;
-            boolean found = false;
-            int decorations = guessFontStyle(name);
-            int style;
-            // get first font that has a matching style
-            for (int i = fontList.size() - 1; i >= 0; i--) {
-                fontData = fontList.get(i);
-                style = (Integer) fontData[FONT_DECORATIONS];
-                if (((decorations & BOLD_ITALIC) == BOLD_ITALIC) &&
-                        ((style & BOLD_ITALIC) == BOLD_ITALIC)) {
-                    found = true;
-                } else if (((decorations & BOLD) == BOLD) &&
-                        ((style & BOLD) == BOLD)) {
-                    found = true;
-                } else if (((decorations & ITALIC) == ITALIC) &&
-                        ((style & ITALIC) == ITALIC)) {
-                    found = true;
-                } else if (((decorations & PLAIN) == PLAIN) &&
-                        ((style & PLAIN) == PLAIN)) {
-                    found = true;
-                }
-                if (found) {
-                    font = buildFont((String) fontData[3], (String) fontData[0]);
-                    break;
-                }
-            }
-            if (!found) {
-                fontData = fontList.get(0);
-                font = buildFont((String) fontData[3], (String) fontData[0]);
-            }
-            if (logger.isLoggable(Level.FINE)) {
+            // get last font that has a matching style, the style buckets answer without a scan.
+            int index = fontList.lastWithStyle(guessFontStyle(name));
+            fontData = fontList.get(index >= 0 ? index : 0);
+            font = buildFont((String) fontData[3], (String) fontData[0]);
+            if (font != null && logger.isLoggable(Level.FINE)) {
                 logger.fine("Font Substitution: Found failed " + name + " " + font.getName());
             }
         }
@@ -1023,13 +1099,12 @@ public class FontManager {
      * @param flags    flags from content parser, to help guess style.
      * @return a valid font if found, null otherwise
      */
-    private FontFile findFont(List<Object[]> fontList, String fontName, int flags) {
+    private FontFile findFont(FontIndex fontList, String fontName, int flags) {
 
         FontFile font = null;
         // references for system font list.
         Object[] fontData;
         String baseName;
-        String familyName;
         String path;
         // normalize the fontName we are trying to find a match for
         int decorations = guessFontStyle(fontName);
@@ -1037,51 +1112,50 @@ public class FontManager {
         int style;
 
         if (fontList != null) {
-            for (int i = fontList.size() - 1; i >= 0; i--) {
+            // only the entries whose base name is in the font name or whose family is the font name, last first.
+            BitSet matches = fontList.candidates(fontName.toLowerCase(), name);
+            for (int i = matches.previousSetBit(fontList.size() - 1); i >= 0; i = matches.previousSetBit(i - 1)) {
                 fontData = fontList.get(i);
                 baseName = (String) fontData[FONT_NAME];
-                familyName = ((String) fontData[FONT_FAMILY]).replaceAll("(?i)(psmt|ps|mt)$", "");
                 path = (String) fontData[FONT_PATH];
                 if (logger.isLoggable(Level.FINEST)) {
-                    logger.finest(baseName + " : " + familyName + "  : " + name);
+                    logger.finest(baseName + " : " + fontData[FONT_FAMILY] + "  : " + name);
+                }
+                style = (Integer) fontData[2];
+                boolean found = false;
+                // ignore this font, as the cid mapping are not correct, or ther is
+                // just look and feel issues with them.
+                if (((decorations & BOLD_ITALIC) == BOLD_ITALIC) &&
+                        ((style & BOLD_ITALIC) == BOLD_ITALIC)) {
+                    found = true;
+                } else if (((decorations & BOLD) == BOLD) &&
+                        ((style & BOLD) == BOLD)) {
+                    found = true;
+                } else if (((decorations & ITALIC) == ITALIC) &&
+                        ((style & ITALIC) == ITALIC)) {
+                    found = true;
+                } else if (((decorations & PLAIN) == PLAIN) &&
+                        ((style & PLAIN) == PLAIN)) {
+                    found = true;
+                }
+                // symbol type fonts don't have an associated style, so
+                // no point trying to match  them based on style.
+                else if (baseName.contains("wingdings") ||
+                        baseName.contains("zapfdingbats") ||
+                        baseName.contains("dingbats") ||
+                        baseName.contains("symbol")) {
+                    found = true;
                 }
-                if (fontName.toLowerCase().contains(baseName) || name.equals(familyName)) {
-                    style = (Integer) fontData[2];
-                    boolean found = false;
-                    // ignore this font, as the cid mapping are not correct, or ther is
-                    // just look and feel issues with them.
-                    if (((decorations & BOLD_ITALIC) == BOLD_ITALIC) &&
-                            ((style & BOLD_ITALIC) == BOLD_ITALIC)) {
-                        found = true;
-                    } else if (((decorations & BOLD) == BOLD) &&
-                            ((style & BOLD) == BOLD)) {
-                        found = true;
-                    } else if (((decorations & ITALIC) == ITALIC) &&
-                            ((style & ITALIC) == ITALIC)) {
-                        found = true;
-                    } else if (((decorations & PLAIN) == PLAIN) &&
-                            ((style & PLAIN) == PLAIN)) {
-                        found = true;
-                    }
-                    // symbol type fonts don't have an associated style, so
-                    // no point trying to match  them based on style.
-                    else if (baseName.contains("wingdings") ||
-                            baseName.contains("zapfdingbats") ||
-                            baseName.contains("dingbats") ||
-                            baseName.contains("symbol")) {
-                        found = true;
-                    }
 
-                    if (found) {
-                        if (logger.isLoggable(Level.FINER)) {
-                            logger.finer("Match Found for: " + fontName + ":" + getFontStyle(style, 0).trim() +
-                                    " Substituting " + baseName + ":" + path);
-                        }
-                        font = buildFont((String) fontData[3], (String) fontData[0]);
-                        // make sure the font does indeed exist
-                        if (font != null) {
-                            break;
-                        }
+                if (found) {
+                    if (logger.isLoggable(Level.FINER)) {
+                        logger.finer("Match Found for: " + fontName + ":" + getFontStyle(style, 0).trim() +
+                                " Substituting " + baseName + ":" + path);
+                    }
+                    font = buildFont((String) fontData[3], (String) fontData[0]);
+                    // make sure the font does indeed exist
+                    if (font != null) {
+                        break;
                     }
                 }
             }
@@ -1206,6 +1280,245 @@ public class FontManager {
         }
     }
 
+    /**
+     * The indexes for the system and jar font lists along with a bounded memo of resolved substitutions.  Lives
+     * exactly as long as the lists it was built from, a change to either list drops the whole lookup.
+     */
+    private static final class FontLookup {
+        private final FontIndex fonts;
+        private final FontIndex jarFonts;
+        private final Map<String, Substitution> substitutions;
+        // guarded by substitutions.
+        private long sizeInBytes;
+
+        private FontLookup(FontIndex fonts, FontIndex jarFonts) {
+            this.fonts = fonts;
+            this.jarFonts = jarFonts;
+            substitutions = new LinkedHashMap<String, Substitution>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Substitution> eldest) {
+                    if (size() > SUBSTITUTION_CACHE_SIZE) {
+                        sizeInBytes -= eldest.getValue().size;
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private String key(int kind, String name, int flags) {
+            return kind + "|" + flags + "|" + name;
+        }
+
+        private FontFile get(String key) {
+            synchronized (substitutions) {
+                Substitution substitution = substitutions.get(key);
+                return substitution != null ? substitution.font : null;
+            }
+        }
+
+        private void put(String key, FontFile font) {
+            // a failed lookup isn't remembered, it only happens when there are no fonts at all.
+            if (font != null && SUBSTITUTION_CACHE_SIZE > 0) {
+                Substitution substitution = new Substitution(font);
+                synchronized (substitutions) {
+                    Substitution previous = substitutions.put(key, substitution);
+                    sizeInBytes += substitution.size - (previous != null ? previous.size : 0);
+                }
+            }
+        }
+
+        private long getSizeInBytes() {
+            synchronized (substitutions) {
+                return sizeInBytes;
+            }
+        }
+
+        private long evict(long bytes) {
+            long freed = 0;
+            synchronized (substitutions) {
+                // access ordered, so the least recently used substitutions come first.
+                Iterator<Substitution> iterator = substitutions.values().iterator();
+                while (freed < bytes && iterator.hasNext()) {
+                    freed += iterator.next().size;
+                    iterator.remove();
+                }
+                sizeInBytes -= freed;
+            }
+            return freed;
+        }
+    }
+
+    /**
+     * A remembered substitution and the bytes it is charged with, the length of the font file it was read from.
+     * Collections are read whole so the file length is the right figure for them too.
+     */
+    private static final class Substitution {
+        private final FontFile font;
+        private final long size;
+
+        private Substitution(FontFile font) {
+            this.font = font;
+            this.size = sizeOf(font);
+        }
+
+        private static long sizeOf(FontFile font) {
+            URL source = font.getSource();
+            if (source != null && "file".equals(source.getProtocol())) {
+                try {
+                    long length = new File(source.toURI()).length();
+                    if (length > 0) {
+                        return length;
+                    }
+                } catch (Exception e) {
+                    logger.log(Level.FINEST, "Could not size font source " + source, e);
+                }
+            }
+            return SUBSTITUTION_SIZE_ESTIMATE;
+        }
+    }
+
+    /**
+     * Reports the current lookup's substitution memo to the {@link MemoryGovernor}.  The lookup is replaced whenever
+     * the font lists change, so the consumer reads whichever one is current rather than holding on to one.
+     */
+    private static final class SubstitutionCacheConsumer implements MemoryConsumer {
+
+        @Override
+        public String getName() {
+            return "Font substitutions";
+        }
+
+        @Override
+        public RebuildCost getRebuildCost() {
+            return RebuildCost.PARSE;
+        }
+
+        @Override
+        public long getSizeInBytes() {
+            FontLookup lookup = fontLookup;
+            return lookup != null ? lookup.getSizeInBytes() : 0;
+        }
+
+        @Override
+        public long evict(long bytes) {
+            FontLookup lookup = fontLookup;
+            return lookup != null ? lookup.evict(bytes) : 0;
+        }
+    }
+
+    /**
+     * Immutable index over a snapshot of a font list.  findFont matches an entry when the font name contains the
+     * entry's base name or the normalized font name equals the entry's family, so families are hashed and base
+     * names are keyed by their first few characters and confirmed with a region match at each offset of the
+     * font name, neither needs a pass over every installed font.  The family suffix stripping that was done per
+     * probe is done once here.
+     * <p>
+     * VisibilityForTesting
+     */
+    static final class FontIndex {
+
+        // base names shorter than this are keyed by the whole name.
+        private static final int PREFIX_LENGTH = 3;
+
+        private static final int[] STYLES = {BOLD_ITALIC, BOLD, ITALIC, PLAIN};
+
+        private final List<Object[]> fonts;
+        private final Map<String, int[]> families;
+        private final Map<String, int[]> baseNames;
+        // last index holding each of STYLES, -1 if none.
+        private final int[] lastStyle = new int[STYLES.length];
+
+        FontIndex(List<Object[]> fonts) {
+            this.fonts = fonts;
+            Map<String, List<Integer>> families = new HashMap<>();
+            Map<String, List<Integer>> baseNames = new HashMap<>();
+            Arrays.fill(lastStyle, -1);
+            for (int i = 0, max = fonts.size(); i < max; i++) {
+                Object[] fontData = fonts.get(i);
+                String family = ((String) fontData[FONT_FAMILY]).replaceAll("(?i)(psmt|ps|mt)$", "");
+                families.computeIfAbsent(family, k -> new ArrayList<>(1)).add(i);
+                String baseName = (String) fontData[FONT_NAME];
+                baseNames.computeIfAbsent(prefix(baseName), k -> new ArrayList<>(1)).add(i);
+                int style = (Integer) fontData[FONT_DECORATIONS];
+                for (int j = 0; j < STYLES.length; j++) {
+                    if ((style & STYLES[j]) == STYLES[j]) {
+                        lastStyle[j] = i;
+                    }
+                }
+            }
+            this.families = toArrays(families);
+            this.baseNames = toArrays(baseNames);
+        }
+
+        private static String prefix(String baseName) {
+            return baseName.length() > PREFIX_LENGTH ? baseName.substring(0, PREFIX_LENGTH) : baseName;
+        }
+
+        private static Map<String, int[]> toArrays(Map<String, List<Integer>> lists) {
+            Map<String, int[]> arrays = new HashMap<>(lists.size() * 2);
+            for (Map.Entry<String, List<Integer>> entry : lists.entrySet()) {
+                arrays.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+            }
+            return arrays;
+        }
+
+        int size() {
+            return fonts.size();
+        }
+
+        Object[] get(int index) {
+            return fonts.get(index);
+        }
+
+        /**
+         * Finds the entries whose base name is contained in the font name or whose family equals the normalized
+         * font name.
+         *
+         * @param lowerFontName  font name in lower case.
+         * @param normalizedName font name as returned by FontUtil.normalizeString.
+         * @return set of matching indexes in to the font list.
+         */
+        BitSet candidates(String lowerFontName, String normalizedName) {
+            BitSet matches = new BitSet(fonts.size());
+            add(matches, families.get(normalizedName), null, 0);
+            // an empty base name is contained in every name.
+            add(matches, baseNames.get(""), null, 0);
+            for (int start = 0, length = lowerFontName.length(); start < length; start++) {
+                for (int end = start + 1; end <= Math.min(length, start + PREFIX_LENGTH); end++) {
+                    add(matches, baseNames.get(lowerFontName.substring(start, end)), lowerFontName, start);
+                }
+            }
+            return matches;
+        }
+
+        private void add(BitSet matches, int[] indexes, String lowerFontName, int start) {
+            if (indexes != null) {
+                for (int index : indexes) {
+                    if (lowerFontName == null || lowerFontName.startsWith((String) fonts.get(index)[FONT_NAME], start)) {
+                        matches.set(index);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Gets the last entry whose style matches the given decorations, the fallback when nothing matches by name.
+         *
+         * @param decorations decorations as returned by guessFontStyle.
+         * @return index of the entry, -1 if no entry has the style.
+         */
+        int lastWithStyle(int decorations) {
+            int last = -1;
+            for (int j = 0; j < STYLES.length; j++) {
+                if ((decorations & STYLES[j]) == STYLES[j]) {
+                    last = Math.max(last, lastStyle[j]);
+                }
+            }
+            return last;
+        }
+    }
+
     private FontFile buildFont(File fontFile) {
         String fontPath = fontFile.getPath();
         FontFactory fontFactory = FontFactory.getInstance();
@@ -1271,7 +1584,7 @@ public class FontManager {
      * the Lucida faces the original code asked for shipped with the JDK until 9 removed them, and
      * nothing replaced them, so the lookup silently failed everywhere.
      */
-    private FontFile findFirstAvailable(List<Object[]> fontList, String[] candidates,
+    private FontFile findFirstAvailable(FontIndex fontList, String[] candidates,
                                         int decorations, int flags) {
         String style = getFontStyle(decorations, flags);
         // an explicitly configured base font wins over the built-in candidates
@@ -1292,10 +1605,8 @@ public class FontManager {
         return null;
     }
 
-    private FontFile getCoreJavaFont(String fontName, int flags) {
+    private FontFile getCoreJavaFont(FontIndex fontList, String fontName, int flags) {
 
-        // iterate a stable snapshot, not the live static list
-        final List<Object[]> fontList = snapshotFontList();
         int decorations = guessFontStyle(fontName);
         // the width class has to come off the RAW name: normalizeString truncates at the last dash,
         // so "Futura-CondensedBold" normalizes to "futura" and "Frutiger-Cn" to "frutiger" - the
@@ -1456,7 +1767,7 @@ public class FontManager {
      * @param flags    style flags
      * @return a valid FontFile if a match is found, null otherwise.
      */
-    private FontFile getType1Fonts(List<Object[]> fontList, String fontName, int flags) {
+    private FontFile getType1Fonts(FontIndex fontList, String fontName, int flags) {
         FontFile font = null;
         boolean found = false;
         boolean isType1Available = true;
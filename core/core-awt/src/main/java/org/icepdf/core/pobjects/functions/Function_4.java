@@ -51,6 +51,8 @@ public class Function_4 extends Function {
 
     // cache for calculated colour values, keyed on the exact input components
     private final ConcurrentHashMap<InputKey, float[]> resultCache;
+    // estimated bytes per cached result: map node, key and the input and output arrays.
+    private static final int RESULT_ENTRY_SIZE = 128;
 
     // a malformed type 4 program fails deterministically on every sample of a
     // shading; only log the parse failure once per function rather than once
@@ -72,6 +74,9 @@ public class Function_4 extends Function {
         }
         // cache for type 4 function results.
         resultCache = new ConcurrentHashMap<>();
+        if (d.getLibrary() != null) {
+            d.getLibrary().getDocumentMemory().registerCache(resultCache, RESULT_ENTRY_SIZE);
+        }
     }
 
     /**
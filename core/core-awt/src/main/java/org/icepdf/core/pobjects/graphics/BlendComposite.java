@@ -44,6 +44,8 @@ package org.icepdf.core.pobjects.graphics;
 
 import org.icepdf.core.pobjects.Name;
 import org.icepdf.core.util.Defs;
+import org.icepdf.core.util.metrics.RenderMetrics;
+import org.icepdf.core.util.metrics.RenderPhase;
 
 import java.awt.*;
 import java.awt.image.ColorModel;
@@ -260,12 +262,13 @@ public final class BlendComposite implements Composite {
     }
 
     private static final class BlendingContext implements CompositeContext {
-        private final Blender blender;
+        private final BlendRowKernel kernel;
         private final BlendComposite composite;
 
         private BlendingContext(BlendComposite composite) {
             this.composite = composite;
-            this.blender = Blender.getBlenderFor(composite);
+            BlendRowKernel specialised = BlendRowKernel.forMode(composite.getMode());
+            this.kernel = specialised != null ? specialised : blenderKernel(composite.getMode());
         }
 
         public void dispose() {
@@ -285,76 +288,87 @@ public final class BlendComposite implements Composite {
             float alpha = composite.getAlpha();
             // read the render-scoped flag once, not per pixel (compose is hot).
             boolean transparentBackdrop = TRANSPARENT_BACKDROP.get();
+            long start = RenderMetrics.start();
+
+            if (PixelRows.isIntPacked(src) && PixelRows.isIntPacked(dstIn) && PixelRows.isIntPacked(dstOut)) {
+                int[] srcData = PixelRows.getData(src);
+                int[] dstInData = PixelRows.getData(dstIn);
+                int[] dstOutData = PixelRows.getData(dstOut);
+                int srcStart = PixelRows.getIndex(src, src.getMinX(), src.getMinY());
+                int dstInStart = PixelRows.getIndex(dstIn, dstIn.getMinX(), dstIn.getMinY());
+                int dstOutStart = PixelRows.getIndex(dstOut, dstOut.getMinX(), dstOut.getMinY());
+                int srcStride = PixelRows.getScanlineStride(src);
+                int dstInStride = PixelRows.getScanlineStride(dstIn);
+                int dstOutStride = PixelRows.getScanlineStride(dstOut);
+                // the rows are blended in place, an input sharing the output's array must be the same pixels.
+                if ((srcData != dstOutData || (srcStart == dstOutStart && srcStride == dstOutStride)) &&
+                        (dstInData != dstOutData || (dstInStart == dstOutStart && dstInStride == dstOutStride))) {
+                    PixelRows.forEachRow(height, (long) width * height, (fromRow, toRow) -> {
+                        for (int y = fromRow; y < toRow; y++) {
+                            kernel.blendRow(srcData, srcStart + y * srcStride,
+                                    dstInData, dstInStart + y * dstInStride,
+                                    dstOutData, dstOutStart + y * dstOutStride,
+                                    width, alpha, transparentBackdrop);
+                        }
+                    });
+                    RenderMetrics.stop(RenderPhase.COMPOSITING, start);
+                    return;
+                }
+            }
 
-            int[] srcPixel = new int[4];
-            int[] dstPixel = new int[4];
-            // reused per-pixel scratch -- the blenders write into `result` rather
-            // than allocating a fresh int[4] per pixel (compose is the blend hot
-            // loop; a megapixel group otherwise churned ~1-2M short-lived arrays).
-            int[] result = new int[4];
             int[] srcPixels = new int[width];
             int[] dstPixels = new int[width];
-
             for (int y = 0; y < height; y++) {
                 src.getDataElements(0, y, width, 1, srcPixels);
                 dstIn.getDataElements(0, y, width, 1, dstPixels);
-                for (int x = 0; x < width; x++) {
-                    // pixels are stored as INT_ARGB
-                    // our arrays are [R, G, B, A]
-                    int pixel = srcPixels[x];
-                    srcPixel[0] = (pixel >> 16) & 0xFF;
-                    srcPixel[1] = (pixel >> 8) & 0xFF;
-                    srcPixel[2] = (pixel) & 0xFF;
-                    srcPixel[3] = (pixel >> 24) & 0xFF;
-
-                    pixel = dstPixels[x];
-                    dstPixel[0] = (pixel >> 16) & 0xFF;
-                    dstPixel[1] = (pixel >> 8) & 0xFF;
-                    dstPixel[2] = (pixel) & 0xFF;
-                    dstPixel[3] = (pixel >> 24) & 0xFF;
-
-                    blender.blend(srcPixel, dstPixel, result);
-
-                    // Inside an isolated group's buffer the backdrop alpha is
-                    // genuine, so weight the blend by it per the PDF spec:
-                    //   Cs' = (1 - ab)*Cs + ab*B(Cb, Cs)
-                    // ab=0 (transparent backdrop) -> source colour (no black);
-                    // ab=1 (opaque) -> full blend, i.e. today's behaviour;
-                    // partial ab -> interpolated (anti-aliased edges, overlap).
-                    // `result` holds B(Cb,Cs); reweight the colour in place,
-                    // leaving result[3] (the blended alpha).
-                    // colour weight for the backdrop<->blend lerp below.  Normally
-                    // the group constant alpha; inside a group buffer we also fold
-                    // in per-pixel source coverage so a faint (low-alpha) blend
-                    // pixel does not fully overwrite the backdrop.  Ignoring src
-                    // coverage let an Overlay/Multiply of a dark, low-alpha source
-                    // crush an opaque backdrop to black (pattern_and_CYMK shadows).
-                    float colourWeight = alpha;
-                    if (transparentBackdrop) {
-                        int ab = dstPixel[3];
-                        int ia = 255 - ab;
-                        result[0] = (srcPixel[0] * ia + result[0] * ab) / 255;
-                        result[1] = (srcPixel[1] * ia + result[1] * ab) / 255;
-                        result[2] = (srcPixel[2] * ia + result[2] * ab) / 255;
-                        // Interpolate the weight by backdrop opacity so the extremes
-                        // stay exactly as before: over a transparent backdrop (ab=0)
-                        // the source passes through at full coverage (gaps reveal the
-                        // source, unchanged); over an opaque backdrop (ab=255) the
-                        // blend contributes only src[3]/255 (no crush).  An opaque
-                        // source (src[3]=255) yields colourWeight==alpha for any ab,
-                        // so opaque-fill groups (978) are byte-identical.
-                        colourWeight = alpha * (ia + ab * srcPixel[3] / 255f) / 255f;
-                    }
-
-                    // mixes the result with the opacity
-                    dstPixels[x] =
-                            ((int) (dstPixel[3] + (result[3] - dstPixel[3]) * alpha) & 0xFF) << 24 |
-                                    ((int) (dstPixel[0] + (result[0] - dstPixel[0]) * colourWeight) & 0xFF) << 16 |
-                                    ((int) (dstPixel[1] + (result[1] - dstPixel[1]) * colourWeight) & 0xFF) << 8 |
-                                    (int) (dstPixel[2] + (result[2] - dstPixel[2]) * colourWeight) & 0xFF;
-                }
+                kernel.blendRow(srcPixels, 0, dstPixels, 0, dstPixels, 0, width, alpha, transparentBackdrop);
                 dstOut.setDataElements(0, y, width, 1, dstPixels);
             }
+            RenderMetrics.stop(RenderPhase.COMPOSITING, start);
+        }
+    }
+
+    /**
+     * Gets the generic row kernel of a mode, the reference the specialised {@link BlendRowKernel}s must match.
+     */
+    static BlendRowKernel blenderKernel(BlendingMode mode) {
+        return new BlenderKernel(Blender.getBlenderFor(new BlendComposite(mode)));
+    }
+
+    /**
+     * Row kernel for the modes without a specialised kernel, runs the mode's {@link Blender} on unpacked pixels.
+     */
+    private static final class BlenderKernel extends BlendRowKernel {
+        private final Blender blender;
+
+        private BlenderKernel(Blender blender) {
+            this.blender = blender;
+        }
+
+        @Override
+        void blendRow(int[] src, int srcPos, int[] dst, int dstPos, int[] out, int outPos, int width,
+                      float alpha, boolean transparentBackdrop) {
+            // our arrays are [R, G, B, A], reused per pixel so the loop stays allocation-free.
+            int[] srcPixel = new int[4];
+            int[] dstPixel = new int[4];
+            int[] result = new int[4];
+            for (int x = 0; x < width; x++) {
+                int s = src[srcPos + x];
+                srcPixel[0] = (s >> 16) & 0xFF;
+                srcPixel[1] = (s >> 8) & 0xFF;
+                srcPixel[2] = s & 0xFF;
+                srcPixel[3] = (s >> 24) & 0xFF;
+
+                int d = dst[dstPos + x];
+                dstPixel[0] = (d >> 16) & 0xFF;
+                dstPixel[1] = (d >> 8) & 0xFF;
+                dstPixel[2] = d & 0xFF;
+                dstPixel[3] = (d >> 24) & 0xFF;
+
+                blender.blend(srcPixel, dstPixel, result);
+
+                out[outPos + x] = mix(s, d, result[0], result[1], result[2], result[3], alpha, transparentBackdrop);
+            }
         }
     }
 
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+/**
+ * Chooses between the scalar {@link BlendRowKernel}s and Vector API kernels.  This is the Java 11 version, it
+ * always keeps the scalar kernels.  The multi-release jar carries a JDK 21 version of this class, from
+ * {@code src/main/java21}, that substitutes Vector API kernels when the {@code jdk.incubator.vector} module is
+ * available, for example when the JVM is started with {@code --add-modules jdk.incubator.vector}.
+ *
+ * @since 7.5
+ */
+final class BlendKernelSupport {
+
+    private BlendKernelSupport() {
+    }
+
+    /**
+     * Gets the kernel to use for a mode.
+     *
+     * @param mode   blending mode.
+     * @param scalar scalar kernel of the mode.
+     * @return kernel to use, {@code scalar} if the mode has no faster kernel.
+     */
+    static BlendRowKernel accelerate(BlendComposite.BlendingMode mode, BlendRowKernel scalar) {
+        return scalar;
+    }
+
+    /**
+     * Tests if Vector API kernels are in use.
+     */
+    static boolean isVectorized() {
+        return false;
+    }
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+/**
+ * Blends a row of packed ARGB pixels for one {@link BlendComposite.BlendingMode}.  The PDF blend modes each get
+ * their own kernel with the mode's math inlined in the loop, the pixels are read straight from the int arrays and
+ * are never unpacked into per pixel arrays.  The results are the same, bit for bit, as the per pixel
+ * {@code Blender} of {@link BlendComposite} followed by the opacity mix of its compositing context.
+ * <br>
+ * On JDK 21 and later the multi-release jar can substitute Vector API kernels, see {@link BlendKernelSupport}.
+ *
+ * @since 7.5
+ */
+abstract class BlendRowKernel {
+
+    /**
+     * Blends {@code width} pixels of {@code src} over {@code dst} into {@code out}.  {@code out} may be
+     * {@code dst} at the same position, each pixel is read before it's written.
+     *
+     * @param src                 source pixels.
+     * @param srcPos              index of the first source pixel.
+     * @param dst                 backdrop pixels.
+     * @param dstPos              index of the first backdrop pixel.
+     * @param out                 result pixels.
+     * @param outPos              index of the first result pixel.
+     * @param width               number of pixels.
+     * @param alpha               composite constant alpha.
+     * @param transparentBackdrop true when painting into a transparency group buffer, see
+     *                            {@link BlendComposite#setTransparentBackdrop(boolean)}.
+     */
+    abstract void blendRow(int[] src, int srcPos, int[] dst, int dstPos, int[] out, int outPos, int width,
+                           float alpha, boolean transparentBackdrop);
+
+    /**
+     * Gets the specialised kernel for a mode, null if the mode only has the generic blender.
+     */
+    static BlendRowKernel forMode(BlendComposite.BlendingMode mode) {
+        BlendRowKernel kernel = scalarKernel(mode);
+        return kernel != null ? BlendKernelSupport.accelerate(mode, kernel) : null;
+    }
+
+    static BlendRowKernel scalarKernel(BlendComposite.BlendingMode mode) {
+        switch (mode) {
+            case NORMAL:
+                return new Normal();
+            case MULTIPLY:
+                return new Multiply();
+            case SCREEN:
+                return new Screen();
+            case OVERLAY:
+                return new Overlay();
+            case DARKEN:
+                return new Darken();
+            case LIGHTEN:
+                return new Lighten();
+            case COLOR_DODGE:
+                return new ColorDodge();
+            case COLOR_BURN:
+                return new ColorBurn();
+            case HARD_LIGHT:
+                return new HardLight();
+            case SOFT_LIGHT:
+                return new SoftLight();
+            case DIFFERENCE:
+                return new Difference();
+            case EXCLUSION:
+                return new Exclusion();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Mixes a blend result with the backdrop by the composite's opacity.  Keep the float expressions as they are,
+     * the results must match the Vector API kernels, which use the same operations in the same order.
+     *
+     * @param s                   source pixel.
+     * @param d                   backdrop pixel.
+     * @param r                   blended red, not clamped.
+     * @param g                   blended green, not clamped.
+     * @param b                   blended blue, not clamped.
+     * @param a                   blended alpha.
+     * @param alpha               composite constant alpha.
+     * @param transparentBackdrop weight the blend by the backdrop alpha.
+     * @return packed ARGB result.
+     */
+    static int mix(int s, int d, int r, int g, int b, int a, float alpha, boolean transparentBackdrop) {
+        int da = (d >> 24) & 0xFF;
+        int dr = (d >> 16) & 0xFF;
+        int dg = (d >> 8) & 0xFF;
+        int db = d & 0xFF;
+        float colourWeight = alpha;
+        if (transparentBackdrop) {
+            // Inside an isolated group's buffer the backdrop alpha is genuine, so weight the blend by it per the
+            // PDF spec: Cs' = (1 - ab)*Cs + ab*B(Cb, Cs).  ab=0 (transparent backdrop) -> source colour (no
+            // black); ab=1 (opaque) -> full blend; partial ab -> interpolated (anti-aliased edges, overlap).
+            // The colour weight also folds in the per-pixel source coverage so a faint (low-alpha) blend pixel
+            // does not fully overwrite the backdrop, an Overlay/Multiply of a dark, low-alpha source otherwise
+            // crushed an opaque backdrop to black (pattern_and_CYMK shadows).  An opaque source yields
+            // colourWeight == alpha for any ab, so opaque-fill groups (978) are byte-identical.
+            int ia = 255 - da;
+            r = (((s >> 16) & 0xFF) * ia + r * da) / 255;
+            g = (((s >> 8) & 0xFF) * ia + g * da) / 255;
+            b = ((s & 0xFF) * ia + b * da) / 255;
+            colourWeight = alpha * (ia + da * ((s >> 24) & 0xFF) / 255f) / 255f;
+        }
+        return ((int) (da + (a - da) * alpha) & 0xFF) << 24 |
+                ((int) (dr + (r - dr) * colourWeight) & 0xFF) << 16 |
+                ((int) (dg + (g - dg) * colourWeight) & 0xFF) << 8 |
+                (int) (db + (b - db) * colourWeight) & 0xFF;
+    }
+
+    // the source, or the backdrop where the source is fully transparent.
+    static final class Normal extends BlendRowKernel {
+        @Override
+        void blendRow(int[] src, int srcPos, int[] dst, int dstPos, int[] out, int outPos, int width,
+                      float alpha, boolean transparentBackdrop) {
+            for (int i = 0; i < width; i++) {
+                int s = src[srcPos + i];
+                int d = dst[dstPos + i];
+                int p = (s >>> 24) == 0 ? d : s;
+                out[outPos + i] = mix(s, d, (p >> 16) & 0xFF, (p >> 8) & 0xFF, p & 0xFF, p >>> 24,
+                        alpha, transparentBackdrop);
+            }
+        }
+    }
+
+    static final class Multiply extends BlendRowKernel {
+        @Override
+        void blendRow(int[] src, int srcPos, int[] dst, int dstPos, int[] out, int outPos, int width,
+                      float alpha, boolean transparentBackdrop) {
+            for (int i = 0; i < width; i++) {
+                int s = src[srcPos + i];
+                int d = dst[dstPos + i];
+                if ((s >>> 24) == 0) {
+                    out[outPos + i] = mix(s, d, (d >> 16) & 0xFF, (d >> 8) & 0xFF, d & 0xFF, d >>> 24,
+                            alpha, transparentBackdrop);
+                } else {
+                    out[outPos + i] = mix(s, d,
+                            ((s >> 16) & 0xFF) * ((d >> 16) & 0xFF) >> 8,
+                            ((s >> 8) & 0xFF) * ((d >> 8) & 0xFF) >> 8,
+                            (s & 0xFF) * (d & 0xFF) >> 8,
+                            Math.min(255, (s >>> 24) + (d >>> 24)), alpha, transparentBackdrop);
+                }
+            }
+        }
+    }
+
+    static final class Screen extends BlendRowKernel {
+        @Override
+        void blendRow(int[] src, int srcPos, int[] dst, int dstPos, int[] out, int outPos, int width,
+                      float alpha, boolean transparentBackdrop) {
+            for (int i = 0; i < width; i++) {
+                int s = src[srcPos + i];
+                int d = dst[dstPos + i];
+                int dr = (d >> 16) & 0xFF;
+                int dg = (d >> 8) & 0xFF;
+                int db = d & 0xFF;
+                if ((s & 0xFFFFFF) == 0) {
+                    // screening with black leaves the backdrop unchanged.
+                    out[outPos + i] = mix(s, d, dr, dg, db, d >>> 24, alpha, transparentBackdrop);
+                } else if (dr != 255 && dg != 255 && db != 255) {
+                    out[outPos + i] = mix(s, d,
+                            255 - ((255 - ((s >> 16) & 0xFF)) * (255 - dr) >> 8),
+                            255 - ((255 - ((s >> 8) & 0xFF)) * (255 - dg) >> 8),
+                            255 - ((255 - (s & 0xFF)) * (255 - db) >> 8),
+                            Math.min(255, (s >>> 24) + (d >>> 24)), alpha, transparentBackdrop);
+                } else {
+                    out[outPos + i] = mix(s, d, (s >> 16) & 0xFF, (s >> 8) & 0xFF, s & 0xFF, s >>> 24,
+                            alpha, transparentBackdrop);
+                }
+            }
+        }
+    }
+
+    static final class Overlay extends BlendRowKernel {
+        @Override
+        void blendRow(int[] src, int srcPos, int[] dst, int dstPos, int[] out, int outPos, int width,
+                      float alpha, boolean transparentBackdrop) {
+            for (int i = 0; i < width; i++) {
+                int s = src[srcPos + i];
+                int d = dst[dstPos + i];
+                if ((s >>> 24) == 0) {
+                    out[outPos + i] = mix(s, d, (d >> 16) & 0xFF, (d >> 8) & 0xFF, d & 0xFF, d >>> 24,
+                            alpha, transparentBackdrop);
+                } else {
+                    out[outPos + i] = mix(s, d,
+                            overlay((d >> 16) & 0xFF, (s >> 16) & 0xFF),
+                            overlay((d >> 8) & 0xFF, (s >> 8) & 0xFF),
+                            overlay(d & 0xFF, s & 0xFF),
+                            Math.min(255, (s >>> 24) + (d >>> 24)), alpha, transparentBackdrop);
+                }
+            }
+        }
+    }
+
+    // hard light is overlay with the source and backdrop swapped.
+    static final class HardLight extends BlendRowKernel {
+        @Override
+        void blendRow(int[] src, int srcPos, int[] dst, int dstPos, int[] out, int outPos, int width,
+                      float alpha, boolean transparentBackdrop) {
+            for (int i = 0; i < width; i++) {
+                int s = src[srcPos + i];
+                int d = dst[dstPos + i];
+                if ((s >>> 24) == 0) {
+                    out[outPos + i] = mix(s, d, (d >> 16) & 0xFF, (d >> 8) & 0xFF, d & 0xFF, d >>> 24,
+                            alpha, transparentBackdrop);
+                } else {
+                    out[outPos + i] = mix(s, d,
+                            overlay((s >> 16) & 0xFF, (d >> 16) & 0xFF),
+                            overlay((s >> 8) & 0xFF, (d >> 8) & 0xFF),
+                            overlay(s & 0xFF, d & 0xFF),
+                            Math.min(255, (s >>> 24) + (d >>> 24)), alpha, transparentBackdrop);
+                }
+            }
+        }
+    }
+
+    private static int overlay(int base, int blend) {
+        return base < 128 ? base * blend >> 7 : 255 - ((255 - base) * (255 - blend) >> 7);
+    }
+
+    static final class Darken extends BlendRowKernel {
+        @Override
+        void blendRow(int[] src, int srcPos, int[] dst, int dstPos, int[] out, int outPos, int width,
+                      float alpha, boolean transparentBackdrop) {
+            for (int i = 0; i < width; i++) {
+                int s = src[srcPos + i];
+                int d = dst[dstPos + i];
+                out[outPos + i] = mix(s, d,
+                        Math.min((s >> 16) & 0xFF, (d >> 16) & 0xFF),
+                        Math.min((s >> 8) & 0xFF, (d >> 8) & 0xFF),
+                        Math.min(s & 0xFF, d & 0xFF),
+                        Math.min(255, (s >>> 24) + (d >>> 24)), alpha, transparentBackdrop);
+            }
+        }
+    }
+
+    static final class Lighten extends BlendRowKernel {
+        @Override
+        void blendRow(int[] src, int srcPos, int[] dst, int dstPos, int[] out, int outPos, int width,
+                      float alpha, boolean transparentBackdrop) {
+            for (int i = 0; i < width; i++) {
+                int s = src[srcPos + i];
+                int d = dst[dstPos + i];
+                out[outPos + i] = mix(s, d,
+                        Math.max((s >> 16) & 0xFF, (d >> 16) & 0xFF),
+                        Math.max((s >> 8) & 0xFF, (d >> 8) & 0xFF),
+                        Math.max(s & 0xFF, d & 0xFF),
+                        Math.min(255, (s >>> 24) + (d >>> 24)), alpha, transparentBackdrop);
+            }
+        }
+    }
+
+    static final class ColorDodge extends BlendRowKernel {
+        @Override
+        void blendRow(int[] src, int srcPos, int[] dst, int dstPos, int[] out, int outPos, int width,
+                      float alpha, boolean transparentBackdrop) {
+            for (int i = 0; i < width; i++) {
+                int s = src[srcPos + i];
+                int d = dst[dstPos + i];
+                out[outPos + i] = mix(s, d,
+                        colorDodge((s >> 16) & 0xFF, (d >> 16) & 0xFF),
+                        colorDodge((s >> 8) & 0xFF, (d >> 8) & 0xFF),
+                        colorDodge(s & 0xFF, d & 0xFF),
+                        Math.min(255, (s >>> 24) + (d >>> 24)), alpha, transparentBackdrop);
+            }
+        }
+
+        private static int colorDodge(int s, int d) {
+            return s == 255 ? 255 : Math.min((d << 8) / (255 - s), 255);
+        }
+    }
+
+    static final class ColorBurn extends BlendRowKernel {
+        @Override
+        void blendRow(int[] src, int srcPos, int[] dst, int dstPos, int[] out, int outPos, int width,
+                      float alpha, boolean transparentBackdrop) {
+            for (int i = 0; i < width; i++) {
+                int s = src[srcPos + i];
+                int d = dst[dstPos + i];
+                out[outPos + i] = mix(s, d,
+                        colorBurn((s >> 16) & 0xFF, (d >> 16) & 0xFF),
+                        colorBurn((s >> 8) & 0xFF, (d >> 8) & 0xFF),
+                        colorBurn(s & 0xFF, d & 0xFF),
+                        Math.min(255, (s >>> 24) + (d >>> 24)), alpha, transparentBackdrop);
+            }
+        }
+
+        private static int colorBurn(int s, int d) {
+            return s == 0 ? 0 : Math.max(0, 255 - (((255 - d) << 8) / s));
+        }
+    }
+
+    static final class SoftLight extends BlendRowKernel {
+        @Override
+        void blendRow(int[] src, int srcPos, int[] dst, int dstPos, int[] out, int outPos, int width,
+                      float alpha, boolean transparentBackdrop) {
+            for (int i = 0; i < width; i++) {
+                int s = src[srcPos + i];
+                int d = dst[dstPos + i];
+                int sr = (s >> 16) & 0xFF, sg = (s >> 8) & 0xFF, sb = s & 0xFF, sa = s >>> 24;
+                int dr = (d >> 16) & 0xFF, dg = (d >> 8) & 0xFF, db = d & 0xFF, da = d >>> 24;
+                int mRed = sr * dr / 255;
+                int mGreen = sg * dg / 255;
+                int mBlue = sb * db / 255;
+                // the blue channel's missing "/ 255" is kept as is, the kernel must match the blender.
+                out[outPos + i] = mix(s, d,
+                        mRed + sr * (255 - ((255 - sr) * (255 - dr) / 255) - mRed) / 255,
+                        mGreen + sg * (255 - ((255 - sg) * (255 - dg) / 255) - mGreen) / 255,
+                        mBlue + sb * (255 - ((255 - sb) * (255 - db) / 255) - mBlue),
+                        Math.min(255, sa + da - (sa * da) / 255), alpha, transparentBackdrop);
+            }
+        }
+    }
+
+    static final class Difference extends BlendRowKernel {
+        @Override
+        void blendRow(int[] src, int srcPos, int[] dst, int dstPos, int[] out, int outPos, int width,
+                      float alpha, boolean transparentBackdrop) {
+            for (int i = 0; i < width; i++) {
+                int s = src[srcPos + i];
+                int d = dst[dstPos + i];
+                out[outPos + i] = mix(s, d,
+                        Math.abs(((d >> 16) & 0xFF) - ((s >> 16) & 0xFF)),
+                        Math.abs(((d >> 8) & 0xFF) - ((s >> 8) & 0xFF)),
+                        Math.abs((d & 0xFF) - (s & 0xFF)),
+                        Math.min(255, (s >>> 24) + (d >>> 24)), alpha, transparentBackdrop);
+            }
+        }
+    }
+
+    static final class Exclusion extends BlendRowKernel {
+        @Override
+        void blendRow(int[] src, int srcPos, int[] dst, int dstPos, int[] out, int outPos, int width,
+                      float alpha, boolean transparentBackdrop) {
+            for (int i = 0; i < width; i++) {
+                int s = src[srcPos + i];
+                int d = dst[dstPos + i];
+                int sr = (s >> 16) & 0xFF, sg = (s >> 8) & 0xFF, sb = s & 0xFF;
+                int dr = (d >> 16) & 0xFF, dg = (d >> 8) & 0xFF, db = d & 0xFF;
+                out[outPos + i] = mix(s, d,
+                        dr + sr - (dr * sr >> 7),
+                        dg + sg - (dg * sg >> 7),
+                        db + sb - (db * sb >> 7),
+                        Math.min(255, (s >>> 24) + (d >>> 24)), alpha, transparentBackdrop);
+            }
+        }
+    }
+}
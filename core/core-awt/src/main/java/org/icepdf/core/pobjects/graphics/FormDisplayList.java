@@ -0,0 +1,290 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.pobjects.Page;
+import org.icepdf.core.pobjects.graphics.commands.*;
+import org.icepdf.core.util.Defs;
+import org.icepdf.core.util.GraphicsRenderingHints;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The parsed display list of a Form XObject, shared by every page and thread that draws the form.  Templates
+ * repeated on many pages, letterheads, page frames, stamps and watermarks, are parsed once per document rather
+ * than once per page, see {@link FormDisplayListCache}.
+ * <br>
+ * Instances are immutable once published: the shapes, matrix and bbox are never changed after construction and
+ * painting is call-local (see {@link Shapes#paint(Graphics2D, Page)}), so the display list can be painted by
+ * concurrent page renders.
+ * <br>
+ * When {@code org.icepdf.core.forms.rasterCache} is enabled, a form that is drawn repeatedly at the same device
+ * transform is rasterised once and blitted on later paints.  Only forms whose result can't depend on what is
+ * under them are rasterised: no isolated or knockout group, no blending, alpha, soft mask, optional content or
+ * nested form commands, and only when painted with an opaque source over composite.  Rasters are kept for the
+ * last few transforms, held via {@link SoftReference}, and limited to
+ * {@code org.icepdf.core.forms.rasterCache.maxPixels} pixels each.
+ *
+ * @since 7.5
+ */
+public class FormDisplayList {
+
+    private static final boolean rasterCacheEnabled =
+            Defs.booleanProperty("org.icepdf.core.forms.rasterCache", false);
+    private static final long maxRasterPixels =
+            Defs.intProperty("org.icepdf.core.forms.rasterCache.maxPixels", 1024 * 1024);
+
+    // number of device transforms a raster is kept for, a form is rarely shown at more than the screen and
+    // a thumbnail or print resolution at once.
+    private static final int MAX_RASTERS = 3;
+    // a transform must be painted this many times before it is rasterised, one off paints aren't worth it.
+    private static final int RASTER_USE_THRESHOLD = 2;
+    // transform components are matched to 1/1024 and the sub pixel translation to a quarter pixel.
+    private static final double SCALE_QUANTUM = 1024;
+    private static final double TRANSLATE_QUANTUM = 4;
+
+    private final Shapes shapes;
+    private final AffineTransform matrix;
+    private final Rectangle2D bbox;
+    private final boolean rasterizable;
+
+    // device transform -> raster, or a use count until the threshold is reached.  Guarded by itself.
+    private final Map<RasterKey, Object> rasters = new LinkedHashMap<RasterKey, Object>(8, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<RasterKey, Object> eldest) {
+            return size() > MAX_RASTERS;
+        }
+    };
+
+    /**
+     * Creates a new display list.
+     *
+     * @param shapes      parsed shapes of the form's content stream.
+     * @param matrix      form matrix.
+     * @param bbox        form bounding box.
+     * @param isolated    form is an isolated transparency group.
+     * @param knockOut    form is a knockout transparency group.
+     */
+    public FormDisplayList(Shapes shapes, AffineTransform matrix, Rectangle2D bbox,
+                           boolean isolated, boolean knockOut) {
+        this.shapes = shapes;
+        this.matrix = matrix != null ? new AffineTransform(matrix) : new AffineTransform();
+        this.bbox = bbox != null ? (Rectangle2D) bbox.clone() : null;
+        this.rasterizable = rasterCacheEnabled && !isolated && !knockOut &&
+                this.bbox != null && !this.bbox.isEmpty() && isContextFree(shapes);
+    }
+
+    public Shapes getShapes() {
+        return shapes;
+    }
+
+    /**
+     * Gets a copy of the form matrix.
+     *
+     * @return form matrix.
+     */
+    public AffineTransform getMatrix() {
+        return new AffineTransform(matrix);
+    }
+
+    /**
+     * Gets a copy of the form bounding box.
+     *
+     * @return form bbox, can be null.
+     */
+    public Rectangle2D getBBox() {
+        return bbox != null ? (Rectangle2D) bbox.clone() : null;
+    }
+
+    public boolean isRasterizable() {
+        return rasterizable;
+    }
+
+    /**
+     * Paints the form from a cached raster when possible.  The graphics context must be set up as it would be
+     * for painting the shapes directly, form matrix applied and clipped to the bbox.
+     *
+     * @param g          graphics context to paint to.
+     * @param parentPage parent page for this paint.
+     * @return true if the form was painted from a raster, false if the caller must paint the shapes.
+     * @throws InterruptedException thread interrupted.
+     */
+    public boolean paintRaster(Graphics2D g, Page parentPage) throws InterruptedException {
+        if (!rasterizable || GraphicsRenderingHints.isReducedContent(g)) {
+            return false;
+        }
+        Composite composite = g.getComposite();
+        if (!(composite instanceof AlphaComposite) ||
+                ((AlphaComposite) composite).getRule() != AlphaComposite.SRC_OVER ||
+                ((AlphaComposite) composite).getAlpha() < 1f) {
+            return false;
+        }
+        AffineTransform deviceTransform = g.getTransform();
+        RasterKey key = new RasterKey(deviceTransform, g.getColor());
+        Raster raster;
+        synchronized (rasters) {
+            Object entry = rasters.get(key);
+            if (entry instanceof Raster) {
+                raster = (Raster) entry;
+                if (raster.image.get() == null) {
+                    rasters.remove(key);
+                    return false;
+                }
+            } else {
+                int uses = entry instanceof Integer ? (Integer) entry + 1 : 1;
+                if (uses < RASTER_USE_THRESHOLD) {
+                    rasters.put(key, uses);
+                    return false;
+                }
+                raster = null;
+            }
+        }
+        if (raster == null) {
+            raster = createRaster(g, parentPage, deviceTransform);
+            synchronized (rasters) {
+                if (raster != null) {
+                    rasters.put(key, raster);
+                } else {
+                    // too large, never try again for this transform.
+                    rasters.put(key, Integer.MIN_VALUE);
+                }
+            }
+            if (raster == null) {
+                return false;
+            }
+        }
+        BufferedImage image = raster.image.get();
+        if (image == null) {
+            return false;
+        }
+        // blit in device space, the clip is already in device space.
+        g.setTransform(new AffineTransform());
+        g.drawImage(image,
+                (int) Math.floor(deviceTransform.getTranslateX()) + raster.offsetX,
+                (int) Math.floor(deviceTransform.getTranslateY()) + raster.offsetY, null);
+        g.setTransform(deviceTransform);
+        return true;
+    }
+
+    private Raster createRaster(Graphics2D g, Page parentPage, AffineTransform deviceTransform)
+            throws InterruptedException {
+        Rectangle bounds = deviceTransform.createTransformedShape(bbox).getBounds();
+        if (bounds.isEmpty() || (long) bounds.width * bounds.height > maxRasterPixels) {
+            return null;
+        }
+        BufferedImage image = new BufferedImage(bounds.width, bounds.height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        try {
+            g2.setRenderingHints(g.getRenderingHints());
+            g2.translate(-bounds.x, -bounds.y);
+            g2.transform(deviceTransform);
+            g2.setClip(bbox);
+            g2.setColor(g.getColor());
+            g2.setPaint(g.getPaint());
+            g2.setStroke(g.getStroke());
+            shapes.paint(g2, parentPage);
+        } finally {
+            g2.dispose();
+        }
+        return new Raster(image,
+                bounds.x - (int) Math.floor(deviceTransform.getTranslateX()),
+                bounds.y - (int) Math.floor(deviceTransform.getTranslateY()));
+    }
+
+    /**
+     * A form can be rasterised on its own only if none of its commands read or change state the raster
+     * can't capture: the backdrop, the composite or the optional content state.
+     */
+    private static boolean isContextFree(Shapes shapes) {
+        if (shapes == null) {
+            return false;
+        }
+        // iterate without unpacking, a packed form should stay packed.
+        for (DrawCmd drawCmd : shapes.commands()) {
+            if (drawCmd instanceof FormDrawCmd ||
+                    drawCmd instanceof ShapesDrawCmd ||
+                    drawCmd instanceof BlendCompositeDrawCmd ||
+                    drawCmd instanceof AlphaDrawCmd ||
+                    drawCmd instanceof ShadingSoftMaskDrawCmd ||
+                    drawCmd instanceof GroupDrawCmd ||
+                    drawCmd instanceof OCGStartDrawCmd ||
+                    drawCmd instanceof OCGEndDrawCmd) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Raster {
+        final SoftReference<BufferedImage> image;
+        // raster origin relative to the integer part of the device translation.
+        final int offsetX, offsetY;
+
+        Raster(BufferedImage image, int offsetX, int offsetY) {
+            this.image = new SoftReference<>(image);
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+        }
+    }
+
+    /**
+     * Device transform quantised so that rasters are reused across pages that place the form at the same
+     * scale but a different position.  Only the sub pixel part of the translation is part of the key.
+     */
+    private static final class RasterKey {
+        private final long m00, m10, m01, m11, fractionX, fractionY;
+        private final int color;
+
+        RasterKey(AffineTransform af, Color color) {
+            m00 = Math.round(af.getScaleX() * SCALE_QUANTUM);
+            m10 = Math.round(af.getShearY() * SCALE_QUANTUM);
+            m01 = Math.round(af.getShearX() * SCALE_QUANTUM);
+            m11 = Math.round(af.getScaleY() * SCALE_QUANTUM);
+            double tx = af.getTranslateX();
+            double ty = af.getTranslateY();
+            fractionX = Math.round((tx - Math.floor(tx)) * TRANSLATE_QUANTUM);
+            fractionY = Math.round((ty - Math.floor(ty)) * TRANSLATE_QUANTUM);
+            this.color = color != null ? color.getRGB() : 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RasterKey)) return false;
+            RasterKey that = (RasterKey) o;
+            return m00 == that.m00 && m10 == that.m10 && m01 == that.m01 && m11 == that.m11 &&
+                    fractionX == that.fractionX && fractionY == that.fractionY && color == that.color;
+        }
+
+        @Override
+        public int hashCode() {
+            long h = m00;
+            h = 31 * h + m10;
+            h = 31 * h + m01;
+            h = 31 * h + m11;
+            h = 31 * h + fractionX;
+            h = 31 * h + fractionY;
+            h = 31 * h + color;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
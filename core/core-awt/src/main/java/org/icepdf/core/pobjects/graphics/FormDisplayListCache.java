@@ -0,0 +1,334 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.pobjects.Name;
+import org.icepdf.core.pobjects.Reference;
+import org.icepdf.core.pobjects.Resources;
+import org.icepdf.core.util.Defs;
+import org.icepdf.core.util.memory.DocumentMemory;
+import org.icepdf.core.util.memory.MemoryConsumer;
+import org.icepdf.core.util.memory.RebuildCost;
+
+import java.awt.*;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Per document cache of parsed Form XObject display lists.  The {@link org.icepdf.core.pobjects.Form} object is
+ * only weakly held by the {@link org.icepdf.core.util.Library} object store, so a template drawn on every page was
+ * previously collected and re-parsed for each page that referenced it.  The cache holds the parsed
+ * {@link FormDisplayList} via a {@link SoftReference} so it survives normal garbage collection and is reclaimed
+ * only under memory pressure, the same policy as the ImagePool.
+ * <br>
+ * A display list depends on more than the form's reference, so the key is made of:
+ * <ul>
+ * <li>the form's object reference,</li>
+ * <li>a checksum of the form's decoded content, so an edited appearance stream never hits a stale entry,</li>
+ * <li>the inherited resources, by identity, when the form has no {@code /Resources} of its own,</li>
+ * <li>the inherited graphics state the content parser starts from: fill and stroke colour, colour space and
+ * pattern, alpha, line width, cap, join, miter limit and dash pattern, the blend mode, alpha rule and overprint
+ * mode and flags, and the text state's font, size, character and word spacing, horizontal scaling, leading, render
+ * mode and rise.</li>
+ * </ul>
+ * A form drawn under a soft mask is never shared, see {@link #isShareable(GraphicsState)}.
+ * Sharing can be turned off with {@code org.icepdf.core.forms.shareDisplayList=false}.
+ * <br>
+ * The memory of a display list is estimated from its number of draw commands, the memory governor evicts display
+ * lists when the document or the JVM is over its memory budget.
+ *
+ * @since 7.5
+ */
+public class FormDisplayListCache implements MemoryConsumer {
+
+    private static final boolean enabled =
+            Defs.booleanProperty("org.icepdf.core.forms.shareDisplayList", true);
+
+    // estimated bytes per draw command, including the shape or text it draws.
+    private static final int COMMAND_SIZE = 128;
+
+    private final Map<Key, CachedDisplayList> cache = new ConcurrentHashMap<>(32);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final DocumentMemory memory;
+
+    public FormDisplayListCache() {
+        this(null);
+    }
+
+    /**
+     * Creates a cache that reports the memory of its display lists.
+     *
+     * @param memory memory account of the document, can be null.
+     */
+    public FormDisplayListCache(DocumentMemory memory) {
+        this.memory = memory;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Checks if a form parsed with the given graphics state may be shared.  The soft mask is built per
+     * {@code gs} operator and fixed at the CTM it was installed under, neither of which the key can capture, so a
+     * form drawn under one is always parsed again.
+     *
+     * @param graphicsState graphics state the form is parsed with, can be null.
+     * @return true if the parsed display list can be cached.
+     */
+    public static boolean isShareable(GraphicsState graphicsState) {
+        ExtGState extGState = graphicsState != null ? graphicsState.getExtGState() : null;
+        return extGState == null || extGState.getSMask() == null;
+    }
+
+    /**
+     * Builds a cache key for a form about to be parsed.
+     *
+     * @param formReference      form object reference, must not be null.
+     * @param content            decoded form content stream.
+     * @param inheritedResources parent resources if the form has no resources of its own, otherwise null.
+     * @param graphicsState      graphics state the form is parsed with, can be null.
+     * @return cache key.
+     */
+    public static Key createKey(Reference formReference, byte[] content, Resources inheritedResources,
+                                GraphicsState graphicsState) {
+        return new Key(formReference, content, inheritedResources, graphicsState);
+    }
+
+    public FormDisplayList get(Key key) {
+        CachedDisplayList ref = cache.get(key);
+        FormDisplayList displayList = ref != null ? ref.get() : null;
+        if (displayList != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            if (ref != null) {
+                cache.remove(key, ref);
+            }
+        }
+        return displayList;
+    }
+
+    public void put(Key key, FormDisplayList displayList) {
+        Shapes shapes = displayList.getShapes();
+        long size = shapes != null ? (long) shapes.getShapesCount() * COMMAND_SIZE : 0;
+        cache.put(key, new CachedDisplayList(displayList, size));
+        if (memory != null) {
+            memory.allocated(size);
+        }
+    }
+
+    /**
+     * Removes every display list parsed for the given form, to be called when the form is edited.
+     *
+     * @param formReference form object reference.
+     */
+    public void invalidate(Reference formReference) {
+        cache.keySet().removeIf(key -> key.formReference.equals(formReference));
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public String getName() {
+        return "Form display lists";
+    }
+
+    @Override
+    public RebuildCost getRebuildCost() {
+        return RebuildCost.PARSE;
+    }
+
+    @Override
+    public long getSizeInBytes() {
+        long size = 0;
+        Iterator<Map.Entry<Key, CachedDisplayList>> iterator = cache.entrySet().iterator();
+        while (iterator.hasNext()) {
+            CachedDisplayList cached = iterator.next().getValue();
+            if (cached.get() == null) {
+                iterator.remove();
+            } else {
+                size += cached.size;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public long evict(long bytes) {
+        long freed = 0;
+        Iterator<CachedDisplayList> iterator = cache.values().iterator();
+        while (freed < bytes && iterator.hasNext()) {
+            freed += iterator.next().size;
+            iterator.remove();
+        }
+        return freed;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private static final class CachedDisplayList extends SoftReference<FormDisplayList> {
+        private final long size;
+
+        CachedDisplayList(FormDisplayList displayList, long size) {
+            super(displayList);
+            this.size = size;
+        }
+    }
+
+    /**
+     * Identity of a parsed form display list, see the class comment.
+     */
+    public static final class Key {
+        private final Reference formReference;
+        private final long contentChecksum;
+        private final int contentLength;
+        // held weakly so the key doesn't keep a page's resources alive, a collected referent never matches.
+        private final WeakReference<Resources> inheritedResources;
+        // device colour spaces by class, others by identity.
+        private final WeakReference<Object> fillColorSpace, strokeColorSpace;
+        private final WeakReference<Pattern> fillPattern, strokePattern;
+        // colours, line cap and join, text render mode, alpha rule and overprint mode and flags.
+        private final int[] intState;
+        // alphas, line width, miter limit, dash phase and the text state numbers.
+        private final float[] floatState;
+        private final float[] dashArray;
+        private final Name fontName;
+        private final Name blendMode;
+        private final int hash;
+
+        private Key(Reference formReference, byte[] content, Resources inheritedResources,
+                    GraphicsState graphicsState) {
+            this.formReference = formReference;
+            CRC32 crc = new CRC32();
+            if (content != null) {
+                crc.update(content);
+            }
+            this.contentChecksum = crc.getValue();
+            this.contentLength = content != null ? content.length : -1;
+            this.inheritedResources = inheritedResources != null ? new WeakReference<>(inheritedResources) : null;
+            if (graphicsState != null) {
+                PColorSpace fill = graphicsState.getFillColorSpace();
+                PColorSpace stroke = graphicsState.getStrokeColorSpace();
+                fillColorSpace = weak(colorSpaceIdentity(fill));
+                strokeColorSpace = weak(colorSpaceIdentity(stroke));
+                fillPattern = weak(fill instanceof PatternColor ? ((PatternColor) fill).getPattern() : null);
+                strokePattern = weak(stroke instanceof PatternColor ? ((PatternColor) stroke).getPattern() : null);
+                TextState textState = graphicsState.getTextState();
+                intState = new int[]{
+                        rgb(graphicsState.getFillColor()), rgb(graphicsState.getStrokeColor()),
+                        graphicsState.getLineCap(), graphicsState.getLineJoin(),
+                        textState != null ? textState.rmode : 0, graphicsState.getAlphaRule(),
+                        graphicsState.getOverprintMode(), graphicsState.isOverprintStroking() ? 1 : 0,
+                        graphicsState.isOverprintOther() ? 1 : 0};
+                floatState = new float[]{
+                        graphicsState.getFillAlpha(), graphicsState.getStrokeAlpha(),
+                        graphicsState.getLineWidth(), graphicsState.getMiterLimit(), graphicsState.getDashPhase(),
+                        textState != null ? textState.tsize : 0, textState != null ? textState.cspace : 0,
+                        textState != null ? textState.wspace : 0, textState != null ? textState.hScalling : 0,
+                        textState != null ? textState.leading : 0, textState != null ? textState.trise : 0};
+                float[] dash = graphicsState.getDashArray();
+                dashArray = dash != null ? dash.clone() : null;
+                fontName = textState != null ? textState.fontName : null;
+                ExtGState extGState = graphicsState.getExtGState();
+                blendMode = extGState != null ? extGState.getBlendingMode() : null;
+            } else {
+                fillColorSpace = strokeColorSpace = null;
+                fillPattern = strokePattern = null;
+                intState = new int[0];
+                floatState = new float[0];
+                dashArray = null;
+                fontName = null;
+                blendMode = null;
+            }
+            this.hash = Objects.hash(formReference, contentChecksum, contentLength,
+                    identityHash(this.inheritedResources), identityHash(fillColorSpace), identityHash(strokeColorSpace),
+                    identityHash(fillPattern), identityHash(strokePattern), Arrays.hashCode(intState),
+                    Arrays.hashCode(floatState), Arrays.hashCode(dashArray), fontName, blendMode);
+        }
+
+        private static int rgb(Color color) {
+            return color != null ? color.getRGB() : 0;
+        }
+
+        // each graphics state starts with its own DeviceGray instances, device colour spaces have no parameters.
+        private static Object colorSpaceIdentity(PColorSpace colorSpace) {
+            if (colorSpace instanceof DeviceGray || colorSpace instanceof DeviceRGB ||
+                    colorSpace instanceof DeviceCMYK) {
+                return colorSpace.getClass();
+            }
+            return colorSpace;
+        }
+
+        private static <T> WeakReference<T> weak(T referent) {
+            return referent != null ? new WeakReference<>(referent) : null;
+        }
+
+        private static int identityHash(WeakReference<?> reference) {
+            return reference != null ? System.identityHashCode(reference.get()) : 0;
+        }
+
+        // the same referent, a collected referent never matches.
+        private static boolean sameReferent(WeakReference<?> a, WeakReference<?> b) {
+            if (a == null || b == null) return a == b;
+            Object referent = a.get();
+            return referent != null && referent == b.get();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            if (hash != that.hash) return false;
+            return contentChecksum == that.contentChecksum &&
+                    contentLength == that.contentLength &&
+                    Arrays.equals(intState, that.intState) &&
+                    Arrays.equals(floatState, that.floatState) &&
+                    Arrays.equals(dashArray, that.dashArray) &&
+                    formReference.equals(that.formReference) &&
+                    Objects.equals(fontName, that.fontName) &&
+                    Objects.equals(blendMode, that.blendMode) &&
+                    sameReferent(inheritedResources, that.inheritedResources) &&
+                    sameReferent(fillColorSpace, that.fillColorSpace) &&
+                    sameReferent(strokeColorSpace, that.strokeColorSpace) &&
+                    sameReferent(fillPattern, that.fillPattern) &&
+                    sameReferent(strokePattern, that.strokePattern);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package org.icepdf.core.pobjects.graphics;
 import org.icepdf.core.pobjects.Name;
 import org.icepdf.core.pobjects.Stream;
 import org.icepdf.core.util.Library;
+import org.icepdf.core.util.memory.DocumentMemory;
 import org.icepdf.core.util.Utils;
 
 import java.awt.*;
@@ -59,6 +60,11 @@ public class ICCBased extends PColorSpace {
         super(l, h.getEntries());
         iccColorCache3B = new ConcurrentHashMap<>();
         iccColorCache4B = new ConcurrentHashMap<>();
+        if (l != null) {
+            DocumentMemory memory = l.getDocumentMemory();
+            memory.registerCache(iccColorCache3B, Separation.COLOR_ENTRY_SIZE);
+            memory.registerCache(iccColorCache4B, Separation.COLOR_ENTRY_SIZE);
+        }
         numcomp = h.getInt(N_KEY);
         switch (numcomp) {
             case 1:
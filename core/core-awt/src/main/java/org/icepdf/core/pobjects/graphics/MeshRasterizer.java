@@ -0,0 +1,461 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.util.Defs;
+
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Scan converts a Gouraud triangle mesh into an ARGB buffer covering a device
+ * rectangle, the engine behind {@link MeshShadingPaint}.
+ * <p>
+ * The mesh is first brought to device space: triangles are transformed, and
+ * Coons/tensor patches are tessellated there with a subdivision count chosen
+ * per patch from its device size and colour twist (see
+ * {@link #subdivisions(double[], int[])}), so a thumbnail doesn't pay for a
+ * print resolution tessellation and a zoomed in patch stays smooth.
+ * <p>
+ * The buffer is split into {@link #TILE_SIZE} square tiles and every triangle
+ * is bucketed into the tiles its bounds overlap, so each tile only visits the
+ * triangles that can touch it.  Triangles are rasterised with fixed point
+ * (28.4) edge functions stepped incrementally along the scanline and the
+ * top-left fill rule, so pixels on an edge shared by two triangles are
+ * painted exactly once with no gaps, and colours are interpolated
+ * barycentrically from the same edge values.  Later triangles paint over
+ * earlier ones, as the mesh order requires.
+ * <p>
+ * Rows of tiles (bands) write disjoint pixels and are rasterised in parallel
+ * once the mesh is large enough to be worth it; set
+ * {@code org.icepdf.core.shading.mesh.parallel=false} to rasterise on the
+ * calling thread only.
+ *
+ * @since 7.5
+ */
+final class MeshRasterizer {
+
+    private static final boolean parallel =
+            Defs.booleanProperty("org.icepdf.core.shading.mesh.parallel", true);
+
+    static final int TILE_SIZE = 64;
+    // meshes with fewer triangles than this are rasterised on the calling thread.
+    private static final int PARALLEL_THRESHOLD = 2048;
+
+    // 28.4 fixed point vertex coordinates.
+    private static final int SUB_PIXEL_BITS = 4;
+    private static final int ONE = 1 << SUB_PIXEL_BITS;
+    private static final int HALF = ONE >> 1;
+    // vertices are clamped to this many device pixels so edge function
+    // products stay well inside a long.
+    private static final double MAX_COORD = 1 << 22;
+
+    // patch tessellation: maximum deviation of the triangles from the true
+    // surface in device pixels, and the subdivision cap per patch edge.
+    private static final double FLATNESS = 0.25;
+    static final int MAX_SUBDIVISIONS = 64;
+
+    final int[] buffer;
+    // true where a triangle painted the pixel, so an untouched cell can be told
+    // apart from a triangle colour that is itself 0.
+    final boolean[] covered;
+    final int originX, originY, width, height;
+
+    // device space triangles: six coordinates and three colours each.
+    private float[] coords = new float[6 * 64];
+    private int[] colors = new int[3 * 64];
+    private int count;
+
+    MeshRasterizer(List<MeshShadingPaint.Triangle> triangles, List<MeshShadingPaint.Patch> patches,
+                   AffineTransform full, Rectangle deviceBounds) {
+        originX = deviceBounds.x;
+        originY = deviceBounds.y;
+        width = Math.max(1, deviceBounds.width);
+        height = Math.max(1, deviceBounds.height);
+        buffer = new int[width * height];
+        covered = new boolean[width * height];
+
+        double[] pts = new double[6];
+        if (triangles != null) {
+            for (MeshShadingPaint.Triangle t : triangles) {
+                pts[0] = t.x0;
+                pts[1] = t.y0;
+                pts[2] = t.x1;
+                pts[3] = t.y1;
+                pts[4] = t.x2;
+                pts[5] = t.y2;
+                full.transform(pts, 0, pts, 0, 3);
+                add((float) pts[0], (float) pts[1], t.c0, (float) pts[2], (float) pts[3], t.c1,
+                        (float) pts[4], (float) pts[5], t.c2);
+            }
+        }
+        if (patches != null) {
+            double[] grid = new double[32];
+            for (MeshShadingPaint.Patch patch : patches) {
+                full.transform(patch.points, 0, grid, 0, 16);
+                tessellate(grid, patch.corners);
+            }
+        }
+        rasterize();
+    }
+
+    /**
+     * Number of device space triangles the mesh was rasterised from.
+     */
+    int getTriangleCount() {
+        return count;
+    }
+
+    /**
+     * Calls the visitor with every device space vertex and its colour, used to
+     * build the edge clamp lookup.
+     */
+    void forEachVertex(VertexVisitor visitor) {
+        for (int i = 0; i < count; i++) {
+            for (int k = 0; k < 3; k++) {
+                visitor.visit(coords[i * 6 + k * 2], coords[i * 6 + k * 2 + 1], colors[i * 3 + k]);
+            }
+        }
+    }
+
+    interface VertexVisitor {
+        void visit(float x, float y, int color);
+    }
+
+    private void add(float x0, float y0, int c0, float x1, float y1, int c1, float x2, float y2, int c2) {
+        if (count * 6 == coords.length) {
+            coords = Arrays.copyOf(coords, coords.length * 2);
+            colors = Arrays.copyOf(colors, colors.length * 2);
+        }
+        int i = count * 6;
+        coords[i] = x0;
+        coords[i + 1] = y0;
+        coords[i + 2] = x1;
+        coords[i + 3] = y1;
+        coords[i + 4] = x2;
+        coords[i + 5] = y2;
+        int c = count * 3;
+        colors[c] = c0;
+        colors[c + 1] = c1;
+        colors[c + 2] = c2;
+        count++;
+    }
+
+    /**
+     * Tessellates one bicubic Bézier patch, given as a device space 4x4 control
+     * grid ({@code grid[(i * 4 + j) * 2]} is x of {@code p[i][j]}), blending the
+     * four corner colours bilinearly.  Corner colours map to the grid corners
+     * {@code (0,0),(0,3),(3,3),(3,0)}.
+     */
+    private void tessellate(double[] grid, int[] corners) {
+        int n = subdivisions(grid, corners);
+        int stride = n + 1;
+        float[] gx = new float[stride * stride];
+        float[] gy = new float[stride * stride];
+        int[] gc = new int[stride * stride];
+        double[][] basis = new double[stride][];
+        for (int i = 0; i <= n; i++) {
+            basis[i] = ShadingMeshPattern.bernstein((double) i / n);
+        }
+        for (int iu = 0; iu <= n; iu++) {
+            double[] bu = basis[iu];
+            for (int iv = 0; iv <= n; iv++) {
+                double[] bv = basis[iv];
+                double sx = 0, sy = 0;
+                for (int i = 0; i < 4; i++) {
+                    for (int j = 0; j < 4; j++) {
+                        double w = bu[i] * bv[j];
+                        int p = (i * 4 + j) * 2;
+                        sx += w * grid[p];
+                        sy += w * grid[p + 1];
+                    }
+                }
+                int idx = iu * stride + iv;
+                gx[idx] = (float) sx;
+                gy[idx] = (float) sy;
+                gc[idx] = ShadingMeshPattern.bilerpColor(corners, (double) iu / n, (double) iv / n);
+            }
+        }
+        for (int iu = 0; iu < n; iu++) {
+            for (int iv = 0; iv < n; iv++) {
+                int a = iu * stride + iv;
+                int b = a + 1;
+                int c = a + stride;
+                int d = c + 1;
+                add(gx[a], gy[a], gc[a], gx[b], gy[b], gc[b], gx[c], gy[c], gc[c]);
+                add(gx[b], gy[b], gc[b], gx[d], gy[d], gc[d], gx[c], gy[c], gc[c]);
+            }
+        }
+    }
+
+    /**
+     * Subdivisions per patch edge so that the triangles stay within
+     * {@link #FLATNESS} device pixels of the surface and the bilinear colour
+     * blend is followed to about one colour level.  The count is rounded up to
+     * a power of two so neighbouring patches of different size still share
+     * every other edge sample, which keeps T-junction cracks below the
+     * flatness; a pixel centre that does fall into one is edge-clamped to the
+     * nearest vertex colour like any other uncovered pixel.
+     */
+    static int subdivisions(double[] grid, int[] corners) {
+        // largest second difference of the control net along either direction,
+        // bounds how far a cubic strays from its chords.
+        double maxSecond = 0;
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 2; j++) {
+                maxSecond = Math.max(maxSecond, secondDifference(grid, i, j, 0, 1));
+                maxSecond = Math.max(maxSecond, secondDifference(grid, j, i, 1, 0));
+            }
+        }
+        // a non parallelogram patch bends its parameter lines even when the
+        // boundary is straight, which moves the colours.
+        double twistX = grid[0] - grid[6] + grid[30] - grid[24];
+        double twistY = grid[1] - grid[7] + grid[31] - grid[25];
+        maxSecond = Math.max(maxSecond, Math.sqrt(twistX * twistX + twistY * twistY));
+        double n = Math.sqrt(0.75 * maxSecond / FLATNESS);
+        // a curved surface needs a few segments, even a flat one needs enough
+        // that a large patch isn't drawn with two huge triangles whose linear
+        // colour can't follow the bilinear blend.
+        int twist = 0;
+        for (int shift = 0; shift <= 24; shift += 8) {
+            int c = ((corners[0] >>> shift) & 0xff) - ((corners[1] >>> shift) & 0xff)
+                    + ((corners[2] >>> shift) & 0xff) - ((corners[3] >>> shift) & 0xff);
+            twist = Math.max(twist, Math.abs(c));
+        }
+        n = Math.max(n, Math.sqrt(twist / 4.0));
+        // but triangles much smaller than a couple of pixels can't show either
+        // error, which is what keeps thumbnails of dense meshes cheap.
+        double minX = grid[0], maxX = grid[0], minY = grid[1], maxY = grid[1];
+        for (int p = 2; p < 32; p += 2) {
+            minX = Math.min(minX, grid[p]);
+            maxX = Math.max(maxX, grid[p]);
+            minY = Math.min(minY, grid[p + 1]);
+            maxY = Math.max(maxY, grid[p + 1]);
+        }
+        n = Math.min(n, Math.max(maxX - minX, maxY - minY) / 2);
+        int segments = (int) Math.ceil(Math.min(n, MAX_SUBDIVISIONS));
+        if (segments <= 1) {
+            return 1;
+        }
+        return Math.min(MAX_SUBDIVISIONS, Integer.highestOneBit(segments - 1) << 1);
+    }
+
+    private static double secondDifference(double[] grid, int i, int j, int di, int dj) {
+        int p0 = (i * 4 + j) * 2;
+        int p1 = ((i + di) * 4 + j + dj) * 2;
+        int p2 = ((i + 2 * di) * 4 + j + 2 * dj) * 2;
+        double dx = grid[p0] - 2 * grid[p1] + grid[p2];
+        double dy = grid[p0 + 1] - 2 * grid[p1 + 1] + grid[p2 + 1];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private void rasterize() {
+        int tilesX = (width + TILE_SIZE - 1) / TILE_SIZE;
+        int tilesY = (height + TILE_SIZE - 1) / TILE_SIZE;
+        int tileCount = tilesX * tilesY;
+
+        // bucket the triangles into the tiles their bounds overlap, counted
+        // first so the buckets can live in one flat array.
+        int[] bounds = new int[count * 4];
+        int[] start = new int[tileCount + 1];
+        for (int t = 0; t < count; t++) {
+            if (!tileBounds(t, bounds)) {
+                continue;
+            }
+            int b = t * 4;
+            for (int ty = bounds[b + 1]; ty <= bounds[b + 3]; ty++) {
+                for (int tx = bounds[b]; tx <= bounds[b + 2]; tx++) {
+                    start[ty * tilesX + tx + 1]++;
+                }
+            }
+        }
+        for (int i = 0; i < tileCount; i++) {
+            start[i + 1] += start[i];
+        }
+        int[] buckets = new int[start[tileCount]];
+        int[] fill = Arrays.copyOf(start, tileCount);
+        for (int t = 0; t < count; t++) {
+            int b = t * 4;
+            if (bounds[b] < 0) {
+                continue;
+            }
+            for (int ty = bounds[b + 1]; ty <= bounds[b + 3]; ty++) {
+                for (int tx = bounds[b]; tx <= bounds[b + 2]; tx++) {
+                    buckets[fill[ty * tilesX + tx]++] = t;
+                }
+            }
+        }
+
+        if (parallel && count >= PARALLEL_THRESHOLD && tilesY > 1) {
+            IntStream.range(0, tilesY).parallel().forEach(ty -> rasterizeBand(ty, tilesX, start, buckets));
+        } else {
+            for (int ty = 0; ty < tilesY; ty++) {
+                rasterizeBand(ty, tilesX, start, buckets);
+            }
+        }
+    }
+
+    private void rasterizeBand(int ty, int tilesX, int[] start, int[] buckets) {
+        int y0 = ty * TILE_SIZE;
+        int y1 = Math.min(height, y0 + TILE_SIZE) - 1;
+        for (int tx = 0; tx < tilesX; tx++) {
+            int x0 = tx * TILE_SIZE;
+            int x1 = Math.min(width, x0 + TILE_SIZE) - 1;
+            int tile = ty * tilesX + tx;
+            for (int i = start[tile], max = start[tile + 1]; i < max; i++) {
+                rasterizeTriangle(buckets[i], x0, y0, x1, y1);
+            }
+        }
+    }
+
+    /**
+     * Computes the range of tiles triangle {@code t} can touch, or marks it
+     * with -1 when it misses the buffer.
+     */
+    private boolean tileBounds(int t, int[] bounds) {
+        int i = t * 6;
+        float minX = Math.min(coords[i], Math.min(coords[i + 2], coords[i + 4])) - originX;
+        float maxX = Math.max(coords[i], Math.max(coords[i + 2], coords[i + 4])) - originX;
+        float minY = Math.min(coords[i + 1], Math.min(coords[i + 3], coords[i + 5])) - originY;
+        float maxY = Math.max(coords[i + 1], Math.max(coords[i + 3], coords[i + 5])) - originY;
+        int b = t * 4;
+        if (!(maxX >= 0 && maxY >= 0 && minX < width && minY < height)) {
+            bounds[b] = -1;
+            return false;
+        }
+        bounds[b] = Math.max(0, (int) Math.floor(minX)) / TILE_SIZE;
+        bounds[b + 1] = Math.max(0, (int) Math.floor(minY)) / TILE_SIZE;
+        bounds[b + 2] = Math.min(width - 1, (int) Math.ceil(maxX)) / TILE_SIZE;
+        bounds[b + 3] = Math.min(height - 1, (int) Math.ceil(maxY)) / TILE_SIZE;
+        return true;
+    }
+
+    private static long fixed(double v) {
+        if (v > MAX_COORD) v = MAX_COORD;
+        else if (v < -MAX_COORD) v = -MAX_COORD;
+        return Math.round(v * ONE);
+    }
+
+    /**
+     * Rasterises triangle {@code t} clipped to the given buffer rectangle
+     * (inclusive pixel bounds).
+     */
+    private void rasterizeTriangle(int t, int clipX0, int clipY0, int clipX1, int clipY1) {
+        int i = t * 6;
+        long ax = fixed(coords[i] - originX), ay = fixed(coords[i + 1] - originY);
+        long bx = fixed(coords[i + 2] - originX), by = fixed(coords[i + 3] - originY);
+        long cx = fixed(coords[i + 4] - originX), cy = fixed(coords[i + 5] - originY);
+        int ca = colors[t * 3], cb = colors[t * 3 + 1], cc = colors[t * 3 + 2];
+
+        long area = (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+        if (area == 0) {
+            return; // degenerate sliver
+        }
+        if (area < 0) {
+            // wind consistently so the interior is where every edge function is positive.
+            long tx = bx, ty = by;
+            bx = cx;
+            by = cy;
+            cx = tx;
+            cy = ty;
+            int tc = cb;
+            cb = cc;
+            cc = tc;
+            area = -area;
+        }
+
+        int minX = (int) (Math.min(ax, Math.min(bx, cx)) >> SUB_PIXEL_BITS);
+        int maxX = (int) ((Math.max(ax, Math.max(bx, cx)) + ONE - 1) >> SUB_PIXEL_BITS);
+        int minY = (int) (Math.min(ay, Math.min(by, cy)) >> SUB_PIXEL_BITS);
+        int maxY = (int) ((Math.max(ay, Math.max(by, cy)) + ONE - 1) >> SUB_PIXEL_BITS);
+        if (minX < clipX0) minX = clipX0;
+        if (minY < clipY0) minY = clipY0;
+        if (maxX > clipX1) maxX = clipX1;
+        if (maxY > clipY1) maxY = clipY1;
+        if (minX > maxX || minY > maxY) {
+            return;
+        }
+
+        // edge functions at the first pixel centre, e0 is opposite vertex a so
+        // e0 / area is a's barycentric weight.  Edges that aren't top or left
+        // are biased by one so a centre exactly on them belongs to the neighbour.
+        long px = ((long) minX << SUB_PIXEL_BITS) + HALF;
+        long py = ((long) minY << SUB_PIXEL_BITS) + HALF;
+        long e0 = edge(bx, by, cx, cy, px, py) - bias(bx, by, cx, cy);
+        long e1 = edge(cx, cy, ax, ay, px, py) - bias(cx, cy, ax, ay);
+        long e2 = edge(ax, ay, bx, by, px, py) - bias(ax, ay, bx, by);
+        // steps per pixel in x and y.
+        long e0dx = -(cy - by) << SUB_PIXEL_BITS, e0dy = (cx - bx) << SUB_PIXEL_BITS;
+        long e1dx = -(ay - cy) << SUB_PIXEL_BITS, e1dy = (ax - cx) << SUB_PIXEL_BITS;
+        long e2dx = -(by - ay) << SUB_PIXEL_BITS, e2dy = (bx - ax) << SUB_PIXEL_BITS;
+
+        // colour = c + wa * (a - c) + wb * (b - c), per channel.
+        double inv = 1.0 / area;
+        int aa = (ca >>> 24) & 0xff, ar = (ca >> 16) & 0xff, ag = (ca >> 8) & 0xff, ab = ca & 0xff;
+        int ba = (cb >>> 24) & 0xff, br = (cb >> 16) & 0xff, bg = (cb >> 8) & 0xff, bb = cb & 0xff;
+        int ka = (cc >>> 24) & 0xff, kr = (cc >> 16) & 0xff, kg = (cc >> 8) & 0xff, kb = cc & 0xff;
+        boolean flat = ca == cb && cb == cc;
+
+        for (int y = minY; y <= maxY; y++) {
+            long w0 = e0, w1 = e1, w2 = e2;
+            int row = y * width;
+            for (int x = minX; x <= maxX; x++) {
+                if ((w0 | w1 | w2) >= 0) {
+                    int argb;
+                    if (flat) {
+                        argb = ca;
+                    } else {
+                        // undo the bias for the weights, it only decides ownership.
+                        double la = (w0 + bias(bx, by, cx, cy)) * inv;
+                        double lb = (w1 + bias(cx, cy, ax, ay)) * inv;
+                        argb = (channel(ka, aa, ba, la, lb) << 24) | (channel(kr, ar, br, la, lb) << 16) |
+                                (channel(kg, ag, bg, la, lb) << 8) | channel(kb, ab, bb, la, lb);
+                    }
+                    buffer[row + x] = argb;
+                    covered[row + x] = true;
+                }
+                w0 += e0dx;
+                w1 += e1dx;
+                w2 += e2dx;
+            }
+            e0 += e0dy;
+            e1 += e1dy;
+            e2 += e2dy;
+        }
+    }
+
+    private static long edge(long ax, long ay, long bx, long by, long px, long py) {
+        return (bx - ax) * (py - ay) - (by - ay) * (px - ax);
+    }
+
+    /**
+     * Top-left rule with y down and the winding used above: a top edge is
+     * horizontal running right, a left edge runs up.
+     */
+    private static long bias(long ax, long ay, long bx, long by) {
+        boolean top = ay == by && bx > ax;
+        boolean left = by < ay;
+        return top || left ? 0 : 1;
+    }
+
+    private static int channel(int c, int a, int b, double la, double lb) {
+        int v = (int) (c + la * (a - c) + lb * (b - c) + 0.5);
+        return v < 0 ? 0 : Math.min(v, 255);
+    }
+}
@@ -20,11 +20,16 @@ import java.awt.PaintContext;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.ColorModel;
 import java.awt.image.DataBufferInt;
 import java.awt.image.Raster;
 import java.awt.image.WritableRaster;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 
 /**
@@ -33,18 +38,43 @@ import java.util.List;
  * Gouraud triangle meshes, and Coons/tensor patch meshes tessellated into
  * triangles).
  * <p>
- * Java2D has no native mesh paint, so each triangle is rasterised directly with
- * barycentric (Gouraud) colour interpolation.  The triangles are supplied in the
- * shading's own coordinate space; {@link #createContext} concatenates the live
- * device transform with the shading-to-user transform (the pattern
- * {@code Matrix}, identity for a bare {@code sh}) and rasterises every triangle
- * once into an ARGB buffer sized to the requested device bounds.  Pixels not
- * covered by any patch stay transparent so the surrounding content shows through.
+ * Java2D has no native mesh paint, so the mesh is scan converted by a
+ * {@link MeshRasterizer}.  Triangles and patches are supplied in the shading's
+ * own coordinate space; {@link #createContext} concatenates the live device
+ * transform with the shading-to-user transform (the pattern {@code Matrix},
+ * identity for a bare {@code sh}), tessellates the patches for that device
+ * resolution and rasterises the mesh once into an ARGB buffer sized to the
+ * requested device bounds.  The buffer is kept, softly, for the last couple of
+ * device transforms so repainting the same page at the same zoom reuses it.
+ * Pixels of the fill not covered by the mesh are edge-clamped, see
+ * {@link MeshPaintContext}.
  *
  * @since 7.5
  */
 public class MeshShadingPaint implements Paint {
 
+    /**
+     * A bicubic Bézier patch, a Coons (type 6) patch converted to its tensor
+     * form or a tensor (type 7) patch, tessellated only once the device
+     * resolution is known.  Corner colours are ARGB at the control grid corners
+     * {@code (0,0),(0,3),(3,3),(3,0)}.
+     */
+    public static final class Patch {
+        // p[i][j] at index (i * 4 + j) * 2, x then y.
+        final double[] points = new double[32];
+        final int[] corners;
+
+        public Patch(Point2D.Float[][] p, int[] corners) {
+            for (int i = 0; i < 4; i++) {
+                for (int j = 0; j < 4; j++) {
+                    points[(i * 4 + j) * 2] = p[i][j].x;
+                    points[(i * 4 + j) * 2 + 1] = p[i][j].y;
+                }
+            }
+            this.corners = corners.clone();
+        }
+    }
+
     /**
      * A single mesh triangle: three vertices in shading space, each with an
      * sRGB colour (packed ARGB).  Colours are interpolated across the triangle.
@@ -68,9 +98,16 @@ public class MeshShadingPaint implements Paint {
         }
     }
 
+    // rasterised meshes kept for this many device transforms.
+    private static final int MAX_CACHED_RASTERS = 2;
+
     private final List<Triangle> triangles;
+    private final List<Patch> patches;
     private final AffineTransform shadingToUser;
 
+    // most recently used first, guarded by itself.
+    private final LinkedList<SoftReference<CachedRaster>> rasters = new LinkedList<>();
+
     /**
      * @param triangles    mesh triangles in shading space (may be empty).
      * @param shadingToUser maps shading space to user space (the pattern
@@ -78,7 +115,18 @@ public class MeshShadingPaint implements Paint {
      *                      {@code sh} shading, where shading space is user space.
      */
     public MeshShadingPaint(List<Triangle> triangles, AffineTransform shadingToUser) {
-        this.triangles = triangles;
+        this(triangles, null, shadingToUser);
+    }
+
+    /**
+     * @param triangles     mesh triangles in shading space, may be null.
+     * @param patches       mesh patches in shading space, may be null.
+     * @param shadingToUser maps shading space to user space, see
+     *                      {@link #MeshShadingPaint(List, AffineTransform)}.
+     */
+    public MeshShadingPaint(List<Triangle> triangles, List<Patch> patches, AffineTransform shadingToUser) {
+        this.triangles = triangles != null ? triangles : new ArrayList<>();
+        this.patches = patches != null ? patches : new ArrayList<>();
         this.shadingToUser = shadingToUser;
     }
 
@@ -95,22 +143,49 @@ public class MeshShadingPaint implements Paint {
         if (shadingToUser != null) {
             full.concatenate(shadingToUser);
         }
-        return new MeshPaintContext(triangles, full, deviceBounds);
+        CachedRaster raster = getCachedRaster(full, deviceBounds);
+        if (raster == null) {
+            raster = new CachedRaster(full, new MeshRasterizer(triangles, patches, full, deviceBounds));
+            synchronized (rasters) {
+                rasters.addFirst(new SoftReference<>(raster));
+                while (rasters.size() > MAX_CACHED_RASTERS) {
+                    rasters.removeLast();
+                }
+            }
+        }
+        return new MeshPaintContext(raster);
     }
 
     /**
-     * Rasterises the triangle mesh into an ARGB buffer covering the device
-     * bounds once, then serves tiles from it.
+     * Finds a raster made for the same device transform that covers the
+     * requested bounds.
      */
-    private static final class MeshPaintContext implements PaintContext {
+    private CachedRaster getCachedRaster(AffineTransform full, Rectangle deviceBounds) {
+        synchronized (rasters) {
+            for (Iterator<SoftReference<CachedRaster>> iterator = rasters.iterator(); iterator.hasNext(); ) {
+                SoftReference<CachedRaster> reference = iterator.next();
+                CachedRaster raster = reference.get();
+                if (raster == null) {
+                    iterator.remove();
+                } else if (raster.transform.equals(full) && raster.contains(deviceBounds)) {
+                    iterator.remove();
+                    rasters.addFirst(reference);
+                    return raster;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A rasterised mesh plus the nearest vertex lookup used to edge-clamp the
+     * pixels outside it.  Immutable once built, so it is shared by every paint
+     * context made for the same device transform.
+     */
+    private static final class CachedRaster {
 
-        private final int[] buffer;
-        // Per-pixel coverage: true where a triangle painted the pixel, so the
-        // edge-clamp pass can tell a genuine mesh colour from an untouched (0)
-        // buffer cell without being fooled by a triangle colour that is itself 0.
-        private final boolean[] covered;
-        private final int imgW, imgH;
-        private final int originX, originY;
+        private final AffineTransform transform;
+        private final MeshRasterizer mesh;
 
         // Device-space mesh vertices and their ARGB colours.  Pixels of the fill
         // region that fall outside every triangle are clamped to the nearest
@@ -127,45 +202,26 @@ public class MeshShadingPaint implements Paint {
         private final double gridMinX, gridMinY, gridCellW, gridCellH;
         private final int[][] grid;
 
-        MeshPaintContext(List<Triangle> triangles, AffineTransform full, Rectangle deviceBounds) {
-            originX = deviceBounds.x;
-            originY = deviceBounds.y;
-            imgW = Math.max(1, deviceBounds.width);
-            imgH = Math.max(1, deviceBounds.height);
-            buffer = new int[imgW * imgH];
-            covered = new boolean[imgW * imgH];
+        CachedRaster(AffineTransform transform, MeshRasterizer mesh) {
+            this.transform = transform;
+            this.mesh = mesh;
 
-            int vertCount = triangles.size() * 3;
+            int vertCount = mesh.getTriangleCount() * 3;
             vx = new float[vertCount];
             vy = new float[vertCount];
             vc = new int[vertCount];
-            double vMinX = Double.MAX_VALUE, vMinY = Double.MAX_VALUE;
-            double vMaxX = -Double.MAX_VALUE, vMaxY = -Double.MAX_VALUE;
-
-            double[] pts = new double[6];
-            int vi = 0;
-            for (Triangle t : triangles) {
-                pts[0] = t.x0;
-                pts[1] = t.y0;
-                pts[2] = t.x1;
-                pts[3] = t.y1;
-                pts[4] = t.x2;
-                pts[5] = t.y2;
-                full.transform(pts, 0, pts, 0, 3);
-                rasterize(pts, t.c0, t.c1, t.c2);
-                int[] cs = {t.c0, t.c1, t.c2};
-                for (int k = 0; k < 3; k++) {
-                    float px = (float) pts[k * 2], py = (float) pts[k * 2 + 1];
-                    vx[vi] = px;
-                    vy[vi] = py;
-                    vc[vi] = cs[k];
-                    vi++;
-                    if (px < vMinX) vMinX = px;
-                    if (px > vMaxX) vMaxX = px;
-                    if (py < vMinY) vMinY = py;
-                    if (py > vMaxY) vMaxY = py;
-                }
-            }
+            double[] vBounds = {Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+            int[] vi = {0};
+            mesh.forEachVertex((px, py, color) -> {
+                vx[vi[0]] = px;
+                vy[vi[0]] = py;
+                vc[vi[0]] = color;
+                vi[0]++;
+                if (px < vBounds[0]) vBounds[0] = px;
+                if (py < vBounds[1]) vBounds[1] = py;
+                if (px > vBounds[2]) vBounds[2] = px;
+                if (py > vBounds[3]) vBounds[3] = py;
+            });
 
             // Bucket the vertices into a coarse uniform grid so nearest-vertex
             // clamp is not an O(vertices) scan per pixel (matters for the many-
@@ -173,10 +229,10 @@ public class MeshShadingPaint implements Paint {
             if (vertCount > 0) {
                 gridCols = Math.max(1, (int) Math.sqrt(vertCount));
                 gridRows = gridCols;
-                gridMinX = vMinX;
-                gridMinY = vMinY;
-                gridCellW = Math.max(1e-6, (vMaxX - vMinX) / gridCols);
-                gridCellH = Math.max(1e-6, (vMaxY - vMinY) / gridRows);
+                gridMinX = vBounds[0];
+                gridMinY = vBounds[1];
+                gridCellW = Math.max(1e-6, (vBounds[2] - vBounds[0]) / gridCols);
+                gridCellH = Math.max(1e-6, (vBounds[3] - vBounds[1]) / gridRows);
                 int[] counts = new int[gridCols * gridRows];
                 for (int i = 0; i < vertCount; i++) {
                     counts[gridCell(vx[i], vy[i])]++;
@@ -198,6 +254,12 @@ public class MeshShadingPaint implements Paint {
             }
         }
 
+        boolean contains(Rectangle deviceBounds) {
+            return deviceBounds.x >= mesh.originX && deviceBounds.y >= mesh.originY &&
+                    deviceBounds.x + Math.max(1, deviceBounds.width) <= mesh.originX + mesh.width &&
+                    deviceBounds.y + Math.max(1, deviceBounds.height) <= mesh.originY + mesh.height;
+        }
+
         private int gridCell(double px, double py) {
             int cx = (int) ((px - gridMinX) / gridCellW);
             int cy = (int) ((py - gridMinY) / gridCellH);
@@ -260,55 +322,17 @@ public class MeshShadingPaint implements Paint {
             }
             return bestColor;
         }
+    }
 
-        /**
-         * Scanline-fills one device-space triangle with barycentric colour
-         * interpolation.  Shared triangle edges carry identical colours, so
-         * overwriting on the seam is harmless.
-         */
-        private void rasterize(double[] p, int c0, int c1, int c2) {
-            double x0 = p[0] - originX, y0 = p[1] - originY;
-            double x1 = p[2] - originX, y1 = p[3] - originY;
-            double x2 = p[4] - originX, y2 = p[5] - originY;
-
-            double det = (y1 - y2) * (x0 - x2) + (x2 - x1) * (y0 - y2);
-            if (Math.abs(det) < 1e-9) {
-                return; // degenerate sliver
-            }
-            int minX = (int) Math.floor(Math.min(x0, Math.min(x1, x2)));
-            int maxX = (int) Math.ceil(Math.max(x0, Math.max(x1, x2)));
-            int minY = (int) Math.floor(Math.min(y0, Math.min(y1, y2)));
-            int maxY = (int) Math.ceil(Math.max(y0, Math.max(y1, y2)));
-            if (minX < 0) minX = 0;
-            if (minY < 0) minY = 0;
-            if (maxX > imgW - 1) maxX = imgW - 1;
-            if (maxY > imgH - 1) maxY = imgH - 1;
+    /**
+     * Serves tiles from a shared {@link CachedRaster}.
+     */
+    private static final class MeshPaintContext implements PaintContext {
 
-            int a0 = (c0 >>> 24) & 0xff, r0 = (c0 >> 16) & 0xff, g0 = (c0 >> 8) & 0xff, b0 = c0 & 0xff;
-            int a1 = (c1 >>> 24) & 0xff, r1 = (c1 >> 16) & 0xff, g1 = (c1 >> 8) & 0xff, b1 = c1 & 0xff;
-            int a2 = (c2 >>> 24) & 0xff, r2 = (c2 >> 16) & 0xff, g2 = (c2 >> 8) & 0xff, b2 = c2 & 0xff;
+        private final CachedRaster raster;
 
-            double invDet = 1.0 / det;
-            for (int y = minY; y <= maxY; y++) {
-                double py = y + 0.5;
-                int row = y * imgW;
-                for (int x = minX; x <= maxX; x++) {
-                    double px = x + 0.5;
-                    double l0 = ((y1 - y2) * (px - x2) + (x2 - x1) * (py - y2)) * invDet;
-                    double l1 = ((y2 - y0) * (px - x2) + (x0 - x2) * (py - y2)) * invDet;
-                    double l2 = 1.0 - l0 - l1;
-                    // small negative tolerance so shared edges don't leave gaps
-                    if (l0 < -0.001 || l1 < -0.001 || l2 < -0.001) {
-                        continue;
-                    }
-                    int a = (int) (l0 * a0 + l1 * a1 + l2 * a2 + 0.5);
-                    int r = (int) (l0 * r0 + l1 * r1 + l2 * r2 + 0.5);
-                    int g = (int) (l0 * g0 + l1 * g1 + l2 * g2 + 0.5);
-                    int b = (int) (l0 * b0 + l1 * b1 + l2 * b2 + 0.5);
-                    buffer[row + x] = (a << 24) | (r << 16) | (g << 8) | b;
-                    covered[row + x] = true;
-                }
-            }
+        MeshPaintContext(CachedRaster raster) {
+            this.raster = raster;
         }
 
         @Override
@@ -318,30 +342,31 @@ public class MeshShadingPaint implements Paint {
 
         @Override
         public Raster getRaster(int x, int y, int w, int h) {
-            WritableRaster raster = getColorModel().createCompatibleWritableRaster(w, h);
-            int[] tile = ((DataBufferInt) raster.getDataBuffer()).getData();
+            MeshRasterizer mesh = raster.mesh;
+            WritableRaster writableRaster = getColorModel().createCompatibleWritableRaster(w, h);
+            int[] tile = ((DataBufferInt) writableRaster.getDataBuffer()).getData();
             for (int j = 0; j < h; j++) {
-                int sy = y + j - originY;
-                if (sy < 0 || sy >= imgH) {
+                int sy = y + j - mesh.originY;
+                if (sy < 0 || sy >= mesh.height) {
                     continue;
                 }
-                int srcRow = sy * imgW;
+                int srcRow = sy * mesh.width;
                 int dstRow = j * w;
                 for (int i = 0; i < w; i++) {
-                    int sx = x + i - originX;
-                    if (sx < 0 || sx >= imgW) {
+                    int sx = x + i - mesh.originX;
+                    if (sx < 0 || sx >= mesh.width) {
                         continue;
                     }
-                    if (covered[srcRow + sx]) {
-                        tile[dstRow + i] = buffer[srcRow + sx];
+                    if (mesh.covered[srcRow + sx]) {
+                        tile[dstRow + i] = mesh.buffer[srcRow + sx];
                     } else {
                         // Outside every triangle: clamp to the nearest mesh
                         // vertex's colour so the fill region has no holes.
-                        tile[dstRow + i] = nearestVertexColor(x + i, y + j);
+                        tile[dstRow + i] = raster.nearestVertexColor(x + i, y + j);
                     }
                 }
             }
-            return raster;
+            return writableRaster;
         }
 
         @Override
@@ -0,0 +1,555 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.pobjects.graphics.commands.*;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Rectangle2D;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Packed encoding of a display list.  A parsed page is normally a list of individual draw command objects, each
+ * path a GeneralPath with its own arrays and each colour, stroke and transform change its own command object, so a
+ * dense page retains many times its content stream size.  The packed form keeps the same commands as:
+ * <ul>
+ * <li>an opcode stream and an int operand stream,</li>
+ * <li>path segment types and float coordinates in flat arrays, shared by every path on the page,</li>
+ * <li>deduplicated pools of colour, stroke, transform and alpha commands, a page typically only uses a handful
+ * of distinct values,</li>
+ * <li>and the remaining commands, text, images, forms and so on, as they are.</li>
+ * </ul>
+ * Paths and rectangles are only packed when they are the exact float types the content parser builds, so a
+ * replayed path is identical to the parsed one.  Replay decodes commands one at a time through {@link #iterator()}
+ * and paints them with their usual {@link DrawCmd#paintOperand}, so the packed list paints exactly as the list it
+ * was built from.
+ * <br>
+ * The primitive streams can optionally be spilled off the Java heap, to a direct buffer or to a memory mapped
+ * temporary file, see {@link #spill(Spill)}.  Packed lists are immutable and safe to replay concurrently.
+ *
+ * @since 7.5
+ */
+public class PackedShapes implements Iterable<DrawCmd> {
+
+    private static final Logger logger =
+            Logger.getLogger(PackedShapes.class.getName());
+
+    /**
+     * Where the primitive streams of a packed list live.
+     */
+    public enum Spill {
+        /**
+         * Java heap arrays.
+         */
+        HEAP,
+        /**
+         * Direct buffer outside of the Java heap.
+         */
+        OFF_HEAP,
+        /**
+         * Memory mapped temporary file, paged in by the operating system as the list is replayed.
+         */
+        DISK;
+
+        /**
+         * Parses a spill property value, heap, offheap or disk.
+         *
+         * @param value property value, may be null.
+         * @return matching spill target, HEAP when unknown.
+         */
+        public static Spill parse(String value) {
+            if ("offheap".equalsIgnoreCase(value)) {
+                return OFF_HEAP;
+            } else if ("disk".equalsIgnoreCase(value)) {
+                return DISK;
+            }
+            return HEAP;
+        }
+    }
+
+    // command kept as is, operand is its index in objects.
+    private static final byte OP_OBJECT = 0;
+    // pooled state command, operand is its index in the pool.
+    private static final byte OP_POOLED = 1;
+    // ShapeDrawCmd with a Rectangle2D.Float, four coordinates.
+    private static final byte OP_RECT = 2;
+    // ShapeDrawCmd with a GeneralPath, operand is the segment count.
+    private static final byte OP_PATH_NON_ZERO = 3;
+    private static final byte OP_PATH_EVEN_ODD = 4;
+
+    private final int size;
+    private final DrawCmd[] pool;
+    // values the pooled commands were built from, to give unpacked lists their own command instances.
+    private final Object[] poolValues;
+    private final DrawCmd[] objects;
+
+    // swapped as a whole by spill(), replays keep the storage they started with.
+    private volatile Storage storage;
+
+    private PackedShapes(int size, DrawCmd[] pool, Object[] poolValues, DrawCmd[] objects,
+                         byte[] ops, int[] operands, byte[] segments, float[] coordinates) {
+        this.size = size;
+        this.pool = pool;
+        this.poolValues = poolValues;
+        this.objects = objects;
+        storage = new Storage(Spill.HEAP, ByteBuffer.wrap(ops), IntBuffer.wrap(operands),
+                ByteBuffer.wrap(segments), FloatBuffer.wrap(coordinates));
+    }
+
+    /**
+     * Packs the given display list.  The list isn't modified.
+     *
+     * @param drawCmds display list to pack.
+     * @return packed equivalent of the list.
+     */
+    public static PackedShapes pack(List<DrawCmd> drawCmds) {
+        return new Packer(drawCmds.size()).pack(drawCmds);
+    }
+
+    /**
+     * Gets the number of commands in the list.
+     *
+     * @return command count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of distinct pooled state commands, colours, strokes, transforms and alphas.
+     *
+     * @return pool size.
+     */
+    public int getPoolSize() {
+        return pool.length;
+    }
+
+    /**
+     * Gets the number of bytes taken by the primitive streams, wherever they are stored.
+     *
+     * @return packed stream size in bytes.
+     */
+    public long getPackedSize() {
+        Storage s = storage;
+        return s.ops.capacity() + s.segments.capacity() + 4L * s.operands.capacity() +
+                4L * s.coordinates.capacity();
+    }
+
+    public Spill getSpill() {
+        return storage.spill;
+    }
+
+    /**
+     * Moves the primitive streams to the given storage.  Replays in progress carry on with the previous storage.
+     *
+     * @param target where the streams should live.
+     * @return true if the streams were moved, false if they stay where they were.
+     */
+    public synchronized boolean spill(Spill target) {
+        Storage s = storage;
+        if (target == s.spill || target == Spill.HEAP) {
+            return false;
+        }
+        ByteBuffer ops = s.ops;
+        ByteBuffer segments = s.segments;
+        IntBuffer operands = s.operands;
+        FloatBuffer coordinates = s.coordinates;
+        int opBytes = ops.capacity();
+        int segmentBytes = segments.capacity();
+        // keep the int and float sections four byte aligned.
+        int headerBytes = (opBytes + segmentBytes + 3) & ~3;
+        long total = headerBytes + 4L * operands.capacity() + 4L * coordinates.capacity();
+        if (total > Integer.MAX_VALUE) {
+            return false;
+        }
+        ByteBuffer buffer;
+        if (target == Spill.OFF_HEAP) {
+            buffer = ByteBuffer.allocateDirect((int) total);
+        } else {
+            try {
+                buffer = mapTemporaryFile((int) total);
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Could not spill display list to disk, keeping it on the heap.", e);
+                return false;
+            }
+        }
+        buffer.order(ByteOrder.nativeOrder());
+        for (int i = 0; i < opBytes; i++) {
+            buffer.put(i, ops.get(i));
+        }
+        for (int i = 0; i < segmentBytes; i++) {
+            buffer.put(opBytes + i, segments.get(i));
+        }
+        IntBuffer intSection = section(buffer, headerBytes, 4 * operands.capacity()).asIntBuffer();
+        for (int i = 0, max = operands.capacity(); i < max; i++) {
+            intSection.put(i, operands.get(i));
+        }
+        int floatOffset = headerBytes + 4 * operands.capacity();
+        FloatBuffer floatSection = section(buffer, floatOffset, 4 * coordinates.capacity()).asFloatBuffer();
+        for (int i = 0, max = coordinates.capacity(); i < max; i++) {
+            floatSection.put(i, coordinates.get(i));
+        }
+        storage = new Storage(target, section(buffer, 0, opBytes), intSection,
+                section(buffer, opBytes, segmentBytes), floatSection);
+        return true;
+    }
+
+    private static ByteBuffer section(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer section = buffer.duplicate();
+        section.position(offset);
+        section.limit(offset + length);
+        return section.slice().order(ByteOrder.nativeOrder());
+    }
+
+    private static ByteBuffer mapTemporaryFile(int length) throws IOException {
+        File file = File.createTempFile("icepdf-shapes", ".bin");
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+             FileChannel channel = randomAccessFile.getChannel()) {
+            // the mapping outlives the channel and, on most platforms, the file's directory entry.
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+        } finally {
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Decodes the list in paint order.  Paths are rebuilt as new shapes on every pass, pooled state commands are
+     * shared and must not be modified.
+     *
+     * @return command iterator.
+     */
+    @Override
+    public Iterator<DrawCmd> iterator() {
+        return new Reader();
+    }
+
+    /**
+     * Decodes the list back into individual commands, each with its own instance, for callers that edit it.
+     *
+     * @return unpacked display list.
+     */
+    public ArrayList<DrawCmd> unpack() {
+        ArrayList<DrawCmd> drawCmds = new ArrayList<>(size);
+        Reader reader = new Reader();
+        while (reader.hasNext()) {
+            DrawCmd drawCmd = reader.next();
+            if (reader.pooled >= 0) {
+                drawCmd = copy(drawCmd, poolValues[reader.pooled]);
+            }
+            drawCmds.add(drawCmd);
+        }
+        return drawCmds;
+    }
+
+    private static DrawCmd copy(DrawCmd drawCmd, Object value) {
+        if (drawCmd instanceof ColorDrawCmd) {
+            return new ColorDrawCmd((Color) value);
+        } else if (drawCmd instanceof StrokeDrawCmd) {
+            return new StrokeDrawCmd((Stroke) value);
+        } else if (drawCmd instanceof AlphaDrawCmd) {
+            return new AlphaDrawCmd((AlphaComposite) value);
+        } else if (drawCmd instanceof TransformDrawCmd) {
+            return new TransformDrawCmd(new AffineTransform((AffineTransform) value));
+        } else if (drawCmd instanceof TextTransformDrawCmd) {
+            return new TextTransformDrawCmd(new AffineTransform((AffineTransform) value));
+        } else if (drawCmd instanceof FillDrawCmd) {
+            return new FillDrawCmd();
+        } else if (drawCmd instanceof DrawDrawCmd) {
+            return new DrawDrawCmd();
+        } else if (drawCmd instanceof ClipDrawCmd) {
+            return new ClipDrawCmd();
+        } else if (drawCmd instanceof NoClipDrawCmd) {
+            return new NoClipDrawCmd();
+        }
+        return drawCmd;
+    }
+
+    private static final class Storage {
+        final Spill spill;
+        final ByteBuffer ops;
+        final IntBuffer operands;
+        final ByteBuffer segments;
+        final FloatBuffer coordinates;
+
+        Storage(Spill spill, ByteBuffer ops, IntBuffer operands, ByteBuffer segments, FloatBuffer coordinates) {
+            this.spill = spill;
+            this.ops = ops;
+            this.operands = operands;
+            this.segments = segments;
+            this.coordinates = coordinates;
+        }
+    }
+
+    private class Reader implements Iterator<DrawCmd> {
+        private final ByteBuffer ops;
+        private final IntBuffer operands;
+        private final ByteBuffer segments;
+        private final FloatBuffer coordinates;
+        private int op;
+        private int operand;
+        private int segment;
+        private int coordinate;
+        // pool index of the last command returned, -1 if it wasn't pooled.
+        private int pooled = -1;
+
+        Reader() {
+            Storage s = storage;
+            ops = s.ops;
+            operands = s.operands;
+            segments = s.segments;
+            coordinates = s.coordinates;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return op < size;
+        }
+
+        @Override
+        public DrawCmd next() {
+            if (op >= size) {
+                throw new NoSuchElementException();
+            }
+            byte code = ops.get(op++);
+            pooled = -1;
+            switch (code) {
+                case OP_POOLED:
+                    pooled = operands.get(operand++);
+                    return pool[pooled];
+                case OP_RECT:
+                    Rectangle2D.Float rectangle = new Rectangle2D.Float(
+                            coordinates.get(coordinate), coordinates.get(coordinate + 1),
+                            coordinates.get(coordinate + 2), coordinates.get(coordinate + 3));
+                    coordinate += 4;
+                    return new ShapeDrawCmd(rectangle);
+                case OP_PATH_NON_ZERO:
+                case OP_PATH_EVEN_ODD:
+                    return new ShapeDrawCmd(readPath(code == OP_PATH_EVEN_ODD ?
+                            GeneralPath.WIND_EVEN_ODD : GeneralPath.WIND_NON_ZERO));
+                default:
+                    return objects[operands.get(operand++)];
+            }
+        }
+
+        private GeneralPath readPath(int rule) {
+            int count = operands.get(operand++);
+            GeneralPath path = new GeneralPath(rule, Math.max(1, count));
+            FloatBuffer c = coordinates;
+            int i = coordinate;
+            for (int end = segment + count; segment < end; segment++) {
+                switch (segments.get(segment)) {
+                    case PathIterator.SEG_MOVETO:
+                        path.moveTo(c.get(i), c.get(i + 1));
+                        i += 2;
+                        break;
+                    case PathIterator.SEG_LINETO:
+                        path.lineTo(c.get(i), c.get(i + 1));
+                        i += 2;
+                        break;
+                    case PathIterator.SEG_QUADTO:
+                        path.quadTo(c.get(i), c.get(i + 1), c.get(i + 2), c.get(i + 3));
+                        i += 4;
+                        break;
+                    case PathIterator.SEG_CUBICTO:
+                        path.curveTo(c.get(i), c.get(i + 1), c.get(i + 2), c.get(i + 3),
+                                c.get(i + 4), c.get(i + 5));
+                        i += 6;
+                        break;
+                    default:
+                        path.closePath();
+                }
+            }
+            coordinate = i;
+            return path;
+        }
+    }
+
+    /**
+     * Builds the packed streams, growing primitive arrays as it goes.
+     */
+    private static class Packer {
+        private byte[] ops;
+        private int opCount;
+        private int[] operands;
+        private int operandCount;
+        private byte[] segments = new byte[256];
+        private int segmentCount;
+        private float[] coordinates = new float[512];
+        private int coordinateCount;
+
+        private final HashMap<Object, Integer> poolIndex = new HashMap<>();
+        private final ArrayList<DrawCmd> pool = new ArrayList<>();
+        private final ArrayList<Object> poolValues = new ArrayList<>();
+        private final ArrayList<DrawCmd> objects = new ArrayList<>();
+        private final float[] segmentCoordinates = new float[6];
+
+        Packer(int size) {
+            ops = new byte[Math.max(16, size)];
+            operands = new int[Math.max(16, size)];
+        }
+
+        PackedShapes pack(List<DrawCmd> drawCmds) {
+            for (int i = 0, max = drawCmds.size(); i < max; i++) {
+                add(drawCmds.get(i));
+            }
+            return new PackedShapes(opCount, pool.toArray(new DrawCmd[0]), poolValues.toArray(),
+                    objects.toArray(new DrawCmd[0]), Arrays.copyOf(ops, opCount),
+                    Arrays.copyOf(operands, operandCount), Arrays.copyOf(segments, segmentCount),
+                    Arrays.copyOf(coordinates, coordinateCount));
+        }
+
+        private void add(DrawCmd drawCmd) {
+            Class<?> type = drawCmd.getClass();
+            if (type == ShapeDrawCmd.class) {
+                Shape shape = ((ShapeDrawCmd) drawCmd).getShape();
+                if (shape != null && shape.getClass() == GeneralPath.class) {
+                    addPath((GeneralPath) shape);
+                    return;
+                } else if (shape != null && shape.getClass() == Rectangle2D.Float.class) {
+                    Rectangle2D.Float rectangle = (Rectangle2D.Float) shape;
+                    op(OP_RECT);
+                    coordinate(rectangle.x);
+                    coordinate(rectangle.y);
+                    coordinate(rectangle.width);
+                    coordinate(rectangle.height);
+                    return;
+                }
+            } else if (type == ColorDrawCmd.class) {
+                Color color = ((ColorDrawCmd) drawCmd).getColor();
+                // Color.equals only compares sRGB values, colours from other spaces are kept as they are.
+                if (color != null && color.getClass() == Color.class && color.getColorSpace().isCS_sRGB()) {
+                    pooled(drawCmd, color);
+                    return;
+                }
+            } else if (type == StrokeDrawCmd.class) {
+                Stroke stroke = ((StrokeDrawCmd) drawCmd).getStroke();
+                if (stroke != null && stroke.getClass() == BasicStroke.class) {
+                    pooled(drawCmd, stroke);
+                    return;
+                }
+            } else if (type == AlphaDrawCmd.class) {
+                AlphaComposite alphaComposite = ((AlphaDrawCmd) drawCmd).getAlphaComposite();
+                if (alphaComposite != null) {
+                    pooled(drawCmd, alphaComposite);
+                    return;
+                }
+            } else if (type == TransformDrawCmd.class) {
+                AffineTransform transform = ((TransformDrawCmd) drawCmd).getAffineTransform();
+                if (transform != null) {
+                    pooled(drawCmd, transform);
+                    return;
+                }
+            } else if (type == TextTransformDrawCmd.class) {
+                AffineTransform transform = ((TextTransformDrawCmd) drawCmd).getAffineTransform();
+                if (transform != null) {
+                    pooled(drawCmd, transform);
+                    return;
+                }
+            } else if (type == FillDrawCmd.class || type == DrawDrawCmd.class ||
+                    type == ClipDrawCmd.class || type == NoClipDrawCmd.class) {
+                // stateless, one instance of each serves the whole list.
+                pooled(drawCmd, null);
+                return;
+            }
+            op(OP_OBJECT);
+            operand(objects.size());
+            objects.add(drawCmd);
+        }
+
+        private void pooled(DrawCmd drawCmd, Object value) {
+            // the pool keeps its own copy of a transform so later edits of the source list don't leak in.
+            if (value instanceof AffineTransform) {
+                value = new AffineTransform((AffineTransform) value);
+            }
+            Object key = new AbstractMap.SimpleImmutableEntry<>(drawCmd.getClass(), value);
+            Integer index = poolIndex.get(key);
+            if (index == null) {
+                index = pool.size();
+                if (value instanceof AffineTransform) {
+                    drawCmd = copy(drawCmd, value);
+                }
+                pool.add(drawCmd);
+                poolValues.add(value);
+                poolIndex.put(key, index);
+            }
+            op(OP_POOLED);
+            operand(index);
+        }
+
+        private void addPath(GeneralPath path) {
+            op(path.getWindingRule() == GeneralPath.WIND_EVEN_ODD ? OP_PATH_EVEN_ODD : OP_PATH_NON_ZERO);
+            int countIndex = operandCount;
+            operand(0);
+            int count = 0;
+            float[] c = segmentCoordinates;
+            for (PathIterator iterator = path.getPathIterator(null); !iterator.isDone(); iterator.next()) {
+                int type = iterator.currentSegment(c);
+                segment((byte) type);
+                count++;
+                int points = type == PathIterator.SEG_MOVETO || type == PathIterator.SEG_LINETO ? 1 :
+                        type == PathIterator.SEG_QUADTO ? 2 : type == PathIterator.SEG_CUBICTO ? 3 : 0;
+                for (int k = 0; k < points * 2; k++) {
+                    coordinate(c[k]);
+                }
+            }
+            operands[countIndex] = count;
+        }
+
+        private void op(byte op) {
+            if (opCount == ops.length) {
+                ops = Arrays.copyOf(ops, ops.length * 2);
+            }
+            ops[opCount++] = op;
+        }
+
+        private void operand(int operand) {
+            if (operandCount == operands.length) {
+                operands = Arrays.copyOf(operands, operands.length * 2);
+            }
+            operands[operandCount++] = operand;
+        }
+
+        private void segment(byte segment) {
+            if (segmentCount == segments.length) {
+                segments = Arrays.copyOf(segments, segments.length * 2);
+            }
+            segments[segmentCount++] = segment;
+        }
+
+        private void coordinate(float coordinate) {
+            if (coordinateCount == coordinates.length) {
+                coordinates = Arrays.copyOf(coordinates, coordinates.length * 2);
+            }
+            coordinates[coordinateCount++] = coordinate;
+        }
+    }
+}
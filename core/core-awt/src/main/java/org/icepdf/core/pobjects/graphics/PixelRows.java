@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.util.Defs;
+import org.icepdf.core.util.Library;
+import org.icepdf.core.util.ParallelTasks;
+
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Row level helpers for the compositing loops: direct access to the int array behind a packed INT raster and
+ * row-parallel processing of large buffers.
+ * <br>
+ * Large buffers are split in bands of rows, the bands are run with {@link ParallelTasks} on the {@link Library}
+ * common pool and the calling thread works through them too, so a busy pool only means the caller does more of the work.  Bands must only write
+ * their own rows.  Parallel processing can be turned off with the {@code org.icepdf.core.paint.parallelRows}
+ * system property, and {@code org.icepdf.core.paint.parallelRows.minPixels} sets the smallest buffer that is split,
+ * default 512x512.
+ *
+ * @since 7.5
+ */
+public final class PixelRows {
+
+    private static final boolean PARALLEL =
+            Defs.sysPropertyBoolean("org.icepdf.core.paint.parallelRows", true);
+
+    private static final int PARALLEL_MIN_PIXELS =
+            Defs.sysPropertyInt("org.icepdf.core.paint.parallelRows.minPixels", 512 * 512);
+
+    // below this a band costs more to hand off than to process.
+    private static final int MIN_BAND_ROWS = 16;
+
+    /**
+     * Processes the rows {@code [fromRow, toRow)} of a buffer.
+     */
+    public interface RowBand {
+        void process(int fromRow, int toRow);
+    }
+
+    private PixelRows() {
+    }
+
+    /**
+     * Tests if the raster stores one pixel per int in a single bank, like {@code TYPE_INT_ARGB} and
+     * {@code TYPE_INT_RGB} images, so its pixels can be read from {@link #getData(Raster)}.
+     *
+     * @param raster raster to test.
+     * @return true if the raster's int array can be used directly.
+     */
+    public static boolean isIntPacked(Raster raster) {
+        return raster.getSampleModel() instanceof SinglePixelPackedSampleModel &&
+                raster.getDataBuffer() instanceof DataBufferInt &&
+                raster.getDataBuffer().getNumBanks() == 1;
+    }
+
+    /**
+     * Gets the int array of a packed raster, see {@link #isIntPacked(Raster)}.  The array is shared with the
+     * raster, writes are seen by the raster's image.
+     */
+    public static int[] getData(Raster raster) {
+        return ((DataBufferInt) raster.getDataBuffer()).getData();
+    }
+
+    public static int getScanlineStride(Raster raster) {
+        return ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+    }
+
+    /**
+     * Gets the index in {@link #getData(Raster)} of a pixel of a packed raster.
+     *
+     * @param raster packed raster.
+     * @param x      x in raster coordinates.
+     * @param y      y in raster coordinates.
+     * @return array index of the pixel.
+     */
+    public static int getIndex(Raster raster, int x, int y) {
+        return raster.getDataBuffer().getOffset() + ((SinglePixelPackedSampleModel) raster.getSampleModel())
+                .getOffset(x - raster.getSampleModelTranslateX(), y - raster.getSampleModelTranslateY());
+    }
+
+    /**
+     * Processes all the rows of a buffer, in parallel bands if the buffer is large enough.  Returns once every band
+     * is done.
+     *
+     * @param height number of rows.
+     * @param pixels number of pixels in the buffer, decides if it's worth splitting.
+     * @param band   row processing.
+     */
+    public static void forEachRow(int height, long pixels, RowBand band) {
+        int bands = bandCount(height, pixels);
+        if (bands <= 1) {
+            band.process(0, height);
+            return;
+        }
+        int bandRows = (height + bands - 1) / bands;
+        List<Callable<Void>> tasks = new ArrayList<>(bands);
+        for (int from = 0; from < height; from += bandRows) {
+            int fromRow = from;
+            int toRow = Math.min(height, from + bandRows);
+            tasks.add(() -> {
+                band.process(fromRow, toRow);
+                return null;
+            });
+        }
+        // the bands write into the caller's buffer, all of them are done when this returns.
+        try {
+            ParallelTasks.invokeAll(tasks);
+        } catch (ExecutionException e) {
+            ParallelTasks.throwCause(e, RuntimeException.class);
+        }
+    }
+
+    static int bandCount(int height, long pixels) {
+        if (!PARALLEL || pixels < PARALLEL_MIN_PIXELS) {
+            return 1;
+        }
+        return Math.max(1, Math.min(Library.commonPoolThreads + 1, height / MIN_BAND_ROWS));
+    }
+}
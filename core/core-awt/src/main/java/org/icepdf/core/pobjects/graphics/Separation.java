@@ -20,6 +20,7 @@ import org.icepdf.core.pobjects.Name;
 import org.icepdf.core.pobjects.functions.Function;
 import org.icepdf.core.util.ColorUtil;
 import org.icepdf.core.util.Library;
+import org.icepdf.core.util.memory.DocumentMemory;
 
 import java.awt.*;
 import java.util.HashMap;
@@ -85,6 +86,8 @@ public class Separation extends PColorSpace {
     private final ConcurrentHashMap<Integer, Color> colorTable1B;
     private final ConcurrentHashMap<Integer, Color> colorTable3B;
     private final ConcurrentHashMap<Integer, Color> colorTable4B;
+    // estimated bytes per cached colour: map node, key and colour.
+    static final int COLOR_ENTRY_SIZE = 96;
 
     /**
      * Create a new Seperation colour space.  Separation is specified using
@@ -102,6 +105,12 @@ public class Separation extends PColorSpace {
         colorTable1B = new ConcurrentHashMap<>(256);
         colorTable3B = new ConcurrentHashMap<>(256);
         colorTable4B = new ConcurrentHashMap<>(256);
+        if (l != null) {
+            DocumentMemory memory = l.getDocumentMemory();
+            memory.registerCache(colorTable1B, COLOR_ENTRY_SIZE);
+            memory.registerCache(colorTable3B, COLOR_ENTRY_SIZE);
+            memory.registerCache(colorTable4B, COLOR_ENTRY_SIZE);
+        }
 
         this.tintTransform = Function.getFunction(l, l.getObject(tintTransform));
         // see if name can be converted to a known colour.
@@ -197,9 +197,6 @@ public abstract class ShadingMeshPattern extends ShadingPattern implements Patte
 
     // ---- shared mesh rendering helpers (types 4-7) ----------------------------
 
-    /** Number of subdivisions per patch edge when tessellating a Bézier patch. */
-    protected static final int PATCH_SUBDIVISIONS = 10;
-
     /**
      * Wraps a tessellated triangle list in a {@link MeshShadingPaint}, anchoring
      * a shading <b>pattern</b> to its default coordinate system.  A shading
@@ -220,6 +217,22 @@ public abstract class ShadingMeshPattern extends ShadingPattern implements Patte
      */
     protected MeshShadingPaint buildMeshPaint(List<MeshShadingPaint.Triangle> triangles,
                                               GraphicsState graphicsState) {
+        return buildMeshPaint(triangles, null, graphicsState);
+    }
+
+    /**
+     * Wraps a mesh of triangles and/or patches in a {@link MeshShadingPaint},
+     * see {@link #buildMeshPaint(List, GraphicsState)}.  Patches are
+     * tessellated by the paint once the device resolution is known.
+     *
+     * @param triangles     mesh triangles in shading space, may be null.
+     * @param patches       mesh patches in shading space, may be null.
+     * @param graphicsState graphics state at the fill (for the fill-time CTM).
+     * @return a paint that Gouraud-rasterises the mesh.
+     */
+    protected MeshShadingPaint buildMeshPaint(List<MeshShadingPaint.Triangle> triangles,
+                                              List<MeshShadingPaint.Patch> patches,
+                                              GraphicsState graphicsState) {
         AffineTransform shadingToUser = matrix;
         if (patternType == Pattern.PATTERN_TYPE_SHADING
                 && graphicsState != null && graphicsState.getCTM() != null) {
@@ -231,55 +244,7 @@ public abstract class ShadingMeshPattern extends ShadingPattern implements Patte
                 // degenerate CTM; fall back to the raw matrix.
             }
         }
-        return new MeshShadingPaint(triangles, shadingToUser);
-    }
-
-    /**
-     * Tessellates one bicubic Bézier patch (a 4x4 control grid) into triangles,
-     * sampling the surface on a {@link #PATCH_SUBDIVISIONS} grid and blending the
-     * four corner colours bilinearly.  Corner colours are given in ARGB at the
-     * grid corners {@code (0,0),(0,3),(3,3),(3,0)}.  Shared by Coons (type 6, its
-     * four interior points derived) and tensor (type 7) patches.
-     */
-    protected static void tessellatePatch(Point2D.Float[][] p, int[] corners,
-                                          List<MeshShadingPaint.Triangle> out) {
-        int n = PATCH_SUBDIVISIONS;
-        int stride = n + 1;
-        float[] gx = new float[stride * stride];
-        float[] gy = new float[stride * stride];
-        int[] gc = new int[stride * stride];
-        for (int iu = 0; iu <= n; iu++) {
-            double u = (double) iu / n;
-            double[] bu = bernstein(u);
-            for (int iv = 0; iv <= n; iv++) {
-                double v = (double) iv / n;
-                double[] bv = bernstein(v);
-                double sx = 0, sy = 0;
-                for (int i = 0; i < 4; i++) {
-                    for (int j = 0; j < 4; j++) {
-                        double w = bu[i] * bv[j];
-                        sx += w * p[i][j].x;
-                        sy += w * p[i][j].y;
-                    }
-                }
-                int idx = iu * stride + iv;
-                gx[idx] = (float) sx;
-                gy[idx] = (float) sy;
-                gc[idx] = bilerpColor(corners, u, v);
-            }
-        }
-        for (int iu = 0; iu < n; iu++) {
-            for (int iv = 0; iv < n; iv++) {
-                int a = iu * stride + iv;
-                int b = a + 1;
-                int c = a + stride;
-                int d = c + 1;
-                out.add(new MeshShadingPaint.Triangle(
-                        gx[a], gy[a], gc[a], gx[b], gy[b], gc[b], gx[c], gy[c], gc[c]));
-                out.add(new MeshShadingPaint.Triangle(
-                        gx[b], gy[b], gc[b], gx[d], gy[d], gc[d], gx[c], gy[c], gc[c]));
-            }
-        }
+        return new MeshShadingPaint(triangles, patches, shadingToUser);
     }
 
     /** Cubic Bernstein basis {@code [B0,B1,B2,B3]} at parameter t. */
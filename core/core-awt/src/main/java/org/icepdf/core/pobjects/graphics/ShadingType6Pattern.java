@@ -33,8 +33,8 @@ import java.util.logging.Logger;
  * surface interior is defined by a bilinear blend of the boundary curves.  This
  * is the special case of a tensor-product patch (type 7) whose four interior
  * control points are derived from the boundary, so a Coons patch is converted to
- * a 4x4 tensor control grid and tessellated with the shared
- * {@link #tessellatePatch} path.
+ * a 4x4 tensor control grid and handed to the {@link MeshShadingPaint} as a
+ * {@link MeshShadingPaint.Patch}, tessellated once the device resolution is known.
  * <p>
  * Patches with edge flag 0 supply all 12 points and 4 corner colours; flags 1-3
  * share one edge (4 points + 2 colours) with the previous patch.
@@ -67,7 +67,7 @@ public class ShadingType6Pattern extends ShadingMeshPattern {
         if (inited) {
             return;
         }
-        List<MeshShadingPaint.Triangle> triangles = new ArrayList<>();
+        List<MeshShadingPaint.Patch> patches = new ArrayList<>();
         Point2D.Float[] prevPoints = null;
         int[] prevColors = null;
         try {
@@ -104,14 +104,14 @@ public class ShadingType6Pattern extends ShadingMeshPattern {
                     grid[COONS_ORDER[i][0]][COONS_ORDER[i][1]] = points[i];
                 }
                 coonsInterior(grid);
-                tessellatePatch(grid, colors, triangles);
+                patches.add(new MeshShadingPaint.Patch(grid, colors));
                 prevPoints = points;
                 prevColors = colors;
             }
         } catch (IOException e) {
             logger.warning("Error parsing Shading type 6 pattern vertices.");
         }
-        meshPaint = buildMeshPaint(triangles, graphicsState);
+        meshPaint = buildMeshPaint(null, patches, graphicsState);
         inited = true;
     }
 
@@ -36,9 +36,9 @@ import java.util.logging.Logger;
  * with flag 1-3 shares one edge (4 control points + 2 colours) with the previous
  * patch and reads the remaining 12 points + 2 colours.
  * <p>
- * The surface is tessellated into a grid of triangles (corner colours
- * interpolated bilinearly) and handed to a {@link MeshShadingPaint} for Gouraud
- * rasterisation.
+ * Each patch is handed to a {@link MeshShadingPaint}, which tessellates it into
+ * a grid of triangles (corner colours interpolated bilinearly) sized for the
+ * device resolution and Gouraud rasterises them.
  *
  * @since 6.2
  */
@@ -68,7 +68,7 @@ public class ShadingType7Pattern extends ShadingMeshPattern {
         if (inited) {
             return;
         }
-        List<MeshShadingPaint.Triangle> triangles = new ArrayList<>();
+        List<MeshShadingPaint.Patch> patches = new ArrayList<>();
         // Previous patch kept in the linear read order so a shared edge can be
         // pulled by index (edges span points 0-3 / 3-6 / 6-9 / 9-0).
         Point2D.Float[] prevPoints = null;
@@ -109,14 +109,14 @@ public class ShadingType7Pattern extends ShadingMeshPattern {
                 for (int i = 0; i < 16; i++) {
                     grid[TENSOR_ORDER[i][0]][TENSOR_ORDER[i][1]] = points[i];
                 }
-                tessellatePatch(grid, colors, triangles);
+                patches.add(new MeshShadingPaint.Patch(grid, colors));
                 prevPoints = points;
                 prevColors = colors;
             }
         } catch (IOException e) {
             logger.warning("Error parsing Shading type 7 pattern vertices.");
         }
-        meshPaint = buildMeshPaint(triangles, graphicsState);
+        meshPaint = buildMeshPaint(null, patches, graphicsState);
         inited = true;
     }
 
@@ -24,6 +24,7 @@ import org.icepdf.core.util.RenderExceptionMonitor;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -57,6 +58,24 @@ public class Shapes {
                 "org.icepdf.core.shapes.initialCapacity", shapesInitialCapacity);
     }
 
+    // clip culling of dense display lists (-Dorg.icepdf.core.shapes.spatialIndex), only lists of at least
+    // minCommands are indexed as smaller ones paint quickly enough without it.
+    private static final boolean SPATIAL_INDEX =
+            Defs.sysPropertyBoolean("org.icepdf.core.shapes.spatialIndex", true);
+    private static final int SPATIAL_INDEX_MIN_COMMANDS =
+            Defs.sysPropertyInt("org.icepdf.core.shapes.spatialIndex.minCommands", 20000);
+
+    // packed display lists (-Dorg.icepdf.core.shapes.packed), parsed pages are kept as a PackedShapes, optionally
+    // spilled off the heap (-Dorg.icepdf.core.shapes.packed.spill=heap|offheap|disk).
+    private static final boolean PACKED =
+            Defs.sysPropertyBoolean("org.icepdf.core.shapes.packed", false);
+    private static final PackedShapes.Spill PACKED_SPILL =
+            PackedShapes.Spill.parse(Defs.sysProperty("org.icepdf.core.shapes.packed.spill", "heap"));
+
+    // display list optimisation pass after parsing (-Dorg.icepdf.core.shapes.optimize), see ShapesOptimizer.
+    private static final boolean OPTIMIZE =
+            Defs.sysPropertyBoolean("org.icepdf.core.shapes.optimize", false);
+
     // cache of common draw state, we try to avoid adding new operands if the
     // stack already has the needed state,  more ops take longer to paint.
     private int rule;
@@ -64,12 +83,17 @@ public class Shapes {
 
     private float pageRotation;
 
-    // Graphics stack for a page's content.
-    protected final ArrayList<DrawCmd> shapes = new ArrayList<>(shapesInitialCapacity);
+    // Graphics stack for a page's content.  Empty while the list is packed, the pair is swapped and read under
+    // this object's lock so a concurrent paint always sees one or the other.
+    protected volatile ArrayList<DrawCmd> shapes = new ArrayList<>(shapesInitialCapacity);
+    private volatile PackedShapes packed;
 
     // the collection of objects listening for page paint events
     private Page parentPage;
 
+    // built on the first paint of a large list, rebuilt if the list has grown since.
+    private volatile ShapesIndex spatialIndex;
+
     // page-level transparency group (/Group on the page dict), null when the page
     // is not a transparency group.  Consumed by the page-group buffer compositor.
     private TransparencyGroup pageGroup;
@@ -86,16 +110,103 @@ public class Shapes {
      *
      * @return number of shapes on the stack
      */
-    public int getShapesCount() {
-        return shapes.size();
+    public synchronized int getShapesCount() {
+        return packed != null ? packed.size() : shapes.size();
     }
 
+    /**
+     * Gets the editable display list, a packed list is unpacked first and stays unpacked.  Unpacking decodes every
+     * command back onto the heap, undoing the packing's memory savings, so read only callers should iterate
+     * {@link #commands()} instead.
+     *
+     * @return display list.
+     */
     public ArrayList<DrawCmd> getShapes() {
+        if (packed != null) {
+            unpack();
+        }
         return shapes;
     }
 
     public void add(ArrayList<DrawCmd> shapes) {
-        this.shapes.addAll(shapes);
+        getShapes().addAll(shapes);
+    }
+
+    /**
+     * Runs the {@link ShapesOptimizer} over the display list if enabled with
+     * {@code -Dorg.icepdf.core.shapes.optimize}, called once a page's content has been parsed.
+     *
+     * @return true if the list was optimised.
+     */
+    public boolean optimizeIfEnabled() {
+        if (OPTIMIZE) {
+            optimize();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Replaces the display list with its optimised equivalent, see {@link ShapesOptimizer}.
+     */
+    public synchronized void optimize() {
+        if (packed != null || shapes.isEmpty()) {
+            return;
+        }
+        ArrayList<DrawCmd> optimized = ShapesOptimizer.optimize(shapes);
+        // form groups replay the commands before them as their backdrop, so record their new positions.
+        for (int i = 0, max = optimized.size(); i < max; i++) {
+            DrawCmd drawCmd = optimized.get(i);
+            if (drawCmd instanceof FormDrawCmd && ((FormDrawCmd) drawCmd).getBackdropShapes() == this) {
+                ((FormDrawCmd) drawCmd).setBackdropSource(this, i);
+            }
+        }
+        shapes = optimized;
+        spatialIndex = null;
+    }
+
+    /**
+     * Packs the display list if packing is enabled with {@code -Dorg.icepdf.core.shapes.packed}, called once
+     * a page's content has been parsed.
+     */
+    public void packIfEnabled() {
+        if (PACKED) {
+            pack(PACKED_SPILL);
+        }
+    }
+
+    /**
+     * Replaces the display list with its packed encoding, see {@link PackedShapes}.  The list paints as before
+     * and is unpacked again if {@link #getShapes()} is called to edit it.
+     *
+     * @param spill where to keep the packed streams.
+     */
+    public synchronized void pack(PackedShapes.Spill spill) {
+        if (packed != null || shapes.isEmpty()) {
+            return;
+        }
+        PackedShapes packedShapes = PackedShapes.pack(shapes);
+        packedShapes.spill(spill);
+        packed = packedShapes;
+        shapes = new ArrayList<>(0);
+        spatialIndex = null;
+    }
+
+    public boolean isPacked() {
+        return packed != null;
+    }
+
+    private synchronized void unpack() {
+        PackedShapes packedShapes = packed;
+        if (packedShapes != null) {
+            shapes = packedShapes.unpack();
+            packed = null;
+        }
+    }
+
+    // commands in paint order, without unpacking.
+    synchronized Iterable<DrawCmd> commands() {
+        return packed != null ? packed : shapes;
     }
 
     public void setPageParent(Page parent) {
@@ -117,9 +228,9 @@ public class Shapes {
     public void add(DrawCmd drawCmd){
 
         if (!(drawCmd instanceof FormDrawCmd)){
-            shapes.add(drawCmd);
+            getShapes().add(drawCmd);
         }else{
-            shapes.add(drawCmd);
+            getShapes().add(drawCmd);
         }
     }
 
@@ -131,7 +242,7 @@ public class Shapes {
      */
     public void disableBlendComposite() {
         DrawCmd nextShape;
-        for (DrawCmd shape : shapes) {
+        for (DrawCmd shape : commands()) {
             nextShape = shape;
             if (nextShape instanceof BlendCompositeDrawCmd) {
                 ((BlendCompositeDrawCmd) nextShape).enableAlphaCompositePaint();
@@ -200,6 +311,57 @@ public class Shapes {
             PaintTimer paintTimer = new PaintTimer();
             Shape previousShape = null;
 
+            ArrayList<DrawCmd> shapes;
+            PackedShapes packedShapes;
+            synchronized (this) {
+                shapes = this.shapes;
+                packedShapes = packed;
+            }
+            if (packedShapes != null) {
+                int i = 0;
+                for (DrawCmd nextShape : packedShapes) {
+                    if (i++ % 1000 == 0 && Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedException("Page painting thread interrupted");
+                    }
+                    if (nullShapeFill != null && nextShape instanceof ShapeDrawCmd
+                            && ((ShapeDrawCmd) nextShape).getShape() == null) {
+                        previousShape = nullShapeFill;
+                        continue;
+                    }
+                    previousShape = nextShape.paintOperand(g, parentPage,
+                            previousShape, clip, base, optionalContentState, PAINT_ALPHA, paintTimer);
+                }
+                return;
+            }
+
+            int[] visibleChunks = null;
+            ShapesIndex index = null;
+            if (SPATIAL_INDEX && nullShapeFill == null && shapes.size() >= SPATIAL_INDEX_MIN_COMMANDS) {
+                index = getSpatialIndex(shapes);
+                visibleChunks = index.query(clip, base);
+            }
+            if (visibleChunks != null) {
+                // only the chunks under the clip are painted, the state skipped chunks would have set is
+                // restored from the index's checkpoints.
+                int next = 0;
+                for (int chunk : visibleChunks) {
+                    int start = ShapesIndex.chunkStart(chunk);
+                    if (start > next) {
+                        previousShape = index.restore(g, parentPage, next, chunk, previousShape, clip, base,
+                                optionalContentState, PAINT_ALPHA, paintTimer);
+                    }
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedException("Page painting thread interrupted");
+                    }
+                    for (int i = start, max = index.chunkEnd(chunk); i < max; i++) {
+                        previousShape = shapes.get(i).paintOperand(g, parentPage,
+                                previousShape, clip, base, optionalContentState, PAINT_ALPHA, paintTimer);
+                    }
+                    next = index.chunkEnd(chunk);
+                }
+                return;
+            }
+
             DrawCmd nextShape;
             // for loops actually faster in this case.
             for (int i = 0, max = shapes.size(); i < max; i++) {
@@ -231,6 +393,16 @@ public class Shapes {
     }
 
 
+    private ShapesIndex getSpatialIndex(ArrayList<DrawCmd> shapes) {
+        ShapesIndex index = spatialIndex;
+        if (index == null || index.getCommandCount() != shapes.size()) {
+            // concurrent paints may both build it, either result is good.
+            index = new ShapesIndex(new ArrayList<>(shapes));
+            spatialIndex = index;
+        }
+        return index;
+    }
+
     /**
      * Replays the draw commands in [0, uptoIndex) into {@code g} -- i.e. paints
      * the page/parent stack as it stood just before the command at
@@ -260,9 +432,9 @@ public class Shapes {
         OptionalContentState optionalContentState = new OptionalContentState();
         PaintTimer paintTimer = new PaintTimer();
         Shape previousShape = null;
-        int max = Math.min(uptoIndex, shapes.size());
-        for (int i = 0; i < max; i++) {
-            DrawCmd cmd = shapes.get(i);
+        Iterator<DrawCmd> drawCmds = commands().iterator();
+        for (int i = 0; i < uptoIndex && drawCmds.hasNext(); i++) {
+            DrawCmd cmd = drawCmds.next();
             if (skipFormGroups && cmd instanceof FormDrawCmd) {
                 continue;
             }
@@ -279,7 +451,7 @@ public class Shapes {
      */
     public ArrayList<Image> getImages() throws InterruptedException {
         ArrayList<Image> images = new ArrayList<>();
-        for (Object object : shapes) {
+        for (Object object : commands()) {
             if (object instanceof ImageDrawCmd) {
                 images.add(((ImageDrawCmd) object).getImage());
             } else if (object instanceof ShapesDrawCmd) {
@@ -289,6 +461,28 @@ public class Shapes {
         return images;
     }
 
+    /**
+     * Checks if every image of the content, including the content of nested forms, can be painted without waiting
+     * on a decode.  The display list isn't unpacked.
+     *
+     * @return true if a draft paint would paint no image placeholders.
+     */
+    public boolean isImagesReady() {
+        for (DrawCmd drawCmd : commands()) {
+            if (drawCmd instanceof ImageDrawCmd) {
+                if (!((ImageDrawCmd) drawCmd).isImageReady()) {
+                    return false;
+                }
+            } else if (drawCmd instanceof ShapesDrawCmd) {
+                Shapes shapes = ((ShapesDrawCmd) drawCmd).getShapes();
+                if (shapes != null && !shapes.isImagesReady()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     /**
      * Contracts the shapes ArrayList to the actual size of the elements
      * it contains.
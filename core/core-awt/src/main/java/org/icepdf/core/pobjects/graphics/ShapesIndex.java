@@ -0,0 +1,370 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.pobjects.Page;
+import org.icepdf.core.pobjects.graphics.commands.*;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Spatial index over a display list so that painting a small region of a dense page only visits the commands
+ * that can touch it.
+ * <br>
+ * The command list is cut into chunks of {@link #CHUNK_SIZE} consecutive commands and each chunk gets the bounds
+ * of the fills, strokes, images and text it draws, in the space of the base transform the list is painted under,
+ * so one index serves every zoom level.  The chunk bounds are the leaves of a bounding volume hierarchy built over
+ * the chunks in paint order, so a query prunes whole runs of the page at once and returns the intersecting chunks
+ * still in paint order.
+ * <br>
+ * Skipping a chunk also skips the state it sets, so for every chunk the index records a checkpoint: the last
+ * command that set the transform, colour/paint, stroke, alpha, current shape and clip up to the end of the chunk.
+ * Before painting a chunk that follows skipped ones, only the state set inside the skipped run is replayed from
+ * those commands.  Each of these state commands sets its state absolutely, so replaying the last one is the same
+ * as replaying them all.
+ * <br>
+ * Commands whose effect can't be replayed or bounded this way, forms, groups, blending, soft masks, optional
+ * content, tiling patterns and glyph clips, make their chunk always painted, as do drawing commands whose
+ * transform or stroke isn't known at build time.  A page made mostly of those gains nothing but loses nothing.
+ *
+ * @since 7.5
+ */
+public class ShapesIndex {
+
+    static final int CHUNK_SIZE = 64;
+
+    // checkpointed state kinds.
+    private static final int TRANSFORM = 0;
+    private static final int PAINT = 1;
+    private static final int STROKE = 2;
+    private static final int ALPHA = 3;
+    private static final int SHAPE = 4;
+    private static final int CLIP = 5;
+    // transform and shape in effect when the last clip was set, needed to replay it.
+    private static final int CLIP_TRANSFORM = 6;
+    private static final int CLIP_SHAPE = 7;
+    private static final int KINDS = 8;
+
+    // a query covering more than this fraction of the indexed area paints the list normally.
+    private static final double MAX_QUERY_FRACTION = 0.6;
+    // device pixels added around the query, hairlines are drawn at least a pixel wide at any zoom.
+    private static final double QUERY_MARGIN = 2;
+
+    private static final float INFINITE = Float.MAX_VALUE;
+
+    private final List<DrawCmd> drawCmds;
+    private final int commandCount;
+    private final int chunkCount;
+
+    // per chunk, KINDS command indices of the last state setter up to the chunk's end, -1 for none.
+    private final int[] checkpoints;
+
+    // implicit bounding volume hierarchy, node n has children 2n and 2n + 1 and the chunks are the leaves
+    // from leafBase.  Four floats per node: min x, min y, max x, max y.
+    private final int leafBase;
+    private final float[] nodeBounds;
+    // union of the chunks with finite bounds, what a query is compared against.
+    private final Rectangle2D.Double drawnBounds = new Rectangle2D.Double();
+
+    /**
+     * Builds the index for the given command list.  The list must not change while the index is used.
+     *
+     * @param drawCmds display list to index.
+     */
+    public ShapesIndex(List<DrawCmd> drawCmds) {
+        this.drawCmds = drawCmds;
+        commandCount = drawCmds.size();
+        chunkCount = Math.max(1, (commandCount + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        checkpoints = new int[chunkCount * KINDS];
+        int leaves = Integer.highestOneBit(chunkCount);
+        if (leaves < chunkCount) {
+            leaves <<= 1;
+        }
+        leafBase = leaves;
+        nodeBounds = new float[leaves * 2 * 4];
+        for (int n = 0; n < leaves * 2; n++) {
+            setEmpty(n);
+        }
+        build();
+    }
+
+    public int getCommandCount() {
+        return commandCount;
+    }
+
+    private void build() {
+        int[] last = new int[KINDS];
+        Arrays.fill(last, -1);
+        AffineTransform transform = new AffineTransform();
+        boolean transformKnown = true;
+        Shape currentShape = null;
+        Stroke currentStroke = null;
+        double[] corners = new double[8];
+
+        for (int i = 0; i < commandCount; i++) {
+            DrawCmd drawCmd = drawCmds.get(i);
+            int leaf = leafBase + i / CHUNK_SIZE;
+            if (drawCmd instanceof TransformDrawCmd || drawCmd instanceof TextTransformDrawCmd) {
+                last[TRANSFORM] = i;
+                transform = drawCmd instanceof TransformDrawCmd ?
+                        ((TransformDrawCmd) drawCmd).getAffineTransform() :
+                        ((TextTransformDrawCmd) drawCmd).getAffineTransform();
+                transformKnown = transform != null;
+                if (!transformKnown) {
+                    setInfinite(leaf);
+                }
+            } else if (drawCmd instanceof ColorDrawCmd || drawCmd instanceof PaintDrawCmd) {
+                last[PAINT] = i;
+            } else if (drawCmd instanceof StrokeDrawCmd) {
+                last[STROKE] = i;
+                currentStroke = ((StrokeDrawCmd) drawCmd).getStroke();
+            } else if (drawCmd instanceof AlphaDrawCmd) {
+                last[ALPHA] = i;
+            } else if (drawCmd instanceof ShapeDrawCmd) {
+                last[SHAPE] = i;
+                currentShape = ((ShapeDrawCmd) drawCmd).getShape();
+            } else if (drawCmd instanceof ClipDrawCmd || drawCmd instanceof NoClipDrawCmd) {
+                last[CLIP] = i;
+                last[CLIP_TRANSFORM] = last[TRANSFORM];
+                last[CLIP_SHAPE] = last[SHAPE];
+                // a clip under an unknown transform can't be replayed, so it must never be skipped.
+                if (!transformKnown) {
+                    setInfinite(leaf);
+                }
+            } else if (drawCmd instanceof GraphicsStateCmd) {
+                // no paint effect.
+            } else if (drawCmd instanceof FillDrawCmd) {
+                if (currentShape != null) {
+                    include(leaf, transformKnown, transform, currentShape.getBounds2D(), 0, corners);
+                }
+            } else if (drawCmd instanceof DrawDrawCmd) {
+                if (currentShape != null && currentStroke instanceof BasicStroke) {
+                    BasicStroke basicStroke = (BasicStroke) currentStroke;
+                    // a miter join can reach miterLimit half widths past the path.
+                    double pad = basicStroke.getLineWidth() / 2 * Math.max(1, basicStroke.getMiterLimit()) + 1;
+                    include(leaf, transformKnown, transform, currentShape.getBounds2D(), pad, corners);
+                } else {
+                    setInfinite(leaf);
+                }
+            } else if (drawCmd instanceof TextSpriteDrawCmd) {
+                Rectangle2D bounds = ((TextSpriteDrawCmd) drawCmd).getTextSprite().getBounds();
+                if (bounds != null) {
+                    // glyph outlines can stray a little past the font metrics the bounds come from.
+                    include(leaf, transformKnown, transform, bounds, bounds.getHeight() / 2, corners);
+                }
+            } else if (drawCmd instanceof ImageDrawCmd) {
+                // inline and scaled images don't paint into the unit square.
+                include(leaf, transformKnown, transform, ((ImageDrawCmd) drawCmd).getPaintBounds(), 0, corners);
+            } else {
+                // anything else is painted in order.  Nested display lists and soft masks may leave the
+                // transform changed behind them, as may any command this index doesn't know about.
+                setInfinite(leaf);
+                if (!(drawCmd instanceof GroupDrawCmd || drawCmd instanceof OCGStartDrawCmd ||
+                        drawCmd instanceof OCGEndDrawCmd || drawCmd instanceof BlendCompositeDrawCmd ||
+                        drawCmd instanceof TilingPatternDrawCmd || drawCmd instanceof GlyphOutlineDrawCmd ||
+                        drawCmd instanceof PostScriptDrawCmd)) {
+                    transformKnown = false;
+                }
+            }
+            if (i % CHUNK_SIZE == CHUNK_SIZE - 1 || i == commandCount - 1) {
+                System.arraycopy(last, 0, checkpoints, (i / CHUNK_SIZE) * KINDS, KINDS);
+            }
+        }
+        if (commandCount == 0) {
+            Arrays.fill(checkpoints, -1);
+        }
+        boolean first = true;
+        for (int leaf = leafBase; leaf < leafBase + chunkCount; leaf++) {
+            int b = leaf * 4;
+            if (nodeBounds[b] == -INFINITE || nodeBounds[b] > nodeBounds[b + 2]) {
+                continue;
+            }
+            Rectangle2D.Double chunkBounds = new Rectangle2D.Double(nodeBounds[b], nodeBounds[b + 1],
+                    (double) nodeBounds[b + 2] - nodeBounds[b], (double) nodeBounds[b + 3] - nodeBounds[b + 1]);
+            if (first) {
+                drawnBounds.setRect(chunkBounds);
+                first = false;
+            } else {
+                drawnBounds.add(chunkBounds);
+            }
+        }
+        for (int n = leafBase - 1; n >= 1; n--) {
+            int l = 2 * n * 4, r = (2 * n + 1) * 4, b = n * 4;
+            nodeBounds[b] = Math.min(nodeBounds[l], nodeBounds[r]);
+            nodeBounds[b + 1] = Math.min(nodeBounds[l + 1], nodeBounds[r + 1]);
+            nodeBounds[b + 2] = Math.max(nodeBounds[l + 2], nodeBounds[r + 2]);
+            nodeBounds[b + 3] = Math.max(nodeBounds[l + 3], nodeBounds[r + 3]);
+        }
+    }
+
+    private void include(int leaf, boolean transformKnown, AffineTransform transform, Rectangle2D bounds,
+                         double pad, double[] corners) {
+        if (!transformKnown) {
+            setInfinite(leaf);
+            return;
+        }
+        double x0 = bounds.getMinX() - pad, y0 = bounds.getMinY() - pad;
+        double x1 = bounds.getMaxX() + pad, y1 = bounds.getMaxY() + pad;
+        corners[0] = x0;
+        corners[1] = y0;
+        corners[2] = x1;
+        corners[3] = y0;
+        corners[4] = x1;
+        corners[5] = y1;
+        corners[6] = x0;
+        corners[7] = y1;
+        transform.transform(corners, 0, corners, 0, 4);
+        int b = leaf * 4;
+        for (int k = 0; k < 8; k += 2) {
+            float x = (float) corners[k], y = (float) corners[k + 1];
+            if (Float.isNaN(x) || Float.isNaN(y)) {
+                setInfinite(leaf);
+                return;
+            }
+            // round outwards so float precision never culls a touching command.
+            nodeBounds[b] = Math.min(nodeBounds[b], Math.nextDown(x));
+            nodeBounds[b + 1] = Math.min(nodeBounds[b + 1], Math.nextDown(y));
+            nodeBounds[b + 2] = Math.max(nodeBounds[b + 2], Math.nextUp(x));
+            nodeBounds[b + 3] = Math.max(nodeBounds[b + 3], Math.nextUp(y));
+        }
+    }
+
+    private void setEmpty(int node) {
+        int b = node * 4;
+        nodeBounds[b] = INFINITE;
+        nodeBounds[b + 1] = INFINITE;
+        nodeBounds[b + 2] = -INFINITE;
+        nodeBounds[b + 3] = -INFINITE;
+    }
+
+    private void setInfinite(int node) {
+        int b = node * 4;
+        nodeBounds[b] = -INFINITE;
+        nodeBounds[b + 1] = -INFINITE;
+        nodeBounds[b + 2] = INFINITE;
+        nodeBounds[b + 3] = INFINITE;
+    }
+
+    /**
+     * Gets the chunks, in paint order, that intersect the clip of the given graphics context.
+     *
+     * @param clip device clip the list is about to be painted into.
+     * @param base transform the list is painted under.
+     * @return chunk numbers in ascending order, or null if the clip covers enough of the page that painting the
+     * whole list is as cheap.
+     */
+    public int[] query(Shape clip, AffineTransform base) {
+        if (clip == null || commandCount == 0) {
+            return null;
+        }
+        Rectangle2D area;
+        try {
+            area = base.createInverse().createTransformedShape(clip.getBounds2D()).getBounds2D();
+        } catch (NoninvertibleTransformException e) {
+            return null;
+        }
+        double scale = Math.sqrt(Math.abs(base.getDeterminant()));
+        double margin = scale > 0 ? QUERY_MARGIN / scale : 0;
+        double qx0 = area.getMinX() - margin, qy0 = area.getMinY() - margin;
+        double qx1 = area.getMaxX() + margin, qy1 = area.getMaxY() + margin;
+
+        // not worth it when the query takes in most of what is drawn.
+        Rectangle2D.Double visible = new Rectangle2D.Double(qx0, qy0, qx1 - qx0, qy1 - qy0);
+        Rectangle2D.Double drawn = new Rectangle2D.Double();
+        Rectangle2D.intersect(visible, drawnBounds, drawn);
+        if (drawnBounds.isEmpty() ||
+                Math.max(0, drawn.width) * Math.max(0, drawn.height) >
+                        MAX_QUERY_FRACTION * drawnBounds.width * drawnBounds.height) {
+            return null;
+        }
+        int[] result = new int[chunkCount];
+        int found = collect(1, qx0, qy0, qx1, qy1, result, 0);
+        return Arrays.copyOf(result, found);
+    }
+
+    private int collect(int node, double qx0, double qy0, double qx1, double qy1, int[] result, int found) {
+        int b = node * 4;
+        if (nodeBounds[b] > qx1 || nodeBounds[b + 1] > qy1 || nodeBounds[b + 2] < qx0 || nodeBounds[b + 3] < qy0) {
+            return found;
+        }
+        if (node >= leafBase) {
+            int chunk = node - leafBase;
+            if (chunk < chunkCount) {
+                result[found++] = chunk;
+            }
+            return found;
+        }
+        found = collect(2 * node, qx0, qy0, qx1, qy1, result, found);
+        return collect(2 * node + 1, qx0, qy0, qx1, qy1, result, found);
+    }
+
+    public static int chunkStart(int chunk) {
+        return chunk * CHUNK_SIZE;
+    }
+
+    public int chunkEnd(int chunk) {
+        return Math.min(commandCount, (chunk + 1) * CHUNK_SIZE);
+    }
+
+    /**
+     * Brings the graphics context up to the state it would have had after painting every command before
+     * {@code chunk}, given that commands from {@code skippedFrom} onwards were skipped.
+     *
+     * @return the current shape to carry into the chunk.
+     */
+    public Shape restore(Graphics2D g, Page parentPage, int skippedFrom, int chunk, Shape currentShape,
+                         Shape clip, AffineTransform base, OptionalContentState optionalContentState,
+                         boolean paintAlpha, PaintTimer paintTimer) throws InterruptedException {
+        if (chunk == 0) {
+            return currentShape;
+        }
+        int checkpoint = (chunk - 1) * KINDS;
+        int clipCmd = checkpoints[checkpoint + CLIP];
+        if (clipCmd >= skippedFrom) {
+            // the clip is applied under the transform it was set with, then the transform is put back.
+            AffineTransform transform = g.getTransform();
+            int clipTransform = checkpoints[checkpoint + CLIP_TRANSFORM];
+            if (clipTransform >= 0) {
+                drawCmds.get(clipTransform).paintOperand(g, parentPage, currentShape, clip, base,
+                        optionalContentState, paintAlpha, paintTimer);
+            } else {
+                g.setTransform(base);
+            }
+            int clipShape = checkpoints[checkpoint + CLIP_SHAPE];
+            Shape shape = clipShape >= 0 ? ((ShapeDrawCmd) drawCmds.get(clipShape)).getShape() : null;
+            drawCmds.get(clipCmd).paintOperand(g, parentPage, shape, clip, base,
+                    optionalContentState, paintAlpha, paintTimer);
+            g.setTransform(transform);
+        }
+        for (int kind = TRANSFORM; kind <= ALPHA; kind++) {
+            int setter = checkpoints[checkpoint + kind];
+            if (setter >= skippedFrom) {
+                drawCmds.get(setter).paintOperand(g, parentPage, currentShape, clip, base,
+                        optionalContentState, paintAlpha, paintTimer);
+            }
+        }
+        int shapeCmd = checkpoints[checkpoint + SHAPE];
+        if (shapeCmd >= skippedFrom) {
+            currentShape = ((ShapeDrawCmd) drawCmds.get(shapeCmd)).getShape();
+        }
+        return currentShape;
+    }
+}
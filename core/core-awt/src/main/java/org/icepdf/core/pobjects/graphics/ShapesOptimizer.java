@@ -0,0 +1,420 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.pobjects.graphics.commands.*;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Optimisation pass over a parsed display list.  Content generators emit a lot that paints nothing: the same
+ * colour, stroke or clip set again and again, state restored by Q and then set to the same values, state set and
+ * then replaced before anything is drawn, zero area fills and shapes drawn outside the clip, and plotter style
+ * output fills thousands of tiny shapes one at a time.  The pass, in order:
+ * <ul>
+ * <li>drops fills of zero area shapes and fills, strokes and images entirely outside the current clip,</li>
+ * <li>drops state commands that set the value already in effect,</li>
+ * <li>drops state commands replaced before anything uses them, including the shapes of dropped fills,</li>
+ * <li>removes push/pop pairs with nothing left between them,</li>
+ * <li>and merges runs of shape fills painted with the same state into one path, when the shapes' bounds don't
+ * overlap so the merged fill covers exactly the same area.</li>
+ * </ul>
+ * Only the commands whose effect on the graphics context is fully known take part.  Any other command, text,
+ * forms, groups, patterns and so on, is assumed to read and change all state, so nothing is moved or dropped
+ * across it.
+ *
+ * @since 7.5
+ */
+public class ShapesOptimizer {
+
+    // state kinds.
+    private static final int SHAPE = 0;
+    private static final int PAINT = 1;
+    private static final int STROKE = 2;
+    private static final int ALPHA = 3;
+    private static final int TRANSFORM = 4;
+    private static final int CLIP = 5;
+    private static final int KINDS = 6;
+
+    // most shapes merged into one fill, bounds the pairwise overlap test.
+    private static final int MAX_MERGED_SHAPES = 256;
+
+    private ShapesOptimizer() {
+    }
+
+    /**
+     * Optimises the given display list.  The list isn't modified, the commands kept are the same instances.
+     *
+     * @param drawCmds display list as parsed.
+     * @return optimised display list, paints the same as the original.
+     */
+    public static ArrayList<DrawCmd> optimize(List<DrawCmd> drawCmds) {
+        DrawCmd[] cmds = drawCmds.toArray(new DrawCmd[0]);
+        cull(cmds);
+        dropRedundantState(cmds);
+        dropDeadState(cmds);
+        dropEmptyPushPop(cmds);
+        return mergeFills(cmds);
+    }
+
+    private static boolean isSetter(DrawCmd drawCmd) {
+        return setterKind(drawCmd) >= 0;
+    }
+
+    // kind of state the command sets, -1 if it isn't a plain state setter.
+    private static int setterKind(DrawCmd drawCmd) {
+        if (drawCmd instanceof ShapeDrawCmd) {
+            return ((ShapeDrawCmd) drawCmd).getShape() != null ? SHAPE : -1;
+        } else if (drawCmd instanceof ColorDrawCmd || drawCmd instanceof PaintDrawCmd) {
+            return PAINT;
+        } else if (drawCmd instanceof StrokeDrawCmd) {
+            return STROKE;
+        } else if (drawCmd instanceof AlphaDrawCmd) {
+            return ALPHA;
+        } else if (drawCmd instanceof TransformDrawCmd || drawCmd instanceof TextTransformDrawCmd) {
+            return transformOf(drawCmd) != null ? TRANSFORM : -1;
+        } else if (drawCmd instanceof ClipDrawCmd || drawCmd instanceof NoClipDrawCmd) {
+            return CLIP;
+        }
+        return -1;
+    }
+
+    // commands that only read state.
+    private static boolean isPainter(DrawCmd drawCmd) {
+        return drawCmd instanceof FillDrawCmd || drawCmd instanceof DrawDrawCmd || drawCmd instanceof ImageDrawCmd;
+    }
+
+    // commands with no effect on the graphics context at all.
+    private static boolean isNeutral(DrawCmd drawCmd) {
+        return drawCmd == null || drawCmd instanceof GraphicsStateCmd;
+    }
+
+    private static AffineTransform transformOf(DrawCmd drawCmd) {
+        return drawCmd instanceof TransformDrawCmd ? ((TransformDrawCmd) drawCmd).getAffineTransform() :
+                ((TextTransformDrawCmd) drawCmd).getAffineTransform();
+    }
+
+    /**
+     * Drops fills of zero area shapes and painting commands that fall entirely outside the clip in effect.  The
+     * clip is only known after a clip command under a known transform and is the clip shape's bounds, as a clip
+     * command always starts again from the page clip.
+     */
+    private static void cull(DrawCmd[] cmds) {
+        AffineTransform transform = new AffineTransform();
+        boolean transformKnown = true;
+        Rectangle2D clipBounds = null;
+        Shape shape = null;
+        Stroke stroke = null;
+        for (int i = 0; i < cmds.length; i++) {
+            DrawCmd drawCmd = cmds[i];
+            if (drawCmd instanceof ShapeDrawCmd) {
+                shape = ((ShapeDrawCmd) drawCmd).getShape();
+            } else if (drawCmd instanceof StrokeDrawCmd) {
+                stroke = ((StrokeDrawCmd) drawCmd).getStroke();
+            } else if (drawCmd instanceof TransformDrawCmd || drawCmd instanceof TextTransformDrawCmd) {
+                transform = transformOf(drawCmd);
+                transformKnown = transform != null;
+            } else if (drawCmd instanceof ClipDrawCmd) {
+                clipBounds = transformKnown && shape != null ?
+                        transform.createTransformedShape(shape.getBounds2D()).getBounds2D() : null;
+            } else if (drawCmd instanceof NoClipDrawCmd) {
+                clipBounds = null;
+            } else if (drawCmd instanceof FillDrawCmd) {
+                if (shape != null) {
+                    Rectangle2D bounds = shape.getBounds2D();
+                    if (bounds.getWidth() <= 0 || bounds.getHeight() <= 0 ||
+                            isOutside(clipBounds, transformKnown, transform, bounds)) {
+                        cmds[i] = null;
+                    }
+                }
+            } else if (drawCmd instanceof DrawDrawCmd) {
+                if (shape != null && stroke instanceof BasicStroke) {
+                    BasicStroke basicStroke = (BasicStroke) stroke;
+                    double pad = basicStroke.getLineWidth() / 2 * Math.max(1, basicStroke.getMiterLimit()) + 1;
+                    Rectangle2D bounds = shape.getBounds2D();
+                    bounds.setRect(bounds.getX() - pad, bounds.getY() - pad,
+                            bounds.getWidth() + 2 * pad, bounds.getHeight() + 2 * pad);
+                    if (isOutside(clipBounds, transformKnown, transform, bounds)) {
+                        cmds[i] = null;
+                    }
+                }
+            } else if (drawCmd instanceof ImageDrawCmd) {
+                if (isOutside(clipBounds, transformKnown, transform, ((ImageDrawCmd) drawCmd).getPaintBounds())) {
+                    cmds[i] = null;
+                }
+            } else if (!isNeutral(drawCmd) && !isSetter(drawCmd)) {
+                transformKnown = false;
+                clipBounds = null;
+                shape = null;
+                stroke = null;
+            }
+        }
+    }
+
+    private static boolean isOutside(Rectangle2D clipBounds, boolean transformKnown, AffineTransform transform,
+                                     Rectangle2D bounds) {
+        if (clipBounds == null || !transformKnown) {
+            return false;
+        }
+        Rectangle2D drawn = transform.createTransformedShape(bounds).getBounds2D();
+        return !drawn.intersects(clipBounds);
+    }
+
+    /**
+     * Drops state commands setting the value that is already in effect.
+     */
+    private static void dropRedundantState(DrawCmd[] cmds) {
+        Object[] current = new Object[KINDS];
+        // a clip depends on the shape and transform it was set with.
+        Object clipTransform = null;
+        Shape clipShape = null;
+        for (int i = 0; i < cmds.length; i++) {
+            DrawCmd drawCmd = cmds[i];
+            if (isNeutral(drawCmd) || isPainter(drawCmd)) {
+                continue;
+            }
+            int kind = setterKind(drawCmd);
+            Object value;
+            switch (kind) {
+                case SHAPE:
+                    // shapes are cheap to set and always distinct objects, just track them.
+                    current[SHAPE] = ((ShapeDrawCmd) drawCmd).getShape();
+                    continue;
+                case PAINT:
+                    value = paintOf(drawCmd);
+                    break;
+                case STROKE:
+                    value = ((StrokeDrawCmd) drawCmd).getStroke();
+                    break;
+                case ALPHA:
+                    value = ((AlphaDrawCmd) drawCmd).getAlphaComposite();
+                    break;
+                case TRANSFORM:
+                    value = transformOf(drawCmd);
+                    break;
+                case CLIP:
+                    if (drawCmd instanceof NoClipDrawCmd) {
+                        value = NoClipDrawCmd.class;
+                        if (value.equals(current[CLIP])) {
+                            cmds[i] = null;
+                        }
+                        current[CLIP] = value;
+                    } else {
+                        Shape shape = (Shape) current[SHAPE];
+                        Object transform = current[TRANSFORM];
+                        if (shape != null && transform != null && current[CLIP] == ClipDrawCmd.class &&
+                                transform.equals(clipTransform) && samePath(shape, clipShape)) {
+                            cmds[i] = null;
+                        }
+                        current[CLIP] = shape != null && transform != null ? ClipDrawCmd.class : null;
+                        clipTransform = transform;
+                        clipShape = shape;
+                    }
+                    continue;
+                default:
+                    Arrays.fill(current, null);
+                    continue;
+            }
+            if (value != null && value.equals(current[kind])) {
+                cmds[i] = null;
+            } else {
+                current[kind] = value;
+            }
+        }
+    }
+
+    // paint value of a paint command if two equal values are known to paint the same, otherwise null.
+    private static Object paintOf(DrawCmd drawCmd) {
+        if (drawCmd instanceof ColorDrawCmd) {
+            Color color = ((ColorDrawCmd) drawCmd).getColor();
+            // Color.equals only compares sRGB values.
+            return color != null && color.getClass() == Color.class && color.getColorSpace().isCS_sRGB() ?
+                    color : null;
+        }
+        return null;
+    }
+
+    private static boolean samePath(Shape a, Shape b) {
+        if (a == b) {
+            return true;
+        } else if (a == null || b == null) {
+            return false;
+        } else if (a instanceof Rectangle2D && b instanceof Rectangle2D) {
+            return a.equals(b);
+        }
+        PathIterator pa = a.getPathIterator(null);
+        PathIterator pb = b.getPathIterator(null);
+        if (pa.getWindingRule() != pb.getWindingRule()) {
+            return false;
+        }
+        double[] ca = new double[6];
+        double[] cb = new double[6];
+        for (; !pa.isDone() && !pb.isDone(); pa.next(), pb.next()) {
+            int type = pa.currentSegment(ca);
+            if (type != pb.currentSegment(cb) || !Arrays.equals(ca, cb)) {
+                return false;
+            }
+            Arrays.fill(ca, 0);
+            Arrays.fill(cb, 0);
+        }
+        return pa.isDone() && pb.isDone();
+    }
+
+    /**
+     * Drops state commands whose value is replaced before anything reads it, walking the list backwards and
+     * tracking which state is still to be read.
+     */
+    private static void dropDeadState(DrawCmd[] cmds) {
+        boolean[] live = new boolean[KINDS];
+        // whatever is left in effect at the end may still be read by the caller.
+        Arrays.fill(live, true);
+        for (int i = cmds.length - 1; i >= 0; i--) {
+            DrawCmd drawCmd = cmds[i];
+            if (isNeutral(drawCmd)) {
+                continue;
+            }
+            int kind = setterKind(drawCmd);
+            if (kind >= 0) {
+                if (!live[kind]) {
+                    cmds[i] = null;
+                    continue;
+                }
+                live[kind] = false;
+                if (drawCmd instanceof ClipDrawCmd) {
+                    live[SHAPE] = true;
+                    live[TRANSFORM] = true;
+                }
+            } else if (drawCmd instanceof FillDrawCmd) {
+                live[SHAPE] = live[PAINT] = live[ALPHA] = live[TRANSFORM] = live[CLIP] = true;
+            } else if (drawCmd instanceof DrawDrawCmd) {
+                live[SHAPE] = live[PAINT] = live[STROKE] = live[ALPHA] = live[TRANSFORM] = live[CLIP] = true;
+            } else {
+                Arrays.fill(live, true);
+            }
+        }
+    }
+
+    /**
+     * Removes push/pop pairs that no longer wrap anything.
+     */
+    private static void dropEmptyPushPop(DrawCmd[] cmds) {
+        // open pushes, the push's index while nothing has followed it, -1 once something has.
+        int[] pushes = new int[16];
+        int depth = 0;
+        for (int i = 0; i < cmds.length; i++) {
+            DrawCmd drawCmd = cmds[i];
+            if (drawCmd == null) {
+                continue;
+            }
+            if (drawCmd instanceof PushDrawCmd) {
+                if (depth == pushes.length) {
+                    pushes = Arrays.copyOf(pushes, depth * 2);
+                }
+                pushes[depth++] = i;
+            } else if (drawCmd instanceof PopDrawCmd && depth > 0 && pushes[depth - 1] >= 0) {
+                cmds[pushes[--depth]] = null;
+                cmds[i] = null;
+            } else {
+                if (drawCmd instanceof PopDrawCmd && depth > 0) {
+                    depth--;
+                }
+                // the open pushes now wrap something.
+                for (int d = 0; d < depth; d++) {
+                    pushes[d] = -1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges runs of shape and fill pairs into a single fill.  A run only continues while the next pair's
+     * shape doesn't overlap any shape already in it, overlapping translucent fills would blend twice where they
+     * cross and opposite windings could cancel in a merged path, and ends on a pair followed by a new shape so
+     * the merged path is never read as the current shape afterwards.
+     */
+    private static ArrayList<DrawCmd> mergeFills(DrawCmd[] cmds) {
+        ArrayList<DrawCmd> compact = new ArrayList<>(cmds.length);
+        for (DrawCmd drawCmd : cmds) {
+            if (drawCmd != null) {
+                compact.add(drawCmd);
+            }
+        }
+        int size = compact.size();
+        ArrayList<DrawCmd> optimized = new ArrayList<>(size);
+        ArrayList<Rectangle2D> runBounds = new ArrayList<>();
+        int i = 0;
+        while (i < size) {
+            int runEnd = i;
+            int windingRule = -1;
+            Rectangle2D union = null;
+            runBounds.clear();
+            while (runEnd + 1 < size && runBounds.size() < MAX_MERGED_SHAPES &&
+                    isPlainShape(compact.get(runEnd)) && compact.get(runEnd + 1) instanceof FillDrawCmd &&
+                    (runEnd + 2 == size || isPlainShape(compact.get(runEnd + 2)))) {
+                Shape shape = ((ShapeDrawCmd) compact.get(runEnd)).getShape();
+                // a rectangle fills the same under either rule.
+                int rule = shape instanceof Rectangle2D ? -1 : shape.getPathIterator(null).getWindingRule();
+                if (rule >= 0 && windingRule >= 0 && rule != windingRule) {
+                    break;
+                }
+                Rectangle2D bounds = shape.getBounds2D();
+                if (union != null && union.intersects(bounds) && overlapsAny(runBounds, bounds)) {
+                    break;
+                }
+                if (rule >= 0) {
+                    windingRule = rule;
+                }
+                union = union == null ? bounds : union.createUnion(bounds);
+                runBounds.add(bounds);
+                runEnd += 2;
+            }
+            int pairs = (runEnd - i) / 2;
+            if (pairs > 1) {
+                GeneralPath merged = new GeneralPath(windingRule >= 0 ? windingRule : GeneralPath.WIND_NON_ZERO);
+                for (int k = i; k < runEnd; k += 2) {
+                    merged.append(((ShapeDrawCmd) compact.get(k)).getShape(), false);
+                }
+                optimized.add(new ShapeDrawCmd(merged));
+                optimized.add(compact.get(runEnd - 1));
+                i = runEnd;
+            } else {
+                optimized.add(compact.get(i++));
+            }
+        }
+        optimized.trimToSize();
+        return optimized;
+    }
+
+    private static boolean isPlainShape(DrawCmd drawCmd) {
+        return drawCmd instanceof ShapeDrawCmd && ((ShapeDrawCmd) drawCmd).getShape() != null;
+    }
+
+    private static boolean overlapsAny(List<Rectangle2D> runBounds, Rectangle2D bounds) {
+        for (Rectangle2D other : runBounds) {
+            if (other.intersects(bounds)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
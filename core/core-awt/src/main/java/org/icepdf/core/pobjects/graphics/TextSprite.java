@@ -73,6 +73,9 @@ public class TextSprite {
 
     private static final String TYPE_3 = "Type3";
 
+    // text bars are painted lighter than the glyphs they stand in for as glyphs only cover part of their box.
+    private static final float DRAFT_TEXT_ALPHA = 0.45f;
+
     /**
      * <p>Creates a new TextSprite object.</p>
      *
@@ -272,6 +275,31 @@ public class TextSprite {
         }
     }
 
+    /**
+     * Paints a simplified representation of this sprite, a flat bar over the text
+     * run's bounds, instead of the individual glyphs.  At thumbnail sizes glyphs are
+     * only a few pixels high so the bar reads the same while skipping glyph outline
+     * and font hinting work entirely.  Invisible text (rmode 3 and 7) paints nothing.
+     *
+     * @param g graphics context to which the text bar will be painted to.
+     */
+    public void paintDraft(Graphics2D g) {
+        if (rmode == 3 || rmode == 7 || bounds == null || glyphTexts.isEmpty()) {
+            return;
+        }
+        Color oldColor = g.getColor();
+        Composite oldComposite = g.getComposite();
+        if (strokeColor != null) {
+            g.setColor(strokeColor);
+        }
+        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, DRAFT_TEXT_ALPHA));
+        // keep the middle of the line box, ascenders and descenders are mostly white space.
+        float inset = bounds.height * 0.2f;
+        g.fill(new Rectangle2D.Float(bounds.x, bounds.y + inset, bounds.width, bounds.height - inset * 2));
+        g.setComposite(oldComposite);
+        g.setColor(oldColor);
+    }
+
     /**
      * Gets the glyph outline as an Area.  This method is primarily used
      * for processing text rendering modes 4 - 7.
@@ -367,6 +367,20 @@ public class TilingPattern extends Stream implements Pattern {
      *             space transform of the page.
      */
     public void paintPattern(Graphics2D g, final AffineTransform base) {
+        paintPattern(g, base, null);
+    }
+
+    /**
+     * Applies the pattern paint specified by this TilingPattern instance.  When the shape about to be filled is
+     * known and covers a large device area the tile is blitted across it directly, see
+     * {@link #paintTiles(Graphics2D, BufferedImage, Shape, double, double, double, double)}.
+     *
+     * @param g         graphics context to apply textured paint too.
+     * @param base      base transform before painting started, generally the page
+     *                  space transform of the page.
+     * @param fillShape shape the pattern is about to fill, null if unknown or for strokes.
+     */
+    public void paintPattern(Graphics2D g, final AffineTransform base, Shape fillShape) {
 
         // base represents the current page transform, zoom and rotation,
         // the g.getTransform() will be the state of the current graphics
@@ -462,16 +476,46 @@ public class TilingPattern extends Stream implements Pattern {
         double renderScaleX = width > 0 ? imageWidth / width : baseScale;
         double renderScaleY = height > 0 ? imageHeight / height : baseScale;
 
+        // The tile's pixels only depend on the scale, rotation and shear of originalPageSpace, the translation
+        // is applied by the texture anchor, so one rendered tile serves every fill at the same zoom.
+        TilingPatternTileCache tileCache = null;
+        TilingPatternTileCache.Key tileKey = null;
+        if (TilingPatternTileCache.isEnabled() && getPObjectReference() != null && library != null) {
+            tileCache = library.getTilingPatternTileCache();
+            tileKey = TilingPatternTileCache.createKey(getPObjectReference(), originalPageSpace, baseScale,
+                    paintType == PAINTING_TYPE_UNCOLORED_TILING_PATTERN ? unColored : null);
+        }
+        BufferedImage bi = tileCache != null ? tileCache.get(tileKey) : null;
+        if (bi == null) {
+            bi = createTile(originalPageSpace, imageWidth, imageHeight, renderScaleX, renderScaleY);
+            // an interrupted paint leaves a partial tile, don't publish it.
+            if (tileCache != null && !Thread.currentThread().isInterrupted()) {
+                tileCache.put(tileKey, bi);
+            }
+        }
+
+        if (fillShape == null || !paintTiles(g, bi, fillShape, xOffset, yOffset, width, height)) {
+            TexturePaint patternPaint = new TexturePaint(bi, new Rectangle2D.Double(
+                    xOffset, yOffset,
+                    width, height));
+            g.setPaint(patternPaint);
+        }
+        // a cached tile is shared, only a one off tile can give up its accelerated copy.
+        if (tileCache == null) {
+            bi.flush();
+        }
+    }
+
+    /**
+     * Renders the pattern cell into a new tile image.
+     */
+    private BufferedImage createTile(AffineTransform originalPageSpace, double imageWidth, double imageHeight,
+                                     double renderScaleX, double renderScaleY) {
         // create the new image to write too.
         final BufferedImage bi = ImageUtility.createTranslucentCompatibleImage((int) Math.round(imageWidth),
                 (int) Math.round(imageHeight));
         Graphics2D canvas = bi.createGraphics();
 
-        TexturePaint patternPaint = new TexturePaint(bi, new Rectangle2D.Double(
-                xOffset, yOffset,
-                width, height));
-        g.setPaint(patternPaint);
-
         // apply current hints
         canvas.setRenderingHints(renderingHints);
         // if we have a really small tile we risk paint just black at low zoom levels,  to avoid this we'll set
@@ -520,11 +564,79 @@ public class TilingPattern extends Stream implements Pattern {
         //        f.setVisible(true);
         // post paint cleanup
         canvas.dispose();
-        bi.flush();
+        return bi;
     }
 
     private static final Color TRANSPARENT = new Color(0, 0, 0, 0);
 
+    // fills smaller than this many device pixels stay on the TexturePaint path, it is as fast for small areas.
+    private static final long DIRECT_FILL_MIN_PIXELS = 256 * 256;
+    // and fills needing more than this many tile blits stay on it too, the per image overhead would dominate.
+    private static final int DIRECT_FILL_MAX_TILES = 1024;
+
+    /**
+     * Fills a large area by blitting the tile across the part of the fill shape inside the clip, rather than
+     * having the TexturePaint sample the tile for every pixel of the fill.  Only used when the graphics transform
+     * is axis aligned so the tiles can be snapped to whole device pixels without seams.  Like the single stamp
+     * the follow-on fill is neutralised.
+     *
+     * @return true if the fill was painted, false if the caller should fall back to a TexturePaint.
+     */
+    private boolean paintTiles(Graphics2D g, BufferedImage tile, Shape fillShape,
+                               double xOffset, double yOffset, double width, double height) {
+        AffineTransform transform = g.getTransform();
+        if (transform.getShearX() != 0 || transform.getShearY() != 0) {
+            return false;
+        }
+        Rectangle2D area = fillShape.getBounds2D();
+        Shape clip = g.getClip();
+        if (clip != null) {
+            Rectangle2D.intersect(area, clip.getBounds2D(), area);
+        }
+        if (area.isEmpty()) {
+            return false;
+        }
+        double deviceWidth = Math.abs(area.getWidth() * transform.getScaleX());
+        double deviceHeight = Math.abs(area.getHeight() * transform.getScaleY());
+        if (deviceWidth * deviceHeight < DIRECT_FILL_MIN_PIXELS) {
+            return false;
+        }
+        // tile indices covering the area, relative to the texture anchor.
+        long startX = (long) Math.floor((area.getMinX() - xOffset) / width);
+        long endX = (long) Math.ceil((area.getMaxX() - xOffset) / width);
+        long startY = (long) Math.floor((area.getMinY() - yOffset) / height);
+        long endY = (long) Math.ceil((area.getMaxY() - yOffset) / height);
+        if ((endX - startX) * (endY - startY) > DIRECT_FILL_MAX_TILES) {
+            return false;
+        }
+
+        Object prevInterp = g.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+        g.clip(fillShape);
+        // blit in device space, tile edges rounded from the same values so neighbours share an edge.
+        g.setTransform(new AffineTransform());
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        double scaleX = transform.getScaleX(), scaleY = transform.getScaleY();
+        double tx = transform.getTranslateX(), ty = transform.getTranslateY();
+        int tileWidth = tile.getWidth(), tileHeight = tile.getHeight();
+        for (long j = startY; j < endY; j++) {
+            int y0 = (int) Math.round((yOffset + j * height) * scaleY + ty);
+            int y1 = (int) Math.round((yOffset + (j + 1) * height) * scaleY + ty);
+            for (long i = startX; i < endX; i++) {
+                int x0 = (int) Math.round((xOffset + i * width) * scaleX + tx);
+                int x1 = (int) Math.round((xOffset + (i + 1) * width) * scaleX + tx);
+                // x1 < x0 or y1 < y0 flips the tile, as the texture is under a flipping transform.
+                g.drawImage(tile, x0, y0, x1, y1, 0, 0, tileWidth, tileHeight, null);
+            }
+        }
+        g.setTransform(transform);
+        g.setClip(clip);
+        if (prevInterp != null) {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, prevInterp);
+        }
+        g.setPaint(TRANSPARENT);
+        return true;
+    }
+
     /**
      * Paints a pattern that appears at most once in the current clip (its step
      * exceeds the fill) as a single stamp: the BBox content is rendered at BBox
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.pobjects.Reference;
+import org.icepdf.core.util.Defs;
+import org.icepdf.core.util.memory.DocumentMemory;
+import org.icepdf.core.util.memory.MemoryConsumer;
+import org.icepdf.core.util.memory.RebuildCost;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded per document cache of rendered tiling pattern tiles.  CAD drawings fill thousands of hatched regions
+ * with the same pattern on a page, and without a cache every fill allocated a new tile and repainted the pattern
+ * cell's shapes into it.
+ * <br>
+ * A tile's pixels depend only on the pattern, the scale, rotation and shear of the device transform (the
+ * translation just moves the texture anchor) and, for uncoloured patterns, the fill colour, so that is the key.
+ * The transform components are quantised so sub-pixel differences in the CTM still hit.
+ * <br>
+ * Tiles are evicted least recently used first once the cache exceeds {@code org.icepdf.core.tiling.tileCacheSize}
+ * MB, default 16, or when the memory governor needs room.  Cached tiles are shared by concurrent paints and
+ * must never be drawn into once published.
+ *
+ * @since 7.5
+ */
+public class TilingPatternTileCache implements MemoryConsumer {
+
+    private static final long maxBytes =
+            Math.max(0, Defs.intProperty("org.icepdf.core.tiling.tileCacheSize", 16)) * 1024L * 1024L;
+
+    private static final double QUANTUM = 8192;
+
+    private final LinkedHashMap<Key, BufferedImage> tiles = new LinkedHashMap<>(32, 0.75f, true);
+    private long bytes;
+    private final DocumentMemory memory;
+
+    public TilingPatternTileCache() {
+        this(null);
+    }
+
+    /**
+     * Creates a cache that reports the memory of its tiles.
+     *
+     * @param memory memory account of the document, can be null.
+     */
+    public TilingPatternTileCache(DocumentMemory memory) {
+        this.memory = memory;
+    }
+
+    public static boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    /**
+     * Builds a tile key.
+     *
+     * @param patternReference pattern object reference.
+     * @param transform        transform the tile is rendered with, only scale, rotation and shear are used.
+     * @param baseScale        tile over sampling factor.
+     * @param fillColor        fill colour of an uncoloured pattern, null for coloured patterns.
+     * @return tile key.
+     */
+    public static Key createKey(Reference patternReference, AffineTransform transform, double baseScale,
+                                Color fillColor) {
+        return new Key(patternReference, transform, baseScale, fillColor);
+    }
+
+    public synchronized BufferedImage get(Key key) {
+        return tiles.get(key);
+    }
+
+    public void put(Key key, BufferedImage tile) {
+        long size = sizeOf(tile);
+        if (size > maxBytes) {
+            return;
+        }
+        putTile(key, tile, size);
+        // reported outside the lock, the report can evict from this cache.
+        if (memory != null) {
+            memory.allocated(size);
+        }
+    }
+
+    private synchronized void putTile(Key key, BufferedImage tile, long size) {
+        BufferedImage previous = tiles.put(key, tile);
+        if (previous != null) {
+            bytes -= sizeOf(previous);
+        }
+        bytes += size;
+        Iterator<Map.Entry<Key, BufferedImage>> iterator = tiles.entrySet().iterator();
+        while (bytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<Key, BufferedImage> eldest = iterator.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            bytes -= sizeOf(eldest.getValue());
+            iterator.remove();
+        }
+    }
+
+    public synchronized void clear() {
+        tiles.clear();
+        bytes = 0;
+    }
+
+    public synchronized long getSize() {
+        return bytes;
+    }
+
+    @Override
+    public String getName() {
+        return "Pattern tiles";
+    }
+
+    @Override
+    public RebuildCost getRebuildCost() {
+        return RebuildCost.RENDER;
+    }
+
+    @Override
+    public long getSizeInBytes() {
+        return getSize();
+    }
+
+    /**
+     * Evicts tiles, least recently used first.
+     */
+    @Override
+    public synchronized long evict(long bytes) {
+        long freed = 0;
+        Iterator<BufferedImage> iterator = tiles.values().iterator();
+        while (freed < bytes && iterator.hasNext()) {
+            freed += sizeOf(iterator.next());
+            iterator.remove();
+        }
+        this.bytes -= freed;
+        return freed;
+    }
+
+    private static long sizeOf(BufferedImage image) {
+        // tiles are always 32 bit translucent images.
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+
+    /**
+     * Tile identity, see the class comment.
+     */
+    public static final class Key {
+        private final Reference patternReference;
+        private final long m00, m10, m01, m11, scale;
+        private final int color;
+
+        private Key(Reference patternReference, AffineTransform transform, double baseScale, Color fillColor) {
+            this.patternReference = patternReference;
+            m00 = Math.round(transform.getScaleX() * QUANTUM);
+            m10 = Math.round(transform.getShearY() * QUANTUM);
+            m01 = Math.round(transform.getShearX() * QUANTUM);
+            m11 = Math.round(transform.getScaleY() * QUANTUM);
+            scale = Math.round(baseScale * QUANTUM);
+            color = fillColor != null ? fillColor.getRGB() : 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return m00 == that.m00 && m10 == that.m10 && m01 == that.m01 && m11 == that.m11 &&
+                    scale == that.scale && color == that.color && patternReference.equals(that.patternReference);
+        }
+
+        @Override
+        public int hashCode() {
+            long h = patternReference.hashCode();
+            h = 31 * h + m00;
+            h = 31 * h + m10;
+            h = 31 * h + m01;
+            h = 31 * h + m11;
+            h = 31 * h + scale;
+            h = 31 * h + color;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
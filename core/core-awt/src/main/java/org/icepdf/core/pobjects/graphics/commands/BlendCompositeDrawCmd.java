@@ -20,6 +20,7 @@ import org.icepdf.core.pobjects.Page;
 import org.icepdf.core.pobjects.graphics.BlendComposite;
 import org.icepdf.core.pobjects.graphics.OptionalContentState;
 import org.icepdf.core.pobjects.graphics.PaintTimer;
+import org.icepdf.core.util.GraphicsRenderingHints;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
@@ -32,6 +33,8 @@ import java.awt.geom.AffineTransform;
 public class BlendCompositeDrawCmd extends AbstractDrawCmd {
 
     private final Composite blendComposite;
+    // plain alpha stand-in for the blend, painted when the render profile approximates blends.
+    private final Composite approximateComposite;
     private boolean alphaCompositeFallback;
 
     public BlendCompositeDrawCmd(Name blendComposite, float alpha) {
@@ -40,6 +43,8 @@ public class BlendCompositeDrawCmd extends AbstractDrawCmd {
             alpha = 1;
         }
         this.blendComposite = BlendComposite.getInstance(blendComposite, alpha);
+        this.approximateComposite = this.blendComposite instanceof BlendComposite ?
+                AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha) : this.blendComposite;
     }
 
     /**
@@ -65,10 +70,12 @@ public class BlendCompositeDrawCmd extends AbstractDrawCmd {
                               boolean paintAlpha, PaintTimer paintTimer) {
 
         if (paintAlpha && blendComposite != null) {
-            if (!alphaCompositeFallback) {
-                g.setComposite(blendComposite);
-            } else {
+            if (alphaCompositeFallback) {
                 g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, .30f));
+            } else if (GraphicsRenderingHints.isApproximateBlend(g)) {
+                g.setComposite(approximateComposite);
+            } else {
+                g.setComposite(blendComposite);
             }
         }
 
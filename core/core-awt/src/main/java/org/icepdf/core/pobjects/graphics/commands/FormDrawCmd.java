@@ -21,6 +21,7 @@ import org.icepdf.core.pobjects.Page;
 import org.icepdf.core.pobjects.graphics.*;
 import org.icepdf.core.pobjects.graphics.images.ImageUtility;
 import org.icepdf.core.util.Defs;
+import org.icepdf.core.util.GraphicsRenderingHints;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
@@ -329,6 +330,10 @@ public class FormDrawCmd extends AbstractDrawCmd {
         this.backdropIndex = index;
     }
 
+    public Shapes getBackdropShapes() {
+        return backdropShapes;
+    }
+
     @Override
     public Shape paintOperand(Graphics2D g, Page parentPage, Shape currentShape,
                               Shape clip, AffineTransform base,
@@ -944,33 +949,40 @@ public class FormDrawCmd extends AbstractDrawCmd {
         byte[] srcInk = new byte[n * 4];
         int[] srcAlpha = new int[n];
         int[] backdropArgb = new int[n];
-        int[] isoRow = new int[w];
-        int[] bRow = new int[w];
         java.awt.image.WritableRaster ink = sink.getInk();
         java.awt.image.WritableRaster cov = sink.getCoverage();
-        for (int yy = 0; yy < h; yy++) {
-            isolated.getRGB(0, yy, w, 1, isoRow, 0, w);
-            backdrop.getRGB(0, yy, w, 1, bRow, 0, w);
-            for (int xx = 0; xx < w; xx++) {
-                int i = yy * w + xx;
-                int argb = isoRow[xx];
-                srcAlpha[i] = argb >>> 24;
-                backdropArgb[i] = bRow[xx];
-                int p = i * 4;
-                if ((cov.getSample(xx, yy, 0) & 0xFF) > 127) {
-                    srcInk[p] = (byte) ink.getSample(xx, yy, 0);
-                    srcInk[p + 1] = (byte) ink.getSample(xx, yy, 1);
-                    srcInk[p + 2] = (byte) ink.getSample(xx, yy, 2);
-                    srcInk[p + 3] = (byte) ink.getSample(xx, yy, 3);
-                } else {
-                    // no captured ink here -> sRGB-recovered pure-CMY (K=0)
-                    srcInk[p] = (byte) (255 - ((argb >> 16) & 0xFF));
-                    srcInk[p + 1] = (byte) (255 - ((argb >> 8) & 0xFF));
-                    srcInk[p + 2] = (byte) (255 - (argb & 0xFF));
-                    srcInk[p + 3] = 0;
+        // rows fill disjoint slices of the arrays, read a row of ink and coverage
+        // at a time rather than a sample per pixel per channel.
+        PixelRows.forEachRow(h, n, (fromRow, toRow) -> {
+            int[] isoRow = new int[w];
+            int[] covRow = new int[w];
+            int[] inkRow = new int[w * 4];
+            for (int yy = fromRow; yy < toRow; yy++) {
+                isolated.getRGB(0, yy, w, 1, isoRow, 0, w);
+                backdrop.getRGB(0, yy, w, 1, backdropArgb, yy * w, w);
+                cov.getSamples(0, yy, w, 1, 0, covRow);
+                ink.getPixels(0, yy, w, 1, inkRow);
+                for (int xx = 0; xx < w; xx++) {
+                    int i = yy * w + xx;
+                    int argb = isoRow[xx];
+                    srcAlpha[i] = argb >>> 24;
+                    int p = i * 4;
+                    if ((covRow[xx] & 0xFF) > 127) {
+                        int k = xx * 4;
+                        srcInk[p] = (byte) inkRow[k];
+                        srcInk[p + 1] = (byte) inkRow[k + 1];
+                        srcInk[p + 2] = (byte) inkRow[k + 2];
+                        srcInk[p + 3] = (byte) inkRow[k + 3];
+                    } else {
+                        // no captured ink here -> sRGB-recovered pure-CMY (K=0)
+                        srcInk[p] = (byte) (255 - ((argb >> 16) & 0xFF));
+                        srcInk[p + 1] = (byte) (255 - ((argb >> 8) & 0xFF));
+                        srcInk[p + 2] = (byte) (255 - (argb & 0xFF));
+                        srcInk[p + 3] = 0;
+                    }
                 }
             }
-        }
+        });
         return CmykGroupCompositor.compose(srcInk, srcAlpha, backdropArgb,
                 toBlendingMode(blend), ca, w, h);
     }
@@ -1005,33 +1017,53 @@ public class FormDrawCmd extends AbstractDrawCmd {
         // Reuse the isolated buffer as the output (the contribution replaces it in
         // place) instead of allocating a third full-page buffer per group; the
         // backdrop row is the only other input and is read before the matching
-        // isolated pixel is overwritten.
-        int[] is = new int[w], b0 = new int[w];
-        double[] cs = new double[n], cb = new double[n], out = new double[n];
-        for (int yy = 0; yy < h; yy++) {
-            isolated.getRGB(0, yy, w, 1, is, 0, w);
-            backdrop.getRGB(0, yy, w, 1, b0, 0, w);
-            for (int xx = 0; xx < w; xx++) {
-                int ag = is[xx] >>> 24;
-                if (ag == 0) {
-                    is[xx] = 0; // no group contribution -> page shows through
-                    continue;
+        // isolated pixel is overwritten.  Rows are independent, so large groups
+        // are composed in parallel bands; INT_ARGB buffers (the usual case) are
+        // read and written through their int arrays instead of getRGB/setRGB.
+        boolean packed = isIntArgb(isolated) && isIntArgb(backdrop);
+        PixelRows.forEachRow(h, (long) w * h, (fromRow, toRow) -> {
+            int[] is = new int[w], b0 = new int[w];
+            double[] cs = new double[n], cb = new double[n], out = new double[n];
+            for (int yy = fromRow; yy < toRow; yy++) {
+                int[] isRow = is, bRow = b0;
+                int isPos = 0, bPos = 0;
+                if (packed) {
+                    isRow = PixelRows.getData(isolated.getRaster());
+                    bRow = PixelRows.getData(backdrop.getRaster());
+                    isPos = PixelRows.getIndex(isolated.getRaster(), 0, yy);
+                    bPos = PixelRows.getIndex(backdrop.getRaster(), 0, yy);
+                } else {
+                    isolated.getRGB(0, yy, w, 1, is, 0, w);
+                    backdrop.getRGB(0, yy, w, 1, b0, 0, w);
                 }
-                int outAlpha = (int) Math.round(ca * ag);
-                if (outAlpha < 0) outAlpha = 0;
-                else if (outAlpha > 255) outAlpha = 255;
-                space.fromSRGB(is[xx], cs);   // isolated group colour Cs
-                space.fromSRGB(b0[xx], cb);   // real backdrop colour Cb
-                for (int c = 0; c < n; c++) {
-                    out[c] = space.separable(mode, cb[c], cs[c]);   // B(Cb, Cs)
+                for (int xx = 0; xx < w; xx++) {
+                    int ag = isRow[isPos + xx] >>> 24;
+                    if (ag == 0) {
+                        isRow[isPos + xx] = 0; // no group contribution -> page shows through
+                        continue;
+                    }
+                    int outAlpha = (int) Math.round(ca * ag);
+                    if (outAlpha < 0) outAlpha = 0;
+                    else if (outAlpha > 255) outAlpha = 255;
+                    space.fromSRGB(isRow[isPos + xx], cs);   // isolated group colour Cs
+                    space.fromSRGB(bRow[bPos + xx], cb);     // real backdrop colour Cb
+                    for (int c = 0; c < n; c++) {
+                        out[c] = space.separable(mode, cb[c], cs[c]);   // B(Cb, Cs)
+                    }
+                    isRow[isPos + xx] = space.toSRGB(out, outAlpha);
+                }
+                if (!packed) {
+                    isolated.setRGB(0, yy, w, 1, is, 0, w);
                 }
-                is[xx] = space.toSRGB(out, outAlpha);
             }
-            isolated.setRGB(0, yy, w, 1, is, 0, w);
-        }
+        });
         return isolated;
     }
 
+    private static boolean isIntArgb(BufferedImage image) {
+        return image.getType() == BufferedImage.TYPE_INT_ARGB && PixelRows.isIntPacked(image.getRaster());
+    }
+
     /**
      * Maps a PDF blend-mode {@link Name} to the {@link BlendComposite.BlendingMode}
      * the {@link BlendingSpace} understands; only the separable modes appear on a
@@ -1297,9 +1329,11 @@ public class FormDrawCmd extends AbstractDrawCmd {
                 // compose over them (§11.4.5.5).  Flag the scope so each nested
                 // group's draw-back (below) uses KnockoutComposite; the flag is
                 // set unconditionally, so a non-knockout group also clears it for
-                // its own children instead of inheriting an ancestor's.
+                // its own children instead of inheriting an ancestor's.  A render
+                // profile can turn knockout off, the elements then simply
+                // compose over each other.
                 boolean previousKnockout = paintingKnockoutGroup.get();
-                paintingKnockoutGroup.set(xForm.isKnockOut());
+                paintingKnockoutGroup.set(xForm.isKnockOut() && !GraphicsRenderingHints.isKnockoutOff(canvas));
                 try {
                     // parent page and any sentinel fill override passed as call-local
                     // parameters, no shared-state mutation.
@@ -22,9 +22,11 @@ import org.icepdf.core.pobjects.graphics.PaintTimer;
 import org.icepdf.core.pobjects.graphics.images.ImageStream;
 import org.icepdf.core.pobjects.graphics.images.references.ImageReference;
 import org.icepdf.core.util.Defs;
+import org.icepdf.core.util.GraphicsRenderingHints;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
 
 /**
  * The ImageDrawCmd class when executed will draw the image associated
@@ -46,6 +48,9 @@ public class ImageDrawCmd extends AbstractDrawCmd {
         MIN_DIMENSION = Defs.intProperty("org.icepdf.core.imageDrawCmd.maxDimension", 5);
     }
 
+    // placeholder tone for images that haven't been decoded when painting draft content.
+    private static final Color DRAFT_IMAGE_COLOR = new Color(0xD8D8D8);
+
     private final ImageReference image;
     // paint scale factor of original image.
     private int xScale = 1;
@@ -97,6 +102,28 @@ public class ImageDrawCmd extends AbstractDrawCmd {
         return image.getXobjectName();
     }
 
+    /**
+     * Checks if the image can be painted without waiting on a decode, see {@link ImageReference#isImageReady()}.
+     *
+     * @return true if a draft paint would paint the image rather than a placeholder.
+     */
+    public boolean isImageReady() {
+        return image.isImageReady();
+    }
+
+    /**
+     * Gets the largest area the command can paint, in the image space of the current transform.  An image is painted
+     * on the unit square, stretched by the thin image scaling when it's enabled.  That scaling depends on the zoom
+     * the image is painted at so the largest one is assumed.
+     *
+     * @return bounds the image is painted within.
+     */
+    public Rectangle2D getPaintBounds() {
+        double width = xIsScale ? commonScaling(0, image.getWidth()) : xScale;
+        double height = yIsScale ? commonScaling(0, image.getHeight()) : yScale;
+        return new Rectangle2D.Double(0, 0, width, height);
+    }
+
 
     @Override
     public Shape paintOperand(Graphics2D g, Page parentPage, Shape currentShape,
@@ -107,6 +134,20 @@ public class ImageDrawCmd extends AbstractDrawCmd {
             if (isScaledPaint && (xIsScale || yIsScale)) {
                 calculateThinScale(base.getScaleX());
             }
+            if (GraphicsRenderingHints.isReducedContent(g) && !image.isImageReady()) {
+                // draft or preview paint, don't wait on the decode, use the low res proxy if the image has been
+                // decoded before otherwise just mark where the image will be.
+                Image proxy = image.getProxyImage();
+                if (proxy != null) {
+                    g.drawImage(proxy, 0, 0, xScale, yScale, null);
+                } else {
+                    Color oldColor = g.getColor();
+                    g.setColor(DRAFT_IMAGE_COLOR);
+                    g.fill(new Rectangle2D.Float(0, 0, xScale, yScale));
+                    g.setColor(oldColor);
+                }
+                return currentShape;
+            }
             image.drawImage(g, 0, 0, xScale, yScale);
             if (parentPage != null && paintTimer.shouldTriggerRepaint()) {
                 parentPage.notifyPaintPageListeners();
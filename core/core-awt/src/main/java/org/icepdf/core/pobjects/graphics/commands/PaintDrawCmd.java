@@ -18,6 +18,7 @@ package org.icepdf.core.pobjects.graphics.commands;
 import org.icepdf.core.pobjects.Page;
 import org.icepdf.core.pobjects.graphics.OptionalContentState;
 import org.icepdf.core.pobjects.graphics.PaintTimer;
+import org.icepdf.core.util.GraphicsRenderingHints;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
@@ -30,7 +31,14 @@ import java.awt.geom.AffineTransform;
  */
 public class PaintDrawCmd extends AbstractDrawCmd {
 
+    // tone used in place of a shading whose colours can't be cheaply summarised when painting reduced content.
+    private static final Color PREVIEW_SHADING_COLOR = new Color(0xC8C8C8);
+
     private final Paint paint;
+    // flat stand-in for a shading paint, lazily built for draft and preview painting.
+    private Color previewColor;
+    // gradient resampled to the render profile's shading steps, lazily built.
+    private volatile SteppedPaint steppedPaint;
 
     public PaintDrawCmd(Paint paint) {
         this.paint = paint;
@@ -41,8 +49,97 @@ public class PaintDrawCmd extends AbstractDrawCmd {
                               Shape clip, AffineTransform base,
                               OptionalContentState optionalContentState,
                               boolean paintAlpha, PaintTimer paintTimer) {
-        g.setPaint(paint);
+        if (!(paint instanceof Color) && GraphicsRenderingHints.isReducedContent(g)) {
+            g.setPaint(getPreviewColor());
+        } else if (paint instanceof MultipleGradientPaint) {
+            g.setPaint(getSteppedPaint(GraphicsRenderingHints.getShadingSteps(g)));
+        } else {
+            g.setPaint(paint);
+        }
 
         return currentShape;
     }
+
+    /**
+     * Gradient paint with at most the given number of colour stops, stops are picked evenly from the shading's
+     * sampled stops.
+     *
+     * @param steps maximum number of stops, 0 for no cap.
+     */
+    private Paint getSteppedPaint(int steps) {
+        MultipleGradientPaint gradient = (MultipleGradientPaint) paint;
+        float[] fractions = gradient.getFractions();
+        if (steps < 2 || fractions.length <= steps) {
+            return paint;
+        }
+        SteppedPaint stepped = steppedPaint;
+        if (stepped == null || stepped.steps != steps) {
+            Color[] colors = gradient.getColors();
+            float[] steppedFractions = new float[steps];
+            Color[] steppedColors = new Color[steps];
+            int last = fractions.length - 1;
+            for (int i = 0; i < steps; i++) {
+                int index = Math.round(i * last / (float) (steps - 1));
+                steppedFractions[i] = fractions[index];
+                steppedColors[i] = colors[index];
+            }
+            Paint steppedGradient = paint;
+            if (gradient instanceof LinearGradientPaint) {
+                LinearGradientPaint linear = (LinearGradientPaint) gradient;
+                steppedGradient = new LinearGradientPaint(linear.getStartPoint(), linear.getEndPoint(),
+                        steppedFractions, steppedColors, linear.getCycleMethod(), linear.getColorSpace(),
+                        linear.getTransform());
+            } else if (gradient instanceof RadialGradientPaint) {
+                RadialGradientPaint radial = (RadialGradientPaint) gradient;
+                steppedGradient = new RadialGradientPaint(radial.getCenterPoint(), radial.getRadius(),
+                        radial.getFocusPoint(), steppedFractions, steppedColors, radial.getCycleMethod(),
+                        radial.getColorSpace(), radial.getTransform());
+            }
+            stepped = new SteppedPaint(steps, steppedGradient);
+            steppedPaint = stepped;
+        }
+        return stepped.paint;
+    }
+
+    /**
+     * Simplified form of the paint for draft and preview painting: the average colour of a gradient's stops, or a
+     * neutral tone for function and mesh shadings which would need to be evaluated.
+     */
+    private Color getPreviewColor() {
+        Color color = previewColor;
+        if (color == null) {
+            color = PREVIEW_SHADING_COLOR;
+            if (paint instanceof MultipleGradientPaint) {
+                Color[] colors = ((MultipleGradientPaint) paint).getColors();
+                int r = 0, gr = 0, b = 0, a = 0;
+                for (Color stop : colors) {
+                    r += stop.getRed();
+                    gr += stop.getGreen();
+                    b += stop.getBlue();
+                    a += stop.getAlpha();
+                }
+                int n = colors.length;
+                if (n > 0) {
+                    color = new Color(r / n, gr / n, b / n, a / n);
+                }
+            } else if (paint instanceof GradientPaint) {
+                Color c1 = ((GradientPaint) paint).getColor1();
+                Color c2 = ((GradientPaint) paint).getColor2();
+                color = new Color((c1.getRed() + c2.getRed()) / 2, (c1.getGreen() + c2.getGreen()) / 2,
+                        (c1.getBlue() + c2.getBlue()) / 2, (c1.getAlpha() + c2.getAlpha()) / 2);
+            }
+            previewColor = color;
+        }
+        return color;
+    }
+
+    private static final class SteppedPaint {
+        private final int steps;
+        private final Paint paint;
+
+        private SteppedPaint(int steps, Paint paint) {
+            this.steps = steps;
+            this.paint = paint;
+        }
+    }
 }
@@ -16,6 +16,7 @@
 package org.icepdf.core.pobjects.graphics.commands;
 
 import org.icepdf.core.pobjects.Page;
+import org.icepdf.core.pobjects.graphics.FormDisplayList;
 import org.icepdf.core.pobjects.graphics.OptionalContentState;
 import org.icepdf.core.pobjects.graphics.PaintTimer;
 import org.icepdf.core.pobjects.graphics.Shapes;
@@ -33,9 +34,16 @@ import java.awt.geom.AffineTransform;
 public class ShapesDrawCmd extends AbstractDrawCmd {
 
     private final Shapes shapes;
+    // shared form display list the shapes came from, painted from its raster cache when possible.
+    private final FormDisplayList displayList;
 
     public ShapesDrawCmd(Shapes shapes) {
+        this(shapes, null);
+    }
+
+    public ShapesDrawCmd(Shapes shapes, FormDisplayList displayList) {
         this.shapes = shapes;
+        this.displayList = displayList;
     }
 
     public Shapes getShapes() {
@@ -65,7 +73,9 @@ public class ShapesDrawCmd extends AbstractDrawCmd {
             // surface; that needs a buffer (see FormDrawCmd.requiresOffscreenBuffer).
             boolean previousKnockout = FormDrawCmd.suspendKnockoutScope();
             try {
-                shapes.paint(g, parentPage);
+                if (displayList == null || !displayList.paintRaster(g, parentPage)) {
+                    shapes.paint(g, parentPage);
+                }
             } finally {
                 FormDrawCmd.restoreKnockoutScope(previousKnockout);
             }
@@ -19,6 +19,7 @@ import org.icepdf.core.pobjects.Page;
 import org.icepdf.core.pobjects.graphics.OptionalContentState;
 import org.icepdf.core.pobjects.graphics.PaintTimer;
 import org.icepdf.core.pobjects.graphics.TextSprite;
+import org.icepdf.core.util.GraphicsRenderingHints;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
@@ -46,7 +47,11 @@ public class TextSpriteDrawCmd extends AbstractDrawCmd {
 
         if (optionalContentState.isVisible() &&
                 textSprite.intersects(g.getClip())) {
-            textSprite.paint(g);
+            if (GraphicsRenderingHints.isDraftContent(g)) {
+                textSprite.paintDraft(g);
+            } else {
+                textSprite.paint(g);
+            }
         }
 
         return currentShape;
@@ -32,9 +32,16 @@ import java.awt.geom.AffineTransform;
 public class TilingPatternDrawCmd extends AbstractDrawCmd {
 
     private final TilingPattern tilingPattern;
+    // shape the pattern is about to fill, lets large fills blit the tile directly.
+    private final Shape fillShape;
 
     public TilingPatternDrawCmd(TilingPattern tilingPattern) {
+        this(tilingPattern, null);
+    }
+
+    public TilingPatternDrawCmd(TilingPattern tilingPattern, Shape fillShape) {
         this.tilingPattern = tilingPattern;
+        this.fillShape = fillShape;
     }
 
     @Override
@@ -42,7 +49,7 @@ public class TilingPatternDrawCmd extends AbstractDrawCmd {
                               Shape clip, AffineTransform base,
                               OptionalContentState optionalContentState,
                               boolean paintAlpha, PaintTimer paintTimer) {
-        tilingPattern.paintPattern(g, base);
+        tilingPattern.paintPattern(g, base, fillShape);
         return currentShape;
     }
 }
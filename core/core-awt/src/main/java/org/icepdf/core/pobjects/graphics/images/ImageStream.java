@@ -20,6 +20,9 @@ import org.icepdf.core.pobjects.*;
 import org.icepdf.core.pobjects.graphics.GraphicsState;
 import org.icepdf.core.pobjects.graphics.PColorSpace;
 import org.icepdf.core.util.Library;
+import org.icepdf.core.util.metrics.CacheType;
+import org.icepdf.core.util.metrics.RenderMetrics;
+import org.icepdf.core.util.metrics.RenderPhase;
 
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Path2D;
@@ -117,6 +120,7 @@ public class ImageStream extends Stream {
         imageParams = new ImageParams(library, entries, resources);
         if (pObjectReference != null) {
             BufferedImage tmp = library.getImagePool().get(pObjectReference);
+            RenderMetrics.cacheAccessed(CacheType.IMAGE, library, tmp != null);
             if (tmp != null) {
                 return tmp;
             }
@@ -126,6 +130,7 @@ public class ImageStream extends Stream {
             return decodedImage;
         }
         // decode the given image.
+        long start = RenderMetrics.start();
         ImageDecoder imageDecoder = ImageDecoderFactory.createDecoder(this, graphicsState);
         BufferedImage decodedImage = imageDecoder.decode();
 
@@ -168,6 +173,7 @@ public class ImageStream extends Stream {
         // the sRGB ARGB path) is repacked to 8-bit, 1/4 the memory, no visual
         // change.  No-op for coloured/translucent/CMYK-preserving images.
         decodedImage = ImageUtility.compactImage(decodedImage);
+        RenderMetrics.stop(RenderPhase.IMAGE_DECODE, library, start);
         return decodedImage;
     }
 
@@ -20,6 +20,8 @@ import org.icepdf.core.pobjects.Name;
 import org.icepdf.core.pobjects.graphics.*;
 import org.icepdf.core.pobjects.graphics.RasterOps.*;
 import org.icepdf.core.util.Defs;
+import org.icepdf.core.util.metrics.RenderMetrics;
+import org.icepdf.core.util.metrics.RenderPhase;
 
 import javax.imageio.ImageIO;
 import javax.swing.*;
@@ -1014,6 +1016,11 @@ public class ImageUtility {
             // always create a new buffer as we need leave the pevioius image un change for some type of masks.
             argbImage = createTranslucentCompatibleImage(baseWidth, baseHeight);
         }
+        if (isIntRgb(baseImage) && isIntRgb(sMaskImage) && argbImage.getType() == BufferedImage.TYPE_INT_ARGB) {
+            applyExplicitSMaskRows(baseImage, sMaskImage, argbImage);
+            baseImage.flush();
+            return argbImage;
+        }
         int[] srcBand = new int[baseWidth];
         int[] sMaskBand = new int[baseWidth];
         int red, alpha, sa;
@@ -1038,6 +1045,50 @@ public class ImageUtility {
         return baseImage;
     }
 
+    private static boolean isIntRgb(BufferedImage image) {
+        int type = image.getType();
+        return (type == BufferedImage.TYPE_INT_ARGB || type == BufferedImage.TYPE_INT_RGB) &&
+                PixelRows.isIntPacked(image.getRaster());
+    }
+
+    /**
+     * {@link #applyExplicitSMask(BufferedImage, BufferedImage)} on the int arrays of INT_ARGB/INT_RGB images, large
+     * images are processed in parallel rows.  Gives the same pixels as the getRGB/setRGB loop.
+     */
+    private static void applyExplicitSMaskRows(BufferedImage baseImage, BufferedImage sMaskImage,
+                                               BufferedImage argbImage) {
+        int width = baseImage.getWidth();
+        int height = baseImage.getHeight();
+        WritableRaster base = baseImage.getRaster();
+        WritableRaster mask = sMaskImage.getRaster();
+        WritableRaster out = argbImage.getRaster();
+        int[] baseData = PixelRows.getData(base);
+        int[] maskData = PixelRows.getData(mask);
+        int[] outData = PixelRows.getData(out);
+        int baseStart = PixelRows.getIndex(base, base.getMinX(), base.getMinY());
+        int maskStart = PixelRows.getIndex(mask, mask.getMinX(), mask.getMinY());
+        int outStart = PixelRows.getIndex(out, out.getMinX(), out.getMinY());
+        int baseStride = PixelRows.getScanlineStride(base);
+        int maskStride = PixelRows.getScanlineStride(mask);
+        int outStride = PixelRows.getScanlineStride(out);
+        // an INT_RGB base reads as opaque.
+        int opaque = baseImage.getType() == BufferedImage.TYPE_INT_RGB ? 0xff000000 : 0;
+        PixelRows.forEachRow(height, (long) width * height, (fromRow, toRow) -> {
+            for (int y = fromRow; y < toRow; y++) {
+                int b = baseStart + y * baseStride;
+                int m = maskStart + y * maskStride;
+                int o = outStart + y * outStride;
+                for (int x = 0; x < width; x++) {
+                    int pixel = baseData[b + x] | opaque;
+                    // take any one of the primaries and apply src image alpha.
+                    int red = (maskData[m + x] >> 16) & 0x000000FF;
+                    int alpha = (pixel >> 24) & 0x000000FF;
+                    outData[o + x] = ((int) (red * (alpha / 255.0f))) << 24 | (pixel & ~0xff000000);
+                }
+            }
+        });
+    }
+
     public BufferedImage applyExplicitLuminosity(BufferedImage baseImage, BufferedImage sMaskImage) {
 
         // check to make sure the mask and the image are the same size.
@@ -1245,6 +1296,7 @@ public class ImageUtility {
     }
 
     static BufferedImage convertSpaceToRgb(Raster colourRaster, PColorSpace colorSpace, float[] decode) {
+        long start = RenderMetrics.start();
         BufferedImage rgbImage = makeBufferedImage(colourRaster);
         WritableRaster rgbRaster = rgbImage.getRaster();
         // apply the decode filter
@@ -1258,17 +1310,21 @@ public class ImageUtility {
         if (colorSpace instanceof DeviceCMYK) {
             preserveCmyk(rgbImage, colourRaster);
         }
+        RenderMetrics.stop(RenderPhase.COLOR_CONVERSION, start);
         return rgbImage;
     }
 
     static BufferedImage convertGrayToRgb(Raster grayRaster, float[] decode) {
+        long start = RenderMetrics.start();
         // apply the decode filter
         DecodeRasterOp decodeRasterOp = new DecodeRasterOp(decode, null);
         decodeRasterOp.filter(grayRaster, (WritableRaster) grayRaster);
         // convert from gray.
         GrayRasterOp grayRasterOp = new GrayRasterOp(decode, null);
         grayRasterOp.filter(grayRaster, (WritableRaster) grayRaster);
-        return makeGrayBufferedImage((WritableRaster) grayRaster);
+        BufferedImage grayImage = makeGrayBufferedImage((WritableRaster) grayRaster);
+        RenderMetrics.stop(RenderPhase.COLOR_CONVERSION, start);
+        return grayImage;
     }
 
     /**
@@ -1283,6 +1339,7 @@ public class ImageUtility {
      * @return Buffered image representation of raster.
      */
     static BufferedImage convertCmykToRgb(Raster cmykRaster, float[] decode) {
+        long start = RenderMetrics.start();
         BufferedImage rgbImage = makeBufferedImage(cmykRaster);
 
         if (!DeviceCMYK.isDisableICCCmykColorSpace()) {
@@ -1307,10 +1364,12 @@ public class ImageUtility {
         }
         // GH-501: keep the true CMYK samples (post-decode) for CMYK group blending.
         preserveCmyk(rgbImage, cmykRaster);
+        RenderMetrics.stop(RenderPhase.COLOR_CONVERSION, start);
         return rgbImage;
     }
 
     static BufferedImage convertYCbCrToRGB(Raster yCbCrRaster, float[] decode) {
+        long start = RenderMetrics.start();
         BufferedImage rgbImage = makeBufferedImage(yCbCrRaster);
         WritableRaster rgbRaster = rgbImage.getRaster();
         // apply the decode filter
@@ -1320,10 +1379,12 @@ public class ImageUtility {
         RasterOp rasterOp;
         rasterOp = new YCbCrRasterOp(null);
         rasterOp.filter(yCbCrRaster, rgbRaster);
+        RenderMetrics.stop(RenderPhase.COLOR_CONVERSION, start);
         return rgbImage;
     }
 
     static BufferedImage convertYCCKToRgb(Raster ycckRaster, float[] decode) {
+        long start = RenderMetrics.start();
         BufferedImage rgbImage = makeBufferedImage(ycckRaster);
         if (!DeviceCMYK.isDisableICCCmykColorSpace()) {
             WritableRaster rgbRaster = rgbImage.getRaster();
@@ -1352,6 +1413,7 @@ public class ImageUtility {
         }
         // GH-501: keep the true CMYK samples (post-YCCK->CMYK) for CMYK group blending.
         preserveCmyk(rgbImage, ycckRaster);
+        RenderMetrics.stop(RenderPhase.COLOR_CONVERSION, start);
         return rgbImage;
     }
 
@@ -16,12 +16,22 @@
 package org.icepdf.core.pobjects.graphics.images.references;
 
 import org.icepdf.core.pobjects.Reference;
+import org.icepdf.core.util.Defs;
+import org.icepdf.core.util.memory.DocumentMemory;
+import org.icepdf.core.util.memory.MemoryConsumer;
+import org.icepdf.core.util.memory.MemoryGovernor;
+import org.icepdf.core.util.memory.RebuildCost;
 
+import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Caches decoded images keyed by their PDF object {@link Reference}.  Values are
@@ -37,10 +47,20 @@ import java.util.concurrent.FutureTask;
  * rendering, which is why the pool is always active (an earlier
  * {@code org.icepdf.core.views.imagePoolEnabled=false} switch, which disabled the
  * de-duplication along with the cache, was removed).
+ * <br>
+ * Every image put in the pool also leaves behind a small, strongly held proxy
+ * (at most {@code org.icepdf.core.imagePool.proxySize} pixels on its longest side,
+ * default 64, 0 disables proxies).  Draft and preview painting use the proxy in
+ * place of an image that is not decoded, or whose full decode has since been
+ * reclaimed, rather than a flat placeholder.
+ * <br>
+ * The pool is a {@link MemoryConsumer} of its document: the bytes of the pooled images are accounted for, and the
+ * memory governor evicts pooled images when the document or the JVM is over its memory budget rather than
+ * leaving it to the soft references alone.
  *
  * @since 5.0
  */
-public class ImagePool {
+public class ImagePool implements MemoryConsumer {
 
     // Image pool.  Values are held via SoftReference so a decoded image survives
     // normal garbage collection (letting a page repaint / a shared XObject on
@@ -51,23 +71,155 @@ public class ImagePool {
     // of zooming, entries were purged as fast as they were inserted and get()
     // returned null, forcing constant re-decodes (and masking as a timing bug that
     // "went away" when a breakpoint changed GC timing).
-    private final Map<Reference, SoftReference<BufferedImage>> fCache;
+    private final Map<Reference, PooledImage> fCache;
+
+    // pooled images cleared by the collector, polled to take them off the byte count.
+    private final ReferenceQueue<BufferedImage> collected = new ReferenceQueue<>();
+    private final AtomicLong bytes = new AtomicLong();
+    private final DocumentMemory memory;
 
     // Decodes currently in flight, keyed by image object reference, so that two references to the same image
     // (e.g. the same XObject drawn on multiple pages, or an eager pre-decode racing the content parser) share a
     // single decode instead of each starting their own.
     private final Map<Reference, FutureTask<BufferedImage>> inProgress = new ConcurrentHashMap<>();
 
+    private static final int PROXY_SIZE = Defs.intProperty("org.icepdf.core.imagePool.proxySize", 64);
+    // bounds the proxies to a few MB however many images a document has.
+    private static final int MAX_PROXIES = 512;
+
+    // low resolution proxies, access ordered so the least recently painted is dropped first.
+    private final Map<Reference, BufferedImage> proxies = new LinkedHashMap<Reference, BufferedImage>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Reference, BufferedImage> eldest) {
+            return size() > MAX_PROXIES;
+        }
+    };
+
     public ImagePool() {
+        this(null);
+    }
+
+    /**
+     * Creates a pool that reports the memory of its images.
+     *
+     * @param memory memory account of the document, can be null.
+     */
+    public ImagePool(DocumentMemory memory) {
         fCache = new ConcurrentHashMap<>(50);
+        this.memory = memory;
     }
 
     public void put(Reference ref, BufferedImage image) {
         if (ref != null && image != null) {
             // copy the reference for the key so the map never holds the caller's
             // Reference instance (keeps parity with the previous behaviour).
-            fCache.put(new Reference(ref.getObjectNumber(), ref.getGenerationNumber()),
-                    new SoftReference<>(image));
+            Reference key = new Reference(ref.getObjectNumber(), ref.getGenerationNumber());
+            PooledImage pooledImage = new PooledImage(key, image, collected);
+            bytes.addAndGet(pooledImage.size);
+            PooledImage previous = fCache.put(key, pooledImage);
+            if (previous != null) {
+                bytes.addAndGet(-previous.size);
+            }
+            putProxy(key, image);
+            if (memory != null) {
+                memory.allocated(pooledImage.size);
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Images";
+    }
+
+    @Override
+    public RebuildCost getRebuildCost() {
+        return RebuildCost.DECODE;
+    }
+
+    @Override
+    public long getSizeInBytes() {
+        expunge();
+        return bytes.get();
+    }
+
+    /**
+     * Evicts pooled images, the low resolution proxies are kept.
+     */
+    @Override
+    public long evict(long bytes) {
+        long freed = 0;
+        Iterator<PooledImage> iterator = fCache.values().iterator();
+        while (freed < bytes && iterator.hasNext()) {
+            PooledImage pooledImage = iterator.next();
+            if (fCache.remove(pooledImage.key, pooledImage)) {
+                this.bytes.addAndGet(-pooledImage.size);
+                freed += pooledImage.size;
+                pooledImage.clear();
+            }
+        }
+        return freed;
+    }
+
+    private void expunge() {
+        Object cleared;
+        while ((cleared = collected.poll()) != null) {
+            PooledImage pooledImage = (PooledImage) cleared;
+            if (fCache.remove(pooledImage.key, pooledImage)) {
+                bytes.addAndGet(-pooledImage.size);
+            }
+        }
+    }
+
+    /**
+     * Gets the low resolution proxy of a pooled image, which outlives the image itself.
+     *
+     * @param ref image object reference.
+     * @return proxy image, or null if the image has never been pooled or proxies are disabled.
+     */
+    public BufferedImage getProxy(Reference ref) {
+        if (ref == null) {
+            return null;
+        }
+        synchronized (proxies) {
+            return proxies.get(ref);
+        }
+    }
+
+    private void putProxy(Reference key, BufferedImage image) {
+        if (PROXY_SIZE <= 0) {
+            return;
+        }
+        // an image pooled again, re-decoded after eviction or replaced by another decode, keeps its proxy rather
+        // than paying for the downscale again.
+        synchronized (proxies) {
+            if (proxies.containsKey(key)) {
+                return;
+            }
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        BufferedImage proxy = image;
+        if (width > PROXY_SIZE || height > PROXY_SIZE) {
+            double scale = PROXY_SIZE / (double) Math.max(width, height);
+            int proxyWidth = Math.max(1, (int) Math.round(width * scale));
+            int proxyHeight = Math.max(1, (int) Math.round(height * scale));
+            proxy = new BufferedImage(proxyWidth, proxyHeight,
+                    image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = proxy.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(image, 0, 0, proxyWidth, proxyHeight, null);
+            } finally {
+                g.dispose();
+            }
+        }
+        synchronized (proxies) {
+            // two decodes finishing together both get past the check above, keep the first proxy.
+            proxies.putIfAbsent(key, proxy);
         }
     }
 
@@ -75,7 +227,7 @@ public class ImagePool {
         if (ref == null) {
             return null;
         }
-        SoftReference<BufferedImage> softReference = fCache.get(ref);
+        PooledImage softReference = fCache.get(ref);
         if (softReference == null) {
             return null;
         }
@@ -83,7 +235,9 @@ public class ImagePool {
         if (image == null) {
             // the soft reference was cleared under memory pressure; drop the dead
             // entry so the map doesn't accumulate empty holders.
-            fCache.remove(ref, softReference);
+            if (fCache.remove(ref, softReference)) {
+                bytes.addAndGet(-softReference.size);
+            }
         }
         return image;
     }
@@ -115,4 +269,16 @@ public class ImagePool {
             inProgress.remove(ref);
         }
     }
+
+    // soft reference that remembers its key and size so a collected image can be taken off the byte count.
+    private static final class PooledImage extends SoftReference<BufferedImage> {
+        private final Reference key;
+        private final long size;
+
+        PooledImage(Reference key, BufferedImage image, ReferenceQueue<BufferedImage> queue) {
+            super(image, queue);
+            this.key = key;
+            this.size = MemoryGovernor.sizeOf(image);
+        }
+    }
 }
@@ -27,6 +27,8 @@ import org.icepdf.core.pobjects.graphics.images.ImageStream;
 import org.icepdf.core.pobjects.graphics.images.ImageUtility;
 import org.icepdf.core.util.Defs;
 import org.icepdf.core.util.Library;
+import org.icepdf.core.util.memory.MemoryGovernor;
+import org.icepdf.core.util.metrics.RenderMetrics;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
@@ -130,6 +132,19 @@ public abstract class ImageReference implements Callable<BufferedImage> {
     protected void submitDecode() {
         final ImagePool imagePool = imageStream.getLibrary().getImagePool();
         FutureTask<BufferedImage> mine = new FutureTask<BufferedImage>(this) {
+            @Override
+            public void run() {
+                // attribute the decode's metrics to the page the image was found on.
+                RenderMetrics.Scope scope = RenderMetrics.enterPage(parentPage);
+                try {
+                    // make room for the decoded raster before decoding it rather than finding out with an OOM.
+                    imageStream.getLibrary().getDocumentMemory().reserve((long) getWidth() * getHeight() * 4);
+                    super.run();
+                } finally {
+                    RenderMetrics.exitPage(scope);
+                }
+            }
+
             @Override
             protected void done() {
                 try {
@@ -347,6 +362,8 @@ public abstract class ImageReference implements Callable<BufferedImage> {
         lastTransientFailureTime = System.currentTimeMillis();
         futureTask = null;
         image = null;
+        // free cached content so the retry after the backoff doesn't just fail again.
+        MemoryGovernor.getInstance().relieve();
         logger.log(Level.WARNING, cause,
                 () -> "Out of memory decoding image, backing off then retrying: " +
                         imageStream.getPObjectReference());
@@ -367,10 +384,50 @@ public abstract class ImageReference implements Callable<BufferedImage> {
         return imageStream;
     }
 
+    /**
+     * Gets the memory held by the image decoded by this reference.
+     *
+     * @return size in bytes, 0 if the image isn't decoded.
+     */
+    public long getImageSizeInBytes() {
+        return MemoryGovernor.sizeOf(image);
+    }
+
     public boolean isImage() {
         return image != null;
     }
 
+    /**
+     * Checks if the image can be painted without waiting on a decode, that is it has already been
+     * decoded by this reference, is sitting in the document's {@link ImagePool}, or the decode task
+     * has completed.  Used by draft painting which would rather paint a placeholder than block.
+     *
+     * @return true if a call to {@link #getImage()} will not block on a decode.
+     */
+    public boolean isImageReady() {
+        if (image != null) {
+            return true;
+        }
+        if (reference != null && imageStream.getLibrary().getImagePool().get(reference) != null) {
+            return true;
+        }
+        FutureTask<BufferedImage> task = futureTask;
+        return task != null && task.isDone();
+    }
+
+    /**
+     * Gets the low resolution proxy the document's {@link ImagePool} keeps for this image once it has been
+     * decoded.  Used by draft and preview painting in place of an image that is not ready.
+     *
+     * @return proxy image, or null if the image has not been decoded yet.
+     */
+    public BufferedImage getProxyImage() {
+        if (reference == null) {
+            return null;
+        }
+        return imageStream.getLibrary().getImagePool().getProxy(reference);
+    }
+
     public Name getXobjectName() {
         return xobjectName;
     }
@@ -118,6 +118,7 @@ public abstract class AbstractText implements Text {
      */
     public void setSelected(boolean selected) {
         this.selected = selected;
+        stateChanged();
     }
 
 
@@ -127,6 +128,7 @@ public abstract class AbstractText implements Text {
      */
     public void setHighlightColor(Color c){
         this.highlightColor=c;
+        stateChanged();
     }
 
     /**
@@ -154,6 +156,7 @@ public abstract class AbstractText implements Text {
      */
     public void setHighlighted(boolean highlight) {
         this.highlight = highlight;
+        stateChanged();
     }
 
     /**
@@ -186,6 +189,7 @@ public abstract class AbstractText implements Text {
      */
     public void setHasHighlight(boolean hasHighlight) {
         this.hasHighlight = hasHighlight;
+        stateChanged();
     }
 
     /**
@@ -196,6 +200,7 @@ public abstract class AbstractText implements Text {
      */
     public void setHasSelected(boolean hasSelected) {
         this.hasSelected = hasSelected;
+        stateChanged();
     }
 
     public boolean isHighlightCursor() {
@@ -204,14 +209,23 @@ public abstract class AbstractText implements Text {
 
     public void setHighlightCursor(boolean highlightCursor) {
         this.highlightCursor = highlightCursor;
+        stateChanged();
     }
 
     public boolean hasHighlightCursor() {
         return hasHighlightCursor;
     }
 
+    /**
+     * Called after any of the selection or highlight states, or the highlight colour, change.  The packed text
+     * views override it to write the new state back to their {@link PackedPageText} so it outlives the view.
+     */
+    protected void stateChanged() {
+    }
+
     public void setHasHighlightCursor(boolean hasHighlightCursor) {
         this.hasHighlightCursor = hasHighlightCursor;
+        stateChanged();
     }
 
     /**
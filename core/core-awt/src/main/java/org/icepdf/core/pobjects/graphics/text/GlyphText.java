@@ -140,6 +140,22 @@ public class GlyphText extends AbstractText {
         this.writeDy = other.writeDy;
     }
 
+    /** Raw writing-direction x component, before any page rotation; used when packing the glyph. */
+    float getWriteDx() {
+        return writeDx;
+    }
+
+    /** Raw writing-direction y component, before any page rotation; used when packing the glyph. */
+    float getWriteDy() {
+        return writeDy;
+    }
+
+    /** Restores a raw writing direction captured by {@link #getWriteDx()}/{@link #getWriteDy()}. */
+    void setWriteDirection(float writeDx, float writeDy) {
+        this.writeDx = writeDx;
+        this.writeDy = writeDy;
+    }
+
     public boolean isFlagged() {
         return flagged;
     }
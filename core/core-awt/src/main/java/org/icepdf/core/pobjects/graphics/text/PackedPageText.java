@@ -0,0 +1,368 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics.text;
+
+import org.icepdf.core.pobjects.Name;
+import org.icepdf.core.pobjects.Page;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar copy of a page's sorted {@link LineText} -&gt; {@link WordText} -&gt; {@link GlyphText} hierarchy.  Glyphs
+ * are flattened in reading order into parallel primitive arrays (code point, cid, x/y/advance, bounds, writing
+ * direction and a font id into a small font table); words and lines are just offsets into the glyph and word runs.
+ * A resident page costs a few dozen bytes per glyph instead of the several hundred the object graph takes.
+ * <br>
+ * The existing {@link TextSelect} and search APIs keep working against flyweight views built by {@link #lines()}.
+ * The views are ordinary {@link LineText}/{@link WordText}/{@link GlyphText} instances whose selection and highlight
+ * states are written back here (see {@link AbstractText#stateChanged()}), so a view can be dropped and rebuilt
+ * without losing a search highlight or a selection.  Geometry is fixed once packed; changes made to a view's bounds
+ * are not written back.
+ *
+ * @see PageText#pack()
+ * @since 7.5
+ */
+final class PackedPageText {
+
+    // state flags, one bit set each over the element index space: glyphs, then words, then lines.
+    private static final int SELECTED = 0;
+    private static final int HIGHLIGHT = 1;
+    private static final int HIGHLIGHT_CURSOR = 2;
+    private static final int HAS_SELECTED = 3;
+    private static final int HAS_HIGHLIGHT = 4;
+    private static final int HAS_HIGHLIGHT_CURSOR = 5;
+    private static final int STATE_COUNT = 6;
+
+    private final float pageRotation;
+
+    // per glyph
+    private final int glyphCount;
+    private final char[] codePoints;
+    // unicode values that are not exactly one char (ligatures, empty or null mappings), by glyph index.
+    private final Map<Integer, String> unicodeOverflow;
+    private final char[] cids;
+    private final float[] x;
+    private final float[] y;
+    private final float[] advance;
+    // x, y, width, height per glyph
+    private final float[] glyphBounds;
+    // raw writeDx, writeDy per glyph
+    private final float[] writeDirection;
+    private final char[] fontIds;
+    private final byte[] fontSubTypeFormats;
+    private final BitSet flagged;
+    private final Name[] fonts;
+
+    // per word, wordGlyphStart has a trailing end offset.
+    private final int wordCount;
+    private final int[] wordGlyphStart;
+    private final float[] wordBounds;
+    private final BitSet whiteSpace;
+
+    // per line, lineWordStart has a trailing end offset.
+    private final int lineCount;
+    private final int[] lineWordStart;
+
+    private final BitSet[] states;
+    // highlight colours that differ from Page.highlightColor, by element index.
+    private final Map<Integer, Color> highlightColors;
+
+    PackedPageText(List<LineText> lines, float pageRotation) {
+        this.pageRotation = pageRotation;
+        int words = 0, glyphs = 0;
+        for (LineText line : lines) {
+            for (WordText word : line.getWords()) {
+                words++;
+                glyphs += word.getGlyphs().size();
+            }
+        }
+        glyphCount = glyphs;
+        wordCount = words;
+        lineCount = lines.size();
+
+        codePoints = new char[glyphs];
+        unicodeOverflow = new HashMap<>();
+        cids = new char[glyphs];
+        x = new float[glyphs];
+        y = new float[glyphs];
+        advance = new float[glyphs];
+        glyphBounds = new float[glyphs * 4];
+        writeDirection = new float[glyphs * 2];
+        fontIds = new char[glyphs];
+        fontSubTypeFormats = new byte[glyphs];
+        flagged = new BitSet();
+        wordGlyphStart = new int[words + 1];
+        wordBounds = new float[words * 4];
+        whiteSpace = new BitSet();
+        lineWordStart = new int[lineCount + 1];
+        states = new BitSet[STATE_COUNT];
+        for (int i = 0; i < STATE_COUNT; i++) {
+            states[i] = new BitSet();
+        }
+        highlightColors = new HashMap<>();
+
+        Map<Name, Integer> fontTable = new HashMap<>();
+        List<Name> fontList = new ArrayList<>();
+        int g = 0, w = 0, l = 0;
+        for (LineText line : lines) {
+            lineWordStart[l] = w;
+            save(line, lineElement(l));
+            for (WordText word : line.getWords()) {
+                wordGlyphStart[w] = g;
+                setRect(wordBounds, w, word.getBounds());
+                whiteSpace.set(w, word.isWhiteSpace());
+                save(word, wordElement(w));
+                for (GlyphText glyph : word.getGlyphs()) {
+                    String unicode = glyph.getUnicode();
+                    if (unicode != null && unicode.length() == 1) {
+                        codePoints[g] = unicode.charAt(0);
+                    } else {
+                        unicodeOverflow.put(g, unicode);
+                    }
+                    cids[g] = glyph.getCid();
+                    x[g] = glyph.getX();
+                    y[g] = glyph.getY();
+                    advance[g] = glyph.getAdvanceX();
+                    setRect(glyphBounds, g, glyph.getBounds());
+                    writeDirection[g * 2] = glyph.getWriteDx();
+                    writeDirection[g * 2 + 1] = glyph.getWriteDy();
+                    Integer fontId = fontTable.get(glyph.getFontName());
+                    if (fontId == null) {
+                        fontId = fontList.size();
+                        fontTable.put(glyph.getFontName(), fontId);
+                        fontList.add(glyph.getFontName());
+                    }
+                    fontIds[g] = (char) (int) fontId;
+                    fontSubTypeFormats[g] = (byte) glyph.getFontSubTypeFormat();
+                    flagged.set(g, glyph.isFlagged());
+                    save(glyph, g);
+                    g++;
+                }
+                w++;
+            }
+            l++;
+        }
+        wordGlyphStart[w] = g;
+        lineWordStart[l] = w;
+        fonts = fontList.toArray(new Name[0]);
+    }
+
+    /**
+     * Builds a fresh set of flyweight views over the packed columns.  Each call returns new instances, so callers
+     * that depend on identity (e.g. {@link TextSequence}) should hold on to one set.
+     *
+     * @return sorted page lines backed by this store.
+     */
+    ArrayList<LineText> lines() {
+        ArrayList<LineText> lines = new ArrayList<>(lineCount);
+        for (int l = 0; l < lineCount; l++) {
+            List<WordText> words = new ArrayList<>(lineWordStart[l + 1] - lineWordStart[l]);
+            for (int w = lineWordStart[l]; w < lineWordStart[l + 1]; w++) {
+                words.add(new WordView(this, w));
+            }
+            lines.add(new LineView(this, l, words));
+        }
+        return lines;
+    }
+
+    /**
+     * Clears the selected states of every element without building views, used when no views are live.
+     */
+    synchronized void clearSelected() {
+        states[SELECTED].clear();
+        states[HAS_SELECTED].clear();
+    }
+
+    synchronized void clearHighlighted() {
+        states[HIGHLIGHT].clear();
+        states[HAS_HIGHLIGHT].clear();
+    }
+
+    synchronized void clearHighlightedCursor() {
+        states[HIGHLIGHT_CURSOR].clear();
+        states[HAS_HIGHLIGHT_CURSOR].clear();
+    }
+
+    int getGlyphCount() {
+        return glyphCount;
+    }
+
+    int getWordCount() {
+        return wordCount;
+    }
+
+    int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Approximate resident size of the columns, excluding the shared font names.
+     *
+     * @return size in bytes.
+     */
+    long getSizeInBytes() {
+        long size = glyphCount * (2L + 2 + 4 + 4 + 4 + 16 + 8 + 2 + 1)
+                + wordCount * (4L + 16)
+                + lineCount * 4L
+                + unicodeOverflow.size() * 64L;
+        for (BitSet bits : states) {
+            size += bits.size() / 8;
+        }
+        return size + flagged.size() / 8 + whiteSpace.size() / 8;
+    }
+
+    private int wordElement(int word) {
+        return glyphCount + word;
+    }
+
+    private int lineElement(int line) {
+        return glyphCount + wordCount + line;
+    }
+
+    private String unicode(int glyph) {
+        return unicodeOverflow.containsKey(glyph) ? unicodeOverflow.get(glyph) : String.valueOf(codePoints[glyph]);
+    }
+
+    private static void setRect(float[] rects, int index, Rectangle2D.Double rect) {
+        int i = index * 4;
+        rects[i] = (float) rect.x;
+        rects[i + 1] = (float) rect.y;
+        rects[i + 2] = (float) rect.width;
+        rects[i + 3] = (float) rect.height;
+    }
+
+    private static Rectangle2D.Double getRect(float[] rects, int index) {
+        int i = index * 4;
+        return new Rectangle2D.Double(rects[i], rects[i + 1], rects[i + 2], rects[i + 3]);
+    }
+
+    /**
+     * Copies the selection and highlight state of a text element into the state columns.
+     */
+    private synchronized void save(AbstractText text, int element) {
+        states[SELECTED].set(element, text.selected);
+        states[HIGHLIGHT].set(element, text.highlight);
+        states[HIGHLIGHT_CURSOR].set(element, text.highlightCursor);
+        states[HAS_SELECTED].set(element, text.hasSelected);
+        states[HAS_HIGHLIGHT].set(element, text.hasHighlight);
+        states[HAS_HIGHLIGHT_CURSOR].set(element, text.hasHighlightCursor);
+        Color color = text.getHighlightColor();
+        if (color == null || color.equals(Page.highlightColor)) {
+            highlightColors.remove(element);
+        } else {
+            highlightColors.put(element, color);
+        }
+    }
+
+    /**
+     * Restores the saved state of an element onto a freshly built view.  The flags are set directly so that the
+     * view's {@code stateChanged} write-back only runs once, for the colour, when every flag is already in place.
+     */
+    private synchronized void restore(AbstractText text, int element) {
+        text.selected = states[SELECTED].get(element);
+        text.highlight = states[HIGHLIGHT].get(element);
+        text.highlightCursor = states[HIGHLIGHT_CURSOR].get(element);
+        text.hasSelected = states[HAS_SELECTED].get(element);
+        text.hasHighlight = states[HAS_HIGHLIGHT].get(element);
+        text.hasHighlightCursor = states[HAS_HIGHLIGHT_CURSOR].get(element);
+        Color color = highlightColors.get(element);
+        if (color != null) {
+            text.setHighlightColor(color);
+        }
+    }
+
+    private static final class GlyphView extends GlyphText {
+
+        private final PackedPageText store;
+        private final int element;
+
+        private GlyphView(PackedPageText store, int glyph) {
+            super(store.x[glyph], store.y[glyph], store.advance[glyph], 0, getRect(store.glyphBounds, glyph),
+                    store.pageRotation, store.cids[glyph], store.unicode(glyph),
+                    store.fonts[store.fontIds[glyph]]);
+            this.store = store;
+            this.element = glyph;
+            // parsed glyphs share one rectangle for both bounds once normalized to user space.
+            textSelectionBounds = bounds;
+            setWriteDirection(store.writeDirection[glyph * 2], store.writeDirection[glyph * 2 + 1]);
+            setFontSubTypeFormat(store.fontSubTypeFormats[glyph]);
+            if (store.flagged.get(glyph)) {
+                flagged();
+            }
+            store.restore(this, element);
+        }
+
+        @Override
+        protected void stateChanged() {
+            if (store != null) {
+                store.save(this, element);
+            }
+        }
+    }
+
+    private static final class WordView extends WordText {
+
+        private final PackedPageText store;
+        private final int element;
+
+        private WordView(PackedPageText store, int word) {
+            super(store.pageRotation);
+            for (int g = store.wordGlyphStart[word]; g < store.wordGlyphStart[word + 1]; g++) {
+                addText(new GlyphView(store, g));
+            }
+            // the packed bounds include the gap padding applied when the page was sorted.
+            bounds = getRect(store.wordBounds, word);
+            setWhiteSpace(store.whiteSpace.get(word));
+            this.store = store;
+            this.element = store.wordElement(word);
+            store.restore(this, element);
+        }
+
+        @Override
+        protected void stateChanged() {
+            if (store != null) {
+                store.save(this, element);
+            }
+        }
+    }
+
+    private static final class LineView extends LineText {
+
+        private final PackedPageText store;
+        private final int element;
+
+        private LineView(PackedPageText store, int line, List<WordText> words) {
+            super(store.pageRotation);
+            setWords(words);
+            this.store = store;
+            this.element = store.lineElement(line);
+            store.restore(this, element);
+        }
+
+        @Override
+        protected void stateChanged() {
+            if (store != null) {
+                store.save(this, element);
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.icepdf.core.util.Defs;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.NoninvertibleTransformException;
 import java.awt.geom.Rectangle2D;
+import java.lang.ref.SoftReference;
 import java.util.*;
 import java.util.logging.Logger;
 
@@ -149,6 +150,13 @@ public class PageText implements TextSelect {
 
     private LinkedHashMap<OptionalContents, PageText> optionalPageLines;
 
+    // columnar copy of the sorted lines once pack() has been called, the object graph is released.
+    private PackedPageText packedText;
+    // flyweight views over packedText and their reading-order sequence, softly held so that idle pages shrink back
+    // to just the packed columns.
+    private SoftReference<ArrayList<LineText>> packedLines;
+    private SoftReference<TextSequence> packedSequence;
+
     public PageText() {
         this(0f);
     }
@@ -214,6 +222,9 @@ public class PageText implements TextSelect {
      * visible layers.
      */
     public ArrayList<LineText> getPageLines() {
+        if (packedText != null) {
+            return getPackedLines();
+        }
         if (sortedPageLines == null) {
             sortAndFormatText();
         }
@@ -229,12 +240,71 @@ public class PageText implements TextSelect {
      * @return reading-order sequence for this page's visible text.
      */
     public TextSequence getTextSequence() {
+        if (packedText != null) {
+            return getPackedTextSequence();
+        }
         if (textSequence == null) {
             textSequence = new TextSequence(this);
         }
         return textSequence;
     }
 
+    /**
+     * Replaces the line/word/glyph object graph with a compact columnar copy of the sorted lines, see
+     * {@link PackedPageText}.  {@link #getPageLines()} and {@link #getTextSequence()} then return flyweight views
+     * over the packed columns which keep working with the selection and search APIs; the views are softly cached
+     * and rebuilt on demand, selection and highlight state survive a rebuild.
+     * <br>
+     * Packing is meant for pages whose content has been fully parsed and whose text is kept resident, e.g. for
+     * search highlighting.  Pages with optional content are left as is as a visibility change re-sorts the raw
+     * lines.  Calling this method more than once has no effect.
+     */
+    public synchronized void pack() {
+        if (packedText != null || optionalPageLines != null) {
+            return;
+        }
+        packedText = new PackedPageText(getPageLines(), pageRotation);
+        pageLines.clear();
+        pageLines.trimToSize();
+        currentLine = null;
+        sortedPageLines = null;
+        textSequence = null;
+    }
+
+    /**
+     * Indicates the text has been packed into the columnar representation.
+     *
+     * @return true if {@link #pack()} has replaced the object graph.
+     */
+    public boolean isPacked() {
+        return packedText != null;
+    }
+
+    private synchronized ArrayList<LineText> getPackedLines() {
+        ArrayList<LineText> lines = packedLines != null ? packedLines.get() : null;
+        if (lines == null) {
+            lines = packedText.lines();
+            packedLines = new SoftReference<>(lines);
+        }
+        return lines;
+    }
+
+    private synchronized TextSequence getPackedTextSequence() {
+        TextSequence sequence = packedSequence != null ? packedSequence.get() : null;
+        if (sequence == null) {
+            sequence = new TextSequence(this);
+            packedSequence = new SoftReference<>(sequence);
+        }
+        return sequence;
+    }
+
+    /**
+     * Gets the packed views if they are currently built, otherwise null.
+     */
+    private synchronized ArrayList<LineText> getLivePackedLines() {
+        return packedLines != null ? packedLines.get() : null;
+    }
+
     /**
      * Gets all visible lines, checking the page text for any text that is
      * in an optional content group and that that group is flagged as visible.
@@ -376,6 +446,17 @@ public class PageText implements TextSelect {
     }
 
     public void clearSelected() {
+        if (packedText != null) {
+            ArrayList<LineText> lines = getLivePackedLines();
+            if (lines == null) {
+                packedText.clearSelected();
+            } else {
+                for (LineText lineText : lines) {
+                    lineText.clearSelected();
+                }
+            }
+            return;
+        }
         for (LineText lineText : pageLines) {
             lineText.clearSelected();
         }
@@ -401,6 +482,17 @@ public class PageText implements TextSelect {
     }
 
     public void clearHighlighted() {
+        if (packedText != null) {
+            ArrayList<LineText> lines = getLivePackedLines();
+            if (lines == null) {
+                packedText.clearHighlighted();
+            } else {
+                for (LineText lineText : lines) {
+                    lineText.clearHighlighted();
+                }
+            }
+            return;
+        }
         for (LineText lineText : pageLines) {
             lineText.clearHighlighted();
         }
@@ -424,6 +516,17 @@ public class PageText implements TextSelect {
     }
 
     public void clearHighlightedCursor() {
+        if (packedText != null) {
+            ArrayList<LineText> lines = getLivePackedLines();
+            if (lines == null) {
+                packedText.clearHighlightedCursor();
+            } else {
+                for (LineText lineText : lines) {
+                    lineText.clearHighlightedCursor();
+                }
+            }
+            return;
+        }
         for (LineText lineText : pageLines) {
             lineText.clearHighlightedCursor();
         }
@@ -486,6 +589,10 @@ public class PageText implements TextSelect {
     }
 
     public void deselectAll() {
+        if (packedText != null) {
+            clearSelected();
+            return;
+        }
         for (LineText lineText : pageLines) {
             lineText.clearSelected();
         }
@@ -512,7 +619,7 @@ public class PageText implements TextSelect {
      * @return current object of the same wordText value.
      */
     public WordText find(WordText word) {
-        for (LineText lineText : pageLines) {
+        for (LineText lineText : packedText != null ? getPageLines() : pageLines) {
             for (WordText wordText : lineText.getWords()) {
                 if (word.equals(wordText)) return wordText;
             }
@@ -877,6 +984,10 @@ public class PageText implements TextSelect {
      * sorted once more by each words x coordinate.
      */
     public void sortAndFormatText() {
+        if (packedText != null) {
+            // packed text is already sorted and has no optional content to re-sort.
+            return;
+        }
         ArrayList<LineText> visiblePageLines = new ArrayList<>(pageLines);
         // create new array for storing the sorted lines
         ArrayList<LineText> sortedPageLines = sortLinesVertically(visiblePageLines);
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Creates the executors behind {@link Library.ExecutionStrategy}.  This is the Java 11 version, it has no virtual
+ * threads so {@link Library.ExecutionStrategy#VIRTUAL} isn't available.  The multi-release jar carries a JDK 21
+ * version of this class, from {@code src/main/java21}, that creates virtual thread executors.
+ *
+ * @since 7.5
+ */
+final class ExecutorSupport {
+
+    private ExecutorSupport() {
+    }
+
+    /**
+     * Tests if the runtime has virtual threads.
+     */
+    static boolean isVirtualThreadSupported() {
+        return false;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task.
+     *
+     * @param name name prefix of the threads.
+     * @return new executor.
+     * @throws UnsupportedOperationException the runtime has no virtual threads.
+     */
+    static ExecutorService newVirtualThreadExecutor(String name) {
+        throw new UnsupportedOperationException("Virtual threads require a JDK 21 runtime");
+    }
+}
@@ -16,6 +16,7 @@
 package org.icepdf.core.util;
 
 import java.awt.*;
+import java.util.function.Predicate;
 
 /**
  * <p>The <code>GraphicsRenderingHints</code> class provides a central place for
@@ -42,6 +43,90 @@ public class GraphicsRenderingHints {
      */
     public static final int PRINT = 2;
 
+    /**
+     * Rendering hint key read by the page draw commands to trade content fidelity
+     * for speed.  When set to {@link #VALUE_CONTENT_DRAFT} text runs are painted as
+     * flat bars and images that are not yet decoded are painted as a neutral
+     * placeholder instead of blocking on their decode.  Java2D ignores the key, but
+     * it is carried along by {@code Graphics2D.create()} so nested paints see it.
+     * {@link #VALUE_CONTENT_PREVIEW} keeps the text but still skips image decodes
+     * and simplifies shadings, it is the first pass of a
+     * {@link org.icepdf.core.pobjects.ProgressivePageRender}.
+     * Note that {@link org.icepdf.core.pobjects.Page#paint} replaces the hints on
+     * the graphics context, so draft painting goes through
+     * {@link org.icepdf.core.pobjects.Page#paintPageContent}.
+     */
+    public static final RenderingHints.Key KEY_CONTENT_DETAIL = new ContentDetailKey();
+
+    /**
+     * Content detail hint value, paint text and images as normal.
+     */
+    public static final Object VALUE_CONTENT_FULL = "Full content detail";
+
+    /**
+     * Content detail hint value, paint simplified text and image placeholders.
+     */
+    public static final Object VALUE_CONTENT_DRAFT = "Draft content detail";
+
+    /**
+     * Content detail hint value, paint text as normal but paint images from their
+     * low resolution proxies or placeholders and shadings as flat colours.
+     */
+    public static final Object VALUE_CONTENT_PREVIEW = "Preview content detail";
+
+    /**
+     * Rendering hint key read by {@code BlendCompositeDrawCmd}.  When set to
+     * {@link #VALUE_BLEND_APPROXIMATE} blend modes are painted as plain alpha
+     * compositing, which skips the per pixel blend of the backdrop.
+     *
+     * @see RenderProfile
+     */
+    public static final RenderingHints.Key KEY_BLEND_FIDELITY = new ProfileKey(0x1CF, "ICEpdf blend fidelity key",
+            val -> val == GraphicsRenderingHints.VALUE_BLEND_EXACT
+                    || val == GraphicsRenderingHints.VALUE_BLEND_APPROXIMATE);
+
+    /**
+     * Blend fidelity hint value, paint blend modes exactly.
+     */
+    public static final Object VALUE_BLEND_EXACT = "Exact blend";
+
+    /**
+     * Blend fidelity hint value, paint blend modes as alpha compositing.
+     */
+    public static final Object VALUE_BLEND_APPROXIMATE = "Approximate blend";
+
+    /**
+     * Rendering hint key read by {@code FormDrawCmd}.  When set to
+     * {@link #VALUE_KNOCKOUT_OFF} the elements of a knockout transparency group
+     * are composited over each other instead of replacing one another.
+     *
+     * @see RenderProfile
+     */
+    public static final RenderingHints.Key KEY_KNOCKOUT = new ProfileKey(0x1D0, "ICEpdf knockout key",
+            val -> val == GraphicsRenderingHints.VALUE_KNOCKOUT_ON
+                    || val == GraphicsRenderingHints.VALUE_KNOCKOUT_OFF);
+
+    /**
+     * Knockout hint value, paint knockout groups as specified.
+     */
+    public static final Object VALUE_KNOCKOUT_ON = "Knockout groups on";
+
+    /**
+     * Knockout hint value, paint knockout groups as non-knockout groups.
+     */
+    public static final Object VALUE_KNOCKOUT_OFF = "Knockout groups off";
+
+    /**
+     * Rendering hint key read by {@code PaintDrawCmd}, an {@link Integer} of at
+     * least 2 capping the number of colour stops an axial or radial shading is
+     * painted with.  Shadings are sampled when parsed so the key can only lower
+     * the resolution.
+     *
+     * @see RenderProfile
+     */
+    public static final RenderingHints.Key KEY_SHADING_STEPS = new ProfileKey(0x1D1, "ICEpdf shading steps key",
+            val -> val instanceof Integer && (Integer) val >= 2);
+
     /**
      * Gets the singleton representation of this object.
      *
@@ -85,6 +170,65 @@ public class GraphicsRenderingHints {
             return printBackground;
     }
 
+    /**
+     * Checks if the given graphics context has been flagged for draft content painting.
+     *
+     * @param g graphics context to check.
+     * @return true if {@link #KEY_CONTENT_DETAIL} is set to {@link #VALUE_CONTENT_DRAFT}.
+     */
+    public static boolean isDraftContent(Graphics2D g) {
+        return g != null && g.getRenderingHint(KEY_CONTENT_DETAIL) == VALUE_CONTENT_DRAFT;
+    }
+
+    /**
+     * Checks if the given graphics context has been flagged for either draft or preview
+     * content painting, that is images must not block on a decode and shadings can be
+     * simplified.
+     *
+     * @param g graphics context to check.
+     * @return true if {@link #KEY_CONTENT_DETAIL} is set to {@link #VALUE_CONTENT_DRAFT} or
+     * {@link #VALUE_CONTENT_PREVIEW}.
+     */
+    public static boolean isReducedContent(Graphics2D g) {
+        if (g == null) {
+            return false;
+        }
+        Object detail = g.getRenderingHint(KEY_CONTENT_DETAIL);
+        return detail == VALUE_CONTENT_DRAFT || detail == VALUE_CONTENT_PREVIEW;
+    }
+
+    /**
+     * Checks if the given graphics context has been flagged to approximate blend modes.
+     *
+     * @param g graphics context to check.
+     * @return true if {@link #KEY_BLEND_FIDELITY} is set to {@link #VALUE_BLEND_APPROXIMATE}.
+     */
+    public static boolean isApproximateBlend(Graphics2D g) {
+        return g != null && g.getRenderingHint(KEY_BLEND_FIDELITY) == VALUE_BLEND_APPROXIMATE;
+    }
+
+    /**
+     * Checks if the given graphics context has been flagged to paint knockout groups as
+     * non-knockout groups.
+     *
+     * @param g graphics context to check.
+     * @return true if {@link #KEY_KNOCKOUT} is set to {@link #VALUE_KNOCKOUT_OFF}.
+     */
+    public static boolean isKnockoutOff(Graphics2D g) {
+        return g != null && g.getRenderingHint(KEY_KNOCKOUT) == VALUE_KNOCKOUT_OFF;
+    }
+
+    /**
+     * Gets the shading stop cap of the given graphics context.
+     *
+     * @param g graphics context to check.
+     * @return value of {@link #KEY_SHADING_STEPS}, 0 if not set.
+     */
+    public static int getShadingSteps(Graphics2D g) {
+        Object steps = g != null ? g.getRenderingHint(KEY_SHADING_STEPS) : null;
+        return steps instanceof Integer ? (Integer) steps : 0;
+    }
+
     /**
      * Rereads the system properties responsible for setting the rendering hints
      * for both the PRINT and SCREEN modes.
@@ -433,4 +577,43 @@ public class GraphicsRenderingHints {
 
     private RenderingHints screenHints;
     private RenderingHints printHints;
+
+    private static final class ContentDetailKey extends RenderingHints.Key {
+
+        private ContentDetailKey() {
+            super(0x1CE);
+        }
+
+        @Override
+        public boolean isCompatibleValue(Object val) {
+            return val == VALUE_CONTENT_FULL || val == VALUE_CONTENT_DRAFT || val == VALUE_CONTENT_PREVIEW;
+        }
+
+        @Override
+        public String toString() {
+            return "ICEpdf content detail key";
+        }
+    }
+
+    private static final class ProfileKey extends RenderingHints.Key {
+
+        private final String name;
+        private final Predicate<Object> compatible;
+
+        private ProfileKey(int privateKey, String name, Predicate<Object> compatible) {
+            super(privateKey);
+            this.name = name;
+            this.compatible = compatible;
+        }
+
+        @Override
+        public boolean isCompatibleValue(Object val) {
+            return compatible.test(val);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
 }
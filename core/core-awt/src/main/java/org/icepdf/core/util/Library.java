@@ -25,6 +25,8 @@ import org.icepdf.core.pobjects.fonts.Font;
 import org.icepdf.core.pobjects.fonts.FontDescriptor;
 import org.icepdf.core.pobjects.graphics.ICCBased;
 import org.icepdf.core.pobjects.graphics.images.ImageStream;
+import org.icepdf.core.pobjects.graphics.FormDisplayListCache;
+import org.icepdf.core.pobjects.graphics.TilingPatternTileCache;
 import org.icepdf.core.pobjects.graphics.images.references.ImagePool;
 import org.icepdf.core.pobjects.security.JceProvider;
 import org.icepdf.core.pobjects.security.SecurityManager;
@@ -33,6 +35,11 @@ import org.icepdf.core.pobjects.structure.Header;
 import org.icepdf.core.pobjects.structure.Indexer;
 import org.icepdf.core.pobjects.structure.exceptions.CrossReferenceStateException;
 import org.icepdf.core.pobjects.structure.exceptions.ObjectStateException;
+import org.icepdf.core.util.memory.DocumentMemory;
+import org.icepdf.core.util.memory.MemoryGovernor;
+import org.icepdf.core.util.metrics.CacheType;
+import org.icepdf.core.util.metrics.RenderMetrics;
+import org.icepdf.core.util.metrics.RenderPhase;
 import org.icepdf.core.util.parser.object.ObjectLoader;
 
 import java.awt.geom.Rectangle2D;
@@ -43,6 +50,7 @@ import java.lang.ref.WeakReference;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.*;
 import java.util.logging.Level;
@@ -61,8 +69,9 @@ public class Library {
 
     private static final Logger logger = Logger.getLogger(Library.class.getName());
 
-    protected static ThreadPoolExecutor commonThreadPool;
-    protected static ThreadPoolExecutor imageThreadPool;
+    protected static volatile ThreadPoolExecutor commonThreadPool;
+    protected static volatile ThreadPoolExecutor imageThreadPool;
+    protected static volatile ExecutorService blockingExecutor;
 
     public static int commonPoolThreads;
     public static int imagePoolThreads;
@@ -81,9 +90,38 @@ public class Library {
     private static final int DEFAULT_THREAD_POOL_CAP = 8;
     private static final int MIN_POOL_THREADS = 2;
 
+    /**
+     * How the library runs work that mostly waits, tasks submitted with {@link #executeBlocking(Runnable)} such as
+     * file and network reads, and page and thumbnail renders, which wait on the image pool for their images to
+     * decode.  Image decoding itself is CPU-bound and always runs on the sized image pool through
+     * {@link #executeImage(FutureTask)}, as does other computing work submitted with {@link #execute(Runnable)}.
+     * <br>
+     * The strategy is set with the {@link #EXECUTION_STRATEGY_PROPERTY} system property, {@code platform} or
+     * {@code virtual}.  It defaults to {@link #VIRTUAL} when the runtime has virtual threads, the library jar is a
+     * multi-release jar whose JDK 21 classes provide them, and to {@link #PLATFORM} otherwise.
+     *
+     * @since 7.5
+     */
+    public enum ExecutionStrategy {
+        /**
+         * Blocking tasks share the common thread pool, a waiting task holds one of its threads.
+         */
+        PLATFORM,
+        /**
+         * Each blocking task runs on its own virtual thread, a waiting task doesn't hold a platform thread.  Needs
+         * a JDK 21 or later runtime.
+         */
+        VIRTUAL
+    }
+
+    public static final String EXECUTION_STRATEGY_PROPERTY = "org.icepdf.core.library.executionStrategy";
+    private static volatile ExecutionStrategy executionStrategy;
+
     static {
         commonPoolThreads = resolvePoolSize(COMMON_POOL_SIZE_PROPERTY);
         imagePoolThreads = resolvePoolSize(IMAGE_POOL_SIZE_PROPERTY);
+        executionStrategy = resolveExecutionStrategy(Defs.sysProperty(EXECUTION_STRATEGY_PROPERTY),
+                ExecutorSupport.isVirtualThreadSupported());
         JceProvider.loadProvider();
     }
 
@@ -122,6 +160,31 @@ public class Library {
         return derived;
     }
 
+    /**
+     * Resolves the execution strategy from the value of {@link #EXECUTION_STRATEGY_PROPERTY}, falling back to
+     * {@link ExecutionStrategy#PLATFORM} if virtual threads were asked for but the runtime doesn't have them.
+     *
+     * @param value          property value, null if not set.
+     * @param virtualThreads true if the runtime has virtual threads.
+     * @return resolved strategy.
+     */
+    static ExecutionStrategy resolveExecutionStrategy(String value, boolean virtualThreads) {
+        ExecutionStrategy strategy = virtualThreads ? ExecutionStrategy.VIRTUAL : ExecutionStrategy.PLATFORM;
+        if (value != null) {
+            try {
+                strategy = ExecutionStrategy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                logger.warning("Invalid execution strategy for " + EXECUTION_STRATEGY_PROPERTY + ": '" + value
+                        + "', using " + strategy.name().toLowerCase(Locale.ROOT) + ".");
+            }
+        }
+        if (strategy == ExecutionStrategy.VIRTUAL && !virtualThreads) {
+            logger.warning("Virtual threads require a JDK 21 runtime, using platform threads.");
+            strategy = ExecutionStrategy.PLATFORM;
+        }
+        return strategy;
+    }
+
     private final ConcurrentHashMap<Reference, java.lang.ref.Reference<Object>> objectStore =
             new ConcurrentHashMap<>(1024);
     // Soft (not weak): an ICCBased colour space is expensive to build (parses an
@@ -157,7 +220,11 @@ public class Library {
 
     private boolean isEncrypted;
     private boolean isLinearTraversal;
+    private final DocumentMemory documentMemory;
     private final ImagePool imagePool;
+    private final DecodedStreamCache decodedStreamCache;
+    private final FormDisplayListCache formDisplayListCache;
+    private final TilingPatternTileCache tilingPatternTileCache;
 
     /**
      * Creates a new instance of a Library.
@@ -165,7 +232,15 @@ public class Library {
     public Library() {
         objectLoader = new ObjectLoader(this);
         // set Catalog memory Manager and cache manager.
-        imagePool = new ImagePool();
+        documentMemory = MemoryGovernor.getInstance().createDocumentMemory();
+        imagePool = new ImagePool(documentMemory);
+        decodedStreamCache = new DecodedStreamCache(documentMemory);
+        formDisplayListCache = new FormDisplayListCache(documentMemory);
+        tilingPatternTileCache = new TilingPatternTileCache(documentMemory);
+        documentMemory.register(imagePool);
+        documentMemory.register(decodedStreamCache);
+        documentMemory.register(formDisplayListCache);
+        documentMemory.register(tilingPatternTileCache);
         signatureHandler = new SignatureHandler();
         signatureManager = new SignatureManager();
     }
@@ -217,7 +292,11 @@ public class Library {
         // check cache for initiated object.
         java.lang.ref.Reference<Object> obRef = useCache ? objectStore.get(reference) : null;
         obj = obRef != null ? obRef.get() : null;
+        if (useCache) {
+            RenderMetrics.cacheAccessed(CacheType.OBJECT, this, obj != null);
+        }
         if (obj == null && crossReferenceRoot != null) {
+            long start = RenderMetrics.start();
             try {
                 obj = crossReferenceRoot.loadObject(objectLoader, reference, hint);
             } catch (ObjectStateException | CrossReferenceStateException | IOException e) {
@@ -237,6 +316,7 @@ public class Library {
                         () -> "Failed to load object, likely malformed. " + reference + " " + getFileOrigin());
                 return null;
             }
+            RenderMetrics.stop(RenderPhase.XREF_LOOKUP, this, start);
             if (obj == null) return null;
             // keep expensive like fonts, images, page tree
             PObject object = ((PObject) obj);
@@ -1073,7 +1153,39 @@ public class Library {
         return imagePool;
     }
 
-    public static void initializeThreadPool() {
+    /**
+     * Gets the memory account of the document, which the document's caches register with and which keeps them
+     * within the document's and the JVM's memory budget.
+     *
+     * @return document memory.
+     */
+    public DocumentMemory getDocumentMemory() {
+        return documentMemory;
+    }
+
+    public DecodedStreamCache getDecodedStreamCache() {
+        return decodedStreamCache;
+    }
+
+    /**
+     * Gets the cache of parsed Form XObject display lists shared by all pages of the document.
+     *
+     * @return form display list cache.
+     */
+    public FormDisplayListCache getFormDisplayListCache() {
+        return formDisplayListCache;
+    }
+
+    /**
+     * Gets the cache of rendered tiling pattern tiles shared by all pages of the document.
+     *
+     * @return tiling pattern tile cache.
+     */
+    public TilingPatternTileCache getTilingPatternTileCache() {
+        return tilingPatternTileCache;
+    }
+
+    public static synchronized void initializeThreadPool() {
 
         logger.log(Level.FINE, () -> "Starting ICEpdf Thread Pool: " + commonPoolThreads + " threads.");
 
@@ -1105,6 +1217,12 @@ public class Library {
                 return newThread;
             });
         }
+
+        if (executionStrategy == ExecutionStrategy.VIRTUAL &&
+                (blockingExecutor == null || blockingExecutor.isShutdown())) {
+            logger.log(Level.FINE, "Starting ICEpdf virtual thread executor for blocking tasks.");
+            blockingExecutor = ExecutorSupport.newVirtualThreadExecutor("ICEpdf-virtual-thread-");
+        }
     }
 
     public static void shutdownThreadPool() {
@@ -1113,6 +1231,49 @@ public class Library {
         commonThreadPool.shutdownNow();
         imageThreadPool.purge();
         imageThreadPool.shutdownNow();
+        if (blockingExecutor != null) {
+            blockingExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the strategy {@link #executeBlocking(Runnable)} runs its tasks with.
+     *
+     * @return current execution strategy.
+     */
+    public static ExecutionStrategy getExecutionStrategy() {
+        return executionStrategy;
+    }
+
+    /**
+     * Changes the strategy {@link #executeBlocking(Runnable)} runs its tasks with.  Tasks already started finish on
+     * the threads they were started on.
+     *
+     * @param strategy new execution strategy.
+     * @throws IllegalArgumentException strategy is null.
+     * @throws IllegalStateException    {@link ExecutionStrategy#VIRTUAL} was asked for but the runtime has no
+     *                                  virtual threads.
+     */
+    public static synchronized void setExecutionStrategy(ExecutionStrategy strategy) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("Execution strategy can not be null");
+        }
+        if (strategy == ExecutionStrategy.VIRTUAL && !isVirtualThreadSupported()) {
+            throw new IllegalStateException("Virtual threads require a JDK 21 runtime");
+        }
+        executionStrategy = strategy;
+        if (strategy != ExecutionStrategy.VIRTUAL && blockingExecutor != null) {
+            blockingExecutor.shutdown();
+            blockingExecutor = null;
+        }
+        logger.log(Level.FINE, () -> "ICEpdf execution strategy: " + strategy);
+    }
+
+    /**
+     * Tests if the runtime has virtual threads, in which case {@link ExecutionStrategy#VIRTUAL} can be used.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return ExecutorSupport.isVirtualThreadSupported();
     }
 
     /**
@@ -1170,4 +1331,34 @@ public class Library {
             logger.severe("ICEpdf Common Thread Pool was shutdown!");
         }
     }
+
+    /**
+     * Runs a task that spends most of its time waiting, on file or network reads or on the result of other
+     * tasks, rather than computing.  Depending on the {@link ExecutionStrategy} the task runs on a virtual thread
+     * of its own or on the common thread pool.
+     *
+     * @param runnable task to run.
+     */
+    public static void executeBlocking(Runnable runnable) {
+        if (executionStrategy != ExecutionStrategy.VIRTUAL) {
+            execute(runnable);
+            return;
+        }
+        try {
+            ExecutorService executor = blockingExecutor;
+            if (executor == null || executor.isShutdown()) {
+                initializeThreadPool();
+                executor = blockingExecutor;
+            }
+            if (executor == null) {
+                // the strategy was changed in the meantime.
+                execute(runnable);
+                return;
+            }
+            executor.execute(runnable);
+        } catch (RejectedExecutionException e) {
+            // the strategy was changed to platform after the executor was read, don't drop the task.
+            execute(runnable);
+        }
+    }
 }
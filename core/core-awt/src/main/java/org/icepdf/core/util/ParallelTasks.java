@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Runs a set of tasks in parallel with the calling thread taking part.  All but the first task are queued on an
+ * executor, by default the {@link Library} common pool, then the caller works through the tasks in order, running
+ * any that no worker has picked up yet, so a busy or shut down executor only means the caller does more of the work.
+ * <br>
+ * The caller always waits for every task, also when one fails or the caller is interrupted, as the tasks generally
+ * write to state the caller owns.  An interrupt is restored on the calling thread once all the tasks are done.
+ *
+ * @since 7.5
+ */
+public final class ParallelTasks {
+
+    private ParallelTasks() {
+    }
+
+    /**
+     * Runs the tasks on the common pool and the calling thread.
+     *
+     * @param tasks tasks to run.
+     * @param <T>   task result type.
+     * @return result of each task, in task order.
+     * @throws ExecutionException the first task, in task order, that failed.  The other tasks have completed.
+     */
+    public static <T> List<T> invokeAll(List<? extends Callable<T>> tasks) throws ExecutionException {
+        return invokeAll(tasks, Library::execute);
+    }
+
+    /**
+     * Runs the tasks on the given executor and the calling thread.
+     *
+     * @param tasks    tasks to run.
+     * @param executor executor the tasks after the first are queued on.
+     * @param <T>      task result type.
+     * @return result of each task, in task order.
+     * @throws ExecutionException the first task, in task order, that failed.  The other tasks have completed.
+     */
+    public static <T> List<T> invokeAll(List<? extends Callable<T>> tasks, Executor executor)
+            throws ExecutionException {
+        List<FutureTask<T>> futures = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            FutureTask<T> future = new FutureTask<>(task);
+            futures.add(future);
+            if (futures.size() > 1) {
+                try {
+                    executor.execute(future);
+                } catch (RejectedExecutionException e) {
+                    // the caller runs it.
+                }
+            }
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        ExecutionException error = null;
+        boolean interrupted = false;
+        for (FutureTask<T> future : futures) {
+            // run the task here if no worker has picked it up yet.
+            future.run();
+            while (true) {
+                try {
+                    results.add(future.get());
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (error == null) {
+                        error = e;
+                    }
+                    results.add(null);
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (error != null) {
+            throw error;
+        }
+        return results;
+    }
+
+    /**
+     * Rethrows the cause of a failed task: as is if it's unchecked or of the given type, otherwise wrapped in an
+     * {@link IllegalStateException}.
+     *
+     * @param e    failure of a task.
+     * @param type checked exception type the tasks throw.
+     * @param <X>  checked exception type the tasks throw.
+     * @throws X the cause of the failure.
+     */
+    public static <X extends Exception> void throwCause(ExecutionException e, Class<X> type) throws X {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        } else if (type.isInstance(cause)) {
+            throw type.cast(cause);
+        }
+        throw new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util;
+
+import org.icepdf.core.pobjects.graphics.images.references.ImageReferenceFactory;
+
+import java.awt.*;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>A named render quality tier.  Where {@link GraphicsRenderingHints} has a single
+ * SCREEN and PRINT hint set, a profile bundles everything that trades page fidelity
+ * for speed or memory in one place so a batch job can pick a tier per output:</p>
+ * <ul>
+ *     <li>image interpolation and antialiasing, plain Java2D hints;</li>
+ *     <li>glyph hinting, text painted with normalized strokes and integer metrics
+ *     snaps glyph outlines to the pixel grid;</li>
+ *     <li>blend fidelity, {@link GraphicsRenderingHints#VALUE_BLEND_APPROXIMATE} paints
+ *     separable and non-separable blend modes as plain alpha compositing;</li>
+ *     <li>knockout groups, {@link GraphicsRenderingHints#VALUE_KNOCKOUT_OFF} composites
+ *     the elements of a knockout group over each other;</li>
+ *     <li>shading step resolution, the maximum number of colour stops an axial or
+ *     radial shading is painted with;</li>
+ *     <li>the {@link ImageReferenceFactory} type used to decode images.</li>
+ * </ul>
+ * <p>The predefined tiers {@link #PREVIEW}, {@link #SCREEN}, {@link #PRINT}, {@link #OCR}
+ * and {@link #ARCHIVE} are registered at startup, further profiles can be added with
+ * {@link #register(RenderProfile)}.  Profiles are painted with
+ * {@link org.icepdf.core.pobjects.Page#paint(Graphics, RenderProfile, int, float, float, boolean, boolean)}.
+ * A profile should be fully configured before it is registered or shared between threads.</p>
+ * <p>Note the image reference type is read when a document's images are parsed, so it is
+ * global rather than per paint; call {@link #applyImageReferenceType()} before a document is
+ * opened.  Annotation appearance streams are painted with the base SCREEN or PRINT hints.</p>
+ *
+ * @since 7.5
+ */
+public class RenderProfile {
+
+    /**
+     * Low resolution thumbnails and previews, speed over quality.
+     */
+    public static final String PREVIEW = "preview";
+    /**
+     * The default SCREEN rendering hints.
+     */
+    public static final String SCREEN = "screen";
+    /**
+     * The default PRINT rendering hints.
+     */
+    public static final String PRINT = "print";
+    /**
+     * Binarisation friendly input for text recognition, crisp glyphs and no smoothing.
+     */
+    public static final String OCR = "ocr";
+    /**
+     * Highest fidelity, for archival rasters.
+     */
+    public static final String ARCHIVE = "archive";
+
+    // shading stops used by the preview tier, the shading types sample 10 by default.
+    private static final int PREVIEW_SHADING_STEPS = 4;
+
+    private static final Map<String, RenderProfile> registry =
+            Collections.synchronizedMap(new LinkedHashMap<>());
+
+    static {
+        RenderProfile preview = new RenderProfile(PREVIEW, GraphicsRenderingHints.SCREEN);
+        preview.setImageInterpolation(RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        preview.setAntiAliasing(false);
+        preview.setBlendFidelity(GraphicsRenderingHints.VALUE_BLEND_APPROXIMATE);
+        preview.setSkipKnockoutGroups(true);
+        preview.setShadingSteps(PREVIEW_SHADING_STEPS);
+        preview.setImageReferenceType(ImageReferenceFactory.TYPE_SCALED);
+        register(preview);
+
+        register(new RenderProfile(SCREEN, GraphicsRenderingHints.SCREEN));
+        register(new RenderProfile(PRINT, GraphicsRenderingHints.PRINT));
+
+        RenderProfile ocr = new RenderProfile(OCR, GraphicsRenderingHints.PRINT);
+        ocr.setImageInterpolation(RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        ocr.setAntiAliasing(false);
+        ocr.setGlyphHinting(true);
+        ocr.setBlendFidelity(GraphicsRenderingHints.VALUE_BLEND_APPROXIMATE);
+        ocr.setSkipKnockoutGroups(true);
+        ocr.setShadingSteps(PREVIEW_SHADING_STEPS);
+        register(ocr);
+
+        RenderProfile archive = new RenderProfile(ARCHIVE, GraphicsRenderingHints.PRINT);
+        archive.setImageInterpolation(RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        archive.setImageReferenceType(ImageReferenceFactory.TYPE_DEFAULT);
+        register(archive);
+    }
+
+    private final String name;
+    private final int renderHintType;
+    private final RenderingHints renderingHints;
+    private Color backgroundColor;
+    private String imageReferenceType;
+
+    /**
+     * Creates a new profile starting from the configured SCREEN or PRINT hints.
+     *
+     * @param name           unique name of the profile.
+     * @param renderHintType GraphicsRenderingHints.SCREEN or PRINT, the base hints and the mode
+     *                       annotations are painted with.
+     */
+    public RenderProfile(String name, int renderHintType) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Render profile name must not be null or empty.");
+        }
+        GraphicsRenderingHints grh = GraphicsRenderingHints.getDefault();
+        this.name = name;
+        this.renderHintType = renderHintType;
+        this.renderingHints = grh.getRenderingHints(renderHintType);
+        this.backgroundColor = grh.getPageBackgroundColor(renderHintType);
+    }
+
+    /**
+     * Adds or replaces a profile in the registry.
+     *
+     * @param profile profile to register under its name.
+     */
+    public static void register(RenderProfile profile) {
+        registry.put(profile.getName(), profile);
+    }
+
+    /**
+     * Gets a registered profile.
+     *
+     * @param name profile name.
+     * @return registered profile, null if no profile is registered under the name.
+     */
+    public static RenderProfile getProfile(String name) {
+        return registry.get(name);
+    }
+
+    /**
+     * Returns an ordered view of the registered profiles, keyed by name.
+     */
+    public static Map<String, RenderProfile> getRegisteredProfiles() {
+        synchronized (registry) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(registry));
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getRenderHintType() {
+        return renderHintType;
+    }
+
+    /**
+     * Gets the Java2D and ICEpdf rendering hints of this profile.
+     *
+     * @return copy of the profile's hints.
+     */
+    public RenderingHints getRenderingHints() {
+        return (RenderingHints) renderingHints.clone();
+    }
+
+    public Object getRenderingHint(RenderingHints.Key key) {
+        return renderingHints.get(key);
+    }
+
+    public void setRenderingHint(RenderingHints.Key key, Object value) {
+        renderingHints.put(key, value);
+    }
+
+    public Color getBackgroundColor() {
+        return backgroundColor;
+    }
+
+    /**
+     * Sets the page background colour.
+     *
+     * @param backgroundColor page background, null paints no background.
+     */
+    public void setBackgroundColor(Color backgroundColor) {
+        this.backgroundColor = backgroundColor;
+    }
+
+    /**
+     * Sets the image interpolation, one of the RenderingHints.VALUE_INTERPOLATION_* values.
+     */
+    public void setImageInterpolation(Object interpolation) {
+        renderingHints.put(RenderingHints.KEY_INTERPOLATION, interpolation);
+    }
+
+    /**
+     * Turns antialiasing of shapes and text on or off.
+     */
+    public void setAntiAliasing(boolean antiAliasing) {
+        renderingHints.put(RenderingHints.KEY_ANTIALIASING,
+                antiAliasing ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+        renderingHints.put(RenderingHints.KEY_TEXT_ANTIALIASING,
+                antiAliasing ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+    }
+
+    /**
+     * Turns glyph hinting on or off.  Hinted glyphs are painted with normalized strokes and
+     * integer metrics so stems land on whole pixels; unhinted glyphs keep their exact outlines
+     * and fractional advances.
+     * <br>
+     * This only sets Java2D's {@link RenderingHints#KEY_STROKE_CONTROL} and
+     * {@link RenderingHints#KEY_FRACTIONALMETRICS}.  Embedded fonts are painted as outlines, so
+     * their own hinting instructions are never run whatever the setting.
+     */
+    public void setGlyphHinting(boolean glyphHinting) {
+        renderingHints.put(RenderingHints.KEY_STROKE_CONTROL,
+                glyphHinting ? RenderingHints.VALUE_STROKE_NORMALIZE : RenderingHints.VALUE_STROKE_PURE);
+        renderingHints.put(RenderingHints.KEY_FRACTIONALMETRICS,
+                glyphHinting ? RenderingHints.VALUE_FRACTIONALMETRICS_OFF :
+                        RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+    }
+
+    public boolean isGlyphHinting() {
+        return renderingHints.get(RenderingHints.KEY_FRACTIONALMETRICS) ==
+                RenderingHints.VALUE_FRACTIONALMETRICS_OFF;
+    }
+
+    /**
+     * Sets the blend fidelity, {@link GraphicsRenderingHints#VALUE_BLEND_EXACT} or
+     * {@link GraphicsRenderingHints#VALUE_BLEND_APPROXIMATE}.
+     */
+    public void setBlendFidelity(Object blendFidelity) {
+        renderingHints.put(GraphicsRenderingHints.KEY_BLEND_FIDELITY, blendFidelity);
+    }
+
+    public Object getBlendFidelity() {
+        Object value = renderingHints.get(GraphicsRenderingHints.KEY_BLEND_FIDELITY);
+        return value != null ? value : GraphicsRenderingHints.VALUE_BLEND_EXACT;
+    }
+
+    /**
+     * Skips the knockout behaviour of transparency groups, their elements are composited over
+     * each other as in a non-knockout group.
+     */
+    public void setSkipKnockoutGroups(boolean skipKnockoutGroups) {
+        renderingHints.put(GraphicsRenderingHints.KEY_KNOCKOUT,
+                skipKnockoutGroups ? GraphicsRenderingHints.VALUE_KNOCKOUT_OFF :
+                        GraphicsRenderingHints.VALUE_KNOCKOUT_ON);
+    }
+
+    public boolean isSkipKnockoutGroups() {
+        return renderingHints.get(GraphicsRenderingHints.KEY_KNOCKOUT) == GraphicsRenderingHints.VALUE_KNOCKOUT_OFF;
+    }
+
+    /**
+     * Caps the number of colour stops axial and radial shadings are painted with.
+     *
+     * @param shadingSteps maximum number of stops, at least 2, or 0 to paint the shading's stops as sampled.
+     * @throws IllegalArgumentException shadingSteps is 1, a shading needs a stop at each end.
+     */
+    public void setShadingSteps(int shadingSteps) {
+        if (shadingSteps == 1) {
+            throw new IllegalArgumentException("Shading steps must be at least 2, or 0 for no cap: " + shadingSteps);
+        }
+        if (shadingSteps <= 0) {
+            renderingHints.remove(GraphicsRenderingHints.KEY_SHADING_STEPS);
+        } else {
+            renderingHints.put(GraphicsRenderingHints.KEY_SHADING_STEPS, shadingSteps);
+        }
+    }
+
+    public int getShadingSteps() {
+        Object value = renderingHints.get(GraphicsRenderingHints.KEY_SHADING_STEPS);
+        return value instanceof Integer ? (Integer) value : 0;
+    }
+
+    public String getImageReferenceType() {
+        return imageReferenceType;
+    }
+
+    /**
+     * Sets the {@link ImageReferenceFactory} type key documents are opened with.
+     *
+     * @param imageReferenceType registered type key, or null to leave the global setting alone.
+     */
+    public void setImageReferenceType(String imageReferenceType) {
+        this.imageReferenceType = imageReferenceType;
+    }
+
+    /**
+     * Makes this profile's image reference type the active {@link ImageReferenceFactory} type.  It applies to
+     * documents opened afterwards.
+     */
+    public void applyImageReferenceType() {
+        if (imageReferenceType != null) {
+            ImageReferenceFactory.setImageReferenceType(imageReferenceType);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util;
+
+import org.icepdf.core.pobjects.PTrailer;
+import org.icepdf.core.pobjects.PageRenderCache;
+import org.icepdf.core.pobjects.StringObject;
+import org.icepdf.core.pobjects.structure.CrossReferenceRoot;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Persistent store for rendered page thumbnails.  Thumbnails are written as PNG files under a per-document
+ * directory named by {@link #documentKey(Library)}, so a document that is opened again, from the same path or not,
+ * finds the thumbnails of its previous session without parsing any page content.
+ * <br>
+ * The cache is bounded by {@link #MAX_SIZE_PROPERTY} (MB, default 256).  Document directories are evicted least
+ * recently used first, where use is tracked by touching the directory's modified time on every hit.  The default
+ * location is {@code ${java.io.tmpdir}/icepdf-thumbnails} and can be moved with {@link #CACHE_DIR_PROPERTY}.
+ * <br>
+ * All failures are logged and treated as cache misses, a broken or read-only cache directory never stops a
+ * thumbnail from being rendered.
+ * <br>
+ * The same store can serve as the disk tier of a {@link PageRenderCache}, preferably rooted in its own directory.
+ *
+ * @see ThumbnailProvider
+ * @since 7.5
+ */
+public class ThumbnailDiskCache implements PageRenderCache.DiskTier {
+
+    private static final Logger logger = Logger.getLogger(ThumbnailDiskCache.class.getName());
+
+    public static final String CACHE_DIR_PROPERTY = "org.icepdf.core.thumbnails.cacheDir";
+    public static final String MAX_SIZE_PROPERTY = "org.icepdf.core.thumbnails.cacheMaxMB";
+
+    // bump when the thumbnail rendering or the document key changes so stale thumbnails from an older build aren't
+    // reused, the old directories are trimmed as they age.
+    private static final int FORMAT_VERSION = 2;
+    private static final int KEY_CHUNK_SIZE = 64 * 1024;
+    private static final String FILE_EXTENSION = ".png";
+
+    private static ThumbnailDiskCache defaultCache;
+
+    // keys already digested, a document's bytes don't change while it's open.
+    private static final Map<Library, String> documentKeys = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Path directory;
+    private final long maxBytes;
+
+    /**
+     * Creates a new cache rooted at the given directory.  The directory is created on the first write.
+     *
+     * @param directory root directory of the cache.
+     * @param maxBytes  size budget in bytes, a value &lt;= 0 disables trimming.
+     */
+    public ThumbnailDiskCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Gets the shared cache configured by {@link #CACHE_DIR_PROPERTY} and {@link #MAX_SIZE_PROPERTY}.
+     *
+     * @return default thumbnail disk cache.
+     */
+    public static synchronized ThumbnailDiskCache getDefault() {
+        if (defaultCache == null) {
+            String dir = Defs.sysProperty(CACHE_DIR_PROPERTY,
+                    Defs.sysProperty("java.io.tmpdir", ".") + "/icepdf-thumbnails");
+            long maxMb = Defs.intProperty(MAX_SIZE_PROPERTY, 256);
+            defaultCache = new ThumbnailDiskCache(Paths.get(dir), maxMb * 1024 * 1024);
+        }
+        return defaultCache;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Builds a stable identity for the document behind the given library.  The key is a digest of the trailer's
+     * {@code /ID} and all of the file's bytes, so any saved change yields a new key, while the same bytes opened from
+     * a different path map to the same key.  Reading the whole file is done once per document, call it off the
+     * event dispatch thread.
+     *
+     * @param library document library, must have its file buffer and cross reference loaded.
+     * @return hex encoded key, or null if the document can't be identified.
+     */
+    public static String documentKey(Library library) {
+        String key = documentKeys.get(library);
+        if (key == null) {
+            key = digest(library);
+            if (key != null) {
+                documentKeys.put(library, key);
+            }
+        }
+        return key;
+    }
+
+    private static String digest(Library library) {
+        ByteBuffer buffer = library.getMappedFileByteBuffer();
+        if (buffer == null) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(("v" + FORMAT_VERSION).getBytes(StandardCharsets.US_ASCII));
+            // work on a duplicate, the shared buffer's position must never move (see Library).
+            ByteBuffer data = buffer.duplicate();
+            int length = data.limit();
+            digest.update(Long.toString(length).getBytes(StandardCharsets.US_ASCII));
+            CrossReferenceRoot crossReferenceRoot = library.getCrossReferenceRoot();
+            PTrailer trailer = crossReferenceRoot != null ? crossReferenceRoot.getTrailerDictionary() : null;
+            List<?> ids = trailer != null ? trailer.getID() : null;
+            if (ids != null) {
+                for (Object id : ids) {
+                    if (id instanceof StringObject) {
+                        digest.update(((StringObject) id).getRawBytes());
+                    }
+                }
+            }
+            data.position(0);
+            byte[] chunk = new byte[Math.min(KEY_CHUNK_SIZE, length)];
+            while (data.hasRemaining()) {
+                int read = Math.min(chunk.length, data.remaining());
+                data.get(chunk, 0, read);
+                digest.update(chunk, 0, read);
+            }
+            return toHex(digest.digest());
+        } catch (NoSuchAlgorithmException | RuntimeException e) {
+            logger.log(Level.FINE, "Could not build thumbnail cache key.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads a cached thumbnail.
+     *
+     * @param documentKey key from {@link #documentKey(Library)}.
+     * @param pageIndex   zero based page index.
+     * @param variant     thumbnail variant, generally the zoom and boundary it was rendered at.
+     * @return cached thumbnail or null if not cached.
+     */
+    public BufferedImage get(String documentKey, int pageIndex, String variant) {
+        Path file = thumbnailPath(documentKey, pageIndex, variant);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            BufferedImage image = ImageIO.read(file.toFile());
+            touch(file.getParent());
+            return image;
+        } catch (IOException e) {
+            logger.log(Level.FINE, e, () -> "Failed to read cached thumbnail " + file);
+            remove(documentKey, pageIndex, variant);
+            return null;
+        }
+    }
+
+    /**
+     * Writes a thumbnail to the cache.  The file is written to a temporary name and moved into place so a
+     * concurrent reader never sees a partial PNG.
+     *
+     * @param documentKey key from {@link #documentKey(Library)}.
+     * @param pageIndex   zero based page index.
+     * @param variant     thumbnail variant, generally the zoom and boundary it was rendered at.
+     * @param image       thumbnail to store.
+     */
+    public void put(String documentKey, int pageIndex, String variant, BufferedImage image) {
+        Path file = thumbnailPath(documentKey, pageIndex, variant);
+        Path tmp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            tmp = Files.createTempFile(file.getParent(), "thumb", ".tmp");
+            if (!ImageIO.write(image, "png", tmp.toFile())) {
+                return;
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            tmp = null;
+        } catch (IOException e) {
+            logger.log(Level.FINE, e, () -> "Failed to write cached thumbnail " + file);
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException e) {
+                    // nothing more we can do.
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes a single cached thumbnail, used when a page's content has changed.
+     *
+     * @param documentKey key from {@link #documentKey(Library)}.
+     * @param pageIndex   zero based page index.
+     * @param variant     thumbnail variant.
+     */
+    public void remove(String documentKey, int pageIndex, String variant) {
+        try {
+            Files.deleteIfExists(thumbnailPath(documentKey, pageIndex, variant));
+        } catch (IOException e) {
+            logger.log(Level.FINE, "Failed to remove cached thumbnail.", e);
+        }
+    }
+
+    /**
+     * Evicts the least recently used document directories until the cache fits its size budget.
+     */
+    public synchronized void trim() {
+        if (maxBytes <= 0 || !Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> documents = new ArrayList<>();
+        try (Stream<Path> children = Files.list(directory)) {
+            children.filter(Files::isDirectory).forEach(documents::add);
+        } catch (IOException e) {
+            logger.log(Level.FINE, "Failed to list thumbnail cache.", e);
+            return;
+        }
+        long[] sizes = new long[documents.size()];
+        long total = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = directorySize(documents.get(i));
+            total += sizes[i];
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+        List<Integer> order = new ArrayList<>(documents.size());
+        for (int i = 0; i < sizes.length; i++) {
+            order.add(i);
+        }
+        order.sort((a, b) -> lastModified(documents.get(a)).compareTo(lastModified(documents.get(b))));
+        for (int i : order) {
+            if (total <= maxBytes) {
+                break;
+            }
+            deleteDirectory(documents.get(i));
+            total -= sizes[i];
+        }
+    }
+
+    private Path thumbnailPath(String documentKey, int pageIndex, String variant) {
+        return directory.resolve(documentKey).resolve(pageIndex + "_" + variant + FILE_EXTENSION);
+    }
+
+    private static void touch(Path path) {
+        try {
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // lru order is best effort.
+        }
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static long directorySize(Path dir) {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.mapToLong(file -> {
+                try {
+                    return Files.size(file);
+                } catch (IOException e) {
+                    return 0;
+                }
+            }).sum();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteDirectory(Path dir) {
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    // left for the next trim.
+                }
+            });
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            logger.log(Level.FINE, e, () -> "Failed to evict thumbnail cache entry " + dir);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+            hex.append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
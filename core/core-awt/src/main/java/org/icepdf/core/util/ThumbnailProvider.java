@@ -0,0 +1,488 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util;
+
+import org.icepdf.core.pobjects.*;
+import org.icepdf.core.pobjects.annotations.Annotation;
+import org.icepdf.core.pobjects.graphics.Shapes;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.lang.ref.SoftReference;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Builds page thumbnails as cheaply as the document allows.  For each page the provider tries, in order:
+ * <ol>
+ * <li>the in memory cache,</li>
+ * <li>the persistent {@link ThumbnailDiskCache}, so re-opening a document shows its thumbnails without parsing
+ * any page content,</li>
+ * <li>the page's embedded {@code /Thumb} image, see {@link Page#getThumbnail()},</li>
+ * <li>a draft render of the page at thumbnail resolution.  The page is painted with speed biased rendering hints
+ * and {@link GraphicsRenderingHints#VALUE_CONTENT_DRAFT}, so text runs are painted as bars and images that
+ * haven't been decoded yet are painted as placeholders.</li>
+ * </ol>
+ * Results from the last two steps are written back to the disk cache, except for draft renders with images that
+ * were still decoding, which are only kept in memory.
+ * <br>
+ * Edits recorded by the document's {@link StateManager} invalidate the thumbnails of the edited pages, any other
+ * change invalidates them all.  The disk cache is keyed by the document's saved bytes, so an edited page is
+ * neither read from nor written to it, nor taken from its stale {@code /Thumb}, until the document is saved and
+ * reopened.
+ * <br>
+ * Asynchronous requests, {@link #requestThumbnail(int, ThumbnailListener)}, are queued and worked off with
+ * {@link Library#executeBlocking(Runnable)}, as a render mostly waits on its images to decode.  Rather than first
+ * in first out, workers always take the pending page nearest the range last passed to
+ * {@link #setVisibleRange(int, int)}, so a fast scroll through a large document renders what the user is looking at first and pages scrolled past fall to the back of the queue.
+ * <br>
+ * The number of concurrent workers can be set with {@code org.icepdf.core.thumbnails.workers}, default 2, and the
+ * disk cache can be turned off with {@code org.icepdf.core.thumbnails.diskCache=false}.
+ *
+ * @since 7.5
+ */
+public class ThumbnailProvider {
+
+    private static final Logger logger = Logger.getLogger(ThumbnailProvider.class.getName());
+
+    public static final String DISK_CACHE_ENABLED_PROPERTY = "org.icepdf.core.thumbnails.diskCache";
+    public static final String WORKERS_PROPERTY = "org.icepdf.core.thumbnails.workers";
+
+    private static final boolean diskCacheEnabled = Defs.booleanProperty(DISK_CACHE_ENABLED_PROPERTY, true);
+    private static final int maxWorkers = Math.max(1, Defs.intProperty(WORKERS_PROPERTY, 2));
+
+    // an embedded thumbnail whose aspect ratio is this far off the page's is assumed to be stale or for a
+    // different page box and is ignored in favour of a render.
+    private static final double MAX_ASPECT_DIFFERENCE = 0.1;
+
+    /**
+     * Notified when a requested thumbnail is ready, or with a null thumbnail when it couldn't be built.  Called on a
+     * worker thread, or on the calling thread when the thumbnail was already in memory.
+     */
+    public interface ThumbnailListener {
+        void thumbnailReady(int pageIndex, BufferedImage thumbnail);
+    }
+
+    private final PageTree pageTree;
+    private final Library library;
+    private final float zoom;
+    private final int boundary;
+    private final float rotation;
+    private final ThumbnailDiskCache diskCache;
+    private final String variant;
+    // resolved on the first build, digesting the document is too slow for the caller's thread.
+    private volatile String documentKey;
+    private volatile boolean documentKeyResolved;
+
+    private final Map<Integer, SoftReference<BufferedImage>> memoryCache = new ConcurrentHashMap<>();
+
+    private final StateManager stateManager;
+    private final StateManager.ChangeListener changeListener = this::changeRecorded;
+    // pages edited this session, their thumbnails no longer match the document's saved bytes.
+    private final Set<Integer> editedPages = ConcurrentHashMap.newKeySet();
+    private volatile boolean documentEdited;
+
+    // pending requests and their listeners, guarded by queueLock.
+    private final Map<Integer, List<ThumbnailListener>> pending = new HashMap<>();
+    private final Object queueLock = new Object();
+    private int visibleFirst;
+    private int visibleLast;
+    private int activeWorkers;
+    private volatile boolean disposed;
+
+    /**
+     * Creates a provider for the given document using the default disk cache, if enabled.
+     *
+     * @param document document to build thumbnails for.
+     * @param zoom     thumbnail zoom relative to the page's size in points.
+     */
+    public ThumbnailProvider(Document document, float zoom) {
+        this(document, zoom, Page.BOUNDARY_CROPBOX, diskCacheEnabled ? ThumbnailDiskCache.getDefault() : null);
+    }
+
+    /**
+     * Creates a provider for the given document.
+     *
+     * @param document  document to build thumbnails for.
+     * @param zoom      thumbnail zoom relative to the page's size in points.
+     * @param boundary  page boundary to render, see {@link Page#BOUNDARY_CROPBOX}.
+     * @param diskCache persistent cache to read and write thumbnails, null to keep thumbnails in memory only.
+     */
+    public ThumbnailProvider(Document document, float zoom, int boundary, ThumbnailDiskCache diskCache) {
+        this(document, zoom, boundary, 0, diskCache);
+    }
+
+    /**
+     * Creates a provider for the given document and view rotation using the default disk cache, if enabled.
+     *
+     * @param document document to build thumbnails for.
+     * @param zoom     thumbnail zoom relative to the page's size in points.
+     * @param boundary page boundary to render, see {@link Page#BOUNDARY_CROPBOX}.
+     * @param rotation rotation applied on top of the page's own, in degrees.
+     */
+    public ThumbnailProvider(Document document, float zoom, int boundary, float rotation) {
+        this(document, zoom, boundary, rotation, diskCacheEnabled ? ThumbnailDiskCache.getDefault() : null);
+    }
+
+    /**
+     * Creates a provider for the given document and view rotation.
+     *
+     * @param document  document to build thumbnails for.
+     * @param zoom      thumbnail zoom relative to the page's size in points.
+     * @param boundary  page boundary to render, see {@link Page#BOUNDARY_CROPBOX}.
+     * @param rotation  rotation applied on top of the page's own, in degrees.
+     * @param diskCache persistent cache to read and write thumbnails, null to keep thumbnails in memory only.
+     */
+    public ThumbnailProvider(Document document, float zoom, int boundary, float rotation,
+                             ThumbnailDiskCache diskCache) {
+        this.pageTree = document.getPageTree();
+        this.library = document.getCatalog().getLibrary();
+        this.zoom = zoom;
+        this.boundary = boundary;
+        this.rotation = ((rotation % 360) + 360) % 360;
+        this.diskCache = diskCache;
+        // unrotated thumbnails keep the variant they were cached under before rotation was part of it.
+        this.variant = Math.round(zoom * 1000) + "_" + boundary +
+                (this.rotation != 0 ? "_r" + Math.round(this.rotation) : "");
+        if (diskCache != null) {
+            // keep the cache within budget, off the caller's thread as it walks the cache directory.
+            Library.executeBlocking(diskCache::trim);
+        }
+        stateManager = library.getStateManager();
+        if (stateManager != null) {
+            stateManager.addChangeListener(changeListener);
+        }
+    }
+
+    public float getZoom() {
+        return zoom;
+    }
+
+    public int getBoundary() {
+        return boundary;
+    }
+
+    public float getRotation() {
+        return rotation;
+    }
+
+    /**
+     * Gets a thumbnail from the in memory cache without doing any work.
+     *
+     * @param pageIndex zero based page index.
+     * @return thumbnail or null if it hasn't been built or was reclaimed.
+     */
+    public BufferedImage getCachedThumbnail(int pageIndex) {
+        SoftReference<BufferedImage> ref = memoryCache.get(pageIndex);
+        return ref != null ? ref.get() : null;
+    }
+
+    /**
+     * Gets a page thumbnail, building it on the calling thread if needed.
+     *
+     * @param pageIndex zero based page index.
+     * @return page thumbnail, null if the page could not be found.
+     * @throws InterruptedException thread was interrupted while building the thumbnail.
+     */
+    public BufferedImage getThumbnail(int pageIndex) throws InterruptedException {
+        BufferedImage thumbnail = getCachedThumbnail(pageIndex);
+        if (thumbnail == null) {
+            thumbnail = buildThumbnail(pageIndex);
+        }
+        return thumbnail;
+    }
+
+    /**
+     * Queues a thumbnail request.  If the thumbnail is already in memory the listener is called before this method
+     * returns, otherwise it is called from a worker once the thumbnail has been built.  Duplicate requests for the
+     * same page are coalesced.
+     *
+     * @param pageIndex zero based page index.
+     * @param listener  listener to notify.
+     */
+    public void requestThumbnail(int pageIndex, ThumbnailListener listener) {
+        BufferedImage thumbnail = getCachedThumbnail(pageIndex);
+        if (thumbnail != null) {
+            listener.thumbnailReady(pageIndex, thumbnail);
+            return;
+        }
+        boolean startWorker = false;
+        synchronized (queueLock) {
+            if (disposed) {
+                return;
+            }
+            pending.computeIfAbsent(pageIndex, k -> new ArrayList<>(1)).add(listener);
+            if (activeWorkers < maxWorkers) {
+                activeWorkers++;
+                startWorker = true;
+            }
+        }
+        if (startWorker) {
+            Library.executeBlocking(this::processQueue);
+        }
+    }
+
+    /**
+     * Drops any pending request for the given page, generally because it has scrolled out of view.
+     *
+     * @param pageIndex zero based page index.
+     */
+    public void cancel(int pageIndex) {
+        synchronized (queueLock) {
+            pending.remove(pageIndex);
+        }
+    }
+
+    /**
+     * Sets the range of pages currently visible.  Pending requests are worked off nearest this range first.
+     *
+     * @param firstPage first visible page index.
+     * @param lastPage  last visible page index.
+     */
+    public void setVisibleRange(int firstPage, int lastPage) {
+        synchronized (queueLock) {
+            visibleFirst = Math.min(firstPage, lastPage);
+            visibleLast = Math.max(firstPage, lastPage);
+        }
+    }
+
+    /**
+     * Forgets a page's thumbnail, called for the changes recorded by the document's {@link StateManager}.  The
+     * page is no longer read from or written to the disk cache, whose thumbnail still matches the saved document.
+     *
+     * @param pageIndex zero based page index.
+     */
+    public void invalidate(int pageIndex) {
+        editedPages.add(pageIndex);
+        memoryCache.remove(pageIndex);
+    }
+
+    /**
+     * Forgets all thumbnails, for a change that isn't tied to a single page.
+     */
+    public void invalidateAll() {
+        documentEdited = true;
+        memoryCache.clear();
+    }
+
+    /**
+     * Drops all pending requests and the in memory cache.  Thumbnails already on disk are kept for the next time
+     * the document is opened.
+     */
+    public void dispose() {
+        synchronized (queueLock) {
+            disposed = true;
+            pending.clear();
+        }
+        if (stateManager != null) {
+            stateManager.removeChangeListener(changeListener);
+        }
+        memoryCache.clear();
+    }
+
+    private void changeRecorded(StateManager.Change change) {
+        Object object = change.getPObject().getObject();
+        Page page = null;
+        if (object instanceof Page) {
+            page = (Page) object;
+        } else if (object instanceof Annotation) {
+            page = ((Annotation) object).getPage();
+        }
+        int pageIndex = page != null ? page.getPageIndex() : -1;
+        if (pageIndex >= 0) {
+            invalidate(pageIndex);
+        } else {
+            invalidateAll();
+        }
+    }
+
+    private boolean isEdited(int pageIndex) {
+        return documentEdited || editedPages.contains(pageIndex);
+    }
+
+    private String getDocumentKey() {
+        if (!documentKeyResolved) {
+            documentKey = ThumbnailDiskCache.documentKey(library);
+            documentKeyResolved = true;
+        }
+        return documentKey;
+    }
+
+    private void processQueue() {
+        while (true) {
+            int pageIndex;
+            List<ThumbnailListener> listeners;
+            synchronized (queueLock) {
+                pageIndex = nextPendingPage();
+                if (pageIndex < 0 || disposed) {
+                    activeWorkers--;
+                    return;
+                }
+                listeners = pending.remove(pageIndex);
+            }
+            BufferedImage thumbnail = null;
+            boolean interrupted = false;
+            try {
+                thumbnail = getThumbnail(pageIndex);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupted = true;
+            } catch (Exception e) {
+                logger.log(Level.WARNING, e, () -> "Error building thumbnail for page " + pageIndex);
+            }
+            // listeners hear of a failed build too, so they can ask again later.
+            if (!disposed) {
+                for (ThumbnailListener listener : listeners) {
+                    listener.thumbnailReady(pageIndex, thumbnail);
+                }
+            }
+            if (interrupted) {
+                synchronized (queueLock) {
+                    activeWorkers--;
+                }
+                return;
+            }
+        }
+    }
+
+    // pending page closest to the visible range, or -1 if nothing is pending.  Must hold queueLock.
+    private int nextPendingPage() {
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int pageIndex : pending.keySet()) {
+            int distance;
+            if (pageIndex < visibleFirst) {
+                distance = visibleFirst - pageIndex;
+            } else if (pageIndex > visibleLast) {
+                distance = pageIndex - visibleLast;
+            } else {
+                distance = 0;
+            }
+            // ties go to the page after the range, the direction of a typical scroll.
+            if (distance < bestDistance || (distance == bestDistance && pageIndex > best)) {
+                best = pageIndex;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    private BufferedImage buildThumbnail(int pageIndex) throws InterruptedException {
+        Page page = pageTree.getPage(pageIndex);
+        if (page == null) {
+            return null;
+        }
+        PDimension size = page.getSize(boundary, rotation, zoom);
+        int width = Math.max(1, (int) Math.ceil(size.getWidth()));
+        int height = Math.max(1, (int) Math.ceil(size.getHeight()));
+
+        boolean edited = isEdited(pageIndex);
+        String key = diskCache != null && !edited ? getDocumentKey() : null;
+        BufferedImage thumbnail = key != null ? diskCache.get(key, pageIndex, variant) : null;
+        if (thumbnail == null || thumbnail.getWidth() != width || thumbnail.getHeight() != height) {
+            // an embedded thumbnail is of the unrotated page.
+            thumbnail = !edited && rotation == 0 ? embeddedThumbnail(page, width, height) : null;
+            boolean complete = true;
+            if (thumbnail == null) {
+                page.init();
+                // images still decoding are painted as placeholders, such a draft isn't kept beyond this session.
+                complete = isImagesReady(page);
+                thumbnail = renderThumbnail(page, width, height);
+            }
+            // an edit recorded while building must not be written under the saved document's key.
+            if (key != null && complete && !isEdited(pageIndex)) {
+                diskCache.put(key, pageIndex, variant, thumbnail);
+            }
+        }
+        memoryCache.put(pageIndex, new SoftReference<>(thumbnail));
+        return thumbnail;
+    }
+
+    private BufferedImage embeddedThumbnail(Page page, int width, int height) {
+        try {
+            Thumbnail embedded = page.getThumbnail();
+            BufferedImage image = embedded != null ? embedded.getImage() : null;
+            if (image == null || image.getWidth() <= 0 || image.getHeight() <= 0) {
+                return null;
+            }
+            double pageAspect = width / (double) height;
+            double thumbAspect = image.getWidth() / (double) image.getHeight();
+            if (Math.abs(pageAspect - thumbAspect) / pageAspect > MAX_ASPECT_DIFFERENCE) {
+                return null;
+            }
+            BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = thumbnail.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, 0, 0, width, height, null);
+            g.dispose();
+            return thumbnail;
+        } catch (Exception e) {
+            logger.log(Level.FINE, "Could not decode embedded thumbnail, rendering page instead.", e);
+            return null;
+        }
+    }
+
+    private static boolean isImagesReady(Page page) {
+        Shapes shapes = page.getShapes();
+        if (shapes != null && !shapes.isImagesReady()) {
+            return false;
+        }
+        List<Annotation> annotations = page.getAnnotations();
+        if (annotations != null) {
+            for (Annotation annotation : annotations) {
+                Shapes appearance = annotation.getShapes();
+                if (appearance != null && !appearance.isImagesReady()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private BufferedImage renderThumbnail(Page page, int width, int height) throws InterruptedException {
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = thumbnail.createGraphics();
+        try {
+            g.setRenderingHints(createRenderingHints());
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.setClip(0, 0, width, height);
+            AffineTransform pageTransform = page.getPageTransform(boundary, rotation, zoom);
+            g.transform(pageTransform);
+            page.paintPageContent(g, GraphicsRenderingHints.SCREEN, rotation, zoom, true, false);
+        } finally {
+            g.dispose();
+        }
+        return thumbnail;
+    }
+
+    private static RenderingHints createRenderingHints() {
+        RenderingHints hints = new RenderingHints(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+        hints.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        hints.put(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+        hints.put(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_OFF);
+        hints.put(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        hints.put(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_SPEED);
+        hints.put(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_SPEED);
+        hints.put(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        hints.put(GraphicsRenderingHints.KEY_CONTENT_DETAIL, GraphicsRenderingHints.VALUE_CONTENT_DRAFT);
+        return hints;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util.memory;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Group of small caches accounted for as one consumer, see {@link DocumentMemory#registerCache(Map, int)}.  The
+ * caches are held weakly and their size is the entry count times an estimated entry size.
+ *
+ * @since 7.5
+ */
+class CacheGroup implements MemoryConsumer {
+
+    private final String name;
+    private final RebuildCost rebuildCost;
+
+    // guarded by itself
+    private final Set<CacheReference> caches = new LinkedHashSet<>();
+    private final ReferenceQueue<Map<?, ?>> collected = new ReferenceQueue<>();
+
+    CacheGroup(String name, RebuildCost rebuildCost) {
+        this.name = name;
+        this.rebuildCost = rebuildCost;
+    }
+
+    void add(Map<?, ?> cache, int entrySize) {
+        synchronized (caches) {
+            expunge();
+            caches.add(new CacheReference(cache, entrySize, collected));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public RebuildCost getRebuildCost() {
+        return rebuildCost;
+    }
+
+    @Override
+    public long getSizeInBytes() {
+        long size = 0;
+        for (CacheReference reference : snapshot()) {
+            Map<?, ?> cache = reference.get();
+            if (cache != null) {
+                size += (long) cache.size() * reference.entrySize;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public long evict(long bytes) {
+        long freed = 0;
+        for (CacheReference reference : snapshot()) {
+            if (freed >= bytes) {
+                break;
+            }
+            Map<?, ?> cache = reference.get();
+            if (cache != null && !cache.isEmpty()) {
+                freed += (long) cache.size() * reference.entrySize;
+                cache.clear();
+            }
+        }
+        return freed;
+    }
+
+    private List<CacheReference> snapshot() {
+        synchronized (caches) {
+            expunge();
+            return new ArrayList<>(caches);
+        }
+    }
+
+    private void expunge() {
+        Object reference;
+        while ((reference = collected.poll()) != null) {
+            caches.remove(reference);
+        }
+    }
+
+    private static final class CacheReference extends WeakReference<Map<?, ?>> {
+        private final int entrySize;
+
+        CacheReference(Map<?, ?> cache, int entrySize, ReferenceQueue<Map<?, ?>> queue) {
+            super(cache, queue);
+            this.entrySize = entrySize;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Memory account of one document, created by the {@link MemoryGovernor} for each
+ * {@link org.icepdf.core.util.Library}.  The document's caches register as {@link MemoryConsumer}s and report
+ * their growth with {@link #allocated(long)}; work about to allocate a large buffer, an image decode for example,
+ * can make room first with {@link #reserve(long)}.  Both keep the document within its own budget and report to
+ * the governor, which keeps all documents together within the JVM budget.
+ * <br>
+ * Small caches of computed values, colour lookups and function results, don't report their growth, they are
+ * registered with {@link #registerCache(Map, int)} and counted and cleared as a group.
+ *
+ * @since 7.5
+ */
+public class DocumentMemory {
+
+    private static final Logger logger =
+            Logger.getLogger(DocumentMemory.class.getName());
+
+    private final MemoryGovernor governor;
+    private final List<MemoryConsumer> consumers = new CopyOnWriteArrayList<>();
+    private final CacheGroup computedValues = new CacheGroup("Computed values", RebuildCost.RECOMPUTE);
+    private final AtomicLong estimate = new AtomicLong();
+    private final Object evictionLock = new Object();
+
+    private volatile long budget;
+
+    DocumentMemory(MemoryGovernor governor, long budget) {
+        this.governor = governor;
+        this.budget = budget;
+        consumers.add(computedValues);
+    }
+
+    /**
+     * Registers a cache of the document.
+     *
+     * @param consumer cache to account for.
+     */
+    public void register(MemoryConsumer consumer) {
+        consumers.add(consumer);
+    }
+
+    public void unregister(MemoryConsumer consumer) {
+        consumers.remove(consumer);
+    }
+
+    /**
+     * Registers a small cache of computed values.  The cache is held weakly, it is dropped from the group when
+     * its owner is collected, and is cleared when the group is evicted so it must be safe to clear concurrently.
+     *
+     * @param cache     thread safe map.
+     * @param entrySize estimated bytes held per entry.
+     */
+    public void registerCache(Map<?, ?> cache, int entrySize) {
+        computedValues.add(cache, entrySize);
+    }
+
+    /**
+     * Gets the document budget in bytes, {@link Long#MAX_VALUE} if there is none.
+     */
+    public long getBudget() {
+        return budget;
+    }
+
+    /**
+     * Sets the document budget, evicting straight away if usage is over it.
+     *
+     * @param bytes budget in bytes, 0 for none.
+     */
+    public void setBudget(long bytes) {
+        budget = MemoryGovernor.toBudget(bytes);
+        enforce(0);
+    }
+
+    public long getUsedBytes() {
+        return MemoryGovernor.sizeOf(consumers);
+    }
+
+    public MemoryUsage getUsage() {
+        return new MemoryUsage(budget, consumers);
+    }
+
+    /**
+     * Reports memory newly held by one of the document's caches, evicting if the document or the JVM is over
+     * budget.  Must not be called while holding a lock the caches' eviction takes.
+     *
+     * @param bytes bytes allocated.
+     */
+    public void allocated(long bytes) {
+        if (bytes <= 0) {
+            return;
+        }
+        if (estimate.addAndGet(bytes) > budget) {
+            enforce(0);
+        }
+        governor.allocated(bytes);
+    }
+
+    /**
+     * Makes room for an allocation about to be made on behalf of the document, evicting if it would take the
+     * document or the JVM over budget.  The allocation itself is reported with {@link #allocated(long)} once it is
+     * cached.
+     *
+     * @param bytes bytes about to be allocated.
+     */
+    public void reserve(long bytes) {
+        if (bytes <= 0) {
+            return;
+        }
+        if (estimate.get() + bytes > budget) {
+            enforce(bytes);
+        }
+        governor.reserve(bytes);
+    }
+
+    /**
+     * Evicts the document's cached content, cheapest to rebuild first.
+     *
+     * @param bytes bytes to free, {@link Long#MAX_VALUE} to evict everything that can be.
+     * @return estimated bytes freed.
+     */
+    public long evict(long bytes) {
+        synchronized (evictionLock) {
+            long freed = MemoryGovernor.evict(consumers, bytes);
+            estimate.set(getUsedBytes());
+            return freed;
+        }
+    }
+
+    /**
+     * Removes the document from the governor, called when the document is closed.
+     */
+    public void dispose() {
+        governor.remove(this);
+    }
+
+    List<MemoryConsumer> getConsumers() {
+        return new ArrayList<>(consumers);
+    }
+
+    private void enforce(long room) {
+        synchronized (evictionLock) {
+            long limit = budget;
+            long used = getUsedBytes();
+            if (used + room > limit) {
+                long target = (long) (limit * MemoryGovernor.LOW_WATER_MARK) - room;
+                long freed = MemoryGovernor.evict(consumers, used - target);
+                used = getUsedBytes();
+                if (logger.isLoggable(Level.FINE)) {
+                    logger.fine("Document memory budget of " + limit + " bytes reached, evicted " + freed +
+                            " bytes, now using " + (used + room));
+                }
+            }
+            estimate.set(used);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util.memory;
+
+/**
+ * A cache whose memory is accounted for and can be evicted by the {@link MemoryGovernor}.  Consumers are
+ * registered with the {@link DocumentMemory} of the document they cache data for, or with the governor itself
+ * for caches shared by all documents.
+ * <br>
+ * A consumer reports growth with {@link DocumentMemory#allocated(long)} but must never do so while holding a
+ * lock that its own {@link #evict(long)} takes, the growth report may evict from the reporting consumer.
+ *
+ * @since 7.5
+ */
+public interface MemoryConsumer {
+
+    /**
+     * Gets a name for the consumer, used in usage reports.  Consumers of the same kind use the same name.
+     */
+    String getName();
+
+    /**
+     * Gets the estimated bytes held by the consumer.  Called on every budget check so it must be cheap.
+     */
+    long getSizeInBytes();
+
+    /**
+     * Gets the cost of rebuilding the consumer's content, cheaper consumers are evicted first.
+     */
+    RebuildCost getRebuildCost();
+
+    /**
+     * Evicts cached content.
+     *
+     * @param bytes bytes the governor would like freed, the consumer may free more or less.
+     * @return estimated bytes freed.
+     */
+    long evict(long bytes);
+}
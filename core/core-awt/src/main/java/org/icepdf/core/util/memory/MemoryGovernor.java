@@ -0,0 +1,300 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util.memory;
+
+import org.icepdf.core.util.Defs;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Coordinates the memory held by the caches of all open documents.  Each document has a {@link DocumentMemory}
+ * that its caches register with, caches shared by all documents register with the governor directly.  When a
+ * document goes over its own budget, or all documents together go over the JVM budget, cached content is evicted
+ * cheapest to rebuild first (see {@link RebuildCost}) and, for the same cost, largest first, until usage is back
+ * under 80% of the budget.
+ * <br>
+ * The JVM budget is {@code org.icepdf.core.memory.maxMB}, default half of the maximum heap, and the default
+ * budget of a document is {@code org.icepdf.core.memory.documentMaxMB}, default none.  A value of 0 disables the
+ * budget.  Both can be changed at runtime.
+ * <br>
+ * Usage is tracked from the growth the caches report plus a recount of their sizes when a budget is reached, so
+ * checking the budget on an allocation is cheap.  The budget covers the caches, not the working memory of a
+ * render in progress, so it should leave room for the renders a server runs at once.
+ *
+ * @since 7.5
+ */
+public class MemoryGovernor {
+
+    private static final Logger logger =
+            Logger.getLogger(MemoryGovernor.class.getName());
+
+    public static final String MAX_PROPERTY = "org.icepdf.core.memory.maxMB";
+    public static final String DOCUMENT_MAX_PROPERTY = "org.icepdf.core.memory.documentMaxMB";
+
+    // eviction frees down to this share of the budget so the next allocations don't evict again straight away.
+    static final double LOW_WATER_MARK = 0.8;
+
+    private static final MemoryGovernor instance = new MemoryGovernor(
+            budgetProperty(MAX_PROPERTY, Runtime.getRuntime().maxMemory() / 2),
+            budgetProperty(DOCUMENT_MAX_PROPERTY, Long.MAX_VALUE));
+
+    // guarded by itself
+    private final Map<DocumentMemory, Boolean> documents = new WeakHashMap<>();
+    private final List<MemoryConsumer> consumers = new CopyOnWriteArrayList<>();
+    private final AtomicLong estimate = new AtomicLong();
+    private final Object evictionLock = new Object();
+
+    private volatile long budget;
+    private volatile long documentBudget;
+
+    MemoryGovernor(long budget, long documentBudget) {
+        this.budget = budget;
+        this.documentBudget = documentBudget;
+    }
+
+    public static MemoryGovernor getInstance() {
+        return instance;
+    }
+
+    private static long budgetProperty(String name, long defaultBudget) {
+        int megabytes = Defs.intProperty(name, -1);
+        if (megabytes < 0) {
+            return defaultBudget;
+        }
+        return toBudget(megabytes * 1024L * 1024L);
+    }
+
+    static long toBudget(long bytes) {
+        return bytes > 0 ? bytes : Long.MAX_VALUE;
+    }
+
+    /**
+     * Creates the memory account of a newly opened document, with the current default document budget.
+     *
+     * @return new document memory.
+     */
+    public DocumentMemory createDocumentMemory() {
+        DocumentMemory memory = new DocumentMemory(this, documentBudget);
+        synchronized (documents) {
+            documents.put(memory, Boolean.TRUE);
+        }
+        return memory;
+    }
+
+    void remove(DocumentMemory memory) {
+        synchronized (documents) {
+            documents.remove(memory);
+        }
+    }
+
+    /**
+     * Registers a cache shared by all documents.
+     *
+     * @param consumer cache to account for.
+     */
+    public void register(MemoryConsumer consumer) {
+        consumers.add(consumer);
+    }
+
+    public void unregister(MemoryConsumer consumer) {
+        consumers.remove(consumer);
+    }
+
+    /**
+     * Gets the JVM budget in bytes, {@link Long#MAX_VALUE} if there is none.
+     */
+    public long getBudget() {
+        return budget;
+    }
+
+    /**
+     * Sets the JVM budget, evicting straight away if usage is over it.
+     *
+     * @param bytes budget in bytes, 0 for none.
+     */
+    public void setBudget(long bytes) {
+        budget = toBudget(bytes);
+        enforce(0);
+    }
+
+    /**
+     * Gets the budget given to documents opened from now on, {@link Long#MAX_VALUE} if there is none.
+     */
+    public long getDocumentBudget() {
+        return documentBudget;
+    }
+
+    /**
+     * Sets the budget given to documents opened from now on, see {@link DocumentMemory#setBudget(long)} to change
+     * the budget of an open document.
+     *
+     * @param bytes budget in bytes, 0 for none.
+     */
+    public void setDocumentBudget(long bytes) {
+        documentBudget = toBudget(bytes);
+    }
+
+    public int getDocumentCount() {
+        synchronized (documents) {
+            return documents.size();
+        }
+    }
+
+    public long getUsedBytes() {
+        return recount();
+    }
+
+    /**
+     * Gets the memory held by all documents and shared caches, consumers of the same name are added up across
+     * documents.
+     */
+    public MemoryUsage getUsage() {
+        return new MemoryUsage(budget, allConsumers());
+    }
+
+    /**
+     * Evicts about half of the cached memory, cheapest first.  Called after an allocation failed with an
+     * {@link OutOfMemoryError} so the retry has a chance to succeed.
+     */
+    public void relieve() {
+        synchronized (evictionLock) {
+            long used = recount();
+            long freed = evict(allConsumers(), used / 2);
+            estimate.set(recount());
+            logger.log(Level.FINE, () -> "Memory relief freed " + freed + " of " + used + " bytes");
+        }
+    }
+
+    void allocated(long bytes) {
+        if (estimate.addAndGet(bytes) > budget) {
+            enforce(0);
+        }
+    }
+
+    void reserve(long bytes) {
+        if (estimate.get() + bytes > budget) {
+            enforce(bytes);
+        }
+    }
+
+    private void enforce(long room) {
+        synchronized (evictionLock) {
+            long limit = budget;
+            long used = recount();
+            if (used + room > limit) {
+                long target = (long) (limit * LOW_WATER_MARK) - room;
+                long freed = evict(allConsumers(), used - target);
+                used = recount();
+                if (logger.isLoggable(Level.FINE)) {
+                    logger.fine("Memory budget of " + limit + " bytes reached, evicted " + freed +
+                            " bytes, now using " + (used + room));
+                }
+            }
+            estimate.set(used);
+        }
+    }
+
+    private List<MemoryConsumer> allConsumers() {
+        List<MemoryConsumer> all = new ArrayList<>(consumers);
+        List<DocumentMemory> memories;
+        synchronized (documents) {
+            memories = new ArrayList<>(documents.keySet());
+        }
+        for (DocumentMemory memory : memories) {
+            all.addAll(memory.getConsumers());
+        }
+        return all;
+    }
+
+    private long recount() {
+        return sizeOf(allConsumers());
+    }
+
+    static long sizeOf(List<MemoryConsumer> consumers) {
+        long size = 0;
+        for (MemoryConsumer consumer : consumers) {
+            size += consumer.getSizeInBytes();
+        }
+        return size;
+    }
+
+    /**
+     * Evicts from the given consumers, cheapest to rebuild first and for the same cost largest first, until the
+     * requested bytes are freed.
+     */
+    static long evict(List<MemoryConsumer> consumers, long bytes) {
+        if (bytes <= 0) {
+            return 0;
+        }
+        // sizes are read once, they can change while the candidates are sorted.
+        List<Candidate> candidates = new ArrayList<>(consumers.size());
+        for (MemoryConsumer consumer : consumers) {
+            long size = consumer.getSizeInBytes();
+            if (size > 0) {
+                candidates.add(new Candidate(consumer, size));
+            }
+        }
+        candidates.sort(Comparator.comparing((Candidate c) -> c.consumer.getRebuildCost())
+                .thenComparing(c -> c.size, Comparator.reverseOrder()));
+        long freed = 0;
+        for (Candidate candidate : candidates) {
+            if (freed >= bytes) {
+                break;
+            }
+            try {
+                freed += candidate.consumer.evict(bytes - freed);
+            } catch (RuntimeException e) {
+                logger.log(Level.FINE, "Error evicting " + candidate.consumer.getName(), e);
+            }
+        }
+        return freed;
+    }
+
+    /**
+     * Estimates the memory held by an image's raster.
+     *
+     * @param image image, can be null.
+     * @return size in bytes, 0 for a null image.
+     */
+    public static long sizeOf(BufferedImage image) {
+        if (image == null) {
+            return 0;
+        }
+        DataBuffer dataBuffer = image.getRaster().getDataBuffer();
+        return (long) dataBuffer.getSize() * dataBuffer.getNumBanks() *
+                (DataBuffer.getDataTypeSize(dataBuffer.getDataType()) / 8);
+    }
+
+    private static final class Candidate {
+        private final MemoryConsumer consumer;
+        private final long size;
+
+        Candidate(MemoryConsumer consumer, long size) {
+            this.consumer = consumer;
+            this.size = size;
+        }
+    }
+}
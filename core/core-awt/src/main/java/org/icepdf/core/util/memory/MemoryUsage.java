@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util.memory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of the memory held by a set of {@link MemoryConsumer}s, see {@link DocumentMemory#getUsage()} and
+ * {@link MemoryGovernor#getUsage()}.  Consumers with the same name are reported as one entry.
+ *
+ * @since 7.5
+ */
+public class MemoryUsage {
+
+    private final long budget;
+    private final long usedBytes;
+    private final List<Entry> entries;
+
+    MemoryUsage(long budget, List<MemoryConsumer> consumers) {
+        Map<String, Entry> byName = new LinkedHashMap<>();
+        long used = 0;
+        for (MemoryConsumer consumer : consumers) {
+            long size = consumer.getSizeInBytes();
+            used += size;
+            Entry entry = byName.get(consumer.getName());
+            if (entry == null) {
+                byName.put(consumer.getName(), new Entry(consumer.getName(), consumer.getRebuildCost(), size));
+            } else {
+                entry.bytes += size;
+            }
+        }
+        this.budget = budget;
+        this.usedBytes = used;
+        this.entries = Collections.unmodifiableList(new ArrayList<>(byName.values()));
+    }
+
+    /**
+     * Gets the byte budget, {@link Long#MAX_VALUE} if there is none.
+     */
+    public long getBudget() {
+        return budget;
+    }
+
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("MemoryUsage{used=").append(usedBytes);
+        if (budget != Long.MAX_VALUE) {
+            builder.append(", budget=").append(budget);
+        }
+        for (Entry entry : entries) {
+            builder.append(", ").append(entry.name).append('=').append(entry.bytes);
+        }
+        return builder.append('}').toString();
+    }
+
+    /**
+     * Memory held by the consumers of one name.
+     */
+    public static class Entry {
+        private final String name;
+        private final RebuildCost rebuildCost;
+        private long bytes;
+
+        Entry(String name, RebuildCost rebuildCost, long bytes) {
+            this.name = name;
+            this.rebuildCost = rebuildCost;
+            this.bytes = bytes;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public RebuildCost getRebuildCost() {
+            return rebuildCost;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+    }
+}
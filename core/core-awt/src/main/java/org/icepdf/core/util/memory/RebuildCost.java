@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util.memory;
+
+/**
+ * How expensive it is to rebuild what a {@link MemoryConsumer} holds once it has been evicted, from cheapest to
+ * most expensive.  The governor evicts consumers in this order so the memory that is quickest to get back goes
+ * first.
+ *
+ * @since 7.5
+ */
+public enum RebuildCost {
+    /**
+     * Values computed from data already in memory, colour conversions and function results.
+     */
+    RECOMPUTE,
+    /**
+     * Inflated stream bytes, decoded again from the document's raw bytes.
+     */
+    DECOMPRESS,
+    /**
+     * Parsed content, display lists rebuilt by the content parser.
+     */
+    PARSE,
+    /**
+     * Decoded images.
+     */
+    DECODE,
+    /**
+     * Rendered rasters, page buffers and pattern tiles that need a paint to rebuild.
+     */
+    RENDER
+}
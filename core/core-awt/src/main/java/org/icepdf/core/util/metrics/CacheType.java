@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util.metrics;
+
+import java.util.Locale;
+
+/**
+ * Caches whose hits and misses {@link RenderMetrics} counts.
+ *
+ * @since 7.5
+ */
+public enum CacheType {
+    /**
+     * Library object store, parsed objects by reference.
+     */
+    OBJECT,
+    /**
+     * Image pool, decoded images by reference.
+     */
+    IMAGE,
+    /**
+     * Fonts of page resources, a hit is a font that was already initialized.
+     */
+    FONT;
+
+    private final String metricName = name().toLowerCase(Locale.ROOT);
+
+    /**
+     * Gets the name of the cache used as a metric tag, for example {@code image}.
+     */
+    public String getMetricName() {
+        return metricName;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Totals recorded by a {@link MetricsRecorder} for one document: time and count per phase, for the whole
+ * document and per page, cache hits and misses, and decoded bytes per filter chain.  The totals are updated
+ * concurrently by the render threads, a read is a consistent value per counter but not across counters.
+ *
+ * @since 7.5
+ */
+public class DocumentMetrics {
+
+    private static final int PHASES = RenderPhase.values().length;
+    private static final int CACHES = CacheType.values().length;
+
+    private final PhaseTotals documentTotals = new PhaseTotals();
+    private final ConcurrentHashMap<Integer, PhaseTotals> pageTotals = new ConcurrentHashMap<>();
+    private final LongAdder[] cacheHits = newAdders(CACHES);
+    private final LongAdder[] cacheMisses = newAdders(CACHES);
+    private final ConcurrentHashMap<String, LongAdder> bytesDecoded = new ConcurrentHashMap<>();
+
+    void phaseCompleted(int pageIndex, RenderPhase phase, long nanos) {
+        documentTotals.add(phase, nanos);
+        if (pageIndex >= 0) {
+            pageTotals.computeIfAbsent(pageIndex, key -> new PhaseTotals()).add(phase, nanos);
+        }
+    }
+
+    void cacheAccessed(CacheType cache, boolean hit) {
+        (hit ? cacheHits : cacheMisses)[cache.ordinal()].increment();
+    }
+
+    void bytesDecoded(String filter, long bytes) {
+        bytesDecoded.computeIfAbsent(filter, key -> new LongAdder()).add(bytes);
+    }
+
+    /**
+     * Gets the time spent in a phase for the whole document.
+     *
+     * @param phase phase to look up.
+     * @return total time in nanoseconds.
+     */
+    public long getPhaseNanos(RenderPhase phase) {
+        return documentTotals.nanos[phase.ordinal()].sum();
+    }
+
+    /**
+     * Gets the number of times a phase completed for the whole document.
+     *
+     * @param phase phase to look up.
+     * @return completed count.
+     */
+    public long getPhaseCount(RenderPhase phase) {
+        return documentTotals.counts[phase.ordinal()].sum();
+    }
+
+    /**
+     * Gets the time spent in a phase for one page.
+     *
+     * @param pageIndex zero based page index.
+     * @param phase     phase to look up.
+     * @return total time in nanoseconds, 0 if nothing was recorded for the page.
+     */
+    public long getPagePhaseNanos(int pageIndex, RenderPhase phase) {
+        PhaseTotals totals = pageTotals.get(pageIndex);
+        return totals != null ? totals.nanos[phase.ordinal()].sum() : 0;
+    }
+
+    /**
+     * Gets the number of times a phase completed for one page.
+     *
+     * @param pageIndex zero based page index.
+     * @param phase     phase to look up.
+     * @return completed count, 0 if nothing was recorded for the page.
+     */
+    public long getPagePhaseCount(int pageIndex, RenderPhase phase) {
+        PhaseTotals totals = pageTotals.get(pageIndex);
+        return totals != null ? totals.counts[phase.ordinal()].sum() : 0;
+    }
+
+    /**
+     * Gets the indexes of the pages something was recorded for.
+     *
+     * @return sorted copy of the page indexes.
+     */
+    public SortedSet<Integer> getPageIndexes() {
+        return new TreeSet<>(pageTotals.keySet());
+    }
+
+    public long getCacheHits(CacheType cache) {
+        return cacheHits[cache.ordinal()].sum();
+    }
+
+    public long getCacheMisses(CacheType cache) {
+        return cacheMisses[cache.ordinal()].sum();
+    }
+
+    /**
+     * Gets the share of the accesses of a cache that were hits.
+     *
+     * @param cache cache to look up.
+     * @return hit rate between 0 and 1, NaN if the cache wasn't accessed.
+     */
+    public double getCacheHitRate(CacheType cache) {
+        long hits = getCacheHits(cache);
+        long total = hits + getCacheMisses(cache);
+        return total > 0 ? (double) hits / total : Double.NaN;
+    }
+
+    /**
+     * Gets the decoded bytes per filter chain.
+     *
+     * @return sorted copy of the byte counts by filter chain.
+     */
+    public Map<String, Long> getBytesDecoded() {
+        Map<String, Long> copy = new TreeMap<>();
+        bytesDecoded.forEach((filter, bytes) -> copy.put(filter, bytes.sum()));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Clears all the totals.
+     */
+    public void reset() {
+        documentTotals.reset();
+        pageTotals.clear();
+        for (int i = 0; i < CACHES; i++) {
+            cacheHits[i].reset();
+            cacheMisses[i].reset();
+        }
+        bytesDecoded.clear();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("DocumentMetrics{");
+        for (RenderPhase phase : RenderPhase.values()) {
+            long count = getPhaseCount(phase);
+            if (count > 0) {
+                builder.append(phase.getMetricName()).append('=').append(getPhaseNanos(phase) / 1000000)
+                        .append("ms/").append(count).append(", ");
+            }
+        }
+        for (CacheType cache : CacheType.values()) {
+            long hits = getCacheHits(cache);
+            long misses = getCacheMisses(cache);
+            if (hits + misses > 0) {
+                builder.append(cache.getMetricName()).append("Cache=").append(hits).append('/')
+                        .append(hits + misses).append(", ");
+            }
+        }
+        builder.append("bytesDecoded=").append(getBytesDecoded()).append('}');
+        return builder.toString();
+    }
+
+    private static LongAdder[] newAdders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static class PhaseTotals {
+        private final LongAdder[] nanos = newAdders(PHASES);
+        private final LongAdder[] counts = newAdders(PHASES);
+
+        void add(RenderPhase phase, long elapsed) {
+            nanos[phase.ordinal()].add(elapsed);
+            counts[phase.ordinal()].increment();
+        }
+
+        void reset() {
+            for (int i = 0; i < PHASES; i++) {
+                nanos[i].reset();
+                counts[i].reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util.metrics;
+
+import jdk.jfr.*;
+import org.icepdf.core.util.Library;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Listener that emits the measurements as JDK Flight Recorder events, so they show up next to the JVM's own
+ * events in a recording:
+ * <ul>
+ *     <li>{@code org.icepdf.RenderPhase} - a completed phase with its document, page and duration.</li>
+ *     <li>{@code org.icepdf.BytesDecoded} - a decoded stream with its filter chain and size.</li>
+ *     <li>{@code org.icepdf.CacheAccess} - a cache hit or miss, disabled by default as there are many of them.</li>
+ * </ul>
+ * The events are only built when they are enabled in the running recording.  The phase events carry the
+ * measured time as their {@code elapsed} field, the event itself is committed when the phase completes.
+ * <br>
+ * The listener is registered at start-up when the {@code org.icepdf.core.metrics.jfr} system property is true,
+ * otherwise it can be added with {@link RenderMetrics#addListener(MetricsListener)} once
+ * {@link #isAvailable()} is checked.  On the module path the {@code jdk.jfr} module has to be resolved, for
+ * example with {@code --add-modules jdk.jfr}.
+ *
+ * @since 7.5
+ */
+public class JfrMetricsListener implements MetricsListener {
+
+    private static final Logger logger =
+            Logger.getLogger(JfrMetricsListener.class.getName());
+
+    private static final boolean AVAILABLE;
+
+    static {
+        boolean available = false;
+        if (ModuleLayer.boot().findModule("jdk.jfr").isPresent()) {
+            try {
+                available = FlightRecorder.isAvailable();
+            } catch (LinkageError | RuntimeException e) {
+                logger.log(Level.FINE, "JDK Flight Recorder not available", e);
+            }
+        }
+        AVAILABLE = available;
+    }
+
+    /**
+     * Tests if JDK Flight Recorder can be used.
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    @Override
+    public void phaseCompleted(Library library, int pageIndex, RenderPhase phase, long nanos) {
+        PhaseEvent event = new PhaseEvent();
+        if (event.shouldCommit()) {
+            event.document = library != null ? library.getFileOrigin() : null;
+            event.pageIndex = pageIndex;
+            event.phase = phase.getMetricName();
+            event.elapsed = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void cacheAccessed(Library library, CacheType cache, boolean hit) {
+        CacheAccessEvent event = new CacheAccessEvent();
+        if (event.shouldCommit()) {
+            event.document = library != null ? library.getFileOrigin() : null;
+            event.cache = cache.getMetricName();
+            event.hit = hit;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void bytesDecoded(Library library, String filter, long bytes) {
+        BytesDecodedEvent event = new BytesDecodedEvent();
+        if (event.shouldCommit()) {
+            event.document = library != null ? library.getFileOrigin() : null;
+            event.filter = filter;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    @Name("org.icepdf.RenderPhase")
+    @Label("Render Phase")
+    @Category({"ICEpdf", "Rendering"})
+    @Description("A timed stage of loading or painting a page")
+    @StackTrace(false)
+    static class PhaseEvent extends Event {
+        @Label("Document")
+        String document;
+        @Label("Page Index")
+        int pageIndex;
+        @Label("Phase")
+        String phase;
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+    }
+
+    @Name("org.icepdf.CacheAccess")
+    @Label("Cache Access")
+    @Category({"ICEpdf", "Rendering"})
+    @Description("A hit or miss of an object, image or font cache")
+    @StackTrace(false)
+    @Enabled(false)
+    static class CacheAccessEvent extends Event {
+        @Label("Document")
+        String document;
+        @Label("Cache")
+        String cache;
+        @Label("Hit")
+        boolean hit;
+    }
+
+    @Name("org.icepdf.BytesDecoded")
+    @Label("Bytes Decoded")
+    @Category({"ICEpdf", "Rendering"})
+    @Description("A stream decoded through its filters")
+    @StackTrace(false)
+    static class BytesDecodedEvent extends Event {
+        @Label("Document")
+        String document;
+        @Label("Filter")
+        String filter;
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util.metrics;
+
+import org.icepdf.core.util.Library;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Listener that forwards the measurements to a Micrometer-style meter registry, without the library depending on
+ * one.  The registry is reached through two callbacks, with Micrometer for example:
+ * <pre>
+ *     RenderMetrics.addListener(new MeterRegistryBridge(
+ *             (name, nanos, tags) -&gt; registry.timer(name, tags).record(nanos, TimeUnit.NANOSECONDS),
+ *             (name, amount, tags) -&gt; registry.counter(name, tags).increment(amount)));
+ * </pre>
+ * The meters are:
+ * <ul>
+ *     <li>{@value #PHASE_TIMER} - timer tagged with {@code phase}.</li>
+ *     <li>{@value #CACHE_COUNTER} - counter tagged with {@code cache} and {@code result}, {@code hit} or
+ *     {@code miss}.</li>
+ *     <li>{@value #DECODED_BYTES_COUNTER} - counter tagged with {@code filter}.</li>
+ * </ul>
+ * Tags are passed as alternating keys and values.  Meters aren't tagged by document or page as that would grow
+ * the registry without bound, use a {@link MetricsRecorder} for per-document totals.
+ *
+ * @since 7.5
+ */
+public class MeterRegistryBridge implements MetricsListener {
+
+    public static final String PHASE_TIMER = "icepdf.render.phase";
+    public static final String CACHE_COUNTER = "icepdf.cache.access";
+    public static final String DECODED_BYTES_COUNTER = "icepdf.stream.decoded.bytes";
+
+    /**
+     * Records a duration on a timer.
+     */
+    @FunctionalInterface
+    public interface TimerSink {
+        void record(String name, long nanos, String... tags);
+    }
+
+    /**
+     * Increments a counter.
+     */
+    @FunctionalInterface
+    public interface CounterSink {
+        void increment(String name, double amount, String... tags);
+    }
+
+    private final TimerSink timers;
+    private final CounterSink counters;
+
+    // tag arrays are created once, the registries look meters up by them on every call.
+    private final String[][] phaseTags;
+    private final String[][] cacheHitTags;
+    private final String[][] cacheMissTags;
+    private final ConcurrentHashMap<String, String[]> filterTags = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new bridge.
+     *
+     * @param timers   records the phase timings.
+     * @param counters increments the cache and decoded byte counters.
+     */
+    public MeterRegistryBridge(TimerSink timers, CounterSink counters) {
+        this.timers = timers;
+        this.counters = counters;
+        RenderPhase[] phases = RenderPhase.values();
+        phaseTags = new String[phases.length][];
+        for (RenderPhase phase : phases) {
+            phaseTags[phase.ordinal()] = new String[]{"phase", phase.getMetricName()};
+        }
+        CacheType[] caches = CacheType.values();
+        cacheHitTags = new String[caches.length][];
+        cacheMissTags = new String[caches.length][];
+        for (CacheType cache : caches) {
+            cacheHitTags[cache.ordinal()] = new String[]{"cache", cache.getMetricName(), "result", "hit"};
+            cacheMissTags[cache.ordinal()] = new String[]{"cache", cache.getMetricName(), "result", "miss"};
+        }
+    }
+
+    @Override
+    public void phaseCompleted(Library library, int pageIndex, RenderPhase phase, long nanos) {
+        timers.record(PHASE_TIMER, nanos, phaseTags[phase.ordinal()]);
+    }
+
+    @Override
+    public void cacheAccessed(Library library, CacheType cache, boolean hit) {
+        counters.increment(CACHE_COUNTER, 1, (hit ? cacheHitTags : cacheMissTags)[cache.ordinal()]);
+    }
+
+    @Override
+    public void bytesDecoded(Library library, String filter, long bytes) {
+        counters.increment(DECODED_BYTES_COUNTER, bytes,
+                filterTags.computeIfAbsent(filter, key -> new String[]{"filter", key}));
+    }
+}
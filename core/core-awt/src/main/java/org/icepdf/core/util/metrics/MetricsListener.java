@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util.metrics;
+
+import org.icepdf.core.util.Library;
+
+/**
+ * Receives the measurements taken by {@link RenderMetrics}.  Listeners are called on the thread that did the
+ * work, often a render or image decode thread, and concurrently, so implementations must be thread safe and
+ * quick.  A listener that throws is logged and otherwise ignored.
+ * <br>
+ * The library identifies the document the measurement belongs to, it is null when the work wasn't done on behalf
+ * of a known document, for example compositing outside of a page paint.
+ *
+ * @since 7.5
+ */
+public interface MetricsListener {
+
+    /**
+     * Called when a timed phase completes.
+     *
+     * @param library   library of the document, null if unknown.
+     * @param pageIndex zero based page index, -1 if the work wasn't done for a page.
+     * @param phase     phase that completed.
+     * @param nanos     time spent in the phase.
+     */
+    default void phaseCompleted(Library library, int pageIndex, RenderPhase phase, long nanos) {
+    }
+
+    /**
+     * Called when a cache is consulted.
+     *
+     * @param library library of the document, null if unknown.
+     * @param cache   cache that was consulted.
+     * @param hit     true if the cache held the entry.
+     */
+    default void cacheAccessed(Library library, CacheType cache, boolean hit) {
+    }
+
+    /**
+     * Called when a stream has been decoded.
+     *
+     * @param library library of the document, null if unknown.
+     * @param filter  filter chain of the stream, filter names joined with a '+', for example
+     *                {@code ASCII85Decode+FlateDecode}.
+     * @param bytes   number of decoded bytes.
+     */
+    default void bytesDecoded(Library library, String filter, long bytes) {
+    }
+}
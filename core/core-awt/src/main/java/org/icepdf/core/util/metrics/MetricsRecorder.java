@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util.metrics;
+
+import org.icepdf.core.util.Library;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Listener that keeps {@link DocumentMetrics} totals per document.  Documents are held weakly, the totals of a
+ * document go away with its library.  Measurements without a known document are kept in a separate set of
+ * totals, see {@link #getUnattributedMetrics()}.
+ * <pre>
+ *     MetricsRecorder recorder = new MetricsRecorder();
+ *     RenderMetrics.addListener(recorder);
+ *     ... open and render the document ...
+ *     DocumentMetrics metrics = recorder.getDocumentMetrics(document.getCatalog().getLibrary());
+ * </pre>
+ *
+ * @since 7.5
+ */
+public class MetricsRecorder implements MetricsListener {
+
+    private final Map<Library, DocumentMetrics> documents = new WeakHashMap<>();
+    private final DocumentMetrics unattributed = new DocumentMetrics();
+    // last document looked up, saves taking the map's lock while a single document is rendered.
+    private volatile LastDocument last;
+
+    @Override
+    public void phaseCompleted(Library library, int pageIndex, RenderPhase phase, long nanos) {
+        metricsFor(library).phaseCompleted(pageIndex, phase, nanos);
+    }
+
+    @Override
+    public void cacheAccessed(Library library, CacheType cache, boolean hit) {
+        metricsFor(library).cacheAccessed(cache, hit);
+    }
+
+    @Override
+    public void bytesDecoded(Library library, String filter, long bytes) {
+        metricsFor(library).bytesDecoded(filter, bytes);
+    }
+
+    /**
+     * Gets the totals of a document.
+     *
+     * @param library library of the document.
+     * @return totals, null if nothing was recorded for the document.
+     */
+    public DocumentMetrics getDocumentMetrics(Library library) {
+        synchronized (documents) {
+            return documents.get(library);
+        }
+    }
+
+    /**
+     * Gets the totals of the measurements that weren't made on behalf of a known document.
+     */
+    public DocumentMetrics getUnattributedMetrics() {
+        return unattributed;
+    }
+
+    /**
+     * Drops the totals of a document, generally when it is closed.
+     *
+     * @param library library of the document.
+     */
+    public void remove(Library library) {
+        synchronized (documents) {
+            documents.remove(library);
+            last = null;
+        }
+    }
+
+    private DocumentMetrics metricsFor(Library library) {
+        if (library == null) {
+            return unattributed;
+        }
+        LastDocument cached = last;
+        if (cached != null && cached.library.get() == library) {
+            return cached.metrics;
+        }
+        synchronized (documents) {
+            DocumentMetrics metrics = documents.computeIfAbsent(library, key -> new DocumentMetrics());
+            last = new LastDocument(library, metrics);
+            return metrics;
+        }
+    }
+
+    private static class LastDocument {
+        private final WeakReference<Library> library;
+        private final DocumentMetrics metrics;
+
+        LastDocument(Library library, DocumentMetrics metrics) {
+            this.library = new WeakReference<>(library);
+            this.metrics = metrics;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util.metrics;
+
+import org.icepdf.core.pobjects.Page;
+import org.icepdf.core.util.Defs;
+import org.icepdf.core.util.Library;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Entry point of the render instrumentation.  The library reports phase timings, cache accesses and decoded byte
+ * counts here and they are handed to the registered {@link MetricsListener}s.  With no listener registered, the
+ * default, each instrumented call site costs a read of a volatile field and takes no timestamps.
+ * <br>
+ * A timed call site looks like:
+ * <pre>
+ *     long start = RenderMetrics.start();
+ *     ... work ...
+ *     RenderMetrics.stop(RenderPhase.IMAGE_DECODE, start);
+ * </pre>
+ * Work done while a page is initialized or painted is attributed to that page, see {@link #enterPage(Page)}.
+ * Phases nest, a page init includes its content parse which includes font loading, so phase times of a page don't
+ * add up to its init and paint times.
+ * <br>
+ * Listeners provided with the library:
+ * <ul>
+ *     <li>{@link MetricsRecorder} - keeps per-document and per-page totals that can be queried.</li>
+ *     <li>{@link JfrMetricsListener} - emits JDK Flight Recorder events, registered at start-up when the
+ *     {@code org.icepdf.core.metrics.jfr} system property is true.</li>
+ *     <li>{@link MeterRegistryBridge} - forwards to a Micrometer-style meter registry.</li>
+ * </ul>
+ *
+ * @since 7.5
+ */
+public final class RenderMetrics {
+
+    private static final Logger logger =
+            Logger.getLogger(RenderMetrics.class.getName());
+
+    public static final String JFR_PROPERTY = "org.icepdf.core.metrics.jfr";
+
+    private static final MetricsListener[] NO_LISTENERS = new MetricsListener[0];
+
+    private static volatile MetricsListener[] listeners = NO_LISTENERS;
+
+    private static final ThreadLocal<Scope> scopes = new ThreadLocal<>();
+
+    static {
+        if (Defs.sysPropertyBoolean(JFR_PROPERTY, false)) {
+            if (JfrMetricsListener.isAvailable()) {
+                addListener(new JfrMetricsListener());
+            } else {
+                logger.warning("JDK Flight Recorder is not available, render metrics events are not recorded.");
+            }
+        }
+    }
+
+    private RenderMetrics() {
+    }
+
+    /**
+     * Registers a listener.
+     *
+     * @param listener listener to add.
+     */
+    public static synchronized void addListener(MetricsListener listener) {
+        MetricsListener[] current = listeners;
+        MetricsListener[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Removes a listener, instrumentation stops taking measurements once the last one is removed.
+     *
+     * @param listener listener to remove.
+     */
+    public static synchronized void removeListener(MetricsListener listener) {
+        MetricsListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                MetricsListener[] updated = new MetricsListener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Tests if any listener is registered.
+     */
+    public static boolean isEnabled() {
+        return listeners.length != 0;
+    }
+
+    /**
+     * Starts timing a phase.
+     *
+     * @return start time to pass to {@link #stop(RenderPhase, long)}, 0 if metrics are disabled.
+     */
+    public static long start() {
+        return listeners.length != 0 ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Stops timing a phase, attributing it to the page the current thread works on if any.
+     *
+     * @param phase phase that completed.
+     * @param start value returned by {@link #start()}.
+     */
+    public static void stop(RenderPhase phase, long start) {
+        if (start == 0) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        Scope scope = scopes.get();
+        if (scope != null) {
+            phaseCompleted(scope.library, scope.pageIndex, phase, nanos);
+        } else {
+            phaseCompleted(null, -1, phase, nanos);
+        }
+    }
+
+    /**
+     * Stops timing a phase of a document, attributing it to the page the current thread works on if it belongs
+     * to the same document.
+     *
+     * @param phase   phase that completed.
+     * @param library library of the document.
+     * @param start   value returned by {@link #start()}.
+     */
+    public static void stop(RenderPhase phase, Library library, long start) {
+        if (start == 0) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        Scope scope = scopes.get();
+        phaseCompleted(library, scope != null && scope.library == library ? scope.pageIndex : -1, phase, nanos);
+    }
+
+    /**
+     * Records a cache access.
+     *
+     * @param cache   cache that was consulted.
+     * @param library library of the document, null if unknown.
+     * @param hit     true if the cache held the entry.
+     */
+    public static void cacheAccessed(CacheType cache, Library library, boolean hit) {
+        MetricsListener[] current = listeners;
+        for (MetricsListener listener : current) {
+            try {
+                listener.cacheAccessed(library, cache, hit);
+            } catch (RuntimeException e) {
+                logger.log(Level.FINE, "Metrics listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Records the decoded size of a stream.
+     *
+     * @param library library of the document, null if unknown.
+     * @param filter  filter chain of the stream, see {@link MetricsListener#bytesDecoded(Library, String, long)}.
+     * @param bytes   number of decoded bytes.
+     */
+    public static void bytesDecoded(Library library, String filter, long bytes) {
+        MetricsListener[] current = listeners;
+        for (MetricsListener listener : current) {
+            try {
+                listener.bytesDecoded(library, filter, bytes);
+            } catch (RuntimeException e) {
+                logger.log(Level.FINE, "Metrics listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Attributes the work the current thread does until {@link #exitPage(Scope)} to a page.  Scopes nest, a page
+     * init started from a paint of another page is attributed to the page being initialized.
+     *
+     * @param page page the thread works on.
+     * @return scope to pass to {@link #exitPage(Scope)}, null if metrics are disabled.
+     */
+    public static Scope enterPage(Page page) {
+        if (listeners.length == 0 || page == null) {
+            return null;
+        }
+        Scope scope = new Scope(page.getLibrary(), page.getPageIndex(), scopes.get());
+        scopes.set(scope);
+        return scope;
+    }
+
+    /**
+     * Ends the page scope started by {@link #enterPage(Page)}.
+     *
+     * @param scope value returned by {@link #enterPage(Page)}, may be null.
+     */
+    public static void exitPage(Scope scope) {
+        if (scope == null) {
+            return;
+        }
+        if (scope.previous != null) {
+            scopes.set(scope.previous);
+        } else {
+            scopes.remove();
+        }
+    }
+
+    private static void phaseCompleted(Library library, int pageIndex, RenderPhase phase, long nanos) {
+        MetricsListener[] current = listeners;
+        for (MetricsListener listener : current) {
+            try {
+                listener.phaseCompleted(library, pageIndex, phase, nanos);
+            } catch (RuntimeException e) {
+                logger.log(Level.FINE, "Metrics listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Page the current thread works on, see {@link #enterPage(Page)}.
+     */
+    public static final class Scope {
+        private final Library library;
+        private final int pageIndex;
+        private final Scope previous;
+
+        private Scope(Library library, int pageIndex, Scope previous) {
+            this.library = library;
+            this.pageIndex = pageIndex;
+            this.previous = previous;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util.metrics;
+
+import java.util.Locale;
+
+/**
+ * Stages of loading and painting a page that {@link RenderMetrics} times.
+ *
+ * @since 7.5
+ */
+public enum RenderPhase {
+    /**
+     * Initialization of a page, resources, annotations and content parsing included.
+     */
+    PAGE_INIT,
+    /**
+     * Painting of an initialized page.
+     */
+    PAGE_PAINT,
+    /**
+     * Cross reference lookup and parsing of an object not found in the object cache.
+     */
+    XREF_LOOKUP,
+    /**
+     * Parsing of a page's content streams into its display list.
+     */
+    CONTENT_PARSE,
+    /**
+     * Initialization of a font, parsing of its font program included.
+     */
+    FONT_LOAD,
+    /**
+     * Decoding of an image stream not found in the image pool.
+     */
+    IMAGE_DECODE,
+    /**
+     * Conversion of decoded image samples to RGB.
+     */
+    COLOR_CONVERSION,
+    /**
+     * Blend mode compositing.
+     */
+    COMPOSITING;
+
+    private final String metricName = name().toLowerCase(Locale.ROOT);
+
+    /**
+     * Gets the name of the phase used as a metric tag, for example {@code image_decode}.
+     */
+    public String getMetricName() {
+        return metricName;
+    }
+}
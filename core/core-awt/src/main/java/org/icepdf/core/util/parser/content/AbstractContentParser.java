@@ -611,7 +611,7 @@ public abstract class AbstractContentParser {
                     formDrawCmd.setBackdropSource(shapes, shapes.getShapes().size() - 1);
                 }
             } else {
-                shapes.add(new ShapesDrawCmd(formXObject.getShapes()));
+                shapes.add(new ShapesDrawCmd(formXObject.getShapes(), formXObject.getDisplayList()));
             }
             if (emitGroupMarkers) {
                 shapes.add(new GroupDrawCmd(false, formXObject.isIsolated(), formXObject.isKnockOut(),
@@ -1998,7 +1998,7 @@ public abstract class AbstractContentParser {
                 // 3.  Restore the saved graphics state
                 graphicState.restore();
                 if (tilingPattern.getbBoxMod() != null) {
-                    shapes.add(new TilingPatternDrawCmd(tilingPattern));
+                    shapes.add(new TilingPatternDrawCmd(tilingPattern, geometricPath));
                 }
                 shapes.add(new ShapeDrawCmd(geometricPath));
                 shapes.add(new FillDrawCmd());
@@ -29,6 +29,9 @@ import org.icepdf.core.pobjects.graphics.images.references.ImageReferenceFactory
 import org.icepdf.core.pobjects.graphics.text.PageText;
 import org.icepdf.core.util.Library;
 import org.icepdf.core.util.RenderExceptionMonitor;
+import org.icepdf.core.util.memory.MemoryConsumer;
+import org.icepdf.core.util.memory.MemoryGovernor;
+import org.icepdf.core.util.memory.RebuildCost;
 import org.icepdf.core.util.updater.callbacks.ContentStreamCallback;
 
 import java.awt.geom.AffineTransform;
@@ -56,6 +59,11 @@ public class ContentParser extends AbstractContentParser {
     public static final Map<String, SoftReference<ImageReference>> inlineImageCache =
             new ConcurrentHashMap<>();
 
+    static {
+        // the inline image cache is shared by all documents so it's accounted for JVM wide.
+        MemoryGovernor.getInstance().register(new InlineImageCacheConsumer());
+    }
+
     public ContentParser(Library l, Resources r) {
         super(l, r, null);
     }
@@ -605,6 +613,8 @@ public class ContentParser extends AbstractContentParser {
             // shared-form PageText race (aborting the rest of the stream).
             RenderExceptionMonitor.record("ContentParser.parse", e);
             logger.log(Level.WARNING, "Error parsing content stream; remaining operators in this stream skipped. ", e);
+        } finally {
+            lexer.close();
         }
         return this;
     }
@@ -689,6 +699,8 @@ public class ContentParser extends AbstractContentParser {
         } catch (IOException e) {
             // eat the result as it a normal occurrence
             logger.finer("End of Content Stream");
+        } finally {
+            parser.close();
         }
         shapes.contract();
         return shapes;
@@ -1113,4 +1125,47 @@ public class ContentParser extends AbstractContentParser {
             logger.log(Level.FINE, "Error parsing inline image.", e);
         }
     }
+
+    /**
+     * Accounts for the decoded images of the {@link #inlineImageCache}, an entry is counted at its key length,
+     * the size of the inline image data, until its image is decoded.
+     */
+    private static final class InlineImageCacheConsumer implements MemoryConsumer {
+
+        @Override
+        public String getName() {
+            return "Inline images";
+        }
+
+        @Override
+        public RebuildCost getRebuildCost() {
+            return RebuildCost.DECODE;
+        }
+
+        @Override
+        public long getSizeInBytes() {
+            long size = 0;
+            for (Map.Entry<String, SoftReference<ImageReference>> entry : inlineImageCache.entrySet()) {
+                size += sizeOf(entry);
+            }
+            return size;
+        }
+
+        @Override
+        public long evict(long bytes) {
+            long freed = 0;
+            Iterator<Map.Entry<String, SoftReference<ImageReference>>> iterator =
+                    inlineImageCache.entrySet().iterator();
+            while (freed < bytes && iterator.hasNext()) {
+                freed += sizeOf(iterator.next());
+                iterator.remove();
+            }
+            return freed;
+        }
+
+        private static long sizeOf(Map.Entry<String, SoftReference<ImageReference>> entry) {
+            ImageReference imageReference = entry.getValue().get();
+            return entry.getKey().length() + (imageReference != null ? imageReference.getImageSizeInBytes() : 0);
+        }
+    }
 }
@@ -17,14 +17,27 @@
 package org.icepdf.core.util.parser.content;
 
 import org.icepdf.core.pobjects.*;
+import org.icepdf.core.util.Defs;
 import org.icepdf.core.util.updater.callbacks.ContentStreamCallback;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * Tokenizer for page, form and glyph content streams.
+ * <br>
+ * A content stream is normally decoded into a byte[] that is cached by its {@link Stream}.  A large compressed
+ * stream, at least {@code org.icepdf.core.content.streamedDecodeThreshold} KB of raw data (default 1024, -1
+ * always decodes fully), is instead read through a window over its inflating decode so the decoded content is
+ * never held whole.  A token that runs past the end of the window slides the window, or grows it for a token or
+ * inline image larger than half the window.  Streams are always decoded fully when a
+ * {@link ContentStreamCallback} is set, as the callback needs the decoded bytes to rewrite the stream.
+ */
 public class Lexer {
 
     private static final Logger logger =
@@ -42,13 +55,27 @@ public class Lexer {
             ARRAY = 9,
             BOOLEAN = 10;
 
+    private static final long STREAMED_DECODE_THRESHOLD =
+            Defs.intProperty("org.icepdf.core.content.streamedDecodeThreshold", 1024) * 1024L;
+    private static final int WINDOW_SIZE = 64 * 1024;
+
     private int streamCount;
     private Stream[] streams;
 
+    // decoded bytes of the current stream, or when streaming the window over them with numRead bytes filled.
     private byte[] streamBytes;
 
     private int pos, numRead, startTokenPos;
 
+    // decode of a streamed content stream, null once fully read or when the stream is decoded fully.
+    private InputStream source;
+    // position of streamBytes[0] in the decoded stream.
+    private int windowOffset;
+    // depth of next() calls, the window only slides at the outermost token, and not while reading inline image
+    // data, where callers still hold window positions.
+    private int nesting;
+    private boolean readingImageData;
+
     private int tokenType = 0;
 
     private ContentStreamCallback contentStreamCallbackCallback;
@@ -71,54 +98,143 @@ public class Lexer {
             streamCount = 0;
             return;
         }
-        streamBytes = streams[streamCount].getDecodedStreamBytes();
-        if (streamBytes != null) {
-            numRead = streamBytes.length;
-        }
+        openStream(streams[streamCount]);
         markContentStreamStart();
     }
 
+    /**
+     * Closes the decode of a streamed content stream, called when parsing ends before the end of the content.
+     */
+    public void close() {
+        if (source != null) {
+            try {
+                source.close();
+            } catch (IOException e) {
+                logger.log(Level.FINE, "Error closing content stream decode", e);
+            }
+            source = null;
+        }
+    }
+
+    private void openStream(Stream stream) {
+        close();
+        pos = 0;
+        windowOffset = 0;
+        if (contentStreamCallbackCallback == null && STREAMED_DECODE_THRESHOLD >= 0 &&
+                stream.getDecompressedBytes() == null && stream.isRawBytesCompressed() &&
+                stream.getRawBytesLength() >= STREAMED_DECODE_THRESHOLD) {
+            source = stream.openDecodedStream();
+            if (source != null) {
+                streamBytes = new byte[WINDOW_SIZE];
+                numRead = 0;
+                fill(0);
+                return;
+            }
+        }
+        streamBytes = stream.getDecodedStreamBytes();
+        numRead = streamBytes != null ? streamBytes.length : 0;
+    }
+
+    // True if pos + ahead is in the content, reading more of a streamed content stream into the window if
+    // needed.  Relative to pos as reading can slide the window.
+    private boolean available(int ahead) {
+        return pos + ahead < numRead || fill(pos + ahead);
+    }
+
+    // The byte at pos + ahead, 0 (white space) past the end of the content.
+    private byte peek(int ahead) {
+        return available(ahead) ? streamBytes[pos + ahead] : 0;
+    }
+
+    // Reads from the streamed decode until the window holds index.  A full window slides to drop the bytes
+    // before the current token, or grows if the token takes up more than half of it.
+    private boolean fill(int index) {
+        while (source != null && index >= numRead) {
+            if (numRead == streamBytes.length) {
+                int keep = Math.min(pos, startTokenPos);
+                if (nesting <= 1 && !readingImageData && keep >= streamBytes.length / 2) {
+                    System.arraycopy(streamBytes, keep, streamBytes, 0, numRead - keep);
+                    numRead -= keep;
+                    pos -= keep;
+                    startTokenPos -= keep;
+                    index -= keep;
+                    windowOffset += keep;
+                } else {
+                    streamBytes = Arrays.copyOf(streamBytes, streamBytes.length * 2);
+                }
+            }
+            int read;
+            try {
+                read = source.read(streamBytes, numRead, streamBytes.length - numRead);
+            } catch (IOException e) {
+                logger.log(Level.FINE, "Error decoding content stream", e);
+                read = -1;
+            }
+            if (read <= 0) {
+                close();
+            } else {
+                numRead += read;
+            }
+        }
+        return index < numRead;
+    }
+
     public Object next() throws IOException {
 
         if (streamBytes == null) {
             throw new IOException("Content Stream, null input stream bytes.");
         }
 
-        // get starting lexer state.
-        parseNextState();
-
-        switch (tokenType) {
-            // we have a name
-            case NUMBER:
-                return startNumber();
-            case OPERAND:
-                return startOperand();
-            case HEX_STRING:
-                return startHexString();
-            case LIT_STRING:
-                return startLiteralString();
-            case NAME:
-                return startName();
-            case ARRAY:
-                return startArray();
-            case DICTIONARY:
-                return startDictionary();
-            case BOOLEAN:
-                return startBoolean();
-            case COMMENT:
-                return startComment();
-            default:
-                return null;
+        nesting++;
+        try {
+            // get starting lexer state.
+            parseNextState();
+
+            switch (tokenType) {
+                // we have a name
+                case NUMBER:
+                    return startNumber();
+                case OPERAND:
+                    return startOperand();
+                case HEX_STRING:
+                    return startHexString();
+                case LIT_STRING:
+                    return startLiteralString();
+                case NAME:
+                    return startName();
+                case ARRAY:
+                    return startArray();
+                case DICTIONARY:
+                    return startDictionary();
+                case BOOLEAN:
+                    return startBoolean();
+                case COMMENT:
+                    return startComment();
+                default:
+                    return null;
+            }
+        } finally {
+            nesting--;
         }
     }
 
     public byte[] getImageBytes() {
+        // the image data is copied out of the window at the end, keep it in the window.
+        readingImageData = true;
+        try {
+            return readImageBytes();
+        } finally {
+            readingImageData = false;
+        }
+    }
+
+    private byte[] readImageBytes() {
         // skip past the D in ID and the first white space.
         pos += 1;
         // quick check for CR and LF after the ID.
-        if (streamBytes[pos] == 10 || streamBytes[pos] == 13) {
+        if (peek(0) == 10 || peek(0) == 13) {
             pos++;
-            if (streamBytes[pos] == 10 || streamBytes[pos] == 13) {
+            if (peek(0) == 10 || peek(0) == 13) {
                 pos++;
             }
         }
@@ -128,9 +244,9 @@ public class Lexer {
         // type3 fonts generally have the EI at the end of the stream with no
         // white space  and inline images all followed by a space.
         boolean found = false;
-        while (pos < numRead) {
+        while (available(0)) {
             // check if we have an EI at the end of the stream
-            if (pos + 1 == streamBytes.length - 1 &&
+            if (!available(2) && pos + 2 == numRead &&
                     streamBytes[pos] == 'E' &&
                     streamBytes[pos + 1] == 'I') {
                 found = true;
@@ -145,15 +261,15 @@ public class Lexer {
                             streamBytes[pos - 1] == 0 || // null corner case
                             streamBytes[pos - 1] == 75) && // another corner case 'K', no whitespace between data and EI
                             streamBytes[pos] == 'E' &&
-                            streamBytes[pos + 1] == 'I' &&
-                            (streamBytes[pos + 2] == 32 ||
-                                    streamBytes[pos + 2] == 10 ||
-                                    streamBytes[pos + 2] == 13)) {
+                            peek(1) == 'I' &&
+                            (peek(2) == 32 ||
+                                    peek(2) == 10 ||
+                                    peek(2) == 13)) {
                 int mark = pos;
                 // avoid going to the next content stream, as inline images
                 // aren't stretched across content streams, or at least we don't
                 // think so.
-                if (!(pos + 4 < streamBytes.length)) {
+                if (!available(4)) {
                     found = true;
                 } else {
                     try {
@@ -162,7 +278,7 @@ public class Lexer {
                         // make sure we have an operand next as some streams can give
                         // us a false positive when EI and some white space is encountered.
                         if (tmp instanceof Integer && ((Integer) tmp) != Operands.OP &&
-                                isDelimiter(streamBytes[pos])) {
+                                isDelimiter(peek(0))) {
                             found = true;
                         }
                         // rest the pos to before the EI.
@@ -192,14 +308,17 @@ public class Lexer {
         return imageBytes;
     }
 
+    /**
+     * Gets the position in the decoded content of the current stream.
+     */
     public int getPos() {
-        return pos;
+        return windowOffset + pos;
     }
 
     private StringObject startHexString() {
         // skip the starting (
         startTokenPos = pos++;
-        while (pos < numRead) {
+        while (available(0)) {
             if (streamBytes[pos] == '>') {
                 // back out the ending )
                 pos++;
@@ -228,7 +347,7 @@ public class Lexer {
         pos++;
         int parenthesisCount = 1;
         int current;
-        while (pos < numRead) {
+        while (available(0)) {
             current = streamBytes[pos] & 0xff;
             if (current != '\\' && current != ')' && current != '(') {
                 captured.append((char) current);
@@ -265,7 +384,7 @@ public class Lexer {
                  *
                  * Note: (\0053) denotes a string containing two characters,
                  */
-                lookAhead = (streamBytes[pos + 1] & 0xff);
+                lookAhead = (peek(1) & 0xff);
                 // capture the horizontal tab (HT), tab character is hard
                 // to find, only appears in files with font substitution and
                 // as a result we have better luck drawing a space character.
@@ -296,7 +415,7 @@ public class Lexer {
                     // have one, so there can be up 2 more digits.
                     int offset = 1;
                     for (int j = 1; j <= 2; j++) {
-                        lookAhead = streamBytes[pos + j + 1];
+                        lookAhead = peek(j + 1);
                         if (Character.isDigit(lookAhead)) {
                             digit[j] = (byte) lookAhead;
                             offset++;
@@ -367,7 +486,7 @@ public class Lexer {
     private Name startName() {
         // skip first / of name
         startTokenPos = pos++;
-        while (pos < numRead) {
+        while (available(0)) {
             // look for a natural break                          ``
             if (isDelimiter(streamBytes[pos]) || isTextDelimiter(streamBytes[pos])) {
                 break;
@@ -385,7 +504,7 @@ public class Lexer {
 
     private Boolean startBoolean() {
         startTokenPos = pos;
-        while (pos < numRead) {
+        while (available(0)) {
             // look for a natural break
             if (isDelimiter(streamBytes[pos]) || isTextDelimiter(streamBytes[pos])) {
                 break;
@@ -404,7 +523,7 @@ public class Lexer {
         do {
             pos++;
         }
-        while (pos < numRead && streamBytes[pos] != 13 && streamBytes[pos] != 10);
+        while (available(0) && streamBytes[pos] != 13 && streamBytes[pos] != 10);
         return Operands.OP;
     }
 
@@ -421,8 +540,8 @@ public class Lexer {
         Object key = null;
         Object value;
         int count = 1;
-        while (pos < streamBytes.length &&
-                !(streamBytes[pos] == '>' && streamBytes[pos + 1] == '>')) {
+        while (available(0) &&
+                !(streamBytes[pos] == '>' && peek(1) == '>')) {
             if (count == 1) {
                 key = next();
                 // double check we don't have an empty dictionary << >>
@@ -438,7 +557,7 @@ public class Lexer {
             }
 
             // check the buffer
-            while (pos < numRead) {
+            while (available(0)) {
                 // look for a natural break
                 if (!isDelimiter(streamBytes[pos])) {
                     break;
@@ -455,7 +574,7 @@ public class Lexer {
     }
 
     private void checkLength() throws IOException {
-        if (pos == numRead) {
+        if (pos == numRead && !available(0)) {
             if (streamCount < streams.length - 1) {
                 nextContentStream();
             }
@@ -478,20 +597,28 @@ public class Lexer {
         while (streamCount < streams.length && streams[streamCount] == null) {
             streamCount++;
         }
-        byte[] next = streamCount < streams.length ? streams[streamCount].getDecodedStreamBytes() : null;
+        openNextStream();
         // skip over the corner case of a zero length content stream.
-        if (next != null && next.length == 0 && streamCount + 1 < streams.length) {
+        if (streamBytes != null && numRead == 0 && streamCount + 1 < streams.length) {
             streamCount++;
             while (streamCount < streams.length && streams[streamCount] == null) {
                 streamCount++;
             }
-            next = streamCount < streams.length ? streams[streamCount].getDecodedStreamBytes() : null;
+            openNextStream();
         }
-        streamBytes = next;
         markContentStreamStart();
-        // reset the  pointers.
-        pos = 0;
-        numRead = streamBytes != null ? streamBytes.length : 0;
+    }
+
+    private void openNextStream() {
+        if (streamCount < streams.length) {
+            openStream(streams[streamCount]);
+        } else {
+            close();
+            streamBytes = null;
+            pos = 0;
+            numRead = 0;
+            windowOffset = 0;
+        }
     }
 
     private void markContentStreamStart() throws IOException {
@@ -513,15 +640,15 @@ public class Lexer {
 
         // skip past the starting [
         pos += 1;
-        if (pos == numRead) {
+        if (pos == numRead && !available(0)) {
             // check for in very odd  corner cases. end
             checkLength();
-            if (pos == streamBytes.length) {
+            if (!available(0)) {
                 return array;
             }
         }
         Object token;
-        while (pos < numRead && streamBytes[pos] != ']') {
+        while (available(0) && streamBytes[pos] != ']') {
             // add the tokens as we get them.
             token = next();
             if (token instanceof Integer) {
@@ -536,7 +663,7 @@ public class Lexer {
                 break;
             }
             // push past any white space
-            while (pos < numRead) {
+            while (available(0)) {
                 // look for a natural break
                 if (!isDelimiter(streamBytes[pos])) {
                     break;
@@ -553,7 +680,7 @@ public class Lexer {
 
     private Object startNumber() {
         startTokenPos = pos;
-        while (pos < numRead) {
+        while (available(0)) {
             if (streamBytes[pos] < '+' || streamBytes[pos] > '9' || streamBytes[pos] == '/') {
                 break;
             }
@@ -567,7 +694,7 @@ public class Lexer {
      */
     private Object startOperand() {
         startTokenPos = pos;
-        while (pos < numRead) {
+        while (available(0)) {
             // check for delimiters just encase the encoder didn't use spaces.
             if (isDelimiter(streamBytes[pos]) ||
                     isTextDelimiter(streamBytes[pos])) {
@@ -589,9 +716,11 @@ public class Lexer {
     }
 
     private void parseNextState() throws IOException {
+        // nothing before pos is needed any more, lets a streamed window slide past the white space.
+        startTokenPos = pos;
         // skip the white space
         while (pos <= numRead) {
-            if (pos == numRead) {
+            if (pos == numRead && !available(0)) {
                 if (streamCount < streams.length - 1) {
                     nextContentStream();
                     continue;
@@ -600,7 +729,7 @@ public class Lexer {
                 }
             }
             // find the next space
-            if (pos < streamBytes.length && streamBytes[pos] > 32) {//!isDelimiter(streamBytes[pos])) {
+            if (pos < numRead && streamBytes[pos] > 32) {//!isDelimiter(streamBytes[pos])) {
                 break;
             }
             pos++;
@@ -621,7 +750,7 @@ public class Lexer {
                     tokenType = ARRAY;
                     break;
                 case '<':
-                    byte c2 = streamBytes[pos + 1];
+                    byte c2 = peek(1);
                     if (c2 == '<') {
                         tokenType = DICTIONARY;
                     } else {
@@ -636,7 +765,7 @@ public class Lexer {
                     tokenType = BOOLEAN;
                     break;
                 case 'f':
-                    if (pos + 1 < numRead) {
+                    if (available(1)) {
                         c2 = streamBytes[pos + 1];
                         if (c2 == 'a') {
                             tokenType = BOOLEAN;
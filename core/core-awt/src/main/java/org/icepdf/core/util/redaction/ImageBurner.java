@@ -37,14 +37,18 @@ import java.awt.image.BufferedImage;
 public class ImageBurner {
     public static ImageStream burn(ImageReference imageReference, GeneralPath redactionPath) throws InterruptedException {
         ImageStream imageStream = imageReference.getImageStream();
-        BufferedImage image = imageStream.getDecodedImage();
-        if (image == null) {
-            image = imageReference.getBaseImage();
-        }
-        // update any mask as they can have a content for some scanned documents.
-        checkAndBurnMasks(imageStream, redactionPath);
+        // an image XObject can be drawn on several pages that are burned in parallel, each burn paints over the
+        // result of the previous one.
+        synchronized (imageStream) {
+            BufferedImage image = imageStream.getDecodedImage();
+            if (image == null) {
+                image = imageReference.getBaseImage();
+            }
+            // update any mask as they can have a content for some scanned documents.
+            checkAndBurnMasks(imageStream, redactionPath);
 
-        return burnImage(imageStream, image, redactionPath, true);
+            return burnImage(imageStream, image, redactionPath, true);
+        }
     }
 
     private static void checkAndBurnMasks(ImageStream imageStream, GeneralPath redactionPath) {
@@ -16,44 +16,206 @@
 
 package org.icepdf.core.util.redaction;
 
-import org.icepdf.core.pobjects.Document;
-import org.icepdf.core.pobjects.PObject;
-import org.icepdf.core.pobjects.Page;
-import org.icepdf.core.pobjects.StateManager;
+import org.icepdf.core.pobjects.*;
 import org.icepdf.core.pobjects.annotations.Annotation;
+import org.icepdf.core.pobjects.annotations.AnnotationSubtypeIndex;
 import org.icepdf.core.pobjects.annotations.RedactionAnnotation;
+import org.icepdf.core.util.Defs;
+import org.icepdf.core.util.Library;
+import org.icepdf.core.util.ParallelTasks;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Redactor iterates over a document pages looking for redaction annotations and applies the content and
  * image stream burning.
+ * <br>
+ * Only the pages listed by an {@link AnnotationSubtypeIndex} as carrying /Redact annotations are initialized, and
+ * their burning runs in parallel on the common thread pool, the calling thread taking part.  Pages that share a
+ * content stream are burned one after the other on the same thread so the burns of the shared stream accumulate.
+ * <br>
+ * The following system properties configure the burning:
+ * <ul>
+ *     <li>{@code org.icepdf.core.redaction.parallel} - burn pages in parallel, default true.</li>
+ * </ul>
  *
  * @since 7.2.0
  */
 public class Redactor {
 
-    public static void burnRedactions(Document document) throws InterruptedException, IOException {
-        int pageCount = document.getNumberOfPages();
+    private static final Logger logger =
+            Logger.getLogger(Redactor.class.getName());
+
+    private static final boolean PARALLEL;
+
+    static {
+        PARALLEL = Defs.sysPropertyBoolean("org.icepdf.core.redaction.parallel", true);
+    }
+
+    /**
+     * Time taken to burn the redactions of one page.
+     *
+     * @since 7.5
+     */
+    public static class PageBurn {
+        private final int pageIndex;
+        private final int redactionCount;
+        private final long burnNanos;
+
+        PageBurn(int pageIndex, int redactionCount, long burnNanos) {
+            this.pageIndex = pageIndex;
+            this.redactionCount = redactionCount;
+            this.burnNanos = burnNanos;
+        }
+
+        public int getPageIndex() {
+            return pageIndex;
+        }
+
+        public int getRedactionCount() {
+            return redactionCount;
+        }
+
+        public long getBurnNanos() {
+            return burnNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "page " + pageIndex + ": " + redactionCount + " redactions in " +
+                    TimeUnit.NANOSECONDS.toMillis(burnNanos) + "ms";
+        }
+    }
+
+    /**
+     * Burns the redaction annotations of the document into the page content and image streams.  All changes are
+     * recorded in the document's state manager.
+     *
+     * @param document document to redact.
+     * @return burn timing of each redacted page, in page order.
+     * @throws InterruptedException thread was interrupted.
+     * @throws IOException          error writing a redacted content stream.
+     */
+    public static List<PageBurn> burnRedactions(Document document) throws InterruptedException, IOException {
+        long start = System.nanoTime();
+        PageTree pageTree = document.getPageTree();
         StateManager stateManager = document.getCatalog().getLibrary().getStateManager();
 
-        // work though each page
-        for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
-            Page page = document.getPageTree().getPage(pageIndex);
-            // check for any redaction annotation
+        BitSet redactedPages = AnnotationSubtypeIndex.build(pageTree).getPages(Annotation.SUBTYPE_REDACT);
+        // initialize the annotations of the affected pages here, building the annotations and their form fields
+        // isn't meant to run concurrently.  Pages sharing a content stream are grouped.
+        List<List<PageRedactions>> groups = new ArrayList<>();
+        Map<Reference, List<PageRedactions>> groupsByStream = new HashMap<>();
+        for (int pageIndex = redactedPages.nextSetBit(0); pageIndex >= 0;
+             pageIndex = redactedPages.nextSetBit(pageIndex + 1)) {
+            Page page = pageTree.getPage(pageIndex);
             List<RedactionAnnotation> redactionAnnotations = page.getRedactionAnnotations();
             if (redactionAnnotations != null && !redactionAnnotations.isEmpty()) {
-                RedactionContentBurner.burn(page, redactionAnnotations);
+                group(new PageRedactions(pageIndex, page, redactionAnnotations), groups, groupsByStream);
+            }
+        }
+
+        List<Callable<List<PageBurn>>> tasks = new ArrayList<>(groups.size());
+        for (List<PageRedactions> group : groups) {
+            tasks.add(() -> burn(stateManager, group));
+        }
+        List<PageBurn> pageBurns = new ArrayList<>(redactedPages.cardinality());
+        Executor executor = PARALLEL ? Library::execute : Runnable::run;
+        try {
+            for (List<PageBurn> groupBurns : ParallelTasks.invokeAll(tasks, executor)) {
+                pageBurns.addAll(groupBurns);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof InterruptedException) {
+                throw (InterruptedException) e.getCause();
             }
+            ParallelTasks.throwCause(e, IOException.class);
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        pageBurns.sort(Comparator.comparingInt(PageBurn::getPageIndex));
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine("Burned redactions of " + pageBurns.size() + " of " + pageTree.getNumberOfPages() +
+                    " pages in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+        }
+        return pageBurns;
+    }
+
+    private static List<PageBurn> burn(StateManager stateManager, List<PageRedactions> group)
+            throws InterruptedException, IOException {
+        List<PageBurn> pageBurns = new ArrayList<>(group.size());
+        for (PageRedactions pageRedactions : group) {
+            long start = System.nanoTime();
+            RedactionContentBurner.burn(pageRedactions.page, pageRedactions.redactionAnnotations);
             // convert the redaction to Annotation.SUBTYPE_SQUARE.  This avoids any confusion in the exported document
             // and makes sure we show where the redaction took place.
-            if (redactionAnnotations != null && !redactionAnnotations.isEmpty()) {
-                convertRedactionToSquareAnnotation(stateManager, redactionAnnotations);
+            convertRedactionToSquareAnnotation(stateManager, pageRedactions.redactionAnnotations);
+            PageBurn pageBurn = new PageBurn(pageRedactions.pageIndex, pageRedactions.redactionAnnotations.size(),
+                    System.nanoTime() - start);
+            logger.fine(pageBurn::toString);
+            pageBurns.add(pageBurn);
+        }
+        return pageBurns;
+    }
+
+    /**
+     * Adds a page to the group of the pages it shares a content stream with, or to a new group.
+     */
+    private static void group(PageRedactions pageRedactions, List<List<PageRedactions>> groups,
+                              Map<Reference, List<PageRedactions>> groupsByStream) {
+        Object contents = pageRedactions.page.getEntries().get(Page.CONTENTS_KEY);
+        List<?> streams = contents instanceof List ? (List<?>) contents : Collections.singletonList(contents);
+        List<PageRedactions> group = null;
+        for (Object stream : streams) {
+            List<PageRedactions> shared = stream instanceof Reference ? groupsByStream.get(stream) : null;
+            if (shared == null || shared == group) {
+                continue;
+            }
+            if (group == null) {
+                group = shared;
+            } else {
+                // the page links two groups, merge them.
+                group.addAll(shared);
+                groups.remove(shared);
+                for (Map.Entry<Reference, List<PageRedactions>> entry : groupsByStream.entrySet()) {
+                    if (entry.getValue() == shared) {
+                        entry.setValue(group);
+                    }
+                }
+            }
+        }
+        if (group == null) {
+            group = new ArrayList<>();
+            groups.add(group);
+        }
+        group.add(pageRedactions);
+        for (Object stream : streams) {
+            if (stream instanceof Reference) {
+                groupsByStream.put((Reference) stream, group);
             }
         }
     }
 
+    private static class PageRedactions {
+        private final int pageIndex;
+        private final Page page;
+        private final List<RedactionAnnotation> redactionAnnotations;
+
+        PageRedactions(int pageIndex, Page page, List<RedactionAnnotation> redactionAnnotations) {
+            this.pageIndex = pageIndex;
+            this.page = page;
+            this.redactionAnnotations = redactionAnnotations;
+        }
+    }
+
     private static void convertRedactionToSquareAnnotation(StateManager stateManager,
                                                            List<RedactionAnnotation> redactionAnnotations) {
         for (RedactionAnnotation redactionAnnotation : redactionAnnotations) {
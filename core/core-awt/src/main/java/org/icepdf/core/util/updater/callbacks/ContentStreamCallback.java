@@ -88,7 +88,9 @@ public abstract class ContentStreamCallback {
             endContentStream();
         }
         currentStream = stream;
-        originalContentStreamBytes = stream.getDecompressedBytes();
+        // decode rather than read the cached bytes, the memory governor may have evicted them since the lexer
+        // decoded the stream.
+        originalContentStreamBytes = stream.getDecodedStreamBytes();
         burnedContentOutputStream = new ByteArrayOutputStream();
     }
 
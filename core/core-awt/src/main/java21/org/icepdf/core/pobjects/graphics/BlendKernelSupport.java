@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.util.Defs;
+
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Chooses between the scalar {@link BlendRowKernel}s and Vector API kernels.  This is the JDK 21 version of the
+ * class, packaged under {@code META-INF/versions/21} of the multi-release jar.  The Vector API is still an incubator
+ * module, it is only used if the JVM resolved {@code jdk.incubator.vector}, for example when started with
+ * {@code --add-modules jdk.incubator.vector}, and can be turned off with the
+ * {@code org.icepdf.core.paint.vectorBlend} system property.
+ *
+ * @since 7.5
+ */
+final class BlendKernelSupport {
+
+    private static final Logger logger =
+            Logger.getLogger(BlendKernelSupport.class.getName());
+
+    private static final boolean VECTORIZED;
+
+    static {
+        boolean vectorized = false;
+        Optional<Module> vectorModule = ModuleLayer.boot().findModule("jdk.incubator.vector");
+        if (Defs.sysPropertyBoolean("org.icepdf.core.paint.vectorBlend", true) && vectorModule.isPresent()) {
+            try {
+                // org.icepdf.core doesn't require the incubator module, on the module path it has to read it.
+                BlendKernelSupport.class.getModule().addReads(vectorModule.get());
+                vectorized = VectorBlendRowKernel.isSupported();
+            } catch (LinkageError e) {
+                logger.log(Level.FINE, "Vector API blend kernels not available", e);
+            }
+        }
+        VECTORIZED = vectorized;
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine("Vector API blend kernels " + (VECTORIZED ? "enabled" : "disabled"));
+        }
+    }
+
+    private BlendKernelSupport() {
+    }
+
+    /**
+     * Gets the kernel to use for a mode.
+     *
+     * @param mode   blending mode.
+     * @param scalar scalar kernel of the mode.
+     * @return kernel to use, {@code scalar} if the mode has no faster kernel.
+     */
+    static BlendRowKernel accelerate(BlendComposite.BlendingMode mode, BlendRowKernel scalar) {
+        if (VECTORIZED && VectorBlendRowKernel.supports(mode)) {
+            return new VectorBlendRowKernel(mode, scalar);
+        }
+        return scalar;
+    }
+
+    /**
+     * Tests if Vector API kernels are in use.
+     */
+    static boolean isVectorized() {
+        return VECTORIZED;
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API version of the {@link BlendRowKernel}s for the modes that need no integer division.  A row is done in
+ * chunks: the pixels are blended a vector at a time with the same integer operations as the scalar kernel into a
+ * scratch chunk, and the chunk is then mixed with the backdrop with the same float operations in the same order as
+ * {@link BlendRowKernel#mix}, so the results are bit for bit the scalar ones.  Painting into a transparency group
+ * buffer and the tail of a row are left to the scalar kernel.
+ * <br>
+ * The loops are written out in full on purpose, the compiler only keeps vectors in registers when every vector
+ * operation is inlined into the loop, a vector passed to a helper method or merged across branches gets boxed.
+ *
+ * @since 7.5
+ */
+final class VectorBlendRowKernel extends BlendRowKernel {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+
+    // pixels blended before they're mixed, a multiple of any vector length.
+    private static final int CHUNK = 1024;
+
+    private static final ThreadLocal<int[]> scratch = ThreadLocal.withInitial(() -> new int[CHUNK]);
+
+    private final BlendComposite.BlendingMode mode;
+    private final BlendRowKernel scalar;
+
+    VectorBlendRowKernel(BlendComposite.BlendingMode mode, BlendRowKernel scalar) {
+        this.mode = mode;
+        this.scalar = scalar;
+    }
+
+    /**
+     * Tests if the platform has vectors wide enough to be worth it, the int and float conversions need the int and
+     * float species to have the same number of lanes.
+     */
+    static boolean isSupported() {
+        return INTS.length() > 1 && INTS.length() == FLOATS.length() && CHUNK % INTS.length() == 0;
+    }
+
+    static boolean supports(BlendComposite.BlendingMode mode) {
+        switch (mode) {
+            case NORMAL:
+            case MULTIPLY:
+            case SCREEN:
+            case OVERLAY:
+            case HARD_LIGHT:
+            case DARKEN:
+            case LIGHTEN:
+            case DIFFERENCE:
+            case EXCLUSION:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    void blendRow(int[] src, int srcPos, int[] dst, int dstPos, int[] out, int outPos, int width,
+                  float alpha, boolean transparentBackdrop) {
+        if (transparentBackdrop) {
+            scalar.blendRow(src, srcPos, dst, dstPos, out, outPos, width, alpha, true);
+            return;
+        }
+        int bound = INTS.loopBound(width);
+        int[] blended = scratch.get();
+        for (int start = 0; start < bound; start += CHUNK) {
+            int length = Math.min(CHUNK, bound - start);
+            int s = srcPos + start;
+            int d = dstPos + start;
+            switch (mode) {
+                case NORMAL:
+                    normal(src, s, dst, d, blended, length);
+                    break;
+                case MULTIPLY:
+                    multiply(src, s, dst, d, blended, length);
+                    break;
+                case SCREEN:
+                    screen(src, s, dst, d, blended, length);
+                    break;
+                case OVERLAY:
+                    overlay(src, s, dst, d, blended, length);
+                    break;
+                case HARD_LIGHT:
+                    // hard light is overlay with the source and backdrop swapped, the alpha and the kept
+                    // backdrop still follow the source.
+                    hardLight(src, s, dst, d, blended, length);
+                    break;
+                case DARKEN:
+                    darkenLighten(src, s, dst, d, blended, length, VectorOperators.MIN);
+                    break;
+                case LIGHTEN:
+                    darkenLighten(src, s, dst, d, blended, length, VectorOperators.MAX);
+                    break;
+                case DIFFERENCE:
+                    difference(src, s, dst, d, blended, length);
+                    break;
+                case EXCLUSION:
+                    exclusion(src, s, dst, d, blended, length);
+                    break;
+                default:
+                    throw new IllegalStateException("No vector kernel for " + mode);
+            }
+            mix(dst, d, blended, out, outPos + start, length, alpha);
+        }
+        if (bound < width) {
+            scalar.blendRow(src, srcPos + bound, dst, dstPos + bound, out, outPos + bound, width - bound,
+                    alpha, false);
+        }
+    }
+
+    // (int) (d + (r - d) * alpha) & 0xFF per channel, as in BlendRowKernel.mix.
+    private static void mix(int[] dst, int dstPos, int[] blended, int[] out, int outPos, int length, float alpha) {
+        for (int i = 0; i < length; i += INTS.length()) {
+            IntVector d = IntVector.fromArray(INTS, dst, dstPos + i);
+            IntVector p = IntVector.fromArray(INTS, blended, i);
+            IntVector da = d.lanewise(VectorOperators.LSHR, 24);
+            IntVector dr = d.lanewise(VectorOperators.LSHR, 16).and(0xFF);
+            IntVector dg = d.lanewise(VectorOperators.LSHR, 8).and(0xFF);
+            IntVector db = d.and(0xFF);
+            IntVector a = ((IntVector) ((FloatVector) da.castShape(FLOATS, 0)).add(
+                    ((FloatVector) p.lanewise(VectorOperators.LSHR, 24).sub(da).castShape(FLOATS, 0)).mul(alpha))
+                    .castShape(INTS, 0)).and(0xFF);
+            IntVector r = ((IntVector) ((FloatVector) dr.castShape(FLOATS, 0)).add(
+                    ((FloatVector) p.lanewise(VectorOperators.LSHR, 16).and(0xFF).sub(dr).castShape(FLOATS, 0))
+                            .mul(alpha)).castShape(INTS, 0)).and(0xFF);
+            IntVector g = ((IntVector) ((FloatVector) dg.castShape(FLOATS, 0)).add(
+                    ((FloatVector) p.lanewise(VectorOperators.LSHR, 8).and(0xFF).sub(dg).castShape(FLOATS, 0))
+                            .mul(alpha)).castShape(INTS, 0)).and(0xFF);
+            IntVector b = ((IntVector) ((FloatVector) db.castShape(FLOATS, 0)).add(
+                    ((FloatVector) p.and(0xFF).sub(db).castShape(FLOATS, 0)).mul(alpha))
+                    .castShape(INTS, 0)).and(0xFF);
+            a.lanewise(VectorOperators.LSHL, 24)
+                    .or(r.lanewise(VectorOperators.LSHL, 16))
+                    .or(g.lanewise(VectorOperators.LSHL, 8))
+                    .or(b)
+                    .intoArray(out, outPos + i);
+        }
+    }
+
+    // the source, or the backdrop where the source is fully transparent.
+    private static void normal(int[] src, int srcPos, int[] dst, int dstPos, int[] blended, int length) {
+        for (int i = 0; i < length; i += INTS.length()) {
+            IntVector s = IntVector.fromArray(INTS, src, srcPos + i);
+            IntVector d = IntVector.fromArray(INTS, dst, dstPos + i);
+            s.blend(d, s.lanewise(VectorOperators.LSHR, 24).compare(VectorOperators.EQ, 0))
+                    .intoArray(blended, i);
+        }
+    }
+
+    private static void multiply(int[] src, int srcPos, int[] dst, int dstPos, int[] blended, int length) {
+        for (int i = 0; i < length; i += INTS.length()) {
+            IntVector s = IntVector.fromArray(INTS, src, srcPos + i);
+            IntVector d = IntVector.fromArray(INTS, dst, dstPos + i);
+            IntVector sa = s.lanewise(VectorOperators.LSHR, 24);
+            IntVector r = s.lanewise(VectorOperators.LSHR, 16).and(0xFF)
+                    .mul(d.lanewise(VectorOperators.LSHR, 16).and(0xFF)).lanewise(VectorOperators.ASHR, 8);
+            IntVector g = s.lanewise(VectorOperators.LSHR, 8).and(0xFF)
+                    .mul(d.lanewise(VectorOperators.LSHR, 8).and(0xFF)).lanewise(VectorOperators.ASHR, 8);
+            IntVector b = s.and(0xFF).mul(d.and(0xFF)).lanewise(VectorOperators.ASHR, 8);
+            IntVector a = sa.add(d.lanewise(VectorOperators.LSHR, 24)).min(255);
+            a.lanewise(VectorOperators.LSHL, 24)
+                    .or(r.lanewise(VectorOperators.LSHL, 16))
+                    .or(g.lanewise(VectorOperators.LSHL, 8))
+                    .or(b)
+                    .blend(d, sa.compare(VectorOperators.EQ, 0))
+                    .intoArray(blended, i);
+        }
+    }
+
+    private static void screen(int[] src, int srcPos, int[] dst, int dstPos, int[] blended, int length) {
+        for (int i = 0; i < length; i += INTS.length()) {
+            IntVector s = IntVector.fromArray(INTS, src, srcPos + i);
+            IntVector d = IntVector.fromArray(INTS, dst, dstPos + i);
+            IntVector dr = d.lanewise(VectorOperators.LSHR, 16).and(0xFF);
+            IntVector dg = d.lanewise(VectorOperators.LSHR, 8).and(0xFF);
+            IntVector db = d.and(0xFF);
+            // 255 - ((255 - s) * (255 - d) >> 8)
+            IntVector r = s.lanewise(VectorOperators.LSHR, 16).and(0xFF).neg().add(255)
+                    .mul(dr.neg().add(255)).lanewise(VectorOperators.ASHR, 8).neg().add(255);
+            IntVector g = s.lanewise(VectorOperators.LSHR, 8).and(0xFF).neg().add(255)
+                    .mul(dg.neg().add(255)).lanewise(VectorOperators.ASHR, 8).neg().add(255);
+            IntVector b = s.and(0xFF).neg().add(255)
+                    .mul(db.neg().add(255)).lanewise(VectorOperators.ASHR, 8).neg().add(255);
+            IntVector a = s.lanewise(VectorOperators.LSHR, 24).add(d.lanewise(VectorOperators.LSHR, 24)).min(255);
+            // a white backdrop channel takes the source, screening with black keeps the backdrop.
+            VectorMask<Integer> screen = dr.compare(VectorOperators.NE, 255)
+                    .and(dg.compare(VectorOperators.NE, 255))
+                    .and(db.compare(VectorOperators.NE, 255));
+            s.blend(a.lanewise(VectorOperators.LSHL, 24)
+                            .or(r.lanewise(VectorOperators.LSHL, 16))
+                            .or(g.lanewise(VectorOperators.LSHL, 8))
+                            .or(b), screen)
+                    .blend(d, s.and(0xFFFFFF).compare(VectorOperators.EQ, 0))
+                    .intoArray(blended, i);
+        }
+    }
+
+    // base < 128 ? base * blend >> 7 : 255 - ((255 - base) * (255 - blend) >> 7), with the backdrop as base.
+    private static void overlay(int[] src, int srcPos, int[] dst, int dstPos, int[] blended, int length) {
+        for (int i = 0; i < length; i += INTS.length()) {
+            IntVector s = IntVector.fromArray(INTS, src, srcPos + i);
+            IntVector d = IntVector.fromArray(INTS, dst, dstPos + i);
+            IntVector sa = s.lanewise(VectorOperators.LSHR, 24);
+            IntVector sr = s.lanewise(VectorOperators.LSHR, 16).and(0xFF);
+            IntVector sg = s.lanewise(VectorOperators.LSHR, 8).and(0xFF);
+            IntVector sb = s.and(0xFF);
+            IntVector dr = d.lanewise(VectorOperators.LSHR, 16).and(0xFF);
+            IntVector dg = d.lanewise(VectorOperators.LSHR, 8).and(0xFF);
+            IntVector db = d.and(0xFF);
+            IntVector r = dr.neg().add(255).mul(sr.neg().add(255)).lanewise(VectorOperators.ASHR, 7).neg().add(255)
+                    .blend(dr.mul(sr).lanewise(VectorOperators.ASHR, 7), dr.compare(VectorOperators.LT, 128));
+            IntVector g = dg.neg().add(255).mul(sg.neg().add(255)).lanewise(VectorOperators.ASHR, 7).neg().add(255)
+                    .blend(dg.mul(sg).lanewise(VectorOperators.ASHR, 7), dg.compare(VectorOperators.LT, 128));
+            IntVector b = db.neg().add(255).mul(sb.neg().add(255)).lanewise(VectorOperators.ASHR, 7).neg().add(255)
+                    .blend(db.mul(sb).lanewise(VectorOperators.ASHR, 7), db.compare(VectorOperators.LT, 128));
+            IntVector a = sa.add(d.lanewise(VectorOperators.LSHR, 24)).min(255);
+            a.lanewise(VectorOperators.LSHL, 24)
+                    .or(r.lanewise(VectorOperators.LSHL, 16))
+                    .or(g.lanewise(VectorOperators.LSHL, 8))
+                    .or(b)
+                    .blend(d, sa.compare(VectorOperators.EQ, 0))
+                    .intoArray(blended, i);
+        }
+    }
+
+    // overlay with the source as base.
+    private static void hardLight(int[] src, int srcPos, int[] dst, int dstPos, int[] blended, int length) {
+        for (int i = 0; i < length; i += INTS.length()) {
+            IntVector s = IntVector.fromArray(INTS, src, srcPos + i);
+            IntVector d = IntVector.fromArray(INTS, dst, dstPos + i);
+            IntVector sa = s.lanewise(VectorOperators.LSHR, 24);
+            IntVector sr = s.lanewise(VectorOperators.LSHR, 16).and(0xFF);
+            IntVector sg = s.lanewise(VectorOperators.LSHR, 8).and(0xFF);
+            IntVector sb = s.and(0xFF);
+            IntVector dr = d.lanewise(VectorOperators.LSHR, 16).and(0xFF);
+            IntVector dg = d.lanewise(VectorOperators.LSHR, 8).and(0xFF);
+            IntVector db = d.and(0xFF);
+            IntVector r = sr.neg().add(255).mul(dr.neg().add(255)).lanewise(VectorOperators.ASHR, 7).neg().add(255)
+                    .blend(sr.mul(dr).lanewise(VectorOperators.ASHR, 7), sr.compare(VectorOperators.LT, 128));
+            IntVector g = sg.neg().add(255).mul(dg.neg().add(255)).lanewise(VectorOperators.ASHR, 7).neg().add(255)
+                    .blend(sg.mul(dg).lanewise(VectorOperators.ASHR, 7), sg.compare(VectorOperators.LT, 128));
+            IntVector b = sb.neg().add(255).mul(db.neg().add(255)).lanewise(VectorOperators.ASHR, 7).neg().add(255)
+                    .blend(sb.mul(db).lanewise(VectorOperators.ASHR, 7), sb.compare(VectorOperators.LT, 128));
+            IntVector a = sa.add(d.lanewise(VectorOperators.LSHR, 24)).min(255);
+            a.lanewise(VectorOperators.LSHL, 24)
+                    .or(r.lanewise(VectorOperators.LSHL, 16))
+                    .or(g.lanewise(VectorOperators.LSHL, 8))
+                    .or(b)
+                    .blend(d, sa.compare(VectorOperators.EQ, 0))
+                    .intoArray(blended, i);
+        }
+    }
+
+    private static void darkenLighten(int[] src, int srcPos, int[] dst, int dstPos, int[] blended, int length,
+                                      VectorOperators.Binary op) {
+        for (int i = 0; i < length; i += INTS.length()) {
+            IntVector s = IntVector.fromArray(INTS, src, srcPos + i);
+            IntVector d = IntVector.fromArray(INTS, dst, dstPos + i);
+            IntVector r = s.lanewise(VectorOperators.LSHR, 16).and(0xFF)
+                    .lanewise(op, d.lanewise(VectorOperators.LSHR, 16).and(0xFF));
+            IntVector g = s.lanewise(VectorOperators.LSHR, 8).and(0xFF)
+                    .lanewise(op, d.lanewise(VectorOperators.LSHR, 8).and(0xFF));
+            IntVector b = s.and(0xFF).lanewise(op, d.and(0xFF));
+            IntVector a = s.lanewise(VectorOperators.LSHR, 24).add(d.lanewise(VectorOperators.LSHR, 24)).min(255);
+            a.lanewise(VectorOperators.LSHL, 24)
+                    .or(r.lanewise(VectorOperators.LSHL, 16))
+                    .or(g.lanewise(VectorOperators.LSHL, 8))
+                    .or(b)
+                    .intoArray(blended, i);
+        }
+    }
+
+    private static void difference(int[] src, int srcPos, int[] dst, int dstPos, int[] blended, int length) {
+        for (int i = 0; i < length; i += INTS.length()) {
+            IntVector s = IntVector.fromArray(INTS, src, srcPos + i);
+            IntVector d = IntVector.fromArray(INTS, dst, dstPos + i);
+            IntVector r = d.lanewise(VectorOperators.LSHR, 16).and(0xFF)
+                    .sub(s.lanewise(VectorOperators.LSHR, 16).and(0xFF)).abs();
+            IntVector g = d.lanewise(VectorOperators.LSHR, 8).and(0xFF)
+                    .sub(s.lanewise(VectorOperators.LSHR, 8).and(0xFF)).abs();
+            IntVector b = d.and(0xFF).sub(s.and(0xFF)).abs();
+            IntVector a = s.lanewise(VectorOperators.LSHR, 24).add(d.lanewise(VectorOperators.LSHR, 24)).min(255);
+            a.lanewise(VectorOperators.LSHL, 24)
+                    .or(r.lanewise(VectorOperators.LSHL, 16))
+                    .or(g.lanewise(VectorOperators.LSHL, 8))
+                    .or(b)
+                    .intoArray(blended, i);
+        }
+    }
+
+    // d + s - (d * s >> 7), stays in 0..255.
+    private static void exclusion(int[] src, int srcPos, int[] dst, int dstPos, int[] blended, int length) {
+        for (int i = 0; i < length; i += INTS.length()) {
+            IntVector s = IntVector.fromArray(INTS, src, srcPos + i);
+            IntVector d = IntVector.fromArray(INTS, dst, dstPos + i);
+            IntVector sr = s.lanewise(VectorOperators.LSHR, 16).and(0xFF);
+            IntVector sg = s.lanewise(VectorOperators.LSHR, 8).and(0xFF);
+            IntVector sb = s.and(0xFF);
+            IntVector dr = d.lanewise(VectorOperators.LSHR, 16).and(0xFF);
+            IntVector dg = d.lanewise(VectorOperators.LSHR, 8).and(0xFF);
+            IntVector db = d.and(0xFF);
+            IntVector r = dr.add(sr).sub(dr.mul(sr).lanewise(VectorOperators.ASHR, 7));
+            IntVector g = dg.add(sg).sub(dg.mul(sg).lanewise(VectorOperators.ASHR, 7));
+            IntVector b = db.add(sb).sub(db.mul(sb).lanewise(VectorOperators.ASHR, 7));
+            IntVector a = s.lanewise(VectorOperators.LSHR, 24).add(d.lanewise(VectorOperators.LSHR, 24)).min(255);
+            a.lanewise(VectorOperators.LSHL, 24)
+                    .or(r.lanewise(VectorOperators.LSHL, 16))
+                    .or(g.lanewise(VectorOperators.LSHL, 8))
+                    .or(b)
+                    .intoArray(blended, i);
+        }
+    }
+}
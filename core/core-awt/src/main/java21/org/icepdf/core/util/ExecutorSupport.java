@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the executors behind {@link Library.ExecutionStrategy}.  This is the JDK 21 version of the class,
+ * packaged under {@code META-INF/versions/21} of the multi-release jar, it creates virtual thread executors.
+ *
+ * @since 7.5
+ */
+final class ExecutorSupport {
+
+    private ExecutorSupport() {
+    }
+
+    /**
+     * Tests if the runtime has virtual threads.
+     */
+    static boolean isVirtualThreadSupported() {
+        return true;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task.
+     *
+     * @param name name prefix of the threads.
+     * @return new executor.
+     */
+    static ExecutorService newVirtualThreadExecutor(String name) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name, 0).factory());
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.icepdf.core.benchmark;
+
+import org.icepdf.core.pobjects.Document;
+import org.icepdf.core.pobjects.PDimension;
+import org.icepdf.core.pobjects.Page;
+import org.icepdf.core.pobjects.PageTree;
+import org.icepdf.core.pobjects.graphics.images.references.ImageReferenceFactory;
+import org.icepdf.core.util.RenderProfile;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures what each {@link RenderProfile} tier costs on a corpus, so the trade-off between the tiers is a number
+ * rather than a guess.
+ * <p>
+ * Like {@link ParsingBenchmark} this is a standalone runner and not a unit test.  For every profile and document it
+ * opens a fresh {@link Document} with the profile's image reference type, paints every page at the given zoom and
+ * reports:
+ * <ul>
+ *     <li><b>render</b> - best wall time to paint all pages, over the measured iterations.</li>
+ *     <li><b>alloc</b>  - bytes allocated by the painting thread (image decodes on the shared pool are not
+ *         counted).</li>
+ *     <li><b>retained</b> - live heap after the paint with the document still open, that is what the tier leaves
+ *         in the image and object caches.</li>
+ * </ul>
+ *
+ * <h2>Usage</h2>
+ * <pre>
+ *   ./gradlew :core:core-awt:renderProfileBenchmark \
+ *       -Picepdf.benchmark.dir=/path/to/corpus \
+ *       -Picepdf.benchmark.profiles=preview,screen,archive
+ * </pre>
+ *
+ * <h2>Properties</h2>
+ * <ul>
+ *     <li>{@code icepdf.benchmark.dir}      - directory (recursively scanned for *.pdf) or single file. Falls back to
+ *         args.</li>
+ *     <li>{@code icepdf.benchmark.profiles} - comma separated profile names (default all registered profiles).</li>
+ *     <li>{@code icepdf.benchmark.warmup}   - warmup iterations per document and profile (default 1).</li>
+ *     <li>{@code icepdf.benchmark.iters}    - measured iterations per document and profile (default 3).</li>
+ *     <li>{@code icepdf.benchmark.zoom}     - paint zoom (default 1.0).</li>
+ *     <li>{@code icepdf.benchmark.maxPages} - cap pages per document, 0 = no cap (default 0).</li>
+ * </ul>
+ */
+public class RenderProfileBenchmark {
+
+    private static final int WARMUP = intProp("icepdf.benchmark.warmup", 1);
+    private static final int ITERS = intProp("icepdf.benchmark.iters", 3);
+    private static final int MAX_PAGES = intProp("icepdf.benchmark.maxPages", 0);
+    private static final float ZOOM = Float.parseFloat(System.getProperty("icepdf.benchmark.zoom", "1.0"));
+
+    public static void main(String[] args) throws Exception {
+        java.util.logging.Logger.getLogger("org.icepdf").setLevel(java.util.logging.Level.SEVERE);
+        List<Path> corpus = resolveCorpus(args);
+        if (corpus.isEmpty()) {
+            System.err.println("No PDFs found. Pass a file/dir as an argument or set -Dicepdf.benchmark.dir=...");
+            System.exit(2);
+        }
+        List<RenderProfile> profiles = resolveProfiles();
+        System.out.printf("ICEpdf render profile benchmark | files=%d profiles=%s warmup=%d iters=%d zoom=%.2f%n",
+                corpus.size(), profiles, WARMUP, ITERS, ZOOM);
+        System.out.println(String.format("%-40s %-10s %6s %10s %10s %12s",
+                "file", "profile", "pages", "render(ms)", "alloc(MB)", "retained(MB)"));
+
+        String imageReferenceType = ImageReferenceFactory.getImageReferenceType();
+        double[] renderTotals = new double[profiles.size()];
+        double[] allocTotals = new double[profiles.size()];
+        try {
+            for (Path pdf : corpus) {
+                for (int i = 0; i < profiles.size(); i++) {
+                    RenderProfile profile = profiles.get(i);
+                    try {
+                        Sample best = benchmark(pdf, profile);
+                        renderTotals[i] += ms(best.renderNanos);
+                        allocTotals[i] += mb(best.allocatedBytes);
+                        System.out.printf("%-40s %-10s %6d %10.1f %10.1f %12.1f%n",
+                                trim(pdf.getFileName().toString(), 40), profile, best.pages,
+                                ms(best.renderNanos), mb(best.allocatedBytes), mb(best.retainedBytes));
+                    } catch (Throwable t) {
+                        System.out.printf("%-40s %-10s FAILED: %s%n",
+                                trim(pdf.getFileName().toString(), 40), profile, t);
+                    }
+                }
+            }
+        } finally {
+            ImageReferenceFactory.setImageReferenceType(imageReferenceType);
+        }
+        System.out.println("-".repeat(94));
+        for (int i = 0; i < profiles.size(); i++) {
+            System.out.printf("%-40s %-10s %6s %10.1f %10.1f%n",
+                    "TOTAL (" + corpus.size() + " files)", profiles.get(i), "", renderTotals[i], allocTotals[i]);
+        }
+    }
+
+    private static Sample benchmark(Path pdf, RenderProfile profile) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            runOnce(pdf, profile, false);
+        }
+        Sample best = null;
+        for (int i = 0; i < ITERS; i++) {
+            Sample sample = runOnce(pdf, profile, i == 0);
+            if (best == null || sample.renderNanos < best.renderNanos) {
+                sample.retainedBytes = best != null ? best.retainedBytes : sample.retainedBytes;
+                best = sample;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * One pass over the document, a fresh Document so the image and object caches start cold.
+     */
+    private static Sample runOnce(Path pdf, RenderProfile profile, boolean measureRetained) throws Exception {
+        Sample sample = new Sample();
+        profile.applyImageReferenceType();
+        Document doc = new Document();
+        try {
+            doc.setFile(pdf.toString());
+            int n = doc.getNumberOfPages();
+            n = MAX_PAGES > 0 ? Math.min(n, MAX_PAGES) : n;
+            PageTree tree = doc.getCatalog().getPageTree();
+            long allocated = allocatedBytes();
+            long t0 = System.nanoTime();
+            for (int p = 0; p < n; p++) {
+                Page page = tree.getPage(p);
+                page.init();
+                PDimension size = page.getSize(Page.BOUNDARY_CROPBOX, 0, ZOOM);
+                BufferedImage image = new BufferedImage(Math.max(1, (int) size.getWidth()),
+                        Math.max(1, (int) size.getHeight()), BufferedImage.TYPE_INT_RGB);
+                Graphics2D g2d = image.createGraphics();
+                page.paint(g2d, profile, Page.BOUNDARY_CROPBOX, 0, ZOOM, true, false);
+                g2d.dispose();
+                image.flush();
+            }
+            sample.renderNanos = System.nanoTime() - t0;
+            sample.allocatedBytes = allocatedBytes() - allocated;
+            sample.pages = n;
+            if (measureRetained) {
+                sample.retainedBytes = measureLiveHeap();
+                Reference.reachabilityFence(doc);
+            }
+        } finally {
+            doc.dispose();
+        }
+        return sample;
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    /**
+     * Best-effort live-set reading, see {@link ParsingBenchmark}.
+     */
+    private static long measureLiveHeap() {
+        Runtime rt = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            try {
+                Thread.sleep(75);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            used = Math.min(used, rt.totalMemory() - rt.freeMemory());
+        }
+        return used;
+    }
+
+    private static List<RenderProfile> resolveProfiles() {
+        String names = System.getProperty("icepdf.benchmark.profiles");
+        if (names == null || names.isEmpty()) {
+            return new ArrayList<>(RenderProfile.getRegisteredProfiles().values());
+        }
+        List<RenderProfile> profiles = new ArrayList<>();
+        for (String name : Arrays.asList(names.split(","))) {
+            RenderProfile profile = RenderProfile.getProfile(name.trim());
+            if (profile == null) {
+                throw new IllegalArgumentException("Unknown render profile '" + name + "', registered: " +
+                        RenderProfile.getRegisteredProfiles().keySet());
+            }
+            profiles.add(profile);
+        }
+        return profiles;
+    }
+
+    private static List<Path> resolveCorpus(String[] args) throws IOException {
+        List<Path> roots = new ArrayList<>();
+        String prop = System.getProperty("icepdf.benchmark.dir");
+        if (prop != null && !prop.isEmpty()) roots.add(Paths.get(prop));
+        for (String a : args) roots.add(Paths.get(a));
+
+        List<Path> pdfs = new ArrayList<>();
+        for (Path root : roots) {
+            if (Files.isRegularFile(root)) {
+                pdfs.add(root);
+            } else if (Files.isDirectory(root)) {
+                try (Stream<Path> walk = Files.walk(root)) {
+                    pdfs.addAll(walk.filter(Files::isRegularFile)
+                            .filter(p -> p.getFileName().toString().toLowerCase().endsWith(".pdf"))
+                            .collect(Collectors.toList()));
+                }
+            }
+        }
+        pdfs.sort(Comparator.comparing(Path::toString));
+        return pdfs;
+    }
+
+    private static int intProp(String key, int def) {
+        String v = System.getProperty(key);
+        if (v == null || v.isEmpty()) return def;
+        try {
+            return Integer.parseInt(v.trim());
+        } catch (NumberFormatException e) {
+            return def;
+        }
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static double mb(long bytes) {
+        return bytes / 1_048_576.0;
+    }
+
+    private static String trim(String s, int max) {
+        return s.length() <= max ? s : s.substring(0, max - 1) + "…";
+    }
+
+    private static final class Sample {
+        int pages;
+        long renderNanos;
+        long allocatedBytes;
+        long retainedBytes;
+    }
+}
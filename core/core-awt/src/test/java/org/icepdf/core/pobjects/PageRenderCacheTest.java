@@ -0,0 +1,231 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects;
+
+import org.icepdf.core.events.PaintPageListener;
+import org.icepdf.core.util.GraphicsRenderingHints;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the {@link PageRenderCache} contract: entries are kept per render setting within the byte budget, least
+ * recently used first out, raw and PNG storage give back the same pixels, invalidation drops a page or a document and
+ * an edit recorded while a page paints keeps the image out of the cache.
+ */
+public class PageRenderCacheTest {
+
+    private static final int PAGE_COUNT = 3;
+    private static final int SCREEN = GraphicsRenderingHints.SCREEN;
+    private static final int CROP = Page.BOUNDARY_CROPBOX;
+    private static final float ZOOM = 0.1f;
+
+    private Document document;
+
+    // builds a document of pages with a differently coloured square each, with a classic xref table.
+    private static Document open() throws Exception {
+        String[] objects = new String[2 + PAGE_COUNT * 2];
+        StringBuilder kids = new StringBuilder();
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            kids.append(i + 3).append(" 0 R ");
+        }
+        objects[0] = "<< /Type /Catalog /Pages 2 0 R >>";
+        objects[1] = "<< /Type /Pages /Kids [" + kids + "] /Count " + PAGE_COUNT + " >>";
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            objects[2 + i] = "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] /Contents " +
+                    (3 + PAGE_COUNT + i) + " 0 R >>";
+            String content = (i == 0 ? "1 0 0" : i == 1 ? "0 1 0" : "0 0 1") + " rg 100 100 300 400 re f";
+            objects[2 + PAGE_COUNT + i] = "<< /Length " + content.length() + " >>\nstream\n" + content +
+                    "\nendstream";
+        }
+        StringBuilder pdf = new StringBuilder("%PDF-1.7\n");
+        int[] offsets = new int[objects.length];
+        for (int i = 0; i < objects.length; i++) {
+            offsets[i] = pdf.length();
+            pdf.append(i + 1).append(" 0 obj\n").append(objects[i]).append("\nendobj\n");
+        }
+        int xref = pdf.length();
+        pdf.append("xref\n0 ").append(objects.length + 1).append("\n0000000000 65535 f \n");
+        for (int offset : offsets) {
+            pdf.append(String.format("%010d 00000 n \n", offset));
+        }
+        pdf.append("trailer\n<< /Size ").append(objects.length + 1).append(" /Root 1 0 R >>\nstartxref\n")
+                .append(xref).append("\n%%EOF\n");
+        byte[] data = pdf.toString().getBytes(StandardCharsets.ISO_8859_1);
+        Document document = new Document();
+        document.setByteArray(data, 0, data.length, "render-cache.pdf");
+        document.setPageRenderCache(null);
+        return document;
+    }
+
+    private Page page(int pageIndex) {
+        return document.getPageTree().getPage(pageIndex);
+    }
+
+    private BufferedImage render(PageRenderCache cache, int pageIndex) throws InterruptedException {
+        return cache.getPageImage(page(pageIndex), SCREEN, CROP, 0, ZOOM, true, false);
+    }
+
+    private static void assertSamePixels(BufferedImage expected, BufferedImage actual) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y), "pixel " + x + "," + y);
+            }
+        }
+    }
+
+    @AfterEach
+    public void dispose() {
+        if (document != null) {
+            document.dispose();
+        }
+    }
+
+    @DisplayName("the least recently used entries are evicted to stay within the byte budget")
+    @Test
+    public void lruEviction() throws Exception {
+        document = open();
+        PageRenderCache sizing = new PageRenderCache(Long.MAX_VALUE, PageRenderCache.Storage.RAW);
+        render(sizing, 0);
+        long entrySize = sizing.getSizeInBytes();
+        assertTrue(entrySize > 0);
+
+        // room for two pages.
+        PageRenderCache cache = new PageRenderCache(entrySize * 2 + entrySize / 2, PageRenderCache.Storage.RAW);
+        render(cache, 0);
+        render(cache, 1);
+        assertEquals(entrySize * 2, cache.getSizeInBytes());
+        // touch page 0 so page 1 is the eldest.
+        render(cache, 0);
+        assertEquals(1, cache.getHitCount());
+        render(cache, 2);
+        assertTrue(cache.getSizeInBytes() <= cache.getMaxBytes());
+
+        render(cache, 0);
+        assertEquals(2, cache.getHitCount());
+        render(cache, 2);
+        assertEquals(3, cache.getHitCount());
+        long misses = cache.getMissCount();
+        render(cache, 1);
+        assertEquals(misses + 1, cache.getMissCount());
+
+        // an image larger than the budget isn't cached at all.
+        PageRenderCache small = new PageRenderCache(entrySize / 2, PageRenderCache.Storage.RAW);
+        render(small, 0);
+        assertEquals(0, small.getSizeInBytes());
+    }
+
+    @DisplayName("raw and PNG storage hand back the pixels that were painted")
+    @Test
+    public void rawAndPngRoundTrip() throws Exception {
+        document = open();
+        PageRenderCache raw = new PageRenderCache(Long.MAX_VALUE, PageRenderCache.Storage.RAW);
+        PageRenderCache png = new PageRenderCache(Long.MAX_VALUE, PageRenderCache.Storage.PNG);
+        BufferedImage painted = render(raw, 1);
+        BufferedImage rawHit = render(raw, 1);
+        assertEquals(1, raw.getHitCount());
+        assertNotSame(painted, rawHit);
+        assertSamePixels(painted, rawHit);
+
+        assertSamePixels(painted, render(png, 1));
+        BufferedImage pngHit = render(png, 1);
+        assertEquals(1, png.getHitCount());
+        assertSamePixels(painted, pngHit);
+        // a flat coloured page compresses well.
+        assertTrue(png.getSizeInBytes() < raw.getSizeInBytes());
+    }
+
+    @DisplayName("zoom, rotation, boundary and annotation painting each get their own entry")
+    @Test
+    public void keySeparation() throws Exception {
+        document = open();
+        PageRenderCache cache = new PageRenderCache(Long.MAX_VALUE, PageRenderCache.Storage.RAW);
+        Page page = page(0);
+        for (int pass = 0; pass < 2; pass++) {
+            cache.getPageImage(page, SCREEN, CROP, 0, ZOOM, true, false);
+            cache.getPageImage(page, SCREEN, CROP, 0, ZOOM * 2, true, false);
+            cache.getPageImage(page, SCREEN, CROP, 90, ZOOM, true, false);
+            cache.getPageImage(page, SCREEN, Page.BOUNDARY_MEDIABOX, 0, ZOOM, true, false);
+            cache.getPageImage(page, SCREEN, CROP, 0, ZOOM, false, false);
+        }
+        assertEquals(5, cache.getMissCount());
+        assertEquals(5, cache.getHitCount());
+
+        BufferedImage rotated = cache.getPageImage(page, SCREEN, CROP, 90, ZOOM, true, false);
+        BufferedImage upright = cache.getPageImage(page, SCREEN, CROP, 0, ZOOM, true, false);
+        assertEquals(upright.getWidth(), rotated.getHeight());
+        assertEquals(upright.getHeight(), rotated.getWidth());
+    }
+
+    @DisplayName("invalidating a page drops only its entries, invalidating the document drops them all")
+    @Test
+    public void invalidation() throws Exception {
+        document = open();
+        PageRenderCache cache = new PageRenderCache(Long.MAX_VALUE, PageRenderCache.Storage.RAW);
+        render(cache, 0);
+        render(cache, 1);
+        long entrySize = cache.getSizeInBytes() / 2;
+
+        cache.invalidate(page(0));
+        assertEquals(entrySize, cache.getSizeInBytes());
+        render(cache, 1);
+        assertEquals(1, cache.getHitCount());
+        render(cache, 0);
+        assertEquals(3, cache.getMissCount());
+
+        cache.invalidateDocument(document.getCatalog().getLibrary());
+        assertEquals(0, cache.getSizeInBytes());
+        render(cache, 0);
+        render(cache, 1);
+        assertEquals(5, cache.getMissCount());
+    }
+
+    @DisplayName("an edit recorded while the page paints keeps the image out of the cache")
+    @Test
+    public void editDuringPaint() throws Exception {
+        document = open();
+        PageRenderCache cache = new PageRenderCache(Long.MAX_VALUE, PageRenderCache.Storage.RAW);
+        Page page = page(0);
+        AtomicBoolean edited = new AtomicBoolean();
+        PaintPageListener editor = event -> {
+            if (edited.compareAndSet(false, true)) {
+                document.getStateManager().addChange(new PObject(page, page.getPObjectReference()));
+            }
+        };
+        page.addPaintPageListener(editor);
+        try {
+            render(cache, 0);
+        } finally {
+            page.removePaintPageListener(editor);
+        }
+        assertTrue(edited.get());
+        assertEquals(0, cache.getSizeInBytes());
+
+        // painted after the edit, cached.
+        render(cache, 0);
+        render(cache, 0);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects;
+
+import org.icepdf.core.util.GraphicsRenderingHints;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the {@link ProgressivePageRender} contract: the preview pass is painted before the full pass, each into its
+ * own image, {@link ProgressivePageRender#render(long, TimeUnit)} returns the preview when the budget runs out and
+ * refines in the background, and a cancelled render paints no further passes.
+ */
+public class ProgressivePageRenderTest {
+
+    private Document document;
+    private Page page;
+
+    @BeforeEach
+    public void open() throws Exception {
+        byte[] data;
+        try (InputStream in = ProgressivePageRenderTest.class.getResourceAsStream("/blending/iso_fixture.pdf")) {
+            data = in.readAllBytes();
+        }
+        document = new Document();
+        document.setByteArray(data, 0, data.length, "progressive.pdf");
+        page = document.getPageTree().getPage(0);
+    }
+
+    @AfterEach
+    public void close() {
+        document.dispose();
+    }
+
+    private ProgressivePageRender createRender() {
+        return page.createProgressiveRender(GraphicsRenderingHints.SCREEN, Page.BOUNDARY_CROPBOX, 0, 1f);
+    }
+
+    @DisplayName("passes are painted preview first, each into its own image")
+    @Test
+    public void passOrder() throws InterruptedException {
+        ProgressivePageRender render = createRender();
+        List<ProgressivePageRender.Pass> passes = new CopyOnWriteArrayList<>();
+        render.addPassListener((r, pass, image) -> passes.add(pass));
+
+        assertTrue(render.hasNextPass());
+        BufferedImage preview = render.nextPass();
+        assertNotNull(preview);
+        assertEquals(ProgressivePageRender.Pass.PREVIEW, render.getCompletedPass());
+        assertSame(preview, render.getImage());
+
+        BufferedImage full = render.nextPass();
+        assertNotNull(full);
+        assertNotSame(preview, full);
+        assertEquals(ProgressivePageRender.Pass.FULL, render.getCompletedPass());
+        assertSame(full, render.getImage());
+
+        assertFalse(render.hasNextPass());
+        assertNull(render.nextPass());
+        assertEquals(List.of(ProgressivePageRender.Pass.PREVIEW, ProgressivePageRender.Pass.FULL), passes);
+    }
+
+    @DisplayName("render waits for the full pass within its budget")
+    @Test
+    public void renderWithinBudget() throws InterruptedException {
+        ProgressivePageRender render = createRender();
+        BufferedImage image = render.render(1, TimeUnit.MINUTES);
+        assertNotNull(image);
+        assertEquals(ProgressivePageRender.Pass.FULL, render.getCompletedPass());
+        assertSame(image, render.getImage());
+    }
+
+    @DisplayName("render returns the preview when out of budget and refines in the background")
+    @Test
+    public void renderOutOfBudget() throws InterruptedException {
+        ProgressivePageRender render = createRender();
+        CountDownLatch refined = new CountDownLatch(1);
+        render.addPassListener((r, pass, image) -> {
+            if (pass == ProgressivePageRender.Pass.FULL) {
+                refined.countDown();
+            }
+        });
+        BufferedImage image;
+        // the refinement blocks in Page.init() until the page's monitor is released.
+        synchronized (page) {
+            image = render.render(0, TimeUnit.MILLISECONDS);
+            assertEquals(ProgressivePageRender.Pass.PREVIEW, render.getCompletedPass());
+        }
+        assertNotNull(image);
+        assertTrue(refined.await(1, TimeUnit.MINUTES));
+        assertEquals(ProgressivePageRender.Pass.FULL, render.getCompletedPass());
+        assertNotSame(image, render.getImage());
+    }
+
+    @DisplayName("a cancelled render paints no further passes")
+    @Test
+    public void cancel() throws InterruptedException {
+        ProgressivePageRender cancelledFirst = createRender();
+        cancelledFirst.cancel();
+        assertTrue(cancelledFirst.isCancelled());
+        assertFalse(cancelledFirst.hasNextPass());
+        assertNull(cancelledFirst.nextPass());
+        assertNull(cancelledFirst.render(0, TimeUnit.MILLISECONDS));
+        assertNull(cancelledFirst.getCompletedPass());
+
+        ProgressivePageRender render = createRender();
+        List<ProgressivePageRender.Pass> passes = new CopyOnWriteArrayList<>();
+        render.addPassListener((r, pass, image) -> passes.add(pass));
+        BufferedImage preview;
+        synchronized (page) {
+            preview = render.render(0, TimeUnit.MILLISECONDS);
+            render.cancel();
+        }
+        assertFalse(render.hasNextPass());
+        // waits for the background refinement to give up its pass.
+        assertNull(render.nextPass());
+        assertEquals(ProgressivePageRender.Pass.PREVIEW, render.getCompletedPass());
+        assertSame(preview, render.getImage());
+        assertEquals(List.of(ProgressivePageRender.Pass.PREVIEW), passes);
+        // the interrupt meant for the refinement doesn't leak to other threads.
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+}
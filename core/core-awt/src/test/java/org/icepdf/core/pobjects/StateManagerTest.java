@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects;
+
+import org.icepdf.core.pobjects.structure.CrossReferenceRoot;
+import org.icepdf.core.util.Library;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Pins the {@link StateManager.ChangeListener} contract that {@link PageRenderCache} invalidation relies on, and
+ * that changes can be recorded concurrently as parallel redaction burning does.
+ */
+public class StateManagerTest {
+
+    @DisplayName("user changes and deletions are reported, synthetic changes are not")
+    @Test
+    public void changeListener() {
+        StateManager stateManager = new StateManager(new CrossReferenceRoot(new Library()));
+        List<StateManager.Change> recorded = new ArrayList<>();
+        StateManager.ChangeListener listener = recorded::add;
+        stateManager.addChangeListener(listener);
+
+        stateManager.addChange(new PObject("synthetic", new Reference(10, 0)), false);
+        stateManager.addChange(new PObject("edit", new Reference(11, 0)));
+        stateManager.addDeletion(new Reference(12, 0));
+        assertEquals(2, recorded.size());
+        assertEquals(StateManager.Type.CHANGE, recorded.get(0).getType());
+        assertEquals(StateManager.Type.DELETE, recorded.get(1).getType());
+
+        stateManager.removeChangeListener(listener);
+        stateManager.addChange(new PObject("edit", new Reference(13, 0)));
+        assertEquals(2, recorded.size());
+    }
+
+    @DisplayName("changes can be recorded from several threads")
+    @Test
+    public void concurrentChanges() throws InterruptedException {
+        StateManager stateManager = new StateManager(new CrossReferenceRoot(new Library()));
+        int threads = 4;
+        int changesPerThread = 500;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int offset = t * changesPerThread;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < changesPerThread; i++) {
+                    stateManager.addChange(new PObject("edit", new Reference(100 + offset + i, 0)));
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(threads * changesPerThread, stateManager.getChangedSize());
+        assertEquals(100 + threads * changesPerThread, stateManager.getNewReferenceNumber().getObjectNumber());
+        assertFalse(stateManager.contains(null));
+    }
+}
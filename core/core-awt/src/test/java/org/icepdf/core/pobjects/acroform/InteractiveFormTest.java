@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.acroform;
+
+import org.icepdf.core.pobjects.DictionaryEntries;
+import org.icepdf.core.pobjects.LiteralStringObject;
+import org.icepdf.core.pobjects.Name;
+import org.icepdf.core.pobjects.Reference;
+import org.icepdf.core.pobjects.annotations.Annotation;
+import org.icepdf.core.pobjects.annotations.ButtonWidgetAnnotation;
+import org.icepdf.core.pobjects.annotations.SignatureWidgetAnnotation;
+import org.icepdf.core.util.Library;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the lazy field index of {@link InteractiveForm}: root fields are only built when a page, a lookup by name
+ * or {@link InteractiveForm#getFields()} needs them.
+ */
+public class InteractiveFormTest {
+
+    private static final Reference OPTIONS = new Reference(10, 0);
+    private static final Reference FIRST_OPTION = new Reference(11, 0);
+    private static final Reference AGREE = new Reference(12, 0);
+    private static final Reference SIGNATURE = new Reference(13, 0);
+
+    private final Library library = new Library();
+    // the library holds its objects weakly.
+    private final List<Object> objects = new ArrayList<>();
+
+    private DictionaryEntries field(Reference reference, String name, Name fieldType, Object... keyValues) {
+        DictionaryEntries entries = new DictionaryEntries();
+        entries.put(FieldDictionary.T_KEY, new LiteralStringObject(name));
+        if (fieldType != null) {
+            entries.put(FieldDictionary.FT_KEY, fieldType);
+        }
+        for (int i = 0; i < keyValues.length; i += 2) {
+            entries.put((Name) keyValues[i], keyValues[i + 1]);
+        }
+        objects.add(entries);
+        library.addObject(entries, reference);
+        return entries;
+    }
+
+    private InteractiveForm form(Object... keyValues) {
+        DictionaryEntries entries = new DictionaryEntries();
+        entries.put(InteractiveForm.FIELDS_KEY, new ArrayList<>(Arrays.asList(OPTIONS, AGREE)));
+        for (int i = 0; i < keyValues.length; i += 2) {
+            entries.put((Name) keyValues[i], keyValues[i + 1]);
+        }
+        InteractiveForm form = new InteractiveForm(library, entries);
+        form.init();
+        return form;
+    }
+
+    private void fields(Name firstOptionType) {
+        field(OPTIONS, "options", null,
+                FieldDictionary.KIDS_KEY, new ArrayList<>(Collections.singletonList(FIRST_OPTION)));
+        field(FIRST_OPTION, "first", firstOptionType, FieldDictionary.PARENT_KEY, OPTIONS);
+        field(AGREE, "agree", FieldDictionaryFactory.TYPE_BUTTON);
+    }
+
+    @DisplayName("the field count doesn't build any field")
+    @Test
+    public void fieldCount() {
+        fields(FieldDictionaryFactory.TYPE_BUTTON);
+        InteractiveForm form = form();
+        assertEquals(2, form.getFieldCount());
+        assertFalse(form.isFieldBuilt(0));
+        assertFalse(form.isFieldBuilt(1));
+
+        assertEquals(2, form.getFields().size());
+        assertTrue(form.isFieldBuilt(0));
+        assertTrue(form.isFieldBuilt(1));
+    }
+
+    @DisplayName("a lookup by qualified name builds only the field's root")
+    @Test
+    public void fieldByQualifiedName() {
+        fields(FieldDictionaryFactory.TYPE_BUTTON);
+        InteractiveForm form = form();
+
+        Object option = form.getField("options.first");
+        assertInstanceOf(FieldDictionary.class, option);
+        assertSame(library.getObject(FIRST_OPTION), ((FieldDictionary) option).getEntries());
+        assertTrue(form.isFieldBuilt(0));
+        assertFalse(form.isFieldBuilt(1));
+
+        assertSame(form.getField("agree"), form.getField("agree"));
+        assertTrue(form.isFieldBuilt(1));
+        assertNull(form.getField("first"));
+        assertNull(form.getField("options.missing"));
+    }
+
+    @DisplayName("a page's widgets build only their root fields")
+    @Test
+    public void pageFields() {
+        fields(FieldDictionaryFactory.TYPE_BUTTON);
+        InteractiveForm form = form();
+
+        DictionaryEntries widgetEntries = new DictionaryEntries();
+        widgetEntries.put(Annotation.SUBTYPE_KEY, Annotation.SUBTYPE_WIDGET);
+        widgetEntries.put(FieldDictionary.FT_KEY, FieldDictionaryFactory.TYPE_BUTTON);
+        widgetEntries.put(FieldDictionary.PARENT_KEY, FIRST_OPTION);
+        ButtonWidgetAnnotation widget = new ButtonWidgetAnnotation(library, widgetEntries);
+        widget.setPObjectReference(new Reference(20, 0));
+
+        form.initPageFields(Collections.singletonList(widget));
+        assertTrue(form.isFieldBuilt(0));
+        assertFalse(form.isFieldBuilt(1));
+    }
+
+    @DisplayName("signature root fields are found without building the fields")
+    @Test
+    public void signatureFields() {
+        fields(FieldDictionaryFactory.TYPE_BUTTON);
+        InteractiveForm form = form();
+        assertFalse(form.isSignatureFields());
+        assertFalse(form.isFieldBuilt(0));
+        assertFalse(form.isFieldBuilt(1));
+
+        // as when every field is built, only a root signature annotation counts.
+        field(SIGNATURE, "signature", FieldDictionaryFactory.TYPE_SIGNATURE, FieldDictionary.PARENT_KEY, OPTIONS);
+        ((DictionaryEntries) library.getObject(OPTIONS)).put(FieldDictionary.KIDS_KEY,
+                new ArrayList<>(Arrays.asList(FIRST_OPTION, SIGNATURE)));
+        assertFalse(form().isSignatureFields());
+
+        DictionaryEntries signatureEntries = new DictionaryEntries();
+        signatureEntries.put(Annotation.SUBTYPE_KEY, Annotation.SUBTYPE_WIDGET);
+        signatureEntries.put(FieldDictionary.FT_KEY, FieldDictionaryFactory.TYPE_SIGNATURE);
+        signatureEntries.put(FieldDictionary.T_KEY, new LiteralStringObject("agree"));
+        SignatureWidgetAnnotation signature = new SignatureWidgetAnnotation(library, signatureEntries);
+        objects.add(signature);
+        library.addObject(signature, AGREE);
+        InteractiveForm signed = form();
+        assertTrue(signed.isSignatureFields());
+        assertFalse(signed.isFieldBuilt(0));
+        assertFalse(signed.isFieldBuilt(1));
+        assertEquals(signed.isSignatureFields(), !signed.getSignatureFields().isEmpty());
+    }
+
+    @DisplayName("/SigFlags is read but doesn't make a form without signature fields a signed one")
+    @Test
+    public void signatureFlags() {
+        fields(FieldDictionaryFactory.TYPE_BUTTON);
+        InteractiveForm form = form(InteractiveForm.SIG_FLAGS_KEY, InteractiveForm.SIG_FLAGS_SIGNATURES_EXIST);
+        assertTrue(form.signatureExists());
+        assertFalse(form.isSignatureFields());
+        assertFalse(form.isFieldBuilt(0));
+    }
+
+    @DisplayName("a removed field is gone from the count and the lookups")
+    @Test
+    public void removeField() {
+        fields(FieldDictionaryFactory.TYPE_BUTTON);
+        DictionaryEntries widgetEntries = new DictionaryEntries();
+        widgetEntries.put(Annotation.SUBTYPE_KEY, Annotation.SUBTYPE_WIDGET);
+        widgetEntries.put(FieldDictionary.FT_KEY, FieldDictionaryFactory.TYPE_BUTTON);
+        widgetEntries.put(FieldDictionary.T_KEY, new LiteralStringObject("agree"));
+        ButtonWidgetAnnotation agree = new ButtonWidgetAnnotation(library, widgetEntries);
+        agree.setPObjectReference(AGREE);
+        objects.add(agree);
+        library.addObject(agree, AGREE);
+        InteractiveForm form = form();
+        assertSame(agree, form.getField("agree"));
+        Object options = form.getField("options");
+
+        form.removeField(agree);
+        assertEquals(1, form.getFieldCount());
+        assertEquals(Collections.singletonList(options), form.getFields());
+        assertNull(form.getField("agree"));
+        // the remaining root keeps the field built before the removal.
+        assertTrue(form.isFieldBuilt(0));
+        assertSame(options, form.getField("options"));
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.acroform.signature;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.cms.CMSProcessableByteArray;
+import org.bouncycastle.cms.CMSSignedDataGenerator;
+import org.bouncycastle.cms.jcajce.JcaSignerInfoGeneratorBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.icepdf.core.pobjects.Document;
+import org.icepdf.core.pobjects.acroform.InteractiveForm;
+import org.icepdf.core.pobjects.annotations.SignatureWidgetAnnotation;
+import org.icepdf.core.pobjects.security.JceProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the single pass digest of {@link SignatureBatchValidator}: each validator is handed the digest it would
+ * compute on its own, and a validator the pass can't digest for falls back to its own digest without costing the
+ * rest of the batch the shared pass.
+ */
+public class SignatureBatchValidatorTest {
+
+    // hex digits reserved for the signature, plenty for a 2048 bit RSA signature and its certificate.
+    private static final int CONTENTS_LENGTH = 16384;
+    private static final String BYTE_RANGE = "/ByteRange [";
+
+    // a one page document with a detached PKCS#7 signature over its byte ranges.
+    private static Document signedDocument() throws Exception {
+        String[] objects = {
+                "<< /Type /Catalog /Pages 2 0 R /AcroForm << /Fields [4 0 R] /SigFlags 3 >> >>",
+                "<< /Type /Pages /Kids [3 0 R] /Count 1 >>",
+                "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] /Annots [4 0 R] >>",
+                "<< /Type /Annot /Subtype /Widget /FT /Sig /T (Signature1) /Rect [0 0 0 0] /F 132 /P 3 0 R " +
+                        "/V 5 0 R >>",
+                "<< /Type /Sig /Filter /Adobe.PPKLite /SubFilter /adbe.pkcs7.detached " + BYTE_RANGE +
+                        String.format("%010d %010d %010d %010d", 0, 0, 0, 0) + "] /Contents <" +
+                        "0".repeat(CONTENTS_LENGTH) + "> >>"};
+        StringBuilder pdf = new StringBuilder("%PDF-1.7\n");
+        int[] offsets = new int[objects.length];
+        for (int i = 0; i < objects.length; i++) {
+            offsets[i] = pdf.length();
+            pdf.append(i + 1).append(" 0 obj\n").append(objects[i]).append("\nendobj\n");
+        }
+        int xref = pdf.length();
+        pdf.append("xref\n0 ").append(objects.length + 1).append("\n0000000000 65535 f \n");
+        for (int offset : offsets) {
+            pdf.append(String.format("%010d 00000 n \n", offset));
+        }
+        pdf.append("trailer\n<< /Size ").append(objects.length + 1).append(" /Root 1 0 R >>\nstartxref\n")
+                .append(xref).append("\n%%EOF\n");
+
+        // the signed ranges are everything but the <...> of the contents.
+        int contentsStart = pdf.indexOf("/Contents <") + "/Contents ".length();
+        int contentsEnd = contentsStart + CONTENTS_LENGTH + 2;
+        int rangeStart = pdf.indexOf(BYTE_RANGE) + BYTE_RANGE.length();
+        String byteRange = String.format("%010d %010d %010d %010d",
+                0, contentsStart, contentsEnd, pdf.length() - contentsEnd);
+        pdf.replace(rangeStart, rangeStart + byteRange.length(), byteRange);
+        byte[] data = pdf.toString().getBytes(StandardCharsets.ISO_8859_1);
+
+        ByteArrayOutputStream signed = new ByteArrayOutputStream();
+        signed.write(data, 0, contentsStart);
+        signed.write(data, contentsEnd, data.length - contentsEnd);
+        byte[] signature = sign(signed.toByteArray());
+        StringBuilder hex = new StringBuilder();
+        for (byte b : signature) {
+            hex.append(String.format("%02X", b));
+        }
+        byte[] hexBytes = hex.toString().getBytes(StandardCharsets.ISO_8859_1);
+        assertTrue(hexBytes.length <= CONTENTS_LENGTH);
+        System.arraycopy(hexBytes, 0, data, contentsStart + 1, hexBytes.length);
+
+        Document document = new Document();
+        document.setByteArray(data, 0, data.length, "signed.pdf");
+        return document;
+    }
+
+    private static byte[] sign(byte[] content) throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        X500Name name = new X500Name("CN=Batch");
+        long now = System.currentTimeMillis();
+        X509CertificateHolder certificate = new JcaX509v3CertificateBuilder(name, BigInteger.ONE,
+                new Date(now - 86_400_000L), new Date(now + 86_400_000L), name, keyPair.getPublic())
+                .build(new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate()));
+        ContentSigner contentSigner = new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate());
+
+        CMSSignedDataGenerator generator = new CMSSignedDataGenerator();
+        generator.addSignerInfoGenerator(new JcaSignerInfoGeneratorBuilder(
+                new JcaDigestCalculatorProviderBuilder().build()).build(contentSigner, certificate));
+        generator.addCertificate(certificate);
+        return generator.generate(new CMSProcessableByteArray(content), false).getEncoded();
+    }
+
+    private static AbstractPkcsValidator validator(Document document) {
+        InteractiveForm interactiveForm = document.getCatalog().getInteractiveForm();
+        List<SignatureWidgetAnnotation> signatureFields = interactiveForm.getSignatureFields();
+        assertEquals(1, signatureFields.size());
+        return (AbstractPkcsValidator) signatureFields.get(0).getSignatureValidator();
+    }
+
+    @DisplayName("the batch digest is the digest a standalone validator computes")
+    @Test
+    public void batchDigest() throws Exception {
+        JceProvider.loadProvider();
+        Document document = signedDocument();
+        try {
+            AbstractPkcsValidator validator = validator(document);
+            byte[] standalone = validator.digestDocument();
+
+            SignatureBatchValidator batch =
+                    new SignatureBatchValidator(document.getCatalog().getLibrary(), List.of(validator));
+            batch.digest();
+            assertArrayEquals(standalone, validator.getDocumentDigest());
+
+            // the handed over digest validates the signature.
+            batch.setExecutor(Runnable::run);
+            assertEquals(Arrays.asList((Object) null), batch.validate());
+            assertFalse(validator.isSignedDataModified());
+        } finally {
+            document.dispose();
+        }
+    }
+
+    @DisplayName("a validator without a digest algorithm digests on its own, the rest of the batch is still digested")
+    @Test
+    public void fallbackPerValidator() throws Exception {
+        JceProvider.loadProvider();
+        Document document = signedDocument();
+        try {
+            AbstractPkcsValidator validator = validator(document);
+            AbstractPkcsValidator unparsed = (AbstractPkcsValidator) DigitalSignatureFactory.getInstance()
+                    .getValidatorInstance(validator.signatureFieldDictionary);
+            unparsed.digestAlgorithmIdentifier = null;
+
+            new SignatureBatchValidator(document.getCatalog().getLibrary(), List.of(unparsed, validator)).digest();
+            assertNull(unparsed.getDocumentDigest());
+            assertArrayEquals(validator.digestDocument(), validator.getDocumentDigest());
+        } finally {
+            document.dispose();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.acroform.signature.certificates;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.security.cert.X509CRL;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the {@link RevocationCache} contract with a local stand-in fetcher: responses are reused until the time to
+ * live runs out, failures and invalidated entries are fetched again.
+ */
+public class RevocationCacheTest {
+
+    @DisplayName("OCSP responses are cached for the time to live")
+    @Test
+    public void timeToLive() throws IOException {
+        StandInFetcher fetcher = new StandInFetcher();
+        AtomicLong now = new AtomicLong(1000);
+        RevocationCache cache = new RevocationCache(500, fetcher, now::get);
+
+        byte[] request = {1};
+        RevocationCache.OcspExchange first = cache.getOcsp("http://ocsp.test", "cert", request);
+        RevocationCache.OcspExchange second = cache.getOcsp("http://ocsp.test", "cert", new byte[]{2});
+        assertEquals(1, fetcher.ocspFetches.get());
+        assertSame(first, second);
+        // a hit answers with the request the response was fetched for.
+        assertArrayEquals(request, second.getRequest());
+
+        cache.getOcsp("http://ocsp.test", "other", request);
+        assertEquals(2, fetcher.ocspFetches.get());
+
+        now.addAndGet(500);
+        cache.getOcsp("http://ocsp.test", "cert", request);
+        assertEquals(3, fetcher.ocspFetches.get());
+
+        cache.invalidateOcsp("http://ocsp.test", "cert");
+        cache.getOcsp("http://ocsp.test", "cert", request);
+        assertEquals(4, fetcher.ocspFetches.get());
+    }
+
+    @DisplayName("failed fetches are not cached")
+    @Test
+    public void failuresNotCached() throws IOException {
+        StandInFetcher fetcher = new StandInFetcher();
+        fetcher.fail = true;
+        RevocationCache cache = new RevocationCache(60_000, fetcher);
+        assertThrows(IOException.class, () -> cache.getOcsp("http://ocsp.test", "cert", new byte[]{1}));
+        assertEquals(0, cache.size());
+
+        fetcher.fail = false;
+        cache.getOcsp("http://ocsp.test", "cert", new byte[]{1});
+        assertEquals(2, fetcher.ocspFetches.get());
+        assertEquals(1, cache.size());
+    }
+
+    @DisplayName("a zero time to live turns caching off")
+    @Test
+    public void disabled() throws IOException {
+        StandInFetcher fetcher = new StandInFetcher();
+        RevocationCache cache = new RevocationCache(0, fetcher);
+        cache.getOcsp("http://ocsp.test", "cert", new byte[]{1});
+        cache.getOcsp("http://ocsp.test", "cert", new byte[]{1});
+        assertEquals(2, fetcher.ocspFetches.get());
+        assertEquals(0, cache.size());
+    }
+
+    private static class StandInFetcher implements RevocationCache.Fetcher {
+        private final AtomicInteger ocspFetches = new AtomicInteger();
+        private volatile boolean fail;
+
+        @Override
+        public X509CRL fetchCrl(String url) throws IOException {
+            throw new IOException("no CRLs in this test");
+        }
+
+        @Override
+        public byte[] fetchOcsp(String url, byte[] request) throws IOException {
+            ocspFetches.incrementAndGet();
+            if (fail) {
+                throw new IOException("responder unavailable");
+            }
+            return new byte[]{0x30, 0x00};
+        }
+    }
+}
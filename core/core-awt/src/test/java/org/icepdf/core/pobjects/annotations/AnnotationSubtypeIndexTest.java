@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.annotations;
+
+import org.icepdf.core.pobjects.Document;
+import org.icepdf.core.pobjects.Name;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the {@link AnnotationSubtypeIndex} contract: pages are listed under the /Subtype of each of their /Annots
+ * entries, direct or referenced, and the index hands out copies.
+ */
+public class AnnotationSubtypeIndexTest {
+
+    // builds a document from numbered objects, 1 0 obj first, with a classic xref table.
+    static byte[] pdf(String... objects) {
+        StringBuilder pdf = new StringBuilder("%PDF-1.7\n");
+        int[] offsets = new int[objects.length];
+        for (int i = 0; i < objects.length; i++) {
+            offsets[i] = pdf.length();
+            pdf.append(i + 1).append(" 0 obj\n").append(objects[i]).append("\nendobj\n");
+        }
+        int xref = pdf.length();
+        pdf.append("xref\n0 ").append(objects.length + 1).append("\n0000000000 65535 f \n");
+        for (int offset : offsets) {
+            pdf.append(String.format("%010d 00000 n \n", offset));
+        }
+        pdf.append("trailer\n<< /Size ").append(objects.length + 1).append(" /Root 1 0 R >>\nstartxref\n")
+                .append(xref).append("\n%%EOF\n");
+        return pdf.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static String page(String annots) {
+        return "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792]" + annots + " >>";
+    }
+
+    private static Document open() throws Exception {
+        byte[] data = pdf(
+                "<< /Type /Catalog /Pages 2 0 R >>",
+                "<< /Type /Pages /Kids [3 0 R 4 0 R 5 0 R 6 0 R 7 0 R] /Count 5 >>",
+                page(" /Annots [8 0 R 9 0 R]"),
+                page(""),
+                page(" /Annots [10 0 R]"),
+                page(" /Annots [<< /Type /Annot /Subtype /Link /Rect [0 0 10 10] >>]"),
+                page(" /Annots []"),
+                "<< /Type /Annot /Subtype /Redact /Rect [10 10 100 30] >>",
+                "<< /Type /Annot /Subtype /Square /Rect [10 50 100 80] >>",
+                "<< /Type /Annot /Subtype /Redact /Rect [10 10 100 30] >>");
+        Document document = new Document();
+        document.setByteArray(data, 0, data.length, "subtypes.pdf");
+        return document;
+    }
+
+    private static BitSet pages(int... pageIndexes) {
+        BitSet pages = new BitSet();
+        for (int pageIndex : pageIndexes) {
+            pages.set(pageIndex);
+        }
+        return pages;
+    }
+
+    @DisplayName("pages are indexed by the subtypes of their annotations")
+    @Test
+    public void pagesBySubtype() throws Exception {
+        Document document = open();
+        try {
+            AnnotationSubtypeIndex index = AnnotationSubtypeIndex.build(document.getPageTree());
+            assertEquals(5, index.getPageCount());
+            assertEquals(pages(0, 2), index.getPages(Annotation.SUBTYPE_REDACT));
+            assertEquals(pages(0), index.getPages(Annotation.SUBTYPE_SQUARE));
+            // direct annotation dictionaries count too.
+            assertEquals(pages(3), index.getPages(Annotation.SUBTYPE_LINK));
+            assertEquals(Set.of(Annotation.SUBTYPE_REDACT, Annotation.SUBTYPE_SQUARE, Annotation.SUBTYPE_LINK),
+                    index.getSubtypes());
+
+            assertTrue(index.hasSubtype(2, Annotation.SUBTYPE_REDACT));
+            assertFalse(index.hasSubtype(1, Annotation.SUBTYPE_REDACT));
+            assertFalse(index.hasSubtype(4, Annotation.SUBTYPE_REDACT));
+            assertTrue(index.getPages(new Name("Ink")).isEmpty());
+            assertFalse(index.hasSubtype(0, new Name("Ink")));
+        } finally {
+            document.dispose();
+        }
+    }
+
+    @DisplayName("the index hands out copies of its page sets")
+    @Test
+    public void pageSetsAreCopies() throws Exception {
+        Document document = open();
+        try {
+            AnnotationSubtypeIndex index = AnnotationSubtypeIndex.build(document.getPageTree());
+            index.getPages(Annotation.SUBTYPE_REDACT).clear();
+            assertEquals(pages(0, 2), index.getPages(Annotation.SUBTYPE_REDACT));
+            assertThrows(UnsupportedOperationException.class, () -> index.getSubtypes().clear());
+        } finally {
+            document.dispose();
+        }
+    }
+}
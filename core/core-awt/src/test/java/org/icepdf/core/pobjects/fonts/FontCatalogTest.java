@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.fonts;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Pins the {@link FontCatalog} contract: a warm scan reads no font files, only new or modified files are read
+ * again, the scan order is the same whether the entries come from the catalog or from the files, and each
+ * directory is walked once however many links and roots reach it.
+ */
+public class FontCatalogTest {
+
+    private static List<String> names(List<Object[]> fonts) {
+        return fonts.stream().map(font -> (String) font[0]).collect(Collectors.toList());
+    }
+
+    // the file name stands in for the face name.
+    private static List<Object[]> readName(String path) {
+        String name = new File(path).getName();
+        return Collections.singletonList(new Object[]{name, name, 1, path});
+    }
+
+    private static boolean link(Path link, Path target) {
+        try {
+            Files.createSymbolicLink(link, target);
+            return true;
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            return false;
+        }
+    }
+
+    @DisplayName("a link back up the tree is walked once")
+    @Test
+    public void linkLoop() throws IOException {
+        Path fonts = Files.createTempDirectory("fonts");
+        Path nested = Files.createDirectories(fonts.resolve("nested"));
+        Files.write(fonts.resolve("a.ttf"), new byte[]{1});
+        Files.write(nested.resolve("b.ttf"), new byte[]{2});
+        assumeTrue(link(nested.resolve("up"), fonts));
+        assumeTrue(link(fonts.resolve("again"), nested));
+
+        FontCatalog catalog = new FontCatalog(null, "");
+        assertEquals(Arrays.asList("a.ttf", "b.ttf"),
+                names(catalog.scan(Collections.singletonList(fonts.toString()), File::isFile,
+                        FontCatalogTest::readName)));
+    }
+
+    @DisplayName("overlapping roots are claimed in the order they are given")
+    @Test
+    public void overlappingRoots() throws IOException {
+        Path fonts = Files.createTempDirectory("fonts");
+        Path nested = Files.createDirectories(fonts.resolve("nested"));
+        for (int i = 0; i < 8; i++) {
+            Files.write(fonts.resolve("a" + i + ".ttf"), new byte[]{1});
+            Files.write(nested.resolve("b" + i + ".ttf"), new byte[]{2});
+        }
+        List<String> nestedFirst = Arrays.asList(nested.toString(), fonts.toString());
+        List<String> expected = names(new FontCatalog(null, "").scan(nestedFirst, File::isFile,
+                FontCatalogTest::readName));
+        assertEquals(16, expected.size());
+        assertEquals("b0.ttf", expected.get(0));
+        assertEquals("a0.ttf", expected.get(8));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(expected, names(new FontCatalog(null, "").scan(nestedFirst, File::isFile,
+                    FontCatalogTest::readName)));
+        }
+
+        // a root given through a link is the same directory.
+        Path alias = fonts.resolveSibling(fonts.getFileName() + "-alias");
+        assumeTrue(link(alias, fonts));
+        List<String> aliased = names(new FontCatalog(null, "").scan(Arrays.asList(alias.toString(),
+                fonts.toString()), File::isFile, FontCatalogTest::readName));
+        assertEquals(16, aliased.size());
+        assertEquals("a0.ttf", aliased.get(0));
+    }
+
+    @Test
+    public void warmScanReadsOnlyChangedFiles() throws IOException {
+        Path fonts = Files.createTempDirectory("fonts");
+        Path nested = Files.createDirectories(fonts.resolve("nested"));
+        Files.write(fonts.resolve("a.ttf"), new byte[]{1});
+        Files.write(nested.resolve("b.ttf"), new byte[]{2});
+        Path catalogFile = Files.createTempDirectory("catalog").resolve(FontCatalog.CATALOG_FILE_NAME);
+
+        AtomicInteger reads = new AtomicInteger();
+        // the file name stands in for the face name.
+        Function<String, List<Object[]>> reader = path -> {
+            reads.incrementAndGet();
+            String name = new File(path).getName();
+            return Collections.singletonList(new Object[]{name, name, 1, path});
+        };
+        List<String> directories = Collections.singletonList(fonts.toString());
+
+        FontCatalog catalog = new FontCatalog(catalogFile, "");
+        List<String> cold = names(catalog.scan(directories, File::isFile, reader));
+        assertEquals(Arrays.asList("a.ttf", "b.ttf"), cold);
+        assertEquals(2, reads.get());
+
+        // a new catalog instance, as on the next run, reads nothing.
+        reads.set(0);
+        catalog = new FontCatalog(catalogFile, "");
+        assertEquals(cold, names(catalog.scan(directories, File::isFile, reader)));
+        assertEquals(0, reads.get());
+
+        // a modified file and a new file in a subdirectory are the only reads.
+        reads.set(0);
+        File a = fonts.resolve("a.ttf").toFile();
+        a.setLastModified(a.lastModified() - 10000);
+        Files.write(nested.resolve("c.ttf"), new byte[]{3});
+        nested.toFile().setLastModified(nested.toFile().lastModified() + 10000);
+        catalog = new FontCatalog(catalogFile, "");
+        List<String> changed = names(catalog.scan(directories, File::isFile, reader));
+        assertEquals(3, changed.size());
+        assertEquals("a.ttf", changed.get(0));
+        assertEquals(new HashSet<>(Arrays.asList("b.ttf", "c.ttf")), new HashSet<>(changed.subList(1, 3)));
+        assertEquals(2, reads.get());
+
+        // a different allow list discards the catalog.
+        reads.set(0);
+        catalog = new FontCatalog(catalogFile, "(?i).*\\.ttf");
+        catalog.scan(directories, File::isFile, reader);
+        assertEquals(3, reads.get());
+    }
+}
@@ -13,7 +13,12 @@
  */
 package org.icepdf.core.pobjects.fonts;
 
+import org.icepdf.core.util.FontUtil;
+import org.icepdf.core.util.memory.MemoryGovernor;
+import org.icepdf.core.util.memory.MemoryUsage;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -22,6 +27,9 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -72,4 +80,67 @@ class FontManagerTest {
             Assertions.assertEquals(expectedAllowed, actualAllowed);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFontIndexMatchesLinearScan() {
+        // base name, family, decorations, path as the font scan records them.
+        List<Object[]> fonts = new ArrayList<>();
+        String[][] entries = {{"arialmt", "arial"}, {"arial-boldmt", "arial"}, {"timesnewromanpsmt", "timesnewroman"},
+                {"ms", "msgothic"}, {"couriernewps-boldmt", "couriernewps"}, {"dejavusans", "dejavusans"},
+                {"arial", "arial"}};
+        for (String[] entry : entries) {
+            fonts.add(new Object[]{entry[0], entry[1], 0, "/fonts/" + entry[0] + ".ttf"});
+        }
+        FontManager.FontIndex index = new FontManager.FontIndex(fonts);
+        String[] names = {"Arial,Bold", "ArialMT", "TimesNewRomanPSMT", "CourierNew-Bold", "MS-Mincho", "Helvetica",
+                "ABCDEF+Arial-BoldMT", "DejaVuSans"};
+        for (String fontName : names) {
+            String name = FontUtil.normalizeString(fontName);
+            BitSet expected = new BitSet();
+            for (int i = 0; i < fonts.size(); i++) {
+                String baseName = (String) fonts.get(i)[0];
+                String familyName = ((String) fonts.get(i)[1]).replaceAll("(?i)(psmt|ps|mt)$", "");
+                if (fontName.toLowerCase().contains(baseName) || name.equals(familyName)) {
+                    expected.set(i);
+                }
+            }
+            Assertions.assertEquals(expected, index.candidates(fontName.toLowerCase(), name), fontName);
+        }
+    }
+
+    @Test
+    void testWithoutSubsetTag() {
+        Assertions.assertEquals("Arial-BoldMT", FontManager.withoutSubsetTag("ABCDEF+Arial-BoldMT"));
+        Assertions.assertEquals("Arial-BoldMT", FontManager.withoutSubsetTag("Arial-BoldMT"));
+        // only six upper case letters make a tag.
+        Assertions.assertEquals("ABCdEF+Arial", FontManager.withoutSubsetTag("ABCdEF+Arial"));
+        Assertions.assertEquals("ABCDE+Arial", FontManager.withoutSubsetTag("ABCDE+Arial"));
+        Assertions.assertEquals("Foo+Bar", FontManager.withoutSubsetTag("Foo+Bar"));
+        Assertions.assertEquals("ABCDEF+", FontManager.withoutSubsetTag("ABCDEF+"));
+        Assertions.assertNull(FontManager.withoutSubsetTag(null));
+    }
+
+    @Test
+    void testSubsetsShareOneSubstitution() {
+        // a fresh manager, the allow list test may have left a pattern behind.
+        String pattern = System.clearProperty(FONT_FILE_ALLOW_LIST_PATTERN_PROPERTY);
+        FontManager fontManager = new FontManager();
+        if (pattern != null) {
+            System.setProperty(FONT_FILE_ALLOW_LIST_PATTERN_PROPERTY, pattern);
+        }
+        fontManager.readSystemFonts(null);
+        FontFile first = fontManager.getInstance("ABCDEF+Helvetica", 0);
+        Assumptions.assumeTrue(first != null, "no fonts installed");
+        Assertions.assertSame(first, fontManager.getInstance("GHIJKL+Helvetica", 0));
+        Assertions.assertSame(first, fontManager.getInstance("Helvetica", 0));
+
+        // the memo is accounted for with the governor.
+        long bytes = 0;
+        for (MemoryUsage.Entry entry : MemoryGovernor.getInstance().getUsage().getEntries()) {
+            if ("Font substitutions".equals(entry.getName())) {
+                bytes += entry.getBytes();
+            }
+        }
+        Assertions.assertTrue(bytes > 0);
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.pobjects.graphics.images.ImageUtility;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the specialised blend row kernels to the per pixel blenders they replace: every mode with a kernel must
+ * give the same pixels, bit for bit, for opaque, transparent and partial pixels, with and without the transparent
+ * backdrop weighting.  Also checks the int array compose path against the row copy path it bypasses.
+ */
+public class BlendRowKernelTest {
+
+    private static final float[] ALPHAS = {1f, 0.5f, 0.13f};
+
+    @DisplayName("specialised kernels match the generic blenders")
+    @Test
+    public void kernelsMatchBlenders() {
+        Random random = new Random(501);
+        int width = 4096;
+        int[] src = pixels(random, width);
+        int[] dst = pixels(random, width);
+        int kernels = 0;
+        for (BlendComposite.BlendingMode mode : BlendComposite.BlendingMode.values()) {
+            BlendRowKernel kernel = BlendRowKernel.forMode(mode);
+            if (kernel == null) {
+                continue;
+            }
+            kernels++;
+            BlendRowKernel reference = BlendComposite.blenderKernel(mode);
+            for (boolean transparentBackdrop : new boolean[]{false, true}) {
+                for (float alpha : ALPHAS) {
+                    int[] expected = new int[width];
+                    int[] actual = new int[width];
+                    reference.blendRow(src, 0, dst, 0, expected, 0, width, alpha, transparentBackdrop);
+                    kernel.blendRow(src, 0, dst, 0, actual, 0, width, alpha, transparentBackdrop);
+                    assertArrayEquals(expected, actual, mode + " alpha " + alpha + " backdrop " + transparentBackdrop);
+                    // odd offsets and lengths, as a child raster or the tail of a vector loop gives them.
+                    Arrays.fill(actual, 0);
+                    kernel.blendRow(src, 3, dst, 3, actual, 3, width - 10, alpha, transparentBackdrop);
+                    assertArrayEquals(Arrays.copyOfRange(expected, 3, width - 7),
+                            Arrays.copyOfRange(actual, 3, width - 7), mode + " offset");
+                }
+            }
+        }
+        // the eleven PDF blend modes and Normal.
+        assertEquals(12, kernels);
+    }
+
+    @DisplayName("compose on the int arrays matches compose on copied rows")
+    @Test
+    public void packedCompose() {
+        Random random = new Random(7);
+        int width = 613;
+        int height = 601;
+        BufferedImage src = image(random, width, height);
+        BufferedImage backdrop = image(random, width, height);
+        for (BlendComposite.BlendingMode mode : new BlendComposite.BlendingMode[]{
+                BlendComposite.BlendingMode.MULTIPLY, BlendComposite.BlendingMode.SOFT_LIGHT,
+                BlendComposite.BlendingMode.HUE}) {
+            BlendComposite composite = BlendComposite.getInstance(mode, 0.75f);
+            // compose into a separate raster, the reference reads its rows through getDataElements.
+            WritableRaster expected = backdrop.getRaster().createCompatibleWritableRaster();
+            WritableRaster copy = backdrop.copyData(null);
+            int[] expectedRow = new int[width];
+            int[] srcRow = new int[width];
+            BlendRowKernel reference = BlendComposite.blenderKernel(mode);
+            for (int y = 0; y < height; y++) {
+                src.getRaster().getDataElements(0, y, width, 1, srcRow);
+                copy.getDataElements(0, y, width, 1, expectedRow);
+                reference.blendRow(srcRow, 0, expectedRow, 0, expectedRow, 0, width, 0.75f, false);
+                expected.setDataElements(0, y, width, 1, expectedRow);
+            }
+
+            WritableRaster actual = backdrop.copyData(null);
+            CompositeContext context = composite.createContext(src.getColorModel(), backdrop.getColorModel(), null);
+            context.compose(src.getRaster(), actual, actual);
+            context.dispose();
+            assertArrayEquals(PixelRows.getData(expected), PixelRows.getData(actual), mode.toString());
+        }
+    }
+
+    @DisplayName("compose handles translated child rasters")
+    @Test
+    public void childRasters() {
+        Random random = new Random(11);
+        BufferedImage src = image(random, 120, 90);
+        BufferedImage backdrop = image(random, 120, 90);
+        BufferedImage expected = copy(backdrop);
+        Composite composite = BlendComposite.getInstance(BlendComposite.BlendingMode.SCREEN, 0.6f);
+        CompositeContext context = composite.createContext(src.getColorModel(), backdrop.getColorModel(), null);
+
+        WritableRaster srcChild = src.getRaster().createWritableChild(10, 20, 50, 40, 0, 0, null);
+        WritableRaster dstChild = backdrop.getRaster().createWritableChild(30, 5, 50, 40, 0, 0, null);
+        context.compose(srcChild, dstChild, dstChild);
+
+        BlendRowKernel reference = BlendComposite.blenderKernel(BlendComposite.BlendingMode.SCREEN);
+        int[] srcRow = new int[50];
+        int[] dstRow = new int[50];
+        for (int y = 0; y < 40; y++) {
+            src.getRGB(10, 20 + y, 50, 1, srcRow, 0, 50);
+            expected.getRGB(30, 5 + y, 50, 1, dstRow, 0, 50);
+            reference.blendRow(srcRow, 0, dstRow, 0, dstRow, 0, 50, 0.6f, false);
+            expected.setRGB(30, 5 + y, 50, 1, dstRow, 0, 50);
+        }
+        assertArrayEquals(PixelRows.getData(expected.getRaster()), PixelRows.getData(backdrop.getRaster()));
+    }
+
+    @DisplayName("row bands cover every row once")
+    @Test
+    public void rowBands() {
+        int height = 1999;
+        int[] visits = new int[height];
+        PixelRows.forEachRow(height, 4096L * height, (fromRow, toRow) -> {
+            for (int y = fromRow; y < toRow; y++) {
+                visits[y]++;
+            }
+        });
+        for (int visit : visits) {
+            assertEquals(1, visit);
+        }
+        assertThrows(IllegalStateException.class, () -> PixelRows.forEachRow(height, 4096L * height,
+                (fromRow, toRow) -> {
+                    throw new IllegalStateException("band failed");
+                }));
+    }
+
+    @DisplayName("soft mask on int arrays matches the getRGB path")
+    @Test
+    public void explicitSMask() {
+        Random random = new Random(3);
+        BufferedImage base = image(random, 700, 500);
+        BufferedImage mask = image(random, 700, 500);
+        // a byte image takes the getRGB/setRGB loop.
+        BufferedImage byteBase = new BufferedImage(700, 500, BufferedImage.TYPE_4BYTE_ABGR);
+        int[] basePixels = base.getRGB(0, 0, 700, 500, null, 0, 700);
+        byteBase.setRGB(0, 0, 700, 500, basePixels, 0, 700);
+
+        BufferedImage expected = ImageUtility.applyExplicitSMask(byteBase, mask);
+        BufferedImage actual = ImageUtility.applyExplicitSMask(base, mask);
+        assertEquals(BufferedImage.TYPE_INT_ARGB, actual.getType());
+        assertArrayEquals(expected.getRGB(0, 0, 700, 500, null, 0, 700),
+                actual.getRGB(0, 0, 700, 500, null, 0, 700));
+
+        BufferedImage rgbBase = new BufferedImage(700, 500, BufferedImage.TYPE_INT_RGB);
+        rgbBase.setRGB(0, 0, 700, 500, basePixels, 0, 700);
+        BufferedImage byteRgbBase = new BufferedImage(700, 500, BufferedImage.TYPE_3BYTE_BGR);
+        byteRgbBase.setRGB(0, 0, 700, 500, basePixels, 0, 700);
+        assertArrayEquals(ImageUtility.applyExplicitSMask(byteRgbBase, mask).getRGB(0, 0, 700, 500, null, 0, 700),
+                ImageUtility.applyExplicitSMask(rgbBase, mask).getRGB(0, 0, 700, 500, null, 0, 700));
+    }
+
+    // random pixels with plenty of the special cases: transparent, opaque, black and white.
+    private static int[] pixels(Random random, int count) {
+        int[] pixels = new int[count];
+        for (int i = 0; i < count; i++) {
+            int pixel = random.nextInt();
+            switch (random.nextInt(8)) {
+                case 0:
+                    pixel &= 0x00FFFFFF;
+                    break;
+                case 1:
+                    pixel |= 0xFF000000;
+                    break;
+                case 2:
+                    pixel |= 0x00FFFFFF;
+                    break;
+                case 3:
+                    pixel &= 0xFF000000;
+                    break;
+                default:
+                    break;
+            }
+            pixels[i] = pixel;
+        }
+        return pixels;
+    }
+
+    private static BufferedImage image(Random random, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = pixels(random, width * height);
+        System.arraycopy(pixels, 0, PixelRows.getData(image.getRaster()), 0, pixels.length);
+        return image;
+    }
+
+    private static BufferedImage copy(BufferedImage image) {
+        return new BufferedImage(image.getColorModel(), image.copyData(null), false, null);
+    }
+}
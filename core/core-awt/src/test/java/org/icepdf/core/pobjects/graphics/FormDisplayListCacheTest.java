@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.pobjects.DictionaryEntries;
+import org.icepdf.core.pobjects.Name;
+import org.icepdf.core.pobjects.Reference;
+import org.icepdf.core.util.Library;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the {@link FormDisplayListCache} key: a form's parsed display list is only shared when the reference,
+ * content and inherited graphics state all match, so a stale or differently coloured parse is never reused.
+ */
+public class FormDisplayListCacheTest {
+
+    private static final byte[] CONTENT = "0 0 10 10 re f".getBytes(StandardCharsets.US_ASCII);
+
+    private static FormDisplayList displayList() {
+        return new FormDisplayList(new Shapes(), new AffineTransform(),
+                new Rectangle2D.Float(0, 0, 10, 10), false, false);
+    }
+
+    @Test
+    public void sharesAcrossEqualKeys() {
+        FormDisplayListCache cache = new FormDisplayListCache();
+        FormDisplayList displayList = displayList();
+        cache.put(FormDisplayListCache.createKey(new Reference(5, 0), CONTENT, null, null), displayList);
+
+        // a second page resolves the same form to an equal, not identical, key.
+        byte[] sameContent = CONTENT.clone();
+        assertSame(displayList, cache.get(FormDisplayListCache.createKey(new Reference(5, 0), sameContent,
+                null, null)));
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void editedContentMisses() {
+        FormDisplayListCache cache = new FormDisplayListCache();
+        cache.put(FormDisplayListCache.createKey(new Reference(5, 0), CONTENT, null, null), displayList());
+
+        byte[] edited = "0 0 20 20 re f".getBytes(StandardCharsets.US_ASCII);
+        assertNull(cache.get(FormDisplayListCache.createKey(new Reference(5, 0), edited, null, null)));
+        assertNull(cache.get(FormDisplayListCache.createKey(new Reference(6, 0), CONTENT, null, null)));
+    }
+
+    @Test
+    public void inheritedStateIsPartOfTheKey() {
+        FormDisplayListCache cache = new FormDisplayListCache();
+        GraphicsState red = new GraphicsState(new Shapes());
+        red.setFillColor(Color.RED);
+        GraphicsState blue = new GraphicsState(new Shapes());
+        blue.setFillColor(Color.BLUE);
+        cache.put(FormDisplayListCache.createKey(new Reference(5, 0), CONTENT, null, red), displayList());
+
+        assertNull(cache.get(FormDisplayListCache.createKey(new Reference(5, 0), CONTENT, null, blue)));
+        assertNotNull(cache.get(FormDisplayListCache.createKey(new Reference(5, 0), CONTENT, null, red)));
+    }
+
+    @Test
+    public void dashAndTextStateArePartOfTheKey() {
+        FormDisplayListCache cache = new FormDisplayListCache();
+        GraphicsState solid = new GraphicsState(new Shapes());
+        GraphicsState dashed = new GraphicsState(new Shapes());
+        dashed.setDashArray(new float[]{3, 2});
+        cache.put(FormDisplayListCache.createKey(new Reference(5, 0), CONTENT, null, solid), displayList());
+        assertNull(cache.get(FormDisplayListCache.createKey(new Reference(5, 0), CONTENT, null, dashed)));
+
+        GraphicsState invisible = new GraphicsState(new Shapes());
+        invisible.getTextState().rmode = TextState.MODE_INVISIBLE;
+        assertNull(cache.get(FormDisplayListCache.createKey(new Reference(5, 0), CONTENT, null, invisible)));
+        assertNotNull(cache.get(FormDisplayListCache.createKey(new Reference(5, 0), CONTENT, null,
+                new GraphicsState(new Shapes()))));
+    }
+
+    @Test
+    public void blendAndOverprintArePartOfTheKey() {
+        FormDisplayListCache cache = new FormDisplayListCache();
+        cache.put(FormDisplayListCache.createKey(new Reference(5, 0), CONTENT, null, new GraphicsState(new Shapes())),
+                displayList());
+
+        GraphicsState multiply = new GraphicsState(new Shapes());
+        multiply.concatenate(extGState(ExtGState.BM_KEY, new Name("Multiply")));
+        assertNull(cache.get(FormDisplayListCache.createKey(new Reference(5, 0), CONTENT, null, multiply)));
+
+        GraphicsState overprint = new GraphicsState(new Shapes());
+        overprint.setOverprintMode(1);
+        assertNull(cache.get(FormDisplayListCache.createKey(new Reference(5, 0), CONTENT, null, overprint)));
+        GraphicsState overprintStroking = new GraphicsState(new Shapes());
+        overprintStroking.setOverprintStroking(true);
+        assertNull(cache.get(FormDisplayListCache.createKey(new Reference(5, 0), CONTENT, null,
+                overprintStroking)));
+
+        GraphicsState alphaRule = new GraphicsState(new Shapes());
+        alphaRule.setAlphaRule(AlphaComposite.SRC);
+        assertNull(cache.get(FormDisplayListCache.createKey(new Reference(5, 0), CONTENT, null, alphaRule)));
+    }
+
+    @Test
+    public void softMaskIsNotShareable() {
+        assertTrue(FormDisplayListCache.isShareable(null));
+        assertTrue(FormDisplayListCache.isShareable(new GraphicsState(new Shapes())));
+
+        GraphicsState masked = new GraphicsState(new Shapes());
+        DictionaryEntries softMask = new DictionaryEntries();
+        softMask.put(new Name("S"), new Name("Luminosity"));
+        masked.concatenate(extGState(ExtGState.SMASK_KEY, softMask));
+        assertFalse(FormDisplayListCache.isShareable(masked));
+    }
+
+    private static ExtGState extGState(Name key, Object value) {
+        DictionaryEntries entries = new DictionaryEntries();
+        entries.put(key, value);
+        return new ExtGState(new Library(), entries);
+    }
+
+    @Test
+    public void invalidateDropsAllVariants() {
+        FormDisplayListCache cache = new FormDisplayListCache();
+        GraphicsState red = new GraphicsState(new Shapes());
+        red.setFillColor(Color.RED);
+        cache.put(FormDisplayListCache.createKey(new Reference(5, 0), CONTENT, null, null), displayList());
+        cache.put(FormDisplayListCache.createKey(new Reference(5, 0), CONTENT, null, red), displayList());
+
+        cache.invalidate(new Reference(5, 0));
+        assertNull(cache.get(FormDisplayListCache.createKey(new Reference(5, 0), CONTENT, null, null)));
+        assertNull(cache.get(FormDisplayListCache.createKey(new Reference(5, 0), CONTENT, null, red)));
+    }
+}
@@ -20,12 +20,15 @@ import org.junit.jupiter.api.Test;
 import java.awt.PaintContext;
 import java.awt.Rectangle;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
 import java.awt.image.ColorModel;
 import java.awt.image.Raster;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -103,4 +106,72 @@ public class MeshShadingPaintTest {
         int covered = Arrays.stream(px).filter(p -> ((p >>> 24) & 0xff) != 0).findFirst().orElse(0);
         assertEquals(grey, covered, "a uniform triangle must fill its flat colour");
     }
+
+    /**
+     * A jittered grid of triangles sharing every edge: the top-left fill rule
+     * must cover each pixel inside the mesh exactly once, leaving no seams.
+     */
+    @Test
+    public void sharedEdgesLeaveNoGaps() {
+        int n = 20;
+        float[][] gx = new float[n + 1][n + 1];
+        float[][] gy = new float[n + 1][n + 1];
+        for (int i = 0; i <= n; i++) {
+            for (int j = 0; j <= n; j++) {
+                boolean inside = i > 0 && i < n && j > 0 && j < n;
+                gx[i][j] = i * 5f + (inside ? ((i * 7 + j * 3) % 5) * 0.37f : 0);
+                gy[i][j] = j * 5f + (inside ? ((i * 3 + j * 11) % 5) * 0.29f : 0);
+            }
+        }
+        int grey = argb(255, 90, 90, 90);
+        List<MeshShadingPaint.Triangle> triangles = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                triangles.add(new MeshShadingPaint.Triangle(gx[i][j], gy[i][j], grey,
+                        gx[i + 1][j], gy[i + 1][j], grey, gx[i][j + 1], gy[i][j + 1], grey));
+                triangles.add(new MeshShadingPaint.Triangle(gx[i + 1][j], gy[i + 1][j], grey,
+                        gx[i + 1][j + 1], gy[i + 1][j + 1], grey, gx[i][j + 1], gy[i][j + 1], grey));
+            }
+        }
+        MeshRasterizer mesh = new MeshRasterizer(triangles, null, new AffineTransform(),
+                new Rectangle(0, 0, 100, 100));
+        for (int i = 0; i < mesh.covered.length; i++) {
+            assertTrue(mesh.covered[i], "pixel " + i + " must be covered");
+        }
+    }
+
+    /**
+     * Patches are tessellated for the device resolution: a patch shown a few
+     * pixels across is split into far fewer triangles than the same patch
+     * zoomed in, and a repeated paint at the same transform reuses the raster.
+     */
+    @Test
+    public void patchSubdivisionFollowsDeviceScale() {
+        Point2D.Float[][] grid = new Point2D.Float[4][4];
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                // bowed boundary so the patch is genuinely curved.
+                grid[i][j] = new Point2D.Float(i * 10 + (j == 1 || j == 2 ? 4 : 0), j * 10);
+            }
+        }
+        int[] corners = {argb(255, 255, 0, 0), argb(255, 0, 255, 0),
+                argb(255, 0, 0, 255), argb(255, 255, 255, 0)};
+        List<MeshShadingPaint.Patch> patches = List.of(new MeshShadingPaint.Patch(grid, corners));
+
+        MeshRasterizer thumbnail = new MeshRasterizer(null, patches,
+                AffineTransform.getScaleInstance(0.1, 0.1), new Rectangle(0, 0, 4, 4));
+        MeshRasterizer zoomed = new MeshRasterizer(null, patches,
+                AffineTransform.getScaleInstance(20, 20), new Rectangle(0, 0, 700, 600));
+        assertTrue(thumbnail.getTriangleCount() < zoomed.getTriangleCount(),
+                "a thumbnail must tessellate coarser than a zoomed in view");
+        assertFalse(zoomed.getTriangleCount() > 2 * MeshRasterizer.MAX_SUBDIVISIONS * MeshRasterizer.MAX_SUBDIVISIONS);
+
+        MeshShadingPaint paint = new MeshShadingPaint(null, patches, null);
+        Rectangle bounds = new Rectangle(0, 0, 30, 30);
+        Raster first = paint.createContext(ColorModel.getRGBdefault(), bounds, bounds,
+                new AffineTransform(), null).getRaster(0, 0, 30, 30);
+        Raster second = paint.createContext(ColorModel.getRGBdefault(), new Rectangle(5, 5, 10, 10), bounds,
+                new AffineTransform(), null).getRaster(5, 5, 1, 1);
+        assertEquals(first.getSample(5, 5, 0), second.getSample(0, 0, 0));
+    }
 }
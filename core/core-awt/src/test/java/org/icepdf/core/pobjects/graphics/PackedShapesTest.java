@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.pobjects.graphics.commands.*;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the {@link PackedShapes} contract: a packed list replays the same commands and paints the same pixels as
+ * the list it was packed from, wherever its streams are stored, with repeated state pooled.
+ */
+public class PackedShapesTest {
+
+    private static ArrayList<DrawCmd> displayList() {
+        ArrayList<DrawCmd> drawCmds = new ArrayList<>();
+        drawCmds.add(new TransformDrawCmd(AffineTransform.getTranslateInstance(2, 3)));
+        drawCmds.add(new StrokeDrawCmd(new BasicStroke(1.5f)));
+        for (int i = 0; i < 20; i++) {
+            drawCmds.add(new ColorDrawCmd(i % 2 == 0 ? Color.RED : new Color(0, 0, 255, 128)));
+            GeneralPath path = new GeneralPath(i % 3 == 0 ? GeneralPath.WIND_EVEN_ODD : GeneralPath.WIND_NON_ZERO);
+            path.moveTo(i, i);
+            path.lineTo(i + 20, i + 2);
+            path.quadTo(i + 25, i + 10, i + 15, i + 20);
+            path.curveTo(i + 10, i + 25, i + 5, i + 15, i, i + 10);
+            path.closePath();
+            drawCmds.add(new ShapeDrawCmd(path));
+            drawCmds.add(i % 2 == 0 ? new FillDrawCmd() : new DrawDrawCmd());
+        }
+        drawCmds.add(new ShapeDrawCmd(new Rectangle2D.Float(10, 10, 30, 30)));
+        drawCmds.add(new ClipDrawCmd());
+        // exact double shapes aren't packed, they are kept as they are.
+        drawCmds.add(new ShapeDrawCmd(new Rectangle2D.Double(0, 0, 64, 64)));
+        drawCmds.add(new ColorDrawCmd(Color.GREEN));
+        drawCmds.add(new FillDrawCmd());
+        drawCmds.add(new NoClipDrawCmd());
+        return drawCmds;
+    }
+
+    private static BufferedImage paint(Iterable<DrawCmd> drawCmds) throws InterruptedException {
+        BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setClip(0, 0, 64, 64);
+            AffineTransform base = new AffineTransform(g.getTransform());
+            Shape clip = g.getClip();
+            OptionalContentState optionalContentState = new OptionalContentState();
+            PaintTimer paintTimer = new PaintTimer();
+            Shape currentShape = null;
+            for (DrawCmd drawCmd : drawCmds) {
+                currentShape = drawCmd.paintOperand(g, null, currentShape, clip, base, optionalContentState,
+                        true, paintTimer);
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    private static void assertSamePixels(BufferedImage expected, BufferedImage actual) {
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y), "pixel " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    public void replaysTheSameList() throws InterruptedException {
+        ArrayList<DrawCmd> drawCmds = displayList();
+        PackedShapes packedShapes = PackedShapes.pack(drawCmds);
+        assertEquals(drawCmds.size(), packedShapes.size());
+        // a translate, a stroke, three colours and the four stateless commands.
+        assertEquals(9, packedShapes.getPoolSize());
+
+        int i = 0;
+        for (DrawCmd drawCmd : packedShapes) {
+            DrawCmd original = drawCmds.get(i++);
+            assertSame(original.getClass(), drawCmd.getClass());
+            if (original instanceof ShapeDrawCmd) {
+                Shape expected = ((ShapeDrawCmd) original).getShape();
+                Shape actual = ((ShapeDrawCmd) drawCmd).getShape();
+                assertSame(expected.getClass(), actual.getClass());
+                assertEquals(expected.getBounds2D(), actual.getBounds2D());
+            }
+        }
+        assertSamePixels(paint(drawCmds), paint(packedShapes));
+    }
+
+    @Test
+    public void spilledStreamsReplayTheSame() throws InterruptedException {
+        ArrayList<DrawCmd> drawCmds = displayList();
+        BufferedImage expected = paint(drawCmds);
+        for (PackedShapes.Spill spill : new PackedShapes.Spill[]{PackedShapes.Spill.OFF_HEAP,
+                PackedShapes.Spill.DISK}) {
+            PackedShapes packedShapes = PackedShapes.pack(drawCmds);
+            long size = packedShapes.getPackedSize();
+            assertTrue(packedShapes.spill(spill));
+            assertEquals(spill, packedShapes.getSpill());
+            assertEquals(size, packedShapes.getPackedSize());
+            assertSamePixels(expected, paint(packedShapes));
+        }
+    }
+
+    @Test
+    public void unpackGivesEditableCommands() {
+        ArrayList<DrawCmd> drawCmds = displayList();
+        ArrayList<DrawCmd> unpacked = PackedShapes.pack(drawCmds).unpack();
+        assertEquals(drawCmds.size(), unpacked.size());
+        // pooled commands are shared while packed, each position gets its own instance once unpacked.
+        assertNotSame(unpacked.get(2), unpacked.get(8));
+        assertEquals(((ColorDrawCmd) unpacked.get(2)).getColor(), ((ColorDrawCmd) unpacked.get(8)).getColor());
+        assertEquals(AffineTransform.getTranslateInstance(2, 3),
+                ((TransformDrawCmd) unpacked.get(0)).getAffineTransform());
+    }
+
+    @Test
+    public void readOnlyQueriesStayPacked() throws InterruptedException {
+        Shapes shapes = new Shapes();
+        shapes.add(displayList());
+        shapes.pack(PackedShapes.Spill.HEAP);
+        assertTrue(shapes.isPacked());
+
+        assertTrue(shapes.getImages().isEmpty());
+        assertTrue(shapes.isImagesReady());
+        new FormDisplayList(shapes, new AffineTransform(), new Rectangle2D.Float(0, 0, 64, 64), false, false);
+        assertTrue(shapes.isPacked());
+
+        // editing unpacks.
+        assertEquals(displayList().size(), shapes.getShapes().size());
+        assertFalse(shapes.isPacked());
+    }
+}
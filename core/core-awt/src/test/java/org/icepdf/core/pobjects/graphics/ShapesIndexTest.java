@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.pobjects.graphics.commands.*;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the {@link ShapesIndex} contract: a small clip only visits the chunks drawing under it, commands the index
+ * can't bound are never culled, and skipped state is restored before the next visible chunk paints.
+ */
+public class ShapesIndexTest {
+
+    // one chunk per 100 unit column, each chunk filling 32 small squares inside its column.
+    private static java.util.List<DrawCmd> columns(int count) {
+        java.util.List<DrawCmd> drawCmds = new ArrayList<>();
+        for (int column = 0; column < count; column++) {
+            for (int i = 0; i < ShapesIndex.CHUNK_SIZE / 2; i++) {
+                drawCmds.add(new ShapeDrawCmd(new Rectangle2D.Double(column * 100 + i, i, 10, 10)));
+                drawCmds.add(new FillDrawCmd());
+            }
+        }
+        return drawCmds;
+    }
+
+    @Test
+    public void smallClipVisitsOnlyIntersectingChunks() {
+        ShapesIndex index = new ShapesIndex(columns(10));
+        int[] chunks = index.query(new Rectangle(520, 10, 20, 20), new AffineTransform());
+        assertNotNull(chunks);
+        assertArrayEquals(new int[]{5}, chunks);
+
+        // the same area at 2x zoom is the same chunk.
+        chunks = index.query(new Rectangle(1040, 20, 40, 40), AffineTransform.getScaleInstance(2, 2));
+        assertArrayEquals(new int[]{5}, chunks);
+
+        // a clip over most of the page paints normally.
+        assertNull(index.query(new Rectangle(0, 0, 900, 100), new AffineTransform()));
+    }
+
+    @Test
+    public void unboundedCommandsAreNeverCulled() {
+        java.util.List<DrawCmd> drawCmds = columns(10);
+        drawCmds.set(2 * ShapesIndex.CHUNK_SIZE + 1, new DrawCmd() {
+            @Override
+            public Shape paintOperand(Graphics2D g, org.icepdf.core.pobjects.Page parentPage, Shape currentShape,
+                                      Shape clip, AffineTransform base, OptionalContentState optionalContentState,
+                                      boolean paintAlpha, PaintTimer paintTimer) {
+                return currentShape;
+            }
+        });
+        ShapesIndex index = new ShapesIndex(drawCmds);
+        int[] chunks = index.query(new Rectangle(720, 10, 20, 20), new AffineTransform());
+        assertNotNull(chunks);
+        // the unknown command may have changed the transform, so everything after it is painted too.
+        assertEquals(2, chunks[0]);
+        assertEquals(8, chunks.length);
+    }
+
+    @Test
+    public void imagesAreBoundedByTheAreaTheyPaint() {
+        java.util.List<DrawCmd> drawCmds = columns(10);
+        // a thin image in chunk 0, stretched out across the page to column 5.
+        drawCmds.set(ShapesIndex.CHUNK_SIZE - 3, new TransformDrawCmd(new AffineTransform(10, 0, 0, 10, 0, 20)));
+        drawCmds.set(ShapesIndex.CHUNK_SIZE - 2, new ImageDrawCmd(null) {
+            @Override
+            public Rectangle2D getPaintBounds() {
+                return new Rectangle2D.Double(0, 0, 60, 1);
+            }
+        });
+        drawCmds.set(ShapesIndex.CHUNK_SIZE - 1, new TransformDrawCmd(new AffineTransform()));
+        ShapesIndex index = new ShapesIndex(drawCmds);
+        int[] chunks = index.query(new Rectangle(520, 20, 20, 10), new AffineTransform());
+        assertArrayEquals(new int[]{0, 5}, chunks);
+    }
+
+    @Test
+    public void skippedStateIsRestored() throws InterruptedException {
+        java.util.List<DrawCmd> drawCmds = new ArrayList<>(columns(4));
+        drawCmds.set(0, new TransformDrawCmd(AffineTransform.getTranslateInstance(5, 0)));
+        drawCmds.set(ShapesIndex.CHUNK_SIZE + 2, new ColorDrawCmd(Color.BLUE));
+        ShapesIndex index = new ShapesIndex(drawCmds);
+
+        BufferedImage image = new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            AffineTransform base = AffineTransform.getScaleInstance(2, 2);
+            g.setTransform(base);
+            g.setColor(Color.RED);
+            // chunks 1 and 2 skipped, chunk 0 painted: only the colour set in the skipped run is replayed.
+            Shape shape = index.restore(g, null, ShapesIndex.CHUNK_SIZE, 3, null, g.getClip(), base,
+                    new OptionalContentState(), true, new PaintTimer());
+            assertEquals(Color.BLUE, g.getColor());
+            assertEquals(base, g.getTransform());
+            assertEquals(((ShapeDrawCmd) drawCmds.get(3 * ShapesIndex.CHUNK_SIZE - 2)).getShape(), shape);
+        } finally {
+            g.dispose();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.pobjects.Page;
+import org.icepdf.core.pobjects.graphics.commands.*;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the {@link ShapesOptimizer} rules: state that is already in effect or never read is dropped, fills that
+ * can't paint are dropped, disjoint same state fills are merged, nothing moves across a command the optimiser
+ * doesn't understand, and the optimised list paints the same pixels.
+ */
+public class ShapesOptimizerTest {
+
+    // stands in for text, forms and any other command with unknown effects.
+    private static final DrawCmd OPAQUE = new DrawCmd() {
+        @Override
+        public Shape paintOperand(Graphics2D g, Page parentPage, Shape currentShape, Shape clip,
+                                  AffineTransform base, OptionalContentState optionalContentState,
+                                  boolean paintAlpha, PaintTimer paintTimer) {
+            return currentShape;
+        }
+    };
+
+    private static BufferedImage paint(List<DrawCmd> drawCmds) throws InterruptedException {
+        BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setClip(0, 0, 64, 64);
+            AffineTransform base = new AffineTransform(g.getTransform());
+            Shape clip = g.getClip();
+            OptionalContentState optionalContentState = new OptionalContentState();
+            PaintTimer paintTimer = new PaintTimer();
+            Shape currentShape = null;
+            for (DrawCmd drawCmd : drawCmds) {
+                currentShape = drawCmd.paintOperand(g, null, currentShape, clip, base, optionalContentState,
+                        true, paintTimer);
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    private static void assertSamePixels(List<DrawCmd> expected, List<DrawCmd> actual)
+            throws InterruptedException {
+        BufferedImage expectedImage = paint(expected);
+        BufferedImage actualImage = paint(actual);
+        for (int y = 0; y < expectedImage.getHeight(); y++) {
+            for (int x = 0; x < expectedImage.getWidth(); x++) {
+                assertEquals(expectedImage.getRGB(x, y), actualImage.getRGB(x, y), "pixel " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    public void redundantAndDeadStateIsDropped() throws InterruptedException {
+        List<DrawCmd> drawCmds = new ArrayList<>();
+        StrokeDrawCmd stroke = new StrokeDrawCmd(new BasicStroke(2));
+        ColorDrawCmd blue = new ColorDrawCmd(Color.BLUE);
+        drawCmds.add(new ColorDrawCmd(Color.RED));
+        drawCmds.add(new ColorDrawCmd(Color.RED));
+        drawCmds.add(stroke);
+        drawCmds.add(blue);
+        drawCmds.add(new ShapeDrawCmd(new Rectangle2D.Float(4, 4, 20, 20)));
+        drawCmds.add(new FillDrawCmd());
+        // set to the value it already has.
+        drawCmds.add(new ColorDrawCmd(Color.BLUE));
+
+        List<DrawCmd> optimized = ShapesOptimizer.optimize(drawCmds);
+        assertEquals(4, optimized.size());
+        assertSame(stroke, optimized.get(0));
+        assertSame(blue, optimized.get(1));
+        assertSamePixels(drawCmds, optimized);
+    }
+
+    @Test
+    public void fillsThatCantPaintAreDropped() throws InterruptedException {
+        List<DrawCmd> drawCmds = new ArrayList<>();
+        drawCmds.add(new TransformDrawCmd(AffineTransform.getTranslateInstance(2, 2)));
+        drawCmds.add(new ShapeDrawCmd(new Rectangle2D.Float(0, 0, 20, 20)));
+        drawCmds.add(new ClipDrawCmd());
+        // outside the clip.
+        drawCmds.add(new ShapeDrawCmd(new Rectangle2D.Float(40, 40, 5, 5)));
+        drawCmds.add(new FillDrawCmd());
+        // zero area.
+        drawCmds.add(new ShapeDrawCmd(new Rectangle2D.Float(5, 5, 0, 10)));
+        drawCmds.add(new FillDrawCmd());
+        drawCmds.add(new ShapeDrawCmd(new Rectangle2D.Float(5, 5, 10, 10)));
+        drawCmds.add(new FillDrawCmd());
+
+        List<DrawCmd> optimized = ShapesOptimizer.optimize(drawCmds);
+        assertEquals(5, optimized.size());
+        assertTrue(optimized.get(2) instanceof ClipDrawCmd);
+        assertEquals(new Rectangle2D.Float(5, 5, 10, 10), ((ShapeDrawCmd) optimized.get(3)).getShape());
+        assertSamePixels(drawCmds, optimized);
+    }
+
+    @Test
+    public void disjointFillsAreMerged() throws InterruptedException {
+        List<DrawCmd> drawCmds = new ArrayList<>();
+        drawCmds.add(new ColorDrawCmd(new Color(255, 0, 0, 128)));
+        for (int i = 0; i < 6; i++) {
+            drawCmds.add(new ShapeDrawCmd(new Rectangle2D.Float(i * 10, 5, 6, 6)));
+            drawCmds.add(new FillDrawCmd());
+        }
+        // overlaps the last square, a translucent merged fill would blend the overlap once instead of twice.
+        drawCmds.add(new ShapeDrawCmd(new Rectangle2D.Float(53, 8, 6, 6)));
+        drawCmds.add(new FillDrawCmd());
+
+        List<DrawCmd> optimized = ShapesOptimizer.optimize(drawCmds);
+        assertEquals(5, optimized.size());
+        assertEquals(new Rectangle2D.Float(0, 5, 56, 6).getBounds2D(),
+                ((ShapeDrawCmd) optimized.get(1)).getShape().getBounds2D());
+        assertSamePixels(drawCmds, optimized);
+    }
+
+    @Test
+    public void imagesAreCulledOnTheBoundsTheyPaint() {
+        List<DrawCmd> drawCmds = new ArrayList<>();
+        drawCmds.add(new ShapeDrawCmd(new Rectangle2D.Float(0, 0, 20, 20)));
+        drawCmds.add(new ClipDrawCmd());
+        drawCmds.add(new TransformDrawCmd(new AffineTransform(10, 0, 0, 10, 25, 5)));
+        // a unit square image at 25,5 is outside the clip.
+        ImageDrawCmd image = new ImageDrawCmd(null);
+        assertEquals(new Rectangle2D.Double(0, 0, 1, 1), image.getPaintBounds());
+        drawCmds.add(image);
+        drawCmds.add(new TransformDrawCmd(new AffineTransform(10, 0, 0, 10, -25, 5)));
+        // as is this one at -25,5, but it is stretched, as thin images are, back into the clip.
+        ImageDrawCmd stretched = new ImageDrawCmd(null) {
+            @Override
+            public Rectangle2D getPaintBounds() {
+                return new Rectangle2D.Double(0, 0, 4, 1);
+            }
+        };
+        drawCmds.add(stretched);
+
+        List<DrawCmd> optimized = ShapesOptimizer.optimize(drawCmds);
+        assertFalse(optimized.contains(image));
+        assertTrue(optimized.contains(stretched));
+    }
+
+    @Test
+    public void nothingIsDroppedAcrossUnknownCommands() {
+        List<DrawCmd> drawCmds = new ArrayList<>();
+        drawCmds.add(new ColorDrawCmd(Color.RED));
+        drawCmds.add(OPAQUE);
+        drawCmds.add(new ColorDrawCmd(Color.RED));
+        drawCmds.add(new ShapeDrawCmd(new Rectangle2D.Float(0, 0, 5, 5)));
+        drawCmds.add(new FillDrawCmd());
+        drawCmds.add(OPAQUE);
+        drawCmds.add(new ShapeDrawCmd(new Rectangle2D.Float(10, 0, 5, 5)));
+        drawCmds.add(new FillDrawCmd());
+
+        assertEquals(drawCmds, ShapesOptimizer.optimize(drawCmds));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.pobjects.DictionaryEntries;
+import org.icepdf.core.util.Library;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the direct blit a large tiling pattern fill takes against the {@link TexturePaint} it replaces: both must
+ * put the same tiles in the same place, including when the pattern's origin doesn't fall on the fill's corner.
+ */
+public class TilingPatternBlitTest {
+
+    private static final int SIZE = 400;
+    // page space transform at 200%, y up.
+    private static final AffineTransform BASE = new AffineTransform(2, 0, 0, -2, 0, SIZE);
+    // large enough for the blit, FILL_SIDE x FILL_SIDE device pixels.
+    private static final int FILL_SIDE = 360;
+    private static final Shape FILL = new Rectangle2D.Double(10, 10, FILL_SIDE / 2.0, FILL_SIDE / 2.0);
+    // a red square in the lower left of the cell and a blue one in the upper right.
+    private static final byte[] CONTENT =
+            "1 0 0 rg 0 0 5 5 re f 0 0 1 rg 5 5 5 5 re f".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    public void blitMatchesTexturePaint() {
+        assertSamePixels(new AffineTransform(), new AffineTransform());
+    }
+
+    @Test
+    public void phasedOriginMatchesTexturePaint() {
+        // the pattern origin is off the cell grid of the fill, and the fill is drawn under its own translation.
+        assertSamePixels(AffineTransform.getTranslateInstance(3, 7), AffineTransform.getTranslateInstance(4, 2));
+    }
+
+    @Test
+    public void subPixelOriginMatchesTexturePaint() {
+        // a phase of a quarter and three quarters of a device pixel.
+        assertSamePixels(AffineTransform.getTranslateInstance(3.125, 7.375), new AffineTransform());
+    }
+
+    private static void assertSamePixels(AffineTransform patternMatrix, AffineTransform ctm) {
+        int[] blit = render(patternMatrix, ctm, true);
+        int[] texture = render(patternMatrix, ctm, false);
+        assertTrue(Arrays.stream(texture).anyMatch(rgb -> rgb == Color.RED.getRGB()));
+        assertTrue(Arrays.stream(texture).anyMatch(rgb -> rgb == Color.BLUE.getRGB()));
+        // the blit snaps tile edges to whole device pixels while the TexturePaint samples them, so an edge may land
+        // a pixel apart but never further.
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                if (!nearby(texture, x, y, blit[y * SIZE + x])) {
+                    fail("pixel " + x + "," + y + " blit " + Integer.toHexString(blit[y * SIZE + x]) +
+                            " texture " + Integer.toHexString(texture[y * SIZE + x]));
+                }
+            }
+        }
+        // and both paint the same amount of each colour, give or take a pixel along two sides of the fill.
+        for (Color color : new Color[]{Color.RED, Color.BLUE}) {
+            assertEquals(count(texture, color), count(blit, color), 2 * FILL_SIDE, color.toString());
+        }
+    }
+
+    private static boolean nearby(int[] pixels, int x, int y, int rgb) {
+        for (int j = Math.max(0, y - 1); j <= Math.min(SIZE - 1, y + 1); j++) {
+            for (int i = Math.max(0, x - 1); i <= Math.min(SIZE - 1, x + 1); i++) {
+                if (pixels[j * SIZE + i] == rgb) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static long count(int[] pixels, Color color) {
+        return Arrays.stream(pixels).filter(rgb -> rgb == color.getRGB()).count();
+    }
+
+    private static int[] render(AffineTransform patternMatrix, AffineTransform ctm, boolean blit) {
+        TilingPattern pattern = pattern(patternMatrix);
+        BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setClip(0, 0, SIZE, SIZE);
+        g.setTransform(BASE);
+        g.transform(ctm);
+        // without the fill shape the pattern always sets a TexturePaint.
+        pattern.paintPattern(g, BASE, blit ? FILL : null);
+        g.fill(FILL);
+        g.dispose();
+        return image.getRGB(0, 0, SIZE, SIZE, null, 0, SIZE);
+    }
+
+    private static TilingPattern pattern(AffineTransform matrix) {
+        DictionaryEntries entries = new DictionaryEntries();
+        entries.put(TilingPattern.PATTERNTYPE_KEY, 1);
+        entries.put(TilingPattern.PAINTTYPE_KEY, TilingPattern.PAINTING_TYPE_COLORED_TILING_PATTERN);
+        entries.put(TilingPattern.TILINGTYPE_KEY, TilingPattern.TILING_TYPE_CONSTANT_SPACING);
+        entries.put(TilingPattern.BBOX_KEY, Arrays.asList(0, 0, 10, 10));
+        entries.put(TilingPattern.XSTEP_KEY, 10);
+        entries.put(TilingPattern.YSTEP_KEY, 10);
+        double[] m = new double[6];
+        matrix.getMatrix(m);
+        entries.put(TilingPattern.MATRIX_KEY, Arrays.asList(m[0], m[1], m[2], m[3], m[4], m[5]));
+        TilingPattern pattern = new TilingPattern(new Library(), entries, CONTENT);
+        GraphicsState graphicsState = new GraphicsState(new Shapes());
+        pattern.setParentGraphicState(graphicsState);
+        pattern.init(graphicsState);
+        return pattern;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.pobjects.Reference;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the {@link TilingPatternTileCache} key: translation doesn't matter, scale, rotation and the uncoloured
+ * fill colour do, and the cache stays inside its byte budget.
+ */
+public class TilingPatternTileCacheTest {
+
+    private static final Reference PATTERN = new Reference(12, 0);
+
+    @Test
+    public void translationIsNotPartOfTheKey() {
+        TilingPatternTileCache cache = new TilingPatternTileCache();
+        BufferedImage tile = new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB);
+        cache.put(TilingPatternTileCache.createKey(PATTERN, new AffineTransform(2, 0, 0, -2, 10, 700), 4, null),
+                tile);
+
+        assertSame(tile, cache.get(TilingPatternTileCache.createKey(PATTERN,
+                new AffineTransform(2, 0, 0, -2, 355.5, 20), 4, null)));
+        assertNull(cache.get(TilingPatternTileCache.createKey(PATTERN,
+                new AffineTransform(0, 2, -2, 0, 10, 700), 4, null)));
+        assertNull(cache.get(TilingPatternTileCache.createKey(PATTERN,
+                new AffineTransform(2, 0, 0, -2, 10, 700), 3, null)));
+        assertNull(cache.get(TilingPatternTileCache.createKey(new Reference(13, 0),
+                new AffineTransform(2, 0, 0, -2, 10, 700), 4, null)));
+    }
+
+    @Test
+    public void uncolouredFillColourIsPartOfTheKey() {
+        TilingPatternTileCache cache = new TilingPatternTileCache();
+        cache.put(TilingPatternTileCache.createKey(PATTERN, new AffineTransform(), 1, Color.RED),
+                new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB));
+
+        assertNull(cache.get(TilingPatternTileCache.createKey(PATTERN, new AffineTransform(), 1, Color.BLUE)));
+        assertNotNull(cache.get(TilingPatternTileCache.createKey(PATTERN, new AffineTransform(), 1, Color.RED)));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedOverBudget() {
+        TilingPatternTileCache cache = new TilingPatternTileCache();
+        // 1024 x 1024 x 4 bytes, four of these fill the default 16 MB budget.
+        TilingPatternTileCache.Key first = null;
+        for (int i = 0; i < 5; i++) {
+            TilingPatternTileCache.Key key =
+                    TilingPatternTileCache.createKey(PATTERN, AffineTransform.getScaleInstance(i + 1, i + 1), 1, null);
+            if (first == null) first = key;
+            cache.put(key, new BufferedImage(1024, 1024, BufferedImage.TYPE_INT_ARGB));
+        }
+        assertNull(cache.get(first));
+        assertTrue(cache.getSize() <= 16L * 1024 * 1024);
+    }
+}
@@ -20,6 +20,8 @@ import org.junit.jupiter.api.Test;
 
 import java.awt.image.BufferedImage;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -79,4 +81,36 @@ public class ImagePoolTest {
         assertNull(pool.get(null));
         assertNull(pool.get(new Reference(9, 0)));
     }
+
+    @Test
+    public void pooledImagesLeaveASmallProxy() {
+        ImagePool pool = new ImagePool();
+        pool.put(new Reference(5, 0), new BufferedImage(640, 320, BufferedImage.TYPE_INT_RGB));
+        BufferedImage proxy = pool.getProxy(new Reference(5, 0));
+        assertNotNull(proxy);
+        // longest side fits the default proxy size, aspect ratio kept.
+        assertEquals(64, proxy.getWidth());
+        assertEquals(32, proxy.getHeight());
+        assertNull(pool.getProxy(new Reference(6, 0)));
+    }
+
+    @Test
+    public void repooledImagesKeepTheirProxy() {
+        ImagePool pool = new ImagePool();
+        Reference ref = new Reference(7, 0);
+        pool.put(ref, new BufferedImage(640, 320, BufferedImage.TYPE_INT_RGB));
+        BufferedImage proxy = pool.getProxy(ref);
+        assertNotNull(proxy);
+
+        // a second decode of the same image isn't downscaled again.
+        pool.put(ref, new BufferedImage(640, 320, BufferedImage.TYPE_INT_RGB));
+        assertSame(proxy, pool.getProxy(ref));
+
+        // nor is one re-decoded after the pooled image was evicted, the proxy outlives it.
+        pool.evict(Long.MAX_VALUE);
+        assertNull(pool.get(ref));
+        assertSame(proxy, pool.getProxy(ref));
+        pool.put(ref, new BufferedImage(640, 320, BufferedImage.TYPE_INT_RGB));
+        assertSame(proxy, pool.getProxy(ref));
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics.text;
+
+import org.icepdf.core.pobjects.Name;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the {@link PackedPageText} contract: packing keeps the sorted text and geometry, and selection/highlight state
+ * set through the flyweight views outlives the views.
+ */
+public class PackedPageTextTest {
+
+    private static final Name FONT = new Name("F1");
+
+    private static PageText pageText(String... lines) {
+        PageText pageText = new PageText();
+        float y = 700;
+        for (String line : lines) {
+            pageText.newLine();
+            float x = 72;
+            for (char c : line.toCharArray()) {
+                GlyphText glyph = new GlyphText(x, y, 6, 0, new Rectangle2D.Double(x, y, 6, 10), 0, c,
+                        String.valueOf(c), FONT);
+                pageText.addGlyph(glyph, null);
+                x += 6;
+            }
+            y -= 14;
+        }
+        return pageText;
+    }
+
+    @DisplayName("pack keeps the sorted lines, words and geometry")
+    @Test
+    public void packKeepsText() {
+        PageText expected = pageText("Hello packed world", "second line, here");
+        PageText packed = pageText("Hello packed world", "second line, here");
+        packed.pack();
+        assertTrue(packed.isPacked());
+
+        assertEquals(expected.toString(), packed.toString());
+        List<LineText> expectedLines = expected.getPageLines();
+        List<LineText> packedLines = packed.getPageLines();
+        assertEquals(expectedLines.size(), packedLines.size());
+        for (int l = 0; l < expectedLines.size(); l++) {
+            List<WordText> expectedWords = expectedLines.get(l).getWords();
+            List<WordText> packedWords = packedLines.get(l).getWords();
+            assertEquals(expectedWords, packedWords);
+            assertEquals(expectedLines.get(l).getBounds(), packedLines.get(l).getBounds());
+            for (int w = 0; w < expectedWords.size(); w++) {
+                assertEquals(expectedWords.get(w).isWhiteSpace(), packedWords.get(w).isWhiteSpace());
+                assertEquals(expectedWords.get(w).getGlyphs().size(), packedWords.get(w).getGlyphs().size());
+            }
+        }
+        GlyphText glyph = packedLines.get(0).getWords().get(0).getGlyphs().get(0);
+        assertEquals('H', glyph.getCid());
+        assertEquals(FONT, glyph.getFontName());
+        assertEquals(72f, glyph.getX());
+        assertEquals(expected.getTextSequence().text().toString(), packed.getTextSequence().text().toString());
+    }
+
+    @DisplayName("state set on a view survives rebuilding the views")
+    @Test
+    public void stateOutlivesViews() {
+        PageText pageText = pageText("find the needle here");
+        PackedPageText packed = new PackedPageText(pageText.getPageLines(), 0);
+
+        ArrayList<LineText> views = packed.lines();
+        WordText needle = null;
+        for (WordText word : views.get(0).getWords()) {
+            if (word.getText().equals("needle")) {
+                needle = word;
+            }
+        }
+        assertNotNull(needle);
+        needle.setHighlighted(true);
+        needle.setHasHighlight(true);
+        needle.setHighlightColor(Color.GREEN);
+        views.get(0).getWords().get(0).selectAll();
+
+        ArrayList<LineText> rebuilt = packed.lines();
+        assertNotSame(views.get(0), rebuilt.get(0));
+        WordText rebuiltNeedle = rebuilt.get(0).getWords().get(views.get(0).getWords().indexOf(needle));
+        assertEquals("needle", rebuiltNeedle.getText());
+        assertTrue(rebuiltNeedle.isHighlighted());
+        assertTrue(rebuiltNeedle.hasHighligh());
+        assertEquals(Color.GREEN, rebuiltNeedle.getHighlightColor());
+        assertEquals("find", rebuilt.get(0).getSelected().toString());
+
+        packed.clearHighlighted();
+        packed.clearSelected();
+        rebuilt = packed.lines();
+        assertFalse(rebuilt.get(0).getWords().get(views.get(0).getWords().indexOf(needle)).isHighlighted());
+        assertEquals("", rebuilt.get(0).getSelected().toString());
+    }
+
+    @DisplayName("packed columns stay within a few dozen bytes per glyph")
+    @Test
+    public void packedSize() {
+        PageText pageText = pageText("The quick brown fox jumps over the lazy dog",
+                "Pack my box with five dozen liquor jugs");
+        PackedPageText packed = new PackedPageText(pageText.getPageLines(), 0);
+        assertTrue(packed.getSizeInBytes() < packed.getGlyphCount() * 64L);
+        assertEquals(pageText.getPageLines().size(), packed.getLineCount());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Pins how {@link Library} resolves its {@link Library.ExecutionStrategy} and falls back to platform threads when
+ * the runtime has no virtual threads.
+ */
+public class LibraryExecutionStrategyTest {
+
+    @DisplayName("strategy property values are parsed, ignoring case and whitespace")
+    @Test
+    public void propertyResolution() {
+        assertEquals(Library.ExecutionStrategy.PLATFORM, Library.resolveExecutionStrategy("platform", true));
+        assertEquals(Library.ExecutionStrategy.PLATFORM, Library.resolveExecutionStrategy(" PLATFORM ", false));
+        assertEquals(Library.ExecutionStrategy.VIRTUAL, Library.resolveExecutionStrategy("Virtual", true));
+    }
+
+    @DisplayName("an unset or invalid property picks the runtime default")
+    @Test
+    public void defaultStrategy() {
+        assertEquals(Library.ExecutionStrategy.VIRTUAL, Library.resolveExecutionStrategy(null, true));
+        assertEquals(Library.ExecutionStrategy.PLATFORM, Library.resolveExecutionStrategy(null, false));
+        assertEquals(Library.ExecutionStrategy.VIRTUAL, Library.resolveExecutionStrategy("fibers", true));
+        assertEquals(Library.ExecutionStrategy.PLATFORM, Library.resolveExecutionStrategy("fibers", false));
+    }
+
+    @DisplayName("virtual falls back to platform without virtual threads")
+    @Test
+    public void virtualFallback() {
+        assertEquals(Library.ExecutionStrategy.PLATFORM, Library.resolveExecutionStrategy("virtual", false));
+    }
+
+    @DisplayName("asking for virtual threads the runtime doesn't have is an illegal state")
+    @Test
+    public void setVirtualUnsupported() {
+        assumeFalse(Library.isVirtualThreadSupported());
+        Library.ExecutionStrategy previous = Library.getExecutionStrategy();
+        assertThrows(IllegalStateException.class,
+                () -> Library.setExecutionStrategy(Library.ExecutionStrategy.VIRTUAL));
+        assertEquals(previous, Library.getExecutionStrategy());
+        assertThrows(IllegalArgumentException.class, () -> Library.setExecutionStrategy(null));
+    }
+
+    @DisplayName("blocking tasks run under either strategy")
+    @Test
+    public void executeBlocking() throws InterruptedException {
+        Library.ExecutionStrategy previous = Library.getExecutionStrategy();
+        try {
+            Library.setExecutionStrategy(Library.ExecutionStrategy.PLATFORM);
+            assertRuns();
+            assumeTrue(Library.isVirtualThreadSupported());
+            Library.setExecutionStrategy(Library.ExecutionStrategy.VIRTUAL);
+            assertRuns();
+            // switching back shuts the virtual executor down, later tasks still run.
+            Library.setExecutionStrategy(Library.ExecutionStrategy.PLATFORM);
+            assertRuns();
+        } finally {
+            Library.setExecutionStrategy(previous);
+        }
+    }
+
+    private static void assertRuns() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        Library.executeBlocking(ran::countDown);
+        assertTrue(ran.await(10, TimeUnit.SECONDS));
+    }
+}
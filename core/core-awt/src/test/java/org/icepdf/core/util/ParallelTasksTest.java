@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the {@link ParallelTasks} contract: every task runs once, results come back in task order, the caller runs
+ * what the executor doesn't, and a failure is only reported once all the tasks are done.
+ */
+public class ParallelTasksTest {
+
+    private static List<Callable<Integer>> tasks(int count, AtomicInteger runs) {
+        List<Callable<Integer>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int value = i;
+            tasks.add(() -> {
+                runs.incrementAndGet();
+                return value;
+            });
+        }
+        return tasks;
+    }
+
+    @DisplayName("every task runs once and results are in task order")
+    @Test
+    public void resultsInOrder() throws ExecutionException {
+        AtomicInteger runs = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7), ParallelTasks.invokeAll(tasks(8, runs), executor));
+            assertEquals(8, runs.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @DisplayName("the caller runs the tasks an executor doesn't pick up")
+    @Test
+    public void callerRuns() throws ExecutionException {
+        AtomicInteger runs = new AtomicInteger();
+        // an executor that never runs anything, and one that is shut down.
+        assertEquals(List.of(0, 1, 2), ParallelTasks.invokeAll(tasks(3, runs), command -> {
+        }));
+        assertEquals(List.of(0, 1, 2), ParallelTasks.invokeAll(tasks(3, runs), command -> {
+            throw new RejectedExecutionException();
+        }));
+        assertEquals(6, runs.get());
+    }
+
+    @DisplayName("a failure is reported once every task is done")
+    @Test
+    public void failureAfterAllTasks() {
+        AtomicInteger runs = new AtomicInteger();
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        tasks.add(() -> {
+            throw new IOException("first");
+        });
+        tasks.addAll(tasks(4, runs));
+        tasks.add(() -> {
+            throw new IllegalStateException("last");
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> ParallelTasks.invokeAll(tasks, executor));
+            assertEquals(4, runs.get());
+            IOException cause = assertThrows(IOException.class,
+                    () -> ParallelTasks.throwCause(e, IOException.class));
+            assertEquals("first", cause.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThrows(IllegalStateException.class, () -> ParallelTasks.throwCause(
+                new ExecutionException(new IOException()), InterruptedException.class));
+        assertThrows(ArithmeticException.class, () -> ParallelTasks.throwCause(
+                new ExecutionException(new ArithmeticException()), IOException.class));
+    }
+
+    @DisplayName("an interrupted caller still waits for the tasks and keeps its interrupt")
+    @Test
+    public void interruptedCaller() throws ExecutionException {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger done = new AtomicInteger();
+        Thread caller = Thread.currentThread();
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        tasks.add(() -> {
+            started.await();
+            caller.interrupt();
+            return 0;
+        });
+        tasks.add(() -> {
+            started.countDown();
+            Thread.sleep(200);
+            done.incrementAndGet();
+            return 1;
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertEquals(List.of(0, 1), ParallelTasks.invokeAll(tasks, executor));
+            assertEquals(1, done.get());
+            assertTrue(Thread.interrupted());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
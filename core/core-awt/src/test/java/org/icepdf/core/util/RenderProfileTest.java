@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util;
+
+import org.icepdf.core.pobjects.graphics.commands.PaintDrawCmd;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the {@link RenderProfile} contract: the predefined tiers are registered, the profile hints reach the
+ * graphics context, and the shading step cap resamples gradient stops.
+ */
+public class RenderProfileTest {
+
+    @DisplayName("predefined tiers are registered in order")
+    @Test
+    public void predefinedTiers() {
+        assertArrayEquals(new String[]{RenderProfile.PREVIEW, RenderProfile.SCREEN, RenderProfile.PRINT,
+                        RenderProfile.OCR, RenderProfile.ARCHIVE},
+                RenderProfile.getRegisteredProfiles().keySet().stream().limit(5).toArray());
+        RenderProfile ocr = RenderProfile.getProfile(RenderProfile.OCR);
+        assertTrue(ocr.isGlyphHinting());
+        assertTrue(ocr.isSkipKnockoutGroups());
+        assertEquals(GraphicsRenderingHints.VALUE_BLEND_APPROXIMATE, ocr.getBlendFidelity());
+        assertEquals(RenderingHints.VALUE_ANTIALIAS_OFF, ocr.getRenderingHint(RenderingHints.KEY_ANTIALIASING));
+        RenderProfile archive = RenderProfile.getProfile(RenderProfile.ARCHIVE);
+        assertEquals(GraphicsRenderingHints.VALUE_BLEND_EXACT, archive.getBlendFidelity());
+        assertEquals(0, archive.getShadingSteps());
+    }
+
+    @DisplayName("profile hints are readable from the graphics context")
+    @Test
+    public void hintsReachGraphics() {
+        RenderProfile profile = new RenderProfile("test", GraphicsRenderingHints.SCREEN);
+        profile.setBlendFidelity(GraphicsRenderingHints.VALUE_BLEND_APPROXIMATE);
+        profile.setSkipKnockoutGroups(true);
+        profile.setShadingSteps(3);
+
+        Graphics2D g = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).createGraphics();
+        assertFalse(GraphicsRenderingHints.isApproximateBlend(g));
+        assertFalse(GraphicsRenderingHints.isKnockoutOff(g));
+        assertEquals(0, GraphicsRenderingHints.getShadingSteps(g));
+        g.setRenderingHints(profile.getRenderingHints());
+        assertTrue(GraphicsRenderingHints.isApproximateBlend(g));
+        assertTrue(GraphicsRenderingHints.isKnockoutOff(g));
+        assertEquals(3, GraphicsRenderingHints.getShadingSteps(g));
+        // nested paints inherit the hints.
+        assertTrue(GraphicsRenderingHints.isKnockoutOff((Graphics2D) g.create()));
+        g.dispose();
+    }
+
+    @DisplayName("shading steps below two are rejected, zero and less remove the cap")
+    @Test
+    public void shadingStepsRange() {
+        RenderProfile profile = new RenderProfile("test", GraphicsRenderingHints.SCREEN);
+        profile.setShadingSteps(2);
+        assertEquals(2, profile.getShadingSteps());
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> profile.setShadingSteps(1));
+        assertTrue(e.getMessage().contains("at least 2"));
+        assertEquals(2, profile.getShadingSteps());
+        profile.setShadingSteps(0);
+        assertEquals(0, profile.getShadingSteps());
+        profile.setShadingSteps(-1);
+        assertEquals(0, profile.getShadingSteps());
+    }
+
+    @DisplayName("shading steps cap the gradient stops")
+    @Test
+    public void shadingSteps() {
+        float[] fractions = new float[10];
+        Color[] colors = new Color[10];
+        for (int i = 0; i < 10; i++) {
+            fractions[i] = i / 9f;
+            colors[i] = new Color(i * 25, 0, 0);
+        }
+        LinearGradientPaint gradient = new LinearGradientPaint(0, 0, 100, 0, fractions, colors);
+        PaintDrawCmd cmd = new PaintDrawCmd(gradient);
+
+        Graphics2D g = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).createGraphics();
+        cmd.paintOperand(g, null, null, null, null, null, false, null);
+        assertSame(gradient, g.getPaint());
+
+        g.setRenderingHint(GraphicsRenderingHints.KEY_SHADING_STEPS, 3);
+        cmd.paintOperand(g, null, null, null, null, null, false, null);
+        LinearGradientPaint stepped = (LinearGradientPaint) g.getPaint();
+        assertArrayEquals(new float[]{0f, fractions[5], 1f}, stepped.getFractions());
+        assertEquals(colors[9], stepped.getColors()[2]);
+        g.dispose();
+    }
+}
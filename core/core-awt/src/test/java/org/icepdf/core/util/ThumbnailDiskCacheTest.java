@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util;
+
+import org.icepdf.core.pobjects.Document;
+import org.icepdf.core.pobjects.PObject;
+import org.icepdf.core.pobjects.Page;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the {@link ThumbnailDiskCache} document key, which must change with any byte of the file and nothing else,
+ * and the invalidation of {@link ThumbnailProvider} thumbnails when a page is edited.
+ */
+public class ThumbnailDiskCacheTest {
+
+    @TempDir
+    Path cacheDir;
+
+    private static byte[] resource(String name) throws IOException {
+        try (InputStream in = ThumbnailDiskCacheTest.class.getResourceAsStream(name)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static Document open(byte[] data) throws Exception {
+        Document document = new Document();
+        document.setByteArray(data, 0, data.length, "thumbnail.pdf");
+        return document;
+    }
+
+    private static String documentKey(byte[] data) throws Exception {
+        Document document = open(data);
+        try {
+            return ThumbnailDiskCache.documentKey(document.getCatalog().getLibrary());
+        } finally {
+            document.dispose();
+        }
+    }
+
+    private long thumbnailFiles() throws IOException {
+        if (!Files.isDirectory(cacheDir)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.walk(cacheDir)) {
+            return files.filter(file -> file.toString().endsWith(".png")).count();
+        }
+    }
+
+    @DisplayName("the same bytes give the same key, opened again or not")
+    @Test
+    public void documentKeyStable() throws Exception {
+        byte[] data = resource("/updater/annotation_popup.pdf");
+        String key = documentKey(data);
+        assertNotNull(key);
+        assertEquals(key, documentKey(data.clone()));
+    }
+
+    @DisplayName("a change in the middle of the file gives a new key")
+    @Test
+    public void documentKeyCoversWholeFile() throws Exception {
+        byte[] data = resource("/updater/annotation_popup.pdf");
+        byte[] edited = data.clone();
+        // inside a stream, the document still opens.
+        edited[edited.length / 2] ^= 1;
+        assertNotEquals(documentKey(data), documentKey(edited));
+    }
+
+    @DisplayName("thumbnails are written, read back and removed")
+    @Test
+    public void putGetRemove() {
+        ThumbnailDiskCache cache = new ThumbnailDiskCache(cacheDir, 0);
+        cache.put("key", 3, "100_2", new BufferedImage(12, 8, BufferedImage.TYPE_INT_RGB));
+        BufferedImage image = cache.get("key", 3, "100_2");
+        assertNotNull(image);
+        assertEquals(12, image.getWidth());
+        assertNull(cache.get("key", 3, "200_2"));
+
+        cache.remove("key", 3, "100_2");
+        assertNull(cache.get("key", 3, "100_2"));
+    }
+
+    @DisplayName("an edited page's thumbnail is dropped and not written under the saved document's key")
+    @Test
+    public void editInvalidatesThumbnail() throws Exception {
+        Document document = open(resource("/blending/iso_fixture.pdf"));
+        try {
+            ThumbnailProvider provider = new ThumbnailProvider(document, 0.5f, Page.BOUNDARY_CROPBOX,
+                    new ThumbnailDiskCache(cacheDir, 0));
+            assertNotNull(provider.getThumbnail(0));
+            assertNotNull(provider.getCachedThumbnail(0));
+            assertEquals(1, thumbnailFiles());
+
+            Page page = document.getPageTree().getPage(0);
+            document.getStateManager().addChange(new PObject(page, page.getPObjectReference()));
+            assertNull(provider.getCachedThumbnail(0));
+
+            try (Stream<Path> files = Files.walk(cacheDir)) {
+                files.filter(file -> file.toString().endsWith(".png")).forEach(file -> file.toFile().delete());
+            }
+            assertNotNull(provider.getThumbnail(0));
+            assertEquals(0, thumbnailFiles());
+            provider.dispose();
+        } finally {
+            document.dispose();
+        }
+    }
+
+    @DisplayName("thumbnails are built for the provider's rotation and cached apart from unrotated ones")
+    @Test
+    public void rotatedThumbnail() throws Exception {
+        Document document = open(resource("/blending/iso_fixture.pdf"));
+        try {
+            ThumbnailDiskCache cache = new ThumbnailDiskCache(cacheDir, 0);
+            ThumbnailProvider upright = new ThumbnailProvider(document, 0.5f, Page.BOUNDARY_CROPBOX, cache);
+            ThumbnailProvider rotated = new ThumbnailProvider(document, 0.5f, Page.BOUNDARY_CROPBOX, 90, cache);
+            BufferedImage uprightThumbnail = upright.getThumbnail(0);
+            BufferedImage rotatedThumbnail = rotated.getThumbnail(0);
+            assertEquals(uprightThumbnail.getWidth(), rotatedThumbnail.getHeight());
+            assertEquals(uprightThumbnail.getHeight(), rotatedThumbnail.getWidth());
+            assertEquals(2, thumbnailFiles());
+            upright.dispose();
+            rotated.dispose();
+        } finally {
+            document.dispose();
+        }
+    }
+
+    @DisplayName("a request whose thumbnail can't be built is answered with null")
+    @Test
+    public void failedRequestNotifies() throws Exception {
+        Document document = open(resource("/blending/iso_fixture.pdf"));
+        try {
+            ThumbnailProvider provider = new ThumbnailProvider(document, 0.5f, Page.BOUNDARY_CROPBOX, null);
+            CountDownLatch answered = new CountDownLatch(1);
+            AtomicReference<BufferedImage> answer = new AtomicReference<>(new BufferedImage(1, 1,
+                    BufferedImage.TYPE_INT_RGB));
+            provider.requestThumbnail(document.getNumberOfPages() + 5, (pageIndex, thumbnail) -> {
+                answer.set(thumbnail);
+                answered.countDown();
+            });
+            assertTrue(answered.await(10, TimeUnit.SECONDS));
+            assertNull(answer.get());
+            provider.dispose();
+        } finally {
+            document.dispose();
+        }
+    }
+}
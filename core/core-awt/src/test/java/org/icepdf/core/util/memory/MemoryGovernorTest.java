@@ -0,0 +1,296 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util.memory;
+
+import org.icepdf.core.pobjects.DictionaryEntries;
+import org.icepdf.core.pobjects.Name;
+import org.icepdf.core.pobjects.Reference;
+import org.icepdf.core.pobjects.Stream;
+import org.icepdf.core.pobjects.graphics.images.references.ImagePool;
+import org.icepdf.core.util.Library;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the eviction order and accounting of the {@link MemoryGovernor}: cheapest to rebuild first, largest first
+ * for the same cost, down to the low water mark, per document and JVM wide.
+ */
+public class MemoryGovernorTest {
+
+    private static final long UNLIMITED = Long.MAX_VALUE;
+
+    @DisplayName("a document over budget evicts its cheapest consumer first")
+    @Test
+    public void documentBudgetCheapestFirst() {
+        MemoryGovernor governor = new MemoryGovernor(UNLIMITED, UNLIMITED);
+        DocumentMemory memory = governor.createDocumentMemory();
+        memory.setBudget(1000);
+        TestConsumer images = new TestConsumer(RebuildCost.DECODE, 600);
+        TestConsumer colours = new TestConsumer(RebuildCost.RECOMPUTE, 300);
+        memory.register(images);
+        memory.register(colours);
+
+        memory.allocated(900);
+        assertEquals(600, images.size);
+        assertEquals(300, colours.size);
+
+        images.size += 200;
+        memory.allocated(200);
+        assertEquals(0, colours.size, "cheapest evicted first");
+        assertEquals(800, images.size, "already under the low water mark");
+    }
+
+    @DisplayName("the JVM budget evicts across documents, largest first for the same cost")
+    @Test
+    public void jvmBudgetLargestFirst() {
+        MemoryGovernor governor = new MemoryGovernor(1000, UNLIMITED);
+        DocumentMemory first = governor.createDocumentMemory();
+        DocumentMemory second = governor.createDocumentMemory();
+        TestConsumer small = new TestConsumer(RebuildCost.DECODE, 300);
+        TestConsumer large = new TestConsumer(RebuildCost.DECODE, 500);
+        first.register(small);
+        second.register(large);
+        first.allocated(300);
+        second.allocated(500);
+        assertEquals(2, governor.getDocumentCount());
+        assertEquals(500, large.size);
+
+        large.size += 300;
+        second.allocated(300);
+        assertEquals(0, large.size, "largest evicted first");
+        assertEquals(300, small.size);
+        assertEquals(300, governor.getUsedBytes());
+
+        first.dispose();
+        assertEquals(1, governor.getDocumentCount());
+        assertEquals(0, governor.getUsedBytes());
+    }
+
+    @DisplayName("reserving room evicts before the allocation is made")
+    @Test
+    public void reserve() {
+        MemoryGovernor governor = new MemoryGovernor(UNLIMITED, 1000);
+        DocumentMemory memory = governor.createDocumentMemory();
+        assertEquals(1000, memory.getBudget());
+        TestConsumer tiles = new TestConsumer(RebuildCost.RENDER, 500);
+        memory.register(tiles);
+        memory.allocated(500);
+
+        memory.reserve(400);
+        assertEquals(500, tiles.size, "fits in the budget");
+        memory.reserve(600);
+        assertEquals(0, tiles.size);
+    }
+
+    @DisplayName("registered caches are counted and cleared as one group")
+    @Test
+    public void cacheGroup() {
+        MemoryGovernor governor = new MemoryGovernor(UNLIMITED, UNLIMITED);
+        DocumentMemory memory = governor.createDocumentMemory();
+        ConcurrentHashMap<Integer, Integer> colours = new ConcurrentHashMap<>();
+        ConcurrentHashMap<Integer, Integer> results = new ConcurrentHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            colours.put(i, i);
+            results.put(i, i);
+        }
+        memory.registerCache(colours, 10);
+        memory.registerCache(results, 20);
+        assertEquals(300, memory.getUsedBytes());
+
+        MemoryUsage usage = memory.getUsage();
+        assertEquals(300, usage.getUsedBytes());
+        assertEquals(UNLIMITED, usage.getBudget());
+        assertEquals(1, usage.getEntries().size());
+        assertEquals(RebuildCost.RECOMPUTE, usage.getEntries().get(0).getRebuildCost());
+
+        assertEquals(300, memory.evict(UNLIMITED));
+        assertTrue(colours.isEmpty());
+        assertTrue(results.isEmpty());
+    }
+
+    @DisplayName("usage adds up consumers of the same name across documents")
+    @Test
+    public void usageReport() {
+        MemoryGovernor governor = new MemoryGovernor(UNLIMITED, UNLIMITED);
+        governor.createDocumentMemory().register(new TestConsumer(RebuildCost.DECODE, 100));
+        governor.createDocumentMemory().register(new TestConsumer(RebuildCost.DECODE, 200));
+        governor.register(new TestConsumer(RebuildCost.PARSE, 50));
+        MemoryUsage usage = governor.getUsage();
+        assertEquals(350, usage.getUsedBytes());
+        long decode = usage.getEntries().stream()
+                .filter(entry -> entry.getRebuildCost() == RebuildCost.DECODE)
+                .mapToLong(MemoryUsage.Entry::getBytes).sum();
+        assertEquals(300, decode);
+    }
+
+    @DisplayName("the image pool accounts for and evicts its images")
+    @Test
+    public void imagePool() {
+        MemoryGovernor governor = new MemoryGovernor(UNLIMITED, UNLIMITED);
+        DocumentMemory memory = governor.createDocumentMemory();
+        ImagePool pool = new ImagePool(memory);
+        memory.register(pool);
+        Reference reference = new Reference(1, 0);
+        pool.put(reference, new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB));
+        assertEquals(400, pool.getSizeInBytes());
+        pool.put(reference, new BufferedImage(20, 10, BufferedImage.TYPE_INT_RGB));
+        assertEquals(800, pool.getSizeInBytes(), "a replaced image is no longer counted");
+
+        memory.setBudget(500);
+        assertNull(pool.get(reference));
+        assertEquals(0, pool.getSizeInBytes());
+        assertNotNull(pool.getProxy(reference), "proxies outlive eviction");
+    }
+
+    @DisplayName("evicted stream bytes are decoded again on the next use")
+    @Test
+    public void decodedStreams() throws IOException {
+        byte[] payload = "q 1 0 0 1 0 0 cm Q ".repeat(100).getBytes(StandardCharsets.ISO_8859_1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
+            deflater.write(payload);
+        }
+        DictionaryEntries entries = new DictionaryEntries();
+        entries.put(Stream.FILTER_KEY, new Name("FlateDecode"));
+        Library library = new Library();
+        Stream stream = new Stream(library, entries, out.toByteArray());
+
+        assertArrayEquals(payload, stream.getDecodedStreamBytes());
+        assertEquals(payload.length, library.getDecodedStreamCache().getSizeInBytes());
+
+        library.getDocumentMemory().evict(UNLIMITED);
+        assertNull(stream.getDecompressedBytes());
+        assertEquals(0, library.getDecodedStreamCache().getSizeInBytes());
+        assertArrayEquals(payload, stream.getDecodedStreamBytes());
+
+        stream.disposeDecompressed();
+        assertEquals(0, library.getDecodedStreamCache().getSizeInBytes());
+
+        // edited bytes are the only copy and are never evicted.
+        stream.setRawBytes(payload);
+        library.getDocumentMemory().evict(UNLIMITED);
+        assertSame(payload, stream.getDecompressedBytes());
+    }
+
+    @DisplayName("stream bytes decoded over the budget are evicted, not kept uncounted")
+    @Test
+    public void decodedStreamOverBudget() throws IOException {
+        byte[] payload = "q 1 0 0 1 0 0 cm Q ".repeat(100).getBytes(StandardCharsets.ISO_8859_1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
+            deflater.write(payload);
+        }
+        DictionaryEntries entries = new DictionaryEntries();
+        entries.put(Stream.FILTER_KEY, new Name("FlateDecode"));
+        Library library = new Library();
+        library.getDocumentMemory().setBudget(payload.length / 2);
+        Stream stream = new Stream(library, entries, out.toByteArray());
+
+        // the decode still gets its bytes, but the allocation it reports evicts them from the stream.
+        assertArrayEquals(payload, stream.getDecodedStreamBytes());
+        assertNull(stream.getDecompressedBytes());
+        assertEquals(0, library.getDecodedStreamCache().getSizeInBytes());
+    }
+
+    @DisplayName("decodes racing with eviction always return the decoded bytes")
+    @Test
+    public void decodeDuringEviction() throws Exception {
+        byte[] payload = "0 0 1 rg 10 10 20 20 re f ".repeat(200).getBytes(StandardCharsets.ISO_8859_1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
+            deflater.write(payload);
+        }
+        DictionaryEntries entries = new DictionaryEntries();
+        entries.put(Stream.FILTER_KEY, new Name("FlateDecode"));
+        Library library = new Library();
+        Stream stream = new Stream(library, entries, out.toByteArray());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean decoding = new AtomicBoolean(true);
+        try {
+            Future<?> evictions = executor.submit(() -> {
+                while (decoding.get()) {
+                    library.getDocumentMemory().evict(UNLIMITED);
+                }
+            });
+            List<Future<?>> decodes = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                decodes.add(executor.submit(() -> {
+                    for (int j = 0; j < 500; j++) {
+                        assertArrayEquals(payload, stream.getDecodedStreamBytes());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> decode : decodes) {
+                decode.get(30, TimeUnit.SECONDS);
+            }
+            decoding.set(false);
+            evictions.get(30, TimeUnit.SECONDS);
+        } finally {
+            decoding.set(false);
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class TestConsumer implements MemoryConsumer {
+        private final RebuildCost rebuildCost;
+        private long size;
+
+        TestConsumer(RebuildCost rebuildCost, long size) {
+            this.rebuildCost = rebuildCost;
+            this.size = size;
+        }
+
+        @Override
+        public String getName() {
+            return rebuildCost.name();
+        }
+
+        @Override
+        public long getSizeInBytes() {
+            return size;
+        }
+
+        @Override
+        public RebuildCost getRebuildCost() {
+            return rebuildCost;
+        }
+
+        @Override
+        public long evict(long bytes) {
+            long freed = size;
+            size = 0;
+            return freed;
+        }
+    }
+}
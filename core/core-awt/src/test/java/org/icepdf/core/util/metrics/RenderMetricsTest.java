@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util.metrics;
+
+import org.icepdf.core.pobjects.DictionaryEntries;
+import org.icepdf.core.pobjects.Name;
+import org.icepdf.core.pobjects.Stream;
+import org.icepdf.core.util.Library;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the {@link RenderMetrics} contract: nothing is measured without a listener, measurements reach the
+ * listeners with their document, and the recorder and meter bridge aggregate and tag them.
+ */
+public class RenderMetricsTest {
+
+    @DisplayName("no timestamps are taken without a listener")
+    @Test
+    public void disabledByDefault() {
+        assertFalse(RenderMetrics.isEnabled());
+        assertEquals(0, RenderMetrics.start());
+        // a stop without a start is ignored.
+        RenderMetrics.stop(RenderPhase.PAGE_PAINT, 0);
+    }
+
+    @DisplayName("recorder totals are kept per document")
+    @Test
+    public void recorderTotals() {
+        MetricsRecorder recorder = new MetricsRecorder();
+        RenderMetrics.addListener(recorder);
+        try {
+            assertTrue(RenderMetrics.isEnabled());
+            Library library = new Library();
+            RenderMetrics.stop(RenderPhase.IMAGE_DECODE, library, RenderMetrics.start());
+            RenderMetrics.stop(RenderPhase.IMAGE_DECODE, library, RenderMetrics.start());
+            RenderMetrics.stop(RenderPhase.COMPOSITING, RenderMetrics.start());
+            RenderMetrics.cacheAccessed(CacheType.IMAGE, library, true);
+            RenderMetrics.cacheAccessed(CacheType.IMAGE, library, true);
+            RenderMetrics.cacheAccessed(CacheType.IMAGE, library, false);
+            RenderMetrics.bytesDecoded(library, "FlateDecode", 100);
+            RenderMetrics.bytesDecoded(library, "FlateDecode", 20);
+
+            DocumentMetrics metrics = recorder.getDocumentMetrics(library);
+            assertNotNull(metrics);
+            assertEquals(2, metrics.getPhaseCount(RenderPhase.IMAGE_DECODE));
+            assertEquals(0, metrics.getPhaseCount(RenderPhase.COMPOSITING));
+            assertTrue(metrics.getPageIndexes().isEmpty(), "no page scope was entered");
+            assertEquals(2.0 / 3.0, metrics.getCacheHitRate(CacheType.IMAGE), 1e-9);
+            assertTrue(Double.isNaN(metrics.getCacheHitRate(CacheType.FONT)));
+            assertEquals(Long.valueOf(120), metrics.getBytesDecoded().get("FlateDecode"));
+            assertEquals(1, recorder.getUnattributedMetrics().getPhaseCount(RenderPhase.COMPOSITING));
+
+            metrics.reset();
+            assertEquals(0, metrics.getPhaseCount(RenderPhase.IMAGE_DECODE));
+            assertTrue(metrics.getBytesDecoded().isEmpty());
+        } finally {
+            RenderMetrics.removeListener(recorder);
+        }
+        assertFalse(RenderMetrics.isEnabled());
+    }
+
+    @DisplayName("decoded stream bytes are reported by filter chain")
+    @Test
+    public void streamBytesDecoded() throws Exception {
+        byte[] payload = "0 0 1 rg 100 100 200 200 re f\n".repeat(100).getBytes(StandardCharsets.US_ASCII);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
+            deflater.write(payload);
+        }
+        DictionaryEntries entries = new DictionaryEntries();
+        entries.put(Stream.FILTER_KEY, new Name("FlateDecode"));
+        Library library = new Library();
+        Stream stream = new Stream(library, entries, out.toByteArray());
+
+        MetricsRecorder recorder = new MetricsRecorder();
+        RenderMetrics.addListener(recorder);
+        try {
+            stream.getDecodedStreamBytes();
+        } finally {
+            RenderMetrics.removeListener(recorder);
+        }
+        assertEquals(Long.valueOf(payload.length),
+                recorder.getDocumentMetrics(library).getBytesDecoded().get("FlateDecode"));
+    }
+
+    @DisplayName("meter bridge names and tags the meters")
+    @Test
+    public void meterBridge() {
+        List<String> recorded = new ArrayList<>();
+        MeterRegistryBridge bridge = new MeterRegistryBridge(
+                (name, nanos, tags) -> recorded.add(name + Arrays.toString(tags)),
+                (name, amount, tags) -> recorded.add(name + Arrays.toString(tags) + "=" + (long) amount));
+        bridge.phaseCompleted(null, 3, RenderPhase.FONT_LOAD, 10);
+        bridge.cacheAccessed(null, CacheType.OBJECT, false);
+        bridge.bytesDecoded(null, "ASCII85Decode+FlateDecode", 42);
+        assertEquals(Arrays.asList(
+                "icepdf.render.phase[phase, font_load]",
+                "icepdf.cache.access[cache, object, result, miss]=1",
+                "icepdf.stream.decoded.bytes[filter, ASCII85Decode+FlateDecode]=42"), recorded);
+    }
+}
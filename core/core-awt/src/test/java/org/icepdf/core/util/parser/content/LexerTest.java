@@ -15,6 +15,7 @@ package org.icepdf.core.util.parser.content;
 
 import org.icepdf.core.pobjects.Dictionary;
 import org.icepdf.core.pobjects.DictionaryEntries;
+import org.icepdf.core.pobjects.Name;
 import org.icepdf.core.pobjects.Stream;
 import org.icepdf.core.pobjects.StringObject;
 import org.icepdf.core.pobjects.filters.ASCIIHexDecode;
@@ -23,12 +24,18 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.DeflaterOutputStream;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 class LexerTest
 {
@@ -55,4 +62,63 @@ class LexerTest
         assertEquals(Operands.Tj,lexer.next());
         assertEquals(Operands.ET,lexer.next());
     }
+
+    @DisplayName("Lexer - large compressed stream lexed through a window")
+    @Test
+    public void read_streamed_content() throws IOException
+    {
+        // random hex strings keep the compressed stream above the default streamed decode threshold of 1MB.
+        Random random = new Random(42);
+        StringBuilder content = new StringBuilder("BT /F1 12 Tf\n");
+        for (int i = 0; i < 12000; i++) {
+            content.append('<');
+            for (int j = 0; j < 200; j++) {
+                content.append(Integer.toHexString(random.nextInt(16)));
+            }
+            content.append("> Tj 12.5 -3 Td\n");
+            if (i % 1000 == 0) {
+                content.append("BI /W 10 /H 10 /BPC 8 /CS /G ID ");
+                for (int j = 0; j < 100; j++) {
+                    content.append((char) ('a' + random.nextInt(26)));
+                }
+                content.append(" EI\n");
+            }
+        }
+        content.append("ET");
+        byte[] payload = content.toString().getBytes(StandardCharsets.US_ASCII);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
+            deflater.write(payload);
+        }
+        DictionaryEntries entries = new DictionaryEntries();
+        entries.put(Stream.FILTER_KEY, new Name("FlateDecode"));
+        Stream compressed = new Stream(new Library(), entries, out.toByteArray());
+
+        List<String> expected = lex(Stream.fromByteArray(payload, new Dictionary(new Library(), new DictionaryEntries())));
+        List<String> streamed = lex(new Stream[]{compressed});
+
+        assertEquals(expected, streamed);
+        // the streamed decode isn't kept with the stream.
+        assertNull(compressed.getDecompressedBytes());
+    }
+
+    private static List<String> lex(Stream[] streams) throws IOException
+    {
+        Lexer lexer = new Lexer();
+        lexer.setContentStream(streams, null);
+        List<String> tokens = new ArrayList<>();
+        try {
+            Object token;
+            while ((token = lexer.next()) != null) {
+                String value = token instanceof StringObject ? ((StringObject) token).getHexString() : token.toString();
+                tokens.add(value + "@" + lexer.getPos());
+                if (token.equals(Operands.ID)) {
+                    tokens.add(new String(lexer.getImageBytes(), StandardCharsets.US_ASCII) + "@" + lexer.getPos());
+                }
+            }
+        } finally {
+            lexer.close();
+        }
+        return tokens;
+    }
 }
\ No newline at end of file
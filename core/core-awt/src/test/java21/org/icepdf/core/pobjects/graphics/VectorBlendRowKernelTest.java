@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the Vector API kernels of the JDK 21 classes to the scalar {@link BlendRowKernel}s: every mode with a
+ * vector kernel must give the same pixels, bit for bit, across whole chunks, vector tails and odd offsets.  Run by
+ * the testJava21 task with {@code --add-modules jdk.incubator.vector}.
+ */
+public class VectorBlendRowKernelTest {
+
+    private static final float[] ALPHAS = {1f, 0.5f, 0.13f};
+    // one and a bit chunks, a single short vector tail and less than a vector.
+    private static final int[] WIDTHS = {1024 + 37, 1024, 67, 3};
+
+    @DisplayName("the JDK 21 kernel support uses the vector kernels")
+    @Test
+    public void vectorized() {
+        assertTrue(VectorBlendRowKernel.isSupported(), "platform vectors are too narrow for the kernels");
+        assertTrue(BlendKernelSupport.isVectorized());
+        for (BlendComposite.BlendingMode mode : BlendComposite.BlendingMode.values()) {
+            BlendRowKernel kernel = BlendRowKernel.forMode(mode);
+            if (kernel != null) {
+                assertEquals(VectorBlendRowKernel.supports(mode), kernel instanceof VectorBlendRowKernel,
+                        mode.toString());
+            }
+        }
+    }
+
+    @DisplayName("vector kernels match the scalar kernels")
+    @Test
+    public void kernelsMatchScalar() {
+        Random random = new Random(2101);
+        int[] src = pixels(random, 4096);
+        int[] dst = pixels(random, 4096);
+        int kernels = 0;
+        for (BlendComposite.BlendingMode mode : BlendComposite.BlendingMode.values()) {
+            if (!VectorBlendRowKernel.supports(mode)) {
+                continue;
+            }
+            kernels++;
+            BlendRowKernel scalar = BlendRowKernel.scalarKernel(mode);
+            BlendRowKernel vector = new VectorBlendRowKernel(mode, scalar);
+            for (boolean transparentBackdrop : new boolean[]{false, true}) {
+                for (float alpha : ALPHAS) {
+                    for (int width : WIDTHS) {
+                        for (int offset : new int[]{0, 5}) {
+                            int[] expected = new int[offset + width];
+                            int[] actual = new int[offset + width];
+                            scalar.blendRow(src, offset, dst, offset + 1, expected, offset, width, alpha,
+                                    transparentBackdrop);
+                            vector.blendRow(src, offset, dst, offset + 1, actual, offset, width, alpha,
+                                    transparentBackdrop);
+                            assertArrayEquals(expected, actual, mode + " alpha " + alpha + " backdrop " +
+                                    transparentBackdrop + " width " + width + " offset " + offset);
+                        }
+                    }
+                }
+            }
+            // in place, as the compositing context blends into the backdrop row.
+            int[] expected = Arrays.copyOf(dst, dst.length);
+            int[] actual = Arrays.copyOf(dst, dst.length);
+            scalar.blendRow(src, 0, expected, 0, expected, 0, src.length, 0.75f, false);
+            vector.blendRow(src, 0, actual, 0, actual, 0, src.length, 0.75f, false);
+            assertArrayEquals(expected, actual, mode + " in place");
+        }
+        assertEquals(9, kernels);
+    }
+
+    // random pixels with plenty of the special cases: transparent, opaque, black and white.
+    private static int[] pixels(Random random, int count) {
+        int[] pixels = new int[count];
+        for (int i = 0; i < count; i++) {
+            int pixel = random.nextInt();
+            switch (random.nextInt(8)) {
+                case 0:
+                    pixel &= 0x00FFFFFF;
+                    break;
+                case 1:
+                    pixel |= 0xFF000000;
+                    break;
+                case 2:
+                    pixel |= 0x00FFFFFF;
+                    break;
+                case 3:
+                    pixel &= 0xFF000000;
+                    break;
+                default:
+                    break;
+            }
+            pixels[i] = pixel;
+        }
+        return pixels;
+    }
+}
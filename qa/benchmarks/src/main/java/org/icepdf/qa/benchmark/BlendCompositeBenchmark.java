@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.qa.benchmark;
+
+import org.icepdf.core.pobjects.Name;
+import org.icepdf.core.pobjects.graphics.BlendComposite;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.WritableRaster;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code BlendComposite.compose} throughput blending a 512 x 512 ARGB source over an ARGB backdrop, per blend
+ * mode.
+ *
+ * @since 7.5
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlendCompositeBenchmark {
+
+    private static final int SIZE = 512;
+
+    @Param({"Multiply", "Screen", "Overlay", "SoftLight", "Difference", "HardLight"})
+    public String mode;
+
+    private CompositeContext context;
+    private WritableRaster source;
+    private WritableRaster backdrop;
+    private WritableRaster result;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(SyntheticDocuments.SEED);
+        BufferedImage sourceImage = createImage(random);
+        BufferedImage backdropImage = createImage(random);
+        ColorModel colorModel = sourceImage.getColorModel();
+        Composite composite = BlendComposite.getInstance(new Name(mode), 0.8f);
+        context = composite.createContext(colorModel, colorModel, null);
+        source = sourceImage.getRaster();
+        backdrop = backdropImage.getRaster();
+        result = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB).getRaster();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.dispose();
+    }
+
+    @Benchmark
+    public WritableRaster compose() {
+        context.compose(source, backdrop, result);
+        return result;
+    }
+
+    private static BufferedImage createImage(Random random) {
+        BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = new int[SIZE * SIZE];
+        for (int i = 0; i < pixels.length; i++) {
+            // mostly opaque with some translucent and transparent pixels.
+            int alpha = random.nextInt(4) == 0 ? random.nextInt(256) : 0xFF;
+            pixels[i] = alpha << 24 | random.nextInt(0x1000000);
+        }
+        image.setRGB(0, 0, SIZE, SIZE, pixels, 0, SIZE);
+        return image;
+    }
+}
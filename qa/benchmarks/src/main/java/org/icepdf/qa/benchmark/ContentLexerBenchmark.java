@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.qa.benchmark;
+
+import org.icepdf.core.pobjects.DictionaryEntries;
+import org.icepdf.core.pobjects.Stream;
+import org.icepdf.core.util.parser.content.Lexer;
+import org.icepdf.qa.benchmark.corpus.SyntheticPdfGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Content stream {@code Lexer} throughput over the decoded content of a generated text or vector page, the lexer
+ * alone without the content parser's operator handling.
+ *
+ * @since 7.5
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentLexerBenchmark {
+
+    @Param({"TEXT", "VECTOR"})
+    public SyntheticPdfGenerator.Profile profile;
+
+    private Stream[] streams;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(SyntheticDocuments.SEED);
+        byte[] content = profile == SyntheticPdfGenerator.Profile.VECTOR ?
+                SyntheticPdfGenerator.createVectorContent(random) :
+                SyntheticPdfGenerator.createTextContent(random);
+        Stream stream = new Stream(new DictionaryEntries(), new byte[0]);
+        // decoded bytes, so the benchmark measures the lexer and not the inflater.
+        stream.setRawBytes(content);
+        streams = new Stream[]{stream};
+    }
+
+    @Benchmark
+    public int tokenize(Blackhole blackhole) throws IOException {
+        Lexer lexer = new Lexer();
+        lexer.setContentStream(streams, null);
+        int count = 0;
+        Object token;
+        while ((token = lexer.next()) != null) {
+            blackhole.consume(token);
+            count++;
+        }
+        return count;
+    }
+}
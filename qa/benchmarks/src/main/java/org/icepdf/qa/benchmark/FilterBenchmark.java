@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.qa.benchmark;
+
+import org.icepdf.core.pobjects.DictionaryEntries;
+import org.icepdf.core.pobjects.Name;
+import org.icepdf.core.pobjects.filters.FlateDecode;
+import org.icepdf.core.pobjects.filters.PredictorDecode;
+import org.icepdf.core.util.Library;
+import org.icepdf.qa.benchmark.corpus.SyntheticPdfGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code FlateDecode} and {@code PredictorDecode} throughput decoding the samples of a generated RGB image, the
+ * Flate filter alone, the PNG Up predictor alone and the two chained as for an image stream.
+ *
+ * @since 7.5
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterBenchmark {
+
+    private static final int COMPONENTS = 3;
+    private static final int COLUMNS = 256;
+
+    private Library library;
+    private DictionaryEntries plainEntries;
+    private DictionaryEntries predictorEntries;
+    private byte[] deflated;
+    private byte[] predicted;
+    private byte[] deflatedPredicted;
+    private final byte[] readBuffer = new byte[16 * 1024];
+
+    @Setup
+    public void setup() {
+        library = new Library();
+        byte[] samples = SyntheticPdfGenerator.createImageSamples(new Random(SyntheticDocuments.SEED), COMPONENTS);
+        predicted = SyntheticPdfGenerator.applyPngUpPredictor(samples, COLUMNS * COMPONENTS);
+        deflated = SyntheticPdfGenerator.deflate(samples);
+        deflatedPredicted = SyntheticPdfGenerator.deflate(predicted);
+
+        plainEntries = new DictionaryEntries();
+        predictorEntries = new DictionaryEntries();
+        DictionaryEntries decodeParms = new DictionaryEntries();
+        decodeParms.put(new Name("Predictor"), PredictorDecode.PREDICTOR_PNG_UP);
+        decodeParms.put(new Name("Colors"), COMPONENTS);
+        decodeParms.put(new Name("BitsPerComponent"), 8);
+        decodeParms.put(new Name("Columns"), COLUMNS);
+        predictorEntries.put(new Name("DecodeParms"), decodeParms);
+    }
+
+    @Benchmark
+    public long flateDecode() throws IOException {
+        return drain(new FlateDecode(library, plainEntries, new ByteArrayInputStream(deflated)));
+    }
+
+    @Benchmark
+    public long predictorDecode() throws IOException {
+        return drain(new PredictorDecode(new ByteArrayInputStream(predicted), library, predictorEntries));
+    }
+
+    @Benchmark
+    public long flateAndPredictorDecode() throws IOException {
+        InputStream flate = new FlateDecode(library, predictorEntries, new ByteArrayInputStream(deflatedPredicted));
+        return drain(new PredictorDecode(flate, library, predictorEntries));
+    }
+
+    private long drain(InputStream input) throws IOException {
+        long total = 0;
+        int count;
+        try (InputStream in = input) {
+            while ((count = in.read(readBuffer)) > 0) {
+                total += count;
+            }
+        }
+        return total;
+    }
+}
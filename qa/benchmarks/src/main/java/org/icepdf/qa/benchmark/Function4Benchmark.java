@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.qa.benchmark;
+
+import org.icepdf.core.pobjects.DictionaryEntries;
+import org.icepdf.core.pobjects.Name;
+import org.icepdf.core.pobjects.Stream;
+import org.icepdf.core.pobjects.functions.Function;
+import org.icepdf.core.util.Library;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PostScript calculator (type 4) function evaluation over the 256 samples of a shading lookup.  {@code evaluate}
+ * uses a new function for each invocation so every sample runs the PostScript program, {@code evaluateCached}
+ * reuses one function and measures the result cache.
+ *
+ * @since 7.5
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Function4Benchmark {
+
+    private static final int SAMPLES = 256;
+
+    // gray input to an RGB ramp, a typical shading tint transform.
+    private static final String PROGRAM =
+            "{ dup 0.5 lt { 2 mul dup 1 exch sub 0 } { 0.5 sub 2 mul 0 exch dup 1 exch sub } ifelse " +
+                    "3 -1 roll 0.3 mul 3 1 roll exch 0.59 mul add exch 0.11 mul add " +
+                    "dup 1 gt { pop 1 } if dup 0.5 mul 1 index dup mul }";
+
+    private Library library;
+    private Stream functionStream;
+    private Function cachedFunction;
+    private float[][] inputs;
+
+    @Setup
+    public void setup() {
+        library = new Library();
+        DictionaryEntries entries = new DictionaryEntries();
+        entries.put(new Name("FunctionType"), 4);
+        entries.put(new Name("Domain"), Arrays.asList(0, 1));
+        entries.put(new Name("Range"), Arrays.asList(0, 1, 0, 1, 0, 1));
+        functionStream = new Stream(library, entries, PROGRAM.getBytes(StandardCharsets.US_ASCII));
+        cachedFunction = Function.getFunction(library, functionStream);
+        inputs = new float[SAMPLES][];
+        for (int i = 0; i < SAMPLES; i++) {
+            inputs[i] = new float[]{i / (float) (SAMPLES - 1)};
+        }
+    }
+
+    @Benchmark
+    public void evaluate(Blackhole blackhole) {
+        Function function = Function.getFunction(library, functionStream);
+        for (float[] input : inputs) {
+            blackhole.consume(function.calculate(input));
+        }
+    }
+
+    @Benchmark
+    public void evaluateCached(Blackhole blackhole) {
+        for (float[] input : inputs) {
+            blackhole.consume(cachedFunction.calculate(input));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.qa.benchmark;
+
+import org.icepdf.core.pobjects.Document;
+import org.icepdf.core.pobjects.structure.exceptions.ObjectStateException;
+import org.icepdf.core.util.Library;
+import org.icepdf.core.util.parser.object.Parser;
+import org.icepdf.qa.benchmark.corpus.SyntheticPdfGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Object {@code Lexer}/{@code Parser} throughput: parsing every top level object of a generated document, and
+ * opening a document, which for the object stream profile parses the cross-reference stream and the object
+ * streams.
+ *
+ * @since 7.5
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ObjectParserBenchmark {
+
+    private static final Pattern OBJECT_START = Pattern.compile("(?m)^\\d+ 0 obj");
+
+    @Param({"TEXT", "OBJECT_STREAM"})
+    public SyntheticPdfGenerator.Profile profile;
+
+    private ByteBuffer buffer;
+    private int[] objectOffsets;
+    private Library library;
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] data = SyntheticDocuments.getBytes(profile);
+        buffer = ByteBuffer.wrap(data).asReadOnlyBuffer();
+        // generated files have no binary data before a stream keyword, a text scan finds the objects.
+        Matcher matcher = OBJECT_START.matcher(new String(data, StandardCharsets.ISO_8859_1));
+        int[] offsets = new int[64];
+        int count = 0;
+        while (matcher.find()) {
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            offsets[count++] = matcher.start();
+        }
+        objectOffsets = Arrays.copyOf(offsets, count);
+        library = new Library();
+    }
+
+    @Benchmark
+    public void parseObjects(Blackhole blackhole) throws IOException, ObjectStateException {
+        Parser parser = new Parser(library);
+        for (int offset : objectOffsets) {
+            blackhole.consume(parser.getPObject(buffer.duplicate(), offset));
+        }
+    }
+
+    @Benchmark
+    public int openDocument() throws IOException {
+        Document document = SyntheticDocuments.open(profile);
+        try {
+            return document.getNumberOfPages();
+        } finally {
+            document.dispose();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.qa.benchmark;
+
+import org.icepdf.core.pobjects.DictionaryEntries;
+import org.icepdf.core.pobjects.Name;
+import org.icepdf.core.pobjects.graphics.images.ImageStream;
+import org.icepdf.core.pobjects.graphics.images.RawDecoder;
+import org.icepdf.core.util.Library;
+import org.icepdf.qa.benchmark.corpus.SyntheticPdfGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code RawDecoder} throughput converting the uncompressed samples of a generated RGB or gray image into a
+ * {@link BufferedImage}.  A new image stream is set up for each invocation so no decoded state is reused.
+ *
+ * @since 7.5
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RawDecoderBenchmark {
+
+    private static final int SIZE = 256;
+
+    @Param({"DeviceRGB", "DeviceGray"})
+    public String colorSpace;
+
+    private Library library;
+    private byte[] samples;
+    private ImageStream imageStream;
+
+    @Setup
+    public void setup() {
+        library = new Library();
+        int components = "DeviceGray".equals(colorSpace) ? 1 : 3;
+        samples = SyntheticPdfGenerator.createImageSamples(new Random(SyntheticDocuments.SEED), components);
+    }
+
+    @Setup(Level.Invocation)
+    public void createImageStream() {
+        DictionaryEntries entries = new DictionaryEntries();
+        entries.put(new Name("Type"), new Name("XObject"));
+        entries.put(new Name("Subtype"), new Name("Image"));
+        entries.put(new Name("Width"), SIZE);
+        entries.put(new Name("Height"), SIZE);
+        entries.put(new Name("BitsPerComponent"), 8);
+        entries.put(new Name("ColorSpace"), new Name(colorSpace));
+        imageStream = new ImageStream(library, entries, samples);
+    }
+
+    @Benchmark
+    public BufferedImage decode() {
+        return new RawDecoder(imageStream, null).decode();
+    }
+}
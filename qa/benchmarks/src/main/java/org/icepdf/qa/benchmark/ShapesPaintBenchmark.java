@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.qa.benchmark;
+
+import org.icepdf.core.pobjects.Document;
+import org.icepdf.core.pobjects.Page;
+import org.icepdf.core.pobjects.graphics.Shapes;
+import org.icepdf.core.pobjects.PDimension;
+import org.icepdf.qa.benchmark.corpus.SyntheticPdfGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code Shapes.paint} of an initialized page into a 150 dpi ARGB image, the content is parsed once in setup so
+ * only the painting is measured.
+ *
+ * @since 7.5
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShapesPaintBenchmark {
+
+    private static final float ZOOM = 150f / 72f;
+
+    @Param({"VECTOR", "TEXT", "IMAGE"})
+    public SyntheticPdfGenerator.Profile profile;
+
+    private Document document;
+    private Shapes shapes;
+    private AffineTransform pageTransform;
+    private BufferedImage image;
+
+    @Setup
+    public void setup() throws IOException, InterruptedException {
+        document = SyntheticDocuments.open(profile);
+        Page page = document.getPageTree().getPage(0);
+        page.init();
+        shapes = page.getShapes();
+        pageTransform = page.getPageTransform(Page.BOUNDARY_CROPBOX, 0, ZOOM);
+        PDimension size = page.getSize(Page.BOUNDARY_CROPBOX, 0, ZOOM);
+        image = new BufferedImage((int) Math.ceil(size.getWidth()), (int) Math.ceil(size.getHeight()),
+                BufferedImage.TYPE_INT_ARGB);
+    }
+
+    @TearDown
+    public void tearDown() {
+        document.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paint() throws InterruptedException {
+        Graphics2D g2 = image.createGraphics();
+        try {
+            g2.setColor(Color.WHITE);
+            g2.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.transform(pageTransform);
+            shapes.paint(g2);
+        } finally {
+            g2.dispose();
+        }
+        return image;
+    }
+}
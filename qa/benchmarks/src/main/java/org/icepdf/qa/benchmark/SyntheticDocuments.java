@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.qa.benchmark;
+
+import org.icepdf.core.exceptions.PDFSecurityException;
+import org.icepdf.core.pobjects.Document;
+import org.icepdf.core.util.Defs;
+import org.icepdf.qa.benchmark.corpus.SyntheticPdfGenerator;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Generated documents shared by the benchmarks of a fork.  Every benchmark uses the same seed and page count so
+ * the inputs only change when the generator changes.
+ * <br>
+ * The seed and page count can be changed with the {@code icepdf.benchmark.seed} and
+ * {@code icepdf.benchmark.pages} system properties, default {@link SyntheticPdfGenerator#DEFAULT_SEED} and 20.
+ *
+ * @since 7.5
+ */
+public final class SyntheticDocuments {
+
+    public static final int PAGE_COUNT = Defs.sysPropertyInt("icepdf.benchmark.pages", 20);
+
+    public static final long SEED = Long.parseLong(
+            Defs.sysProperty("icepdf.benchmark.seed", String.valueOf(SyntheticPdfGenerator.DEFAULT_SEED)));
+
+    private static final Map<SyntheticPdfGenerator.Profile, byte[]> documents =
+            new EnumMap<>(SyntheticPdfGenerator.Profile.class);
+
+    private SyntheticDocuments() {
+    }
+
+    /**
+     * Gets the bytes of a generated document, generated once per fork.
+     *
+     * @param profile kind of document.
+     * @return PDF file bytes, not to be modified.
+     * @throws IOException the document could not be generated.
+     */
+    public static synchronized byte[] getBytes(SyntheticPdfGenerator.Profile profile) throws IOException {
+        byte[] data = documents.get(profile);
+        if (data == null) {
+            data = new SyntheticPdfGenerator(SEED).generate(profile, PAGE_COUNT);
+            documents.put(profile, data);
+        }
+        return data;
+    }
+
+    /**
+     * Opens a generated document.
+     *
+     * @param profile kind of document.
+     * @return new document, to be disposed by the caller.
+     * @throws IOException the document could not be generated or opened.
+     */
+    public static Document open(SyntheticPdfGenerator.Profile profile) throws IOException {
+        byte[] data = getBytes(profile);
+        Document document = new Document();
+        try {
+            document.setByteArray(data, 0, data.length, profile.getFileName());
+        } catch (PDFSecurityException e) {
+            throw new IOException(e);
+        }
+        return document;
+    }
+}
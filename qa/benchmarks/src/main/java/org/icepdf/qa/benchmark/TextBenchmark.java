@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.qa.benchmark;
+
+import org.icepdf.core.pobjects.Document;
+import org.icepdf.core.pobjects.Page;
+import org.icepdf.core.pobjects.graphics.text.PageText;
+import org.icepdf.qa.benchmark.corpus.SyntheticPdfGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text layout of a text heavy page: {@code PageText.sortAndFormatText} sorting the raw lines into reading order
+ * and building the {@code TextSequence} over the sorted lines.  The page text is taken from the shapes rather than
+ * {@code Page.getViewText()} so it isn't packed, packed text is already sorted.
+ *
+ * @since 7.5
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextBenchmark {
+
+    private Document document;
+    private PageText pageText;
+
+    @Setup
+    public void setup() throws IOException, InterruptedException {
+        document = SyntheticDocuments.open(SyntheticPdfGenerator.Profile.TEXT);
+        Page page = document.getPageTree().getPage(0);
+        page.init();
+        pageText = page.getShapes().getPageText();
+    }
+
+    @TearDown
+    public void tearDown() {
+        document.dispose();
+    }
+
+    @Benchmark
+    public CharSequence sortAndFormat() {
+        pageText.sortAndFormatText();
+        return pageText.getTextSequence().text();
+    }
+}
@@ -0,0 +1,630 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.qa.benchmark.corpus;
+
+import org.icepdf.core.io.CountingOutputStream;
+import org.icepdf.core.pobjects.*;
+import org.icepdf.core.pobjects.structure.CrossReferenceRoot;
+import org.icepdf.core.pobjects.structure.Header;
+import org.icepdf.core.util.Library;
+import org.icepdf.core.util.updater.writeables.BaseWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+/**
+ * Generates reproducible PDF documents for the benchmarks, so results can be compared across machines without
+ * sharing proprietary files.  The same seed, profile and page count always produce the same bytes on a given JDK.
+ * <br>
+ * Documents are written with the {@code util.updater} writers.  Each {@link Profile} stresses a different part of
+ * the library:
+ * <ul>
+ *     <li>{@link Profile#TEXT} - two column pages of Helvetica text shown with Tj and kerned TJ, for the content
+ *     parser and text extraction and sorting.</li>
+ *     <li>{@link Profile#VECTOR} - pages of filled and stroked curves and lines, clips and ExtGState blend modes,
+ *     for the shape painting and blending.</li>
+ *     <li>{@link Profile#IMAGE} - pages of RGB and gray image XObjects, Flate with PNG predictors and
+ *     uncompressed, for the filters and the raw image decoder.</li>
+ *     <li>{@link Profile#OBJECT_STREAM} - a cross-reference stream document with the page tree, fonts and a
+ *     number of link annotations per page stored in object streams, for the object parser.</li>
+ * </ul>
+ * The {@link #main(String[])} method writes a corpus directory, for example for the {@code parsingBenchmark}
+ * task of the core module.
+ *
+ * @since 7.5
+ */
+public class SyntheticPdfGenerator {
+
+    public static final long DEFAULT_SEED = 0x1CE9DFL;
+
+    private static final Name OBJ_STM_VALUE = new Name("ObjStm");
+    private static final Name XREF_VALUE = new Name("XRef");
+    private static final Name N_KEY = new Name("N");
+    private static final Name FIRST_KEY = new Name("First");
+    private static final Name W_KEY = new Name("W");
+    private static final Name SIZE_KEY = new Name("Size");
+    private static final Name ROOT_KEY = new Name("Root");
+    private static final Name KIDS_KEY = new Name("Kids");
+    private static final Name COUNT_KEY = new Name("Count");
+    private static final Name PARENT_KEY = new Name("Parent");
+    private static final Name MEDIA_BOX_KEY = new Name("MediaBox");
+    private static final Name RESOURCES_KEY = new Name("Resources");
+    private static final Name CONTENTS_KEY = new Name("Contents");
+    private static final Name ANNOTS_KEY = new Name("Annots");
+    private static final Name FONT_KEY = new Name("Font");
+    private static final Name XOBJECT_KEY = new Name("XObject");
+    private static final Name EXT_G_STATE_KEY = new Name("ExtGState");
+    private static final Name BASE_FONT_KEY = new Name("BaseFont");
+    private static final Name ENCODING_KEY = new Name("Encoding");
+    private static final Name RECT_KEY = new Name("Rect");
+    private static final Name BORDER_KEY = new Name("Border");
+    private static final Name URI_KEY = new Name("URI");
+    private static final Name S_KEY = new Name("S");
+    private static final Name A_KEY = new Name("A");
+    private static final Name BM_KEY = new Name("BM");
+    private static final Name CA_FILL_KEY = new Name("ca");
+    private static final Name CA_STROKE_KEY = new Name("CA");
+    private static final Name COLOR_SPACE_KEY = new Name("ColorSpace");
+    private static final Name BITS_PER_COMPONENT_KEY = new Name("BitsPerComponent");
+    private static final Name WIDTH_KEY = new Name("Width");
+    private static final Name HEIGHT_KEY = new Name("Height");
+    private static final Name PREDICTOR_KEY = new Name("Predictor");
+    private static final Name COLORS_KEY = new Name("Colors");
+    private static final Name COLUMNS_KEY = new Name("Columns");
+
+    private static final int PAGE_WIDTH = 612;
+    private static final int PAGE_HEIGHT = 792;
+    private static final int OBJECTS_PER_STREAM = 100;
+    private static final int LINKS_PER_PAGE = 24;
+    private static final int IMAGE_SIZE = 256;
+
+    private static final String[] WORDS = {
+            "portable", "document", "format", "page", "content", "stream", "object", "reference", "glyph",
+            "font", "encoding", "width", "cross", "table", "trailer", "catalog", "outline", "annotation",
+            "widget", "field", "signature", "image", "mask", "colour", "space", "pattern", "shading", "function",
+            "transparency", "group", "blend", "mode", "soft", "clip", "path", "curve", "line", "rectangle",
+            "text", "matrix", "render", "print", "viewer", "search", "extract", "layer", "optional", "the", "of",
+            "and", "to", "in", "is", "for", "with", "on", "by", "as", "at", "from"
+    };
+
+    /**
+     * Kinds of generated documents.
+     */
+    public enum Profile {
+        TEXT, VECTOR, IMAGE, OBJECT_STREAM;
+
+        public String getFileName() {
+            return "synthetic-" + name().toLowerCase(Locale.ROOT).replace('_', '-') + ".pdf";
+        }
+    }
+
+    private final long seed;
+
+    public SyntheticPdfGenerator() {
+        this(DEFAULT_SEED);
+    }
+
+    /**
+     * Creates a new generator.
+     *
+     * @param seed seed of the generated content, documents only compare if generated with the same seed.
+     */
+    public SyntheticPdfGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Generates a document.
+     *
+     * @param profile   kind of document.
+     * @param pageCount number of pages.
+     * @return PDF file bytes.
+     * @throws IOException the document could not be written.
+     */
+    public byte[] generate(Profile profile, int pageCount) throws IOException {
+        return new DocumentWriter(profile, Math.max(1, pageCount)).write();
+    }
+
+    /**
+     * Creates the text content stream of one page of a {@link Profile#TEXT} document.
+     *
+     * @param random source of the words and layout.
+     * @return uncompressed content stream.
+     */
+    public static byte[] createTextContent(Random random) {
+        StringBuilder content = new StringBuilder(32 * 1024);
+        content.append("BT\n/F1 9 Tf\n11 TL\n");
+        for (int column = 0; column < 2; column++) {
+            float x = 54 + column * 264;
+            content.append("1 0 0 1 ").append(format(x)).append(' ').append(PAGE_HEIGHT - 60).append(" Tm\n");
+            for (int line = 0; line < 62; line++) {
+                if (random.nextInt(8) == 0) {
+                    // kerned run
+                    content.append('[');
+                    int runs = 2 + random.nextInt(4);
+                    for (int i = 0; i < runs; i++) {
+                        content.append('(').append(words(random, 2)).append(") ")
+                                .append(-random.nextInt(250)).append(' ');
+                    }
+                    content.append("] TJ T*\n");
+                } else {
+                    content.append('(').append(words(random, 5 + random.nextInt(4))).append(") Tj T*\n");
+                }
+            }
+        }
+        content.append("ET\n");
+        return content.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Creates the content stream of one page of a {@link Profile#VECTOR} document.
+     *
+     * @param random source of the shapes.
+     * @return uncompressed content stream.
+     */
+    public static byte[] createVectorContent(Random random) {
+        StringBuilder content = new StringBuilder(64 * 1024);
+        for (int i = 0; i < 400; i++) {
+            boolean clipped = random.nextInt(10) == 0;
+            content.append("q\n");
+            if (random.nextInt(4) == 0) {
+                content.append("/GS").append(random.nextInt(3)).append(" gs\n");
+            }
+            if (clipped) {
+                content.append(point(random)).append(' ').append(40 + random.nextInt(200)).append(' ')
+                        .append(40 + random.nextInt(200)).append(" re W n\n");
+            }
+            content.append(format(random.nextFloat())).append(' ').append(format(random.nextFloat())).append(' ')
+                    .append(format(random.nextFloat())).append(" rg\n");
+            content.append(format(random.nextFloat())).append(' ').append(format(random.nextFloat())).append(' ')
+                    .append(format(random.nextFloat())).append(" RG\n");
+            content.append(format(0.25f + random.nextFloat() * 3)).append(" w\n");
+            content.append(point(random)).append(" m\n");
+            int segments = 3 + random.nextInt(8);
+            for (int s = 0; s < segments; s++) {
+                if (random.nextBoolean()) {
+                    content.append(point(random)).append(' ').append(point(random)).append(' ')
+                            .append(point(random)).append(" c\n");
+                } else {
+                    content.append(point(random)).append(" l\n");
+                }
+            }
+            switch (random.nextInt(3)) {
+                case 0:
+                    content.append("h f\n");
+                    break;
+                case 1:
+                    content.append("S\n");
+                    break;
+                default:
+                    content.append("h B\n");
+            }
+            content.append("Q\n");
+        }
+        return content.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Creates interleaved 8 bit samples of an image, a smooth gradient with noise so it compresses like a scan.
+     *
+     * @param random     source of the noise.
+     * @param components colour components per pixel.
+     * @return image samples, {@code IMAGE_SIZE} square.
+     */
+    public static byte[] createImageSamples(Random random, int components) {
+        byte[] samples = new byte[IMAGE_SIZE * IMAGE_SIZE * components];
+        int phase = random.nextInt(256);
+        int i = 0;
+        for (int y = 0; y < IMAGE_SIZE; y++) {
+            for (int x = 0; x < IMAGE_SIZE; x++) {
+                for (int c = 0; c < components; c++) {
+                    samples[i++] = (byte) ((x * (c + 1) + y * (3 - c) + phase + random.nextInt(12)) & 0xFF);
+                }
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * Applies the PNG Up predictor to image samples, each row is prefixed by its filter type byte.
+     *
+     * @param samples  image samples.
+     * @param rowBytes bytes per row.
+     * @return predicted rows.
+     */
+    public static byte[] applyPngUpPredictor(byte[] samples, int rowBytes) {
+        int rows = samples.length / rowBytes;
+        byte[] predicted = new byte[rows * (rowBytes + 1)];
+        for (int row = 0, out = 0; row < rows; row++) {
+            predicted[out++] = 2;
+            for (int i = 0; i < rowBytes; i++) {
+                int above = row > 0 ? samples[(row - 1) * rowBytes + i] : 0;
+                predicted[out++] = (byte) (samples[row * rowBytes + i] - above);
+            }
+        }
+        return predicted;
+    }
+
+    /**
+     * Compresses data into a zlib stream as written by a Flate encoder.
+     */
+    public static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 64);
+            byte[] buffer = new byte[16 * 1024];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder words = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                words.append(' ');
+            }
+            words.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return words.toString();
+    }
+
+    private static String point(Random random) {
+        return random.nextInt(PAGE_WIDTH) + " " + random.nextInt(PAGE_HEIGHT);
+    }
+
+    private static String format(float value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    /**
+     * Writes one document, objects are numbered in the order they are created.
+     */
+    private class DocumentWriter {
+        private final Profile profile;
+        private final int pageCount;
+        private final Random random;
+        private final Library library = new Library();
+        private final DictionaryEntries trailer = new DictionaryEntries();
+        private final CountingOutputStream output;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024 * 1024);
+        private final BaseWriter writer;
+        private int nextObjectNumber = 1;
+
+        // object stream profile: objects waiting for an object stream and the cross-reference stream rows.
+        private final List<PObject> pendingObjects = new ArrayList<>();
+        private final List<long[]> xrefRows = new ArrayList<>();
+
+        DocumentWriter(Profile profile, int pageCount) {
+            this.profile = profile;
+            this.pageCount = pageCount;
+            random = new Random(seed ^ profile.ordinal());
+            output = new CountingOutputStream(bytes);
+            writer = new BaseWriter(new CrossReferenceRoot(library) {
+                @Override
+                public PTrailer getTrailerDictionary() {
+                    return new PTrailer(library, trailer);
+                }
+            }, null, output, 0);
+            writer.initializeWriters();
+            xrefRows.add(new long[]{0, 0, 65535});
+        }
+
+        byte[] write() throws IOException {
+            Header header = new Header();
+            header.parseHeader(ByteBuffer.wrap("%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII)));
+            writer.writeHeader(header);
+
+            Reference catalogReference = nextReference();
+            Reference pagesReference = nextReference();
+            Reference fontReference = nextReference();
+            List<Reference> extGStates = new ArrayList<>();
+            if (profile == Profile.VECTOR) {
+                String[] modes = {"Multiply", "Screen", "Normal"};
+                for (int i = 0; i < modes.length; i++) {
+                    DictionaryEntries extGState = new DictionaryEntries();
+                    extGState.put(Dictionary.TYPE_KEY, new Name("ExtGState"));
+                    extGState.put(BM_KEY, new Name(modes[i]));
+                    extGState.put(CA_FILL_KEY, 0.5f + i * 0.2f);
+                    extGState.put(CA_STROKE_KEY, 0.8f);
+                    Reference reference = nextReference();
+                    writeObject(extGState, reference);
+                    extGStates.add(reference);
+                }
+            }
+
+            List<Object> kids = new ArrayList<>(pageCount);
+            for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
+                kids.add(writePage(pagesReference, fontReference, extGStates));
+            }
+
+            DictionaryEntries font = new DictionaryEntries();
+            font.put(Dictionary.TYPE_KEY, FONT_KEY);
+            font.put(Dictionary.SUBTYPE_KEY, new Name("Type1"));
+            font.put(BASE_FONT_KEY, new Name("Helvetica"));
+            font.put(ENCODING_KEY, new Name("WinAnsiEncoding"));
+            writeObject(font, fontReference);
+
+            DictionaryEntries pages = new DictionaryEntries();
+            pages.put(Dictionary.TYPE_KEY, new Name("Pages"));
+            pages.put(KIDS_KEY, kids);
+            pages.put(COUNT_KEY, pageCount);
+            writeObject(pages, pagesReference);
+
+            DictionaryEntries catalog = new DictionaryEntries();
+            catalog.put(Dictionary.TYPE_KEY, new Name("Catalog"));
+            catalog.put(new Name("Pages"), pagesReference);
+            writeObject(catalog, catalogReference);
+
+            trailer.put(ROOT_KEY, catalogReference);
+            if (profile == Profile.OBJECT_STREAM) {
+                flushObjectStream();
+                writeCrossReferenceStream();
+            } else {
+                // the table writer adds the entries written, object 0 and one to the previous size.
+                trailer.put(SIZE_KEY, -1);
+                writer.writeXRefTable();
+                writer.writeFullTrailer();
+            }
+            output.close();
+            return bytes.toByteArray();
+        }
+
+        private Reference writePage(Reference pagesReference, Reference fontReference, List<Reference> extGStates)
+                throws IOException {
+            Reference pageReference = nextReference();
+            DictionaryEntries resources = new DictionaryEntries();
+            DictionaryEntries fonts = new DictionaryEntries();
+            fonts.put(new Name("F1"), fontReference);
+            resources.put(FONT_KEY, fonts);
+
+            byte[] content;
+            switch (profile) {
+                case VECTOR:
+                    DictionaryEntries states = new DictionaryEntries();
+                    for (int i = 0; i < extGStates.size(); i++) {
+                        states.put(new Name("GS" + i), extGStates.get(i));
+                    }
+                    resources.put(EXT_G_STATE_KEY, states);
+                    content = createVectorContent(random);
+                    break;
+                case IMAGE:
+                    DictionaryEntries xObjects = new DictionaryEntries();
+                    StringBuilder imageContent = new StringBuilder();
+                    for (int i = 0; i < 4; i++) {
+                        xObjects.put(new Name("Im" + i), writeImage(i));
+                        imageContent.append("q 260 0 0 260 ").append(36 + (i % 2) * 280).append(' ')
+                                .append(100 + (i / 2) * 320).append(" cm /Im").append(i).append(" Do Q\n");
+                    }
+                    resources.put(XOBJECT_KEY, xObjects);
+                    content = imageContent.toString().getBytes(StandardCharsets.ISO_8859_1);
+                    break;
+                default:
+                    content = createTextContent(random);
+            }
+            Reference contentReference = nextReference();
+            DictionaryEntries contentEntries = new DictionaryEntries();
+            contentEntries.put(Stream.FILTER_KEY, Stream.FILTER_FLATE_DECODE);
+            Stream contentStream = new Stream(contentEntries, new byte[0]);
+            // uncompressed bytes, the stream writer compresses them.
+            contentStream.setRawBytes(content);
+            writeStream(contentStream, contentReference);
+
+            DictionaryEntries page = new DictionaryEntries();
+            page.put(Dictionary.TYPE_KEY, new Name("Page"));
+            page.put(PARENT_KEY, pagesReference);
+            page.put(MEDIA_BOX_KEY, Arrays.asList(0, 0, PAGE_WIDTH, PAGE_HEIGHT));
+            page.put(RESOURCES_KEY, resources);
+            page.put(CONTENTS_KEY, contentReference);
+            if (profile == Profile.OBJECT_STREAM) {
+                List<Object> annotations = new ArrayList<>(LINKS_PER_PAGE);
+                for (int i = 0; i < LINKS_PER_PAGE; i++) {
+                    annotations.add(writeLink(pageReference, i));
+                }
+                page.put(ANNOTS_KEY, annotations);
+            }
+            writeObject(page, pageReference);
+            return pageReference;
+        }
+
+        private Reference writeLink(Reference pageReference, int index) throws IOException {
+            int y = PAGE_HEIGHT - 70 - index * 28;
+            DictionaryEntries action = new DictionaryEntries();
+            action.put(S_KEY, new Name("URI"));
+            action.put(URI_KEY, new LiteralStringObject("https://example.com/" + random.nextInt(100000)));
+            DictionaryEntries link = new DictionaryEntries();
+            link.put(Dictionary.TYPE_KEY, new Name("Annot"));
+            link.put(Dictionary.SUBTYPE_KEY, new Name("Link"));
+            link.put(new Name("P"), pageReference);
+            link.put(RECT_KEY, Arrays.asList(54, y, 300, y + 11));
+            link.put(BORDER_KEY, Arrays.asList(0, 0, 0));
+            link.put(A_KEY, action);
+            Reference reference = nextReference();
+            writeObject(link, reference);
+            return reference;
+        }
+
+        private Reference writeImage(int index) throws IOException {
+            boolean gray = index == 3;
+            int components = gray ? 1 : 3;
+            byte[] samples = createImageSamples(random, components);
+            DictionaryEntries entries = new DictionaryEntries();
+            entries.put(Dictionary.TYPE_KEY, new Name("XObject"));
+            entries.put(Dictionary.SUBTYPE_KEY, new Name("Image"));
+            entries.put(WIDTH_KEY, IMAGE_SIZE);
+            entries.put(HEIGHT_KEY, IMAGE_SIZE);
+            entries.put(BITS_PER_COMPONENT_KEY, 8);
+            entries.put(COLOR_SPACE_KEY, new Name(gray ? "DeviceGray" : "DeviceRGB"));
+            byte[] data;
+            if (index == 2) {
+                // uncompressed, decoded by the raw decoder straight from the file bytes.
+                data = samples;
+            } else if (index < 2) {
+                DictionaryEntries decodeParms = new DictionaryEntries();
+                decodeParms.put(PREDICTOR_KEY, 12);
+                decodeParms.put(COLORS_KEY, components);
+                decodeParms.put(BITS_PER_COMPONENT_KEY, 8);
+                decodeParms.put(COLUMNS_KEY, IMAGE_SIZE);
+                entries.put(Stream.FILTER_KEY, Stream.FILTER_FLATE_DECODE);
+                entries.put(Stream.DECODEPARAM_KEY, decodeParms);
+                data = deflate(applyPngUpPredictor(samples, IMAGE_SIZE * components));
+            } else {
+                entries.put(Stream.FILTER_KEY, Stream.FILTER_FLATE_DECODE);
+                data = deflate(samples);
+            }
+            // already encoded, written as is.
+            Stream image = new Stream(entries, data);
+            Reference reference = nextReference();
+            writeStream(image, reference);
+            return reference;
+        }
+
+        private Reference nextReference() {
+            return new Reference(nextObjectNumber++, 0);
+        }
+
+        private void writeObject(DictionaryEntries entries, Reference reference) throws IOException {
+            PObject object = new PObject(entries, reference);
+            if (profile == Profile.OBJECT_STREAM) {
+                pendingObjects.add(object);
+                if (pendingObjects.size() == OBJECTS_PER_STREAM) {
+                    flushObjectStream();
+                }
+            } else {
+                writer.writePObject(object);
+            }
+        }
+
+        private void writeStream(Stream stream, Reference reference) throws IOException {
+            stream.setPObjectReference(reference);
+            addXrefRow(reference, 1, writer.getBytesWritten());
+            writer.writePObject(new PObject(stream, reference));
+        }
+
+        /**
+         * Writes the pending objects into an object stream, the object stream gets the next object number.
+         */
+        private void flushObjectStream() throws IOException {
+            if (pendingObjects.isEmpty()) {
+                return;
+            }
+            Reference streamReference = nextReference();
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            CountingOutputStream bodyOutput = new CountingOutputStream(body);
+            StringBuilder offsets = new StringBuilder();
+            for (int i = 0; i < pendingObjects.size(); i++) {
+                PObject object = pendingObjects.get(i);
+                offsets.append(object.getReference().getObjectNumber()).append(' ')
+                        .append(bodyOutput.getCount()).append(' ');
+                writer.writeValue(object, bodyOutput);
+                bodyOutput.write(BaseWriter.NEWLINE);
+                addXrefRow(object.getReference(), 2, streamReference.getObjectNumber(), i);
+            }
+            bodyOutput.close();
+            byte[] first = offsets.toString().getBytes(StandardCharsets.US_ASCII);
+            byte[] data = new byte[first.length + body.size()];
+            System.arraycopy(first, 0, data, 0, first.length);
+            System.arraycopy(body.toByteArray(), 0, data, first.length, body.size());
+
+            DictionaryEntries entries = new DictionaryEntries();
+            entries.put(Dictionary.TYPE_KEY, OBJ_STM_VALUE);
+            entries.put(N_KEY, pendingObjects.size());
+            entries.put(FIRST_KEY, first.length);
+            entries.put(Stream.FILTER_KEY, Stream.FILTER_FLATE_DECODE);
+            Stream objectStream = new Stream(entries, new byte[0]);
+            objectStream.setRawBytes(data);
+            pendingObjects.clear();
+            writeStream(objectStream, streamReference);
+        }
+
+        private void writeCrossReferenceStream() throws IOException {
+            Reference reference = nextReference();
+            long position = writer.getBytesWritten();
+            addXrefRow(reference, 1, position);
+            int size = nextObjectNumber;
+            ByteArrayOutputStream rows = new ByteArrayOutputStream(size * 7);
+            for (long[] row : xrefRows) {
+                rows.write((int) row[0]);
+                for (int shift = 24; shift >= 0; shift -= 8) {
+                    rows.write((int) (row[1] >>> shift) & 0xFF);
+                }
+                rows.write((int) (row[2] >>> 8) & 0xFF);
+                rows.write((int) row[2] & 0xFF);
+            }
+            DictionaryEntries entries = new DictionaryEntries();
+            entries.putAll(trailer);
+            entries.put(Dictionary.TYPE_KEY, XREF_VALUE);
+            entries.put(SIZE_KEY, size);
+            entries.put(W_KEY, Arrays.asList(1, 4, 2));
+            entries.put(Stream.FILTER_KEY, Stream.FILTER_FLATE_DECODE);
+            Stream xrefStream = new Stream(entries, new byte[0]);
+            xrefStream.setRawBytes(rows.toByteArray());
+            xrefStream.setPObjectReference(reference);
+            writer.writePObject(new PObject(xrefStream, reference));
+            output.write(("startxref\n" + position + "\n%%EOF\n").getBytes(StandardCharsets.US_ASCII));
+        }
+
+        private void addXrefRow(Reference reference, long... row) {
+            int objectNumber = reference.getObjectNumber();
+            while (xrefRows.size() <= objectNumber) {
+                xrefRows.add(null);
+            }
+            long[] fields = row.length == 3 ? row : new long[]{row[0], row[1], 0};
+            xrefRows.set(objectNumber, fields);
+        }
+    }
+
+    /**
+     * Writes a corpus of all profiles.
+     *
+     * @param args output directory, optional page count, default 50, and optional seed.
+     * @throws IOException the corpus could not be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: SyntheticPdfGenerator <output dir> [page count] [seed]");
+            System.exit(1);
+        }
+        Path directory = Paths.get(args[0]);
+        int pageCount = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        Files.createDirectories(directory);
+        SyntheticPdfGenerator generator = new SyntheticPdfGenerator(seed);
+        for (Profile profile : Profile.values()) {
+            Path file = directory.resolve(profile.getFileName());
+            Files.write(file, generator.generate(profile, pageCount));
+            System.out.println("Wrote " + file + " (" + Files.size(file) + " bytes)");
+        }
+    }
+}
@@ -173,6 +173,38 @@ public class ConfigSerializer {
         return null;
     }
 
+    /**
+     * Saves the render cost of a page capture.
+     *
+     * @param metricsPath  file to write, usually next to the page capture image.
+     * @param pageMetrics page render cost.
+     */
+    public static void savePageMetrics(Path metricsPath, PageMetrics pageMetrics) {
+        try (FileWriter writer = new FileWriter(metricsPath.toFile())) {
+            mapper.writeValue(writer, pageMetrics);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads the render cost of a page capture.
+     *
+     * @param metricsPath file written by {@link #savePageMetrics(Path, PageMetrics)}.
+     * @return page render cost, null if the page wasn't timed.
+     */
+    public static PageMetrics retrievePageMetrics(Path metricsPath) {
+        if (!Files.exists(metricsPath)) {
+            return null;
+        }
+        try (FileReader reader = new FileReader(metricsPath.toFile())) {
+            return mapper.readValue(reader, PageMetrics.class);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
     public static boolean exists(String parentPath, String fileName) {
         String filePath = parentPath + generateFileName(fileName);
         return Files.exists(Paths.get(filePath));
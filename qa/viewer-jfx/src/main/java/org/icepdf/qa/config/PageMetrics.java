@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.icepdf.qa.config;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Render cost of one captured page: page init and paint time, bytes allocated by the capturing thread and the peak
+ * heap growth while the page was captured.  Saved next to the page capture so a capture set that is already
+ * complete keeps its numbers, see {@link ConfigSerializer#savePageMetrics}.
+ * <br>
+ * A value of -1 means the value could not be measured, e.g. the init time of a version whose PageCapture can't time
+ * the init and paint separately, or the allocation on a JVM without thread allocation counters.
+ */
+public class PageMetrics {
+
+    // times in milliseconds.
+    private final double initTime;
+    private final double paintTime;
+    private final long allocatedBytes;
+    private final long peakHeapBytes;
+
+    @JsonCreator
+    public PageMetrics(@JsonProperty("initTime") double initTime,
+                       @JsonProperty("paintTime") double paintTime,
+                       @JsonProperty("allocatedBytes") long allocatedBytes,
+                       @JsonProperty("peakHeapBytes") long peakHeapBytes) {
+        this.initTime = initTime;
+        this.paintTime = paintTime;
+        this.allocatedBytes = allocatedBytes;
+        this.peakHeapBytes = peakHeapBytes;
+    }
+
+    public double getInitTime() {
+        return initTime;
+    }
+
+    public double getPaintTime() {
+        return paintTime;
+    }
+
+    /**
+     * Init and paint time, the paint time alone if the init wasn't timed separately.
+     */
+    @JsonIgnore
+    public double getTotalTime() {
+        return Math.max(0, initTime) + paintTime;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("init %.1f ms  paint %.1f ms  alloc %.1f MB  peak heap %.1f MB",
+                initTime, paintTime, allocatedBytes / 1048576d, peakHeapBytes / 1048576d);
+    }
+}
@@ -43,6 +43,14 @@ public class Result {
     // mean windowed structural similarity (%).
     private final SimpleDoubleProperty structuralSimilarity;
 
+    // render cost of the page for capture set A and B, null unless the captures were timed.
+    private PageMetrics metricsA;
+    private PageMetrics metricsB;
+
+    // cost changes below these floors are treated as noise when computing the B/A ratios.
+    private static final double MIN_SIGNIFICANT_TIME = 5;
+    private static final double MIN_SIGNIFICANT_BYTES = 1024 * 1024;
+
     // can be extended for other properties.
 
     @JsonCreator
@@ -127,4 +135,98 @@ public class Result {
     public void setStructuralSimilarity(double structuralSimilarity) {
         this.structuralSimilarity.set(structuralSimilarity);
     }
+
+    public PageMetrics getMetricsA() {
+        return metricsA;
+    }
+
+    public void setMetricsA(PageMetrics metricsA) {
+        this.metricsA = metricsA;
+    }
+
+    public PageMetrics getMetricsB() {
+        return metricsB;
+    }
+
+    public void setMetricsB(PageMetrics metricsB) {
+        this.metricsB = metricsB;
+    }
+
+    @JsonIgnore
+    public boolean hasMetrics() {
+        return metricsA != null && metricsB != null;
+    }
+
+    @JsonIgnore
+    public double getTimeA() {
+        return metricsA != null ? round(metricsA.getTotalTime()) : -1;
+    }
+
+    @JsonIgnore
+    public double getTimeB() {
+        return metricsB != null ? round(metricsB.getTotalTime()) : -1;
+    }
+
+    /**
+     * Gets the B/A ratio of the init and paint time, 1 if both are below the noise floor and -1 if the page wasn't
+     * timed.
+     */
+    @JsonIgnore
+    public double getTimeRatio() {
+        if (!hasMetrics()) {
+            return -1;
+        }
+        return ratio(metricsA.getTotalTime(), metricsB.getTotalTime(), MIN_SIGNIFICANT_TIME);
+    }
+
+    /**
+     * Gets the B/A ratio of the allocated bytes, -1 if not measured.
+     */
+    @JsonIgnore
+    public double getAllocationRatio() {
+        if (!hasMetrics() || metricsA.getAllocatedBytes() < 0 || metricsB.getAllocatedBytes() < 0) {
+            return -1;
+        }
+        return ratio(metricsA.getAllocatedBytes(), metricsB.getAllocatedBytes(), MIN_SIGNIFICANT_BYTES);
+    }
+
+    /**
+     * Gets the B/A ratio of the peak heap growth, -1 if not measured.
+     */
+    @JsonIgnore
+    public double getPeakHeapRatio() {
+        if (!hasMetrics()) {
+            return -1;
+        }
+        return ratio(metricsA.getPeakHeapBytes(), metricsB.getPeakHeapBytes(), MIN_SIGNIFICANT_BYTES);
+    }
+
+    /**
+     * Gets the largest of the time, allocation and peak heap ratios, the number the cost report is sorted on.
+     */
+    @JsonIgnore
+    public double getCostRatio() {
+        return Math.max(getTimeRatio(), Math.max(getAllocationRatio(), getPeakHeapRatio()));
+    }
+
+    /**
+     * Indicates the page's render cost regressed from capture set A to B.
+     *
+     * @param threshold B/A ratio above which a cost counts as regressed, e.g. 1.25 for 25% more.
+     * @return true if the time, allocation or peak heap ratio is above the threshold.
+     */
+    public boolean isCostRegression(double threshold) {
+        return hasMetrics() && getCostRatio() > threshold;
+    }
+
+    private static double ratio(double a, double b, double floor) {
+        if (a < floor && b < floor) {
+            return 1;
+        }
+        return round(b / Math.max(a, floor));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
 }
@@ -21,6 +21,7 @@ import org.icepdf.qa.tests.exceptions.ConfigurationException;
 import org.icepdf.qa.tests.exceptions.ValidationException;
 import org.icepdf.qa.utilities.CompareMetrics;
 import org.icepdf.qa.utilities.ImageCompare;
+import org.icepdf.qa.utilities.PageCostSampler;
 import org.icepdf.qa.utilities.TimeTestWatcher;
 import org.icepdf.qa.viewer.common.Mediator;
 import org.icepdf.qa.viewer.common.PreferencesController;
@@ -38,6 +39,7 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.*;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -62,6 +64,14 @@ public class ImageCompareTask extends AbstractTestTask {
     public static final String PAGE_CAPTURE_CLASS = "org.icepdf.ri.util.qa.PageCapture";
     public static final String PAGE_CAPTURE_SETUP_METHOD = "load";
     public static final String PAGE_CAPTURE_METHOD = "capture";
+    // timed capture, returns a map with the image and the init and paint times; not in older versions.
+    public static final String PAGE_CAPTURE_TIMED_METHOD = "captureTimed";
+    public static final String PAGE_CAPTURE_IMAGE_KEY = "image";
+    public static final String PAGE_CAPTURE_INIT_TIME_KEY = "initTime";
+    public static final String PAGE_CAPTURE_PAINT_TIME_KEY = "paintTime";
+
+    // number of pages listed in the performance report printed after a timed run.
+    private static final int WORST_OFFENDERS_COUNT = 20;
     public static final String PAGE_CAPTURE_DISPOSE_METHOD = "dispose";
 
     private final Mediator mediator;
@@ -78,6 +88,9 @@ public class ImageCompareTask extends AbstractTestTask {
     // P: documents captured/compared at once. Q: render threads per in-flight document (floor 2).
     private int concurrentDocuments;
     private int renderThreadsPerDocument;
+    // Performance comparison, when on each page capture records its render cost (see PageMetrics).
+    private boolean timeCaptures;
+    private double regressionThreshold;
 
     public ImageCompareTask(Mediator mediator) {
         this.mediator = mediator;
@@ -136,6 +149,13 @@ public class ImageCompareTask extends AbstractTestTask {
         // read capture-concurrency preferences once for the whole run.
         concurrentDocuments = PreferencesController.getCaptureConcurrentDocuments();
         renderThreadsPerDocument = PreferencesController.getCaptureRenderThreadsPerDocument();
+        timeCaptures = PreferencesController.getCapturePerformanceMetrics();
+        regressionThreshold = PreferencesController.getPerformanceRegressionThreshold();
+        if (timeCaptures) {
+            // one page at a time, concurrent renders would skew the times and the heap pools are JVM wide.
+            concurrentDocuments = 1;
+            renderThreadsPerDocument = 1;
+        }
         // Size ICEpdf's image-proxy pool before config() creates the class loaders: Library reads
         // this property in a static initializer, so it must be set before that class is loaded.
         System.setProperty(ICEPDF_IMAGE_THREAD_POOL_PROPERTY,
@@ -301,9 +321,43 @@ public class ImageCompareTask extends AbstractTestTask {
             //save teh projects state.
             project.setResults(results);
             ConfigSerializer.save(project);
+
+            if (timeCaptures) {
+                printWorstOffenders(results);
+            }
         }
     }
 
+    /**
+     * Prints the pages whose render cost grew the most from capture set A to B.
+     */
+    private void printWorstOffenders(List<Result> results) {
+        List<Result> timedResults = new ArrayList<>(results.size());
+        int regressions = 0;
+        for (Result result : results) {
+            if (result.hasMetrics()) {
+                timedResults.add(result);
+                if (result.isCostRegression(regressionThreshold)) {
+                    regressions++;
+                }
+            }
+        }
+        if (timedResults.isEmpty()) {
+            return;
+        }
+        timedResults.sort(Comparator.comparingDouble(Result::getCostRatio).reversed());
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("---- Performance: %d of %d timed pages above x%.2f -----%n",
+                regressions, timedResults.size(), regressionThreshold));
+        for (Result result : timedResults.subList(0, Math.min(WORST_OFFENDERS_COUNT, timedResults.size()))) {
+            report.append(String.format("x%.2f  time %.1f -> %.1f ms (x%.2f)  alloc x%.2f  heap x%.2f  %s%n",
+                    result.getCostRatio(), result.getTimeA(), result.getTimeB(), result.getTimeRatio(),
+                    result.getAllocationRatio(), result.getPeakHeapRatio(), result.getFileNameA()));
+        }
+        System.out.print(report);
+        System.out.flush();
+    }
+
     @Override
     public void teardown() {
         // do and cleanup.
@@ -385,7 +439,8 @@ public class ImageCompareTask extends AbstractTestTask {
             int numberOfPages = loadTestInstance(captureSet[i], testInstance, filePath, documentIndex, filePaths.size());
 
             for (int pageNumber = 0; pageNumber < commonPageCount; pageNumber++) {
-                callables.add(new CapturePage(testInstance, captureSet[i], filePath, pageNumber, numberOfPages));
+                callables.add(new CapturePage(testInstance, captureSet[i], filePath, pageNumber, numberOfPages,
+                        timeCaptures));
             }
             testInstances[i] = testInstance;
         }
@@ -423,6 +478,11 @@ public class ImageCompareTask extends AbstractTestTask {
                     log.append(String.format("Match [%d/%d] %s page %d%n",
                             documentIndex, filePaths.size(), filePath.toString(), page + 1));
                 }
+                if (result.isCostRegression(regressionThreshold)) {
+                    log.append(String.format("Cost  [%d/%d] %s page %d: time x%.2f  alloc x%.2f  heap x%.2f%n",
+                            documentIndex, filePaths.size(), filePath.toString(), page + 1,
+                            result.getTimeRatio(), result.getAllocationRatio(), result.getPeakHeapRatio()));
+                }
             }
         }
         if (log.length() > 0) {
@@ -482,14 +542,17 @@ public class ImageCompareTask extends AbstractTestTask {
         private final int pageNumber;
         private final String fileName;
         private final int numberOfPage;
+        private final boolean timeCapture;
 
         private final CaptureSet captureSet;
 
-        private CapturePage(Object pageCaptureTest, CaptureSet captureSet, Path filePath, int pageNumber, int numberOfPage) {
+        private CapturePage(Object pageCaptureTest, CaptureSet captureSet, Path filePath, int pageNumber, int numberOfPage,
+                            boolean timeCapture) {
             this.pageCaptureTest = pageCaptureTest;
             this.pageNumber = pageNumber;
             this.captureSet = captureSet;
             this.numberOfPage = numberOfPage;
+            this.timeCapture = timeCapture;
             this.fileName = filePath.getFileName().toString();
         }
 
@@ -504,17 +567,27 @@ public class ImageCompareTask extends AbstractTestTask {
                             captureSet.getCaptureSetPath().getFileName().toString(),
                             fileName + "_" + pageNumber + ".png");
 
-                    if (!Files.exists(imageCapture)) {
+                    Path metricsCapture = getMetricsPath(imageCapture);
+                    // a timed run captures again pages that were captured without timing.
+                    if (!Files.exists(imageCapture) || (timeCapture && !Files.exists(metricsCapture))) {
                         System.out.println("Capturing " + fileName + " page " + (pageNumber + 1) + "/" + numberOfPage);
 
                         // paint the page.
-                        Method captureMethod = pageCaptureClass.getMethod(PAGE_CAPTURE_METHOD,
-                                int.class, int.class, int.class, float.class, float.class);
                         float rotation = 0f;
                         float scale = 1f;
-                        BufferedImage image = (BufferedImage) captureMethod.invoke(pageCaptureTest, pageNumber, 2, 2, rotation, scale);
-
-                        File file = Files.createFile(imageCapture).toFile();
+                        BufferedImage image;
+                        if (timeCapture) {
+                            image = captureTimed(pageCaptureClass, metricsCapture, rotation, scale);
+                        } else {
+                            Method captureMethod = pageCaptureClass.getMethod(PAGE_CAPTURE_METHOD,
+                                    int.class, int.class, int.class, float.class, float.class);
+                            image = (BufferedImage) captureMethod.invoke(pageCaptureTest, pageNumber, 2, 2, rotation, scale);
+                        }
+                        if (image == null) {
+                            return null;
+                        }
+
+                        File file = imageCapture.toFile();
                         ImageIO.write(image, "png", file);
                         image.flush();
                     }
@@ -525,6 +598,59 @@ public class ImageCompareTask extends AbstractTestTask {
             }
             return null;
         }
+
+        /**
+         * Captures the page and saves its render cost.  Versions without the timed capture are timed around the
+         * whole capture call, the init time isn't known.
+         */
+        @SuppressWarnings("unchecked")
+        private BufferedImage captureTimed(Class<?> pageCaptureClass, Path metricsCapture, float rotation, float scale)
+                throws IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+            BufferedImage image;
+            double initTime;
+            double paintTime;
+            PageCostSampler sampler;
+            try {
+                Method captureMethod = pageCaptureClass.getMethod(PAGE_CAPTURE_TIMED_METHOD,
+                        int.class, int.class, int.class, float.class, float.class);
+                sampler = PageCostSampler.start();
+                Map<String, Object> capture = (Map<String, Object>)
+                        captureMethod.invoke(pageCaptureTest, pageNumber, 2, 2, rotation, scale);
+                if (capture == null) {
+                    return null;
+                }
+                image = (BufferedImage) capture.get(PAGE_CAPTURE_IMAGE_KEY);
+                initTime = toMillis((Long) capture.get(PAGE_CAPTURE_INIT_TIME_KEY));
+                paintTime = toMillis((Long) capture.get(PAGE_CAPTURE_PAINT_TIME_KEY));
+            } catch (NoSuchMethodException e) {
+                Method captureMethod = pageCaptureClass.getMethod(PAGE_CAPTURE_METHOD,
+                        int.class, int.class, int.class, float.class, float.class);
+                sampler = PageCostSampler.start();
+                long start = System.nanoTime();
+                image = (BufferedImage) captureMethod.invoke(pageCaptureTest, pageNumber, 2, 2, rotation, scale);
+                paintTime = toMillis(System.nanoTime() - start);
+                initTime = -1;
+            }
+            PageMetrics pageMetrics = new PageMetrics(initTime, paintTime,
+                    sampler.getAllocatedBytes(), sampler.getPeakHeapBytes());
+            ConfigSerializer.savePageMetrics(metricsCapture, pageMetrics);
+            return image;
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000d;
+        }
+    }
+
+    /**
+     * Gets the file the render cost of a page capture is saved to.
+     *
+     * @param imageCapture page capture image.
+     * @return metrics file next to the image.
+     */
+    public static Path getMetricsPath(Path imageCapture) {
+        String imageName = imageCapture.getFileName().toString();
+        return imageCapture.resolveSibling(imageName.substring(0, imageName.lastIndexOf('.')) + ".metrics.json");
     }
 
 
@@ -571,13 +697,17 @@ public class ImageCompareTask extends AbstractTestTask {
                 imageA.flush();
                 imageB.flush();
 
-                return new Result(
+                Result result = new Result(
                         fileName.toString(),
                         imageCaptureA.toString(),
                         imageCaptureB.toString(),
                         metrics.getInkSimilarity(),
                         metrics.getAeSimilarity(),
                         metrics.getStructuralSimilarity());
+                // render cost, only there if the pages were captured with timing on.
+                result.setMetricsA(ConfigSerializer.retrievePageMetrics(getMetricsPath(imageCaptureA)));
+                result.setMetricsB(ConfigSerializer.retrievePageMetrics(getMetricsPath(imageCaptureB)));
+                return result;
 
             } catch (FileNotFoundException e) {
                 // silently move on if the page wasn't created.
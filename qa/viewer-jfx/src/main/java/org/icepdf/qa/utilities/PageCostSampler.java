@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.icepdf.qa.utilities;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Samples the memory cost of a page capture on the capturing thread: the bytes allocated by the thread and the peak
+ * heap growth between {@link #start()} and the getters.
+ * <br>
+ * The allocation count is per thread, work the capture hands to other threads (e.g. ICEpdf's image decode pool) is
+ * not counted.  The peak heap is read from the heap memory pools, which are shared by the whole JVM, so it only
+ * means something while one page is captured at a time and it includes garbage that wasn't collected yet.
+ */
+public class PageCostSampler {
+
+    private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private static final boolean allocationSupported = isAllocationSupported();
+    private static final List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+
+    static {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                heapPools.add(pool);
+            }
+        }
+    }
+
+    private final long threadId;
+    private final long startAllocated;
+    private final long startHeap;
+
+    private PageCostSampler() {
+        threadId = Thread.currentThread().getId();
+        startAllocated = allocatedBytes(threadId);
+        long used = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            pool.resetPeakUsage();
+            used += pool.getUsage().getUsed();
+        }
+        startHeap = used;
+    }
+
+    /**
+     * Starts sampling on the calling thread and resets the heap pool peaks.
+     */
+    public static PageCostSampler start() {
+        return new PageCostSampler();
+    }
+
+    /**
+     * Gets the bytes allocated by the sampled thread since the start.
+     *
+     * @return allocated bytes, -1 if the JVM doesn't count thread allocations.
+     */
+    public long getAllocatedBytes() {
+        if (startAllocated < 0) {
+            return -1;
+        }
+        return allocatedBytes(threadId) - startAllocated;
+    }
+
+    /**
+     * Gets the peak heap use since the start less the heap in use at the start.
+     *
+     * @return peak heap growth in bytes, 0 or more.
+     */
+    public long getPeakHeapBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+        return Math.max(0, peak - startHeap);
+    }
+
+    private static long allocatedBytes(long threadId) {
+        if (allocationSupported) {
+            return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(threadId);
+        }
+        return -1;
+    }
+
+    private static boolean isAllocationSupported() {
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+            if (bean.isThreadAllocatedMemorySupported()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+                return true;
+            }
+        }
+        return false;
+    }
+}
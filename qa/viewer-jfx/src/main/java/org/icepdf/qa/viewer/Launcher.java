@@ -27,6 +27,7 @@ import javafx.stage.Stage;
 import org.icepdf.qa.config.CaptureSet;
 import org.icepdf.qa.viewer.commands.*;
 import org.icepdf.qa.viewer.common.Mediator;
+import org.icepdf.qa.viewer.common.PreferencesController;
 import org.icepdf.qa.viewer.project.ProjectCompareView;
 import org.icepdf.qa.viewer.project.ProjectPropertiesTabSet;
 import org.icepdf.qa.viewer.utilities.ImageLoader;
@@ -239,7 +240,13 @@ public class Launcher extends Application {
         MenuItem resetCaptureBMenuItem = new MenuItem("Reset Capture B");
         resetCaptureBMenuItem.setOnAction(event -> mediator.clearCaptureSetResultsB());
         mediator.setResetCaptureBMenuItem(resetCaptureBMenuItem);
-        editMenuItem.getItems().addAll(resetCaptureAMenuItem, resetCaptureBMenuItem);
+        // time the captures for the performance comparison, applies to the next test run.
+        CheckMenuItem timeCapturesMenuItem = new CheckMenuItem("Time Captures");
+        timeCapturesMenuItem.setSelected(PreferencesController.getCapturePerformanceMetrics());
+        timeCapturesMenuItem.setOnAction(event ->
+                PreferencesController.saveCapturePerformanceMetrics(timeCapturesMenuItem.isSelected()));
+        editMenuItem.getItems().addAll(resetCaptureAMenuItem, resetCaptureBMenuItem, new SeparatorMenuItem(),
+                timeCapturesMenuItem);
         // view.
         Menu viewMenuItem = new Menu("View");
         MenuItem fullScreenMenuItem = new MenuItem("Full Screen");
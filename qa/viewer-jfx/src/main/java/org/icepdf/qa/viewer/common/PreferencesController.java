@@ -66,6 +66,13 @@ public class PreferencesController {
     // a change takes effect only for a freshly created capture-set class loader.
     public static final String CAPTURE_IMAGE_THREAD_POOL_KEY = "captureImageThreadPoolSize";
     public static final int CAPTURE_IMAGE_THREAD_POOL_VALUE = 2;
+    // Performance comparison: time each page capture and record its allocation and peak heap, see
+    // ImageCompareTask. Timed runs capture one page at a time so the numbers aren't skewed by concurrent renders.
+    public static final String CAPTURE_PERFORMANCE_METRICS_KEY = "capturePerformanceMetrics";
+    public static final boolean CAPTURE_PERFORMANCE_METRICS_VALUE = false;
+    // B/A cost ratio above which a page is flagged as a performance regression, 1.25 is 25% slower or bigger.
+    public static final String PERFORMANCE_REGRESSION_THRESHOLD_KEY = "performanceRegressionThreshold";
+    public static final double PERFORMANCE_REGRESSION_THRESHOLD_VALUE = 1.25d;
     public static final String LAST_CONTENT_SET_KEY = "contentSetBasePath";
     public static final String APPLICATION_HOME_PATH_KEY = "applicationHomePath";
 
@@ -181,6 +188,23 @@ public class PreferencesController {
         prefs.putInt(CAPTURE_IMAGE_THREAD_POOL_KEY, Math.max(1, imageThreadPoolSize));
     }
 
+    public static boolean getCapturePerformanceMetrics() {
+        return prefs.getBoolean(CAPTURE_PERFORMANCE_METRICS_KEY, CAPTURE_PERFORMANCE_METRICS_VALUE);
+    }
+
+    public static void saveCapturePerformanceMetrics(boolean capturePerformanceMetrics) {
+        prefs.putBoolean(CAPTURE_PERFORMANCE_METRICS_KEY, capturePerformanceMetrics);
+    }
+
+    public static double getPerformanceRegressionThreshold() {
+        return Math.max(1d, prefs.getDouble(PERFORMANCE_REGRESSION_THRESHOLD_KEY,
+                PERFORMANCE_REGRESSION_THRESHOLD_VALUE));
+    }
+
+    public static void savePerformanceRegressionThreshold(double threshold) {
+        prefs.putDouble(PERFORMANCE_REGRESSION_THRESHOLD_KEY, Math.max(1d, threshold));
+    }
+
     public static void saveLastUsedContentSetPath(Path directoryPath) {
         prefs.put(LAST_CONTENT_SET_KEY, directoryPath.getFileName().toString());
     }
@@ -84,6 +84,8 @@ public class ImageComparePane extends ComparatorPane {
     // live per-channel colour tolerance for the computed diff mask.
     private Slider fuzzSlider;
     private Label metricsLabel;
+    // render cost of the open result, empty unless the captures were timed.
+    private Label costLabel;
 
     private ScrollPane scrollPane;
 
@@ -134,6 +136,7 @@ public class ImageComparePane extends ComparatorPane {
             fuzzSlider.setMinorTickCount(3);
             fuzzSlider.setPrefWidth(160);
             metricsLabel = new Label();
+            costLabel = new Label();
             fuzzSlider.valueProperty().addListener((observable, oldValue, newValue) -> recomputeMask());
             fuzzSlider.valueChangingProperty().addListener((observable, wasChanging, changing) -> {
                 if (!changing) {
@@ -142,7 +145,8 @@ public class ImageComparePane extends ComparatorPane {
             });
 
             viewTools.getItems().addAll(viewLabel, viewTypesChoiceBox, modeLabel, blendingModeChoiceBox,
-                    blendingToggleButton, new Separator(), fuzzLabel, fuzzSlider, metricsLabel);
+                    blendingToggleButton, new Separator(), fuzzLabel, fuzzSlider, metricsLabel, new Separator(),
+                    costLabel);
             setTop(new VBox(20, viewTools));
             scrollPane = new ScrollPane();
             setCenter(scrollPane);
@@ -216,6 +220,15 @@ public class ImageComparePane extends ComparatorPane {
                 cachedStructuralSimilarity = (bufferedA != null && bufferedB != null)
                         ? ImageCompare.structuralSimilarity(bufferedA, bufferedB) : 0d;
                 recomputeMask();
+                if (result.hasMetrics()) {
+                    costLabel.setText(String.format("time %.1f → %.1f ms (×%.2f)  |  alloc ×%.2f  |  heap ×%.2f",
+                            result.getTimeA(), result.getTimeB(), result.getTimeRatio(),
+                            result.getAllocationRatio(), result.getPeakHeapRatio()));
+                    costLabel.setTooltip(new Tooltip("A: " + result.getMetricsA() + "\nB: " + result.getMetricsB()));
+                } else {
+                    costLabel.setText("");
+                    costLabel.setTooltip(null);
+                }
             } catch (FileNotFoundException e) {
                 e.printStackTrace();
             } catch (IOException e) {
@@ -230,6 +243,8 @@ public class ImageComparePane extends ComparatorPane {
             bufferedA = null;
             bufferedB = null;
             metricsLabel.setText("");
+            costLabel.setText("");
+            costLabel.setTooltip(null);
         }
     }
 
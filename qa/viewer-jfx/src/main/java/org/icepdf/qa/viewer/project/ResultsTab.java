@@ -43,6 +43,7 @@ public class ResultsTab extends Tab {
     private final ContextMenu openFileContextMenu;
     private final TableView<Result> resultsTable;
     private final ObservableList<Result> data;
+    private final TableColumn<Result, Double> costRatioColumn;
 
     public ResultsTab(String title, Mediator mediator) {
         super(title);
@@ -80,8 +81,18 @@ public class ResultsTab extends Tab {
         TableColumn<Result, Double> ssimColumn = new TableColumn<>("SSIM %");
         ssimColumn.setCellValueFactory(new PropertyValueFactory<>("structuralSimilarity"));
 
+        // render cost columns, empty unless the captures were timed.  Ratios are B/A so the worst offenders sort to
+        // the top in descending order.
+        TableColumn<Result, Double> timeAColumn = createCostColumn("Time A ms", "timeA");
+        TableColumn<Result, Double> timeBColumn = createCostColumn("Time B ms", "timeB");
+        TableColumn<Result, Double> timeRatioColumn = createCostColumn("Time ×", "timeRatio");
+        TableColumn<Result, Double> allocationRatioColumn = createCostColumn("Alloc ×", "allocationRatio");
+        TableColumn<Result, Double> peakHeapRatioColumn = createCostColumn("Heap ×", "peakHeapRatio");
+        costRatioColumn = createCostColumn("Cost ×", "costRatio");
+
         resultsTable.getSortOrder().add(fileNameColumn);
-        resultsTable.getColumns().addAll(fileNameColumn, captureNameColumn, compareColumn, aeColumn, ssimColumn);
+        resultsTable.getColumns().addAll(fileNameColumn, captureNameColumn, compareColumn, aeColumn, ssimColumn,
+                timeAColumn, timeBColumn, timeRatioColumn, allocationRatioColumn, peakHeapRatioColumn, costRatioColumn);
 
         openFileContextMenu = new ContextMenu();
         MenuItem openClassPathA = new MenuItem("Open With classpath A");
@@ -121,11 +132,26 @@ public class ResultsTab extends Tab {
 
         Label filterValueLabel = new Label();
         filterValueLabel.setMinWidth(60);
+        // cost regressions replace the similarity filter, showing the pages that got slower or bigger instead.
+        CheckBox costFilterCheckBox = new CheckBox(String.format("Cost > ×%.2f",
+                PreferencesController.getPerformanceRegressionThreshold()));
         Runnable applyFilter = () -> {
             double threshold = filterSlider.getValue();
             filterValueLabel.setText(String.format("≤ %.2f%%", threshold));
-            filteredData.setPredicate(result -> result.getDifference() <= threshold);
+            if (costFilterCheckBox.isSelected()) {
+                double costThreshold = PreferencesController.getPerformanceRegressionThreshold();
+                filteredData.setPredicate(result -> result.isCostRegression(costThreshold));
+            } else {
+                filteredData.setPredicate(result -> result.getDifference() <= threshold);
+            }
+            filterSlider.setDisable(costFilterCheckBox.isSelected());
         };
+        costFilterCheckBox.setOnAction(event -> applyFilter.run());
+        Button worstOffendersButton = new Button("Worst Cost First");
+        worstOffendersButton.setOnAction(event -> {
+            costRatioColumn.setSortType(TableColumn.SortType.DESCENDING);
+            resultsTable.getSortOrder().setAll(costRatioColumn);
+        });
         filterSlider.valueProperty().addListener((observable, oldValue, newValue) -> applyFilter.run());
         // Persist the chosen threshold as the new default once the drag settles.
         filterSlider.valueChangingProperty().addListener((observable, wasChanging, changing) -> {
@@ -141,12 +167,29 @@ public class ResultsTab extends Tab {
 
         BorderPane borderPane = new BorderPane();
         ToolBar viewTools = new ToolBar();
-        viewTools.getItems().addAll(new Label("Show ≤"), filterSlider, filterValueLabel);
+        viewTools.getItems().addAll(new Label("Show ≤"), filterSlider, filterValueLabel, new Separator(),
+                costFilterCheckBox, worstOffendersButton);
         borderPane.setTop(new VBox(20, viewTools));
         borderPane.setCenter(resultsTable);
         this.setContent(borderPane);
     }
 
+    /**
+     * Creates a column for one of the render cost values, negative values mean not measured and are left blank.
+     */
+    private static TableColumn<Result, Double> createCostColumn(String title, String property) {
+        TableColumn<Result, Double> column = new TableColumn<>(title);
+        column.setCellValueFactory(new PropertyValueFactory<>(property));
+        column.setCellFactory(tableColumn -> new TableCell<Result, Double>() {
+            @Override
+            protected void updateItem(Double value, boolean empty) {
+                super.updateItem(value, empty);
+                setText(empty || value == null || value < 0 ? null : String.format("%.2f", value));
+            }
+        });
+        return column;
+    }
+
     public void clearResults() {
         data.clear();
     }
@@ -20,13 +20,16 @@ import org.icepdf.core.pobjects.Page;
 import org.icepdf.core.pobjects.PageTree;
 import org.icepdf.core.util.Library;
 import org.icepdf.core.util.PropertyConstants;
+import org.icepdf.core.util.ThumbnailProvider;
 import org.icepdf.ri.common.views.AbstractPageViewComponent;
 import org.icepdf.ri.common.views.DocumentViewController;
 import org.icepdf.ri.common.views.DocumentViewModel;
 
+import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.awt.image.BufferedImage;
 import java.util.concurrent.FutureTask;
 import java.util.logging.Logger;
 
@@ -39,6 +42,9 @@ import java.util.logging.Logger;
  * thumbnail can be configure with the system property:
  * <br>
  * org.icepdf.vi.views.buffersize.vertical
+ * <br>
+ * When a {@link ThumbnailProvider} is given the thumbnail is requested from the provider instead, which
+ * reuses thumbnails cached on disk and renders a simplified draft of the page rather than a full paint.
  */
 @SuppressWarnings("serial")
 public class PageThumbnailComponent extends AbstractPageViewComponent implements MouseListener {
@@ -46,6 +52,9 @@ public class PageThumbnailComponent extends AbstractPageViewComponent implements
     private static final Logger logger =
             Logger.getLogger(PageThumbnailComponent.class.getName());
 
+    private final ThumbnailProvider thumbnailProvider;
+    private volatile boolean thumbnailRequested;
+
     public PageThumbnailComponent(DocumentViewController documentViewController,
                                   DocumentViewModel documentViewModel, PageTree pageTree,
                                   int pageNumber, float thumbNailZoom) {
@@ -57,9 +66,18 @@ public class PageThumbnailComponent extends AbstractPageViewComponent implements
                                   int pageNumber,
                                   int width, int height,
                                   float thumbNailZoom) {
+        this(documentViewController, documentViewModel, pageTree, pageNumber, width, height, thumbNailZoom, null);
+    }
+
+    public PageThumbnailComponent(DocumentViewController documentViewController,
+                                  DocumentViewModel documentViewModel, PageTree pageTree,
+                                  int pageNumber,
+                                  int width, int height,
+                                  float thumbNailZoom, ThumbnailProvider thumbnailProvider) {
         super(documentViewModel, pageTree, pageNumber, width, height);
 
         this.documentViewController = documentViewController;
+        this.thumbnailProvider = thumbnailProvider;
 
         // current state.
         pageZoom = thumbNailZoom;
@@ -84,18 +102,47 @@ public class PageThumbnailComponent extends AbstractPageViewComponent implements
 
         // check if we need to create or refresh the back buffer.
         if (viewPort.intersects(pageLocation) && pageBufferStore.getImageReference() == null) {
+            // a provider built for another boundary or rotation would hand back thumbnails of the wrong size.
+            if (thumbnailProvider != null && thumbnailProvider.getBoundary() == pageBoundaryBox &&
+                    thumbnailProvider.getRotation() == pageRotation) {
+                requestThumbnail();
+                return;
+            }
             // start future task to paint the back buffer
             if (pageImageCaptureTask == null || pageImageCaptureTask.isDone() || pageImageCaptureTask.isCancelled()) {
                 pageImageCaptureTask = new FutureTask<>(
                         new PageImageCaptureTask(this, pageSize, pageSize,
                                 pageZoom,
                                 pageRotation));
-                Library.execute(pageImageCaptureTask);
+                Library.executeBlocking(pageImageCaptureTask);
             }
         }
     }
 
+    private void requestThumbnail() {
+        BufferedImage thumbnail = thumbnailProvider.getCachedThumbnail(pageIndex);
+        if (thumbnail != null) {
+            setPageBuffer(thumbnail);
+            return;
+        }
+        if (!thumbnailRequested) {
+            thumbnailRequested = true;
+            thumbnailProvider.requestThumbnail(pageIndex, (index, image) ->
+                    SwingUtilities.invokeLater(() -> {
+                        thumbnailRequested = false;
+                        // a failed build is requested again on a later paint.
+                        if (image != null) {
+                            setPageBuffer(image);
+                            repaint();
+                        }
+                    }));
+        }
+    }
+
     public void dispose() {
+        if (thumbnailProvider != null && thumbnailRequested) {
+            thumbnailProvider.cancel(pageIndex);
+        }
         // cancel any in-flight capture task so a disposed thumbnail doesn't keep an
         // expensive page init/paint running (mirrors PageViewComponentImpl.dispose()).
         if (pageImageCaptureTask != null && !pageImageCaptureTask.isDone()) {
@@ -1795,8 +1795,7 @@ public class SwingController extends ComponentAdapter implements org.icepdf.ri.c
     private boolean hasForms() {
         return document != null &&
                 !(document.getCatalog().getInteractiveForm() == null ||
-                        document.getCatalog().getInteractiveForm().getFields() == null ||
-                        document.getCatalog().getInteractiveForm().getFields().size() == 0);
+                        document.getCatalog().getInteractiveForm().getFieldCount() == 0);
     }
 
     private void reflectPageChangeInComponents() {
@@ -19,6 +19,7 @@ import org.icepdf.core.pobjects.PDimension;
 import org.icepdf.core.pobjects.Page;
 import org.icepdf.core.pobjects.PageTree;
 import org.icepdf.core.pobjects.annotations.Annotation;
+import org.icepdf.core.util.Defs;
 import org.icepdf.core.util.GraphicsRenderingHints;
 
 import javax.print.*;
@@ -31,6 +32,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.awt.print.PageFormat;
 import java.awt.print.Printable;
 import java.awt.print.PrinterException;
@@ -43,6 +45,17 @@ import java.util.logging.Logger;
  * <p>The <code>PrintHelper</code> class is utility class to aid developers in
  * printing PDF document content.  The PrintHelper takes advantage of the
  * Pageable and Printable interfaces availabe in Java 2.</p>
+ * <p>Pages are spooled, the next pages of the job are initialized on worker threads while the current page is
+ * sent to the printer, see {@link PrintSpooler}.  The following system properties configure the spooling:</p>
+ * <ul>
+ *     <li>{@code org.icepdf.ri.common.printHelper.spool.lookAhead} - pages prepared ahead of the one printing,
+ *     default 2; 0 prepares each page on the printer thread.</li>
+ *     <li>{@code org.icepdf.ri.common.printHelper.spool.maxMB} - memory the prepared pages may hold, default
+ *     256.</li>
+ *     <li>{@code org.icepdf.ri.common.printHelper.spool.raster} - paint prepared pages into page buffers and send
+ *     the buffers, smaller spool files at the cost of vector quality, default false.</li>
+ *     <li>{@code org.icepdf.ri.common.printHelper.spool.dpi} - resolution of the page buffers, default 300.</li>
+ * </ul>
  *
  * @since 2.0
  */
@@ -55,6 +68,20 @@ public class PrintHelperImpl extends PrintHelper {
     private final Container container;
     private final float userRotation;
 
+    private static final int SPOOL_LOOK_AHEAD;
+    private static final long SPOOL_MAX_BYTES;
+    private static final boolean SPOOL_RASTER;
+    private static final int SPOOL_DPI;
+
+    static {
+        SPOOL_LOOK_AHEAD = Math.max(0, Defs.sysPropertyInt("org.icepdf.ri.common.printHelper.spool.lookAhead", 2));
+        SPOOL_MAX_BYTES = Math.max(0, Defs.sysPropertyInt("org.icepdf.ri.common.printHelper.spool.maxMB", 256))
+                * 1024L * 1024L;
+        SPOOL_RASTER = Defs.sysPropertyBoolean("org.icepdf.ri.common.printHelper.spool.raster", false);
+        SPOOL_DPI = Math.max(72, Defs.sysPropertyInt("org.icepdf.ri.common.printHelper.spool.dpi", 300));
+    }
+
+    private PrintSpooler<PreparedPage> spooler;
 
     /**
      * Creates a new <code>PrintHelper</code> instance using the specified
@@ -126,7 +153,8 @@ public class PrintHelperImpl extends PrintHelper {
 
     /**
      * Prints the page at the specified index into the specified
-     * java.awt.Graphics context in the specified format.
+     * java.awt.Graphics context in the specified format.  Pages are prepared by the job's {@link PrintSpooler},
+     * which initializes the following pages of the job while this one is sent to the printer.
      *
      * @param printGraphics paper graphics context.
      * @param pageFormat    print attributes translated from PrintService
@@ -143,114 +171,196 @@ public class PrintHelperImpl extends PrintHelper {
 
         // Throws NO_SUCH_PAGE to printable interface,  out of page range
         if (pageIndex < 0 || pageIndex >= pageTree.getNumberOfPages()) {
+            disposeSpooler();
             return Printable.NO_SUCH_PAGE;
         }
         try {
+            PreparedPage preparedPage = getSpooler().getPage(pageIndex, pageFormat, this::isInPageRanges);
 
-            // Initiate the Page to print, not adding to the pageTree cache purposely,
-            // after we finish using it we'll dispose it.
-            Page currentPage = pageTree.getPage(pageIndex);
-            currentPage.init();
-            PDimension pageDim = currentPage.getSize(userRotation);
+            // apply imageablePrintLocation, normally (0,0)
+            printGraphics.translate(preparedPage.imageablePrintLocation.x, preparedPage.imageablePrintLocation.y);
+            // apply the new clip is popup printing is active
+            printGraphics.setClip(preparedPage.pageBoundaryClip);
+
+            if (preparedPage.raster != null) {
+                // Page painted to a page buffer to reduce spool size but quality will suffer.
+                Rectangle area = preparedPage.rasterArea;
+                printGraphics.drawImage(preparedPage.raster, area.x, area.y, area.width, area.height, null);
+            } else {
+                // Paint the page content
+                preparedPage.page.paint(printGraphics,
+                        GraphicsRenderingHints.PRINT,
+                        Page.BOUNDARY_MEDIABOX,
+                        preparedPage.rotation, preparedPage.zoomFactor, isPaintAnnotation(),
+                        isPaintSearchHighlight());
+            }
 
-            // Grab default page width and height
-            float pageWidth = (float) pageDim.getWidth();
-            float pageHeight = (float) pageDim.getHeight();
+            // Painting a little rectangle seems to fix a strange clipping issue where some images are
+            // clipped by about 75%.  Found this by workaround by accident with our trial version.  The clip
+            // issue only seems to happen if the PDF is make up many image with none paint primitives.
+            if (CLIPPING_FIX_ENABLED) {
+                printGraphics.setColor(Color.WHITE);
+                printGraphics.drawRect(-9, -9, 10, 10);
+            }
 
-            // Default zoom factor
-            float zoomFactor = 1.0f;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.log(Level.FINEST, "Printing: Page initialization and painting was interrupted: " + pageIndex);
+        }
 
-            Point imageablePrintLocation = new Point();
+        return Printable.PAGE_EXISTS;
+    }
 
-            // detect if page is being drawn in landscape, if so then we should
-            // be rotating the page so that it prints correctly
-            float rotation = userRotation;
-            boolean isDefaultRotation = true;
-            if ((pageWidth > pageHeight &&
-                    pageFormat.getOrientation() == PageFormat.PORTRAIT)
-                // autorotation for landscape.
+    /**
+     * Initializes a page and computes its print layout, and if spool rasters are enabled paints it into a page
+     * buffer.  Called by the spooler, on a worker thread for the pages ahead of the one being printed.
+     *
+     * @param pageIndex  page to prepare, zero based.
+     * @param pageFormat print attributes translated from PrintService
+     * @return page ready to be sent to the printer.
+     * @throws InterruptedException thread was interrupted.
+     */
+    protected PreparedPage preparePage(int pageIndex, PageFormat pageFormat) throws InterruptedException {
+        // Initiate the Page to print, not adding to the pageTree cache purposely,
+        // after we finish using it we'll dispose it.
+        Page currentPage = pageTree.getPage(pageIndex);
+        currentPage.init();
+        PDimension pageDim = currentPage.getSize(userRotation);
+
+        // Grab default page width and height
+        float pageWidth = (float) pageDim.getWidth();
+        float pageHeight = (float) pageDim.getHeight();
+
+        // Default zoom factor
+        float zoomFactor = 1.0f;
+
+        Point imageablePrintLocation = new Point();
+
+        // detect if page is being drawn in landscape, if so then we should
+        // be rotating the page so that it prints correctly
+        float rotation = userRotation;
+        boolean isDefaultRotation = true;
+        if ((pageWidth > pageHeight &&
+                pageFormat.getOrientation() == PageFormat.PORTRAIT)
+            // autorotation for landscape.
 //            (pageHeight > pageFormat.getImageableWidth() &&
 //                pageFormat.getOrientation() == PageFormat.LANDSCAPE )
-            ) {
-                // rotate clockwise 90 degrees
-                isDefaultRotation = false;
-                rotation -= 90;
-            }
+        ) {
+            // rotate clockwise 90 degrees
+            isDefaultRotation = false;
+            rotation -= 90;
+        }
 
-            Rectangle pageBoundaryClip = null;
-            if (isPrintFitToMargin()) {
-                // find page size including any popup annotations.
-                Dimension dim = pageDim.toDimension();
-                Rectangle2D.Float rect = new Rectangle2D.Float(0, 0, dim.width, dim.height);
-                List<Annotation> annotations = currentPage.getAnnotations();
-                if (annotations != null) {
-                    for (Annotation annot : annotations) {
-                        Rectangle2D.union(
-                                rect,
-                                annot.calculatePageSpaceRectangle(currentPage, Page.BOUNDARY_MEDIABOX, rotation,
-                                        zoomFactor),
-                                rect);
-                    }
+        Rectangle pageBoundaryClip = null;
+        if (isPrintFitToMargin()) {
+            // find page size including any popup annotations.
+            Dimension dim = pageDim.toDimension();
+            Rectangle2D.Float rect = new Rectangle2D.Float(0, 0, dim.width, dim.height);
+            List<Annotation> annotations = currentPage.getAnnotations();
+            if (annotations != null) {
+                for (Annotation annot : annotations) {
+                    Rectangle2D.union(
+                            rect,
+                            annot.calculatePageSpaceRectangle(currentPage, Page.BOUNDARY_MEDIABOX, rotation,
+                                    zoomFactor),
+                            rect);
                 }
+            }
 
-                // Get location of imageable area from PageFormat object
-                Dimension imageablePrintSize;
-                // correct scale to fit calculation for a possible automatic rotation.
-                if (isDefaultRotation) {
-                    imageablePrintSize = new Dimension(
-                            (int) pageFormat.getImageableWidth(),
-                            (int) pageFormat.getImageableHeight());
-                } else {
-                    imageablePrintSize = new Dimension(
-                            (int) pageFormat.getImageableHeight(),
-                            (int) pageFormat.getImageableWidth());
-                }
-                float zw = imageablePrintSize.width / rect.width;
-                float zh = imageablePrintSize.height / rect.height;
-                zoomFactor = Math.min(zw, zh);
+            // Get location of imageable area from PageFormat object
+            Dimension imageablePrintSize;
+            // correct scale to fit calculation for a possible automatic rotation.
+            if (isDefaultRotation) {
+                imageablePrintSize = new Dimension(
+                        (int) pageFormat.getImageableWidth(),
+                        (int) pageFormat.getImageableHeight());
+            } else {
+                imageablePrintSize = new Dimension(
+                        (int) pageFormat.getImageableHeight(),
+                        (int) pageFormat.getImageableWidth());
+            }
+            float zw = imageablePrintSize.width / rect.width;
+            float zh = imageablePrintSize.height / rect.height;
+            zoomFactor = Math.min(zw, zh);
 
-                AffineTransform zoomAf = new AffineTransform();
-                zoomAf.setToScale(zoomFactor, zoomFactor);
-                pageBoundaryClip = zoomAf.createTransformedShape(rect).getBounds();
+            AffineTransform zoomAf = new AffineTransform();
+            zoomAf.setToScale(zoomFactor, zoomFactor);
+            pageBoundaryClip = zoomAf.createTransformedShape(rect).getBounds();
 
-                // adjust for new size but also the imageable area of the printer
-                imageablePrintLocation.x = (int) pageFormat.getImageableX() - pageBoundaryClip.x;
-                imageablePrintLocation.y = (int) pageFormat.getImageableY() - pageBoundaryClip.y;
+            // adjust for new size but also the imageable area of the printer
+            imageablePrintLocation.x = (int) pageFormat.getImageableX() - pageBoundaryClip.x;
+            imageablePrintLocation.y = (int) pageFormat.getImageableY() - pageBoundaryClip.y;
 
-            }
-            // apply imageablePrintLocation, normally (0,0)
-            printGraphics.translate(imageablePrintLocation.x, imageablePrintLocation.y);
-            // apply the new clip is popup printing is active
-            printGraphics.setClip(pageBoundaryClip);
+        }
+        PreparedPage preparedPage = new PreparedPage(currentPage, rotation, zoomFactor, imageablePrintLocation,
+                pageBoundaryClip);
+        if (SPOOL_RASTER) {
+            rasterize(preparedPage);
+        }
+        return preparedPage;
+    }
 
-            // Paint the page content
-            currentPage.paint(printGraphics,
+    /**
+     * Paints the page into a white page buffer covering the printed area at the spool resolution.
+     */
+    private void rasterize(PreparedPage preparedPage) throws InterruptedException {
+        Rectangle area = preparedPage.pageBoundaryClip != null ? preparedPage.pageBoundaryClip :
+                preparedPage.page.getPageShape(Page.BOUNDARY_MEDIABOX, preparedPage.rotation,
+                        preparedPage.zoomFactor).getBounds();
+        double scale = SPOOL_DPI / 72.0;
+        int width = (int) Math.ceil(area.width * scale);
+        int height = (int) Math.ceil(area.height * scale);
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        BufferedImage raster = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = raster.createGraphics();
+        try {
+            g2.setColor(Color.WHITE);
+            g2.fillRect(0, 0, width, height);
+            g2.scale(scale, scale);
+            g2.translate(-area.x, -area.y);
+            g2.setClip(area);
+            preparedPage.page.paint(g2,
                     GraphicsRenderingHints.PRINT,
                     Page.BOUNDARY_MEDIABOX,
-                    rotation, zoomFactor, isPaintAnnotation(), isPaintSearchHighlight());
+                    preparedPage.rotation, preparedPage.zoomFactor, isPaintAnnotation(), isPaintSearchHighlight());
+        } finally {
+            g2.dispose();
+        }
+        preparedPage.raster = raster;
+        preparedPage.rasterArea = area;
+    }
 
-            // Painting a little rectangle seems to fix a strange clipping issue where some images are
-            // clipped by about 75%.  Found this by workaround by accident with our trial version.  The clip
-            // issue only seems to happen if the PDF is make up many image with none paint primitives.
-            if (CLIPPING_FIX_ENABLED) {
-                printGraphics.setColor(Color.WHITE);
-                printGraphics.drawRect(-9, -9, 10, 10);
-            }
+    private boolean isInPageRanges(int pageIndex) {
+        PageRanges pageRanges = (PageRanges) getPrintRequestAttributeSet().get(PageRanges.class);
+        return pageRanges == null || pageRanges.contains(pageIndex + 1);
+    }
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.log(Level.FINEST, "Printing: Page initialization and painting was interrupted: " + pageIndex);
-        }
+    private synchronized PrintSpooler<PreparedPage> getSpooler() {
+        if (spooler == null) {
+            spooler = new PrintSpooler<>(new PrintSpooler.PagePreparer<PreparedPage>() {
+                @Override
+                public PreparedPage prepare(int pageIndex, PageFormat pageFormat) throws InterruptedException {
+                    return preparePage(pageIndex, pageFormat);
+                }
 
-        // Paint content to page buffer to reduce spool size but quality will suffer.
-//        Image image = viewController.getDocument().getPageImage(pageIndex,
-//                GraphicsRenderingHints.PRINT,
-//                Page.BOUNDARY_CROPBOX,
-//                rotation, zoomFactor);
-//        printGraphics.drawImage(image,0,0,null);
-//        image.flush();
+                @Override
+                public long sizeOf(PreparedPage preparedPage) {
+                    return preparedPage.getSize();
+                }
+            }, pageTree.getNumberOfPages(), SPOOL_LOOK_AHEAD, SPOOL_MAX_BYTES);
+        }
+        return spooler;
+    }
 
-        return Printable.PAGE_EXISTS;
+    /**
+     * Releases the pages prepared for the current job, the job's worker threads time out on their own.
+     */
+    private synchronized void disposeSpooler() {
+        if (spooler != null) {
+            spooler.dispose();
+        }
     }
 
     @Override
@@ -260,11 +370,15 @@ public class PrintHelperImpl extends PrintHelper {
             // calculate total pages being printed
             calculateTotalPagesToPrint();
 
-            getPrintServiceOrDefault().createPrintJob().print(
-                    new SimpleDoc(this,
-                            DocFlavor.SERVICE_FORMATTED.PRINTABLE,
-                            null),
-                    getPrintRequestAttributeSet());
+            try {
+                getPrintServiceOrDefault().createPrintJob().print(
+                        new SimpleDoc(this,
+                                DocFlavor.SERVICE_FORMATTED.PRINTABLE,
+                                null),
+                        getPrintRequestAttributeSet());
+            } finally {
+                disposeSpooler();
+            }
         } else {
             logger.fine("No print could be found to print to.");
         }
@@ -337,6 +451,7 @@ public class PrintHelperImpl extends PrintHelper {
                     getPrintRequestAttributeSet());
 
             printJobWatcher.waitForDone();
+            disposeSpooler();
         } else {
             logger.fine("No print could be found to print to.");
         }
@@ -394,4 +509,47 @@ public class PrintHelperImpl extends PrintHelper {
                 getPrintRequestAttributeSet()
         );
     }
+
+    /**
+     * A page initialized for printing with its print layout, and its page buffer if spool rasters are enabled.
+     */
+    protected static class PreparedPage {
+        private final Page page;
+        private final float rotation;
+        private final float zoomFactor;
+        private final Point imageablePrintLocation;
+        private final Rectangle pageBoundaryClip;
+        private BufferedImage raster;
+        private Rectangle rasterArea;
+
+        protected PreparedPage(Page page, float rotation, float zoomFactor, Point imageablePrintLocation,
+                               Rectangle pageBoundaryClip) {
+            this.page = page;
+            this.rotation = rotation;
+            this.zoomFactor = zoomFactor;
+            this.imageablePrintLocation = imageablePrintLocation;
+            this.pageBoundaryClip = pageBoundaryClip;
+        }
+
+        public Page getPage() {
+            return page;
+        }
+
+        public BufferedImage getRaster() {
+            return raster;
+        }
+
+        /**
+         * Gets the memory held by the prepared page.  The decoded content of a vector page isn't measurable so it
+         * is approximated by an ARGB buffer of the printed page at 72 dpi.
+         */
+        public long getSize() {
+            if (raster != null) {
+                return (long) raster.getWidth() * raster.getHeight() * 4;
+            }
+            Rectangle area = pageBoundaryClip != null ? pageBoundaryClip :
+                    page.getPageShape(Page.BOUNDARY_MEDIABOX, rotation, zoomFactor).getBounds();
+            return (long) area.width * area.height * 4;
+        }
+    }
 }
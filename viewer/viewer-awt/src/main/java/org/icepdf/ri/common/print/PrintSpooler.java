@@ -0,0 +1,263 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.ri.common.print;
+
+import java.awt.print.PageFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.*;
+import java.util.function.IntPredicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Look-ahead spooler for a print job.  The Java print system calls {@link java.awt.print.Printable#print} for one
+ * page at a time on the printer thread, often several times for the same page, and any work done in the callback
+ * holds up the printer.  The spooler prepares the next pages of the job on worker threads while the current page is
+ * being sent, and keeps the prepared current page so the repeated calls for it are a replay.
+ * <br>
+ * What preparing means is up to the {@link PagePreparer}, {@link PrintHelperImpl} initializes the page, computes
+ * its print layout and optionally paints it into a raster.  Prepared pages hold memory so the look-ahead is bounded
+ * both by a page count and by a byte budget, a page is not prepared ahead if the pages already prepared, the pages
+ * still being prepared and the page itself would exceed the budget.  Pages not yet prepared are counted at the
+ * size of the last prepared page.  Pages before the current one are released.
+ *
+ * @param <T> prepared page type.
+ * @since 7.5
+ */
+public class PrintSpooler<T> {
+
+    private static final Logger logger =
+            Logger.getLogger(PrintSpooler.class.getName());
+
+    private static final long KEEP_ALIVE_TIME = 30;
+
+    /**
+     * Prepares a page for printing, called on a worker thread for look-ahead pages and on the printer thread for a
+     * page that wasn't prepared ahead.
+     */
+    public interface PagePreparer<T> {
+        T prepare(int pageIndex, PageFormat pageFormat) throws InterruptedException;
+
+        /**
+         * Gets the memory held by a prepared page, counted against the spooler's budget.
+         */
+        long sizeOf(T preparedPage);
+    }
+
+    private final PagePreparer<T> preparer;
+    private final int pageCount;
+    private final int lookAhead;
+    private final long budget;
+    private final ThreadPoolExecutor executor;
+
+    // guarded by this
+    private final TreeMap<Integer, Entry> entries = new TreeMap<>();
+    private long bytesInUse;
+    private long lastPageSize;
+
+    /**
+     * Creates a new spooler.
+     *
+     * @param preparer  prepares the pages.
+     * @param pageCount number of pages in the document.
+     * @param lookAhead number of pages to prepare ahead of the current page, 0 prepares pages on the printer thread
+     *                  only.
+     * @param budget    bytes the prepared pages may hold.
+     */
+    public PrintSpooler(PagePreparer<T> preparer, int pageCount, int lookAhead, long budget) {
+        this.preparer = preparer;
+        this.pageCount = pageCount;
+        this.lookAhead = Math.max(0, lookAhead);
+        this.budget = budget;
+        int threads = Math.max(1, Math.min(this.lookAhead, Runtime.getRuntime().availableProcessors()));
+        executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_TIME, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), command -> {
+            Thread newThread = new Thread(command);
+            newThread.setName("ICEpdf-thread-print-spool");
+            newThread.setDaemon(true);
+            return newThread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Gets the prepared page, preparing it on the calling thread if it wasn't prepared ahead, and schedules the
+     * following pages of the job.
+     *
+     * @param pageIndex  page being printed.
+     * @param pageFormat page format of the print call.
+     * @param inJob      tests whether a page index is part of the print job, the look-ahead skips other pages.
+     * @return prepared page.
+     * @throws InterruptedException thread was interrupted.
+     */
+    public T getPage(int pageIndex, PageFormat pageFormat, IntPredicate inJob) throws InterruptedException {
+        Entry entry;
+        synchronized (this) {
+            releaseBefore(pageIndex);
+            entry = entries.get(pageIndex);
+            if (entry != null && !isSameFormat(entry.pageFormat, pageFormat)) {
+                release(entries.remove(pageIndex));
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new Entry(pageIndex, pageFormat);
+                entries.put(pageIndex, entry);
+            }
+            scheduleLookAhead(pageIndex, pageFormat, inJob);
+        }
+        // runs the preparation here if no worker has started it yet.
+        entry.task.run();
+        try {
+            return entry.task.get();
+        } catch (CancellationException e) {
+            // released by a concurrent dispose, prepare on this thread.
+            return preparer.prepare(pageIndex, pageFormat);
+        } catch (ExecutionException e) {
+            synchronized (this) {
+                if (entries.get(pageIndex) == entry) {
+                    entries.remove(pageIndex);
+                }
+            }
+            Throwable cause = e.getCause();
+            if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Releases all prepared pages and cancels the look-ahead, called when the job ends.
+     */
+    public synchronized void dispose() {
+        for (Entry entry : entries.values()) {
+            release(entry);
+        }
+        entries.clear();
+        bytesInUse = 0;
+    }
+
+    /**
+     * Shuts down the worker threads, the spooler can't be used afterwards.
+     */
+    public void shutdown() {
+        dispose();
+        executor.shutdownNow();
+    }
+
+    public synchronized long getBytesInUse() {
+        return bytesInUse;
+    }
+
+    public synchronized int getPreparedPageCount() {
+        return entries.size();
+    }
+
+    private void scheduleLookAhead(int pageIndex, PageFormat pageFormat, IntPredicate inJob) {
+        // pages still being prepared aren't counted yet, estimate them at the size of the last one.
+        long projected = bytesInUse;
+        for (Entry entry : entries.values()) {
+            if (!entry.task.isDone()) {
+                projected += lastPageSize;
+            }
+        }
+        int scheduled = 0;
+        for (int next = pageIndex + 1; next < pageCount && scheduled < lookAhead; next++) {
+            if (!inJob.test(next)) {
+                continue;
+            }
+            scheduled++;
+            if (entries.containsKey(next)) {
+                continue;
+            }
+            if (projected + lastPageSize > budget) {
+                if (logger.isLoggable(Level.FINER)) {
+                    logger.finer("Print spool budget reached, not preparing page " + next + " ahead");
+                }
+                return;
+            }
+            Entry entry = new Entry(next, pageFormat);
+            entries.put(next, entry);
+            projected += lastPageSize;
+            try {
+                executor.execute(entry.task);
+            } catch (RejectedExecutionException e) {
+                // shut down, the page is prepared on the printer thread.
+                return;
+            }
+        }
+    }
+
+    private void releaseBefore(int pageIndex) {
+        Iterator<Map.Entry<Integer, Entry>> iterator = entries.headMap(pageIndex).entrySet().iterator();
+        while (iterator.hasNext()) {
+            release(iterator.next().getValue());
+            iterator.remove();
+        }
+    }
+
+    private void release(Entry entry) {
+        entry.task.cancel(false);
+        // the size is recorded before the task completes, so a cancelled task may still have been counted.
+        bytesInUse -= entry.size;
+        entry.size = 0;
+    }
+
+    private synchronized void prepared(Entry entry, long size) {
+        lastPageSize = size;
+        // a page released while it was prepared isn't counted.
+        if (entries.get(entry.pageIndex) == entry && !entry.task.isCancelled()) {
+            entry.size = size;
+            bytesInUse += size;
+        }
+    }
+
+    private static boolean isSameFormat(PageFormat a, PageFormat b) {
+        return a == b || (a.getOrientation() == b.getOrientation() &&
+                a.getWidth() == b.getWidth() && a.getHeight() == b.getHeight() &&
+                a.getImageableX() == b.getImageableX() && a.getImageableY() == b.getImageableY() &&
+                a.getImageableWidth() == b.getImageableWidth() && a.getImageableHeight() == b.getImageableHeight());
+    }
+
+    private class Entry {
+        private final int pageIndex;
+        private final PageFormat pageFormat;
+        private final FutureTask<T> task;
+        // guarded by the spooler
+        private long size;
+
+        Entry(int pageIndex, PageFormat pageFormat) {
+            this.pageIndex = pageIndex;
+            this.pageFormat = pageFormat;
+            this.task = new FutureTask<>(() -> {
+                long start = System.nanoTime();
+                T preparedPage = preparer.prepare(pageIndex, pageFormat);
+                prepared(this, preparer.sizeOf(preparedPage));
+                if (logger.isLoggable(Level.FINER)) {
+                    logger.finer("Prepared page " + pageIndex + " for printing in " +
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+                }
+                return preparedPage;
+            });
+        }
+    }
+}
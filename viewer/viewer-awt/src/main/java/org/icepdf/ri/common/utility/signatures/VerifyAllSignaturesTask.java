@@ -18,6 +18,8 @@ package org.icepdf.ri.common.utility.signatures;
 import org.icepdf.core.pobjects.Document;
 import org.icepdf.core.pobjects.acroform.InteractiveForm;
 import org.icepdf.core.pobjects.acroform.SignatureDictionary;
+import org.icepdf.core.pobjects.acroform.signature.SignatureBatchValidator;
+import org.icepdf.core.pobjects.acroform.signature.SignatureValidator;
 import org.icepdf.core.pobjects.acroform.signature.exceptions.SignatureIntegrityException;
 import org.icepdf.core.pobjects.annotations.SignatureWidgetAnnotation;
 import org.icepdf.ri.common.AbstractTask;
@@ -56,6 +58,8 @@ public class VerifyAllSignaturesTask extends AbstractTask<Void, Object> {
             // build out the tree
             if (signatures.size() > 0) {
                 // iterate over the signature in the document.
+                ArrayList<SignatureWidgetAnnotation> signedFields = new ArrayList<>(signatures.size());
+                ArrayList<SignatureValidator> validators = new ArrayList<>(signatures.size());
                 for (int i = 0, max = signatures.size(); i < max; i++) {
                     // break if needed
                     if (isCancelled()) {
@@ -67,21 +71,28 @@ public class VerifyAllSignaturesTask extends AbstractTask<Void, Object> {
                     signatureWidgetAnnotation.init();
                     SignatureDictionary signatureDictionary = signatureWidgetAnnotation.getSignatureDictionary();
                     if (signatureDictionary.getEntries().size() > 0) {
-                        try {
-                            signatureWidgetAnnotation.getSignatureValidator().validate();
-                            signatureWidgetAnnotation.getSignatureValidator().isSignaturesCoverDocumentLength();
-                            // add a new node to the tree.
-                        } catch (SignatureIntegrityException e) {
-                            logger.log(Level.WARNING, "Error verifying signature.", e);
-                        }
-                        // add the node to the signature panel tree but on the awt thread.
-                        publish(signatureWidgetAnnotation);
+                        signedFields.add(signatureWidgetAnnotation);
+                        validators.add(signatureWidgetAnnotation.getSignatureValidator());
                     } else {
                         // found some unsigned fields.
                         unsignedFields = true;
                     }
                     Thread.yield();
                 }
+                if (!isCancelled() && !signedFields.isEmpty()) {
+                    // validate all signatures in one pass over the document.
+                    List<SignatureIntegrityException> errors =
+                            new SignatureBatchValidator(document.getCatalog().getLibrary(), validators).validate();
+                    for (SignatureIntegrityException error : errors) {
+                        if (error != null) {
+                            logger.log(Level.WARNING, "Error verifying signature.", error);
+                        }
+                    }
+                    for (SignatureWidgetAnnotation signatureWidgetAnnotation : signedFields) {
+                        // add the node to the signature panel tree but on the awt thread.
+                        publish(signatureWidgetAnnotation);
+                    }
+                }
                 // build out unsigned fields
                 if (unsignedFields) {
                     publish(signatures);
@@ -18,6 +18,7 @@ package org.icepdf.ri.common.utility.thumbs;
 
 import org.icepdf.core.pobjects.Document;
 import org.icepdf.core.pobjects.PageTree;
+import org.icepdf.core.util.ThumbnailProvider;
 import org.icepdf.ri.common.MutableDocument;
 import org.icepdf.ri.common.PageThumbnailComponent;
 import org.icepdf.ri.common.SwingController;
@@ -44,6 +45,9 @@ public class ThumbnailsPanel extends JPanel implements MutableDocument {
 
     private final Controller controller;
 
+    // builds and caches the page thumbnails for the current document.
+    private ThumbnailProvider thumbnailProvider;
+
     public ThumbnailsPanel(Controller controller,
                            ViewerPropertiesManager propertiesManager) {
         this.controller = controller;
@@ -57,6 +61,7 @@ public class ThumbnailsPanel extends JPanel implements MutableDocument {
 
     @Override
     public void refreshDocumentInstance() {
+        disposeThumbnailProvider();
         Document document = controller.getDocument();
         if (document != null) {
             buildUI();
@@ -68,9 +73,44 @@ public class ThumbnailsPanel extends JPanel implements MutableDocument {
 
     @Override
     public void disposeDocument() {
+        disposeThumbnailProvider();
         this.removeAll();
     }
 
+    private void disposeThumbnailProvider() {
+        if (thumbnailProvider != null) {
+            thumbnailProvider.dispose();
+            thumbnailProvider = null;
+        }
+    }
+
+    /**
+     * Passes the range of thumbnails in the viewport to the provider so pending thumbnails are rendered
+     * in view first.
+     */
+    private void updateVisibleRange(JScrollPane scrollPane, JPanel pageThumbsPanel) {
+        if (thumbnailProvider == null) {
+            return;
+        }
+        Rectangle viewRect = scrollPane.getViewport().getViewRect();
+        int first = -1;
+        int last = -1;
+        Component[] components = pageThumbsPanel.getComponents();
+        for (int i = 0; i < components.length; i++) {
+            if (components[i].getBounds().intersects(viewRect)) {
+                if (first < 0) {
+                    first = i;
+                }
+                last = i;
+            } else if (first >= 0) {
+                break;
+            }
+        }
+        if (first >= 0) {
+            thumbnailProvider.setVisibleRange(first, last);
+        }
+    }
+
     private void buildUI() {
 
         final ModifiedFlowLayout layout = new ModifiedFlowLayout();
@@ -91,6 +131,7 @@ public class ThumbnailsPanel extends JPanel implements MutableDocument {
 
         scrollPane.getVerticalScrollBar().addAdjustmentListener(
                 e -> {
+                    updateVisibleRange(scrollPane, pageThumbsPanel);
                     if (!e.getValueIsAdjusting()) {
                         repaint();
                     }
@@ -110,18 +151,21 @@ public class ThumbnailsPanel extends JPanel implements MutableDocument {
         thumbnailViewController.setDocument(null);
         DocumentViewModel thumbNailViewModel = thumbnailViewController.getDocumentViewModel();
         thumbNailViewModel.setDocumentViewScrollPane(scrollPane);
+        // thumbnails are built for the boundary the page components size themselves by, unrotated.
+        thumbnailProvider = new ThumbnailProvider(document, thumbNailZoom, thumbNailViewModel.getPageBoundary(), 0);
 
         // add components for every page in the document
         for (int i = 0; i < numberOfPages; i++) {
             // also a way to pass in an average document size.
             if (i < MAX_PAGE_SIZE_READ_AHEAD) {
                 pageThumbnailComponent = new PageThumbnailComponent(
-                        thumbnailViewController, thumbNailViewModel, pageTree, i, thumbNailZoom);
+                        thumbnailViewController, thumbNailViewModel, pageTree, i, 0, 0, thumbNailZoom,
+                        thumbnailProvider);
                 avgPageWidth += pageThumbnailComponent.getPreferredSize().width;
                 avgPageHeight += pageThumbnailComponent.getPreferredSize().height;
             } else if (i > MAX_PAGE_SIZE_READ_AHEAD) {
                 pageThumbnailComponent = new PageThumbnailComponent(thumbnailViewController, thumbNailViewModel,
-                        pageTree, i, avgPageWidth, avgPageHeight, thumbNailZoom);
+                        pageTree, i, avgPageWidth, avgPageHeight, thumbNailZoom, thumbnailProvider);
             }
             // calculate average page size
             else {
@@ -129,7 +173,7 @@ public class ThumbnailsPanel extends JPanel implements MutableDocument {
                 avgPageHeight /= MAX_PAGE_SIZE_READ_AHEAD;
                 pageThumbnailComponent =
                         new PageThumbnailComponent(thumbnailViewController, thumbNailViewModel, pageTree, i,
-                                avgPageWidth, avgPageHeight, thumbNailZoom);
+                                avgPageWidth, avgPageHeight, thumbNailZoom, thumbnailProvider);
             }
             pageThumbsPanel.add(pageThumbnailComponent);
         }
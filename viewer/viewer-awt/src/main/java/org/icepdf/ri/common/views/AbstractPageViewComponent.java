@@ -17,9 +17,15 @@ package org.icepdf.ri.common.views;
 
 import org.icepdf.core.events.PaintPageEvent;
 import org.icepdf.core.events.PaintPageListener;
+import org.icepdf.core.pobjects.Catalog;
+import org.icepdf.core.pobjects.Document;
 import org.icepdf.core.pobjects.Page;
 import org.icepdf.core.pobjects.PageTree;
 import org.icepdf.core.util.*;
+import org.icepdf.core.util.memory.DocumentMemory;
+import org.icepdf.core.util.memory.MemoryConsumer;
+import org.icepdf.core.util.memory.MemoryGovernor;
+import org.icepdf.core.util.memory.RebuildCost;
 import org.icepdf.ri.common.views.listeners.DefaultPageViewLoadingListener;
 import org.icepdf.ri.common.views.listeners.PageViewLoadingListener;
 
@@ -267,6 +273,19 @@ public abstract class AbstractPageViewComponent
         }
     }
 
+    /**
+     * Sets an already rendered image as the page buffer, covering the whole page at the current zoom and
+     * rotation.  Used by views that get their page images from elsewhere, like a
+     * {@link org.icepdf.core.util.ThumbnailProvider}, rather than from a {@link PageImageCaptureTask}.
+     *
+     * @param pageImage image of the full page.
+     */
+    protected void setPageBuffer(BufferedImage pageImage) {
+        Rectangle imageLocation = new Rectangle(0, 0, pageSize.width, pageSize.height);
+        pageBufferStore.setState(pageImage, imageLocation, new Rectangle(imageLocation), new Rectangle(pageSize),
+                pageZoom, pageRotation, false);
+    }
+
     protected static double calculateScaleForDefaultScreen() {
         try {
             return GraphicsEnvironment.getLocalGraphicsEnvironment()
@@ -385,7 +404,7 @@ public abstract class AbstractPageViewComponent
                         new PageImageCaptureTask(this, imageLocation, imageClipLocation,
                                 pageZoom,
                                 pageRotation));
-                Library.execute(pageImageCaptureTask);
+                Library.executeBlocking(pageImageCaptureTask);
             }
         }
     }
@@ -525,7 +544,8 @@ public abstract class AbstractPageViewComponent
 
     // Maximum strongly-pinned page buffers PER DOCUMENT.  A pin keeps a page's live
     // buffer from being GC'd mid-render (which would trigger a re-capture); the
-    // per-document budget is the sole release mechanism -- a page that scrolls out
+    // per-document budget is the release mechanism, along with the memory governor
+    // when the document is over its memory budget -- a page that scrolls out
     // of view stops capturing and is evicted (its pin released, buffer left to its
     // SoftReference) once newer pages capture, so off-screen buffers can't
     // accumulate no matter how the page left the viewport (scroll, resize, view-mode
@@ -548,24 +568,45 @@ public abstract class AbstractPageViewComponent
             return NO_MODEL_PIN_BUDGET;
         }
         synchronized (PIN_BUDGETS) {
-            return PIN_BUDGETS.computeIfAbsent(model, m -> new PinnedBufferBudget());
+            return PIN_BUDGETS.computeIfAbsent(model, m -> new PinnedBufferBudget(documentMemoryOf(m)));
         }
     }
 
+    private static DocumentMemory documentMemoryOf(DocumentViewModel model) {
+        Document document = model.getDocument();
+        Catalog catalog = document != null ? document.getCatalog() : null;
+        return catalog != null ? catalog.getLibrary().getDocumentMemory() : null;
+    }
+
     /**
      * An access-ordered LRU of pinned {@link PageBufferStore}s for a single document.
      * When a store pins a buffer beyond {@link #MAX_PINNED_BUFFERS}, the eldest
      * (least-recently captured) store's pin is released so its buffer falls back to
      * its {@link SoftReference} and becomes GC-eligible.  Actively rendered pages
      * re-capture (moving them to newest), so the visible pages stay pinned.
+     * <br>
+     * The budget is also the document's {@link MemoryConsumer} for its pinned buffers: when the document or the
+     * JVM is over its memory budget the governor releases pins eldest first, always keeping the newest.
      */
-    private static final class PinnedBufferBudget {
+    private static final class PinnedBufferBudget implements MemoryConsumer {
         private final java.util.LinkedHashMap<PageBufferStore, Boolean> lru =
                 new java.util.LinkedHashMap<>(16, 0.75f, true);
+        private final DocumentMemory memory;
+
+        PinnedBufferBudget() {
+            this(null);
+        }
+
+        PinnedBufferBudget(DocumentMemory memory) {
+            this.memory = memory;
+            if (memory != null) {
+                memory.register(this);
+            }
+        }
 
         // Register store as most-recently-pinned; release any pin beyond the cap.
         // Evicted pins are released OUTSIDE the lock to avoid nested locking.
-        void pin(PageBufferStore store) {
+        void pin(PageBufferStore store, long size) {
             java.util.List<PageBufferStore> evicted = null;
             synchronized (lru) {
                 lru.put(store, Boolean.TRUE);
@@ -587,6 +628,9 @@ public abstract class AbstractPageViewComponent
                     s.releasePin();
                 }
             }
+            if (memory != null) {
+                memory.allocated(size);
+            }
         }
 
         void drop(PageBufferStore store) {
@@ -594,6 +638,48 @@ public abstract class AbstractPageViewComponent
                 lru.remove(store);
             }
         }
+
+        private java.util.List<PageBufferStore> snapshot() {
+            synchronized (lru) {
+                return new java.util.ArrayList<>(lru.keySet());
+            }
+        }
+
+        @Override
+        public String getName() {
+            return "Pinned page buffers";
+        }
+
+        @Override
+        public RebuildCost getRebuildCost() {
+            return RebuildCost.RENDER;
+        }
+
+        @Override
+        public long getSizeInBytes() {
+            long size = 0;
+            for (PageBufferStore store : snapshot()) {
+                size += store.getPinnedSize();
+            }
+            return size;
+        }
+
+        // Released buffers fall back to their SoftReference, so they're freed once collected.
+        @Override
+        public long evict(long bytes) {
+            java.util.List<PageBufferStore> stores = snapshot();
+            long freed = 0;
+            // the newest pin is the page being painted, never released.
+            for (int i = 0; i < stores.size() - 1 && freed < bytes; i++) {
+                PageBufferStore store = stores.get(i);
+                long size = store.getPinnedSize();
+                if (size > 0) {
+                    store.releasePin();
+                    freed += size;
+                }
+            }
+            return freed;
+        }
     }
 
     /**
@@ -638,7 +724,7 @@ public abstract class AbstractPageViewComponent
             if (buffer == null) {
                 pinBudget.drop(this);
             } else {
-                pinBudget.pin(this);
+                pinBudget.pin(this, MemoryGovernor.sizeOf(buffer));
             }
         }
 
@@ -722,6 +808,12 @@ public abstract class AbstractPageViewComponent
             pinBudget.drop(this);
         }
 
+        long getPinnedSize() {
+            synchronized (objectLock) {
+                return MemoryGovernor.sizeOf(pinnedImage);
+            }
+        }
+
         Rectangle getImageLocation() {
             synchronized (objectLock) {
                 return imageLocation;
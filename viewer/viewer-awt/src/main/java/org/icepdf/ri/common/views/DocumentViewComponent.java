@@ -70,7 +70,7 @@ public class DocumentViewComponent extends JComponent implements MouseListener,
         // and then clean up, as we might never access the document again
         isPdfDocument = fileName.toLowerCase().endsWith(PDF_EXTENSION);
         if (isPdfDocument) {
-            Library.execute(this);
+            Library.executeBlocking(this);
         }
     }
 
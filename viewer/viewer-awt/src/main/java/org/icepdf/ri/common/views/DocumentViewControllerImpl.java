@@ -124,6 +124,9 @@ public class DocumentViewControllerImpl
 
     protected final PropertyChangeSupport changes = new PropertyChangeSupport(this);
 
+    // warms up the pages ahead of the current page, null if prefetching is disabled or there is no document.
+    protected PagePrefetchScheduler pagePrefetchScheduler;
+
     public DocumentViewControllerImpl(final SwingController viewerController) {
 
         this.viewerController = viewerController;
@@ -155,6 +158,7 @@ public class DocumentViewControllerImpl
 
 
     public void setDocument(Document newDocument) {
+        disposePagePrefetchScheduler();
         // clean up any previous documents
         if (document != null) {
             document.dispose();
@@ -173,6 +177,29 @@ public class DocumentViewControllerImpl
             setViewType();
             documentViewScrollPane.addComponentListener(this);
             documentViewScrollPane.validate();
+            if (PagePrefetchScheduler.isEnabled()) {
+                pagePrefetchScheduler = new PagePrefetchScheduler(document);
+                changes.addPropertyChangeListener(PropertyConstants.DOCUMENT_CURRENT_PAGE, pagePrefetchScheduler);
+                // the initial page was set by setViewType() before the scheduler was listening.
+                pagePrefetchScheduler.currentPageChanged(-1, getCurrentPageIndex());
+            }
+        }
+    }
+
+    /**
+     * Gets the scheduler that initializes pages ahead of the current page, mainly for its hit rate metrics.
+     *
+     * @return page prefetch scheduler, null if prefetching is disabled or no document is open.
+     */
+    public PagePrefetchScheduler getPagePrefetchScheduler() {
+        return pagePrefetchScheduler;
+    }
+
+    private void disposePagePrefetchScheduler() {
+        if (pagePrefetchScheduler != null) {
+            changes.removePropertyChangeListener(PropertyConstants.DOCUMENT_CURRENT_PAGE, pagePrefetchScheduler);
+            pagePrefetchScheduler.dispose();
+            pagePrefetchScheduler = null;
         }
     }
 
@@ -192,6 +219,8 @@ public class DocumentViewControllerImpl
     // want to inject another document to view.
     public void closeDocument() {
 
+        disposePagePrefetchScheduler();
+
         // remove re-size listener.
         documentViewScrollPane.removeComponentListener(this);
 
@@ -511,6 +540,7 @@ public class DocumentViewControllerImpl
     }
 
     public void dispose() {
+        disposePagePrefetchScheduler();
         if (documentView != null) {
             documentView.dispose();
             documentView = null;
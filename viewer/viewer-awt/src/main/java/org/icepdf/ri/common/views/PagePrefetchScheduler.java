@@ -0,0 +1,326 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.ri.common.views;
+
+import org.icepdf.core.pobjects.Document;
+import org.icepdf.core.pobjects.Page;
+import org.icepdf.core.pobjects.PageTree;
+import org.icepdf.core.util.Defs;
+import org.icepdf.core.util.PropertyConstants;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Initializes the pages the user is likely to look at next so scrolling doesn't stall on a cold
+ * {@link Page#init()}.  The page capture tasks only start for pages that intersect the viewport, so without
+ * prefetching every page turn pays for content parsing and image decoding before anything can be painted.
+ * <br>
+ * The scheduler listens for {@link PropertyConstants#DOCUMENT_CURRENT_PAGE} changes and queues the next
+ * {@code org.icepdf.core.views.prefetch.pages} pages in the scroll direction, default 2, plus the adjacent page
+ * behind the current one.  Pages are initialized one at a time, nearest first, on a single minimum priority
+ * thread so prefetching never competes with the capture of the visible pages.  Page init also starts the
+ * decode of the page's images into the ImagePool, so a prefetched page is fully warm.
+ * <br>
+ * A jump, a page change further than the prefetch window, cancels all queued and running work as it no longer
+ * applies.  No new page is initialized while the used heap is over {@code org.icepdf.core.views.prefetch.heapBudget}
+ * percent of the max heap, default 70.  Prefetching can be turned off with
+ * {@code org.icepdf.core.views.prefetch.enabled=false}.
+ * <br>
+ * Hit and miss counts are kept so the window can be tuned per deployment, a hit being a page that was already
+ * initialized by the prefetcher when it became the current page.
+ *
+ * @since 7.5
+ */
+public class PagePrefetchScheduler implements PropertyChangeListener {
+
+    private static final Logger logger =
+            Logger.getLogger(PagePrefetchScheduler.class.getName());
+
+    private static final boolean enabled;
+    private static final int prefetchPages;
+    private static final int heapBudgetPercent;
+
+    static {
+        enabled = Defs.booleanProperty("org.icepdf.core.views.prefetch.enabled", true);
+        prefetchPages = Math.max(1, Defs.intProperty("org.icepdf.core.views.prefetch.pages", 2));
+        heapBudgetPercent = Math.min(100, Math.max(1,
+                Defs.intProperty("org.icepdf.core.views.prefetch.heapBudget", 70)));
+    }
+
+    private static final long KEEP_ALIVE_TIME = 30;
+
+    private final PageTree pageTree;
+    private final int pageCount;
+    private final ThreadPoolExecutor executor;
+
+    // queued or running page inits, removed when the init completes or is cancelled.
+    private final Map<Integer, Future<?>> pendingTasks = new ConcurrentHashMap<>();
+    // pages initialized by the prefetcher that haven't yet been viewed.
+    private final Set<Integer> prefetchedPages = ConcurrentHashMap.newKeySet();
+
+    private int direction = 1;
+    private volatile boolean disposed;
+
+    // tuning metrics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong lateHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong prefetched = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong budgetSkips = new AtomicLong();
+
+    public PagePrefetchScheduler(Document document) {
+        pageTree = document.getPageTree();
+        pageCount = document.getNumberOfPages();
+        executor = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_TIME, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), command -> {
+            Thread newThread = new Thread(command);
+            newThread.setName("ICEpdf-thread-page-prefetch");
+            newThread.setPriority(Thread.MIN_PRIORITY);
+            newThread.setDaemon(true);
+            return newThread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Prefetching is on unless disabled with {@code org.icepdf.core.views.prefetch.enabled=false}.
+     *
+     * @return true if a scheduler should be created for new documents.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static int getPrefetchPages() {
+        return prefetchPages;
+    }
+
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+        if (PropertyConstants.DOCUMENT_CURRENT_PAGE.equals(evt.getPropertyName()) &&
+                evt.getNewValue() instanceof Integer) {
+            int oldIndex = evt.getOldValue() instanceof Integer ? (Integer) evt.getOldValue() : -1;
+            currentPageChanged(oldIndex, (Integer) evt.getNewValue());
+        }
+    }
+
+    /**
+     * Records the metrics for the new current page and reschedules the prefetch window around it.
+     *
+     * @param oldIndex previous current page index, -1 if unknown.
+     * @param newIndex new current page index.
+     */
+    public synchronized void currentPageChanged(int oldIndex, int newIndex) {
+        if (disposed || newIndex < 0 || newIndex >= pageCount) {
+            return;
+        }
+        recordView(newIndex);
+
+        if (oldIndex >= 0 && newIndex != oldIndex) {
+            direction = newIndex > oldIndex ? 1 : -1;
+            // a jump, everything queued was for pages the user skipped.
+            if (Math.abs(newIndex - oldIndex) > prefetchPages + 1) {
+                cancelAll();
+            }
+        }
+        int windowStart = Math.min(newIndex - direction, newIndex + direction * prefetchPages);
+        int windowEnd = Math.max(newIndex - direction, newIndex + direction * prefetchPages);
+        // drop queued work that fell out of the window.
+        for (Map.Entry<Integer, Future<?>> entry : pendingTasks.entrySet()) {
+            int pageIndex = entry.getKey();
+            if (pageIndex < windowStart || pageIndex > windowEnd) {
+                cancel(pageIndex, entry.getValue());
+            }
+        }
+        // nearest pages first in the scroll direction, then the page behind.
+        for (int i = 1; i <= prefetchPages; i++) {
+            schedule(newIndex + direction * i);
+        }
+        schedule(newIndex - direction);
+    }
+
+    private void recordView(int pageIndex) {
+        if (prefetchedPages.remove(pageIndex)) {
+            hits.incrementAndGet();
+        } else if (pendingTasks.containsKey(pageIndex)) {
+            // still being initialized, the view's init will wait on the page lock rather than start over.
+            lateHits.incrementAndGet();
+        } else {
+            Page page = pageTree.getPage(pageIndex);
+            if (page != null && !page.isInitiated()) {
+                misses.incrementAndGet();
+            }
+        }
+    }
+
+    private void schedule(int pageIndex) {
+        if (pageIndex < 0 || pageIndex >= pageCount ||
+                pendingTasks.containsKey(pageIndex) || prefetchedPages.contains(pageIndex)) {
+            return;
+        }
+        Page page = pageTree.getPage(pageIndex);
+        if (page == null || page.isInitiated()) {
+            return;
+        }
+        if (isOverHeapBudget()) {
+            budgetSkips.incrementAndGet();
+            return;
+        }
+        FutureTask<Object> task = new FutureTask<>(() -> {
+            try {
+                // the heap may have filled while this task was queued.
+                if (disposed || isOverHeapBudget()) {
+                    budgetSkips.incrementAndGet();
+                    return null;
+                }
+                if (!page.isInitiated()) {
+                    page.init();
+                    prefetchedPages.add(pageIndex);
+                    prefetched.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.finer(() -> "Page prefetch cancelled " + pageIndex);
+            } catch (Exception e) {
+                logger.log(Level.FINE, e, () -> "Error prefetching page " + pageIndex);
+            }
+            return null;
+        }) {
+            @Override
+            protected void done() {
+                // a cancelled task can still be running when the page is scheduled again, only remove this task.
+                pendingTasks.remove(pageIndex, this);
+            }
+        };
+        pendingTasks.put(pageIndex, task);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            pendingTasks.remove(pageIndex, task);
+        }
+    }
+
+    private void cancel(int pageIndex, Future<?> task) {
+        if (task.cancel(true)) {
+            cancelled.incrementAndGet();
+        }
+        pendingTasks.remove(pageIndex, task);
+    }
+
+    /**
+     * Cancels all queued and running prefetch work.
+     */
+    public synchronized void cancelAll() {
+        for (Map.Entry<Integer, Future<?>> entry : pendingTasks.entrySet()) {
+            cancel(entry.getKey(), entry.getValue());
+        }
+        executor.purge();
+    }
+
+    /**
+     * Checks the used heap against the prefetch heap budget.
+     *
+     * @return true if no more pages should be initialized.
+     */
+    protected boolean isOverHeapBudget() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return used > runtime.maxMemory() / 100 * heapBudgetPercent;
+    }
+
+    /**
+     * Stops the scheduler, cancelling any outstanding work.
+     */
+    public void dispose() {
+        disposed = true;
+        cancelAll();
+        executor.shutdownNow();
+        prefetchedPages.clear();
+        logger.fine(this::toString);
+    }
+
+    /**
+     * Pages that were already initialized by the prefetcher when they became the current page.
+     *
+     * @return prefetch hit count.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Pages that were still being initialized by the prefetcher when they became the current page.
+     *
+     * @return late prefetch hit count.
+     */
+    public long getLateHitCount() {
+        return lateHits.get();
+    }
+
+    /**
+     * Pages that were not initialized, or being initialized, when they became the current page.
+     *
+     * @return prefetch miss count.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getPrefetchCount() {
+        return prefetched.get();
+    }
+
+    public long getCancelledCount() {
+        return cancelled.get();
+    }
+
+    public long getBudgetSkipCount() {
+        return budgetSkips.get();
+    }
+
+    /**
+     * Share of cold page views that the prefetcher had completed, late hits count as misses.
+     *
+     * @return hit rate between 0 and 1, or 0 if no pages have been viewed.
+     */
+    public double getHitRate() {
+        long hitCount = hits.get();
+        long total = hitCount + lateHits.get() + misses.get();
+        return total > 0 ? hitCount / (double) total : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "PagePrefetchScheduler{" +
+                "pages=" + prefetchPages +
+                ", hits=" + hits +
+                ", lateHits=" + lateHits +
+                ", misses=" + misses +
+                ", hitRate=" + String.format("%.2f", getHitRate()) +
+                ", prefetched=" + prefetched +
+                ", cancelled=" + cancelled +
+                ", budgetSkips=" + budgetSkips +
+                '}';
+    }
+}
@@ -17,14 +17,26 @@ package org.icepdf.ri.util.qa;
 
 import org.icepdf.core.exceptions.PDFSecurityException;
 import org.icepdf.core.pobjects.Document;
+import org.icepdf.core.pobjects.PDimension;
+import org.icepdf.core.pobjects.Page;
+import org.icepdf.core.pobjects.graphics.images.ImageUtility;
 import org.icepdf.ri.util.FontPropertiesManager;
 
+import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
 
 public class PageCapture implements CaptureTest<BufferedImage> {
 
+    // keys of the map returned by captureTimed, only java.* types are used so the values can be read across the
+    // class loader boundary of the QA tool.
+    public static final String CAPTURE_IMAGE_KEY = "image";
+    public static final String CAPTURE_INIT_TIME_KEY = "initTime";
+    public static final String CAPTURE_PAINT_TIME_KEY = "paintTime";
+
     protected Document document;
 
     @Override
@@ -55,6 +67,40 @@ public class PageCapture implements CaptureTest<BufferedImage> {
         return null;
     }
 
+    /**
+     * Captures a page like {@link #capture(int, int, int, float, float)} and times the page initialization and the
+     * paint separately.  The page is always parsed and painted, a document page render cache is not used.
+     *
+     * @return map with the {@link #CAPTURE_IMAGE_KEY} image and the {@link #CAPTURE_INIT_TIME_KEY} and
+     * {@link #CAPTURE_PAINT_TIME_KEY} times in nanoseconds, or null if the capture was interrupted.
+     */
+    public Map<String, Object> captureTimed(int pageNumber, int renderHintType, int boundary, float userRotation,
+                                            float userZoom) {
+        try {
+            Page page = document.getPageTree().getPage(pageNumber);
+            long start = System.nanoTime();
+            page.init();
+            long initTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            PDimension size = page.getSize(boundary, userRotation, userZoom);
+            BufferedImage image = ImageUtility.createCompatibleImage((int) size.getWidth(), (int) size.getHeight());
+            Graphics g = image.createGraphics();
+            page.paint(g, renderHintType, boundary, userRotation, userZoom);
+            g.dispose();
+            long paintTime = System.nanoTime() - start;
+
+            Map<String, Object> capture = new HashMap<>(4);
+            capture.put(CAPTURE_IMAGE_KEY, image);
+            capture.put(CAPTURE_INIT_TIME_KEY, initTime);
+            capture.put(CAPTURE_PAINT_TIME_KEY, paintTime);
+            return capture;
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
     @Override
     public void dispose() {
         document.dispose();
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.redaction;
+
+import org.icepdf.core.pobjects.Document;
+import org.icepdf.core.util.redaction.Redactor;
+import org.icepdf.core.util.updater.WriteMode;
+import org.icepdf.ri.util.FontPropertiesManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins how {@link Redactor#burnRedactions(Document)} picks and groups pages: only pages with /Redact annotations
+ * are burned, and pages sharing a content stream are burned together so each page's redactions end up in the
+ * shared stream.
+ */
+public class RedactorTest {
+
+    private static final String FONT = "<< /Font << /F1 << /Type /Font /Subtype /Type1 /BaseFont /Helvetica >> >> >>";
+
+    @BeforeAll
+    public static void init() {
+        FontPropertiesManager.getInstance().loadOrReadSystemFonts();
+    }
+
+    // builds a document from numbered objects, 1 0 obj first, with a classic xref table.
+    private static byte[] pdf(String... objects) {
+        StringBuilder pdf = new StringBuilder("%PDF-1.7\n");
+        int[] offsets = new int[objects.length];
+        for (int i = 0; i < objects.length; i++) {
+            offsets[i] = pdf.length();
+            pdf.append(i + 1).append(" 0 obj\n").append(objects[i]).append("\nendobj\n");
+        }
+        int xref = pdf.length();
+        pdf.append("xref\n0 ").append(objects.length + 1).append("\n0000000000 65535 f \n");
+        for (int offset : offsets) {
+            pdf.append(String.format("%010d 00000 n \n", offset));
+        }
+        pdf.append("trailer\n<< /Size ").append(objects.length + 1).append(" /Root 1 0 R >>\nstartxref\n")
+                .append(xref).append("\n%%EOF\n");
+        return pdf.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static String page(int contents, String annots) {
+        return "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] /Resources " + FONT +
+                " /Contents " + contents + " 0 R" + annots + " >>";
+    }
+
+    private static String stream(String content) {
+        return "<< /Length " + content.length() + " >>\nstream\n" + content + "\nendstream";
+    }
+
+    // a redaction over the line of text at the given baseline.  The burn redacts the glyphs inside the shapes of
+    // the annotation's appearance stream, the quad points alone don't mark anything.
+    private static String redact(int baseline, int appearance) {
+        int bottom = baseline - 25;
+        int top = baseline + 30;
+        return "<< /Type /Annot /Subtype /Redact /Rect [60 " + bottom + " 300 " + top + "] /QuadPoints [60 " + top +
+                " 300 " + top + " 60 " + bottom + " 300 " + bottom + "] /AP << /N " + appearance + " 0 R >> >>";
+    }
+
+    // the appearance of a redaction, a filled box over the line of text at the given baseline in page space.
+    private static String redactAppearance(int baseline) {
+        String content = "0 0 0 rg 60 " + (baseline - 25) + " 240 55 re f";
+        return "<< /Type /XObject /Subtype /Form /BBox [0 0 612 792] /Length " + content.length() + " >>\nstream\n" +
+                content + "\nendstream";
+    }
+
+    private static Document open(byte[] data) throws Exception {
+        Document document = new Document();
+        document.setByteArray(data, 0, data.length, "redactor.pdf");
+        return document;
+    }
+
+    @DisplayName("pages sharing a content stream accumulate their burns, pages without /Redact are skipped")
+    @Test
+    public void groupedBurn() throws Exception {
+        Document document = open(pdf(
+                "<< /Type /Catalog /Pages 2 0 R >>",
+                "<< /Type /Pages /Kids [3 0 R 4 0 R 5 0 R 6 0 R] /Count 4 >>",
+                // pages 0 and 1 share a content stream, each redacts a different line of it.
+                page(7, " /Annots [9 0 R]"),
+                page(7, " /Annots [10 0 R]"),
+                // pages 2 and 3 share another stream and carry no redaction.
+                page(8, ""),
+                page(8, " /Annots [11 0 R]"),
+                stream("BT /F1 24 Tf 72 700 Td (SECRET) Tj ET BT /F1 24 Tf 72 600 Td (HIDDEN) Tj ET"),
+                stream("BT /F1 24 Tf 72 700 Td (PUBLIC) Tj ET"),
+                redact(700, 12),
+                redact(600, 13),
+                "<< /Type /Annot /Subtype /Square /Rect [60 690 300 725] >>",
+                redactAppearance(700),
+                redactAppearance(600)));
+        byte[] saved;
+        try {
+            List<Redactor.PageBurn> pageBurns = Redactor.burnRedactions(document);
+            assertEquals(List.of(0, 1),
+                    pageBurns.stream().map(Redactor.PageBurn::getPageIndex).collect(Collectors.toList()));
+            for (Redactor.PageBurn pageBurn : pageBurns) {
+                assertEquals(1, pageBurn.getRedactionCount());
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.saveToOutputStream(out, WriteMode.FULL_UPDATE);
+            saved = out.toByteArray();
+        } finally {
+            document.dispose();
+        }
+
+        Document redacted = open(saved);
+        try {
+            for (int pageIndex = 0; pageIndex < 2; pageIndex++) {
+                String text = redacted.getPageText(pageIndex).toString();
+                assertFalse(text.contains("SECRET"), "page " + pageIndex + ": " + text);
+                assertFalse(text.contains("HIDDEN"), "page " + pageIndex + ": " + text);
+            }
+            for (int pageIndex = 2; pageIndex < 4; pageIndex++) {
+                assertTrue(redacted.getPageText(pageIndex).toString().contains("PUBLIC"));
+            }
+        } finally {
+            redacted.dispose();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.ri.common.print;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.print.PageFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the {@link PrintSpooler} contract: following pages of the job are prepared ahead, repeated calls for the
+ * current page are a replay, pages behind the current one are released, the look-ahead stops at the byte budget
+ * and the budget accounting doesn't leak.
+ */
+public class PrintSpoolerTest {
+
+    private static final long PAGE_SIZE = 100;
+    private static final IntPredicate ALL_PAGES = pageIndex -> true;
+
+    private final Map<Integer, AtomicInteger> prepareCounts = new ConcurrentHashMap<>();
+    private final PageFormat pageFormat = new PageFormat();
+    private PrintSpooler<int[]> spooler;
+
+    private PrintSpooler<int[]> spooler(int pageCount, int lookAhead, long budget) {
+        spooler = new PrintSpooler<>(new PrintSpooler.PagePreparer<int[]>() {
+            @Override
+            public int[] prepare(int pageIndex, PageFormat pageFormat) {
+                prepareCounts.computeIfAbsent(pageIndex, k -> new AtomicInteger()).incrementAndGet();
+                return new int[]{pageIndex};
+            }
+
+            @Override
+            public long sizeOf(int[] preparedPage) {
+                return PAGE_SIZE;
+            }
+        }, pageCount, lookAhead, budget);
+        return spooler;
+    }
+
+    private int prepareCount(int pageIndex) {
+        AtomicInteger count = prepareCounts.get(pageIndex);
+        return count != null ? count.get() : 0;
+    }
+
+    // prepared sizes are recorded by the worker threads, wait for the look-ahead to settle.
+    private static void awaitBytesInUse(PrintSpooler<?> spooler, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (spooler.getBytesInUse() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, spooler.getBytesInUse());
+    }
+
+    @AfterEach
+    public void shutdown() {
+        if (spooler != null) {
+            spooler.shutdown();
+        }
+    }
+
+    @DisplayName("the following pages of the job are prepared ahead")
+    @Test
+    public void lookAhead() throws InterruptedException {
+        spooler(10, 2, Long.MAX_VALUE);
+        IntPredicate evenPages = pageIndex -> pageIndex % 2 == 0;
+        assertArrayEquals(new int[]{0}, spooler.getPage(0, pageFormat, evenPages));
+        awaitBytesInUse(spooler, 3 * PAGE_SIZE);
+        assertEquals(1, prepareCount(2));
+        assertEquals(1, prepareCount(4));
+        assertEquals(0, prepareCount(1));
+        assertEquals(0, prepareCount(3));
+
+        // the look-ahead page is taken as prepared and the window moves on.
+        assertArrayEquals(new int[]{2}, spooler.getPage(2, pageFormat, evenPages));
+        assertEquals(1, prepareCount(2));
+        awaitBytesInUse(spooler, 3 * PAGE_SIZE);
+        assertEquals(1, prepareCount(6));
+        assertEquals(0, prepareCount(8));
+    }
+
+    @DisplayName("repeated calls for the current page are a replay")
+    @Test
+    public void replay() throws InterruptedException {
+        spooler(3, 0, Long.MAX_VALUE);
+        int[] first = spooler.getPage(1, pageFormat, ALL_PAGES);
+        assertSame(first, spooler.getPage(1, pageFormat, ALL_PAGES));
+        assertSame(first, spooler.getPage(1, pageFormat, ALL_PAGES));
+        assertEquals(1, prepareCount(1));
+
+        // a different page format prepares the page again.
+        PageFormat landscape = new PageFormat();
+        landscape.setOrientation(PageFormat.LANDSCAPE);
+        assertNotSame(first, spooler.getPage(1, landscape, ALL_PAGES));
+        assertEquals(2, prepareCount(1));
+        assertEquals(PAGE_SIZE, spooler.getBytesInUse());
+    }
+
+    @DisplayName("pages before the current one are released")
+    @Test
+    public void releaseBehind() throws InterruptedException {
+        spooler(10, 0, Long.MAX_VALUE);
+        for (int i = 0; i < 3; i++) {
+            spooler.getPage(i, pageFormat, ALL_PAGES);
+            assertEquals(1, spooler.getPreparedPageCount());
+            assertEquals(PAGE_SIZE, spooler.getBytesInUse());
+        }
+        // jumping ahead, as a page range does, releases everything behind.
+        spooler.getPage(7, pageFormat, ALL_PAGES);
+        assertEquals(1, spooler.getPreparedPageCount());
+        assertEquals(PAGE_SIZE, spooler.getBytesInUse());
+
+        spooler.dispose();
+        assertEquals(0, spooler.getPreparedPageCount());
+        assertEquals(0, spooler.getBytesInUse());
+    }
+
+    @DisplayName("the look-ahead stops at the byte budget")
+    @Test
+    public void budgetStop() throws InterruptedException {
+        spooler(10, 3, (long) (2.5 * PAGE_SIZE));
+        // nothing has been prepared yet so the size of a page isn't known.
+        spooler.getPage(0, pageFormat, ALL_PAGES);
+        awaitBytesInUse(spooler, 4 * PAGE_SIZE);
+
+        // page 0 is released, pages 1 to 3 already take more than the budget.
+        spooler.getPage(1, pageFormat, ALL_PAGES);
+        assertEquals(3 * PAGE_SIZE, spooler.getBytesInUse());
+        assertEquals(0, prepareCount(4));
+
+        // pages 1 and 2 are released, there is room for one more page ahead but not two.
+        spooler.getPage(3, pageFormat, ALL_PAGES);
+        awaitBytesInUse(spooler, 2 * PAGE_SIZE);
+        assertEquals(1, prepareCount(4));
+        assertEquals(0, prepareCount(5));
+        assertEquals(2, spooler.getPreparedPageCount());
+    }
+
+    @DisplayName("a page released after its size was counted but before its task completed is uncounted")
+    @Test
+    public void releaseWhileCompleting() throws Exception {
+        spooler(4, 1, Long.MAX_VALUE);
+        CountDownLatch inWindow = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        // the worker logs after recording the page size and before the task completes, hold it there.
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                if (record.getMessage().startsWith("Prepared page 1 ") &&
+                        Thread.currentThread().getName().equals("ICEpdf-thread-print-spool")) {
+                    inWindow.countDown();
+                    try {
+                        released.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Logger logger = Logger.getLogger(PrintSpooler.class.getName());
+        Level level = logger.getLevel();
+        logger.setLevel(Level.FINER);
+        logger.addHandler(handler);
+        try {
+            spooler.getPage(0, pageFormat, ALL_PAGES);
+            assertTrue(inWindow.await(10, TimeUnit.SECONDS));
+            // releases page 1 while its task is still running.
+            spooler.getPage(2, pageFormat, ALL_PAGES);
+            released.countDown();
+            spooler.getPage(3, pageFormat, ALL_PAGES);
+            assertEquals(PAGE_SIZE, spooler.getBytesInUse());
+            assertEquals(1, spooler.getPreparedPageCount());
+        } finally {
+            released.countDown();
+            logger.removeHandler(handler);
+            logger.setLevel(level);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 Patrick Corless
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.ri.common.views;
+
+import org.icepdf.core.pobjects.Document;
+import org.icepdf.core.pobjects.PageTree;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the {@link PagePrefetchScheduler} contract: the pages ahead in the scroll direction and the page behind are
+ * initialized, a jump cancels the queued work without losing track of pages scheduled again, and no page is
+ * initialized over the heap budget.
+ */
+public class PagePrefetchSchedulerTest {
+
+    private static final int PAGE_COUNT = 12;
+
+    private Document document;
+    private PagePrefetchScheduler scheduler;
+
+    // builds a document of empty pages with a classic xref table.
+    private static Document open() throws Exception {
+        StringBuilder kids = new StringBuilder();
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            kids.append(i + 3).append(" 0 R ");
+        }
+        String[] objects = new String[PAGE_COUNT + 2];
+        objects[0] = "<< /Type /Catalog /Pages 2 0 R >>";
+        objects[1] = "<< /Type /Pages /Kids [" + kids + "] /Count " + PAGE_COUNT + " >>";
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            objects[i + 2] = "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] >>";
+        }
+        StringBuilder pdf = new StringBuilder("%PDF-1.7\n");
+        int[] offsets = new int[objects.length];
+        for (int i = 0; i < objects.length; i++) {
+            offsets[i] = pdf.length();
+            pdf.append(i + 1).append(" 0 obj\n").append(objects[i]).append("\nendobj\n");
+        }
+        int xref = pdf.length();
+        pdf.append("xref\n0 ").append(objects.length + 1).append("\n0000000000 65535 f \n");
+        for (int offset : offsets) {
+            pdf.append(String.format("%010d 00000 n \n", offset));
+        }
+        pdf.append("trailer\n<< /Size ").append(objects.length + 1).append(" /Root 1 0 R >>\nstartxref\n")
+                .append(xref).append("\n%%EOF\n");
+        byte[] data = pdf.toString().getBytes(StandardCharsets.ISO_8859_1);
+        Document document = new Document();
+        document.setByteArray(data, 0, data.length, "prefetch.pdf");
+        return document;
+    }
+
+    private static boolean isPrefetchThread() {
+        return "ICEpdf-thread-page-prefetch".equals(Thread.currentThread().getName());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @AfterEach
+    public void dispose() {
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+        if (document != null) {
+            document.dispose();
+        }
+    }
+
+    @DisplayName("the pages ahead in the scroll direction and the page behind are initialized, viewing one is a hit")
+    @Test
+    public void window() throws Exception {
+        document = open();
+        PageTree pageTree = document.getPageTree();
+        scheduler = new PagePrefetchScheduler(document);
+        int window = PagePrefetchScheduler.getPrefetchPages();
+
+        scheduler.currentPageChanged(-1, 4);
+        await(() -> scheduler.getPrefetchCount() == window + 1);
+        assertTrue(pageTree.getPage(3).isInitiated());
+        for (int i = 1; i <= window; i++) {
+            assertTrue(pageTree.getPage(4 + i).isInitiated());
+        }
+        assertFalse(pageTree.getPage(4 + window + 1).isInitiated());
+        assertFalse(pageTree.getPage(2).isInitiated());
+        assertEquals(1, scheduler.getMissCount());
+
+        scheduler.currentPageChanged(4, 5);
+        assertEquals(1, scheduler.getHitCount());
+        // scrolling on moves the window a page further.
+        await(() -> pageTree.getPage(5 + window).isInitiated());
+    }
+
+    @DisplayName("a jump cancels queued work, a cancelled task still running doesn't drop the page's new task")
+    @Test
+    public void cancel() throws Exception {
+        document = open();
+        // prefetch tasks are held in the budget check and then skip, so nothing is ever initialized.
+        Semaphore entered = new Semaphore(0);
+        Semaphore proceed = new Semaphore(0);
+        scheduler = new PagePrefetchScheduler(document) {
+            @Override
+            protected boolean isOverHeapBudget() {
+                if (!isPrefetchThread()) {
+                    return false;
+                }
+                entered.release();
+                proceed.acquireUninterruptibly();
+                return true;
+            }
+        };
+
+        scheduler.currentPageChanged(-1, 0);
+        // the task for page 1 is running, the rest of the window is queued behind it.
+        assertTrue(entered.tryAcquire(10, TimeUnit.SECONDS));
+        scheduler.currentPageChanged(0, PAGE_COUNT - 2);
+        int window = PagePrefetchScheduler.getPrefetchPages();
+        assertEquals(window, scheduler.getCancelledCount());
+
+        // jump back, page 1 is scheduled again while its cancelled task is still running.
+        scheduler.currentPageChanged(PAGE_COUNT - 2, 0);
+        assertTrue(scheduler.getCancelledCount() > window);
+        proceed.release();
+        // the cancelled task finished and the new task for page 1 is running.
+        assertTrue(entered.tryAcquire(10, TimeUnit.SECONDS));
+
+        scheduler.currentPageChanged(0, 1);
+        assertEquals(1, scheduler.getLateHitCount());
+        assertEquals(0, scheduler.getPrefetchCount());
+        proceed.release(PAGE_COUNT * 2);
+    }
+
+    @DisplayName("no page is initialized over the heap budget")
+    @Test
+    public void budgetSkip() throws Exception {
+        document = open();
+        PageTree pageTree = document.getPageTree();
+        scheduler = new PagePrefetchScheduler(document) {
+            @Override
+            protected boolean isOverHeapBudget() {
+                return true;
+            }
+        };
+
+        scheduler.currentPageChanged(-1, 4);
+        int window = PagePrefetchScheduler.getPrefetchPages();
+        assertEquals(window + 1, scheduler.getBudgetSkipCount());
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            assertFalse(pageTree.getPage(i).isInitiated());
+        }
+        assertEquals(0, scheduler.getPrefetchCount());
+    }
+}